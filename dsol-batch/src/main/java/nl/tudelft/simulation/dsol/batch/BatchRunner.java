@@ -0,0 +1,360 @@
+package nl.tudelft.simulation.dsol.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.djutils.cli.CliUtil;
+import org.djutils.exceptions.Throw;
+import org.djutils.stats.summarizers.Tally;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.ReplicationResult;
+import nl.tudelft.simulation.dsol.experiment.ReplicationRunner;
+import nl.tudelft.simulation.dsol.experiment.RunControl;
+import nl.tudelft.simulation.dsol.experiment.results.ResultFileWriter;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterException;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterMap;
+import nl.tudelft.simulation.dsol.model.inputparameters.reader.ReadInputParameters;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.IVersionProvider;
+import picocli.CommandLine.Option;
+
+/**
+ * BatchRunner is a headless command-line launcher that executes the replications of a model on a pool of threads, without a
+ * graphical user interface, and without binding the replications and their statistics in the naming tree. The model is given
+ * as the class name of a ModelFactory with a public no-argument constructor. The run control, the number of threads, the seeds
+ * and the overrides of the input parameters are command-line options; the options can also be read from a file with
+ * <code>@filename</code>, which contains one option per line. During the run, the progress and the throughput are printed,
+ * and at the end the summary statistics of the replications. The statistics of each replication can be written to a result
+ * file that can be read with a ResultFileReader. Example: <br>
+ * <code>java -cp ... nl.tudelft.simulation.dsol.batch.BatchRunner -f my.ModelFactory -l 1000 -n 100 -P arrivalRate=2.5</code>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+@Command(name = "dsol-batch", description = "Run the replications of a DSOL model without a graphical user interface",
+        mixinStandardHelpOptions = true, showDefaultValues = true, versionProvider = BatchRunner.VersionProvider.class)
+public class BatchRunner
+{
+    /** the run id of the replications in the result file. */
+    public static final String RUN_ID = "batch";
+
+    /** the fields of the statistics that are printed in the summary. */
+    private static final Set<String> SUMMARY_FIELDS = Set.of("Count", "SampleMean", "WeightedSampleMean");
+
+    /** the class name of the model factory. */
+    @Option(names = {"-f", "--factory"}, required = true,
+            description = "Class name of the ModelFactory, with a public no-argument constructor")
+    private String factoryClassName;
+
+    /** the time type of the simulator. */
+    @Option(names = "--time-type", defaultValue = "DOUBLE",
+            description = "Time type of the simulator, with durations in seconds: ${COMPLETION-CANDIDATES}")
+    private TimeType timeType;
+
+    /** the start time of each replication. */
+    @Option(names = {"-s", "--start"}, defaultValue = "0.0", description = "Start time of each replication")
+    private double startTime;
+
+    /** the warmup period of each replication. */
+    @Option(names = {"-w", "--warmup"}, defaultValue = "0.0", description = "Warmup period of each replication")
+    private double warmupPeriod;
+
+    /** the run length of each replication. */
+    @Option(names = {"-l", "--length"}, required = true,
+            description = "Run length of each replication, including the warmup period")
+    private double runLength;
+
+    /** the number of replications. */
+    @Option(names = {"-n", "--replications"}, defaultValue = "10", description = "Number of replications")
+    private int numberOfReplications;
+
+    /** the number of the first replication. */
+    @Option(names = "--first-replication", defaultValue = "0",
+            description = "Number of the first replication; the replication number determines the seeds")
+    private int firstReplication;
+
+    /** the base seed for all streams, or null to use the seeds of the model. */
+    @Option(names = "--seed", description = "Base seed for all streams, instead of the seeds that the model sets")
+    private Long seed;
+
+    /** the number of threads. */
+    @Option(names = {"-t", "--threads"}, defaultValue = "0",
+            description = "Number of threads to run replications in parallel; 0 uses the number of processors")
+    private int numberOfThreads;
+
+    /** the properties file with overrides of the input parameters, or null. */
+    @Option(names = {"-p", "--parameter-file"}, description = "Properties file with key=value overrides of input parameters")
+    private String parameterFile;
+
+    /** the overrides of the input parameters. */
+    @Option(names = {"-P", "--parameter"}, description = "Override of an input parameter as key=value; can be repeated")
+    private Map<String, String> parameters = new LinkedHashMap<>();
+
+    /** the result file, or null. */
+    @Option(names = {"-o", "--output"}, description = "Result file for the statistics of the replications")
+    private Path outputFile;
+
+    /** the number of seconds between two progress reports. */
+    @Option(names = "--progress", defaultValue = "5.0",
+            description = "Seconds between progress reports; 0 for no progress reports")
+    private double progressInterval;
+
+    /**
+     * Start a batch run.
+     * @param args the command-line arguments; use --help for the options
+     * @throws Exception when the model factory cannot be instantiated, or when a replication fails
+     */
+    public static void main(final String[] args) throws Exception
+    {
+        BatchRunner batchRunner = new BatchRunner();
+        CliUtil.execute(batchRunner, args);
+        batchRunner.run(System.out);
+        System.exit(0);
+    }
+
+    /**
+     * Execute the replications, report the progress and the summary statistics, and write the results when an output file
+     * has been given.
+     * @param out the stream to print the progress and the summary statistics to
+     * @return the summary statistics, mapping the description of a statistic to a map of fields to a Tally of the values of
+     *         that field over the replications
+     * @throws SimRuntimeException when a replication failed, when the input parameters could not be set, or when writing the
+     *             results failed
+     * @throws ReflectiveOperationException when the model factory cannot be instantiated
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SortedMap<String, SortedMap<String, Tally>> run(final PrintStream out)
+            throws SimRuntimeException, ReflectiveOperationException
+    {
+        Throw.when(this.numberOfReplications < 1, IllegalArgumentException.class,
+                "number of replications should be at least 1");
+        Throw.when(this.numberOfThreads < 0, IllegalArgumentException.class, "number of threads should be 0 or positive");
+        ModelFactory factory = (ModelFactory) Class.forName(this.factoryClassName).getDeclaredConstructor().newInstance();
+        return run(factory, out);
+    }
+
+    /**
+     * Execute the replications with the given model factory.
+     * @param factory the model factory
+     * @param out the stream to print the progress and the summary statistics to
+     * @param <T> the time type
+     * @param <S> the simulator type
+     * @return the summary statistics
+     * @throws SimRuntimeException when a replication failed, when the input parameters could not be set, or when writing the
+     *             results failed
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Number & Comparable<T>, S extends SimulatorInterface<T>> SortedMap<String, SortedMap<String, Tally>> run(
+            final ModelFactory<T, S> factory, final PrintStream out) throws SimRuntimeException
+    {
+        InputParameterMap inputParameterMap =
+                factory.createModel(factory.createSimulator("batch-prototype")).getInputParameterMap();
+        try
+        {
+            if (this.parameterFile != null)
+            {
+                ReadInputParameters.loadfromProperties(this.parameterFile, inputParameterMap);
+            }
+            String[] args = this.parameters.entrySet().stream().map((e) -> e.getKey() + "=" + e.getValue())
+                    .toArray(String[]::new);
+            ReadInputParameters.loadFromArgs(args, false, inputParameterMap);
+        }
+        catch (InputParameterException | IOException exception)
+        {
+            throw new SimRuntimeException("could not set the input parameters", exception);
+        }
+
+        RunControl<T> runControl = new RunControl<T>(RUN_ID, (T) this.timeType.fromDouble(this.startTime),
+                (T) this.timeType.fromDouble(this.warmupPeriod), (T) this.timeType.fromDouble(this.runLength));
+        ReplicationRunner<T, S> replicationRunner = new ReplicationRunner<>(factory, runControl);
+        replicationRunner.setUseContext(false);
+        if (this.seed != null)
+        {
+            long baseSeed = this.seed;
+            replicationRunner.setStreamUpdater(
+                    (streamId, stream, replicationNr) -> stream.setSeed(seed(baseSeed, streamId, replicationNr)));
+        }
+        int threads = this.numberOfThreads == 0 ? Runtime.getRuntime().availableProcessors() : this.numberOfThreads;
+        out.println(String.format("dsol-batch: %d replications of %s on %d threads", this.numberOfReplications,
+                this.factoryClassName, threads));
+
+        SortedMap<String, SortedMap<String, Tally>> summary = new TreeMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (ResultFileWriter writer = this.outputFile == null ? null : new ResultFileWriter(this.outputFile))
+        {
+            if (writer != null)
+            {
+                writer.writeInputParameters(RUN_ID, inputParameterMap);
+            }
+            CompletionService<ReplicationResult> completionService = new ExecutorCompletionService<>(executor);
+            for (int r = 0; r < this.numberOfReplications; r++)
+            {
+                int replicationNr = this.firstReplication + r;
+                completionService.submit(() -> replicationRunner.run(RUN_ID, replicationNr, inputParameterMap));
+            }
+            long startNanos = System.nanoTime();
+            long progressNanos = (long) (this.progressInterval * 1.0E9);
+            long nextProgress = startNanos + progressNanos;
+            long events = 0L;
+            int done = 0;
+            while (done < this.numberOfReplications)
+            {
+                Future<ReplicationResult> future = progressNanos <= 0 ? completionService.take()
+                        : completionService.poll(Math.max(0L, nextProgress - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (future != null)
+                {
+                    ReplicationResult result = future.get();
+                    done++;
+                    events += result.getNumberOfEvents();
+                    addSummary(summary, result);
+                    if (writer != null)
+                    {
+                        writer.writeReplication(RUN_ID, result.getReplicationNr(), result.getStatistics());
+                    }
+                }
+                if (progressNanos > 0 && System.nanoTime() >= nextProgress)
+                {
+                    out.println(progress(done, events, System.nanoTime() - startNanos));
+                    nextProgress += progressNanos;
+                }
+            }
+            out.println(progress(done, events, System.nanoTime() - startNanos));
+            if (writer != null)
+            {
+                writer.writeSummaryStatistics(RUN_ID, summary);
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new SimRuntimeException("batch run was interrupted", exception);
+        }
+        catch (ExecutionException exception)
+        {
+            throw new SimRuntimeException("replication failed", exception.getCause());
+        }
+        catch (IOException exception)
+        {
+            throw new SimRuntimeException("could not write results", exception);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        printSummary(summary, out);
+        return summary;
+    }
+
+    /**
+     * Return the seed of a stream in a replication for a base seed. The stream id is mixed into the seed independent of the
+     * replication number, so the streams of a replication have different seeds, also for replication 0.
+     * @param baseSeed the base seed for all streams
+     * @param streamId the id of the stream
+     * @param replicationNr the number of the replication
+     * @return the seed of the stream in the replication
+     */
+    static long seed(final long baseSeed, final String streamId, final int replicationNr)
+    {
+        return baseSeed + streamId.hashCode() + replicationNr * 1_000_037L;
+    }
+
+    /**
+     * Format a progress report with the throughput.
+     * @param done the number of completed replications
+     * @param events the number of executed events of the completed replications
+     * @param elapsedNanos the elapsed wall clock time in nanoseconds
+     * @return the progress report
+     */
+    private String progress(final int done, final long events, final long elapsedNanos)
+    {
+        double seconds = Math.max(1.0E-9, elapsedNanos / 1.0E9);
+        return String.format("%d/%d replications, %.1f s, %.0f events/s, %.1f replications/min", done,
+                this.numberOfReplications, seconds, events / seconds, 60.0 * done / seconds);
+    }
+
+    /**
+     * Add the statistics of a replication to the summary statistics.
+     * @param summary the summary statistics
+     * @param result the result of the replication
+     */
+    private void addSummary(final SortedMap<String, SortedMap<String, Tally>> summary, final ReplicationResult result)
+    {
+        for (Map.Entry<String, SortedMap<String, Double>> statEntry : result.getStatistics().entrySet())
+        {
+            SortedMap<String, Tally> fields = summary.computeIfAbsent(statEntry.getKey(), (s) -> new TreeMap<>());
+            for (Map.Entry<String, Double> fieldEntry : statEntry.getValue().entrySet())
+            {
+                Tally tally = fields.computeIfAbsent(fieldEntry.getKey(), (f) -> new Tally(f));
+                if (!Double.isNaN(fieldEntry.getValue()))
+                {
+                    tally.register(fieldEntry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Print the mean and standard deviation over the replications of the count and the mean of each statistic.
+     * @param summary the summary statistics
+     * @param out the stream to print to
+     */
+    private void printSummary(final SortedMap<String, SortedMap<String, Tally>> summary, final PrintStream out)
+    {
+        out.println(String.format("%-40s %-20s %8s %14s %14s", "statistic", "field", "n", "mean", "stdev"));
+        for (Map.Entry<String, SortedMap<String, Tally>> statEntry : summary.entrySet())
+        {
+            for (Map.Entry<String, Tally> fieldEntry : statEntry.getValue().entrySet())
+            {
+                if (SUMMARY_FIELDS.contains(fieldEntry.getKey()))
+                {
+                    Tally tally = fieldEntry.getValue();
+                    out.println(String.format("%-40s %-20s %8d %14.6g %14.6g", statEntry.getKey(), fieldEntry.getKey(),
+                            tally.getN(), tally.getSampleMean(), tally.getSampleStDev()));
+                }
+            }
+        }
+    }
+
+    /**
+     * VersionProvider reads the version of dsol-batch from the properties file that is filtered by the build.
+     */
+    public static class VersionProvider implements IVersionProvider
+    {
+        @Override
+        public String[] getVersion() throws IOException
+        {
+            Properties properties = new Properties();
+            try (InputStream in = BatchRunner.class.getResourceAsStream("/resources/dsol-batch.properties"))
+            {
+                if (in != null)
+                {
+                    properties.load(in);
+                }
+            }
+            return new String[] {"dsol-batch " + properties.getProperty("version", "unknown")};
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package nl.tudelft.simulation.dsol.batch;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vfloat.scalar.FloatDuration;
+
+/**
+ * TimeType gives the time type of the simulator of a batch run, so the times of the run control that are given on the command
+ * line as numbers can be converted to the time type of the model. The durations are in seconds.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public enum TimeType
+{
+    /** Double time. */
+    DOUBLE
+    {
+        @Override
+        public Number fromDouble(final double value)
+        {
+            return value;
+        }
+    },
+
+    /** Float time. */
+    FLOAT
+    {
+        @Override
+        public Number fromDouble(final double value)
+        {
+            return (float) value;
+        }
+    },
+
+    /** Long time; the value is rounded. */
+    LONG
+    {
+        @Override
+        public Number fromDouble(final double value)
+        {
+            return Math.round(value);
+        }
+    },
+
+    /** Duration time, with the value in seconds. */
+    DURATION
+    {
+        @Override
+        public Number fromDouble(final double value)
+        {
+            return Duration.ofSI(value);
+        }
+    },
+
+    /** FloatDuration time, with the value in seconds. */
+    FLOAT_DURATION
+    {
+        @Override
+        public Number fromDouble(final double value)
+        {
+            return FloatDuration.ofSI((float) value);
+        }
+    };
+
+    /**
+     * Convert a number to this time type.
+     * @param value the value to convert
+     * @return the value in this time type
+     */
+    public abstract Number fromDouble(double value);
+
+}
@@ -0,0 +1,203 @@
+package nl.tudelft.simulation.dsol.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.SortedMap;
+
+import org.djutils.cli.CliUtil;
+import org.djutils.stats.summarizers.Tally;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.results.ResultFileReader;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.model.DsolModel;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterDouble;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterException;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterInteger;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+import nl.tudelft.simulation.dsol.statistics.SimTally;
+
+/**
+ * BatchRunnerTest runs the replications of a small model with the options of the command line, and checks the summary
+ * statistics, the seeds, and the result file.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class BatchRunnerTest
+{
+    /** the temporary directory for the result file. */
+    @TempDir
+    private Path tempDir;
+
+    /**
+     * Test a batch run with parameter overrides, parallel replications and a result file.
+     * @throws Exception on error
+     */
+    @Test
+    public void testBatchRun() throws Exception
+    {
+        Path path = this.tempDir.resolve("batch.dsolres");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SortedMap<String, SortedMap<String, Tally>> summary =
+                run(new PrintStream(bytes, true), "-f", CountModelFactory.class.getName(), "-l", "100", "-n", "6", "-t", "2",
+                        "-P", "a=3.5", "-P", "n=7", "-o", path.toString());
+        assertEquals(6, summary.get("value").get("N").getN());
+        assertEquals(7.0, summary.get("value").get("N").getSampleMean(), 1E-9);
+        assertEquals(3.5, summary.get("value").get("SampleMean").getSampleMean(), 1E-9);
+        String output = bytes.toString();
+        assertTrue(output.contains("6/6 replications"), output);
+        assertTrue(output.contains("events/s"), output);
+
+        ResultFileReader reader = new ResultFileReader(path);
+        assertEquals(6, reader.getNumberOfRows());
+        assertEquals("3.5", reader.getInputParameters(BatchRunner.RUN_ID).get("a"));
+        assertEquals(6, reader.getSummaryStatistics(BatchRunner.RUN_ID).get("value").get("N").getN());
+    }
+
+    /**
+     * Test that the replication numbers and the base seed determine the random numbers.
+     * @throws Exception on error
+     */
+    @Test
+    public void testSeeds() throws Exception
+    {
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+        String factory = CountModelFactory.class.getName();
+        double noise1 = noise(run(out, "-f", factory, "-l", "10", "-n", "3", "-t", "1", "--progress", "0"));
+        double noise2 = noise(run(out, "-f", factory, "-l", "10", "-n", "3", "-t", "3", "--progress", "0"));
+        double noise3 = noise(run(out, "-f", factory, "-l", "10", "-n", "3", "--first-replication", "10"));
+        double noise4 = noise(run(out, "-f", factory, "-l", "10", "-n", "3", "--seed", "42"));
+        double noise5 = noise(run(out, "-f", factory, "-l", "10", "-n", "3", "--seed", "42"));
+        assertEquals(noise1, noise2, 1E-12);
+        assertNotEquals(noise1, noise3);
+        assertNotEquals(noise1, noise4);
+        assertEquals(noise4, noise5, 1E-12);
+    }
+
+    /**
+     * Test that the streams of a replication get different seeds from the base seed, also in replication 0, and that the
+     * seeds differ between replications.
+     */
+    @Test
+    public void testStreamSeeds()
+    {
+        assertNotEquals(BatchRunner.seed(42L, "default", 0), BatchRunner.seed(42L, "arrival", 0));
+        assertNotEquals(BatchRunner.seed(42L, "default", 0), BatchRunner.seed(42L, "default", 1));
+        assertNotEquals(BatchRunner.seed(42L, "arrival", 1), BatchRunner.seed(42L, "default", 1));
+        assertEquals(BatchRunner.seed(42L, "default", 3), BatchRunner.seed(42L, "default", 3));
+    }
+
+    /**
+     * Test that the version is taken from the build.
+     * @throws Exception on error
+     */
+    @Test
+    public void testVersion() throws Exception
+    {
+        String version = new BatchRunner.VersionProvider().getVersion()[0];
+        assertTrue(version.startsWith("dsol-batch "), version);
+        assertFalse(version.contains("unknown") || version.contains("${"), version);
+    }
+
+    /**
+     * Parse the arguments and execute the batch run.
+     * @param out the stream for the progress and summary
+     * @param args the command-line arguments
+     * @return the summary statistics
+     * @throws SimRuntimeException on simulation error
+     * @throws ReflectiveOperationException when the factory cannot be instantiated
+     */
+    private static SortedMap<String, SortedMap<String, Tally>> run(final PrintStream out, final String... args)
+            throws SimRuntimeException, ReflectiveOperationException
+    {
+        BatchRunner batchRunner = new BatchRunner();
+        CliUtil.execute(batchRunner, args);
+        return batchRunner.run(out);
+    }
+
+    /**
+     * Return the mean of the noise over the replications.
+     * @param summary the summary statistics
+     * @return the mean of the noise over the replications
+     */
+    private static double noise(final SortedMap<String, SortedMap<String, Tally>> summary)
+    {
+        return summary.get("noise").get("SampleMean").getSampleMean();
+    }
+
+    /** Factory for the count model. */
+    public static class CountModelFactory implements ModelFactory<Double, DevsSimulatorInterface<Double>>
+    {
+        @Override
+        public DevsSimulatorInterface<Double> createSimulator(final String id)
+        {
+            return new DevsSimulator<Double>(id);
+        }
+
+        @Override
+        public DsolModel<Double, ? extends DevsSimulatorInterface<Double>> createModel(
+                final DevsSimulatorInterface<Double> simulator)
+        {
+            return new CountModel(simulator);
+        }
+    }
+
+    /** Model that registers the value of parameter a for n times, and the same number of random values. */
+    static class CountModel extends AbstractDsolModel<Double, DevsSimulatorInterface<Double>>
+    {
+        /**
+         * @param simulator the simulator
+         */
+        CountModel(final DevsSimulatorInterface<Double> simulator)
+        {
+            super(simulator);
+            try
+            {
+                addInputParameter(new InputParameterDouble("a", "a", "value a", 1.0, 1.0));
+                addInputParameter(new InputParameterInteger("n", "n", "number n", 5, 2.0));
+            }
+            catch (InputParameterException exception)
+            {
+                throw new RuntimeException(exception);
+            }
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            SimTally<Double> value = new SimTally<Double>("value", "value", this);
+            value.initialize();
+            this.outputStatistics.add(value);
+            SimTally<Double> noise = new SimTally<Double>("noise", "noise", this);
+            noise.initialize();
+            this.outputStatistics.add(noise);
+            double a = getInputParameterDouble("a");
+            int n = getInputParameterInteger("n");
+            for (int i = 1; i <= n; i++)
+            {
+                getSimulator().scheduleEventAbs((double) i, () ->
+                {
+                    value.register(a);
+                    noise.register(getStream("default").nextDouble());
+                });
+            }
+        }
+    }
+
+}
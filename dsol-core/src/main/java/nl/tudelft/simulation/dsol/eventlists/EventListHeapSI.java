@@ -0,0 +1,417 @@
+package nl.tudelft.simulation.dsol.eventlists;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+
+/**
+ * An event list that is implemented as a binary heap with the keys of the events in primitive arrays: the execution time in SI
+ * units, the priority, and the id. The events are ordered in the same way as by SimEventInterface.compareTo, but the ordering
+ * does not call compareTo on the time objects, which makes the event list fast for time types such as Duration and
+ * FloatDuration. The SI time is retrieved once per event, when the event is added. The ordering is exact for Double, Float,
+ * Duration and FloatDuration, and for Long times up to 2<sup>53</sup>.
+ * <p>
+ * The first event, and the removal of the first event, take O(1) and O(log n) time. The heap index of every event is kept in
+ * an open-addressing hash table on the id of the event, so contains() takes O(1) time, and the removal of an arbitrary event,
+ * e.g., when an event is cancelled, O(log n) time. The ids of the events on the event list should therefore be unique, which
+ * is the case for the ids that the simulator gives the events when they are scheduled. An event that is already on the event
+ * list is not added again; another event with the same id is refused. The iterator returns the events in the order of
+ * execution, from a snapshot of the event list; it does not support remove().
+ * </p>
+ * <p>
+ * None of the methods are synchronized: the event list is meant to be used by one simulator, which accesses it under its own
+ * lock, so the kernel does not pay for a second lock on every event.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> The time type, e.g., Double, Long, Duration
+ */
+public class EventListHeapSI<T extends Number & Comparable<T>> implements EventListInterface<T>
+{
+    /** the ordering of the events, used for the iterator. */
+    private static final Comparator<SimEventInterface<?>> ORDER = (e1, e2) ->
+    {
+        double t1 = e1.getAbsoluteExecutionTimeSI();
+        double t2 = e2.getAbsoluteExecutionTimeSI();
+        if (t1 != t2)
+        {
+            return t1 < t2 ? -1 : 1;
+        }
+        if (e1.getPriority() != e2.getPriority())
+        {
+            return e1.getPriority() > e2.getPriority() ? -1 : 1;
+        }
+        return Long.compare(e1.getId(), e2.getId());
+    };
+
+    /** the execution times of the events in SI units, in heap order. */
+    private double[] times;
+
+    /** the priorities of the events, in heap order. */
+    private short[] priorities;
+
+    /** the ids of the events, in heap order. */
+    private long[] ids;
+
+    /** the events, in heap order. */
+    private SimEventInterface<T>[] events;
+
+    /** the number of events in the heap. */
+    private int size = 0;
+
+    /** the ids of the events in the index, in the slot of their hash with linear probing. */
+    private long[] slotIds;
+
+    /** the heap index plus one of the event with the id in the same slot of the index; 0 for an empty slot. */
+    private int[] slotIndices;
+
+    /** the number of bits to shift the product of an id and the hash multiplier to get its first slot in the index. */
+    private int slotShift;
+
+    /**
+     * Constructs a new <code>EventListHeapSI</code>.
+     */
+    public EventListHeapSI()
+    {
+        this(64);
+    }
+
+    /**
+     * Constructs a new <code>EventListHeapSI</code> with an initial capacity. The capacity grows when needed.
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException when initialCapacity &lt; 1
+     */
+    @SuppressWarnings("unchecked")
+    public EventListHeapSI(final int initialCapacity)
+    {
+        if (initialCapacity < 1)
+        {
+            throw new IllegalArgumentException("initialCapacity should be at least 1, but is " + initialCapacity);
+        }
+        this.times = new double[initialCapacity];
+        this.priorities = new short[initialCapacity];
+        this.ids = new long[initialCapacity];
+        this.events = (SimEventInterface<T>[]) new SimEventInterface<?>[initialCapacity];
+        rehash(initialCapacity);
+    }
+
+    @Override
+    public SimEventInterface<T> removeFirst()
+    {
+        if (this.size == 0)
+        {
+            return null;
+        }
+        SimEventInterface<T> first = this.events[0];
+        removeAt(0);
+        return first;
+    }
+
+    @Override
+    public SimEventInterface<T> first()
+    {
+        return this.size == 0 ? null : this.events[0];
+    }
+
+    @Override
+    public void add(final SimEventInterface<T> event)
+    {
+        long id = event.getId();
+        int slot = slot(id);
+        if (this.slotIndices[slot] != 0)
+        {
+            Throw.when(this.events[this.slotIndices[slot] - 1] != event, IllegalArgumentException.class,
+                    "another event with id %d is already on the event list", id);
+            return;
+        }
+        if (this.size == this.events.length)
+        {
+            int capacity = this.size + (this.size >> 1) + 1;
+            this.times = Arrays.copyOf(this.times, capacity);
+            this.priorities = Arrays.copyOf(this.priorities, capacity);
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.events = Arrays.copyOf(this.events, capacity);
+            rehash(capacity);
+        }
+        siftUp(this.size++, event, event.getAbsoluteExecutionTimeSI(), event.getPriority(), id);
+    }
+
+    @Override
+    public boolean contains(final SimEventInterface<T> event)
+    {
+        return indexOf(event) >= 0;
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(this.events, 0, this.size, null);
+        Arrays.fill(this.slotIndices, 0);
+        this.size = 0;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    @Override
+    public Iterator<SimEventInterface<T>> iterator()
+    {
+        List<SimEventInterface<T>> snapshot = new ArrayList<>(Arrays.asList(this.events).subList(0, this.size));
+        snapshot.sort(ORDER);
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    @Override
+    public boolean remove(final SimEventInterface<T> event)
+    {
+        int index = indexOf(event);
+        if (index < 0)
+        {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Return the index of an event in the heap.
+     * @param event the event to look up
+     * @return the index of the event in the heap, or -1 when the event is not in the heap
+     */
+    private int indexOf(final SimEventInterface<T> event)
+    {
+        if (event == null)
+        {
+            return -1;
+        }
+        int index = this.slotIndices[slot(event.getId())] - 1;
+        return index >= 0 && this.events[index] == event ? index : -1;
+    }
+
+    /**
+     * Return the slot of an id in the index: the slot that contains the id, or the empty slot where it would be stored.
+     * @param id the id
+     * @return the slot of the id in the index
+     */
+    private int slot(final long id)
+    {
+        int mask = this.slotIds.length - 1;
+        int slot = home(id);
+        while (this.slotIndices[slot] != 0 && this.slotIds[slot] != id)
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Return the first slot in the index to look for an id, with Fibonacci hashing.
+     * @param id the id
+     * @return the first slot in the index to look for the id
+     */
+    private int home(final long id)
+    {
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> this.slotShift);
+    }
+
+    /**
+     * Remove an id from the index, and shift the later ids of its probe sequence back, so they can still be found.
+     * @param id the id, which should be in the index
+     */
+    private void unindex(final long id)
+    {
+        int mask = this.slotIds.length - 1;
+        int hole = slot(id);
+        int next = (hole + 1) & mask;
+        while (this.slotIndices[next] != 0)
+        {
+            // the id in next can fill the hole when its first slot is not in the cyclic range (hole, next]
+            if (((next - home(this.slotIds[next])) & mask) >= ((next - hole) & mask))
+            {
+                this.slotIds[hole] = this.slotIds[next];
+                this.slotIndices[hole] = this.slotIndices[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.slotIndices[hole] = 0;
+    }
+
+    /**
+     * Create a new index for a capacity of the heap, with at least twice as many slots, and store the ids of the heap.
+     * @param capacity the capacity of the heap
+     */
+    private void rehash(final int capacity)
+    {
+        int length = Integer.highestOneBit(Math.max(4, 2 * capacity - 1)) << 1;
+        this.slotIds = new long[length];
+        this.slotIndices = new int[length];
+        this.slotShift = 64 - Integer.numberOfTrailingZeros(length);
+        for (int i = 0; i < this.size; i++)
+        {
+            int slot = slot(this.ids[i]);
+            this.slotIds[slot] = this.ids[i];
+            this.slotIndices[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Remove the event at an index of the heap, and restore the heap order with the last event of the heap.
+     * @param index the index of the event to remove
+     */
+    private void removeAt(final int index)
+    {
+        unindex(this.ids[index]);
+        int last = --this.size;
+        SimEventInterface<T> event = this.events[last];
+        this.events[last] = null;
+        if (index == last)
+        {
+            return;
+        }
+        double time = this.times[last];
+        short priority = this.priorities[last];
+        long id = this.ids[last];
+        if (siftDown(index, event, time, priority, id) == index)
+        {
+            siftUp(index, event, time, priority, id);
+        }
+    }
+
+    /**
+     * Return whether an event with the given keys is executed before the event at an index of the heap.
+     * @param time the execution time in SI units
+     * @param priority the priority
+     * @param id the id
+     * @param index the index of the event in the heap to compare with
+     * @return whether the event with the given keys is executed before the event at the index
+     */
+    private boolean before(final double time, final short priority, final long id, final int index)
+    {
+        double otherTime = this.times[index];
+        if (time != otherTime)
+        {
+            return time < otherTime;
+        }
+        short otherPriority = this.priorities[index];
+        if (priority != otherPriority)
+        {
+            return priority > otherPriority;
+        }
+        return id < this.ids[index];
+    }
+
+    /**
+     * Move the parents of a hole down until the event fits in the hole, and store the event.
+     * @param index the index of the hole
+     * @param event the event
+     * @param time the execution time of the event in SI units
+     * @param priority the priority of the event
+     * @param id the id of the event
+     */
+    private void siftUp(final int index, final SimEventInterface<T> event, final double time, final short priority,
+            final long id)
+    {
+        int k = index;
+        while (k > 0)
+        {
+            int parent = (k - 1) >>> 1;
+            if (!before(time, priority, id, parent))
+            {
+                break;
+            }
+            move(parent, k);
+            k = parent;
+        }
+        set(k, event, time, priority, id);
+    }
+
+    /**
+     * Move the smallest children of a hole up until the event fits in the hole, and store the event.
+     * @param index the index of the hole
+     * @param event the event
+     * @param time the execution time of the event in SI units
+     * @param priority the priority of the event
+     * @param id the id of the event
+     * @return the index where the event has been stored
+     */
+    private int siftDown(final int index, final SimEventInterface<T> event, final double time, final short priority,
+            final long id)
+    {
+        int k = index;
+        int half = this.size >>> 1;
+        while (k < half)
+        {
+            int child = 2 * k + 1;
+            int right = child + 1;
+            if (right < this.size && before(this.times[right], this.priorities[right], this.ids[right], child))
+            {
+                child = right;
+            }
+            if (before(time, priority, id, child))
+            {
+                break;
+            }
+            move(child, k);
+            k = child;
+        }
+        set(k, event, time, priority, id);
+        return k;
+    }
+
+    /**
+     * Move an event in the heap.
+     * @param from the index of the event
+     * @param to the new index of the event
+     */
+    private void move(final int from, final int to)
+    {
+        this.times[to] = this.times[from];
+        this.priorities[to] = this.priorities[from];
+        this.ids[to] = this.ids[from];
+        this.events[to] = this.events[from];
+        this.slotIndices[slot(this.ids[to])] = to + 1;
+    }
+
+    /**
+     * Store an event in the heap.
+     * @param index the index to store the event
+     * @param event the event
+     * @param time the execution time of the event in SI units
+     * @param priority the priority of the event
+     * @param id the id of the event
+     */
+    private void set(final int index, final SimEventInterface<T> event, final double time, final short priority,
+            final long id)
+    {
+        this.times[index] = time;
+        this.priorities[index] = priority;
+        this.ids[index] = id;
+        this.events[index] = event;
+        int slot = slot(id);
+        this.slotIds[slot] = id;
+        this.slotIndices[slot] = index + 1;
+    }
+
+}
@@ -20,7 +20,10 @@ import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
 public interface EventListInterface<T extends Number & Comparable<T>> extends Iterable<SimEventInterface<T>>
 {
     /**
-     * Add an event to the event list.
+     * Add an event to the event list. The event list does not assign ids: the simulator gives an event the next number of its
+     * own sequence counter as id every time it is scheduled, so simultaneous events with the same priority are executed in the
+     * order in which they were scheduled, also when the events are moved to another event list. Simultaneous events with the
+     * same priority should therefore have different ids.
      * @param event the event to add
      */
     void add(SimEventInterface<T> event);
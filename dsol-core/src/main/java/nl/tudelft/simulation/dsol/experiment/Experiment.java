@@ -2,6 +2,7 @@ package nl.tudelft.simulation.dsol.experiment;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.Predicate;
@@ -14,16 +15,12 @@ import org.djutils.event.EventType;
 import org.djutils.event.LocalEventProducer;
 import org.djutils.event.reference.ReferenceType;
 import org.djutils.exceptions.Throw;
-import org.djutils.logger.CategoryLogger;
 import org.djutils.metadata.MetaData;
 import org.djutils.stats.summarizers.Tally;
 
+import nl.tudelft.simulation.dsol.jfr.JfrExperimentReplication;
 import nl.tudelft.simulation.dsol.model.DsolModel;
 import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
-import nl.tudelft.simulation.dsol.statistics.SimCounter;
-import nl.tudelft.simulation.dsol.statistics.SimPersistent;
-import nl.tudelft.simulation.dsol.statistics.SimTally;
-import nl.tudelft.simulation.dsol.statistics.SimulationStatistic;
 import nl.tudelft.simulation.naming.context.ContextInterface;
 import nl.tudelft.simulation.naming.context.Contextualized;
 import nl.tudelft.simulation.naming.context.event.InitialEventContext;
@@ -76,6 +73,9 @@ public class Experiment<T extends Number & Comparable<T>, S extends SimulatorInt
     /** The worker thread to carry out the experiment. */
     private ExperimentThread experimentThread;
 
+    /** the JFR event for the current replication, including its initialization; only recorded when JFR records the event. */
+    private transient JfrExperimentReplication jfrReplication = null;
+
     /** is the simulation experiment running? */
     private boolean running = false;
 
@@ -90,6 +90,12 @@ public class Experiment<T extends Number & Comparable<T>, S extends SimulatorInt
      */
     private SortedMap<String, SortedMap<String, Tally>> summaryStatistics = new TreeMap<>();
 
+    /**
+     * The statistics of the last completed replication. The table maps the name of the statistic to a map of fields to the
+     * final value of that field in the replication, using the same statistic names and fields as the summary statistics.
+     */
+    private SortedMap<String, SortedMap<String, Double>> replicationStatistics = new TreeMap<>();
+
     /**
      * Construct a new Experiment.
      * @param id the id of the experiment
@@ -187,10 +193,13 @@ public class Experiment<T extends Number & Comparable<T>, S extends SimulatorInt
         Throw.when(this.currentReplicationNumber >= getNumberOfReplications() - 1, IllegalArgumentException.class,
                 "Trying to run replication beyond given number");
         this.currentReplicationNumber++;
+        this.jfrReplication = new JfrExperimentReplication();
+        this.jfrReplication.start();
         ExperimentReplication<T, S> replication = makeExperimentReplication();
         this.startedReplications.add(replication);
         this.streamUpdater.updateSeeds(this.model.getStreams(), this.currentReplicationNumber);
         this.simulator.initialize(getModel(), replication);
+        this.simulator.addListener(this, Replication.START_REPLICATION_EVENT, ReferenceType.STRONG);
         this.simulator.addListener(this, Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
         this.simulator.start();
     }
@@ -216,8 +225,17 @@ public class Experiment<T extends Number & Comparable<T>, S extends SimulatorInt
     @Override
     public void notify(final Event event)
     {
-        if (event.getType().equals(Replication.END_REPLICATION_EVENT))
+        if (event.getType().equals(Replication.START_REPLICATION_EVENT))
+        {
+            fireEvent(event); // propagate the START_REPLICATION_EVENT from the experiment
+        }
+        else if (event.getType().equals(Replication.END_REPLICATION_EVENT))
         {
+            if (this.jfrReplication != null)
+            {
+                this.jfrReplication.stop(getId(), this.currentReplicationNumber);
+                this.jfrReplication = null;
+            }
             endReplication();
             fireEvent(event); // propagate the END_REPLICATION_EVENT from the experiment
             this.experimentThread.interrupt();
@@ -236,6 +254,7 @@ public class Experiment<T extends Number & Comparable<T>, S extends SimulatorInt
         }
         this.startedReplications.clear();
         this.summaryStatistics = new TreeMap<>();
+        this.replicationStatistics = new TreeMap<>();
     }
 
     /**
@@ -243,57 +262,13 @@ public class Experiment<T extends Number & Comparable<T>, S extends SimulatorInt
      */
     protected void endReplication()
     {
-        for (SimulationStatistic<T> stat : this.model.getOutputStatistics())
+        this.replicationStatistics =
+                ReplicationStatistics.collect(this.model.getOutputStatistics(), this.simulator.getSimulatorTime());
+        for (Map.Entry<String, SortedMap<String, Double>> statEntry : this.replicationStatistics.entrySet())
         {
-            if (stat instanceof SimCounter)
-            {
-                SimCounter<T> counter = (SimCounter<T>) stat;
-                addSummaryStatistic(counter.getDescription(), "N", counter.getN());
-                addSummaryStatistic(counter.getDescription(), "Count", counter.getCount());
-            }
-            else if (stat instanceof SimTally)
+            for (Map.Entry<String, Double> fieldEntry : statEntry.getValue().entrySet())
             {
-                SimTally<T> tally = (SimTally<T>) stat;
-                addSummaryStatistic(tally.getDescription(), "N", tally.getN());
-                addSummaryStatistic(tally.getDescription(), "Max", tally.getMax());
-                addSummaryStatistic(tally.getDescription(), "Min", tally.getMin());
-                addSummaryStatistic(tally.getDescription(), "PopulationExcessKurtosis", tally.getPopulationExcessKurtosis());
-                addSummaryStatistic(tally.getDescription(), "PopulationKurtosis", tally.getPopulationKurtosis());
-                addSummaryStatistic(tally.getDescription(), "PopulationMean", tally.getPopulationMean());
-                addSummaryStatistic(tally.getDescription(), "PopulationSkewness", tally.getPopulationSkewness());
-                addSummaryStatistic(tally.getDescription(), "PopulationStDev", tally.getPopulationStDev());
-                addSummaryStatistic(tally.getDescription(), "PopulationVariance", tally.getPopulationVariance());
-                addSummaryStatistic(tally.getDescription(), "SampleExcessKurtosis", tally.getSampleExcessKurtosis());
-                addSummaryStatistic(tally.getDescription(), "SampleKurtosis", tally.getSampleKurtosis());
-                addSummaryStatistic(tally.getDescription(), "SampleMean", tally.getSampleMean());
-                addSummaryStatistic(tally.getDescription(), "SampleSkewness", tally.getSampleSkewness());
-                addSummaryStatistic(tally.getDescription(), "SampleStDev", tally.getSampleStDev());
-                addSummaryStatistic(tally.getDescription(), "SampleVariance", tally.getSampleVariance());
-                addSummaryStatistic(tally.getDescription(), "Sum", tally.getSum());
-            }
-            else if (stat instanceof SimPersistent) // includes Utilization
-            {
-                SimPersistent<T> persistent = (SimPersistent<T>) stat;
-                // note that the last value has to be stored for the end simulation time, otherwise we have a 'gap' at the end
-                persistent.endObservations(this.simulator.getSimulatorTime());
-                addSummaryStatistic(persistent.getDescription(), "N", persistent.getN());
-                addSummaryStatistic(persistent.getDescription(), "Max", persistent.getMax());
-                addSummaryStatistic(persistent.getDescription(), "Min", persistent.getMin());
-                addSummaryStatistic(persistent.getDescription(), "WeightedPopulationMean",
-                        persistent.getWeightedPopulationMean());
-                addSummaryStatistic(persistent.getDescription(), "WeightedPopulationStDev",
-                        persistent.getWeightedPopulationStDev());
-                addSummaryStatistic(persistent.getDescription(), "WeightedPopulationVariance",
-                        persistent.getWeightedPopulationVariance());
-                addSummaryStatistic(persistent.getDescription(), "WeightedSampleMean", persistent.getWeightedSampleMean());
-                addSummaryStatistic(persistent.getDescription(), "WeightedSampleStDev", persistent.getWeightedSampleStDev());
-                addSummaryStatistic(persistent.getDescription(), "WeightedSampleVariance",
-                        persistent.getWeightedSampleVariance());
-                addSummaryStatistic(persistent.getDescription(), "WeightedSum", persistent.getWeightedSum());
-            }
-            else
-            {
-                CategoryLogger.always().warn("Unknown statistic for summary statistics: " + stat.getClass().getSimpleName());
+                addSummaryStatistic(statEntry.getKey(), fieldEntry.getKey(), fieldEntry.getValue());
             }
         }
     }
@@ -339,6 +314,18 @@ public class Experiment<T extends Number & Comparable<T>, S extends SimulatorInt
         return this.summaryStatistics;
     }
 
+    /**
+     * The statistics of the last completed replication. The table maps the name of the statistic to a map of fields to the
+     * final value of that field in the replication, e.g., "waiting time" maps to "N", "PopulationMean", "Max", etc. Contrary
+     * to the summary statistics, NaN values are retained. The map is replaced at the end of each replication, so listeners for
+     * the END_REPLICATION_EVENT of the experiment can safely hold on to it.
+     * @return the statistics of the last completed replication
+     */
+    public SortedMap<String, SortedMap<String, Double>> getReplicationStatistics()
+    {
+        return this.replicationStatistics;
+    }
+
     /**
      * Return the current (running or finished) replication.
      * @return the current replication (still running or finished in case of last replication)
@@ -0,0 +1,37 @@
+package nl.tudelft.simulation.dsol.experiment;
+
+import nl.tudelft.simulation.dsol.model.DsolModel;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * ModelFactory creates fresh simulator and model instances, so replications of a model can be executed independently, e.g., in
+ * parallel on multiple threads or in another JVM. The model should read its input parameters in constructModel() rather than in
+ * its constructor, since the runner that uses the factory sets the input parameter map of the model after construction.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ * @param <S> the simulator type
+ */
+public interface ModelFactory<T extends Number & Comparable<T>, S extends SimulatorInterface<T>>
+{
+    /**
+     * Create a new simulator.
+     * @param id the id of the simulator, which is unique for each call
+     * @return a new simulator
+     */
+    S createSimulator(String id);
+
+    /**
+     * Create a new model on the given simulator. The model should not yet be constructed; this happens when the simulator is
+     * initialized for a replication.
+     * @param simulator the simulator for the model, created by createSimulator
+     * @return a new model
+     */
+    DsolModel<T, ? extends S> createModel(S simulator);
+
+}
@@ -0,0 +1,127 @@
+package nl.tudelft.simulation.dsol.experiment;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.jstats.streams.QmcStream;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * QmcStreamUpdater sets up randomized quasi-Monte-Carlo (RQMC) replications. The replications are divided into consecutive
+ * blocks of pointsPerRandomization replications. Within a block, the quasi-Monte-Carlo streams of the model use the same
+ * randomization, and replication r uses point (r mod pointsPerRandomization) of the point set. Every block uses a different
+ * randomization, so the means of the blocks are independent, unbiased estimates; their variance gives the confidence interval
+ * of the RQMC estimate. Streams that are not a QmcStream are updated by the fallback stream updater. Preferably, the number
+ * of points per randomization is a power of 2 for a Sobol stream.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class QmcStreamUpdater implements StreamUpdater
+{
+    /** the number of replications (points) per randomization. */
+    private final int pointsPerRandomization;
+
+    /** the stream updater for the streams that are not a QmcStream. */
+    private StreamUpdater fallbackStreamUpdater = new SimpleStreamUpdater();
+
+    /**
+     * Create a stream updater for randomized quasi-Monte-Carlo replications.
+     * @param pointsPerRandomization the number of replications (points) per randomization
+     * @throws IllegalArgumentException when pointsPerRandomization &lt; 1
+     */
+    public QmcStreamUpdater(final int pointsPerRandomization)
+    {
+        Throw.when(pointsPerRandomization < 1, IllegalArgumentException.class, "pointsPerRandomization should be at least 1");
+        this.pointsPerRandomization = pointsPerRandomization;
+    }
+
+    @Override
+    public void updateSeed(final String streamId, final StreamInterface stream, final int replicationNumber)
+    {
+        if (stream instanceof QmcStream)
+        {
+            QmcStream qmcStream = (QmcStream) stream;
+            qmcStream.setSeed(
+                    qmcStream.getOriginalSeed() + getRandomization(replicationNumber) * (1_000_037L + streamId.hashCode()));
+            qmcStream.setPointIndex(getPointIndex(replicationNumber));
+        }
+        else
+        {
+            this.fallbackStreamUpdater.updateSeed(streamId, stream, replicationNumber);
+        }
+    }
+
+    /**
+     * Return the randomization (block) of a replication.
+     * @param replicationNumber the replication number
+     * @return the randomization of the replication
+     */
+    public int getRandomization(final int replicationNumber)
+    {
+        return replicationNumber / this.pointsPerRandomization;
+    }
+
+    /**
+     * Return the index of the point of a replication.
+     * @param replicationNumber the replication number
+     * @return the index of the point of the replication
+     */
+    public int getPointIndex(final int replicationNumber)
+    {
+        return replicationNumber % this.pointsPerRandomization;
+    }
+
+    /**
+     * Return the means of the replication values per randomization, as independent estimates for the RQMC confidence interval.
+     * A last, incomplete block is ignored.
+     * @param replicationValues the output value per replication, in the order of the replication numbers
+     * @return the mean of the values per complete randomization
+     */
+    public double[] randomizationMeans(final double[] replicationValues)
+    {
+        double[] means = new double[replicationValues.length / this.pointsPerRandomization];
+        for (int i = 0; i < means.length * this.pointsPerRandomization; i++)
+        {
+            means[i / this.pointsPerRandomization] += replicationValues[i];
+        }
+        for (int k = 0; k < means.length; k++)
+        {
+            means[k] /= this.pointsPerRandomization;
+        }
+        return means;
+    }
+
+    /**
+     * Return the number of replications (points) per randomization.
+     * @return the number of replications per randomization
+     */
+    public int getPointsPerRandomization()
+    {
+        return this.pointsPerRandomization;
+    }
+
+    /**
+     * Return the stream updater for the streams that are not a QmcStream.
+     * @return the fallback stream updater
+     */
+    public StreamUpdater getFallbackStreamUpdater()
+    {
+        return this.fallbackStreamUpdater;
+    }
+
+    /**
+     * Set the stream updater for the streams that are not a QmcStream.
+     * @param fallbackStreamUpdater the new fallback stream updater
+     * @throws NullPointerException when fallbackStreamUpdater is null
+     */
+    public void setFallbackStreamUpdater(final StreamUpdater fallbackStreamUpdater)
+    {
+        Throw.whenNull(fallbackStreamUpdater, "fallbackStreamUpdater cannot be null");
+        this.fallbackStreamUpdater = fallbackStreamUpdater;
+    }
+
+}
@@ -0,0 +1,132 @@
+package nl.tudelft.simulation.dsol.experiment;
+
+import java.util.SortedMap;
+
+/**
+ * ReplicationResult contains the statistics of one completed replication, together with the wall clock time that it took to
+ * execute the replication.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class ReplicationResult
+{
+    /** the id of the run to which the replication belongs. */
+    private final String runId;
+
+    /** the replication number within the run. */
+    private final int replicationNr;
+
+    /** the statistics, mapping the description of a statistic to a map of fields to values. */
+    private final SortedMap<String, SortedMap<String, Double>> statistics;
+
+    /** the wall clock time in nanoseconds to execute the replication. */
+    private final long wallTimeNanos;
+
+    /** the number of executed events, or 0 when unknown. */
+    private final long numberOfEvents;
+
+    /**
+     * Create a replication result.
+     * @param runId the id of the run to which the replication belongs
+     * @param replicationNr the replication number within the run
+     * @param statistics the statistics, mapping the description of a statistic to a map of fields to values
+     * @param wallTimeNanos the wall clock time in nanoseconds to execute the replication
+     */
+    public ReplicationResult(final String runId, final int replicationNr,
+            final SortedMap<String, SortedMap<String, Double>> statistics, final long wallTimeNanos)
+    {
+        this(runId, replicationNr, statistics, wallTimeNanos, 0L);
+    }
+
+    /**
+     * Create a replication result with the number of executed events.
+     * @param runId the id of the run to which the replication belongs
+     * @param replicationNr the replication number within the run
+     * @param statistics the statistics, mapping the description of a statistic to a map of fields to values
+     * @param wallTimeNanos the wall clock time in nanoseconds to execute the replication
+     * @param numberOfEvents the number of executed events, or 0 when unknown
+     */
+    public ReplicationResult(final String runId, final int replicationNr,
+            final SortedMap<String, SortedMap<String, Double>> statistics, final long wallTimeNanos, final long numberOfEvents)
+    {
+        this.runId = runId;
+        this.replicationNr = replicationNr;
+        this.statistics = statistics;
+        this.wallTimeNanos = wallTimeNanos;
+        this.numberOfEvents = numberOfEvents;
+    }
+
+    /**
+     * Return the id of the run to which the replication belongs.
+     * @return the id of the run
+     */
+    public String getRunId()
+    {
+        return this.runId;
+    }
+
+    /**
+     * Return the replication number within the run.
+     * @return the replication number
+     */
+    public int getReplicationNr()
+    {
+        return this.replicationNr;
+    }
+
+    /**
+     * Return the statistics of the replication, mapping the description of a statistic to a map of fields to values.
+     * @return the statistics of the replication
+     */
+    public SortedMap<String, SortedMap<String, Double>> getStatistics()
+    {
+        return this.statistics;
+    }
+
+    /**
+     * Return the value of a field of a statistic, or NaN when the statistic or field does not exist.
+     * @param statistic the description of the statistic
+     * @param field the field, e.g., "SampleMean"
+     * @return the value of the field of the statistic, or NaN when it does not exist
+     */
+    public double getValue(final String statistic, final String field)
+    {
+        SortedMap<String, Double> fields = this.statistics.get(statistic);
+        if (fields == null || !fields.containsKey(field))
+        {
+            return Double.NaN;
+        }
+        return fields.get(field);
+    }
+
+    /**
+     * Return the wall clock time in nanoseconds to execute the replication.
+     * @return the wall clock time in nanoseconds
+     */
+    public long getWallTimeNanos()
+    {
+        return this.wallTimeNanos;
+    }
+
+    /**
+     * Return the number of executed events (or integration steps) of the replication, or 0 when unknown.
+     * @return the number of executed events, or 0 when unknown
+     */
+    public long getNumberOfEvents()
+    {
+        return this.numberOfEvents;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ReplicationResult [runId=" + this.runId + ", replicationNr=" + this.replicationNr + ", statistics="
+                + this.statistics.size() + ", wallTimeNanos=" + this.wallTimeNanos + ", numberOfEvents=" + this.numberOfEvents + "]";
+    }
+
+}
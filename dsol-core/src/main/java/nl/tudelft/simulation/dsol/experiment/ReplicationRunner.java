@@ -0,0 +1,237 @@
+package nl.tudelft.simulation.dsol.experiment;
+
+import java.util.SortedMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.djutils.event.Event;
+import org.djutils.event.EventListener;
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.model.DsolModel;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterMap;
+import nl.tudelft.simulation.dsol.simulators.ReplicationState;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * ReplicationRunner executes single replications of a model to completion, and blocks the calling thread until the replication
+ * has ended. Each replication gets a fresh simulator and model from a ModelFactory, so multiple threads can use the same runner
+ * to execute replications in parallel. The seeds of the model's streams are set by a StreamUpdater based on the replication
+ * number, so replications with the same number use the same random numbers, also for different input parameter values.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ * @param <S> the simulator type
+ */
+public class ReplicationRunner<T extends Number & Comparable<T>, S extends SimulatorInterface<T>>
+{
+    /** lock for creating and removing replication contexts, since the initial context is a lazily created singleton. */
+    private static final Object CONTEXT_LOCK = new Object();
+
+    /** the factory for simulators and models. */
+    private final ModelFactory<T, S> modelFactory;
+
+    /** the run control with start time, warmup period, run length and stopping condition. */
+    private final RunControl<T> runControl;
+
+    /** the class that sets the seeds of the streams for a replication. */
+    private StreamUpdater streamUpdater = new SimpleStreamUpdater();
+
+    /** whether the replications create a context in the naming tree, in which the statistics of the model are bound. */
+    private boolean useContext = true;
+
+    /**
+     * Create a runner for single replications.
+     * @param modelFactory the factory for simulators and models
+     * @param runControl the run control with start time, warmup period, run length and stopping condition
+     * @throws NullPointerException when modelFactory or runControl is null
+     */
+    public ReplicationRunner(final ModelFactory<T, S> modelFactory, final RunControl<T> runControl)
+    {
+        Throw.whenNull(modelFactory, "modelFactory cannot be null");
+        Throw.whenNull(runControl, "runControl cannot be null");
+        this.modelFactory = modelFactory;
+        this.runControl = runControl;
+    }
+
+    /**
+     * Execute one replication, and wait until it has ended.
+     * @param runId the id of the run to which the replication belongs; should not be used by other runs at the same time
+     * @param replicationNr the replication number, used to set the seeds of the streams
+     * @param inputParameterMap the input parameters for the replication, which will be cloned before they are set in the
+     *            model; when null, the model keeps the input parameters that it created itself
+     * @return the statistics of the replication
+     * @throws SimRuntimeException when the replication could not be initialized, or ended before its end time
+     * @throws NullPointerException when runId is null
+     */
+    public ReplicationResult run(final String runId, final int replicationNr, final InputParameterMap inputParameterMap)
+            throws SimRuntimeException
+    {
+        Throw.whenNull(runId, "runId cannot be null");
+        long startNanos = System.nanoTime();
+        String id = runId + "." + replicationNr;
+        S simulator = this.modelFactory.createSimulator(id);
+        DsolModel<T, ? extends S> model = this.modelFactory.createModel(simulator);
+        if (inputParameterMap != null)
+        {
+            model.setInputParameterMap(inputParameterMap.clone());
+        }
+        this.streamUpdater.updateSeeds(model.getStreams(), replicationNr);
+        RunControl<T> replicationControl = new RunControl<T>(id, this.runControl.getStartTime(),
+                this.runControl.getWarmupPeriod(), this.runControl.getRunLength());
+        replicationControl.setStoppingCondition(this.runControl.getStoppingCondition());
+        Replication<T> replication;
+        if (this.useContext)
+        {
+            synchronized (CONTEXT_LOCK)
+            {
+                replication = new SingleReplication<T>(replicationControl);
+            }
+        }
+        else
+        {
+            replication = new UnboundReplication<T>(replicationControl);
+        }
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean ended = new AtomicBoolean(false);
+        EventListener listener = new EventListener()
+        {
+            @Override
+            public void notify(final Event event)
+            {
+                if (event.getType().equals(Replication.END_REPLICATION_EVENT))
+                {
+                    ended.set(true);
+                    latch.countDown();
+                }
+                else if (event.getType().equals(SimulatorInterface.STOP_EVENT)
+                        && simulator.getReplicationState() != ReplicationState.ENDING
+                        && simulator.getReplicationState() != ReplicationState.ENDED)
+                {
+                    // the simulator paused, e.g., because of an error in the model, and will not continue by itself
+                    latch.countDown();
+                }
+            }
+        };
+
+        try
+        {
+            simulator.initialize(model, replication);
+            simulator.addListener(listener, Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+            simulator.addListener(listener, SimulatorInterface.STOP_EVENT, ReferenceType.STRONG);
+            simulator.start();
+            latch.await();
+            if (!ended.get())
+            {
+                throw new SimRuntimeException("replication " + id + " stopped at t=" + simulator.getSimulatorTime()
+                        + " before it reached its end");
+            }
+            SortedMap<String, SortedMap<String, Double>> statistics =
+                    ReplicationStatistics.collect(model.getOutputStatistics(), simulator.getSimulatorTime());
+            return new ReplicationResult(runId, replicationNr, statistics, System.nanoTime() - startNanos,
+                    simulator.getNumberOfExecutedEvents());
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new SimRuntimeException("replication " + id + " was interrupted", exception);
+        }
+        finally
+        {
+            if (!ended.get())
+            {
+                simulator.cleanUp();
+            }
+            if (replication instanceof SingleReplication)
+            {
+                synchronized (CONTEXT_LOCK)
+                {
+                    ((SingleReplication<T>) replication).removeFromContext();
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the model factory.
+     * @return the model factory
+     */
+    public ModelFactory<T, S> getModelFactory()
+    {
+        return this.modelFactory;
+    }
+
+    /**
+     * Return the run control.
+     * @return the run control
+     */
+    public RunControl<T> getRunControl()
+    {
+        return this.runControl;
+    }
+
+    /**
+     * Return whether the replications create a context in the naming tree.
+     * @return whether the replications create a context in the naming tree
+     */
+    public boolean isUseContext()
+    {
+        return this.useContext;
+    }
+
+    /**
+     * Set whether the replications create a context in the naming tree, in which the statistics of the model are bound. The
+     * default is true. Without a context, the replications do not share the naming tree with other replications, which avoids
+     * the synchronization on the tree when many short replications run in parallel; models that look up objects in the
+     * context of the replication, e.g., for animation, need the context.
+     * @param useContext whether the replications create a context in the naming tree
+     */
+    public void setUseContext(final boolean useContext)
+    {
+        this.useContext = useContext;
+    }
+
+    /**
+     * Return the current stream updater.
+     * @return the current stream updater
+     */
+    public StreamUpdater getStreamUpdater()
+    {
+        return this.streamUpdater;
+    }
+
+    /**
+     * Set a new StreamUpdater to set the random seeds for each replication.
+     * @param streamUpdater the new stream updater
+     * @throws NullPointerException when streamUpdater is null
+     */
+    public void setStreamUpdater(final StreamUpdater streamUpdater)
+    {
+        Throw.whenNull(streamUpdater, "streamUpdater cannot be null");
+        this.streamUpdater = streamUpdater;
+    }
+
+    /**
+     * A replication without a context in the naming tree.
+     * @param <T> the time type
+     */
+    private static class UnboundReplication<T extends Number & Comparable<T>> extends Replication<T>
+    {
+        /**
+         * @param runControl the run control for the replication
+         */
+        UnboundReplication(final RunControl<T> runControl)
+        {
+            super(runControl);
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package nl.tudelft.simulation.dsol.experiment;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.djutils.logger.CategoryLogger;
+
+import nl.tudelft.simulation.dsol.statistics.SimCounter;
+import nl.tudelft.simulation.dsol.statistics.SimPersistent;
+import nl.tudelft.simulation.dsol.statistics.SimTally;
+import nl.tudelft.simulation.dsol.statistics.SimulationStatistic;
+
+/**
+ * ReplicationStatistics collects the final values of the output statistics of a model at the end of a replication. The result
+ * maps the description of each statistic to a map of fields, such as "N", "SampleMean" and "Max", to the value of that field
+ * in the replication. These are the same statistics and fields for which the Experiment calculates its summary statistics.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class ReplicationStatistics
+{
+    /** Utility class. */
+    private ReplicationStatistics()
+    {
+        // utility class
+    }
+
+    /**
+     * Collect the final values of the output statistics at the end of a replication. Note that the SimPersistent statistics
+     * are ended at the given end time, so the last value is weighted until the end of the replication.
+     * @param outputStatistics the output statistics of the model
+     * @param endTime the simulation time at the end of the replication
+     * @param <T> the time type
+     * @return a map of the description of each statistic to a map of fields to values
+     */
+    public static <T extends Number & Comparable<T>> SortedMap<String, SortedMap<String, Double>> collect(
+            final List<SimulationStatistic<T>> outputStatistics, final T endTime)
+    {
+        SortedMap<String, SortedMap<String, Double>> result = new TreeMap<>();
+        for (SimulationStatistic<T> stat : outputStatistics)
+        {
+            if (stat instanceof SimCounter)
+            {
+                SimCounter<T> counter = (SimCounter<T>) stat;
+                SortedMap<String, Double> fields = result.computeIfAbsent(counter.getDescription(), (s) -> new TreeMap<>());
+                fields.put("N", (double) counter.getN());
+                fields.put("Count", (double) counter.getCount());
+            }
+            else if (stat instanceof SimTally)
+            {
+                SimTally<T> tally = (SimTally<T>) stat;
+                SortedMap<String, Double> fields = result.computeIfAbsent(tally.getDescription(), (s) -> new TreeMap<>());
+                fields.put("N", (double) tally.getN());
+                fields.put("Max", tally.getMax());
+                fields.put("Min", tally.getMin());
+                fields.put("PopulationExcessKurtosis", tally.getPopulationExcessKurtosis());
+                fields.put("PopulationKurtosis", tally.getPopulationKurtosis());
+                fields.put("PopulationMean", tally.getPopulationMean());
+                fields.put("PopulationSkewness", tally.getPopulationSkewness());
+                fields.put("PopulationStDev", tally.getPopulationStDev());
+                fields.put("PopulationVariance", tally.getPopulationVariance());
+                fields.put("SampleExcessKurtosis", tally.getSampleExcessKurtosis());
+                fields.put("SampleKurtosis", tally.getSampleKurtosis());
+                fields.put("SampleMean", tally.getSampleMean());
+                fields.put("SampleSkewness", tally.getSampleSkewness());
+                fields.put("SampleStDev", tally.getSampleStDev());
+                fields.put("SampleVariance", tally.getSampleVariance());
+                fields.put("Sum", tally.getSum());
+            }
+            else if (stat instanceof SimPersistent) // includes Utilization
+            {
+                SimPersistent<T> persistent = (SimPersistent<T>) stat;
+                // note that the last value has to be stored for the end simulation time, otherwise we have a 'gap' at the end
+                persistent.endObservations(endTime);
+                SortedMap<String, Double> fields =
+                        result.computeIfAbsent(persistent.getDescription(), (s) -> new TreeMap<>());
+                fields.put("N", (double) persistent.getN());
+                fields.put("Max", persistent.getMax());
+                fields.put("Min", persistent.getMin());
+                fields.put("WeightedPopulationMean", persistent.getWeightedPopulationMean());
+                fields.put("WeightedPopulationStDev", persistent.getWeightedPopulationStDev());
+                fields.put("WeightedPopulationVariance", persistent.getWeightedPopulationVariance());
+                fields.put("WeightedSampleMean", persistent.getWeightedSampleMean());
+                fields.put("WeightedSampleStDev", persistent.getWeightedSampleStDev());
+                fields.put("WeightedSampleVariance", persistent.getWeightedSampleVariance());
+                fields.put("WeightedSum", persistent.getWeightedSum());
+            }
+            else
+            {
+                CategoryLogger.always().warn("Unknown statistic for summary statistics: " + stat.getClass().getSimpleName());
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,306 @@
+package nl.tudelft.simulation.dsol.experiment.doe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.model.inputparameters.AbstractInputParameterMap;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameter;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterDouble;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterException;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterFloat;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterInteger;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterLong;
+import nl.tudelft.simulation.jstats.math.SobolSequence;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * Design is a design of experiments: a list of design points, where each design point assigns a value to every factor. The
+ * static factory methods create full-factorial, two-level fractional-factorial, Latin hypercube and Sobol designs. A design
+ * point is applied to a (cloned) InputParameterMap of a model with the applyTo method.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class Design
+{
+    /** the factors of the design. */
+    private final List<DesignFactor> factors;
+
+    /** the design points; points[i][j] is the value of factor j in design point i. */
+    private final double[][] points;
+
+    /**
+     * Create a design from explicitly given design points.
+     * @param factors the factors of the design
+     * @param points the design points; points[i][j] is the value of factor j in design point i
+     * @throws NullPointerException when factors or points is null
+     * @throws IllegalArgumentException when there are no factors, or when a design point does not have a value for each factor
+     */
+    public Design(final List<DesignFactor> factors, final double[][] points)
+    {
+        Throw.whenNull(factors, "factors cannot be null");
+        Throw.whenNull(points, "points cannot be null");
+        Throw.when(factors.isEmpty(), IllegalArgumentException.class, "design should have at least one factor");
+        for (double[] point : points)
+        {
+            Throw.when(point.length != factors.size(), IllegalArgumentException.class,
+                    "design point should have %d values", factors.size());
+        }
+        this.factors = Collections.unmodifiableList(new ArrayList<>(factors));
+        this.points = new double[points.length][];
+        for (int i = 0; i < points.length; i++)
+        {
+            this.points[i] = points[i].clone();
+        }
+    }
+
+    /**
+     * Create a full-factorial design, where each factor takes a number of equidistant levels between its low and high value,
+     * and all combinations of levels are a design point. The number of design points is levels^k for k factors.
+     * @param factors the factors of the design
+     * @param levels the number of levels per factor, at least 2
+     * @return a full-factorial design
+     * @throws IllegalArgumentException when levels &lt; 2, or when the design would be too large
+     */
+    public static Design fullFactorial(final List<DesignFactor> factors, final int levels)
+    {
+        Throw.whenNull(factors, "factors cannot be null");
+        Throw.when(levels < 2, IllegalArgumentException.class, "levels should be at least 2");
+        int k = factors.size();
+        double size = Math.pow(levels, k);
+        Throw.when(size > Integer.MAX_VALUE, IllegalArgumentException.class, "full-factorial design too large");
+        double[][] points = new double[(int) size][k];
+        for (int i = 0; i < points.length; i++)
+        {
+            int index = i;
+            for (int j = k - 1; j >= 0; j--)
+            {
+                points[i][j] = factors.get(j).value((index % levels) / (levels - 1.0));
+                index /= levels;
+            }
+        }
+        return new Design(factors, points);
+    }
+
+    /**
+     * Create a two-level fractional-factorial 2^(k-p) design. The first k-p factors form a full-factorial design at their low
+     * and high values; the last p factors are generated by the given generators. A generator is a word of letters, where 'A'
+     * denotes the first factor, 'B' the second, etc.; the coded level (-1 or +1) of the generated factor is the product of the
+     * coded levels of the base factors in its word. E.g., for 4 factors, generator "ABC" gives the 2^(4-1) design with
+     * D = ABC, which has resolution IV.
+     * @param factors the factors of the design
+     * @param generators the generators for the last p factors, one word per generated factor
+     * @return a two-level fractional-factorial design with 2^(k-p) design points
+     * @throws IllegalArgumentException when a generator is empty or refers to a factor that is not a base factor
+     */
+    public static Design fractionalFactorial(final List<DesignFactor> factors, final String... generators)
+    {
+        Throw.whenNull(factors, "factors cannot be null");
+        Throw.whenNull(generators, "generators cannot be null");
+        int k = factors.size();
+        int p = generators.length;
+        int base = k - p;
+        Throw.when(base < 1, IllegalArgumentException.class, "at least one base factor is needed");
+        Throw.when(base > 30, IllegalArgumentException.class, "fractional-factorial design too large");
+        int[][] words = new int[p][];
+        for (int g = 0; g < p; g++)
+        {
+            String word = generators[g].trim().toUpperCase();
+            Throw.when(word.isEmpty(), IllegalArgumentException.class, "generator %d is empty", g);
+            words[g] = new int[word.length()];
+            for (int c = 0; c < word.length(); c++)
+            {
+                int f = word.charAt(c) - 'A';
+                Throw.when(f < 0 || f >= base, IllegalArgumentException.class,
+                        "generator %s refers to factor %c, which is not one of the %d base factors", word, word.charAt(c),
+                        base);
+                words[g][c] = f;
+            }
+        }
+        double[][] points = new double[1 << base][k];
+        int[] coded = new int[base];
+        for (int i = 0; i < points.length; i++)
+        {
+            for (int j = 0; j < base; j++)
+            {
+                // standard order: the first factor alternates fastest
+                coded[j] = ((i >>> j) & 1) == 0 ? -1 : 1;
+                points[i][j] = coded[j] < 0 ? factors.get(j).getLow() : factors.get(j).getHigh();
+            }
+            for (int g = 0; g < p; g++)
+            {
+                int level = 1;
+                for (int f : words[g])
+                {
+                    level *= coded[f];
+                }
+                points[i][base + g] = level < 0 ? factors.get(base + g).getLow() : factors.get(base + g).getHigh();
+            }
+        }
+        return new Design(factors, points);
+    }
+
+    /**
+     * Create a Latin hypercube design with n design points. The range of each factor is divided in n equal strata, and each
+     * stratum is sampled exactly once, at a random position within the stratum. The strata of the different factors are
+     * combined by independent random permutations.
+     * @param factors the factors of the design
+     * @param n the number of design points
+     * @param stream the random stream to draw the permutations and positions
+     * @return a Latin hypercube design with n design points
+     * @throws IllegalArgumentException when n &lt; 1
+     */
+    public static Design latinHypercube(final List<DesignFactor> factors, final int n, final StreamInterface stream)
+    {
+        Throw.whenNull(factors, "factors cannot be null");
+        Throw.whenNull(stream, "stream cannot be null");
+        Throw.when(n < 1, IllegalArgumentException.class, "n should be at least 1");
+        int k = factors.size();
+        double[][] points = new double[n][k];
+        int[] permutation = new int[n];
+        for (int j = 0; j < k; j++)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                permutation[i] = i;
+            }
+            // Fisher-Yates shuffle
+            for (int i = n - 1; i > 0; i--)
+            {
+                int r = stream.nextInt(0, i);
+                int t = permutation[i];
+                permutation[i] = permutation[r];
+                permutation[r] = t;
+            }
+            for (int i = 0; i < n; i++)
+            {
+                points[i][j] = factors.get(j).value((permutation[i] + stream.nextDouble()) / n);
+            }
+        }
+        return new Design(factors, points);
+    }
+
+    /**
+     * Create a quasi-random design with the first n points of a Sobol sequence, scaled to the ranges of the factors. When n is
+     * a power of 2, each factor's range is divided in n equal strata that each contain exactly one design point.
+     * @param factors the factors of the design, at most SobolSequence.MAX_DIMENSION
+     * @param n the number of design points
+     * @return a Sobol design with n design points
+     * @throws IllegalArgumentException when n &lt; 1, or when there are too many factors
+     */
+    public static Design sobol(final List<DesignFactor> factors, final int n)
+    {
+        Throw.whenNull(factors, "factors cannot be null");
+        Throw.when(n < 1, IllegalArgumentException.class, "n should be at least 1");
+        int k = factors.size();
+        SobolSequence sequence = new SobolSequence(k);
+        double[][] points = new double[n][k];
+        for (int i = 0; i < n; i++)
+        {
+            sequence.nextPoint(points[i]);
+            for (int j = 0; j < k; j++)
+            {
+                points[i][j] = factors.get(j).value(points[i][j]);
+            }
+        }
+        return new Design(factors, points);
+    }
+
+    /**
+     * Set the values of a design point in an InputParameterMap. Double and float parameters get the value of the design
+     * point; integer and long parameters get the rounded value.
+     * @param inputParameterMap the input parameter map to change, usually a clone of the map of the model
+     * @param pointIndex the index of the design point
+     * @throws InputParameterException when a factor does not exist in the map, is not a numeric parameter, or when the value is
+     *             outside the allowed range of the parameter
+     * @throws IndexOutOfBoundsException when pointIndex is not a valid index
+     */
+    public void applyTo(final AbstractInputParameterMap<?> inputParameterMap, final int pointIndex)
+            throws InputParameterException
+    {
+        double[] point = this.points[pointIndex];
+        for (int j = 0; j < this.factors.size(); j++)
+        {
+            setNumericValue(inputParameterMap, this.factors.get(j).getKey(), point[j]);
+        }
+    }
+
+    /**
+     * Set the value of a numeric input parameter in an InputParameterMap. Double and float parameters get the value; integer
+     * and long parameters get the rounded value.
+     * @param inputParameterMap the input parameter map to change
+     * @param key the key of the input parameter, possibly using the dot-notation
+     * @param value the new value of the input parameter
+     * @throws InputParameterException when the parameter does not exist in the map, is not a numeric parameter, or when the
+     *             value is outside the allowed range of the parameter
+     */
+    public static void setNumericValue(final AbstractInputParameterMap<?> inputParameterMap, final String key,
+            final double value) throws InputParameterException
+    {
+        InputParameter<?, ?> parameter = inputParameterMap.get(key);
+        if (parameter instanceof InputParameterDouble)
+        {
+            ((InputParameterDouble) parameter).setDoubleValue(value);
+        }
+        else if (parameter instanceof InputParameterFloat)
+        {
+            ((InputParameterFloat) parameter).setFloatValue((float) value);
+        }
+        else if (parameter instanceof InputParameterInteger)
+        {
+            ((InputParameterInteger) parameter).setIntValue((int) Math.round(value));
+        }
+        else if (parameter instanceof InputParameterLong)
+        {
+            ((InputParameterLong) parameter).setLongValue(Math.round(value));
+        }
+        else
+        {
+            throw new InputParameterException(
+                    "Input parameter " + key + " of type " + parameter.getClass().getSimpleName() + " is not numeric");
+        }
+    }
+
+    /**
+     * Return the number of design points.
+     * @return the number of design points
+     */
+    public int size()
+    {
+        return this.points.length;
+    }
+
+    /**
+     * Return a copy of a design point.
+     * @param pointIndex the index of the design point
+     * @return a copy of the values of the factors in the design point
+     * @throws IndexOutOfBoundsException when pointIndex is not a valid index
+     */
+    public double[] getPoint(final int pointIndex)
+    {
+        return this.points[pointIndex].clone();
+    }
+
+    /**
+     * Return the factors of the design.
+     * @return the factors of the design
+     */
+    public List<DesignFactor> getFactors()
+    {
+        return this.factors;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Design [factors=" + this.factors.size() + ", points=" + this.points.length + "]";
+    }
+
+}
@@ -0,0 +1,90 @@
+package nl.tudelft.simulation.dsol.experiment.doe;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * DesignFactor is a factor in a design of experiments: a numeric input parameter of the model, identified by its key in the
+ * InputParameterMap, that is varied between a low and a high value. Keys of parameters in sub-maps use the dot-notation, e.g.,
+ * "server.capacity". For integer and long parameters, the values of the design are rounded to the nearest whole number.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class DesignFactor
+{
+    /** the key of the input parameter, possibly using the dot-notation. */
+    private final String key;
+
+    /** the low value of the factor. */
+    private final double low;
+
+    /** the high value of the factor. */
+    private final double high;
+
+    /**
+     * Create a factor for a design of experiments.
+     * @param key the key of the input parameter, possibly using the dot-notation
+     * @param low the low value of the factor
+     * @param high the high value of the factor
+     * @throws NullPointerException when key is null
+     * @throws IllegalArgumentException when low is larger than high, or when one of the values is not finite
+     */
+    public DesignFactor(final String key, final double low, final double high)
+    {
+        Throw.whenNull(key, "key cannot be null");
+        Throw.when(!Double.isFinite(low) || !Double.isFinite(high), IllegalArgumentException.class,
+                "low and high should be finite");
+        Throw.when(low > high, IllegalArgumentException.class, "low (%f) > high (%f) for factor %s", low, high, key);
+        this.key = key;
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Return the value of the factor for a fraction in [0,1] of its range.
+     * @param fraction the fraction of the range, where 0 is the low value and 1 is the high value
+     * @return the value of the factor
+     */
+    public double value(final double fraction)
+    {
+        return this.low + fraction * (this.high - this.low);
+    }
+
+    /**
+     * Return the key of the input parameter.
+     * @return the key of the input parameter
+     */
+    public String getKey()
+    {
+        return this.key;
+    }
+
+    /**
+     * Return the low value of the factor.
+     * @return the low value of the factor
+     */
+    public double getLow()
+    {
+        return this.low;
+    }
+
+    /**
+     * Return the high value of the factor.
+     * @return the high value of the factor
+     */
+    public double getHigh()
+    {
+        return this.high;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DesignFactor [key=" + this.key + ", low=" + this.low + ", high=" + this.high + "]";
+    }
+
+}
@@ -0,0 +1,259 @@
+package nl.tudelft.simulation.dsol.experiment.doe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.djutils.exceptions.Throw;
+import org.djutils.stats.summarizers.Tally;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.ExperimentRunControl;
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.ReplicationResult;
+import nl.tudelft.simulation.dsol.experiment.ReplicationRunner;
+import nl.tudelft.simulation.dsol.experiment.StreamUpdater;
+import nl.tudelft.simulation.dsol.experiment.results.ResultFileWriter;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterException;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterMap;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * DesignOfExperimentsRunner executes the replications for all design points of a Design on a pool of threads. For each design
+ * point, the InputParameterMap of a prototype model is cloned and the values of the design point are applied to the clone. Each
+ * replication then runs on a fresh simulator and model from the ModelFactory, which receives its own clone of the map of the
+ * design point. Replication r of every design point uses the same seeds, so the design points are compared with common random
+ * numbers. When a ResultFileWriter is set, the input parameters of each design point and the statistics of each replication
+ * are written as soon as they are available, and the summary statistics of each design point are written at the end. The run
+ * id of design point i is "point-i".
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ * @param <S> the simulator type
+ */
+public class DesignOfExperimentsRunner<T extends Number & Comparable<T>, S extends SimulatorInterface<T>>
+{
+    /** the factory for simulators and models. */
+    private final ModelFactory<T, S> modelFactory;
+
+    /** the run control with the number of replications per design point. */
+    private final ExperimentRunControl<T> runControl;
+
+    /** the design. */
+    private final Design design;
+
+    /** the number of threads to use. */
+    private final int numberOfThreads;
+
+    /** the runner for the single replications. */
+    private final ReplicationRunner<T, S> replicationRunner;
+
+    /** the optional writer for the results; can be null. */
+    private ResultFileWriter resultFileWriter = null;
+
+    /** the summary statistics per design point, available after run(). */
+    private List<SortedMap<String, SortedMap<String, Tally>>> summaryStatistics = new ArrayList<>();
+
+    /**
+     * Create a runner for a design of experiments.
+     * @param modelFactory the factory for simulators and models
+     * @param runControl the run control with start time, warmup period, run length and number of replications per design
+     *            point
+     * @param design the design with the design points
+     * @param numberOfThreads the number of threads to execute replications in parallel
+     * @throws NullPointerException when modelFactory, runControl or design is null
+     * @throws IllegalArgumentException when numberOfThreads &lt; 1
+     */
+    public DesignOfExperimentsRunner(final ModelFactory<T, S> modelFactory, final ExperimentRunControl<T> runControl,
+            final Design design, final int numberOfThreads)
+    {
+        Throw.whenNull(design, "design cannot be null");
+        Throw.when(numberOfThreads < 1, IllegalArgumentException.class, "numberOfThreads should be at least 1");
+        this.replicationRunner = new ReplicationRunner<>(modelFactory, runControl);
+        this.modelFactory = modelFactory;
+        this.runControl = runControl;
+        this.design = design;
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    /**
+     * Execute all replications of all design points, and wait until they have finished.
+     * @return the summary statistics per design point, mapping the description of a statistic to a map of fields to a Tally
+     *         of the values of that field over the replications
+     * @throws SimRuntimeException when a replication failed, when a design point could not be applied to the input
+     *             parameters, or when writing the results failed
+     */
+    public List<SortedMap<String, SortedMap<String, Tally>>> run() throws SimRuntimeException
+    {
+        int nrPoints = this.design.size();
+        int nrReplications = this.runControl.getNumberOfReplications();
+        InputParameterMap baseMap =
+                this.modelFactory.createModel(this.modelFactory.createSimulator("doe-prototype")).getInputParameterMap();
+        List<InputParameterMap> pointMaps = new ArrayList<>();
+        List<SortedMap<String, SortedMap<String, Tally>>> summaries = new ArrayList<>();
+        try
+        {
+            for (int i = 0; i < nrPoints; i++)
+            {
+                InputParameterMap pointMap = baseMap.clone();
+                this.design.applyTo(pointMap, i);
+                pointMaps.add(pointMap);
+                summaries.add(new TreeMap<>());
+                if (this.resultFileWriter != null)
+                {
+                    this.resultFileWriter.writeInputParameters(runId(i), pointMap);
+                }
+            }
+        }
+        catch (InputParameterException | IOException exception)
+        {
+            throw new SimRuntimeException("could not prepare design point", exception);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(this.numberOfThreads);
+        try
+        {
+            CompletionService<ReplicationResult> completionService = new ExecutorCompletionService<>(executor);
+            for (int r = 0; r < nrReplications; r++)
+            {
+                for (int i = 0; i < nrPoints; i++)
+                {
+                    String runId = runId(i);
+                    int replicationNr = r;
+                    InputParameterMap pointMap = pointMaps.get(i);
+                    completionService.submit(() -> this.replicationRunner.run(runId, replicationNr, pointMap));
+                }
+            }
+            for (int n = 0; n < nrPoints * nrReplications; n++)
+            {
+                ReplicationResult result = completionService.take().get();
+                int pointIndex = Integer.parseInt(result.getRunId().substring(6));
+                addSummary(summaries.get(pointIndex), result);
+                if (this.resultFileWriter != null)
+                {
+                    this.resultFileWriter.writeReplication(result.getRunId(), result.getReplicationNr(),
+                            result.getStatistics());
+                }
+            }
+            if (this.resultFileWriter != null)
+            {
+                for (int i = 0; i < nrPoints; i++)
+                {
+                    this.resultFileWriter.writeSummaryStatistics(runId(i), summaries.get(i));
+                }
+                this.resultFileWriter.flush();
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new SimRuntimeException("design of experiments was interrupted", exception);
+        }
+        catch (ExecutionException exception)
+        {
+            throw new SimRuntimeException("replication failed", exception.getCause());
+        }
+        catch (IOException exception)
+        {
+            throw new SimRuntimeException("could not write results", exception);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        this.summaryStatistics = summaries;
+        return Collections.unmodifiableList(summaries);
+    }
+
+    /**
+     * Add the statistics of a replication to the summary statistics of its design point.
+     * @param summary the summary statistics of the design point
+     * @param result the result of the replication
+     */
+    private void addSummary(final SortedMap<String, SortedMap<String, Tally>> summary, final ReplicationResult result)
+    {
+        for (Map.Entry<String, SortedMap<String, Double>> statEntry : result.getStatistics().entrySet())
+        {
+            SortedMap<String, Tally> fields = summary.computeIfAbsent(statEntry.getKey(), (s) -> new TreeMap<>());
+            for (Map.Entry<String, Double> fieldEntry : statEntry.getValue().entrySet())
+            {
+                Tally tally = fields.computeIfAbsent(fieldEntry.getKey(), (f) -> new Tally(f));
+                if (!Double.isNaN(fieldEntry.getValue()))
+                {
+                    tally.register(fieldEntry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the run id of a design point.
+     * @param pointIndex the index of the design point
+     * @return the run id of the design point
+     */
+    public static String runId(final int pointIndex)
+    {
+        return "point-" + pointIndex;
+    }
+
+    /**
+     * Return the summary statistics per design point of the last run, or an empty list when run() has not completed.
+     * @return the summary statistics per design point
+     */
+    public List<SortedMap<String, SortedMap<String, Tally>>> getSummaryStatistics()
+    {
+        return Collections.unmodifiableList(this.summaryStatistics);
+    }
+
+    /**
+     * Set the writer for the results, or null to not write results. The writer is not closed by this runner.
+     * @param resultFileWriter the writer for the results, or null
+     */
+    public void setResultFileWriter(final ResultFileWriter resultFileWriter)
+    {
+        this.resultFileWriter = resultFileWriter;
+    }
+
+    /**
+     * Set a new StreamUpdater to set the random seeds for each replication.
+     * @param streamUpdater the new stream updater
+     * @throws NullPointerException when streamUpdater is null
+     */
+    public void setStreamUpdater(final StreamUpdater streamUpdater)
+    {
+        this.replicationRunner.setStreamUpdater(streamUpdater);
+    }
+
+    /**
+     * Return the design.
+     * @return the design
+     */
+    public Design getDesign()
+    {
+        return this.design;
+    }
+
+    /**
+     * Return the number of threads.
+     * @return the number of threads
+     */
+    public int getNumberOfThreads()
+    {
+        return this.numberOfThreads;
+    }
+
+}
@@ -0,0 +1,11 @@
+/**
+ * Design of experiments over the input parameters of a model, with full-factorial, fractional-factorial, Latin hypercube and
+ * Sobol designs, and a runner that executes the replications of all design points in parallel.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ */
+package nl.tudelft.simulation.dsol.experiment.doe;
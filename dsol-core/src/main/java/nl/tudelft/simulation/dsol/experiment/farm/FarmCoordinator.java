@@ -0,0 +1,539 @@
+package nl.tudelft.simulation.dsol.experiment.farm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.djutils.exceptions.Throw;
+import org.djutils.logger.CategoryLogger;
+import org.djutils.stats.summarizers.Tally;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.ReplicationResult;
+import nl.tudelft.simulation.dsol.experiment.RunControl;
+import nl.tudelft.simulation.dsol.experiment.results.ResultFileWriter;
+
+/**
+ * FarmCoordinator distributes replications over worker JVMs on the same machine, so that models that need a large heap can be
+ * replicated in parallel without sharing one JVM. The coordinator listens on a localhost socket and, when run, starts the
+ * requested number of FarmWorker processes with the same class path. Every worker pulls the next replication from a shared
+ * queue as soon as it has finished the previous one, so faster workers automatically get more work. When a worker dies, or does
+ * not return a result within the task timeout, its replication is put back in the queue and executed by another worker. The
+ * statistics of the replications are merged into summary statistics per run, and can be streamed to a ResultFileWriter.
+ * <p>
+ * A run is a number of replications with the same numeric input parameter values; the worker applies these values to a clone
+ * of the InputParameterMap of a model from the ModelFactory. The seeds of each replication follow from its replication number,
+ * so results do not depend on the worker that executes the replication.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ */
+public class FarmCoordinator<T extends Number & Comparable<T>> implements Closeable
+{
+    /** the class name of the model factory, which should have a public no-argument constructor. */
+    private final String modelFactoryClassName;
+
+    /** the run control with start time, warmup period and run length. */
+    private final RunControl<T> runControl;
+
+    /** the server socket on which the workers connect. */
+    private final ServerSocket serverSocket;
+
+    /** the replications that still have to be executed. */
+    private final BlockingDeque<Task> queue = new LinkedBlockingDeque<>();
+
+    /** the numeric input parameter values per run. */
+    private final SortedMap<String, SortedMap<String, Double>> runs = new TreeMap<>();
+
+    /** the summary statistics per run. */
+    private final SortedMap<String, SortedMap<String, SortedMap<String, Tally>>> summaries = new TreeMap<>();
+
+    /** the results of all replications. */
+    private final List<ReplicationResult> results = new ArrayList<>();
+
+    /** the worker processes started by this coordinator, by worker id. */
+    private final Map<String, Process> processes = new ConcurrentHashMap<>();
+
+    /** the number of connected workers. */
+    private final AtomicInteger connectedWorkers = new AtomicInteger(0);
+
+    /** the JVM arguments for the workers, e.g., -Xmx12g. */
+    private List<String> workerJvmArguments = new ArrayList<>();
+
+    /** the maximum time in milliseconds for one replication. */
+    private int taskTimeoutMillis = 3_600_000;
+
+    /** the maximum number of attempts for one replication. */
+    private int maxAttempts = 3;
+
+    /** the optional writer for the results; can be null. */
+    private ResultFileWriter resultFileWriter = null;
+
+    /** the latch that counts the replications that still have to finish. */
+    private CountDownLatch remaining;
+
+    /** the first fatal error, if any. */
+    private volatile SimRuntimeException failure = null;
+
+    /** whether the coordinator is finished or closed. */
+    private volatile boolean done = false;
+
+    /**
+     * Create a coordinator that listens on a free port on the loopback address.
+     * @param modelFactoryClassName the class name of the ModelFactory, which should have a public no-argument constructor
+     * @param runControl the run control with start time, warmup period and run length of each replication
+     * @throws IOException when the server socket cannot be opened
+     * @throws NullPointerException when modelFactoryClassName or runControl is null
+     */
+    public FarmCoordinator(final String modelFactoryClassName, final RunControl<T> runControl) throws IOException
+    {
+        Throw.whenNull(modelFactoryClassName, "modelFactoryClassName cannot be null");
+        Throw.whenNull(runControl, "runControl cannot be null");
+        this.modelFactoryClassName = modelFactoryClassName;
+        this.runControl = runControl;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Create a coordinator for a model factory class.
+     * @param modelFactoryClass the class of the ModelFactory, which should have a public no-argument constructor
+     * @param runControl the run control with start time, warmup period and run length of each replication
+     * @throws IOException when the server socket cannot be opened
+     */
+    @SuppressWarnings("rawtypes")
+    public FarmCoordinator(final Class<? extends ModelFactory> modelFactoryClass, final RunControl<T> runControl)
+            throws IOException
+    {
+        this(modelFactoryClass.getName(), runControl);
+    }
+
+    /**
+     * Add a run with a number of replications.
+     * @param runId the unique id of the run
+     * @param numberOfReplications the number of replications of the run
+     * @param parameters the numeric input parameter values for the run, by key in the InputParameterMap of the model; can be
+     *            empty to use the default values of the model
+     * @throws IllegalArgumentException when the run id already exists, or when numberOfReplications &lt; 1
+     */
+    public synchronized void addRun(final String runId, final int numberOfReplications,
+            final SortedMap<String, Double> parameters)
+    {
+        Throw.whenNull(runId, "runId cannot be null");
+        Throw.whenNull(parameters, "parameters cannot be null");
+        Throw.when(this.runs.containsKey(runId), IllegalArgumentException.class, "run %s already exists", runId);
+        Throw.when(numberOfReplications < 1, IllegalArgumentException.class, "numberOfReplications should be at least 1");
+        this.runs.put(runId, new TreeMap<>(parameters));
+        for (int r = 0; r < numberOfReplications; r++)
+        {
+            this.queue.add(new Task(runId, r));
+        }
+    }
+
+    /**
+     * Execute all replications of all runs, and wait until they have finished. The given number of worker JVMs is started;
+     * when numberOfWorkers is 0, the coordinator waits for workers that are started in another way, e.g., by a script.
+     * @param numberOfWorkers the number of worker JVMs to start
+     * @return the summary statistics per run, mapping the run id to the description of a statistic to a map of fields to a
+     *         Tally of the values of that field over the replications
+     * @throws SimRuntimeException when a replication failed in all attempts, when all started workers died, or when writing
+     *             the results failed
+     */
+    public SortedMap<String, SortedMap<String, SortedMap<String, Tally>>> run(final int numberOfWorkers)
+            throws SimRuntimeException
+    {
+        Throw.when(numberOfWorkers < 0, IllegalArgumentException.class, "numberOfWorkers cannot be negative");
+        Throw.when(this.done, IllegalStateException.class, "coordinator has already finished");
+        this.remaining = new CountDownLatch(this.queue.size());
+        try
+        {
+            if (this.resultFileWriter != null)
+            {
+                for (Map.Entry<String, SortedMap<String, Double>> run : this.runs.entrySet())
+                {
+                    SortedMap<String, String> parameters = new TreeMap<>();
+                    run.getValue().forEach((k, v) -> parameters.put(k, String.valueOf(v)));
+                    this.resultFileWriter.writeInputParameters(run.getKey(), parameters);
+                }
+            }
+            Thread acceptor = new Thread(this::acceptWorkers, "FarmCoordinator-accept");
+            acceptor.setDaemon(true);
+            acceptor.start();
+            for (int w = 0; w < numberOfWorkers; w++)
+            {
+                startWorker("worker-" + w);
+            }
+            while (!this.remaining.await(250, TimeUnit.MILLISECONDS))
+            {
+                if (this.failure != null)
+                {
+                    throw this.failure;
+                }
+                if (numberOfWorkers > 0 && this.connectedWorkers.get() == 0
+                        && this.processes.values().stream().noneMatch(Process::isAlive))
+                {
+                    throw new SimRuntimeException("all farm workers died");
+                }
+            }
+            if (this.failure != null)
+            {
+                throw this.failure;
+            }
+            if (this.resultFileWriter != null)
+            {
+                for (Map.Entry<String, SortedMap<String, SortedMap<String, Tally>>> summary : this.summaries.entrySet())
+                {
+                    this.resultFileWriter.writeSummaryStatistics(summary.getKey(), summary.getValue());
+                }
+                this.resultFileWriter.flush();
+            }
+            return Collections.unmodifiableSortedMap(this.summaries);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new SimRuntimeException("farm was interrupted", exception);
+        }
+        catch (IOException exception)
+        {
+            throw new SimRuntimeException("could not write results", exception);
+        }
+        finally
+        {
+            close();
+        }
+    }
+
+    /**
+     * Start a worker JVM with the same class path as this JVM.
+     * @param workerId the id of the worker
+     * @throws IOException when the process cannot be started
+     */
+    private void startWorker(final String workerId) throws IOException
+    {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(this.workerJvmArguments);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(FarmWorker.class.getName());
+        command.add(this.serverSocket.getInetAddress().getHostAddress());
+        command.add(String.valueOf(this.serverSocket.getLocalPort()));
+        command.add(workerId);
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+        this.processes.put(workerId, builder.start());
+    }
+
+    /**
+     * Accept connections of workers until the coordinator is finished, and serve each worker on its own thread.
+     */
+    private void acceptWorkers()
+    {
+        while (!this.done)
+        {
+            try
+            {
+                Socket socket = this.serverSocket.accept();
+                Thread handler = new Thread(() -> serveWorker(socket), "FarmCoordinator-worker");
+                handler.setDaemon(true);
+                handler.start();
+            }
+            catch (IOException exception)
+            {
+                if (!this.done)
+                {
+                    CategoryLogger.always().warn(exception, "FarmCoordinator: accept failed");
+                }
+            }
+        }
+    }
+
+    /**
+     * Hand out replications to one worker until all replications have finished or the worker fails.
+     * @param socket the socket of the worker
+     */
+    private void serveWorker(final Socket socket)
+    {
+        String workerId = "unknown";
+        Task task = null;
+        this.connectedWorkers.incrementAndGet();
+        try (socket)
+        {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(this.taskTimeoutMillis);
+            ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.flush();
+            ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+            Throw.when(in.readInt() != FarmProtocol.MAGIC, IOException.class, "not a farm worker");
+            workerId = in.readUTF();
+            out.writeUTF(this.modelFactoryClassName);
+            out.writeObject(this.runControl.getStartTime());
+            out.writeObject(this.runControl.getWarmupPeriod());
+            out.writeObject(this.runControl.getRunLength());
+            out.flush();
+            while (!this.done && this.remaining.getCount() > 0)
+            {
+                task = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (task == null)
+                {
+                    continue;
+                }
+                out.writeByte(FarmProtocol.TASK);
+                out.writeUTF(task.runId);
+                out.writeInt(task.replicationNr);
+                FarmProtocol.writeValues(out, this.runs.get(task.runId));
+                out.flush();
+                byte reply = in.readByte();
+                if (reply == FarmProtocol.RESULT)
+                {
+                    long wallTimeNanos = in.readLong();
+                    SortedMap<String, SortedMap<String, Double>> statistics = FarmProtocol.readStatistics(in);
+                    record(new ReplicationResult(task.runId, task.replicationNr, statistics, wallTimeNanos));
+                }
+                else
+                {
+                    String message = in.readUTF();
+                    retry(task, "replication " + task + " failed on " + workerId + ": " + message);
+                }
+                task = null;
+            }
+            out.writeByte(FarmProtocol.QUIT);
+            out.flush();
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            if (!this.done)
+            {
+                CategoryLogger.always().warn("FarmCoordinator: lost worker {}: {}", workerId, exception.toString());
+            }
+            Process process = this.processes.get(workerId);
+            if (process != null)
+            {
+                process.destroyForcibly();
+            }
+            if (task != null)
+            {
+                retry(task, "worker " + workerId + " died or timed out during replication " + task);
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            if (task != null)
+            {
+                this.queue.addFirst(task);
+            }
+        }
+        finally
+        {
+            this.connectedWorkers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Put a failed replication back in the queue, or register a fatal failure when it has been attempted too often.
+     * @param task the failed replication
+     * @param message the reason of the failure
+     */
+    private void retry(final Task task, final String message)
+    {
+        task.attempts++;
+        if (task.attempts >= this.maxAttempts)
+        {
+            this.failure = new SimRuntimeException(message + " (attempt " + task.attempts + ")");
+            // release the waiting run() method
+            while (this.remaining.getCount() > 0)
+            {
+                this.remaining.countDown();
+            }
+        }
+        else
+        {
+            CategoryLogger.always().warn("FarmCoordinator: {}; requeued", message);
+            this.queue.addFirst(task);
+        }
+    }
+
+    /**
+     * Merge the result of a replication into the summary statistics, and write it when a result writer is set.
+     * @param result the result of the replication
+     */
+    private synchronized void record(final ReplicationResult result)
+    {
+        this.results.add(result);
+        SortedMap<String, SortedMap<String, Tally>> summary =
+                this.summaries.computeIfAbsent(result.getRunId(), (r) -> new TreeMap<>());
+        for (Map.Entry<String, SortedMap<String, Double>> statEntry : result.getStatistics().entrySet())
+        {
+            SortedMap<String, Tally> fields = summary.computeIfAbsent(statEntry.getKey(), (s) -> new TreeMap<>());
+            for (Map.Entry<String, Double> fieldEntry : statEntry.getValue().entrySet())
+            {
+                Tally tally = fields.computeIfAbsent(fieldEntry.getKey(), (f) -> new Tally(f));
+                if (!Double.isNaN(fieldEntry.getValue()))
+                {
+                    tally.register(fieldEntry.getValue());
+                }
+            }
+        }
+        if (this.resultFileWriter != null)
+        {
+            try
+            {
+                this.resultFileWriter.writeReplication(result.getRunId(), result.getReplicationNr(), result.getStatistics());
+            }
+            catch (IOException exception)
+            {
+                this.failure = new SimRuntimeException("could not write results", exception);
+            }
+        }
+        this.remaining.countDown();
+    }
+
+    /**
+     * Stop accepting workers, and stop the worker processes that were started by this coordinator.
+     */
+    @Override
+    public void close()
+    {
+        this.done = true;
+        try
+        {
+            this.serverSocket.close();
+        }
+        catch (IOException exception)
+        {
+            // ignore, the socket is closed anyway
+        }
+        for (Process process : this.processes.values())
+        {
+            try
+            {
+                if (!process.waitFor(5, TimeUnit.SECONDS))
+                {
+                    process.destroyForcibly();
+                }
+            }
+            catch (InterruptedException exception)
+            {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Return the results of all replications that finished, in the order in which they were received.
+     * @return the results of the replications
+     */
+    public synchronized List<ReplicationResult> getResults()
+    {
+        return new ArrayList<>(this.results);
+    }
+
+    /**
+     * Return the port on which the coordinator listens, e.g., to start workers in another way.
+     * @return the port of the coordinator
+     */
+    public int getPort()
+    {
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * Set the JVM arguments for the worker processes, e.g., "-Xmx12g".
+     * @param workerJvmArguments the JVM arguments for the workers
+     */
+    public void setWorkerJvmArguments(final List<String> workerJvmArguments)
+    {
+        Throw.whenNull(workerJvmArguments, "workerJvmArguments cannot be null");
+        this.workerJvmArguments = new ArrayList<>(workerJvmArguments);
+    }
+
+    /**
+     * Set the maximum time for one replication; a worker that does not return a result in time is stopped.
+     * @param taskTimeoutMillis the maximum time in milliseconds for one replication
+     * @throws IllegalArgumentException when taskTimeoutMillis &lt;= 0
+     */
+    public void setTaskTimeoutMillis(final int taskTimeoutMillis)
+    {
+        Throw.when(taskTimeoutMillis <= 0, IllegalArgumentException.class, "taskTimeoutMillis should be > 0");
+        this.taskTimeoutMillis = taskTimeoutMillis;
+    }
+
+    /**
+     * Set the maximum number of attempts for one replication before the farm fails.
+     * @param maxAttempts the maximum number of attempts for one replication
+     * @throws IllegalArgumentException when maxAttempts &lt; 1
+     */
+    public void setMaxAttempts(final int maxAttempts)
+    {
+        Throw.when(maxAttempts < 1, IllegalArgumentException.class, "maxAttempts should be at least 1");
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Set the writer for the results, or null to not write results. The writer is not closed by this coordinator.
+     * @param resultFileWriter the writer for the results, or null
+     */
+    public void setResultFileWriter(final ResultFileWriter resultFileWriter)
+    {
+        this.resultFileWriter = resultFileWriter;
+    }
+
+    /** A replication that has to be executed. */
+    private static class Task
+    {
+        /** the run id. */
+        private final String runId;
+
+        /** the replication number. */
+        private final int replicationNr;
+
+        /** the number of failed attempts. */
+        private int attempts = 0;
+
+        /**
+         * @param runId the run id
+         * @param replicationNr the replication number
+         */
+        Task(final String runId, final int replicationNr)
+        {
+            this.runId = runId;
+            this.replicationNr = replicationNr;
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.runId + "." + this.replicationNr;
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package nl.tudelft.simulation.dsol.experiment.farm;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * FarmProtocol contains the constants and the encoding of the messages between the FarmCoordinator and the FarmWorkers. After
+ * connecting, a worker sends MAGIC and its id; the coordinator answers with the class name of the model factory and the start
+ * time, warmup period and run length of the replications. The coordinator then sends TASK messages with a run id, a
+ * replication number and the numeric parameter values of the run, and the worker answers each task with a RESULT or an ERROR
+ * message. QUIT tells the worker to exit.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+final class FarmProtocol
+{
+    /** the magic number that a worker sends after connecting ("DSOL"). */
+    static final int MAGIC = 0x44534F4C;
+
+    /** coordinator to worker: execute a replication. */
+    static final byte TASK = 'T';
+
+    /** coordinator to worker: exit. */
+    static final byte QUIT = 'Q';
+
+    /** worker to coordinator: the statistics of a replication. */
+    static final byte RESULT = 'R';
+
+    /** worker to coordinator: the replication failed. */
+    static final byte ERROR = 'E';
+
+    /** Utility class. */
+    private FarmProtocol()
+    {
+        // utility class
+    }
+
+    /**
+     * Write a map of numeric values.
+     * @param out the output
+     * @param values the map of keys to values
+     * @throws IOException on I/O error
+     */
+    static void writeValues(final DataOutput out, final SortedMap<String, Double> values) throws IOException
+    {
+        out.writeInt(values.size());
+        for (Map.Entry<String, Double> entry : values.entrySet())
+        {
+            out.writeUTF(entry.getKey());
+            out.writeDouble(entry.getValue());
+        }
+    }
+
+    /**
+     * Read a map of numeric values.
+     * @param in the input
+     * @return the map of keys to values
+     * @throws IOException on I/O error
+     */
+    static SortedMap<String, Double> readValues(final DataInput in) throws IOException
+    {
+        SortedMap<String, Double> values = new TreeMap<>();
+        int n = in.readInt();
+        for (int i = 0; i < n; i++)
+        {
+            String key = in.readUTF();
+            values.put(key, in.readDouble());
+        }
+        return values;
+    }
+
+    /**
+     * Write the statistics of a replication.
+     * @param out the output
+     * @param statistics the map of statistic descriptions to maps of fields to values
+     * @throws IOException on I/O error
+     */
+    static void writeStatistics(final DataOutput out, final SortedMap<String, SortedMap<String, Double>> statistics)
+            throws IOException
+    {
+        out.writeInt(statistics.size());
+        for (Map.Entry<String, SortedMap<String, Double>> entry : statistics.entrySet())
+        {
+            out.writeUTF(entry.getKey());
+            writeValues(out, entry.getValue());
+        }
+    }
+
+    /**
+     * Read the statistics of a replication.
+     * @param in the input
+     * @return the map of statistic descriptions to maps of fields to values
+     * @throws IOException on I/O error
+     */
+    static SortedMap<String, SortedMap<String, Double>> readStatistics(final DataInput in) throws IOException
+    {
+        SortedMap<String, SortedMap<String, Double>> statistics = new TreeMap<>();
+        int n = in.readInt();
+        for (int i = 0; i < n; i++)
+        {
+            String key = in.readUTF();
+            statistics.put(key, readValues(in));
+        }
+        return statistics;
+    }
+
+}
@@ -0,0 +1,149 @@
+package nl.tudelft.simulation.dsol.experiment.farm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.Socket;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.djutils.exceptions.Throw;
+import org.djutils.logger.CategoryLogger;
+
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.ReplicationResult;
+import nl.tudelft.simulation.dsol.experiment.ReplicationRunner;
+import nl.tudelft.simulation.dsol.experiment.RunControl;
+import nl.tudelft.simulation.dsol.experiment.doe.Design;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterMap;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * FarmWorker executes replications for a FarmCoordinator, usually in a separate JVM on the same machine. The worker connects
+ * to the coordinator, receives the class name of the ModelFactory, which should have a public no-argument constructor, and
+ * then executes one replication at a time until the coordinator tells it to quit or the connection is closed. Only the
+ * statistics of each replication are sent back. The worker can be started with: <br>
+ * <code>java -cp ... nl.tudelft.simulation.dsol.experiment.farm.FarmWorker host port workerId</code>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class FarmWorker
+{
+    /** Utility class. */
+    private FarmWorker()
+    {
+        // utility class
+    }
+
+    /**
+     * Start a worker.
+     * @param args host, port and worker id
+     * @throws Exception when the worker cannot connect to the coordinator, or cannot instantiate the model factory
+     */
+    public static void main(final String[] args) throws Exception
+    {
+        Throw.when(args.length != 3, IllegalArgumentException.class, "usage: FarmWorker host port workerId");
+        run(args[0], Integer.parseInt(args[1]), args[2]);
+    }
+
+    /**
+     * Connect to the coordinator and execute replications until the coordinator tells the worker to quit.
+     * @param host the host of the coordinator
+     * @param port the port of the coordinator
+     * @param workerId the id of this worker
+     * @throws Exception when the worker cannot connect to the coordinator, or cannot instantiate the model factory
+     */
+    public static void run(final String host, final int port, final String workerId) throws Exception
+    {
+        try (Socket socket = new Socket(host, port))
+        {
+            socket.setTcpNoDelay(true);
+            ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeInt(FarmProtocol.MAGIC);
+            out.writeUTF(workerId);
+            out.flush();
+            ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+            String factoryClassName = in.readUTF();
+            Object startTime = in.readObject();
+            Object warmupPeriod = in.readObject();
+            Object runLength = in.readObject();
+            serve(in, out, Class.forName(factoryClassName).getDeclaredConstructor().newInstance(), startTime, warmupPeriod,
+                    runLength);
+        }
+        catch (EOFException exception)
+        {
+            CategoryLogger.always().info("FarmWorker {}: coordinator closed the connection", workerId);
+        }
+    }
+
+    /**
+     * Execute the tasks of the coordinator.
+     * @param in the input stream from the coordinator
+     * @param out the output stream to the coordinator
+     * @param factory the model factory
+     * @param startTime the start time of the replications
+     * @param warmupPeriod the warmup period of the replications
+     * @param runLength the run length of the replications
+     * @param <T> the time type
+     * @param <S> the simulator type
+     * @throws IOException on communication error
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Number & Comparable<T>, S extends SimulatorInterface<T>> void serve(final ObjectInputStream in,
+            final ObjectOutputStream out, final Object factory, final Object startTime, final Object warmupPeriod,
+            final Object runLength) throws IOException
+    {
+        ModelFactory<T, S> modelFactory = (ModelFactory<T, S>) factory;
+        RunControl<T> runControl = new RunControl<T>("farm", (T) startTime, (T) warmupPeriod, (T) runLength);
+        ReplicationRunner<T, S> runner = new ReplicationRunner<>(modelFactory, runControl);
+        InputParameterMap baseMap = null;
+        while (true)
+        {
+            byte command = in.readByte();
+            if (command == FarmProtocol.QUIT)
+            {
+                return;
+            }
+            Throw.when(command != FarmProtocol.TASK, IOException.class, "unknown command %d", command);
+            String runId = in.readUTF();
+            int replicationNr = in.readInt();
+            SortedMap<String, Double> parameters = FarmProtocol.readValues(in);
+            try
+            {
+                InputParameterMap map = null;
+                if (!parameters.isEmpty())
+                {
+                    if (baseMap == null)
+                    {
+                        baseMap = modelFactory.createModel(modelFactory.createSimulator("farm-prototype"))
+                                .getInputParameterMap();
+                    }
+                    map = baseMap.clone();
+                    for (Map.Entry<String, Double> entry : parameters.entrySet())
+                    {
+                        Design.setNumericValue(map, entry.getKey(), entry.getValue());
+                    }
+                }
+                ReplicationResult result = runner.run(runId, replicationNr, map);
+                out.writeByte(FarmProtocol.RESULT);
+                out.writeLong(result.getWallTimeNanos());
+                FarmProtocol.writeStatistics(out, result.getStatistics());
+            }
+            catch (Exception exception)
+            {
+                out.writeByte(FarmProtocol.ERROR);
+                out.writeUTF(String.valueOf(exception.getMessage()));
+            }
+            out.flush();
+        }
+    }
+
+}
@@ -0,0 +1,236 @@
+package nl.tudelft.simulation.dsol.experiment.results;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.djutils.event.Event;
+import org.djutils.event.EventListener;
+import org.djutils.event.EventProducer;
+import org.djutils.event.EventType;
+import org.djutils.event.TimedEvent;
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.exceptions.Throw;
+import org.djutils.logger.CategoryLogger;
+
+import nl.tudelft.simulation.dsol.experiment.Experiment;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+import nl.tudelft.simulation.dsol.statistics.SimCounter;
+import nl.tudelft.simulation.dsol.statistics.SimPersistent;
+import nl.tudelft.simulation.dsol.statistics.SimTally;
+import nl.tudelft.simulation.dsol.statistics.SimulationStatistic;
+
+/**
+ * ExperimentResultRecorder listens to an Experiment and incrementally writes its results to a ResultFileWriter. The input
+ * parameters of the model are written when the first replication starts, the statistic values of each replication are written
+ * as soon as the replication has ended, and the summary statistics are written at the end of the experiment. Optionally, the
+ * observations of selected statistics can be recorded as time series. <br>
+ * The recorder does not close the writer, so one writer can be shared by multiple recorders, e.g., for different experiments.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ * @param <S> the simulator type
+ */
+public class ExperimentResultRecorder<T extends Number & Comparable<T>, S extends SimulatorInterface<T>>
+        implements EventListener
+{
+    /** the experiment to record. */
+    private final Experiment<T, S> experiment;
+
+    /** the writer to write the results to. */
+    private final ResultFileWriter writer;
+
+    /** the keys of the statistics for which the observations are recorded as a time series. */
+    private final Set<String> timeSeriesKeys = new LinkedHashSet<>();
+
+    /** the time series buffers for the current replication, mapped by the statistic that produces the observations. */
+    private final Map<SimulationStatistic<T>, TimeSeriesBuffer> buffers = new LinkedHashMap<>();
+
+    /** whether the input parameters have been written. */
+    private boolean parametersWritten = false;
+
+    /**
+     * Create a recorder that writes the results of an experiment to a result file.
+     * @param experiment the experiment to record
+     * @param writer the writer to write the results to
+     * @throws NullPointerException when experiment or writer is null
+     */
+    public ExperimentResultRecorder(final Experiment<T, S> experiment, final ResultFileWriter writer)
+    {
+        Throw.whenNull(experiment, "experiment cannot be null");
+        Throw.whenNull(writer, "writer cannot be null");
+        this.experiment = experiment;
+        this.writer = writer;
+        experiment.addListener(this, Replication.START_REPLICATION_EVENT, ReferenceType.STRONG);
+        experiment.addListener(this, Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        experiment.addListener(this, Experiment.END_EXPERIMENT_EVENT, ReferenceType.STRONG);
+    }
+
+    /**
+     * Record all observations of the statistic with the given key as a time series in each replication. The statistic should
+     * be a SimTally, SimPersistent or SimCounter.
+     * @param key the key of the statistic
+     */
+    public void addTimeSeries(final String key)
+    {
+        Throw.whenNull(key, "key cannot be null");
+        this.timeSeriesKeys.add(key);
+    }
+
+    /**
+     * Stop listening to the experiment.
+     */
+    public void detach()
+    {
+        this.experiment.removeListener(this, Replication.START_REPLICATION_EVENT);
+        this.experiment.removeListener(this, Replication.END_REPLICATION_EVENT);
+        this.experiment.removeListener(this, Experiment.END_EXPERIMENT_EVENT);
+    }
+
+    @Override
+    public void notify(final Event event)
+    {
+        try
+        {
+            if (event.getType().equals(Replication.START_REPLICATION_EVENT))
+            {
+                startReplication();
+            }
+            else if (event.getType().equals(Replication.END_REPLICATION_EVENT))
+            {
+                endReplication();
+            }
+            else if (event.getType().equals(Experiment.END_EXPERIMENT_EVENT))
+            {
+                this.writer.writeSummaryStatistics(this.experiment.getId(), this.experiment.getSummaryStatistics());
+            }
+        }
+        catch (IOException exception)
+        {
+            CategoryLogger.always().error(exception, "ExperimentResultRecorder: could not write results");
+        }
+    }
+
+    /**
+     * Write the input parameters at the start of the first replication, and subscribe to the statistics for which a time
+     * series has to be recorded. The statistics are (re)created in constructModel() and thus only available at this point.
+     * @throws IOException when writing fails
+     */
+    protected void startReplication() throws IOException
+    {
+        if (!this.parametersWritten)
+        {
+            this.writer.writeInputParameters(this.experiment.getId(), this.experiment.getModel().getInputParameterMap());
+            this.parametersWritten = true;
+        }
+        this.buffers.clear();
+        if (this.timeSeriesKeys.isEmpty())
+        {
+            return;
+        }
+        for (SimulationStatistic<T> stat : this.experiment.getModel().getOutputStatistics())
+        {
+            if (this.timeSeriesKeys.contains(stat.getKey()) && !this.buffers.containsKey(stat))
+            {
+                EventType eventType = observationEventType(stat);
+                if (eventType != null)
+                {
+                    TimeSeriesBuffer buffer = new TimeSeriesBuffer();
+                    ((EventProducer) stat).addListener(buffer, eventType, ReferenceType.STRONG);
+                    this.buffers.put(stat, buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the statistic values and the time series of the replication that has just ended.
+     * @throws IOException when writing fails
+     */
+    protected void endReplication() throws IOException
+    {
+        String runId = this.experiment.getId();
+        int replicationNr = this.experiment.getCurrentReplicationNumber();
+        this.writer.writeReplication(runId, replicationNr, this.experiment.getReplicationStatistics());
+        for (Map.Entry<SimulationStatistic<T>, TimeSeriesBuffer> entry : this.buffers.entrySet())
+        {
+            TimeSeriesBuffer buffer = entry.getValue();
+            this.writer.writeTimeSeries(runId, replicationNr, entry.getKey().getKey(), buffer.times, buffer.values, buffer.n);
+            ((EventProducer) entry.getKey()).removeListener(buffer, observationEventType(entry.getKey()));
+        }
+        this.buffers.clear();
+    }
+
+    /**
+     * Return the event type that signals a new timed observation for the given statistic.
+     * @param stat the statistic
+     * @return the observation event type, or null when the statistic is of an unknown type
+     */
+    private EventType observationEventType(final SimulationStatistic<T> stat)
+    {
+        if (stat instanceof SimTally)
+        {
+            return SimTally.TIMED_OBSERVATION_ADDED_EVENT;
+        }
+        if (stat instanceof SimPersistent)
+        {
+            return SimPersistent.TIMED_OBSERVATION_ADDED_EVENT;
+        }
+        if (stat instanceof SimCounter)
+        {
+            return SimCounter.TIMED_OBSERVATION_ADDED_EVENT;
+        }
+        CategoryLogger.always().warn("ExperimentResultRecorder: cannot record time series for statistic {} of type {}",
+                stat.getKey(), stat.getClass().getSimpleName());
+        return null;
+    }
+
+    /** Growable buffer with primitive arrays for the observations of a time series, which listens to one statistic. */
+    static class TimeSeriesBuffer implements EventListener
+    {
+        /** the time stamps. */
+        private double[] times = new double[256];
+
+        /** the values. */
+        private double[] values = new double[256];
+
+        /** the number of observations. */
+        private int n = 0;
+
+        /**
+         * Add an observation.
+         * @param time the time stamp
+         * @param value the value
+         */
+        void add(final double time, final double value)
+        {
+            if (this.n == this.times.length)
+            {
+                this.times = Arrays.copyOf(this.times, 2 * this.n);
+                this.values = Arrays.copyOf(this.values, 2 * this.n);
+            }
+            this.times[this.n] = time;
+            this.values[this.n] = value;
+            this.n++;
+        }
+
+        @Override
+        public void notify(final Event event)
+        {
+            if (event instanceof TimedEvent && event.getContent() instanceof Number)
+            {
+                double time = ((Number) ((TimedEvent<?>) event).getTimeStamp()).doubleValue();
+                add(time, ((Number) event.getContent()).doubleValue());
+            }
+        }
+    }
+}
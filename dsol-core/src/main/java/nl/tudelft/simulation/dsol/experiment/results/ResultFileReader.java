@@ -0,0 +1,633 @@
+package nl.tudelft.simulation.dsol.experiment.results;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * ResultFileReader reads a result file that has been written by the ResultFileWriter. The per-replication statistic values are
+ * made available as columns, where each column is one contiguous array of doubles with one value per replication row. The
+ * reader also gives access to the input parameters and summary statistics per run, and to recorded time series. <br>
+ * A block that has only partially been written at the end of the file, e.g., because the experiment crashed, is ignored, so
+ * all completed replications of a crashed experiment can still be read.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class ResultFileReader
+{
+    /** the column names mapped to their index. */
+    private final Map<String, Integer> columns = new LinkedHashMap<>();
+
+    /** the column data; only the first nRows values of each array are valid. */
+    private final List<double[]> columnData = new ArrayList<>();
+
+    /** the run id per row. */
+    private String[] runIds = new String[64];
+
+    /** the replication number per row. */
+    private int[] replications = new int[64];
+
+    /** the number of rows. */
+    private int nRows = 0;
+
+    /** the input parameters per run. */
+    private final SortedMap<String, SortedMap<String, String>> inputParameters = new TreeMap<>();
+
+    /** the summary statistics per run. */
+    private final SortedMap<String, SortedMap<String, SortedMap<String, Summary>>> summaryStatistics = new TreeMap<>();
+
+    /** the time series per run, replication and key. */
+    private final SortedMap<String, SortedMap<Integer, SortedMap<String, TimeSeries>>> timeSeries = new TreeMap<>();
+
+    /** the number of bytes in the file that contain the header and complete, valid blocks. */
+    private long validLength;
+
+    /** whether the file ended with an incomplete or corrupt block. */
+    private boolean truncated = false;
+
+    /**
+     * Read a result file.
+     * @param path the path of the result file
+     * @throws IOException when the file cannot be read, or when it is not a result file
+     */
+    public ResultFileReader(final Path path) throws IOException
+    {
+        Throw.whenNull(path, "path cannot be null");
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 65536)))
+        {
+            readHeader(in);
+            this.validLength = ResultFileWriter.MAGIC.length;
+            CRC32 crc = new CRC32();
+            while (true)
+            {
+                int type = in.read();
+                if (type < 0)
+                {
+                    break;
+                }
+                byte[] payload;
+                try
+                {
+                    int length = in.readInt();
+                    if (length < 0)
+                    {
+                        this.truncated = true;
+                        break;
+                    }
+                    payload = readFully(in, length);
+                    int checksum = in.readInt();
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum)
+                    {
+                        this.truncated = true;
+                        break;
+                    }
+                }
+                catch (EOFException exception)
+                {
+                    this.truncated = true;
+                    break;
+                }
+                parseBlock((byte) type, ByteBuffer.wrap(payload));
+                this.validLength += 1 + 4 + payload.length + 4;
+            }
+        }
+    }
+
+    /**
+     * Read and check the header of the file.
+     * @param in the input stream
+     * @throws IOException when the file does not start with the correct header
+     */
+    private void readHeader(final DataInputStream in) throws IOException
+    {
+        byte[] magic = new byte[ResultFileWriter.MAGIC.length];
+        try
+        {
+            in.readFully(magic);
+        }
+        catch (EOFException exception)
+        {
+            throw new IOException("file is not a DSOL result file: header too short");
+        }
+        if (!Arrays.equals(magic, ResultFileWriter.MAGIC))
+        {
+            throw new IOException("file is not a DSOL result file, or has an unsupported version");
+        }
+    }
+
+    /**
+     * Read a number of bytes from the stream, without allocating the full (possibly corrupt) length upfront.
+     * @param in the input stream
+     * @param length the number of bytes to read
+     * @return the bytes
+     * @throws IOException when reading fails or the end of the stream is reached
+     */
+    private static byte[] readFully(final InputStream in, final int length) throws IOException
+    {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length)
+        {
+            throw new EOFException();
+        }
+        return bytes;
+    }
+
+    /**
+     * Parse the payload of a block.
+     * @param type the block type
+     * @param buf the payload
+     * @throws IOException when the block type is unknown
+     */
+    private void parseBlock(final byte type, final ByteBuffer buf) throws IOException
+    {
+        switch (type)
+        {
+            case ResultFileWriter.BLOCK_COLUMNS:
+                parseColumns(buf);
+                break;
+            case ResultFileWriter.BLOCK_ROWS:
+                parseRows(buf);
+                break;
+            case ResultFileWriter.BLOCK_PARAMETERS:
+                parseParameters(buf);
+                break;
+            case ResultFileWriter.BLOCK_SUMMARY:
+                parseSummary(buf);
+                break;
+            case ResultFileWriter.BLOCK_TIMESERIES:
+                parseTimeSeries(buf);
+                break;
+            default:
+                throw new IOException("unknown block type " + type + " in DSOL result file");
+        }
+    }
+
+    /**
+     * Parse a block with new column definitions.
+     * @param buf the payload
+     */
+    private void parseColumns(final ByteBuffer buf)
+    {
+        int n = buf.getInt();
+        for (int i = 0; i < n; i++)
+        {
+            String name = readString(buf);
+            this.columns.put(name, this.columns.size());
+            double[] data = new double[this.runIds.length];
+            Arrays.fill(data, 0, this.nRows, Double.NaN);
+            this.columnData.add(data);
+        }
+    }
+
+    /**
+     * Parse a row group.
+     * @param buf the payload
+     */
+    private void parseRows(final ByteBuffer buf)
+    {
+        int n = buf.getInt();
+        ensureCapacity(this.nRows + n);
+        for (int r = 0; r < n; r++)
+        {
+            this.runIds[this.nRows + r] = readString(buf);
+            this.replications[this.nRows + r] = buf.getInt();
+        }
+        int nCols = buf.getInt();
+        for (int c = 0; c < this.columnData.size(); c++)
+        {
+            double[] data = this.columnData.get(c);
+            if (c < nCols)
+            {
+                buf.asDoubleBuffer().get(data, this.nRows, n);
+                buf.position(buf.position() + 8 * n);
+            }
+            else
+            {
+                Arrays.fill(data, this.nRows, this.nRows + n, Double.NaN);
+            }
+        }
+        this.nRows += n;
+    }
+
+    /**
+     * Make sure the row arrays can hold the given number of rows.
+     * @param capacity the required number of rows
+     */
+    private void ensureCapacity(final int capacity)
+    {
+        if (capacity > this.runIds.length)
+        {
+            int newCapacity = Math.max(capacity, 2 * this.runIds.length);
+            this.runIds = Arrays.copyOf(this.runIds, newCapacity);
+            this.replications = Arrays.copyOf(this.replications, newCapacity);
+            for (int c = 0; c < this.columnData.size(); c++)
+            {
+                this.columnData.set(c, Arrays.copyOf(this.columnData.get(c), newCapacity));
+            }
+        }
+    }
+
+    /**
+     * Parse a block with input parameters.
+     * @param buf the payload
+     */
+    private void parseParameters(final ByteBuffer buf)
+    {
+        String runId = readString(buf);
+        int n = buf.getInt();
+        SortedMap<String, String> parameters = new TreeMap<>();
+        for (int i = 0; i < n; i++)
+        {
+            String key = readString(buf);
+            parameters.put(key, readString(buf));
+        }
+        this.inputParameters.put(runId, parameters);
+    }
+
+    /**
+     * Parse a block with summary statistics.
+     * @param buf the payload
+     */
+    private void parseSummary(final ByteBuffer buf)
+    {
+        String runId = readString(buf);
+        int n = buf.getInt();
+        SortedMap<String, SortedMap<String, Summary>> summary = new TreeMap<>();
+        for (int i = 0; i < n; i++)
+        {
+            String statistic = readString(buf);
+            String field = readString(buf);
+            Summary entry = new Summary(buf.getLong(), buf.getDouble(), buf.getDouble(), buf.getDouble(), buf.getDouble(),
+                    buf.getDouble());
+            summary.computeIfAbsent(statistic, (s) -> new TreeMap<>()).put(field, entry);
+        }
+        this.summaryStatistics.put(runId, summary);
+    }
+
+    /**
+     * Parse a block with a time series.
+     * @param buf the payload
+     */
+    private void parseTimeSeries(final ByteBuffer buf)
+    {
+        String runId = readString(buf);
+        int replicationNr = buf.getInt();
+        String key = readString(buf);
+        int n = buf.getInt();
+        double[] times = new double[n];
+        double[] values = new double[n];
+        buf.asDoubleBuffer().get(times);
+        buf.position(buf.position() + 8 * n);
+        buf.asDoubleBuffer().get(values);
+        buf.position(buf.position() + 8 * n);
+        this.timeSeries.computeIfAbsent(runId, (r) -> new TreeMap<>()).computeIfAbsent(replicationNr, (r) -> new TreeMap<>())
+                .put(key, new TimeSeries(times, values));
+    }
+
+    /**
+     * Read a String that has been written as its length in bytes, followed by the UTF-8 bytes.
+     * @param buf the buffer to read from
+     * @return the String
+     */
+    private static String readString(final ByteBuffer buf)
+    {
+        int length = buf.getInt();
+        String s = new String(buf.array(), buf.arrayOffset() + buf.position(), length, StandardCharsets.UTF_8);
+        buf.position(buf.position() + length);
+        return s;
+    }
+
+    /**
+     * Return the names of the columns with replication statistics, in the order in which they have been defined.
+     * @return the column names
+     */
+    public List<String> getColumnNames()
+    {
+        return Collections.unmodifiableList(new ArrayList<>(this.columns.keySet()));
+    }
+
+    /**
+     * Return the number of replication rows in the file.
+     * @return the number of replication rows
+     */
+    public int getNumberOfRows()
+    {
+        return this.nRows;
+    }
+
+    /**
+     * Return the values of a column, with one value per replication row. Rows without a value for the column contain NaN.
+     * @param columnName the name of the column
+     * @return a copy of the values of the column
+     * @throws IllegalArgumentException when the column does not exist
+     */
+    public double[] getColumn(final String columnName)
+    {
+        Integer index = this.columns.get(columnName);
+        Throw.when(index == null, IllegalArgumentException.class, "column %s does not exist", columnName);
+        return Arrays.copyOf(this.columnData.get(index), this.nRows);
+    }
+
+    /**
+     * Return the values of a field of a statistic, with one value per replication row.
+     * @param statistic the name of the statistic
+     * @param field the name of the field, e.g., "SampleMean"
+     * @return a copy of the values of the column
+     * @throws IllegalArgumentException when the column does not exist
+     */
+    public double[] getColumn(final String statistic, final String field)
+    {
+        return getColumn(ResultFileWriter.columnName(statistic, field));
+    }
+
+    /**
+     * Return the run id per replication row.
+     * @return a copy of the run ids of the rows
+     */
+    public String[] getRunIds()
+    {
+        return Arrays.copyOf(this.runIds, this.nRows);
+    }
+
+    /**
+     * Return the replication number per replication row.
+     * @return a copy of the replication numbers of the rows
+     */
+    public int[] getReplicationNumbers()
+    {
+        return Arrays.copyOf(this.replications, this.nRows);
+    }
+
+    /**
+     * Return the ids of all runs that have rows, input parameters or summary statistics in the file.
+     * @return the sorted set of run ids
+     */
+    public SortedSet<String> getRuns()
+    {
+        SortedSet<String> runs = new TreeSet<>(this.inputParameters.keySet());
+        runs.addAll(this.summaryStatistics.keySet());
+        for (int r = 0; r < this.nRows; r++)
+        {
+            runs.add(this.runIds[r]);
+        }
+        return runs;
+    }
+
+    /**
+     * Return the input parameters of a run, or an empty map when no parameters were written for the run.
+     * @param runId the id of the run
+     * @return the input parameters of the run, mapping the dot-notation key to a String representation of the value
+     */
+    public SortedMap<String, String> getInputParameters(final String runId)
+    {
+        return this.inputParameters.getOrDefault(runId, Collections.emptySortedMap());
+    }
+
+    /**
+     * Return the summary statistics of a run, or an empty map when no summary statistics were written for the run. The map
+     * has the same structure as the summary statistics of the Experiment.
+     * @param runId the id of the run
+     * @return the summary statistics of the run, mapping the name of the statistic to a map of fields to summaries
+     */
+    public SortedMap<String, SortedMap<String, Summary>> getSummaryStatistics(final String runId)
+    {
+        return this.summaryStatistics.getOrDefault(runId, Collections.emptySortedMap());
+    }
+
+    /**
+     * Return a recorded time series, or null when the time series was not recorded.
+     * @param runId the id of the run
+     * @param replicationNr the number of the replication within the run
+     * @param key the key of the recorded statistic
+     * @return the time series, or null when the time series was not recorded
+     */
+    public TimeSeries getTimeSeries(final String runId, final int replicationNr, final String key)
+    {
+        SortedMap<Integer, SortedMap<String, TimeSeries>> runMap = this.timeSeries.get(runId);
+        if (runMap == null || !runMap.containsKey(replicationNr))
+        {
+            return null;
+        }
+        return runMap.get(replicationNr).get(key);
+    }
+
+    /**
+     * Return the number of bytes in the file that contain the header and complete, valid blocks.
+     * @return the valid length of the file in bytes
+     */
+    public long getValidLength()
+    {
+        return this.validLength;
+    }
+
+    /**
+     * Return whether the file ended with an incomplete or corrupt block that has been ignored.
+     * @return whether the file ended with an incomplete or corrupt block
+     */
+    public boolean isTruncated()
+    {
+        return this.truncated;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ResultFileReader [columns=" + this.columns.size() + ", rows=" + this.nRows + ", runs=" + getRuns().size()
+                + ", truncated=" + this.truncated + "]";
+    }
+
+    /**
+     * Summary contains the stored values of the Tally of a summary statistic over multiple replications.
+     * <p>
+     * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights
+     * reserved. See for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL
+     * Manual</a>. The DSOL project is distributed under a three-clause BSD-style license, which can be found at
+     * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+     * </p>
+     * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+     */
+    public static class Summary
+    {
+        /** the number of tallied values. */
+        private final long n;
+
+        /** the sample mean. */
+        private final double sampleMean;
+
+        /** the sample standard deviation. */
+        private final double sampleStDev;
+
+        /** the minimum value. */
+        private final double min;
+
+        /** the maximum value. */
+        private final double max;
+
+        /** the sum. */
+        private final double sum;
+
+        /**
+         * Create a summary.
+         * @param n the number of tallied values
+         * @param sampleMean the sample mean
+         * @param sampleStDev the sample standard deviation
+         * @param min the minimum value
+         * @param max the maximum value
+         * @param sum the sum
+         */
+        public Summary(final long n, final double sampleMean, final double sampleStDev, final double min, final double max,
+                final double sum)
+        {
+            this.n = n;
+            this.sampleMean = sampleMean;
+            this.sampleStDev = sampleStDev;
+            this.min = min;
+            this.max = max;
+            this.sum = sum;
+        }
+
+        /**
+         * Return the number of tallied values.
+         * @return the number of tallied values
+         */
+        public long getN()
+        {
+            return this.n;
+        }
+
+        /**
+         * Return the sample mean.
+         * @return the sample mean
+         */
+        public double getSampleMean()
+        {
+            return this.sampleMean;
+        }
+
+        /**
+         * Return the sample standard deviation.
+         * @return the sample standard deviation
+         */
+        public double getSampleStDev()
+        {
+            return this.sampleStDev;
+        }
+
+        /**
+         * Return the minimum value.
+         * @return the minimum value
+         */
+        public double getMin()
+        {
+            return this.min;
+        }
+
+        /**
+         * Return the maximum value.
+         * @return the maximum value
+         */
+        public double getMax()
+        {
+            return this.max;
+        }
+
+        /**
+         * Return the sum.
+         * @return the sum
+         */
+        public double getSum()
+        {
+            return this.sum;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Summary [n=" + this.n + ", sampleMean=" + this.sampleMean + ", sampleStDev=" + this.sampleStDev + ", min="
+                    + this.min + ", max=" + this.max + ", sum=" + this.sum + "]";
+        }
+    }
+
+    /**
+     * TimeSeries contains a recorded series of (time, value) observations of a statistic in one replication.
+     * <p>
+     * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights
+     * reserved. See for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL
+     * Manual</a>. The DSOL project is distributed under a three-clause BSD-style license, which can be found at
+     * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+     * </p>
+     * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+     */
+    public static class TimeSeries
+    {
+        /** the time stamps. */
+        private final double[] times;
+
+        /** the values. */
+        private final double[] values;
+
+        /**
+         * Create a time series.
+         * @param times the time stamps
+         * @param values the values
+         */
+        public TimeSeries(final double[] times, final double[] values)
+        {
+            this.times = times;
+            this.values = values;
+        }
+
+        /**
+         * Return the time stamps of the observations.
+         * @return the time stamps of the observations
+         */
+        public double[] getTimes()
+        {
+            return this.times;
+        }
+
+        /**
+         * Return the values of the observations.
+         * @return the values of the observations
+         */
+        public double[] getValues()
+        {
+            return this.values;
+        }
+
+        /**
+         * Return the number of observations.
+         * @return the number of observations
+         */
+        public int size()
+        {
+            return this.times.length;
+        }
+    }
+}
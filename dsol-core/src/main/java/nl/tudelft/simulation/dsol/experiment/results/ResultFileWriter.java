@@ -0,0 +1,490 @@
+package nl.tudelft.simulation.dsol.experiment.results;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.djutils.exceptions.Throw;
+import org.djutils.stats.summarizers.Tally;
+
+import nl.tudelft.simulation.dsol.model.inputparameters.AbstractInputParameterMap;
+import nl.tudelft.simulation.dsol.model.inputparameters.AbstractInputParameterTypedMap;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameter;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterException;
+
+/**
+ * ResultFileWriter writes the results of replications and experiments to a compact, append-only binary file. The file consists
+ * of a header, followed by self-delimiting blocks with a type byte, the payload length, the payload, and a CRC32 checksum of
+ * the payload. Per-replication statistic values are written in row groups, in which the values are stored column by column, so
+ * a reader can assemble each column into one contiguous array. Other blocks contain the input parameters of a run, the summary
+ * statistics of a run, and recorded time series. <br>
+ * Every completed block is flushed to the file, so when the experiment crashes, all blocks that have been written stay
+ * readable; the ResultFileReader ignores a trailing block that has only partially been written. A file can be reopened in
+ * append mode to continue writing after the last complete block.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class ResultFileWriter implements Closeable
+{
+    /** the magic bytes at the start of the file, including the version number of the file format. */
+    static final byte[] MAGIC = new byte[] {'D', 'S', 'O', 'L', 'R', 'E', 'S', 1};
+
+    /** block type for the definition of new columns. */
+    static final byte BLOCK_COLUMNS = 'C';
+
+    /** block type for a row group of replication results. */
+    static final byte BLOCK_ROWS = 'R';
+
+    /** block type for the input parameters of a run. */
+    static final byte BLOCK_PARAMETERS = 'P';
+
+    /** block type for the summary statistics of a run. */
+    static final byte BLOCK_SUMMARY = 'S';
+
+    /** block type for a recorded time series. */
+    static final byte BLOCK_TIMESERIES = 'T';
+
+    /** the output stream to write the blocks to. */
+    private final DataOutputStream out;
+
+    /** the column names, in the order of their definition in the file. */
+    private final Map<String, Integer> columns = new LinkedHashMap<>();
+
+    /** the number of columns that have already been written in a columns block. */
+    private int writtenColumnCount;
+
+    /** the run ids of the buffered rows. */
+    private final List<String> pendingRunIds = new ArrayList<>();
+
+    /** the replication numbers of the buffered rows. */
+    private final List<Integer> pendingReplications = new ArrayList<>();
+
+    /** the values of the buffered rows, indexed by column number. */
+    private final List<double[]> pendingRows = new ArrayList<>();
+
+    /** the number of rows that are buffered before they are written as a row group. */
+    private int rowGroupSize = 1;
+
+    /** reusable buffer for the payload of a block. */
+    private final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(4096);
+
+    /** data stream on top of the payload buffer. */
+    private final DataOutputStream payload = new DataOutputStream(this.payloadBytes);
+
+    /** the checksum calculator. */
+    private final CRC32 crc = new CRC32();
+
+    /** whether the writer has been closed. */
+    private boolean closed = false;
+
+    /**
+     * Create a new result file, replacing an existing file with the same name.
+     * @param path the path of the result file
+     * @throws IOException when the file cannot be created
+     */
+    public ResultFileWriter(final Path path) throws IOException
+    {
+        this(path, false);
+    }
+
+    /**
+     * Create a new result file, or open an existing result file to append results to it. In append mode, the columns that were
+     * defined in the existing file are read first, and a partially written block at the end of the file, e.g., as the result
+     * of a crash, is removed.
+     * @param path the path of the result file
+     * @param append whether to append to an existing file (when it exists) or to replace it
+     * @throws IOException when the file cannot be created or opened, or when the existing file is not a result file
+     */
+    public ResultFileWriter(final Path path, final boolean append) throws IOException
+    {
+        Throw.whenNull(path, "path cannot be null");
+        if (append && Files.exists(path) && Files.size(path) > 0)
+        {
+            ResultFileReader reader = new ResultFileReader(path);
+            for (String column : reader.getColumnNames())
+            {
+                this.columns.put(column, this.columns.size());
+            }
+            this.writtenColumnCount = this.columns.size();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+            {
+                channel.truncate(reader.getValidLength());
+            }
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND), 65536));
+        }
+        else
+        {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 65536));
+            this.out.write(MAGIC);
+            this.out.flush();
+        }
+    }
+
+    /**
+     * Set the number of replication rows that are buffered before they are written to the file as one row group. Larger row
+     * groups give a slightly more compact file, but rows that are still in the buffer are lost when the application crashes.
+     * The default value is 1, which writes every replication to the file as soon as it has completed.
+     * @param rowGroupSize the number of rows per row group
+     * @throws IllegalArgumentException when rowGroupSize &lt; 1
+     */
+    public synchronized void setRowGroupSize(final int rowGroupSize)
+    {
+        Throw.when(rowGroupSize < 1, IllegalArgumentException.class, "rowGroupSize should be at least 1");
+        this.rowGroupSize = rowGroupSize;
+    }
+
+    /**
+     * Return the number of replication rows that are buffered before they are written to the file as one row group.
+     * @return the number of rows per row group
+     */
+    public synchronized int getRowGroupSize()
+    {
+        return this.rowGroupSize;
+    }
+
+    /**
+     * Return the name of the column for a field of a statistic, e.g., "waiting time.SampleMean".
+     * @param statistic the name of the statistic
+     * @param field the name of the field of the statistic
+     * @return the name of the column for the field of the statistic
+     */
+    public static String columnName(final String statistic, final String field)
+    {
+        return statistic + "." + field;
+    }
+
+    /**
+     * Write the statistic values of one completed replication. The map has the same structure as the replication statistics
+     * of an Experiment: it maps the name of the statistic to a map of fields to the value of the field. Columns that have not
+     * been seen before are added to the file; columns without a value in this replication get the value NaN.
+     * @param runId the id of the run, e.g., the id of the experiment or of the design point
+     * @param replicationNr the number of the replication within the run
+     * @param statistics the statistic values of the replication
+     * @throws IOException when writing fails
+     */
+    public synchronized void writeReplication(final String runId, final int replicationNr,
+            final SortedMap<String, SortedMap<String, Double>> statistics) throws IOException
+    {
+        checkOpen();
+        Throw.whenNull(runId, "runId cannot be null");
+        Throw.whenNull(statistics, "statistics cannot be null");
+        List<Integer> indices = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        for (Map.Entry<String, SortedMap<String, Double>> statEntry : statistics.entrySet())
+        {
+            for (Map.Entry<String, Double> fieldEntry : statEntry.getValue().entrySet())
+            {
+                String name = columnName(statEntry.getKey(), fieldEntry.getKey());
+                Integer index = this.columns.get(name);
+                if (index == null)
+                {
+                    index = this.columns.size();
+                    this.columns.put(name, index);
+                }
+                indices.add(index);
+                values.add(fieldEntry.getValue() == null ? Double.NaN : fieldEntry.getValue());
+            }
+        }
+        double[] row = new double[this.columns.size()];
+        Arrays.fill(row, Double.NaN);
+        for (int i = 0; i < indices.size(); i++)
+        {
+            row[indices.get(i)] = values.get(i);
+        }
+        this.pendingRunIds.add(runId);
+        this.pendingReplications.add(replicationNr);
+        this.pendingRows.add(row);
+        if (this.pendingRows.size() >= this.rowGroupSize)
+        {
+            writeRowGroup();
+            this.out.flush();
+        }
+    }
+
+    /**
+     * Write the buffered rows as one row group, preceded by a columns block when new columns have been defined.
+     * @throws IOException when writing fails
+     */
+    private void writeRowGroup() throws IOException
+    {
+        if (this.pendingRows.isEmpty())
+        {
+            return;
+        }
+        if (this.writtenColumnCount < this.columns.size())
+        {
+            List<String> names = new ArrayList<>(this.columns.keySet());
+            this.payload.writeInt(names.size() - this.writtenColumnCount);
+            for (int i = this.writtenColumnCount; i < names.size(); i++)
+            {
+                writeString(names.get(i));
+            }
+            writeBlock(BLOCK_COLUMNS);
+            this.writtenColumnCount = names.size();
+        }
+        int nRows = this.pendingRows.size();
+        int nCols = this.columns.size();
+        this.payload.writeInt(nRows);
+        for (int r = 0; r < nRows; r++)
+        {
+            writeString(this.pendingRunIds.get(r));
+            this.payload.writeInt(this.pendingReplications.get(r));
+        }
+        this.payload.writeInt(nCols);
+        for (int c = 0; c < nCols; c++)
+        {
+            for (int r = 0; r < nRows; r++)
+            {
+                double[] row = this.pendingRows.get(r);
+                this.payload.writeDouble(c < row.length ? row[c] : Double.NaN);
+            }
+        }
+        writeBlock(BLOCK_ROWS);
+        this.pendingRunIds.clear();
+        this.pendingReplications.clear();
+        this.pendingRows.clear();
+    }
+
+    /**
+     * Write the input parameters of a run as key-value pairs of Strings. Sub-maps are flattened using the dot-notation.
+     * @param runId the id of the run, e.g., the id of the experiment or of the design point
+     * @param inputParameterMap the input parameters of the run
+     * @throws IOException when writing fails
+     */
+    public synchronized void writeInputParameters(final String runId, final AbstractInputParameterMap<?> inputParameterMap)
+            throws IOException
+    {
+        Throw.whenNull(inputParameterMap, "inputParameterMap cannot be null");
+        writeInputParameters(runId, flatten(inputParameterMap));
+    }
+
+    /**
+     * Write the input parameters of a run as key-value pairs of Strings.
+     * @param runId the id of the run, e.g., the id of the experiment or of the design point
+     * @param parameters the input parameters of the run, mapping the (dot-notation) key to a String representation of the value
+     * @throws IOException when writing fails
+     */
+    public synchronized void writeInputParameters(final String runId, final SortedMap<String, String> parameters)
+            throws IOException
+    {
+        checkOpen();
+        Throw.whenNull(runId, "runId cannot be null");
+        Throw.whenNull(parameters, "parameters cannot be null");
+        writeString(runId);
+        this.payload.writeInt(parameters.size());
+        for (Map.Entry<String, String> entry : parameters.entrySet())
+        {
+            writeString(entry.getKey());
+            writeString(String.valueOf(entry.getValue()));
+        }
+        writeBlock(BLOCK_PARAMETERS);
+        this.out.flush();
+    }
+
+    /**
+     * Write the summary statistics of a run, as calculated by the Experiment. When the summary statistics of the same run are
+     * written multiple times, the reader uses the last version.
+     * @param runId the id of the run, e.g., the id of the experiment or of the design point
+     * @param summaryStatistics the summary statistics, mapping the name of the statistic to a map of fields to tallies
+     * @throws IOException when writing fails
+     */
+    public synchronized void writeSummaryStatistics(final String runId,
+            final SortedMap<String, SortedMap<String, Tally>> summaryStatistics) throws IOException
+    {
+        checkOpen();
+        Throw.whenNull(runId, "runId cannot be null");
+        Throw.whenNull(summaryStatistics, "summaryStatistics cannot be null");
+        writeRowGroup();
+        writeString(runId);
+        int n = 0;
+        for (SortedMap<String, Tally> fieldMap : summaryStatistics.values())
+        {
+            n += fieldMap.size();
+        }
+        this.payload.writeInt(n);
+        for (Map.Entry<String, SortedMap<String, Tally>> statEntry : summaryStatistics.entrySet())
+        {
+            for (Map.Entry<String, Tally> fieldEntry : statEntry.getValue().entrySet())
+            {
+                Tally tally = fieldEntry.getValue();
+                writeString(statEntry.getKey());
+                writeString(fieldEntry.getKey());
+                this.payload.writeLong(tally.getN());
+                this.payload.writeDouble(tally.getSampleMean());
+                this.payload.writeDouble(tally.getSampleStDev());
+                this.payload.writeDouble(tally.getMin());
+                this.payload.writeDouble(tally.getMax());
+                this.payload.writeDouble(tally.getSum());
+            }
+        }
+        writeBlock(BLOCK_SUMMARY);
+        this.out.flush();
+    }
+
+    /**
+     * Write a recorded time series of (time, value) pairs for a replication.
+     * @param runId the id of the run, e.g., the id of the experiment or of the design point
+     * @param replicationNr the number of the replication within the run
+     * @param key the key of the recorded statistic
+     * @param times the array with time stamps, of which the first n are written
+     * @param values the array with values, of which the first n are written
+     * @param n the number of observations to write
+     * @throws IOException when writing fails
+     * @throws IllegalArgumentException when n is negative or larger than the length of one of the arrays
+     */
+    public synchronized void writeTimeSeries(final String runId, final int replicationNr, final String key,
+            final double[] times, final double[] values, final int n) throws IOException
+    {
+        checkOpen();
+        Throw.whenNull(runId, "runId cannot be null");
+        Throw.whenNull(key, "key cannot be null");
+        Throw.when(n < 0 || n > times.length || n > values.length, IllegalArgumentException.class,
+                "n should be between 0 and the length of the times and values arrays");
+        writeString(runId);
+        this.payload.writeInt(replicationNr);
+        writeString(key);
+        this.payload.writeInt(n);
+        for (int i = 0; i < n; i++)
+        {
+            this.payload.writeDouble(times[i]);
+        }
+        for (int i = 0; i < n; i++)
+        {
+            this.payload.writeDouble(values[i]);
+        }
+        writeBlock(BLOCK_TIMESERIES);
+        this.out.flush();
+    }
+
+    /**
+     * Write the buffered replication rows, and flush all written data to the file.
+     * @throws IOException when writing fails
+     */
+    public synchronized void flush() throws IOException
+    {
+        checkOpen();
+        writeRowGroup();
+        this.out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        if (!this.closed)
+        {
+            writeRowGroup();
+            this.out.close();
+            this.closed = true;
+        }
+    }
+
+    /**
+     * Throw an exception when the writer has already been closed.
+     * @throws IOException when the writer has been closed
+     */
+    private void checkOpen() throws IOException
+    {
+        if (this.closed)
+        {
+            throw new IOException("ResultFileWriter has been closed");
+        }
+    }
+
+    /**
+     * Write a String to the payload as its length in bytes, followed by the UTF-8 bytes.
+     * @param s the string to write
+     * @throws IOException when writing fails
+     */
+    private void writeString(final String s) throws IOException
+    {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        this.payload.writeInt(bytes.length);
+        this.payload.write(bytes);
+    }
+
+    /**
+     * Write the current payload as a block of the given type, and reset the payload buffer.
+     * @param type the block type
+     * @throws IOException when writing fails
+     */
+    private void writeBlock(final byte type) throws IOException
+    {
+        this.payload.flush();
+        this.crc.reset();
+        this.crc.update(this.payloadBytes.toByteArray());
+        this.out.writeByte(type);
+        this.out.writeInt(this.payloadBytes.size());
+        this.payloadBytes.writeTo((OutputStream) this.out);
+        this.out.writeInt((int) this.crc.getValue());
+        this.payloadBytes.reset();
+    }
+
+    /**
+     * Flatten an input parameter map into key-value pairs of Strings, using the dot-notation for the keys of sub-maps.
+     * @param inputParameterMap the input parameter map to flatten
+     * @return a sorted map of dot-notation keys to String representations of the values
+     */
+    public static SortedMap<String, String> flatten(final AbstractInputParameterMap<?> inputParameterMap)
+    {
+        SortedMap<String, String> result = new TreeMap<>();
+        flatten(inputParameterMap, "", result);
+        return result;
+    }
+
+    /**
+     * Flatten an input parameter map recursively.
+     * @param map the (sub)map to flatten
+     * @param prefix the prefix for the keys in this (sub)map
+     * @param result the map to store the results in
+     */
+    private static void flatten(final AbstractInputParameterMap<?> map, final String prefix,
+            final SortedMap<String, String> result)
+    {
+        for (InputParameter<?, ?> param : map.getValue().values())
+        {
+            if (param instanceof AbstractInputParameterTypedMap)
+            {
+                try
+                {
+                    result.put(prefix + param.getKey(),
+                            String.valueOf(((AbstractInputParameterTypedMap<?>) param).getCalculatedValue()));
+                }
+                catch (InputParameterException exception)
+                {
+                    result.put(prefix + param.getKey(), "!!ERROR!!");
+                }
+            }
+            else if (param instanceof AbstractInputParameterMap)
+            {
+                flatten((AbstractInputParameterMap<?>) param, prefix + param.getKey() + ".", result);
+            }
+            else
+            {
+                result.put(prefix + param.getKey(), String.valueOf(param.getValue()));
+            }
+        }
+    }
+
+}
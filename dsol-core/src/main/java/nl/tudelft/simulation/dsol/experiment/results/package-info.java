@@ -0,0 +1,11 @@
+/**
+ * Compact binary storage of the results of replications and experiments, with a writer, a reader, and a recorder that
+ * incrementally writes the results of an Experiment.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ */
+package nl.tudelft.simulation.dsol.experiment.results;
@@ -0,0 +1,308 @@
+package nl.tudelft.simulation.dsol.experiment.selection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.ReplicationResult;
+import nl.tudelft.simulation.dsol.experiment.ReplicationRunner;
+import nl.tudelft.simulation.dsol.experiment.RunControl;
+import nl.tudelft.simulation.dsol.experiment.StreamUpdater;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterMap;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * AbstractSelectionProcedure is the base class for ranking-and-selection procedures that choose the best of a number of
+ * alternatives. An alternative is a set of input parameter values for the same model. The procedure executes replications in
+ * stages, and after each stage it decides, based on one designated output value per replication (e.g., the "SampleMean" field
+ * of a tally), for which alternatives more replications are needed. The replications within a stage are executed in parallel
+ * with a ReplicationRunner. Replication r of every alternative uses the same seeds, so the alternatives are compared with
+ * common random numbers. The run id of alternative i is "alternative-i".
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ * @param <S> the simulator type
+ */
+public abstract class AbstractSelectionProcedure<T extends Number & Comparable<T>, S extends SimulatorInterface<T>>
+{
+    /** the runner for the single replications. */
+    private final ReplicationRunner<T, S> replicationRunner;
+
+    /** the input parameters of the alternatives. */
+    private final List<InputParameterMap> alternatives;
+
+    /** the description of the designated output statistic. */
+    private final String statistic;
+
+    /** the field of the designated output statistic, e.g., "SampleMean". */
+    private final String field;
+
+    /** whether the best alternative has the lowest (true) or highest (false) value. */
+    private final boolean minimize;
+
+    /** the number of threads to use. */
+    private final int numberOfThreads;
+
+    /** the observations of the designated output per alternative, indexed by replication number. */
+    private final List<List<Double>> observations = new ArrayList<>();
+
+    /**
+     * Create a selection procedure.
+     * @param modelFactory the factory for simulators and models
+     * @param runControl the run control with start time, warmup period and run length of each replication
+     * @param alternatives the input parameters of the alternatives, which are cloned for each replication
+     * @param statistic the description of the designated output statistic
+     * @param field the field of the designated output statistic, e.g., "SampleMean"
+     * @param minimize whether the best alternative has the lowest (true) or highest (false) value
+     * @param numberOfThreads the number of threads to execute replications in parallel
+     * @throws NullPointerException when one of the arguments is null
+     * @throws IllegalArgumentException when there are fewer than 2 alternatives, or when numberOfThreads &lt; 1
+     */
+    public AbstractSelectionProcedure(final ModelFactory<T, S> modelFactory, final RunControl<T> runControl,
+            final List<InputParameterMap> alternatives, final String statistic, final String field, final boolean minimize,
+            final int numberOfThreads)
+    {
+        Throw.whenNull(alternatives, "alternatives cannot be null");
+        Throw.whenNull(statistic, "statistic cannot be null");
+        Throw.whenNull(field, "field cannot be null");
+        Throw.when(alternatives.size() < 2, IllegalArgumentException.class, "at least 2 alternatives are needed");
+        Throw.when(numberOfThreads < 1, IllegalArgumentException.class, "numberOfThreads should be at least 1");
+        this.replicationRunner = new ReplicationRunner<>(modelFactory, runControl);
+        this.alternatives = Collections.unmodifiableList(new ArrayList<>(alternatives));
+        this.statistic = statistic;
+        this.field = field;
+        this.minimize = minimize;
+        this.numberOfThreads = numberOfThreads;
+        for (int i = 0; i < alternatives.size(); i++)
+        {
+            this.observations.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Execute the procedure until the best alternative has been selected.
+     * @return the result of the selection
+     * @throws SimRuntimeException when a replication failed
+     */
+    public abstract SelectionResult select() throws SimRuntimeException;
+
+    /**
+     * Execute replications in parallel until each alternative has at least the given number of replications, and store the
+     * designated output of each replication.
+     * @param targets the number of replications that each alternative should have after this stage
+     * @throws SimRuntimeException when a replication failed, or when it does not contain the designated output
+     */
+    protected void runStage(final int[] targets) throws SimRuntimeException
+    {
+        Throw.when(targets.length != this.alternatives.size(), IllegalArgumentException.class,
+                "targets should have a value for each alternative");
+        ExecutorService executor = Executors.newFixedThreadPool(this.numberOfThreads);
+        try
+        {
+            CompletionService<ReplicationResult> completionService = new ExecutorCompletionService<>(executor);
+            int submitted = 0;
+            for (int i = 0; i < targets.length; i++)
+            {
+                String runId = runId(i);
+                InputParameterMap parameters = this.alternatives.get(i);
+                for (int r = getNumberOfReplications(i); r < targets[i]; r++)
+                {
+                    int replicationNr = r;
+                    completionService.submit(() -> this.replicationRunner.run(runId, replicationNr, parameters));
+                    submitted++;
+                }
+            }
+            for (int n = 0; n < submitted; n++)
+            {
+                ReplicationResult result = completionService.take().get();
+                double value = result.getValue(this.statistic, this.field);
+                Throw.when(Double.isNaN(value), SimRuntimeException.class, "replication %s.%d has no value for %s.%s",
+                        result.getRunId(), result.getReplicationNr(), this.statistic, this.field);
+                List<Double> list = this.observations.get(Integer.parseInt(result.getRunId().substring(12)));
+                while (list.size() <= result.getReplicationNr())
+                {
+                    list.add(Double.NaN);
+                }
+                list.set(result.getReplicationNr(), value);
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new SimRuntimeException("selection procedure was interrupted", exception);
+        }
+        catch (ExecutionException exception)
+        {
+            throw new SimRuntimeException("replication failed", exception.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Return the run id of an alternative.
+     * @param alternative the index of the alternative
+     * @return the run id of the alternative
+     */
+    public static String runId(final int alternative)
+    {
+        return "alternative-" + alternative;
+    }
+
+    /**
+     * Return whether value a is better than value b.
+     * @param a the first value
+     * @param b the second value
+     * @return whether a is better than b, i.e., lower when minimizing and higher when maximizing
+     */
+    protected boolean isBetter(final double a, final double b)
+    {
+        return this.minimize ? a < b : a > b;
+    }
+
+    /**
+     * Return the observation of the designated output for a replication of an alternative.
+     * @param alternative the index of the alternative
+     * @param replicationNr the replication number
+     * @return the observation
+     */
+    protected double getObservation(final int alternative, final int replicationNr)
+    {
+        return this.observations.get(alternative).get(replicationNr);
+    }
+
+    /**
+     * Return the number of replications that have been executed for an alternative.
+     * @param alternative the index of the alternative
+     * @return the number of replications of the alternative
+     */
+    public int getNumberOfReplications(final int alternative)
+    {
+        return this.observations.get(alternative).size();
+    }
+
+    /**
+     * Return the sample mean of the designated output of an alternative over its first n replications.
+     * @param alternative the index of the alternative
+     * @param n the number of replications to use
+     * @return the sample mean over the first n replications
+     */
+    protected double mean(final int alternative, final int n)
+    {
+        double sum = 0.0;
+        for (int r = 0; r < n; r++)
+        {
+            sum += getObservation(alternative, r);
+        }
+        return sum / n;
+    }
+
+    /**
+     * Return the sample variance of the designated output of an alternative over its first n replications.
+     * @param alternative the index of the alternative
+     * @param n the number of replications to use, at least 2
+     * @return the sample variance over the first n replications
+     */
+    protected double variance(final int alternative, final int n)
+    {
+        double mean = mean(alternative, n);
+        double sum = 0.0;
+        for (int r = 0; r < n; r++)
+        {
+            double d = getObservation(alternative, r) - mean;
+            sum += d * d;
+        }
+        return sum / (n - 1);
+    }
+
+    /**
+     * Return the sample means of the designated output of all alternatives over all their replications.
+     * @return the sample means of all alternatives
+     */
+    protected double[] means()
+    {
+        double[] means = new double[this.alternatives.size()];
+        for (int i = 0; i < means.length; i++)
+        {
+            means[i] = mean(i, getNumberOfReplications(i));
+        }
+        return means;
+    }
+
+    /**
+     * Return the numbers of replications of all alternatives.
+     * @return the numbers of replications of all alternatives
+     */
+    protected int[] replications()
+    {
+        int[] replications = new int[this.alternatives.size()];
+        for (int i = 0; i < replications.length; i++)
+        {
+            replications[i] = getNumberOfReplications(i);
+        }
+        return replications;
+    }
+
+    /**
+     * Return the number of alternatives.
+     * @return the number of alternatives
+     */
+    public int getNumberOfAlternatives()
+    {
+        return this.alternatives.size();
+    }
+
+    /**
+     * Return the number of threads.
+     * @return the number of threads
+     */
+    public int getNumberOfThreads()
+    {
+        return this.numberOfThreads;
+    }
+
+    /**
+     * Return the input parameters of the alternatives.
+     * @return the input parameters of the alternatives
+     */
+    public List<InputParameterMap> getAlternatives()
+    {
+        return this.alternatives;
+    }
+
+    /**
+     * Return whether the best alternative has the lowest (true) or highest (false) value.
+     * @return whether the best alternative has the lowest value
+     */
+    public boolean isMinimize()
+    {
+        return this.minimize;
+    }
+
+    /**
+     * Set a new StreamUpdater to set the random seeds for each replication.
+     * @param streamUpdater the new stream updater
+     * @throws NullPointerException when streamUpdater is null
+     */
+    public void setStreamUpdater(final StreamUpdater streamUpdater)
+    {
+        this.replicationRunner.setStreamUpdater(streamUpdater);
+    }
+
+}
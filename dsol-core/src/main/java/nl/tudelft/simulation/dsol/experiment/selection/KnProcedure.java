@@ -0,0 +1,220 @@
+package nl.tudelft.simulation.dsol.experiment.selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.RunControl;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterMap;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * KnProcedure implements the fully sequential indifference-zone procedure KN of Kim and Nelson (2001). After n0 initial
+ * replications of every alternative, the variances of the pairwise differences are estimated, and the procedure then adds
+ * replications to the alternatives that are still in contention, eliminating an alternative as soon as its sample mean falls
+ * outside a shrinking continuation region around the mean of another alternative. When the best alternative is at least the
+ * indifference zone delta better than all others, it is selected with a probability of at least 1 - alpha. Because the
+ * variances of the differences are used, the procedure profits from the common random numbers of the replications.
+ * <p>
+ * To make use of multiple threads, each stage takes enough replications to keep the threads busy; the elimination decisions
+ * are still taken after every single replication, so the guarantee of the procedure is unchanged.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ * @param <S> the simulator type
+ */
+public class KnProcedure<T extends Number & Comparable<T>, S extends SimulatorInterface<T>>
+        extends AbstractSelectionProcedure<T, S>
+{
+    /** the allowed probability of incorrect selection. */
+    private final double alpha;
+
+    /** the indifference zone: the smallest difference in the designated output that is worth detecting. */
+    private final double delta;
+
+    /** the number of initial replications per alternative. */
+    private final int n0;
+
+    /** the maximum number of replications per alternative, as a safeguard. */
+    private int maxReplications = 100_000;
+
+    /**
+     * Create a KN procedure.
+     * @param modelFactory the factory for simulators and models
+     * @param runControl the run control with start time, warmup period and run length of each replication
+     * @param alternatives the input parameters of the alternatives, which are cloned for each replication
+     * @param statistic the description of the designated output statistic
+     * @param field the field of the designated output statistic, e.g., "SampleMean"
+     * @param minimize whether the best alternative has the lowest (true) or highest (false) value
+     * @param numberOfThreads the number of threads to execute replications in parallel
+     * @param alpha the allowed probability of incorrect selection, in (0, 1 - 1/k)
+     * @param delta the indifference zone, larger than 0
+     * @param n0 the number of initial replications per alternative, at least 2
+     * @throws IllegalArgumentException when alpha, delta or n0 is out of range
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public KnProcedure(final ModelFactory<T, S> modelFactory, final RunControl<T> runControl,
+            final List<InputParameterMap> alternatives, final String statistic, final String field, final boolean minimize,
+            final int numberOfThreads, final double alpha, final double delta, final int n0)
+    {
+        super(modelFactory, runControl, alternatives, statistic, field, minimize, numberOfThreads);
+        Throw.when(alpha <= 0.0 || alpha >= 1.0 - 1.0 / alternatives.size(), IllegalArgumentException.class,
+                "alpha should be in (0, 1 - 1/k)");
+        Throw.when(delta <= 0.0 || !Double.isFinite(delta), IllegalArgumentException.class, "delta should be > 0");
+        Throw.when(n0 < 2, IllegalArgumentException.class, "n0 should be at least 2");
+        this.alpha = alpha;
+        this.delta = delta;
+        this.n0 = n0;
+    }
+
+    @Override
+    public SelectionResult select() throws SimRuntimeException
+    {
+        int k = getNumberOfAlternatives();
+        int[] targets = new int[k];
+        Arrays.fill(targets, this.n0);
+        runStage(targets);
+
+        // variances of the pairwise differences over the first n0 replications
+        double h2 = (this.n0 - 1) * (Math.pow(2.0 * this.alpha / (k - 1), -2.0 / (this.n0 - 1)) - 1.0);
+        double[][] s2 = new double[k][k];
+        for (int i = 0; i < k; i++)
+        {
+            for (int l = i + 1; l < k; l++)
+            {
+                double meanDiff = mean(i, this.n0) - mean(l, this.n0);
+                double sum = 0.0;
+                for (int r = 0; r < this.n0; r++)
+                {
+                    double d = getObservation(i, r) - getObservation(l, r) - meanDiff;
+                    sum += d * d;
+                }
+                s2[i][l] = sum / (this.n0 - 1);
+                s2[l][i] = s2[i][l];
+            }
+        }
+
+        List<Integer> contention = new ArrayList<>();
+        for (int i = 0; i < k; i++)
+        {
+            contention.add(i);
+        }
+        int r = this.n0;
+        while (true)
+        {
+            // screening after r replications
+            double[] mean = new double[k];
+            for (int i : contention)
+            {
+                mean[i] = mean(i, r);
+            }
+            List<Integer> survivors = new ArrayList<>();
+            for (int i : contention)
+            {
+                boolean survives = true;
+                for (int l : contention)
+                {
+                    if (l != i)
+                    {
+                        double w = Math.max(0.0,
+                                this.delta / (2.0 * r) * (h2 * s2[i][l] / (this.delta * this.delta) - r));
+                        if (isBetter(mean[l], mean[i]) && Math.abs(mean[l] - mean[i]) > w)
+                        {
+                            survives = false;
+                            break;
+                        }
+                    }
+                }
+                if (survives)
+                {
+                    survivors.add(i);
+                }
+            }
+            contention = survivors;
+            if (contention.size() <= 1 || r >= this.maxReplications)
+            {
+                break;
+            }
+            r++;
+            if (getNumberOfReplications(contention.get(0)) < r)
+            {
+                // take enough replications to keep the threads busy
+                int extra = Math.max(1, getNumberOfThreads() / contention.size());
+                int target = Math.min(r - 1 + extra, this.maxReplications);
+                Arrays.fill(targets, 0);
+                for (int i : contention)
+                {
+                    targets[i] = target;
+                }
+                for (int i = 0; i < k; i++)
+                {
+                    targets[i] = Math.max(targets[i], getNumberOfReplications(i));
+                }
+                runStage(targets);
+            }
+        }
+
+        int best = contention.get(0);
+        for (int i : contention)
+        {
+            if (isBetter(mean(i, r), mean(best, r)))
+            {
+                best = i;
+            }
+        }
+        int[] replications = replications();
+        int maxN = Arrays.stream(replications).max().getAsInt();
+        boolean guaranteed = contention.size() == 1;
+        return new SelectionResult(best, means(), replications, 1.0 - this.alpha, guaranteed, k * maxN);
+    }
+
+    /**
+     * Set the maximum number of replications per alternative. When this number is reached, the best of the remaining
+     * alternatives is selected, and the guarantee of the procedure no longer holds.
+     * @param maxReplications the maximum number of replications per alternative
+     * @throws IllegalArgumentException when maxReplications &lt; n0
+     */
+    public void setMaxReplications(final int maxReplications)
+    {
+        Throw.when(maxReplications < this.n0, IllegalArgumentException.class, "maxReplications should be at least n0");
+        this.maxReplications = maxReplications;
+    }
+
+    /**
+     * Return the allowed probability of incorrect selection.
+     * @return alpha
+     */
+    public double getAlpha()
+    {
+        return this.alpha;
+    }
+
+    /**
+     * Return the indifference zone.
+     * @return delta
+     */
+    public double getDelta()
+    {
+        return this.delta;
+    }
+
+    /**
+     * Return the number of initial replications per alternative.
+     * @return n0
+     */
+    public int getN0()
+    {
+        return this.n0;
+    }
+
+}
@@ -0,0 +1,267 @@
+package nl.tudelft.simulation.dsol.experiment.selection;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.RunControl;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterMap;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+import nl.tudelft.simulation.jstats.math.ProbMath;
+
+/**
+ * OcbaProcedure implements the Optimal Computing Budget Allocation of Chen et al. (2000) for selecting the best alternative
+ * with a fixed total number of replications. After n0 initial replications of every alternative, each stage allocates a
+ * number of additional replications such that the allocation approaches the asymptotically optimal ratios
+ * N_i / N_j = (s_i / d_b,i)^2 / (s_j / d_b,j)^2 for the non-best alternatives, and N_b = s_b * sqrt(sum(N_i^2 / s_i^2)) for the
+ * current best alternative b, where s is the sample standard deviation and d_b,i the difference between the sample means of b
+ * and i. The result contains the approximate probability of correct selection (APCS), a Bonferroni lower bound based on the
+ * normal approximation of the sample means; this is an estimate, not a guarantee.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ * @param <S> the simulator type
+ */
+public class OcbaProcedure<T extends Number & Comparable<T>, S extends SimulatorInterface<T>>
+        extends AbstractSelectionProcedure<T, S>
+{
+    /** the number of initial replications per alternative. */
+    private final int n0;
+
+    /** the total number of replications over all alternatives. */
+    private final int budget;
+
+    /** the number of replications to allocate per stage. */
+    private final int increment;
+
+    /**
+     * Create an OCBA procedure.
+     * @param modelFactory the factory for simulators and models
+     * @param runControl the run control with start time, warmup period and run length of each replication
+     * @param alternatives the input parameters of the alternatives, which are cloned for each replication
+     * @param statistic the description of the designated output statistic
+     * @param field the field of the designated output statistic, e.g., "SampleMean"
+     * @param minimize whether the best alternative has the lowest (true) or highest (false) value
+     * @param numberOfThreads the number of threads to execute replications in parallel
+     * @param n0 the number of initial replications per alternative, at least 2
+     * @param budget the total number of replications over all alternatives, at least k * n0
+     * @param increment the number of replications to allocate per stage, at least 1
+     * @throws IllegalArgumentException when n0, budget or increment is out of range
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public OcbaProcedure(final ModelFactory<T, S> modelFactory, final RunControl<T> runControl,
+            final List<InputParameterMap> alternatives, final String statistic, final String field, final boolean minimize,
+            final int numberOfThreads, final int n0, final int budget, final int increment)
+    {
+        super(modelFactory, runControl, alternatives, statistic, field, minimize, numberOfThreads);
+        Throw.when(n0 < 2, IllegalArgumentException.class, "n0 should be at least 2");
+        Throw.when(budget < n0 * alternatives.size(), IllegalArgumentException.class, "budget should be at least k * n0");
+        Throw.when(increment < 1, IllegalArgumentException.class, "increment should be at least 1");
+        this.n0 = n0;
+        this.budget = budget;
+        this.increment = increment;
+    }
+
+    @Override
+    public SelectionResult select() throws SimRuntimeException
+    {
+        int k = getNumberOfAlternatives();
+        int[] targets = new int[k];
+        Arrays.fill(targets, this.n0);
+        runStage(targets);
+        int total = k * this.n0;
+        while (total < this.budget)
+        {
+            int[] current = replications();
+            double[] ratios = allocationRatios(means(), variances(current));
+            int stage = Math.min(this.increment, this.budget - total);
+            targets = allocate(current, ratios, total + stage);
+            runStage(targets);
+            total += stage;
+        }
+
+        int[] replications = replications();
+        double[] means = means();
+        double[] variances = variances(replications);
+        int best = best(means);
+        double apcs = apcs(means, variances, replications, best);
+
+        // the number of replications per alternative that a uniform allocation needs for the same APCS
+        int[] uniform = new int[k];
+        int n = this.n0;
+        do
+        {
+            Arrays.fill(uniform, n);
+            n++;
+        }
+        while (apcs(means, variances, uniform, best) < apcs && n <= this.budget);
+        return new SelectionResult(best, means, replications, apcs, false, k * uniform[0]);
+    }
+
+    /**
+     * Calculate the OCBA allocation ratios.
+     * @param means the sample means per alternative
+     * @param variances the sample variances per alternative
+     * @return the relative number of replications per alternative
+     */
+    protected double[] allocationRatios(final double[] means, final double[] variances)
+    {
+        int k = means.length;
+        int b = best(means);
+        double[] ratios = new double[k];
+        double sumSquares = 0.0;
+        double sum = 0.0;
+        for (int i = 0; i < k; i++)
+        {
+            if (i != b)
+            {
+                double d = Math.max(Math.abs(means[b] - means[i]), 1E-12 * (1.0 + Math.abs(means[b])));
+                ratios[i] = variances[i] / (d * d);
+                // N_i^2 / s_i^2 = s_i^2 / d^4, written without division by s_i
+                sumSquares += variances[i] / (d * d * d * d);
+                sum += ratios[i];
+            }
+        }
+        ratios[b] = Math.sqrt(variances[b] * sumSquares);
+        sum += ratios[b];
+        if (sum <= 0.0 || !Double.isFinite(sum))
+        {
+            Arrays.fill(ratios, 1.0);
+        }
+        return ratios;
+    }
+
+    /**
+     * Allocate replications to reach a new total, giving each additional replication to the alternative that is furthest below
+     * its share of the new total according to the ratios. Replications are never taken away.
+     * @param current the current number of replications per alternative
+     * @param ratios the relative number of replications per alternative
+     * @param newTotal the new total number of replications
+     * @return the target number of replications per alternative
+     */
+    protected int[] allocate(final int[] current, final double[] ratios, final int newTotal)
+    {
+        double sumRatios = Arrays.stream(ratios).sum();
+        int[] targets = current.clone();
+        int total = Arrays.stream(current).sum();
+        while (total < newTotal)
+        {
+            int maxIndex = 0;
+            double maxDeficit = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < targets.length; i++)
+            {
+                double deficit = newTotal * ratios[i] / sumRatios - targets[i];
+                if (deficit > maxDeficit)
+                {
+                    maxDeficit = deficit;
+                    maxIndex = i;
+                }
+            }
+            targets[maxIndex]++;
+            total++;
+        }
+        return targets;
+    }
+
+    /**
+     * Calculate the approximate probability of correct selection (APCS-B) with the normal approximation.
+     * @param means the sample means per alternative
+     * @param variances the sample variances per alternative
+     * @param replications the number of replications per alternative
+     * @param best the index of the best alternative
+     * @return the approximate probability of correct selection, at least 0
+     */
+    protected static double apcs(final double[] means, final double[] variances, final int[] replications, final int best)
+    {
+        double error = 0.0;
+        for (int i = 0; i < means.length; i++)
+        {
+            if (i != best)
+            {
+                double se = Math.sqrt(variances[best] / replications[best] + variances[i] / replications[i]);
+                double d = Math.abs(means[best] - means[i]);
+                error += se == 0.0 ? (d == 0.0 ? 0.5 : 0.0) : normalCdf(-d / se);
+            }
+        }
+        return Math.max(0.0, 1.0 - error);
+    }
+
+    /**
+     * Return the standard normal cumulative distribution function.
+     * @param x the value
+     * @return P(Z &lt;= x) for a standard normal Z
+     */
+    private static double normalCdf(final double x)
+    {
+        return 0.5 * (1.0 + ProbMath.erf(x / Math.sqrt(2.0)));
+    }
+
+    /**
+     * Return the index of the alternative with the best sample mean.
+     * @param means the sample means per alternative
+     * @return the index of the best alternative
+     */
+    private int best(final double[] means)
+    {
+        int b = 0;
+        for (int i = 1; i < means.length; i++)
+        {
+            if (isBetter(means[i], means[b]))
+            {
+                b = i;
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Return the sample variances of all alternatives.
+     * @param replications the number of replications per alternative
+     * @return the sample variances per alternative
+     */
+    private double[] variances(final int[] replications)
+    {
+        double[] variances = new double[replications.length];
+        for (int i = 0; i < variances.length; i++)
+        {
+            variances[i] = variance(i, replications[i]);
+        }
+        return variances;
+    }
+
+    /**
+     * Return the number of initial replications per alternative.
+     * @return n0
+     */
+    public int getN0()
+    {
+        return this.n0;
+    }
+
+    /**
+     * Return the total number of replications over all alternatives.
+     * @return the budget
+     */
+    public int getBudget()
+    {
+        return this.budget;
+    }
+
+    /**
+     * Return the number of replications to allocate per stage.
+     * @return the increment
+     */
+    public int getIncrement()
+    {
+        return this.increment;
+    }
+
+}
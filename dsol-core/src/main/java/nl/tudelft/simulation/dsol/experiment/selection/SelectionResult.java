@@ -0,0 +1,143 @@
+package nl.tudelft.simulation.dsol.experiment.selection;
+
+/**
+ * SelectionResult contains the outcome of a ranking-and-selection procedure: the selected alternative, the sample mean and the
+ * number of replications per alternative, the probability of correct selection, and the number of replications that a uniform
+ * allocation over all alternatives would have needed for the same result.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class SelectionResult
+{
+    /** the index of the selected alternative. */
+    private final int selectedAlternative;
+
+    /** the sample mean of the designated output per alternative. */
+    private final double[] means;
+
+    /** the number of replications per alternative. */
+    private final int[] replications;
+
+    /** the probability of correct selection. */
+    private final double probabilityCorrectSelection;
+
+    /** whether the probability of correct selection is a guaranteed lower bound (true) or an estimate (false). */
+    private final boolean guaranteed;
+
+    /** the number of replications that a uniform allocation would have needed. */
+    private final int uniformReplications;
+
+    /**
+     * Create the result of a selection procedure.
+     * @param selectedAlternative the index of the selected alternative
+     * @param means the sample mean of the designated output per alternative
+     * @param replications the number of replications per alternative
+     * @param probabilityCorrectSelection the probability of correct selection
+     * @param guaranteed whether the probability of correct selection is a guaranteed lower bound (true) or an estimate
+     *            (false)
+     * @param uniformReplications the number of replications that a uniform allocation would have needed
+     */
+    public SelectionResult(final int selectedAlternative, final double[] means, final int[] replications,
+            final double probabilityCorrectSelection, final boolean guaranteed, final int uniformReplications)
+    {
+        this.selectedAlternative = selectedAlternative;
+        this.means = means.clone();
+        this.replications = replications.clone();
+        this.probabilityCorrectSelection = probabilityCorrectSelection;
+        this.guaranteed = guaranteed;
+        this.uniformReplications = uniformReplications;
+    }
+
+    /**
+     * Return the index of the selected alternative.
+     * @return the index of the selected alternative
+     */
+    public int getSelectedAlternative()
+    {
+        return this.selectedAlternative;
+    }
+
+    /**
+     * Return the sample mean of the designated output per alternative.
+     * @return the sample means per alternative
+     */
+    public double[] getMeans()
+    {
+        return this.means.clone();
+    }
+
+    /**
+     * Return the number of replications per alternative.
+     * @return the number of replications per alternative
+     */
+    public int[] getReplications()
+    {
+        return this.replications.clone();
+    }
+
+    /**
+     * Return the probability of correct selection. For the KN procedure, this is the guaranteed lower bound 1 - alpha, given
+     * that the best alternative is at least the indifference zone better than the others. For OCBA, this is the estimated
+     * approximate probability of correct selection (APCS) based on the sample means and variances.
+     * @return the probability of correct selection
+     */
+    public double getProbabilityCorrectSelection()
+    {
+        return this.probabilityCorrectSelection;
+    }
+
+    /**
+     * Return whether the probability of correct selection is a guaranteed lower bound (true) or an estimate (false).
+     * @return whether the probability of correct selection is guaranteed
+     */
+    public boolean isGuaranteed()
+    {
+        return this.guaranteed;
+    }
+
+    /**
+     * Return the total number of replications over all alternatives.
+     * @return the total number of replications
+     */
+    public int getTotalReplications()
+    {
+        int total = 0;
+        for (int n : this.replications)
+        {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * Return the number of replications that a uniform allocation over all alternatives would have needed for the same result.
+     * @return the number of replications of a uniform allocation
+     */
+    public int getUniformReplications()
+    {
+        return this.uniformReplications;
+    }
+
+    /**
+     * Return the number of replications saved with respect to a uniform allocation; can be negative.
+     * @return the number of saved replications
+     */
+    public int getSavedReplications()
+    {
+        return this.uniformReplications - getTotalReplications();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SelectionResult [selectedAlternative=" + this.selectedAlternative + ", probabilityCorrectSelection="
+                + this.probabilityCorrectSelection + ", guaranteed=" + this.guaranteed + ", totalReplications="
+                + getTotalReplications() + ", uniformReplications=" + this.uniformReplications + "]";
+    }
+
+}
@@ -0,0 +1,12 @@
+/**
+ * Ranking-and-selection procedures that allocate replications over a number of alternatives of a model to select the best
+ * alternative: the fully sequential KN procedure with a probability-of-correct-selection guarantee, and the Optimal Computing
+ * Budget Allocation (OCBA) for a fixed budget of replications.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ */
+package nl.tudelft.simulation.dsol.experiment.selection;
@@ -15,6 +15,11 @@ import nl.tudelft.simulation.jstats.ode.integrators.NumericalIntegratorType;
 /**
  * The Differential equation provides a reference implementation of the differential equation.
  * <p>
+ * The equation is integrated to the simulator time at every time step of the DessSimulator. With an adaptive integrator such as
+ * NumericalIntegratorType.DORMANDPRINCE, the time step of the simulator is only the first trial step of the integrator: the
+ * integrator takes large steps where the state is smooth, and the values at the time steps of the simulator are interpolated.
+ * </p>
+ * <p>
  * Copyright (c) 2002-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
  * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
  * project is distributed under a three-clause BSD-style license, which can be found at
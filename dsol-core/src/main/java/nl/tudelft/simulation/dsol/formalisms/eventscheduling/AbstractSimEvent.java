@@ -1,7 +1,5 @@
 package nl.tudelft.simulation.dsol.formalisms.eventscheduling;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 import nl.tudelft.simulation.dsol.SimRuntimeException;
 
 /**
@@ -19,18 +17,19 @@ import nl.tudelft.simulation.dsol.SimRuntimeException;
  */
 public abstract class AbstractSimEvent<T extends Number & Comparable<T>> implements SimEventInterface<T>
 {
-    /** a counter counting the number of constructed simEvents. */
-    private static AtomicLong constructorCounter = new AtomicLong();
-
     /** absoluteExecutionTime reflects the time at which the event is scheduled. */
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected T absoluteExecutionTime;
 
+    /** absoluteExecutionTimeSI caches the time at which the event is scheduled as a double in SI units. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected double absoluteExecutionTimeSI;
+
     /** priority reflects the priority of the event. */
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected short priority = SimEvent.NORMAL_PRIORITY;
 
-    /** the id used in compare statements. */
+    /** the id used in compare statements; assigned by the simulator when the event is scheduled. */
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected long id = 0L;
 
@@ -51,13 +50,13 @@ public abstract class AbstractSimEvent<T extends Number & Comparable<T>> impleme
     public AbstractSimEvent(final T executionTime, final short priority)
     {
         this.absoluteExecutionTime = executionTime;
+        this.absoluteExecutionTimeSI = executionTime.doubleValue();
         if (priority < SimEvent.MIN_PRIORITY - 1 || priority > SimEvent.MAX_PRIORITY + 1)
         {
             throw new IllegalArgumentException(
                     "priority must be between [" + SimEvent.MIN_PRIORITY + ".." + SimEvent.MAX_PRIORITY + "]");
         }
         this.priority = priority;
-        this.id = AbstractSimEvent.constructorCounter.incrementAndGet();
     }
 
     @Override
@@ -69,6 +68,12 @@ public abstract class AbstractSimEvent<T extends Number & Comparable<T>> impleme
         return this.absoluteExecutionTime;
     }
 
+    @Override
+    public double getAbsoluteExecutionTimeSI()
+    {
+        return this.absoluteExecutionTimeSI;
+    }
+
     @Override
     public short getPriority()
     {
@@ -81,4 +86,10 @@ public abstract class AbstractSimEvent<T extends Number & Comparable<T>> impleme
         return this.id;
     }
 
+    @Override
+    public void setId(final long id)
+    {
+        this.id = id;
+    }
+
 }
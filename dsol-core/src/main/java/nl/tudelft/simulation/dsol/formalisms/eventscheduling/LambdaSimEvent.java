@@ -61,6 +61,15 @@ public class LambdaSimEvent<T extends Number & Comparable<T>> extends AbstractSi
         }
     }
 
+    /**
+     * Return the executable of this event.
+     * @return the executable of this event
+     */
+    public Executable getExecutable()
+    {
+        return this.executable;
+    }
+
     @Override
     public String toString()
     {
@@ -37,6 +37,17 @@ public interface SimEventInterface<T extends Number & Comparable<T>> extends Com
      */
     T getAbsoluteExecutionTime();
 
+    /**
+     * Return the scheduled absolute execution time of a simulation event as a primitive double in SI units, i.e., the
+     * doubleValue() of the execution time. Event lists and simulators can use this value to order events without comparing the
+     * time objects.
+     * @return the scheduled absolute execution time of a simulation event in SI units
+     */
+    default double getAbsoluteExecutionTimeSI()
+    {
+        return getAbsoluteExecutionTime().doubleValue();
+    }
+
     /**
      * Return the priority of the event to act as a tie breaker when two events are scheduled at the same time.
      * @return The priority of a simulation event. The priorities are programmed according to the Java thread priority. Use 10
@@ -45,12 +56,23 @@ public interface SimEventInterface<T extends Number & Comparable<T>> extends Com
     short getPriority();
 
     /**
-     * Return the event's id to act as a tie breaker when both the time and the priority are equal. Typically, the id is
-     * implemented as an incremental counter.
+     * Return the event's id to act as a tie breaker when both the time and the priority are equal. The id is assigned by the
+     * simulator when the event is scheduled, and is 0 for an event that has not been scheduled yet.
      * @return the event's id to act as a tie breaker when both the time and the priority are equal
      */
     long getId();
 
+    /**
+     * Set the event's id to act as a tie breaker when both the time and the priority are equal. The simulator calls this
+     * method with the next number of its sequence counter every time the event is scheduled, also when the event had an id
+     * from an earlier scheduling. Implementations that manage their own ids can ignore the call.
+     * @param id the event's id
+     */
+    default void setId(final long id)
+    {
+        // ids are managed by the implementation
+    }
+
     @Override
     default int compareTo(final SimEventInterface<T> simEvent)
     {
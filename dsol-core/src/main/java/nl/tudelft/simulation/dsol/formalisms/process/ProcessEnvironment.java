@@ -0,0 +1,353 @@
+package nl.tudelft.simulation.dsol.formalisms.process;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import org.djutils.event.Event;
+import org.djutils.event.EventListener;
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+
+/**
+ * The ProcessEnvironment connects the processes of a model to a DevsSimulator. Every SimProcess runs in its own thread, but
+ * only one thread runs at a time: the simulator thread executes a resume event of a process, hands control to the thread of the
+ * process, and waits until the process holds, waits or terminates. When virtual threads are available (Java 21 and higher),
+ * the processes run in virtual threads, which are cheap in memory and in context switches, so a model can have millions of
+ * processes; otherwise they run in platform threads.
+ * <p>
+ * While a process runs, the simulator thread waits inside the execution of an event, and keeps the lock of the simulator. The
+ * actions of a process on the simulator, such as scheduling an event, are therefore deferred until the process hands control
+ * back; see onSimulator(). After every step of a process, the conditions of the processes that wait with waitFor() are
+ * evaluated. When an ordinary event changes the state on which a condition depends, it should call checkConditions(). At the
+ * end of a replication, all processes that have not terminated are terminated. The environment listens to the end of the
+ * replication from the creation of a process onwards, since the initialization of a replication can remove all listeners of
+ * the simulator; an environment can therefore be used for several replications.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ */
+public class ProcessEnvironment<T extends Number & Comparable<T>> implements EventListener
+{
+    /** Thread.ofVirtual(), or null when virtual threads are not available. */
+    private static final Method OF_VIRTUAL;
+
+    /** Thread.Builder.unstarted(Runnable), or null when virtual threads are not available. */
+    private static final Method UNSTARTED;
+
+    static
+    {
+        Method ofVirtual = null;
+        Method unstarted = null;
+        try
+        {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            // on Java 19 and 20, virtual threads are a preview feature that may be disabled
+            ofVirtual.invoke(null);
+        }
+        catch (ReflectiveOperationException | RuntimeException exception)
+        {
+            ofVirtual = null;
+            unstarted = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+    }
+
+    /** the simulator. */
+    private final DevsSimulatorInterface<T> simulator;
+
+    /** whether the processes run in virtual threads. */
+    private final boolean virtualThreads;
+
+    /** the process that runs, or null when the simulator thread runs. */
+    private SimProcess<T> current = null;
+
+    /** the actions on the simulator of the running process, to be executed when it hands control back. */
+    private final List<Executable> deferred = new ArrayList<>();
+
+    /** the processes that wait for a condition, in the order in which they started waiting. */
+    private final List<Waiting<T>> waiting = new ArrayList<>();
+
+    /** the processes that have a thread and have not terminated. */
+    private final Set<SimProcess<T>> alive = new LinkedHashSet<>();
+
+    /** the number of processes that have been started. */
+    private long numberOfProcesses = 0L;
+
+    /** the number of times that control was handed to a process. */
+    private long numberOfSwitches = 0L;
+
+    /**
+     * Create a process environment that uses virtual threads when they are available.
+     * @param simulator the simulator
+     */
+    public ProcessEnvironment(final DevsSimulatorInterface<T> simulator)
+    {
+        this(simulator, true);
+    }
+
+    /**
+     * Create a process environment.
+     * @param simulator the simulator
+     * @param useVirtualThreads whether to use virtual threads when they are available; false always uses platform threads
+     */
+    public ProcessEnvironment(final DevsSimulatorInterface<T> simulator, final boolean useVirtualThreads)
+    {
+        Throw.whenNull(simulator, "simulator cannot be null");
+        this.simulator = simulator;
+        this.virtualThreads = useVirtualThreads && OF_VIRTUAL != null;
+    }
+
+    /**
+     * Return whether virtual threads are available in this Java runtime.
+     * @return whether virtual threads are available in this Java runtime
+     */
+    public static boolean isVirtualThreadAvailable()
+    {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Return whether the processes of this environment run in virtual threads.
+     * @return whether the processes of this environment run in virtual threads
+     */
+    public boolean isUsingVirtualThreads()
+    {
+        return this.virtualThreads;
+    }
+
+    /**
+     * Return the simulator.
+     * @return the simulator
+     */
+    public DevsSimulatorInterface<T> getSimulator()
+    {
+        return this.simulator;
+    }
+
+    /**
+     * Return the process that runs.
+     * @return the process that runs, or null when no process runs
+     */
+    public SimProcess<T> getCurrentProcess()
+    {
+        return this.current;
+    }
+
+    /**
+     * Execute an action on the simulator, such as scheduling an event. When a process runs, the action is deferred until the
+     * process hands control back to the simulator thread; otherwise it is executed immediately.
+     * @param action the action
+     */
+    public void onSimulator(final Executable action)
+    {
+        Throw.whenNull(action, "action cannot be null");
+        if (this.current != null)
+        {
+            this.deferred.add(action);
+        }
+        else
+        {
+            action.execute();
+        }
+    }
+
+    /**
+     * Evaluate the conditions of the waiting processes, and resume the processes whose condition holds. This is done
+     * automatically after every step of a process; an ordinary event that changes the state on which a condition depends
+     * should call this method.
+     */
+    public void checkConditions()
+    {
+        onSimulator(this::resumeWaiting);
+    }
+
+    /**
+     * Resume the waiting processes whose condition holds, in the order in which they started waiting.
+     */
+    private void resumeWaiting()
+    {
+        Iterator<Waiting<T>> iterator = this.waiting.iterator();
+        while (iterator.hasNext())
+        {
+            Waiting<T> w = iterator.next();
+            if (w.process.isTerminated())
+            {
+                iterator.remove();
+            }
+            else if (w.condition.getAsBoolean())
+            {
+                iterator.remove();
+                this.simulator.scheduleEventNow(w.process::resume);
+            }
+        }
+    }
+
+    /**
+     * Register a process that waits for a condition.
+     * @param process the process
+     * @param condition the condition
+     */
+    void addWaiting(final SimProcess<T> process, final BooleanSupplier condition)
+    {
+        this.waiting.add(new Waiting<T>(process, condition));
+    }
+
+    /**
+     * Create the thread of a process; the thread is started by the process.
+     * @param process the process
+     * @param body the body of the thread
+     * @return the thread, not yet started
+     * @throws SimRuntimeException when the thread cannot be created
+     */
+    Thread createThread(final SimProcess<T> process, final Runnable body) throws SimRuntimeException
+    {
+        Thread thread;
+        if (this.virtualThreads)
+        {
+            try
+            {
+                thread = (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(null), body);
+            }
+            catch (ReflectiveOperationException exception)
+            {
+                throw new SimRuntimeException("cannot create a virtual thread for process " + process, exception);
+            }
+        }
+        else
+        {
+            thread = new Thread(body, "process-" + process.getName());
+            thread.setDaemon(true);
+        }
+        // the listener is not added twice; it is added again when the initialization of a replication removed it
+        this.simulator.addListener(this, Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        this.alive.add(process);
+        this.numberOfProcesses++;
+        return thread;
+    }
+
+    /**
+     * Register that control is handed to a process.
+     * @param process the process that runs
+     */
+    void enter(final SimProcess<T> process)
+    {
+        this.current = process;
+        this.numberOfSwitches++;
+    }
+
+    /**
+     * Register that a process has handed control back, execute its deferred actions, and resume the waiting processes whose
+     * condition holds.
+     * @param process the process that ran
+     */
+    void exit(final SimProcess<T> process)
+    {
+        this.current = null;
+        if (process.isTerminated())
+        {
+            this.alive.remove(process);
+        }
+        for (int i = 0; i < this.deferred.size(); i++)
+        {
+            this.deferred.get(i).execute();
+        }
+        this.deferred.clear();
+        if (!this.waiting.isEmpty())
+        {
+            resumeWaiting();
+        }
+    }
+
+    /**
+     * Terminate all processes that have not terminated, e.g., at the end of a replication. The thread of each process ends
+     * after its finally blocks have been executed.
+     */
+    public void terminateAll()
+    {
+        Throw.when(this.current != null, IllegalStateException.class, "terminateAll cannot be called from a process");
+        this.waiting.clear();
+        for (SimProcess<T> process : new ArrayList<>(this.alive))
+        {
+            process.kill();
+        }
+        this.alive.clear();
+    }
+
+    /**
+     * Return the number of processes that have a thread and have not terminated.
+     * @return the number of processes that have a thread and have not terminated
+     */
+    public int getNumberOfAliveProcesses()
+    {
+        return this.alive.size();
+    }
+
+    /**
+     * Return the number of processes that have been started.
+     * @return the number of processes that have been started
+     */
+    public long getNumberOfProcesses()
+    {
+        return this.numberOfProcesses;
+    }
+
+    /**
+     * Return the number of times that control was handed to a process.
+     * @return the number of times that control was handed to a process
+     */
+    public long getNumberOfSwitches()
+    {
+        return this.numberOfSwitches;
+    }
+
+    @Override
+    public void notify(final Event event)
+    {
+        if (event.getType().equals(Replication.END_REPLICATION_EVENT))
+        {
+            terminateAll();
+        }
+    }
+
+    /**
+     * A process that waits for a condition.
+     * @param <T> the time type
+     */
+    private static final class Waiting<T extends Number & Comparable<T>>
+    {
+        /** the process. */
+        private final SimProcess<T> process;
+
+        /** the condition. */
+        private final BooleanSupplier condition;
+
+        /**
+         * @param process the process
+         * @param condition the condition
+         */
+        Waiting(final SimProcess<T> process, final BooleanSupplier condition)
+        {
+            this.process = process;
+            this.condition = condition;
+        }
+    }
+
+}
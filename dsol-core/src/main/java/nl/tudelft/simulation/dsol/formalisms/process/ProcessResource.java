@@ -0,0 +1,203 @@
+package nl.tudelft.simulation.dsol.formalisms.process;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+
+/**
+ * A ProcessResource has a capacity that processes can seize and release. A process that requests more capacity than is
+ * available waits in a first-come, first-served queue; when capacity is released, the waiting processes at the head of the
+ * queue get their capacity and are resumed at the current simulation time.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ */
+public class ProcessResource<T extends Number & Comparable<T>>
+{
+    /** the process environment. */
+    private final ProcessEnvironment<T> environment;
+
+    /** the description of the resource. */
+    private final String description;
+
+    /** the capacity of the resource. */
+    private final double capacity;
+
+    /** the claimed capacity. */
+    private double claimedCapacity = 0.0;
+
+    /** the waiting requests, in order of arrival. */
+    private final Deque<Request<T>> queue = new ArrayDeque<>();
+
+    /**
+     * Create a resource.
+     * @param environment the process environment
+     * @param description the description of the resource
+     * @param capacity the capacity of the resource
+     */
+    public ProcessResource(final ProcessEnvironment<T> environment, final String description, final double capacity)
+    {
+        Throw.whenNull(environment, "environment cannot be null");
+        Throw.whenNull(description, "description cannot be null");
+        Throw.when(capacity <= 0.0 || Double.isNaN(capacity), IllegalArgumentException.class,
+                "capacity should be positive, but is %f", capacity);
+        this.environment = environment;
+        this.description = description;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Request an amount of capacity for a process. The request is granted immediately when no other process waits and the
+     * capacity is available; otherwise the request is queued.
+     * @param process the process
+     * @param amount the amount of capacity
+     * @return whether the request was granted immediately
+     * @throws SimRuntimeException when the amount is not positive or larger than the capacity
+     */
+    boolean request(final SimProcess<T> process, final double amount) throws SimRuntimeException
+    {
+        Throw.when(amount <= 0.0 || Double.isNaN(amount) || amount > this.capacity, SimRuntimeException.class,
+                "resource %s: requested amount %f should be positive and not larger than the capacity %f", this.description,
+                amount, this.capacity);
+        if (this.queue.isEmpty() && this.claimedCapacity + amount <= this.capacity)
+        {
+            this.claimedCapacity += amount;
+            return true;
+        }
+        this.queue.add(new Request<T>(process, amount));
+        return false;
+    }
+
+    /**
+     * Release an amount of capacity, and grant the waiting requests at the head of the queue that fit in the available
+     * capacity. The requests of processes that have terminated are removed from the queue first, so they do not block the
+     * requests behind them.
+     * @param amount the amount of capacity
+     * @throws SimRuntimeException when the amount is not positive or larger than the claimed capacity
+     */
+    public void release(final double amount) throws SimRuntimeException
+    {
+        Throw.when(amount <= 0.0 || Double.isNaN(amount) || amount > this.claimedCapacity, SimRuntimeException.class,
+                "resource %s: released amount %f should be positive and not larger than the claimed capacity %f",
+                this.description, amount, this.claimedCapacity);
+        this.claimedCapacity -= amount;
+        while (!this.queue.isEmpty())
+        {
+            Request<T> request = this.queue.peek();
+            if (request.process.isTerminated())
+            {
+                this.queue.poll();
+                continue;
+            }
+            if (this.claimedCapacity + request.amount > this.capacity)
+            {
+                break;
+            }
+            this.queue.poll();
+            this.claimedCapacity += request.amount;
+            this.environment.onSimulator(() -> this.environment.getSimulator().scheduleEventNow(() -> grant(request)));
+        }
+    }
+
+    /**
+     * Resume the process of a granted request, or release the granted capacity when the process has been terminated before
+     * it could resume. This method is executed by the simulator thread, as a resume event.
+     * @param request the granted request
+     * @throws SimRuntimeException when the process threw an exception
+     */
+    private void grant(final Request<T> request) throws SimRuntimeException
+    {
+        if (request.process.isTerminated())
+        {
+            release(request.amount);
+        }
+        else
+        {
+            request.process.resume();
+        }
+    }
+
+    /**
+     * Return the description of the resource.
+     * @return the description of the resource
+     */
+    public String getDescription()
+    {
+        return this.description;
+    }
+
+    /**
+     * Return the capacity of the resource.
+     * @return the capacity of the resource
+     */
+    public double getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Return the claimed capacity of the resource.
+     * @return the claimed capacity of the resource
+     */
+    public double getClaimedCapacity()
+    {
+        return this.claimedCapacity;
+    }
+
+    /**
+     * Return the available capacity of the resource.
+     * @return the available capacity of the resource
+     */
+    public double getAvailableCapacity()
+    {
+        return this.capacity - this.claimedCapacity;
+    }
+
+    /**
+     * Return the number of waiting requests.
+     * @return the number of waiting requests
+     */
+    public int getQueueLength()
+    {
+        return this.queue.size();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ProcessResource[" + this.description + ", capacity=" + this.capacity + ", claimed=" + this.claimedCapacity
+                + ", queue=" + this.queue.size() + "]";
+    }
+
+    /**
+     * A waiting request for capacity.
+     * @param <T> the time type
+     */
+    private static final class Request<T extends Number & Comparable<T>>
+    {
+        /** the process. */
+        private final SimProcess<T> process;
+
+        /** the amount of capacity. */
+        private final double amount;
+
+        /**
+         * @param process the process
+         * @param amount the amount of capacity
+         */
+        Request(final SimProcess<T> process, final double amount)
+        {
+            this.process = process;
+            this.amount = amount;
+        }
+    }
+
+}
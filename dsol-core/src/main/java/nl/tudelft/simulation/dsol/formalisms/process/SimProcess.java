@@ -0,0 +1,361 @@
+package nl.tudelft.simulation.dsol.formalisms.process;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.simtime.SimTime;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+
+/**
+ * A SimProcess describes the life of an entity as sequential code in the process() method, which can hold for a time, wait for
+ * a condition, and seize and release a ProcessResource, e.g.:
+ *
+ * <pre>
+ * protected void process()
+ * {
+ *     seize(this.machine, 1.0);
+ *     hold(this.serviceTime.draw());
+ *     release(this.machine, 1.0);
+ * }
+ * </pre>
+ *
+ * The process runs in its own (virtual) thread, which gets control from the simulator thread through a resume event on the
+ * DevsSimulator, and hands control back when it holds, waits or terminates. Only one process runs at a time, and the simulator
+ * thread waits while a process runs, so the code of a process does not have to be thread-safe with respect to the rest of the
+ * model. The code of a process should not call the scheduling methods of the simulator directly, but use the scheduling
+ * methods of the process, or ProcessEnvironment.onSimulator().
+ * <p>
+ * A process that is terminated, e.g., at the end of a replication, is unwound with an Error from the blocking method in which
+ * it waits. The code of a process should therefore not catch Throwable or Error without throwing it again. When it does, the
+ * next blocking method throws the Error again, but a process that keeps running without calling a blocking method cannot be
+ * stopped, and keeps the simulator thread waiting.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ */
+public abstract class SimProcess<T extends Number & Comparable<T>>
+{
+    /** the process environment. */
+    private final ProcessEnvironment<T> environment;
+
+    /** the name of the process. */
+    private final String name;
+
+    /** the thread of the process, or null when the process has not run yet. */
+    private Thread thread = null;
+
+    /** the thread that handed control to the process, and waits until the process hands it back. */
+    private Thread controller = null;
+
+    /** whether the process has control; the handoff between the simulator thread and the process thread. */
+    private volatile boolean running = false;
+
+    /** whether the process has been started. */
+    private boolean started = false;
+
+    /** whether the process has been killed. */
+    private boolean killed = false;
+
+    /** whether the process has terminated. */
+    private boolean terminated = false;
+
+    /** the exception of the process, to be thrown in the simulator thread. */
+    private Throwable failure = null;
+
+    /**
+     * Create a process.
+     * @param environment the process environment
+     * @param name the name of the process
+     */
+    public SimProcess(final ProcessEnvironment<T> environment, final String name)
+    {
+        Throw.whenNull(environment, "environment cannot be null");
+        Throw.whenNull(name, "name cannot be null");
+        this.environment = environment;
+        this.name = name;
+    }
+
+    /**
+     * The life of the process.
+     * @throws Exception on error in the process
+     */
+    protected abstract void process() throws Exception;
+
+    /**
+     * Start the process at the current simulation time.
+     * @throws SimRuntimeException when the process has already been started
+     */
+    public void start() throws SimRuntimeException
+    {
+        Throw.when(this.started, SimRuntimeException.class, "process %s has already been started", this.name);
+        this.started = true;
+        this.environment.onSimulator(() -> getSimulator().scheduleEventNow(this::resume));
+    }
+
+    /**
+     * Start the process after a delay.
+     * @param delay the delay
+     * @throws SimRuntimeException when the process has already been started
+     */
+    public void start(final T delay) throws SimRuntimeException
+    {
+        Throw.when(this.started, SimRuntimeException.class, "process %s has already been started", this.name);
+        this.started = true;
+        this.environment.onSimulator(() -> getSimulator().scheduleEventRel(delay, this::resume));
+    }
+
+    /**
+     * Hold the process for a time.
+     * @param delay the time to hold
+     * @throws SimRuntimeException when not called by the process itself
+     */
+    protected void hold(final T delay) throws SimRuntimeException
+    {
+        checkRunning();
+        this.environment.onSimulator(() -> getSimulator().scheduleEventRel(delay, this::resume));
+        yieldControl();
+    }
+
+    /**
+     * Wait until a condition holds. The condition is evaluated immediately, and then after every step of a process, and when
+     * ProcessEnvironment.checkConditions() is called.
+     * @param condition the condition
+     * @throws SimRuntimeException when not called by the process itself
+     */
+    protected void waitFor(final BooleanSupplier condition) throws SimRuntimeException
+    {
+        checkRunning();
+        Throw.whenNull(condition, "condition cannot be null");
+        if (!condition.getAsBoolean())
+        {
+            this.environment.addWaiting(this, condition);
+            yieldControl();
+        }
+    }
+
+    /**
+     * Seize an amount of capacity of a resource, and wait when it is not available. Requests are granted in first-come,
+     * first-served order.
+     * @param resource the resource
+     * @param amount the amount of capacity
+     * @throws SimRuntimeException when not called by the process itself, or when the amount is not valid
+     */
+    protected void seize(final ProcessResource<T> resource, final double amount) throws SimRuntimeException
+    {
+        checkRunning();
+        if (!resource.request(this, amount))
+        {
+            yieldControl();
+        }
+    }
+
+    /**
+     * Release an amount of capacity of a resource.
+     * @param resource the resource
+     * @param amount the amount of capacity
+     * @throws SimRuntimeException when more capacity is released than was seized
+     */
+    protected void release(final ProcessResource<T> resource, final double amount) throws SimRuntimeException
+    {
+        resource.release(amount);
+    }
+
+    /**
+     * Schedule a lambda expression after a delay; the event is put on the event list when the process hands control back.
+     * @param delay the delay
+     * @param executable the lambda expression to execute
+     * @return the event
+     * @throws SimRuntimeException when the delay is negative
+     */
+    protected SimEventInterface<T> scheduleEventRel(final T delay, final Executable executable) throws SimRuntimeException
+    {
+        SimEventInterface<T> event =
+                new LambdaSimEvent<T>(SimTime.plus(getSimulator().getSimulatorTime(), delay), executable);
+        this.environment.onSimulator(() -> getSimulator().scheduleEvent(event));
+        return event;
+    }
+
+    /**
+     * Hand control to the process, and wait until it hands control back. This method is executed by the simulator thread, as
+     * a resume event.
+     * @throws SimRuntimeException when the process threw an exception
+     */
+    void resume() throws SimRuntimeException
+    {
+        if (this.terminated)
+        {
+            return;
+        }
+        this.controller = Thread.currentThread();
+        this.environment.enter(this);
+        this.running = true;
+        if (this.thread == null)
+        {
+            this.thread = this.environment.createThread(this, this::body);
+            this.thread.start();
+        }
+        else
+        {
+            LockSupport.unpark(this.thread);
+        }
+        while (this.running)
+        {
+            LockSupport.park(this);
+        }
+        this.environment.exit(this);
+        if (this.failure != null)
+        {
+            Throwable exception = this.failure;
+            this.failure = null;
+            throw exception instanceof SimRuntimeException ? (SimRuntimeException) exception
+                    : new SimRuntimeException("process " + this.name + " failed", exception);
+        }
+    }
+
+    /**
+     * The body of the thread of the process.
+     */
+    private void body()
+    {
+        try
+        {
+            process();
+        }
+        catch (Killed exception)
+        {
+            // the process was terminated from outside
+        }
+        catch (Throwable exception)
+        {
+            this.failure = exception;
+        }
+        finally
+        {
+            this.terminated = true;
+            Thread c = this.controller;
+            this.running = false;
+            LockSupport.unpark(c);
+        }
+    }
+
+    /**
+     * Hand control back to the simulator thread, and wait until the process gets control again.
+     */
+    private void yieldControl()
+    {
+        Thread c = this.controller;
+        this.running = false;
+        LockSupport.unpark(c);
+        while (!this.running)
+        {
+            LockSupport.park(this);
+        }
+        if (this.killed)
+        {
+            throw new Killed();
+        }
+    }
+
+    /**
+     * Check that the process itself calls a blocking method, and that it has not been killed; a killed process whose code
+     * caught the error of the kill is unwound again, instead of waiting forever.
+     * @throws SimRuntimeException when not called by the process itself
+     */
+    private void checkRunning() throws SimRuntimeException
+    {
+        Throw.when(Thread.currentThread() != this.thread || !this.running, SimRuntimeException.class,
+                "process %s: blocking methods can only be called by the process itself", this.name);
+        if (this.killed)
+        {
+            throw new Killed();
+        }
+    }
+
+    /**
+     * Terminate the process: a process that waits is resumed with an error that ends its thread. The error is thrown again by
+     * every blocking method that the process calls after it, in case the code of the process catches it. This method is
+     * executed by the simulator thread.
+     */
+    void kill()
+    {
+        if (this.terminated)
+        {
+            return;
+        }
+        this.killed = true;
+        if (this.thread == null)
+        {
+            this.terminated = true;
+            return;
+        }
+        resume();
+    }
+
+    /**
+     * Return the simulator.
+     * @return the simulator
+     */
+    public DevsSimulatorInterface<T> getSimulator()
+    {
+        return this.environment.getSimulator();
+    }
+
+    /**
+     * Return the process environment.
+     * @return the process environment
+     */
+    public ProcessEnvironment<T> getEnvironment()
+    {
+        return this.environment;
+    }
+
+    /**
+     * Return the name of the process.
+     * @return the name of the process
+     */
+    public String getName()
+    {
+        return this.name;
+    }
+
+    /**
+     * Return whether the process has terminated.
+     * @return whether the process has terminated
+     */
+    public boolean isTerminated()
+    {
+        return this.terminated;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SimProcess[" + this.name + "]";
+    }
+
+    /** Error to unwind the thread of a killed process; it should not be caught by the code of the process. */
+    private static final class Killed extends Error
+    {
+        /** */
+        private static final long serialVersionUID = 20251019L;
+
+        /** Create the error without a stack trace. */
+        Killed()
+        {
+            super("process killed", null, false, false);
+        }
+    }
+
+}
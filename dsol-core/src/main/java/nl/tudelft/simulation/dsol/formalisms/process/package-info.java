@@ -0,0 +1,12 @@
+/**
+ * Process-interaction formalism on top of the DevsSimulator, in which the life of an entity is written as sequential code that
+ * can hold for a time, wait for a condition, and seize and release resources. Every process runs in its own (virtual) thread,
+ * and control is handed between the simulator thread and one process at a time.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ */
+package nl.tudelft.simulation.dsol.formalisms.process;
@@ -0,0 +1,80 @@
+package nl.tudelft.simulation.dsol.jfr;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+
+/**
+ * DsolJfr contains the settings and helper methods for the JFR events of DSOL. The execution of simulation events is sampled:
+ * only one in every sampleInterval events is recorded, to keep the recording small and the overhead low when the
+ * EventExecution event is enabled. The sample interval can be set with the system property
+ * <code>dsol.jfr.sampleInterval</code>, or with setSampleInterval().
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class DsolJfr
+{
+    /** the default number of executed events per recorded event execution. */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 100;
+
+    /** the number of executed events per recorded event execution. */
+    private static volatile int sampleInterval = Integer.getInteger("dsol.jfr.sampleInterval", DEFAULT_SAMPLE_INTERVAL);
+
+    /** Utility class. */
+    private DsolJfr()
+    {
+        // utility class
+    }
+
+    /**
+     * Return the number of executed events per recorded event execution.
+     * @return the number of executed events per recorded event execution
+     */
+    public static int getSampleInterval()
+    {
+        return sampleInterval;
+    }
+
+    /**
+     * Set the number of executed events per recorded event execution; 1 records every event execution.
+     * @param interval the number of executed events per recorded event execution
+     * @throws IllegalArgumentException when interval &lt; 1
+     */
+    public static void setSampleInterval(final int interval)
+    {
+        Throw.when(interval < 1, IllegalArgumentException.class, "sample interval should be at least 1");
+        sampleInterval = interval;
+    }
+
+    /**
+     * Return the kind of a simulation event, which is the class and method for a SimEvent, and the class that implements the
+     * lambda expression for a LambdaSimEvent. The events of the same kind can be grouped in JDK Mission Control.
+     * @param event the simulation event
+     * @return the kind of the simulation event
+     */
+    public static String kindOf(final SimEventInterface<?> event)
+    {
+        if (event instanceof SimEvent)
+        {
+            Object target = ((SimEvent<?>) event).getTarget();
+            Class<?> targetClass = target instanceof Class ? (Class<?>) target : target.getClass();
+            return targetClass.getName() + "." + ((SimEvent<?>) event).getMethod();
+        }
+        if (event instanceof LambdaSimEvent)
+        {
+            // the name of a lambda class ends with a unique suffix after a slash, e.g., Model$$Lambda$14/0x0000000800c03000
+            String name = ((LambdaSimEvent<?>) event).getExecutable().getClass().getName();
+            int slash = name.indexOf('/');
+            return slash < 0 ? name : name.substring(0, slash);
+        }
+        return event.getClass().getName();
+    }
+
+}
@@ -0,0 +1,94 @@
+package nl.tudelft.simulation.dsol.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+
+/**
+ * JfrEventExecution records the execution of a simulation event, with the kind of the event, so the hot kinds of events can
+ * be found in JDK Mission Control. The executions are sampled: the simulator records one in every
+ * DsolJfr.getSampleInterval() executed events. The simulator uses the event as follows, which costs next to nothing when the
+ * event is not enabled:
+ *
+ * <pre>
+ * JfrEventExecution jfr = new JfrEventExecution();
+ * if (jfr.isEnabled() &amp;&amp; ++this.sampleCounter &gt;= DsolJfr.getSampleInterval())
+ * {
+ *     this.sampleCounter = 0;
+ *     jfr.execute(id, event, eventList.size());
+ * }
+ * else
+ * {
+ *     event.execute();
+ * }
+ * </pre>
+ *
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+@Name("nl.tudelft.simulation.dsol.EventExecution")
+@Label("Simulation Event Execution")
+@Category({"DSOL", "Simulator"})
+@Description("Sampled execution of a simulation event")
+@Enabled(false)
+@StackTrace(false)
+public final class JfrEventExecution extends Event
+{
+    /** the id of the simulator. */
+    @Label("Simulator")
+    private String simulator;
+
+    /** the kind of the simulation event. */
+    @Label("Kind")
+    @Description("Class and method of the simulation event, or the class of the lambda expression")
+    private String kind;
+
+    /** the simulation time of the event. */
+    @Label("Simulation Time")
+    private double simulationTime;
+
+    /** the number of events in the event list after the event was removed from it. */
+    @Label("Event List Size")
+    private int eventListSize;
+
+    /**
+     * Execute the simulation event, and record the execution.
+     * @param simulatorId the id of the simulator
+     * @param event the simulation event to execute
+     * @param eventListSize the number of events in the event list
+     * @throws SimRuntimeException when the execution of the event fails
+     */
+    public void execute(final String simulatorId, final SimEventInterface<?> event, final int eventListSize)
+            throws SimRuntimeException
+    {
+        begin();
+        try
+        {
+            event.execute();
+        }
+        finally
+        {
+            end();
+            if (shouldCommit())
+            {
+                this.simulator = simulatorId;
+                this.kind = DsolJfr.kindOf(event);
+                this.simulationTime = event.getAbsoluteExecutionTime().doubleValue();
+                this.eventListSize = eventListSize;
+                commit();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package nl.tudelft.simulation.dsol.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JfrExperimentReplication records the wall clock time of a replication of an experiment, from the initialization of the
+ * simulator for the replication to the END_REPLICATION_EVENT, including the construction or reset of the model.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+@Name("nl.tudelft.simulation.dsol.ExperimentReplication")
+@Label("Experiment Replication")
+@Category({"DSOL", "Experiment"})
+@Description("Replication of an experiment, including the initialization of the model")
+@Enabled(false)
+@StackTrace(false)
+public final class JfrExperimentReplication extends Event
+{
+    /** the id of the experiment. */
+    @Label("Experiment")
+    private String experiment;
+
+    /** the replication number. */
+    @Label("Replication Number")
+    private int replicationNumber;
+
+    /**
+     * Start the recording of a replication of an experiment.
+     */
+    public void start()
+    {
+        begin();
+    }
+
+    /**
+     * End the recording of the replication, and commit the event when it should be recorded.
+     * @param experimentId the id of the experiment
+     * @param replicationNr the replication number
+     */
+    public void stop(final String experimentId, final int replicationNr)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.experiment = experimentId;
+            this.replicationNumber = replicationNr;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package nl.tudelft.simulation.dsol.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JfrFrameRender records the rendering of one frame of an animation panel, with the number of drawn elements.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+@Name("nl.tudelft.simulation.dsol.FrameRender")
+@Label("Animation Frame Render")
+@Category({"DSOL", "Animation"})
+@Description("Rendering of one frame of an animation panel")
+@Enabled(false)
+@StackTrace(false)
+public final class JfrFrameRender extends Event
+{
+    /** the name of the panel. */
+    @Label("Panel")
+    private String panel;
+
+    /** the number of drawn elements. */
+    @Label("Elements")
+    private int elements;
+
+    /**
+     * Start the recording of the rendering of a frame.
+     */
+    public void start()
+    {
+        begin();
+    }
+
+    /**
+     * End the recording of the rendering, and commit the event when it should be recorded.
+     * @param panelName the name of the panel
+     * @param numberOfElements the number of drawn elements
+     */
+    public void stop(final String panelName, final int numberOfElements)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.panel = panelName;
+            this.elements = numberOfElements;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package nl.tudelft.simulation.dsol.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JfrQueueLength records a change of the length of a queue, e.g., the request queue of a resource.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+@Name("nl.tudelft.simulation.dsol.QueueLength")
+@Label("Queue Length")
+@Category({"DSOL", "Model"})
+@Description("Change of the length of a queue")
+@Enabled(false)
+@StackTrace(false)
+public final class JfrQueueLength extends Event
+{
+    /** the id of the queue. */
+    @Label("Queue")
+    private String queue;
+
+    /** the new length of the queue. */
+    @Label("Length")
+    private int length;
+
+    /** the simulation time of the change. */
+    @Label("Simulation Time")
+    private double simulationTime;
+
+    /**
+     * Record a change of the length of a queue, when the event is enabled.
+     * @param queueId the id of the queue
+     * @param queueLength the new length of the queue
+     * @param simTime the simulation time of the change
+     */
+    public static void record(final String queueId, final int queueLength, final double simTime)
+    {
+        JfrQueueLength event = new JfrQueueLength();
+        if (event.isEnabled())
+        {
+            event.queue = queueId;
+            event.length = queueLength;
+            event.simulationTime = simTime;
+            event.commit();
+        }
+    }
+
+}
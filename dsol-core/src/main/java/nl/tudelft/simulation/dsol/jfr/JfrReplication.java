@@ -0,0 +1,84 @@
+package nl.tudelft.simulation.dsol.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * JfrReplication records a replication of a simulator, from the START_REPLICATION_EVENT to the END_REPLICATION_EVENT, with the
+ * simulation time and the number of executed events.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+@Name("nl.tudelft.simulation.dsol.Replication")
+@Label("Replication")
+@Category({"DSOL", "Simulator"})
+@Description("Replication of a simulator, from its start to its end")
+@Enabled(false)
+@StackTrace(false)
+public final class JfrReplication extends Event
+{
+    /** the id of the simulator. */
+    @Label("Simulator")
+    private String simulator;
+
+    /** the id of the replication. */
+    @Label("Replication")
+    private String replication;
+
+    /** the simulation time at the start of the replication. */
+    @Label("Start Time")
+    @Description("Simulation time at the start of the replication")
+    private double startTime;
+
+    /** the simulation time at the end of the replication. */
+    @Label("End Time")
+    @Description("Simulation time at the end of the replication")
+    private double endTime;
+
+    /** the number of executed events. */
+    @Label("Executed Events")
+    private long events;
+
+    /**
+     * Start the recording of a replication.
+     * @param sim the simulator
+     */
+    public void start(final SimulatorInterface<?> sim)
+    {
+        if (isEnabled())
+        {
+            this.startTime = sim.getSimulatorTime().doubleValue();
+            begin();
+        }
+    }
+
+    /**
+     * End the recording of the replication, and commit the event when it should be recorded.
+     * @param simulatorId the id of the simulator
+     * @param sim the simulator
+     */
+    public void stop(final String simulatorId, final SimulatorInterface<?> sim)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.simulator = simulatorId;
+            this.replication = sim.getReplication() == null ? null : sim.getReplication().getId();
+            this.endTime = sim.getSimulatorTime().doubleValue();
+            this.events = sim.getNumberOfExecutedEvents();
+            commit();
+        }
+    }
+
+}
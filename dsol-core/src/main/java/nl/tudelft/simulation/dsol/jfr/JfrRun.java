@@ -0,0 +1,87 @@
+package nl.tudelft.simulation.dsol.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * JfrRun records a run of a simulator, from the START_EVENT to the STOP_EVENT, with the simulation time and the number of
+ * events that have been executed during the run. A replication consists of one or more runs when the simulator is stopped
+ * and started again, e.g., with runUpTo().
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+@Name("nl.tudelft.simulation.dsol.Run")
+@Label("Simulator Run")
+@Category({"DSOL", "Simulator"})
+@Description("Run of a simulator, from its start to its stop")
+@Enabled(false)
+@StackTrace(false)
+public final class JfrRun extends Event
+{
+    /** the id of the simulator. */
+    @Label("Simulator")
+    private String simulator;
+
+    /** the simulation time at the start of the run. */
+    @Label("Start Time")
+    @Description("Simulation time at the start of the run")
+    private double startTime;
+
+    /** the simulation time at the stop of the run. */
+    @Label("Stop Time")
+    @Description("Simulation time at the stop of the run")
+    private double stopTime;
+
+    /** the number of events executed during the run. */
+    @Label("Executed Events")
+    private long events;
+
+    /** the number of events in the event list at the stop of the run, or -1 when the simulator has no event list. */
+    @Label("Event List Size")
+    private int eventListSize;
+
+    /**
+     * Start the recording of a run.
+     * @param sim the simulator
+     */
+    public void start(final SimulatorInterface<?> sim)
+    {
+        if (isEnabled())
+        {
+            this.startTime = sim.getSimulatorTime().doubleValue();
+            this.events = sim.getNumberOfExecutedEvents();
+            begin();
+        }
+    }
+
+    /**
+     * End the recording of the run, and commit the event when it should be recorded.
+     * @param simulatorId the id of the simulator
+     * @param sim the simulator
+     * @param eventListSize the number of events in the event list, or -1 when the simulator has no event list
+     */
+    public void stop(final String simulatorId, final SimulatorInterface<?> sim, final int eventListSize)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.simulator = simulatorId;
+            this.stopTime = sim.getSimulatorTime().doubleValue();
+            this.events = sim.getNumberOfExecutedEvents() - this.events;
+            this.eventListSize = eventListSize;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+/**
+ * Java Flight Recorder (JFR) events for the simulation kernel: replications, runs, sampled event executions, replications of
+ * an experiment, queue lengths, and the rendering of animation frames. All events are disabled by default, and cost next to
+ * nothing when JFR does not record them. They can be enabled in a JFR settings file, e.g., a copy of default.jfc with an
+ * element <code>event name="nl.tudelft.simulation.dsol.EventExecution"</code> that contains the setting <code>enabled</code>
+ * with value <code>true</code>, or programmatically with <code>Recording.enable(JfrEventExecution.class)</code>. The events
+ * are shown in the "DSOL" category of JDK Mission Control.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ */
+package nl.tudelft.simulation.dsol.jfr;
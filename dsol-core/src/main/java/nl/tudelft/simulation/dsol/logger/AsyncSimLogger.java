@@ -0,0 +1,536 @@
+package nl.tudelft.simulation.dsol.logger;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.djutils.exceptions.Throw;
+import org.djutils.logger.CategoryLogger;
+import org.djutils.logger.LogCategory;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * AsyncSimLogger logs messages of a simulation without formatting them on the thread of the simulator. A message consists of
+ * a template that is registered once, and up to three numeric arguments. The logger stores the simulation time, the template
+ * id and the arguments in a preallocated ring buffer, and a background thread formats the messages and writes them to the
+ * CategoryLogger or to a SimLogSink. The ring buffer can be filled by several threads without locks. When the buffer fills up
+ * faster than it is emptied, messages are dropped or sampled according to the OverflowPolicy, and counted. A typical use is:
+ *
+ * <pre>
+ * AsyncSimLogger&lt;Double&gt; log = simulator.getSimLogger().getAsyncLogger();
+ * int arrival = log.template(Cat.DSOL, Level.DEBUG, "arrival of customer {} at queue length {}");
+ * ...
+ * log.log(arrival, customerNr, queue.size());
+ * </pre>
+ *
+ * The placeholders {} in the template are replaced by the arguments; integral values are written without decimals. Whether a
+ * template is enabled is determined by the log level of its category; the levels are checked again by the background thread
+ * at least every 100 ms, or immediately with refreshLevels(). Since the messages are written on the background thread, the
+ * class, method and line of the caller are not available for the pattern of the CategoryLogger.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the simulation time type
+ */
+public class AsyncSimLogger<T extends Number & Comparable<T>>
+{
+    /** the default capacity of the ring buffer. */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /** the default number of messages per accepted message under back-pressure with the SAMPLE policy. */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 10;
+
+    /** the interval in nanoseconds in which the background thread checks the log levels of the templates. */
+    private static final long REFRESH_NANOS = 100_000_000L;
+
+    /** the sim logger that provides the simulator and the time formatter. */
+    private final SimLogger<T> simLogger;
+
+    /** the capacity of the ring buffer, a power of 2. */
+    private final int capacity;
+
+    /** the mask to calculate the index in the ring buffer. */
+    private final int mask;
+
+    /** the overflow policy. */
+    private final OverflowPolicy policy;
+
+    /** the number of messages per accepted message under back-pressure with the SAMPLE policy. */
+    private final int sampleInterval;
+
+    /** the simulation times of the messages. */
+    private final Object[] times;
+
+    /** the template ids of the messages. */
+    private final int[] templateIds;
+
+    /** the number of arguments of the messages. */
+    private final byte[] numberOfArgs;
+
+    /** the arguments of the messages, three per message. */
+    private final double[] args;
+
+    /** per slot the sequence number + 1 of the message that has been published in it. */
+    private final AtomicLongArray published;
+
+    /** the sequence number of the next message to claim. */
+    private final AtomicLong head = new AtomicLong();
+
+    /** the sequence number of the next message to write. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** the number of dropped messages. */
+    private final LongAdder dropped = new LongAdder();
+
+    /** the number of messages that were not accepted by sampling. */
+    private final LongAdder sampledOut = new LongAdder();
+
+    /** the counter for sampling; races between threads only affect the sampling rate. */
+    private int sampleCounter = 0;
+
+    /** the registered templates; replaced by a longer array when a template is registered. */
+    private volatile Template[] templates = new Template[0];
+
+    /** the sink for the formatted messages, or null to write them to the CategoryLogger. */
+    private final SimLogSink sink;
+
+    /** the background thread. */
+    private final Thread writer;
+
+    /** whether the background thread is waiting for messages. */
+    private volatile boolean writerWaiting = false;
+
+    /** whether the logger has been closed. */
+    private volatile boolean closed = false;
+
+    /**
+     * Create an asynchronous logger and start its background thread.
+     * @param simLogger the sim logger that provides the simulator and the time formatter
+     * @param capacity the capacity of the ring buffer; rounded up to a power of 2
+     * @param policy the overflow policy
+     * @param sampleInterval the number of messages per accepted message under back-pressure with the SAMPLE policy
+     * @param sink the sink for the formatted messages, or null to write them to the CategoryLogger
+     * @throws NullPointerException when simLogger or policy is null
+     * @throws IllegalArgumentException when capacity &lt; 2, capacity &gt; 2^30, or sampleInterval &lt; 1
+     */
+    public AsyncSimLogger(final SimLogger<T> simLogger, final int capacity, final OverflowPolicy policy,
+            final int sampleInterval, final SimLogSink sink)
+    {
+        Throw.whenNull(simLogger, "simLogger cannot be null");
+        Throw.whenNull(policy, "policy cannot be null");
+        Throw.when(capacity < 2 || capacity > 1 << 30, IllegalArgumentException.class, "capacity %d out of range", capacity);
+        Throw.when(sampleInterval < 1, IllegalArgumentException.class, "sampleInterval should be at least 1");
+        this.simLogger = simLogger;
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.policy = policy;
+        this.sampleInterval = sampleInterval;
+        this.sink = sink;
+        this.times = new Object[this.capacity];
+        this.templateIds = new int[this.capacity];
+        this.numberOfArgs = new byte[this.capacity];
+        this.args = new double[3 * this.capacity];
+        this.published = new AtomicLongArray(this.capacity);
+        this.writer = new Thread(this::writeMessages, "AsyncSimLogger");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Register a message template, and return its id. The template is enabled when the log level of the category is at most
+     * the level of the template.
+     * @param category the log category
+     * @param level the log level
+     * @param template the message, with a placeholder {} for each argument
+     * @return the id of the template
+     * @throws NullPointerException when category, level or template is null
+     */
+    public synchronized int template(final LogCategory category, final Level level, final String template)
+    {
+        Throw.whenNull(category, "category cannot be null");
+        Throw.whenNull(level, "level cannot be null");
+        Throw.whenNull(template, "template cannot be null");
+        Template[] newTemplates = Arrays.copyOf(this.templates, this.templates.length + 1);
+        Template t = new Template(category, level, template);
+        t.refresh();
+        newTemplates[this.templates.length] = t;
+        this.templates = newTemplates;
+        return this.templates.length - 1;
+    }
+
+    /**
+     * Log a message without arguments.
+     * @param templateId the id of the template
+     */
+    public void log(final int templateId)
+    {
+        log(templateId, 0, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Log a message with one argument.
+     * @param templateId the id of the template
+     * @param a the first argument
+     */
+    public void log(final int templateId, final double a)
+    {
+        log(templateId, 1, a, 0.0, 0.0);
+    }
+
+    /**
+     * Log a message with two arguments.
+     * @param templateId the id of the template
+     * @param a the first argument
+     * @param b the second argument
+     */
+    public void log(final int templateId, final double a, final double b)
+    {
+        log(templateId, 2, a, b, 0.0);
+    }
+
+    /**
+     * Log a message with three arguments.
+     * @param templateId the id of the template
+     * @param a the first argument
+     * @param b the second argument
+     * @param c the third argument
+     */
+    public void log(final int templateId, final double a, final double b, final double c)
+    {
+        log(templateId, 3, a, b, c);
+    }
+
+    /**
+     * Claim a slot in the ring buffer and publish the message, or count the message as dropped or sampled out.
+     * @param templateId the id of the template
+     * @param nrArgs the number of arguments
+     * @param a the first argument
+     * @param b the second argument
+     * @param c the third argument
+     */
+    private void log(final int templateId, final int nrArgs, final double a, final double b, final double c)
+    {
+        if (!this.templates[templateId].enabled || this.closed)
+        {
+            return;
+        }
+        long sequence;
+        while (true)
+        {
+            sequence = this.head.get();
+            long used = sequence - this.tail.get();
+            if (used >= this.capacity)
+            {
+                this.dropped.increment();
+                return;
+            }
+            if (this.policy == OverflowPolicy.SAMPLE && used >= this.capacity / 2
+                    && this.sampleCounter++ % this.sampleInterval != 0)
+            {
+                this.sampledOut.increment();
+                return;
+            }
+            if (this.head.compareAndSet(sequence, sequence + 1))
+            {
+                break;
+            }
+        }
+        int index = (int) (sequence & this.mask);
+        this.times[index] = this.simLogger.getSimulator().getSimulatorTime();
+        this.templateIds[index] = templateId;
+        this.numberOfArgs[index] = (byte) nrArgs;
+        this.args[3 * index] = a;
+        this.args[3 * index + 1] = b;
+        this.args[3 * index + 2] = c;
+        this.published.lazySet(index, sequence + 1);
+        if (this.writerWaiting)
+        {
+            LockSupport.unpark(this.writer);
+        }
+    }
+
+    /**
+     * The body of the background thread: format and write the published messages until the logger is closed.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeMessages()
+    {
+        long lastRefresh = System.nanoTime();
+        while (true)
+        {
+            long sequence = this.tail.get();
+            int index = (int) (sequence & this.mask);
+            if (this.published.get(index) != sequence + 1)
+            {
+                if (this.closed && sequence == this.head.get())
+                {
+                    return;
+                }
+                this.writerWaiting = true;
+                if (this.published.get(index) != sequence + 1 && !this.closed)
+                {
+                    LockSupport.parkNanos(this, REFRESH_NANOS);
+                }
+                this.writerWaiting = false;
+                if (System.nanoTime() - lastRefresh >= REFRESH_NANOS)
+                {
+                    refreshLevels();
+                    lastRefresh = System.nanoTime();
+                }
+                continue;
+            }
+            T time = (T) this.times[index];
+            this.times[index] = null;
+            Template template = this.templates[this.templateIds[index]];
+            int nrArgs = this.numberOfArgs[index];
+            double a = this.args[3 * index];
+            double b = this.args[3 * index + 1];
+            double c = this.args[3 * index + 2];
+            try
+            {
+                write(template, time, template.format(nrArgs, a, b, c));
+            }
+            catch (RuntimeException exception)
+            {
+                CategoryLogger.always().error(exception, "AsyncSimLogger could not write a message");
+            }
+            // the slot is released after writing, so flush() returns when the messages have actually been written
+            this.tail.lazySet(sequence + 1);
+        }
+    }
+
+    /**
+     * Write a formatted message to the sink or to the CategoryLogger.
+     * @param template the template of the message
+     * @param time the simulation time of the message
+     * @param message the formatted message
+     */
+    private void write(final Template template, final T time, final String message)
+    {
+        if (this.sink != null)
+        {
+            this.sink.write(template.category, template.level, this.simLogger.format(time), message);
+            return;
+        }
+        this.simLogger.setLoggedTime(time);
+        try
+        {
+            switch (template.level.toInt())
+            {
+                case Level.TRACE_INT:
+                    CategoryLogger.with(template.category).trace(message);
+                    break;
+                case Level.DEBUG_INT:
+                    CategoryLogger.with(template.category).debug(message);
+                    break;
+                case Level.INFO_INT:
+                    CategoryLogger.with(template.category).info(message);
+                    break;
+                case Level.WARN_INT:
+                    CategoryLogger.with(template.category).warn(message);
+                    break;
+                default:
+                    CategoryLogger.with(template.category).error(message);
+                    break;
+            }
+        }
+        finally
+        {
+            this.simLogger.setLoggedTime(null);
+        }
+    }
+
+    /**
+     * Check the log levels of the categories of the templates again, e.g., after a change of a log level.
+     */
+    public void refreshLevels()
+    {
+        for (Template template : this.templates)
+        {
+            template.refresh();
+        }
+    }
+
+    /**
+     * Wait until the messages that have been logged before the call have been written.
+     */
+    public void flush()
+    {
+        long target = this.head.get();
+        while (this.tail.get() < target && this.writer.isAlive())
+        {
+            LockSupport.unpark(this.writer);
+            LockSupport.parkNanos(100_000L);
+        }
+    }
+
+    /**
+     * Write the remaining messages and stop the background thread. Messages that are logged after the logger has been closed
+     * are ignored.
+     */
+    public void close()
+    {
+        this.closed = true;
+        LockSupport.unpark(this.writer);
+        try
+        {
+            this.writer.join();
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Return whether the logger has been closed.
+     * @return whether the logger has been closed
+     */
+    public boolean isClosed()
+    {
+        return this.closed;
+    }
+
+    /**
+     * Return the capacity of the ring buffer.
+     * @return the capacity of the ring buffer
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Return the overflow policy.
+     * @return the overflow policy
+     */
+    public OverflowPolicy getPolicy()
+    {
+        return this.policy;
+    }
+
+    /**
+     * Return the number of messages that have been accepted in the ring buffer.
+     * @return the number of accepted messages
+     */
+    public long getNumberOfAccepted()
+    {
+        return this.head.get();
+    }
+
+    /**
+     * Return the number of messages that have been written.
+     * @return the number of written messages
+     */
+    public long getNumberOfWritten()
+    {
+        return this.tail.get();
+    }
+
+    /**
+     * Return the number of messages that have been dropped because the ring buffer was full.
+     * @return the number of dropped messages
+     */
+    public long getNumberOfDropped()
+    {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Return the number of messages that have not been accepted by sampling under back-pressure.
+     * @return the number of sampled-out messages
+     */
+    public long getNumberOfSampledOut()
+    {
+        return this.sampledOut.sum();
+    }
+
+    /** A registered message template. */
+    private static final class Template
+    {
+        /** the log category. */
+        private final LogCategory category;
+
+        /** the log level. */
+        private final Level level;
+
+        /** the parts of the template between the placeholders. */
+        private final String[] parts;
+
+        /** whether the level of the category enables the template. */
+        private volatile boolean enabled;
+
+        /**
+         * @param category the log category
+         * @param level the log level
+         * @param template the message, with a placeholder {} for each argument
+         */
+        Template(final LogCategory category, final Level level, final String template)
+        {
+            this.category = category;
+            this.level = level;
+            this.parts = template.split("\\{\\}", -1);
+        }
+
+        /**
+         * Check whether the level of the category enables the template.
+         */
+        void refresh()
+        {
+            Level categoryLevel = CategoryLogger.getLogLevel(this.category);
+            this.enabled = categoryLevel == null || this.level.isGreaterOrEqual(categoryLevel);
+        }
+
+        /**
+         * Format the message by replacing the placeholders by the arguments; placeholders without argument remain.
+         * @param nrArgs the number of arguments
+         * @param a the first argument
+         * @param b the second argument
+         * @param c the third argument
+         * @return the formatted message
+         */
+        String format(final int nrArgs, final double a, final double b, final double c)
+        {
+            StringBuilder sb = new StringBuilder(64);
+            sb.append(this.parts[0]);
+            for (int i = 1; i < this.parts.length; i++)
+            {
+                if (i <= nrArgs)
+                {
+                    append(sb, i == 1 ? a : i == 2 ? b : c);
+                }
+                else
+                {
+                    sb.append("{}");
+                }
+                sb.append(this.parts[i]);
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Append a value, without decimals when it is integral.
+         * @param sb the string builder
+         * @param value the value
+         */
+        private static void append(final StringBuilder sb, final double value)
+        {
+            if (value == Math.rint(value) && Math.abs(value) < 1.0E15)
+            {
+                sb.append((long) value);
+            }
+            else
+            {
+                sb.append(value);
+            }
+        }
+    }
+
+}
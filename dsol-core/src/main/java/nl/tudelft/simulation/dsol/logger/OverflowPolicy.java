@@ -0,0 +1,24 @@
+package nl.tudelft.simulation.dsol.logger;
+
+/**
+ * OverflowPolicy determines what the AsyncSimLogger does with log messages when its ring buffer fills up faster than the
+ * background thread can write the messages.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public enum OverflowPolicy
+{
+    /** accept all messages until the ring buffer is full, and drop the messages that do not fit. */
+    DROP,
+
+    /**
+     * accept all messages until the ring buffer is half full, then accept one in every sampleInterval messages, and drop the
+     * messages that do not fit.
+     */
+    SAMPLE;
+}
@@ -0,0 +1,30 @@
+package nl.tudelft.simulation.dsol.logger;
+
+import org.djutils.logger.LogCategory;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * SimLogSink receives the formatted messages of an AsyncSimLogger on its background thread, e.g., to write them to a file or to
+ * collect them in a test. Without a sink, the AsyncSimLogger writes the messages to the CategoryLogger.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+@FunctionalInterface
+public interface SimLogSink
+{
+    /**
+     * Write a formatted log message.
+     * @param category the log category of the message
+     * @param level the log level of the message
+     * @param simTime the formatted simulation time at which the message was logged
+     * @param message the formatted message
+     */
+    void write(LogCategory category, Level level, String simTime, String message);
+
+}
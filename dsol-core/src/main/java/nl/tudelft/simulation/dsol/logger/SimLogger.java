@@ -8,7 +8,8 @@ import ch.qos.logback.classic.Level;
 import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
 
 /**
- * SimLogger contains helper methods for the logger.
+ * SimLogger contains helper methods for the logger. Messages that are logged often during a run can be logged with the
+ * AsyncSimLogger of getAsyncLogger(), which formats and writes the messages on a background thread.
  * <p>
  * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
  * for project information <a href="https://simulation.tudelft.nl/" target="_blank"> https://simulation.tudelft.nl</a>. The DSOL
@@ -27,6 +28,12 @@ public class SimLogger<T extends Number & Comparable<T>>
     /** the simulation time formatter. */
     private Function<T, String> formatter = new SimTimeFormatter<>();
 
+    /** the simulation time of a message that is written by the asynchronous logger, per thread. */
+    private final ThreadLocal<T> loggedTime = new ThreadLocal<>();
+
+    /** the asynchronous logger, created on first use. */
+    private AsyncSimLogger<T> asyncLogger = null;
+
     /**
      * Register a logger for a simulator with time.
      * @param simulator the simulator for which to register a logger with time
@@ -43,7 +50,11 @@ public class SimLogger<T extends Number & Comparable<T>>
             CategoryLogger.setPattern(Cat.DSOL, oldPattern);
         else
             CategoryLogger.setPattern(Cat.DSOL, "%X{simTime} %-5level %-6logger{0} %class.%method:%line - %msg%n");
-        CategoryLogger.addFormatter(Cat.DSOL, "simTime", () -> this.formatter.apply(this.simulator.getSimulatorTime()));
+        CategoryLogger.addFormatter(Cat.DSOL, "simTime", () ->
+        {
+            T time = this.loggedTime.get();
+            return this.formatter.apply(time != null ? time : this.simulator.getSimulatorTime());
+        });
     }
 
     /**
@@ -55,4 +66,85 @@ public class SimLogger<T extends Number & Comparable<T>>
         this.formatter = formatter;
     }
 
+    /**
+     * Format a simulation time with the formatter of this logger.
+     * @param time the simulation time
+     * @return the formatted simulation time
+     */
+    public String format(final T time)
+    {
+        return this.formatter.apply(time);
+    }
+
+    /**
+     * Set the simulation time that the formatter uses on the current thread instead of the time of the simulator, or null to
+     * use the time of the simulator again. The asynchronous logger uses this to log a message with the time at which it was
+     * created.
+     * @param time the simulation time to use on the current thread, or null to use the time of the simulator
+     */
+    void setLoggedTime(final T time)
+    {
+        if (time == null)
+        {
+            this.loggedTime.remove();
+        }
+        else
+        {
+            this.loggedTime.set(time);
+        }
+    }
+
+    /**
+     * Return the simulator of this logger.
+     * @return the simulator of this logger
+     */
+    public SimulatorInterface<T> getSimulator()
+    {
+        return this.simulator;
+    }
+
+    /**
+     * Return the asynchronous logger of the simulator. When it does not exist, it is created with the default capacity and the
+     * DROP policy, writing to the CategoryLogger.
+     * @return the asynchronous logger of the simulator
+     */
+    public synchronized AsyncSimLogger<T> getAsyncLogger()
+    {
+        if (this.asyncLogger == null || this.asyncLogger.isClosed())
+        {
+            this.asyncLogger = new AsyncSimLogger<>(this, AsyncSimLogger.DEFAULT_CAPACITY, OverflowPolicy.DROP,
+                    AsyncSimLogger.DEFAULT_SAMPLE_INTERVAL, null);
+        }
+        return this.asyncLogger;
+    }
+
+    /**
+     * Replace the asynchronous logger of the simulator by a new one with the given settings. A previous asynchronous logger is
+     * closed after its messages have been written; the templates have to be registered again with the new logger.
+     * @param capacity the capacity of the ring buffer; rounded up to a power of 2
+     * @param policy the overflow policy
+     * @param sampleInterval the number of messages per accepted message under back-pressure with the SAMPLE policy
+     * @param sink the sink for the formatted messages, or null to write them to the CategoryLogger
+     * @return the new asynchronous logger
+     */
+    public synchronized AsyncSimLogger<T> setAsyncLogger(final int capacity, final OverflowPolicy policy,
+            final int sampleInterval, final SimLogSink sink)
+    {
+        closeAsyncLogger();
+        this.asyncLogger = new AsyncSimLogger<>(this, capacity, policy, sampleInterval, sink);
+        return this.asyncLogger;
+    }
+
+    /**
+     * Write the remaining messages of the asynchronous logger, when it exists, and stop its background thread.
+     */
+    public synchronized void closeAsyncLogger()
+    {
+        if (this.asyncLogger != null)
+        {
+            this.asyncLogger.close();
+            this.asyncLogger = null;
+        }
+    }
+
 }
@@ -0,0 +1,345 @@
+package nl.tudelft.simulation.dsol.metrics;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.djutils.event.Event;
+import org.djutils.event.EventListener;
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.simulators.DevsRealTimeAnimator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+import nl.tudelft.simulation.dsol.statistics.SimCounter;
+import nl.tudelft.simulation.dsol.statistics.SimPersistent;
+
+/**
+ * SimulatorMetrics samples the state of a simulator and the statistics that the model has registered, and writes them in the
+ * Prometheus text exposition format. The simulator is sampled when the metrics are requested, by reading its counters
+ * without synchronization, so the collection adds no work to the run loop and never blocks the simulator. The rate of
+ * executed events is calculated between two consecutive samples. For a real-time simulator, the lag is the difference between
+ * the simulation time that corresponds to the elapsed wall clock time since the last start or change of the speed factor, and
+ * the actual simulation time. The metrics are:
+ * <ul>
+ * <li><code>dsol_simulator_running</code>: 1 when the simulator is running, 0 otherwise</li>
+ * <li><code>dsol_simulator_time</code>: the simulation time</li>
+ * <li><code>dsol_simulator_event_list_size</code>: the number of events in the event list of a DEVS simulator</li>
+ * <li><code>dsol_simulator_events_per_second</code>: the number of executed events per wall clock second</li>
+ * <li><code>dsol_simulator_realtime_lag</code>: the lag of a real-time simulator, in simulation time units</li>
+ * <li><code>dsol_replication_executed_events</code>: the number of executed events in the replication</li>
+ * <li><code>dsol_replication_progress</code>: the fraction of the replication length that has been simulated</li>
+ * <li><code>dsol_model_counter</code>: the count of a registered SimCounter</li>
+ * <li><code>dsol_model_persistent</code>: the last value and the time-weighted mean of a registered SimPersistent</li>
+ * </ul>
+ * All metrics have a <code>simulator</code> label with the id of the simulator, and the model statistics have a
+ * <code>key</code> label with the key of the statistic.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class SimulatorMetrics implements EventListener
+{
+    /** the content type of the Prometheus text exposition format. */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** the simulator. */
+    private final SimulatorInterface<?> simulator;
+
+    /** the label with the id of the simulator. */
+    private final String simulatorLabel;
+
+    /** the counters that the model has registered. */
+    private final List<SimCounter<?>> counters = new CopyOnWriteArrayList<>();
+
+    /** the persistent statistics that the model has registered. */
+    private final List<SimPersistent<?>> persistents = new CopyOnWriteArrayList<>();
+
+    /** the previous sample, to calculate the rate of executed events. */
+    private final AtomicReference<Sample> previousSample = new AtomicReference<>();
+
+    /** the wall clock and simulation time at the last start or change of speed factor of a real-time simulator. */
+    private volatile Anchor anchor = null;
+
+    /**
+     * Create the metrics for a simulator.
+     * @param simulator the simulator
+     * @param simulatorId the id of the simulator for the label of the metrics
+     * @throws NullPointerException when simulator or simulatorId is null
+     */
+    public SimulatorMetrics(final SimulatorInterface<?> simulator, final String simulatorId)
+    {
+        Throw.whenNull(simulator, "simulator cannot be null");
+        Throw.whenNull(simulatorId, "simulatorId cannot be null");
+        this.simulator = simulator;
+        this.simulatorLabel = "simulator=\"" + escape(simulatorId) + "\"";
+        if (simulator instanceof DevsRealTimeAnimator)
+        {
+            simulator.addListener(this, SimulatorInterface.START_EVENT, ReferenceType.WEAK);
+            simulator.addListener(this, DevsRealTimeAnimator.CHANGE_SPEED_FACTOR_EVENT, ReferenceType.WEAK);
+        }
+    }
+
+    /**
+     * Register a counter of the model, which is reported as <code>dsol_model_counter</code>.
+     * @param counter the counter
+     * @return this metrics object for method chaining
+     * @throws NullPointerException when counter is null
+     */
+    public SimulatorMetrics addCounter(final SimCounter<?> counter)
+    {
+        Throw.whenNull(counter, "counter cannot be null");
+        this.counters.add(counter);
+        return this;
+    }
+
+    /**
+     * Register a persistent statistic of the model, which is reported as <code>dsol_model_persistent</code>.
+     * @param persistent the persistent statistic
+     * @return this metrics object for method chaining
+     * @throws NullPointerException when persistent is null
+     */
+    public SimulatorMetrics addPersistent(final SimPersistent<?> persistent)
+    {
+        Throw.whenNull(persistent, "persistent cannot be null");
+        this.persistents.add(persistent);
+        return this;
+    }
+
+    /**
+     * Remove the registered counters and persistent statistics, e.g., when the model is reset.
+     */
+    public void clearStatistics()
+    {
+        this.counters.clear();
+        this.persistents.clear();
+    }
+
+    /**
+     * Return the simulator.
+     * @return the simulator
+     */
+    public SimulatorInterface<?> getSimulator()
+    {
+        return this.simulator;
+    }
+
+    /**
+     * Sample the simulator and the registered statistics, and return the metrics in the Prometheus text exposition format.
+     * @return the metrics in the Prometheus text exposition format
+     */
+    public String scrape()
+    {
+        StringBuilder sb = new StringBuilder(1024);
+        SimulatorInterface<?> sim = this.simulator;
+        Number simTime = sim.getSimulatorTime();
+        long events = sim.getNumberOfExecutedEvents();
+        Sample sample = new Sample(System.nanoTime(), events);
+        Sample previous = this.previousSample.getAndSet(sample);
+
+        gauge(sb, "dsol_simulator_running", "1 when the simulator is running, 0 otherwise",
+                sim.isStartingOrRunning() ? 1.0 : 0.0);
+        gauge(sb, "dsol_simulator_time", "the simulation time", simTime == null ? Double.NaN : simTime.doubleValue());
+        if (sim instanceof DevsSimulatorInterface)
+        {
+            gauge(sb, "dsol_simulator_event_list_size", "the number of events in the event list",
+                    ((DevsSimulatorInterface<?>) sim).getEventList().size());
+        }
+        if (previous != null && sample.wallNanos > previous.wallNanos)
+        {
+            // a new replication resets the number of executed events
+            long executed = events >= previous.events ? events - previous.events : events;
+            gauge(sb, "dsol_simulator_events_per_second", "the number of executed events per wall clock second",
+                    executed * 1.0E9 / (sample.wallNanos - previous.wallNanos));
+        }
+        if (sim instanceof DevsRealTimeAnimator && simTime != null)
+        {
+            gauge(sb, "dsol_simulator_realtime_lag", "the lag behind the wall clock in simulation time units",
+                    realTimeLag((DevsRealTimeAnimator<?>) sim, simTime.doubleValue()));
+        }
+        gauge(sb, "dsol_replication_executed_events", "the number of executed events in the replication", events);
+        Replication<?> replication = sim.getReplication();
+        if (replication != null && simTime != null)
+        {
+            double start = replication.getStartTime().doubleValue();
+            double length = replication.getEndTime().doubleValue() - start;
+            gauge(sb, "dsol_replication_progress", "the fraction of the replication length that has been simulated",
+                    length <= 0.0 ? 1.0 : Math.max(0.0, Math.min(1.0, (simTime.doubleValue() - start) / length)));
+        }
+
+        if (!this.counters.isEmpty())
+        {
+            header(sb, "dsol_model_counter", "the count of a counter of the model");
+            for (SimCounter<?> counter : this.counters)
+            {
+                line(sb, "dsol_model_counter", "key=\"" + escape(counter.getKey()) + "\"", counter.getCount());
+            }
+        }
+        if (!this.persistents.isEmpty())
+        {
+            header(sb, "dsol_model_persistent", "the last value and the time-weighted mean of a persistent statistic");
+            for (SimPersistent<?> persistent : this.persistents)
+            {
+                String key = "key=\"" + escape(persistent.getKey()) + "\"";
+                line(sb, "dsol_model_persistent", key + ",stat=\"last\"", persistent.getLastValue());
+                line(sb, "dsol_model_persistent", key + ",stat=\"mean\"", persistent.getWeightedSampleMean());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Calculate the lag of a real-time simulator behind the wall clock.
+     * @param animator the real-time simulator
+     * @param simTime the current simulation time
+     * @return the lag of the simulator behind the wall clock in simulation time units, or 0 when it is not running
+     */
+    private double realTimeLag(final DevsRealTimeAnimator<?> animator, final double simTime)
+    {
+        Anchor a = this.anchor;
+        if (a == null || !animator.isStartingOrRunning())
+        {
+            return 0.0;
+        }
+        double wallMillis = (System.nanoTime() - a.wallNanos) / 1.0E6;
+        double expected = a.simTime + animator.simulatorTimeForWallClockMillis(wallMillis).doubleValue() * a.speedFactor;
+        return expected - simTime;
+    }
+
+    @Override
+    public void notify(final Event event)
+    {
+        if (this.simulator instanceof DevsRealTimeAnimator)
+        {
+            DevsRealTimeAnimator<?> animator = (DevsRealTimeAnimator<?>) this.simulator;
+            this.anchor = new Anchor(System.nanoTime(), animator.getSimulatorTime().doubleValue(), animator.getSpeedFactor());
+        }
+    }
+
+    /**
+     * Append a gauge with its header.
+     * @param sb the string builder
+     * @param name the name of the metric
+     * @param help the description of the metric
+     * @param value the value
+     */
+    private void gauge(final StringBuilder sb, final String name, final String help, final double value)
+    {
+        header(sb, name, help);
+        line(sb, name, null, value);
+    }
+
+    /**
+     * Append the HELP and TYPE lines of a gauge.
+     * @param sb the string builder
+     * @param name the name of the metric
+     * @param help the description of the metric
+     */
+    private static void header(final StringBuilder sb, final String name, final String help)
+    {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" gauge\n");
+    }
+
+    /**
+     * Append a sample line with the simulator label and the given labels.
+     * @param sb the string builder
+     * @param name the name of the metric
+     * @param labels the additional labels, or null
+     * @param value the value
+     */
+    private void line(final StringBuilder sb, final String name, final String labels, final double value)
+    {
+        sb.append(name).append('{').append(this.simulatorLabel);
+        if (labels != null)
+        {
+            sb.append(',').append(labels);
+        }
+        sb.append("} ").append(format(value)).append('\n');
+    }
+
+    /**
+     * Format a value for the text exposition format.
+     * @param value the value
+     * @return the formatted value
+     */
+    static String format(final double value)
+    {
+        if (Double.isNaN(value))
+        {
+            return "NaN";
+        }
+        if (Double.isInfinite(value))
+        {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1.0E15)
+        {
+            return String.format(Locale.US, "%d", (long) value);
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * Escape a label value: backslash, double quote and newline are escaped with a backslash.
+     * @param value the label value
+     * @return the escaped label value
+     */
+    static String escape(final String value)
+    {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /** The number of executed events at a wall clock time. */
+    private static final class Sample
+    {
+        /** the wall clock time in nanoseconds. */
+        private final long wallNanos;
+
+        /** the number of executed events. */
+        private final long events;
+
+        /**
+         * @param wallNanos the wall clock time in nanoseconds
+         * @param events the number of executed events
+         */
+        Sample(final long wallNanos, final long events)
+        {
+            this.wallNanos = wallNanos;
+            this.events = events;
+        }
+    }
+
+    /** The wall clock time, simulation time and speed factor at the start of a real-time simulator. */
+    private static final class Anchor
+    {
+        /** the wall clock time in nanoseconds. */
+        private final long wallNanos;
+
+        /** the simulation time. */
+        private final double simTime;
+
+        /** the speed factor. */
+        private final double speedFactor;
+
+        /**
+         * @param wallNanos the wall clock time in nanoseconds
+         * @param simTime the simulation time
+         * @param speedFactor the speed factor
+         */
+        Anchor(final long wallNanos, final double simTime, final double speedFactor)
+        {
+            this.wallNanos = wallNanos;
+            this.simTime = simTime;
+            this.speedFactor = speedFactor;
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+/**
+ * Metrics of a running simulator in the Prometheus text exposition format, e.g., for the health monitoring of long-running
+ * real-time simulations. The metrics are sampled when they are requested, so the run loop of the simulator is not affected.
+ * The metrics can be served over HTTP with the MetricsHandler and MetricsServer of dsol-web.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ */
+package nl.tudelft.simulation.dsol.metrics;
@@ -0,0 +1,40 @@
+package nl.tudelft.simulation.dsol.model;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * ResettableModel is a DsolModel whose structure only has to be built once. The simulator calls constructModel() the first time
+ * that it is initialized with the model; when it is initialized again with the same model, e.g., for the next replication of an
+ * Experiment, it calls resetModel() instead. Before resetModel() is called, the simulator has cleared the event list, set the
+ * simulator time to the start time of the new replication, and called initializeReplication() on all output statistics of the
+ * model, which connects them to the new replication and removes their observations. The resetModel() method only has to clear
+ * the dynamic state of the model, such as queues and entities, and schedule the initial events again.
+ * <p>
+ * When the simulator is initialized with cleanUp, which is the default, it removes all listeners of the simulator before
+ * resetModel() is called, including the listeners that the model registered in constructModel(). The resetModel() method
+ * therefore has to register the listeners of the model on the simulator again. It must also create new event objects for the
+ * new replication instead of scheduling the events of the previous replication again, since those can still be referenced by
+ * the state of the previous replication, e.g., to cancel them.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ * @param <S> the simulator to use
+ */
+public interface ResettableModel<T extends Number & Comparable<T>, S extends SimulatorInterface<T>> extends DsolModel<T, S>
+{
+    /**
+     * Reset the model for a new replication, keeping the structure that was built in constructModel(). Implementations clear
+     * the dynamic state of the model, register their listeners on the simulator again, and schedule new initial events for
+     * the replication.
+     * @throws SimRuntimeException on model reset failure
+     */
+    void resetModel() throws SimRuntimeException;
+
+}
@@ -136,6 +136,32 @@ public final class SimTime
         throw new DsolRuntimeException("SimTime.copy called for unknown time class: " + a.getClass().getSimpleName());
     }
 
+    /**
+     * Return a number of the same type as a, with the given value in SI units. For Duration and FloatDuration, the result is
+     * expressed in the SI unit (seconds); for Double, Float and Long, the SI value is the plain number, rounded for Long.
+     * @param a a number of the time type that is used to determine the type of the result
+     * @param si the value of the result in SI units
+     * @return a number of the same type as a with the value si
+     * @param <T> The time type, e.g., Double, Long or Duration
+     */
+    @SuppressWarnings({"unchecked", "checkstyle:needbraces"})
+    public static <T extends Number & Comparable<T>> T instantiateSI(final T a, final double si)
+    {
+        int hash = a.getClass().hashCode();
+        if (hash == hashDouble)
+            return (T) Double.valueOf(si);
+        if (hash == hashFloat)
+            return (T) Float.valueOf((float) si);
+        if (hash == hashLong)
+            return (T) Long.valueOf(Math.round(si));
+        if (hash == hashDuration)
+            return (T) Duration.ofSI(si);
+        if (hash == hashFloatDuration)
+            return (T) FloatDuration.ofSI((float) si);
+
+        throw new DsolRuntimeException("SimTime.instantiateSI called for unknown time class: " + a.getClass().getSimpleName());
+    }
+
     /**
      * Return a formatted simulation time.
      * @param simTime the simulation time to format
@@ -61,6 +61,7 @@ public class DessSimulator<T extends Number & Comparable<T>> extends Simulator<T
     @Override
     protected void stepImpl()
     {
+        this.executedEvents++;
         this.simulatorTime = SimTime.plus(this.simulatorTime, this.timeStep);
         if (this.simulatorTime.compareTo(this.replication.getEndTime()) > 0)
         {
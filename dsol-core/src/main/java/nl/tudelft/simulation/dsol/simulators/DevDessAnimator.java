@@ -100,7 +100,7 @@ public class DevDessAnimator<T extends Number & Comparable<T>> extends DevDessSi
                     this.simulatorTime = event.getAbsoluteExecutionTime();
                     try
                     {
-                        event.execute();
+                        executeEvent(event);
                         if (this.eventList.isEmpty())
                         {
                             this.simulatorTime = SimTime.copy(this.runUntilTime);
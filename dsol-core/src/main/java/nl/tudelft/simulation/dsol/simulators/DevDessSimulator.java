@@ -90,7 +90,7 @@ public class DevDessSimulator<T extends Number & Comparable<T>> extends DevsSimu
                     this.simulatorTime = event.getAbsoluteExecutionTime();
                     try
                     {
-                        event.execute();
+                        executeEvent(event);
                         if (this.eventList.isEmpty())
                         {
                             this.simulatorTime = SimTime.copy(this.runUntilTime);
@@ -82,7 +82,7 @@ public class DevsAnimator<T extends Number & Comparable<T>> extends DevsSimulato
                     this.simulatorTime = event.getAbsoluteExecutionTime();
                     try
                     {
-                        event.execute();
+                        executeEvent(event);
                         checkStoppingCondition();
                         if (this.eventList.isEmpty())
                         {
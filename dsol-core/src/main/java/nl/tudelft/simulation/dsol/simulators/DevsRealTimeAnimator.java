@@ -264,7 +264,7 @@ public abstract class DevsRealTimeAnimator<T extends Number & Comparable<T>> ext
                         nextEvent = this.eventList.removeFirst();
                         try
                         {
-                            nextEvent.execute();
+                            executeEvent(nextEvent);
                             checkStoppingCondition();
                             if (this.eventList.isEmpty())
                             {
@@ -13,9 +13,12 @@ import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
 import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
 import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEvent;
 import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.jfr.DsolJfr;
+import nl.tudelft.simulation.dsol.jfr.JfrEventExecution;
 import nl.tudelft.simulation.dsol.logger.Cat;
 import nl.tudelft.simulation.dsol.model.DsolModel;
 import nl.tudelft.simulation.dsol.simtime.SimTime;
+import nl.tudelft.simulation.dsol.trace.EventTracer;
 
 /**
  * The DEVS defines the interface of the DEVS simulator. DEVS stands for the Discrete Event System Specification. More
@@ -37,6 +40,15 @@ public class DevsSimulator<T extends Number & Comparable<T>> extends Simulator<T
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected EventListInterface<T> eventList = new RedBlackTree<T>();
 
+    /** the sequence counter for the ids of the scheduled events, which is kept when the event list is replaced. */
+    private long eventSequence = 0L;
+
+    /** the number of executed events since the last recorded JFR event execution. */
+    private transient int jfrSampleCounter = 0;
+
+    /** the tracer of the scheduled, executed and cancelled events; null when the events are not traced. */
+    private transient EventTracer eventTracer = null;
+
     /**
      * Constructs a new DevsSimulator.
      * @param id the id of the simulator, used in logging and firing of events.
@@ -49,7 +61,46 @@ public class DevsSimulator<T extends Number & Comparable<T>> extends Simulator<T
     @Override
     public boolean cancelEvent(final SimEventInterface<T> event)
     {
-        return this.eventList.remove(event);
+        if (this.eventTracer == null)
+        {
+            return this.eventList.remove(event);
+        }
+        synchronized (super.semaphore)
+        {
+            boolean removed = this.eventList.remove(event);
+            if (removed)
+            {
+                this.eventTracer.cancelled(event);
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * Set the tracer that is notified of the scheduled, executed and cancelled events, e.g., an EventTraceRecorder.
+     * @param eventTracer the tracer, or null to stop tracing
+     */
+    public void setEventTracer(final EventTracer eventTracer)
+    {
+        synchronized (super.semaphore)
+        {
+            this.eventTracer = eventTracer;
+        }
+    }
+
+    /**
+     * Return the tracer that is notified of the scheduled, executed and cancelled events.
+     * @return the tracer, or null when the events are not traced
+     */
+    public EventTracer getEventTracer()
+    {
+        return this.eventTracer;
+    }
+
+    @Override
+    protected int jfrEventListSize()
+    {
+        return this.eventList.size();
     }
 
     @Override
@@ -68,6 +119,7 @@ public class DevsSimulator<T extends Number & Comparable<T>> extends Simulator<T
         synchronized (super.semaphore)
         {
             this.eventList.clear();
+            this.eventSequence = 0L;
             super.initialize(model, replication, cleanUp);
             this.scheduleEvent(new SimEvent<T>(this.getReplication().getWarmupTime(),
                     (short) (SimEventInterface.MAX_PRIORITY + 1), this, "warmup", null));
@@ -86,12 +138,28 @@ public class DevsSimulator<T extends Number & Comparable<T>> extends Simulator<T
                 throw new SimRuntimeException("cannot schedule event " + event.toString() + " in past " + this.simulatorTime
                         + ">" + event.getAbsoluteExecutionTime());
             }
-            CategoryLogger.with(Cat.DSOL).trace("new event: {}", event.toString());
+            CategoryLogger.with(Cat.DSOL).trace("new event: {}", event);
+            assignEventId(event);
             this.eventList.add(event);
+            if (this.eventTracer != null)
+            {
+                this.eventTracer.scheduled(event);
+            }
             return event;
         }
     }
 
+    /**
+     * Give an event the next number of the sequence counter of this simulator, which acts as the tie breaker for simultaneous
+     * events with the same priority. An event that is scheduled again, e.g., in a later replication, gets a new id, so the ids
+     * of the events on the event list are unique.
+     * @param event the event that is scheduled
+     */
+    protected void assignEventId(final SimEventInterface<T> event)
+    {
+        event.setId(++this.eventSequence);
+    }
+
     @Override
     public SimEventInterface<T> scheduleEventRel(final T relativeDelay, final short priority, final Object target,
             final String method, final Object[] args) throws SimRuntimeException
@@ -211,11 +279,37 @@ public class DevsSimulator<T extends Number & Comparable<T>> extends Simulator<T
                 SimEventInterface<T> event = this.eventList.removeFirst();
                 fireUnverifiedTimedEvent(SimulatorInterface.TIME_CHANGED_EVENT, null, event.getAbsoluteExecutionTime());
                 super.simulatorTime = event.getAbsoluteExecutionTime();
-                event.execute();
+                executeEvent(event);
             }
         }
     }
 
+    /**
+     * Execute an event that has been removed from the event list, after counting it and notifying the event tracer. When JFR
+     * records the EventExecution event, one in every DsolJfr.getSampleInterval() executions is recorded.
+     * @param event the event to execute
+     * @throws SimRuntimeException when the execution of the event fails
+     */
+    protected void executeEvent(final SimEventInterface<T> event) throws SimRuntimeException
+    {
+        // only the thread that executes the events writes the counter; a plain field keeps it out of the cost of the run loop
+        this.executedEvents++;
+        if (this.eventTracer != null)
+        {
+            this.eventTracer.executing(event);
+        }
+        JfrEventExecution jfr = new JfrEventExecution();
+        if (jfr.isEnabled() && ++this.jfrSampleCounter >= DsolJfr.getSampleInterval())
+        {
+            this.jfrSampleCounter = 0;
+            jfr.execute(getId().toString(), event, this.eventList.size());
+        }
+        else
+        {
+            event.execute();
+        }
+    }
+
     @Override
     public void run()
     {
@@ -242,7 +336,7 @@ public class DevsSimulator<T extends Number & Comparable<T>> extends Simulator<T
                 super.simulatorTime = event.getAbsoluteExecutionTime();
                 try
                 {
-                    event.execute();
+                    executeEvent(event);
                     checkStoppingCondition();
                 }
                 catch (Exception exception)
@@ -7,6 +7,7 @@ import nl.tudelft.simulation.dsol.SimRuntimeException;
 import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
 import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
 import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.simtime.SimTime;
 
 /**
  * The DEVS defines the interface of the DEVS simulator. DEVS stands for the Discrete Event System Specification. More
@@ -177,6 +178,63 @@ public interface DevsSimulatorInterface<T extends Number & Comparable<T>> extend
      */
     SimEventInterface<T> scheduleEventNow(Executable executable) throws SimRuntimeException;
 
+    /**
+     * schedules a lambda expression at a relative duration that is given as a primitive double in SI units, e.g., a value
+     * drawn with DistContinuousUnit.drawSI(). No djunits scalar is created for the delay; only the absolute time of the event
+     * is instantiated in the time type of the simulator. For time types without a unit, the SI value is the plain number.
+     * @param relativeDelaySI the relativeDelay in SI units (seconds for a Duration)
+     * @param priority the priority compared to other events scheduled at the same time.
+     * @param executable the lambda expression to execute
+     * @return the simulation event so it can be cancelled later
+     * @throws SimRuntimeException whenever the event is scheduled in the past.
+     */
+    default SimEventInterface<T> scheduleEventRelSI(final double relativeDelaySI, final short priority,
+            final Executable executable) throws SimRuntimeException
+    {
+        T now = getSimulatorTime();
+        return scheduleEventAbs(SimTime.instantiateSI(now, now.doubleValue() + relativeDelaySI), priority, executable);
+    }
+
+    /**
+     * schedules a lambda expression at a relative duration that is given as a primitive double in SI units.
+     * @param relativeDelaySI the relativeDelay in SI units (seconds for a Duration)
+     * @param executable the lambda expression to execute
+     * @return the simulation event so it can be cancelled later
+     * @throws SimRuntimeException whenever the event is scheduled in the past.
+     */
+    default SimEventInterface<T> scheduleEventRelSI(final double relativeDelaySI, final Executable executable)
+            throws SimRuntimeException
+    {
+        return scheduleEventRelSI(relativeDelaySI, SimEventInterface.NORMAL_PRIORITY, executable);
+    }
+
+    /**
+     * schedules a lambda expression at an absolute time that is given as a primitive double in SI units.
+     * @param absoluteTimeSI the exact time to schedule the method on the simulator, in SI units (seconds for a Duration)
+     * @param priority the priority compared to other events scheduled at the same time.
+     * @param executable the lambda expression to execute
+     * @return the simulation event so it can be cancelled later
+     * @throws SimRuntimeException whenever the event is scheduled in the past.
+     */
+    default SimEventInterface<T> scheduleEventAbsSI(final double absoluteTimeSI, final short priority,
+            final Executable executable) throws SimRuntimeException
+    {
+        return scheduleEventAbs(SimTime.instantiateSI(getSimulatorTime(), absoluteTimeSI), priority, executable);
+    }
+
+    /**
+     * schedules a lambda expression at an absolute time that is given as a primitive double in SI units.
+     * @param absoluteTimeSI the exact time to schedule the method on the simulator, in SI units (seconds for a Duration)
+     * @param executable the lambda expression to execute
+     * @return the simulation event so it can be cancelled later
+     * @throws SimRuntimeException whenever the event is scheduled in the past.
+     */
+    default SimEventInterface<T> scheduleEventAbsSI(final double absoluteTimeSI, final Executable executable)
+            throws SimRuntimeException
+    {
+        return scheduleEventAbsSI(absoluteTimeSI, SimEventInterface.NORMAL_PRIORITY, executable);
+    }
+
     /**
      * Method setEventList sets the eventlist.
      * @param eventList the eventList for the simulator.
@@ -0,0 +1,231 @@
+package nl.tudelft.simulation.dsol.simulators;
+
+import java.io.Serializable;
+
+import org.djutils.exceptions.Throw;
+import org.djutils.logger.CategoryLogger;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.eventlists.EventListHeapSI;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.logger.Cat;
+import nl.tudelft.simulation.dsol.model.DsolModel;
+import nl.tudelft.simulation.dsol.simtime.SimTime;
+import nl.tudelft.simulation.dsol.trace.EventTracer;
+
+/**
+ * DevsSimulatorSI is a DEVS simulator that keeps the simulation clock and the keys of the event list as primitive doubles in SI
+ * units. It is meant for time types with a unit, such as Duration and FloatDuration, where the DevsSimulator adds and compares
+ * time objects for every scheduled and executed event. This simulator uses an EventListHeapSI by default, compares the event
+ * times as doubles in the run loop, and creates exactly one time object per scheduled event: the execution time of the event.
+ * The clock is set to the time object of the executed event, so getSimulatorTime() does not create objects either.
+ * <p>
+ * Relative delays are added in SI units, so the execution time of an event scheduled with scheduleEventRel is expressed in the
+ * SI unit (seconds for a Duration), independent of the display unit of the delay. The scheduleEventRelSI and scheduleEventAbsSI
+ * methods take the delay or time as a double in SI units, e.g., drawn with DistContinuousUnit.drawSI(). For Double, Float and
+ * Long times, the SI value is the plain number; Long times are exact up to 2<sup>53</sup>.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the simulation time type, e.g., Duration or FloatDuration
+ */
+public class DevsSimulatorSI<T extends Number & Comparable<T>> extends DevsSimulator<T>
+{
+    /** the simulation time in SI units; always equal to simulatorTime.doubleValue(). */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected double simulatorTimeSI = 0.0;
+
+    /**
+     * Constructs a new DevsSimulatorSI.
+     * @param id the id of the simulator, used in logging and firing of events.
+     */
+    public DevsSimulatorSI(final Serializable id)
+    {
+        super(id);
+        this.eventList = new EventListHeapSI<T>();
+    }
+
+    /**
+     * Return the simulation time as a primitive double in SI units.
+     * @return the simulation time in SI units
+     */
+    public double getSimulatorTimeSI()
+    {
+        return this.simulatorTimeSI;
+    }
+
+    @Override
+    @SuppressWarnings({"hiding", "checkstyle:hiddenfield"})
+    public void initialize(final DsolModel<T, ? extends SimulatorInterface<T>> model, final Replication<T> replication,
+            final boolean cleanUp) throws SimRuntimeException
+    {
+        Throw.when(isStartingOrRunning(), SimRuntimeException.class, "Cannot initialize a running simulator");
+        synchronized (super.semaphore)
+        {
+            // the clock has to be set before the warmup and end events are scheduled by the super method
+            this.simulatorTimeSI = replication.getStartTime().doubleValue();
+            super.initialize(model, replication, cleanUp);
+        }
+    }
+
+    @Override
+    public void endReplication() throws SimRuntimeException
+    {
+        super.endReplication();
+        // the super method moves the clock to the end time when the replication ends early
+        this.simulatorTimeSI = this.simulatorTime.doubleValue();
+    }
+
+    @Override
+    public SimEventInterface<T> scheduleEvent(final SimEventInterface<T> event) throws SimRuntimeException
+    {
+        synchronized (super.semaphore)
+        {
+            if (event.getAbsoluteExecutionTimeSI() < this.simulatorTimeSI)
+            {
+                throw new SimRuntimeException("cannot schedule event " + event.toString() + " in past " + this.simulatorTime
+                        + ">" + event.getAbsoluteExecutionTime());
+            }
+            CategoryLogger.with(Cat.DSOL).trace("new event: {}", event);
+            assignEventId(event);
+            this.eventList.add(event);
+            EventTracer eventTracer = getEventTracer();
+            if (eventTracer != null)
+            {
+                eventTracer.scheduled(event);
+            }
+            return event;
+        }
+    }
+
+    @Override
+    public SimEventInterface<T> scheduleEventRel(final T relativeDelay, final short priority, final Object target,
+            final String method, final Object[] args) throws SimRuntimeException
+    {
+        synchronized (super.semaphore)
+        {
+            T absEventTime = SimTime.instantiateSI(this.simulatorTime, this.simulatorTimeSI + relativeDelay.doubleValue());
+            return scheduleEvent(new SimEvent<T>(absEventTime, priority, target, method, args));
+        }
+    }
+
+    @Override
+    public SimEventInterface<T> scheduleEventNow(final short priority, final Object target, final String method,
+            final Object[] args) throws SimRuntimeException
+    {
+        synchronized (super.semaphore)
+        {
+            // the supported time types are immutable, so the clock does not have to be copied
+            return scheduleEvent(new SimEvent<T>(this.simulatorTime, priority, target, method, args));
+        }
+    }
+
+    @Override
+    public SimEventInterface<T> scheduleEventRel(final T relativeDelay, final short priority, final Executable executable)
+            throws SimRuntimeException
+    {
+        synchronized (super.semaphore)
+        {
+            T absEventTime = SimTime.instantiateSI(this.simulatorTime, this.simulatorTimeSI + relativeDelay.doubleValue());
+            return scheduleEvent(new LambdaSimEvent<T>(absEventTime, priority, executable));
+        }
+    }
+
+    @Override
+    public SimEventInterface<T> scheduleEventNow(final short priority, final Executable executable) throws SimRuntimeException
+    {
+        synchronized (super.semaphore)
+        {
+            return scheduleEvent(new LambdaSimEvent<T>(this.simulatorTime, priority, executable));
+        }
+    }
+
+    @Override
+    public SimEventInterface<T> scheduleEventRelSI(final double relativeDelaySI, final short priority,
+            final Executable executable) throws SimRuntimeException
+    {
+        synchronized (super.semaphore)
+        {
+            T absEventTime = SimTime.instantiateSI(this.simulatorTime, this.simulatorTimeSI + relativeDelaySI);
+            return scheduleEvent(new LambdaSimEvent<T>(absEventTime, priority, executable));
+        }
+    }
+
+    @Override
+    public SimEventInterface<T> scheduleEventAbsSI(final double absoluteTimeSI, final short priority,
+            final Executable executable) throws SimRuntimeException
+    {
+        synchronized (super.semaphore)
+        {
+            T absEventTime = SimTime.instantiateSI(this.simulatorTime, absoluteTimeSI);
+            return scheduleEvent(new LambdaSimEvent<T>(absEventTime, priority, executable));
+        }
+    }
+
+    @Override
+    protected void stepImpl()
+    {
+        synchronized (super.semaphore)
+        {
+            if (!this.eventList.isEmpty())
+            {
+                SimEventInterface<T> event = this.eventList.removeFirst();
+                fireUnverifiedTimedEvent(SimulatorInterface.TIME_CHANGED_EVENT, null, event.getAbsoluteExecutionTime());
+                super.simulatorTime = event.getAbsoluteExecutionTime();
+                this.simulatorTimeSI = event.getAbsoluteExecutionTimeSI();
+                executeEvent(event);
+            }
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        // set the run flag semaphore to signal to startImpl() that the run method has started
+        this.runflag = true;
+        while (!isStoppingOrStopped())
+        {
+            synchronized (super.semaphore)
+            {
+                SimEventInterface<T> first = this.eventList.first();
+                double runUntilTimeSI = this.runUntilTime.doubleValue();
+                if (first == null || first.getAbsoluteExecutionTimeSI() > runUntilTimeSI
+                        || (first.getAbsoluteExecutionTimeSI() == runUntilTimeSI && !this.runUntilIncluding))
+                {
+                    this.simulatorTime = this.runUntilTime;
+                    this.simulatorTimeSI = runUntilTimeSI;
+                    this.runState = RunState.STOPPING;
+                    break;
+                }
+
+                SimEventInterface<T> event = this.eventList.removeFirst();
+                double eventTimeSI = event.getAbsoluteExecutionTimeSI();
+                if (eventTimeSI != this.simulatorTimeSI)
+                {
+                    fireUnverifiedTimedEvent(SimulatorInterface.TIME_CHANGED_EVENT, null, event.getAbsoluteExecutionTime());
+                }
+                super.simulatorTime = event.getAbsoluteExecutionTime();
+                this.simulatorTimeSI = eventTimeSI;
+                try
+                {
+                    executeEvent(event);
+                    checkStoppingCondition();
+                }
+                catch (Exception exception)
+                {
+                    handleSimulationException(exception);
+                }
+            }
+        }
+    }
+
+}
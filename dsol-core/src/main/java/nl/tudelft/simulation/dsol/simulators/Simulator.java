@@ -6,6 +6,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 
 import org.djutils.event.EventType;
 import org.djutils.event.LocalEventProducer;
@@ -16,9 +17,13 @@ import ch.qos.logback.classic.Level;
 import nl.tudelft.simulation.dsol.SimRuntimeException;
 import nl.tudelft.simulation.dsol.experiment.Replication;
 import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEvent;
+import nl.tudelft.simulation.dsol.jfr.JfrReplication;
+import nl.tudelft.simulation.dsol.jfr.JfrRun;
 import nl.tudelft.simulation.dsol.logger.Cat;
 import nl.tudelft.simulation.dsol.logger.SimLogger;
 import nl.tudelft.simulation.dsol.model.DsolModel;
+import nl.tudelft.simulation.dsol.model.ResettableModel;
+import nl.tudelft.simulation.dsol.statistics.SimulationStatistic;
 
 /**
  * The Simulator class is an abstract implementation of the SimulatorInterface.
@@ -70,6 +75,9 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected transient Object semaphore = new Object();
 
+    /** the ResettableModel whose structure has been constructed on this simulator; null when there is none. */
+    private DsolModel<T, ? extends SimulatorInterface<T>> constructedModel = null;
+
     /** the simulator id. */
     private Serializable id;
 
@@ -82,13 +90,39 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
     /** The error strategy's log level. */
     private Level errorLogLevel = Level.ERROR;
 
-    /** the run flag semaphore indicating that the run() method has started (and might have stopped). */
+    /** the run flag indicating that the run() method has started (and might have stopped); set by the run() method. */
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected boolean runflag = false;
 
+    /** the stop flag, tested after every event; volatile, since requestStop() sets it without the semaphore. */
+    private volatile boolean stopRequested = false;
+
+    /** the number of events between two evaluations of the stopping condition; 0 means no event-based evaluation. */
+    private int stoppingConditionEventInterval = 0;
+
+    /** the time interval between two evaluations of the stopping condition; NaN means no time-based evaluation. */
+    private double stoppingConditionTimeInterval = Double.NaN;
+
+    /**
+     * the number of executed events (or integration steps) in the current replication, counted where the event is executed.
+     * Only the thread that executes the events writes it; other threads read it without synchronization, and can see an
+     * outdated value.
+     */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected long executedEvents = 0L;
+
+    /** the number of events since the last evaluation of the stopping condition. */
+    private int eventsSinceStoppingCheck = 0;
+
+    /** the simulation time at or after which the stopping condition is evaluated again on the time interval. */
+    private double nextStoppingCheckTime = Double.NaN;
+
     /** the logger helper class that provides the simulation time and time formatting for Cat.DSOL. */
     private SimLogger<T> simLogger;
 
+    /** the JFR event for the current replication; only recorded when JFR records the event. */
+    private transient JfrReplication jfrReplication = null;
+
     /**
      * Constructs a new Simulator.
      * @param id the id of the simulator, used in logging and firing of events.
@@ -107,41 +141,64 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
         Throw.whenNull(model, "Simulator.initialize: model cannot be null");
         Throw.whenNull(replication, "Simulator.initialize: replication cannot be null");
         Throw.when(isStartingOrRunning(), SimRuntimeException.class, "Cannot initialize a running simulator");
+        // wait maximally 1 second till the worker has finished the previous replication, including the listeners of the
+        // END_REPLICATION_EVENT, and waits for a new start; not when called from the worker itself
+        if (this.worker != null && Thread.currentThread() != this.worker)
+        {
+            this.worker.awaitIdle(1000L);
+        }
         synchronized (this.semaphore)
         {
             if (this.worker != null && cleanUp)
             {
-                cleanUp();
+                // as cleanUp(), but the worker thread is kept for reuse
+                stopImpl();
+                if (hasListeners())
+                {
+                    this.removeAllListeners();
+                }
+                this.simLogger.closeAsyncLogger();
+            }
+            // reuse the worker thread of the previous replication when it is still alive
+            if (this.worker == null || !this.worker.reserve())
+            {
+                this.worker = new SimulatorWorkerThread(this.id.toString(), this);
             }
-            this.worker = new SimulatorWorkerThread(this.id.toString(), this);
             this.replication = replication;
             this.model = model;
             this.simulatorTime = replication.getStartTime();
-            this.model.getOutputStatistics().clear();
-            this.model.constructModel();
+            if (model instanceof ResettableModel && model == this.constructedModel)
+            {
+                // the structure of the model already exists; only reset the statistics and the dynamic state
+                for (SimulationStatistic<T> statistic : this.model.getOutputStatistics())
+                {
+                    statistic.initializeReplication();
+                }
+                ((ResettableModel<T, ?>) model).resetModel();
+            }
+            else
+            {
+                this.constructedModel = null;
+                this.model.getOutputStatistics().clear();
+                this.model.constructModel();
+                if (model instanceof ResettableModel)
+                {
+                    this.constructedModel = model;
+                }
+            }
             this.runState = RunState.INITIALIZED;
             this.replicationState = ReplicationState.INITIALIZED;
             this.runflag = false;
+            this.stopRequested = false;
+            this.executedEvents = 0L;
+            this.eventsSinceStoppingCheck = 0;
+            this.nextStoppingCheckTime = replication.getWarmupTime().doubleValue() + this.stoppingConditionTimeInterval;
 
             for (SimEvent<Long> initialMethodCall : this.initialmethodCalls)
             {
                 initialMethodCall.execute();
             }
         }
-        // sleep maximally 1 second till the SimulatorWorkerThread gets into the WAITING state
-        int count = 0;
-        while (!this.worker.isWaiting() && this.worker.isAlive() && count < 1000)
-        {
-            try
-            {
-                Thread.sleep(1);
-                count++;
-            }
-            catch (InterruptedException exception)
-            {
-                // ignore
-            }
-        }
     }
 
     @Override
@@ -171,27 +228,19 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
             this.runState = RunState.STARTING;
             if (this.replicationState == ReplicationState.INITIALIZED)
             {
+                startJfrReplication();
                 fireTimedEvent(Replication.START_REPLICATION_EVENT, null, getSimulatorTime());
                 this.replicationState = ReplicationState.STARTED;
             }
             this.fireEvent(SimulatorInterface.STARTING_EVENT, null);
-            // continue the run() of the SimulatorWorkerThread that will start the Simulator's run() method
-            this.worker.interrupt();
-            // wait maximally 1 second till the Simulator.run() method has been called
-            int count = 0;
-            while (!this.runflag && count < 1000)
+            // continue the run() of the SimulatorWorkerThread that will start the Simulator's run() method; when called from
+            // the worker itself, e.g., from a STOP_EVENT listener, the worker picks up the request when the listener returns
+            if (Thread.currentThread() == this.worker)
             {
-                try
-                {
-                    Thread.sleep(1);
-                    count++;
-                }
-                catch (InterruptedException exception)
-                {
-                    // ignore
-                }
+                this.worker.requestStart();
             }
-            if (count >= 1000)
+            // wait maximally 1 second till the worker has taken the start request
+            else if (!this.worker.startAndWait(1000L))
             {
                 CategoryLogger.with(Cat.DSOL).warn("Simulator did not start, but startImpl() was called");
             }
@@ -248,6 +297,7 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
             {
                 if (this.replicationState == ReplicationState.INITIALIZED)
                 {
+                    startJfrReplication();
                     fireTimedEvent(Replication.START_REPLICATION_EVENT, null, getSimulatorTime());
                     this.replicationState = ReplicationState.STARTED;
                 }
@@ -304,6 +354,7 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
             this.worker.cleanUp();
             this.worker = null;
         }
+        this.simLogger.closeAsyncLogger();
         this.runState = RunState.NOT_INITIALIZED;
         this.replicationState = ReplicationState.NOT_INITIALIZED;
     }
@@ -320,9 +371,14 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
         {
             this.runState = RunState.STOPPING;
         }
-        this.worker.interrupt(); // just to be sure that the run will end, and the state will be moved to 'ENDED'
+        // let the worker move the state to 'ENDED'; interrupt a running worker from another thread to be sure that the run ends
+        this.worker.requestEnd();
+        if (Thread.currentThread() != this.worker && this.worker.isRunning())
+        {
+            this.worker.interrupt();
+        }
         if (this.simulatorTime.compareTo(this.getReplication().getEndTime()) < 0
-                && this.replication.getStoppingCondition() == null)
+                && this.replication.getStoppingCondition() == null && !this.stopRequested)
         {
             CategoryLogger.with(Cat.DSOL).warn("endReplication executed, but the simulation time " + this.simulatorTime
                     + " is earlier than the replication length " + this.getReplication().getEndTime());
@@ -332,21 +388,92 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
         // see https://github.com/averbraeck/dsol/issues/53
     }
 
+    @Override
+    public long getNumberOfExecutedEvents()
+    {
+        return this.executedEvents;
+    }
+
+    @Override
+    public void requestStop()
+    {
+        this.stopRequested = true;
+    }
+
+    @Override
+    public void setStoppingConditionEventInterval(final int events)
+    {
+        Throw.when(events < 0, IllegalArgumentException.class, "events should be 0 or positive, but is %d", events);
+        this.stoppingConditionEventInterval = events;
+        this.eventsSinceStoppingCheck = 0;
+    }
+
     /**
-     * Check whether the stopping condition has been met, and take appropriate action if it has been met. Note that we only
-     * check the stopping condition after the warmup period has passed.
+     * Return the number of events between two evaluations of the stopping condition.
+     * @return the number of events between two evaluations of the stopping condition; 0, the default, means no event-based
+     *         evaluation
+     */
+    public int getStoppingConditionEventInterval()
+    {
+        return this.stoppingConditionEventInterval;
+    }
+
+    @Override
+    public void setStoppingConditionTimeInterval(final T interval)
+    {
+        Throw.when(interval != null && !(interval.doubleValue() > 0.0), IllegalArgumentException.class,
+                "interval should be positive, but is %s", interval);
+        this.stoppingConditionTimeInterval = interval == null ? Double.NaN : interval.doubleValue();
+        this.nextStoppingCheckTime = this.replication == null ? Double.NaN
+                : Math.max(this.simulatorTime.doubleValue(), this.replication.getWarmupTime().doubleValue())
+                        + this.stoppingConditionTimeInterval;
+    }
+
+    /**
+     * Check whether the end of the replication has been requested with requestStop(), or whether the stopping condition has
+     * been met, and end the replication when this is the case. The run loops call this method after every executed event (or
+     * integration step). The request flag is tested after every event; the stopping condition is only evaluated after the
+     * warmup period has passed: every stoppingConditionEventInterval events when that interval has been set, when the
+     * simulation time has passed the next multiple of the stoppingConditionTimeInterval when that interval has been set, and
+     * after every event when neither interval has been set.
      */
     protected void checkStoppingCondition()
     {
-        if (getReplication().getStoppingCondition() != null)
+        if (this.stopRequested)
         {
-            if (getSimulatorTime().doubleValue() > getReplication().getWarmupTime().doubleValue())
+            if (this.replicationState == ReplicationState.STARTED || this.replicationState == ReplicationState.INITIALIZED)
             {
-                if (getReplication().getStoppingCondition().test(getModel()))
-                {
-                    endReplication();
-                }
+                endReplication();
             }
+            this.stopRequested = false;
+            return;
+        }
+        Predicate<? super DsolModel<T, ? extends SimulatorInterface<T>>> stoppingCondition =
+                getReplication().getStoppingCondition();
+        if (stoppingCondition == null)
+        {
+            return;
+        }
+        boolean eventBased = this.stoppingConditionEventInterval > 0;
+        boolean timeBased = !Double.isNaN(this.stoppingConditionTimeInterval);
+        boolean check = !eventBased && !timeBased;
+        if (eventBased && ++this.eventsSinceStoppingCheck >= this.stoppingConditionEventInterval)
+        {
+            this.eventsSinceStoppingCheck = 0;
+            check = true;
+        }
+        double time = getSimulatorTime().doubleValue();
+        if (timeBased && time >= this.nextStoppingCheckTime)
+        {
+            // skip the multiples of the interval that have passed without events
+            double warmup = getReplication().getWarmupTime().doubleValue();
+            this.nextStoppingCheckTime = warmup + this.stoppingConditionTimeInterval
+                    * (Math.floor((time - warmup) / this.stoppingConditionTimeInterval) + 1.0);
+            check = true;
+        }
+        if (check && time > getReplication().getWarmupTime().doubleValue() && stoppingCondition.test(getModel()))
+        {
+            endReplication();
         }
     }
 
@@ -457,6 +584,45 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
         return this.replication;
     }
 
+    /**
+     * Return the id of the simulator.
+     * @return the id of the simulator
+     */
+    public Serializable getId()
+    {
+        return this.id;
+    }
+
+    /**
+     * Start the JFR event for the replication that is started.
+     */
+    private void startJfrReplication()
+    {
+        this.jfrReplication = new JfrReplication();
+        this.jfrReplication.start(this);
+    }
+
+    /**
+     * Stop and commit the JFR event for the replication that has ended.
+     */
+    private void stopJfrReplication()
+    {
+        if (this.jfrReplication != null)
+        {
+            this.jfrReplication.stop(this.id.toString(), this);
+            this.jfrReplication = null;
+        }
+    }
+
+    /**
+     * Return the number of events in the event list for the JFR events, or -1 when the simulator has no event list.
+     * @return the number of events in the event list, or -1 when the simulator has no event list
+     */
+    protected int jfrEventListSize()
+    {
+        return -1;
+    }
+
     @Override
     public DsolModel<T, ? extends SimulatorInterface<T>> getModel()
     {
@@ -524,9 +690,18 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
         }
     }
 
-    /** The worker thread to execute the run() method of the Simulator and to start/stop the simulation. */
+    /**
+     * The worker thread to execute the run() method of the Simulator and to start/stop the simulation. The worker is kept
+     * across replications: after the end of a replication it waits for the next start, so a new initialize() can reuse it.
+     * When the worker is not reserved by an initialize() within the keep-alive time after the end of a replication, it ends,
+     * so it does not keep the JVM alive. The handoff between the worker and the other threads uses wait() and notifyAll() on
+     * the worker, so there is no polling.
+     */
     protected static class SimulatorWorkerThread extends Thread
     {
+        /** the time in milliseconds that an idle worker waits for a new replication after the end of a replication. */
+        public static final long KEEP_ALIVE_MS = 500L;
+
         /** the job to execute. */
         private Simulator<?> simulator = null;
 
@@ -536,6 +711,18 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
         /** running. */
         private AtomicBoolean running = new AtomicBoolean(false);
 
+        /** whether the worker waits for a start or end request. */
+        private boolean idle = false;
+
+        /** whether the worker has been initialized for a replication that has not yet ended. */
+        private boolean reserved = true;
+
+        /** whether a start of the simulator has been requested and not yet taken by the worker. */
+        private volatile boolean startRequested = false;
+
+        /** whether the end of the replication has been requested and not yet handled by the worker. */
+        private boolean endRequested = false;
+
         /**
          * constructs a new SimulatorRunThread.
          * @param name the name of the thread
@@ -557,10 +744,7 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
         {
             this.running.set(false);
             this.finalized = true;
-            if (!this.isInterrupted())
-            {
-                this.notify(); // in case it is in the 'wait' state
-            }
+            this.notifyAll(); // in case it is in the 'wait' state
         }
 
         /**
@@ -576,54 +760,195 @@ public abstract class Simulator<T extends Number & Comparable<T>> extends LocalE
          */
         public synchronized boolean isWaiting()
         {
-            return this.getState().equals(Thread.State.WAITING);
+            return this.idle;
         }
 
-        @Override
-        public synchronized void run()
+        /**
+         * Reserve the worker for a new replication, so it does not end after the keep-alive time.
+         * @return whether the worker could be reserved; false when the worker has ended
+         */
+        public synchronized boolean reserve()
+        {
+            if (this.finalized || !isAlive())
+            {
+                return false;
+            }
+            this.reserved = true;
+            return true;
+        }
+
+        /**
+         * Wait until the worker waits for a start or end request.
+         * @param timeoutMs the maximum time to wait in milliseconds
+         * @return whether the worker waits for a request
+         */
+        public synchronized boolean awaitIdle(final long timeoutMs)
+        {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            long remaining = timeoutMs;
+            while (!this.idle && !this.finalized && isAlive() && remaining > 0)
+            {
+                waitUninterruptibly(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+            return this.idle;
+        }
+
+        /**
+         * Request the worker to execute the run() method of the simulator, without waiting.
+         */
+        public synchronized void requestStart()
+        {
+            this.startRequested = true;
+            this.notifyAll();
+        }
+
+        /**
+         * Request the worker to execute the run() method of the simulator, and wait until the worker has taken the request.
+         * @param timeoutMs the maximum time to wait in milliseconds
+         * @return whether the worker has taken the request
+         */
+        public synchronized boolean startAndWait(final long timeoutMs)
+        {
+            requestStart();
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            long remaining = timeoutMs;
+            while (this.startRequested && !this.finalized && remaining > 0)
+            {
+                waitUninterruptibly(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+            return !this.startRequested;
+        }
+
+        /**
+         * Request the worker to fire the END_REPLICATION_EVENT when the run() method of the simulator has ended.
+         */
+        public synchronized void requestEnd()
+        {
+            this.endRequested = true;
+            this.notifyAll();
+        }
+
+        /**
+         * Take the start request, and notify the thread that waits in startAndWait().
+         */
+        private synchronized void takeStartRequest()
+        {
+            this.startRequested = false;
+            this.notifyAll();
+        }
+
+        /**
+         * Wait on the monitor of this worker, ignoring interrupts. Has to be called from a synchronized method.
+         * @param timeoutMs the maximum time to wait in milliseconds; 0 means without timeout
+         */
+        private void waitUninterruptibly(final long timeoutMs)
         {
-            while (!this.finalized) // always until finalized
+            try
+            {
+                this.wait(timeoutMs);
+            }
+            catch (InterruptedException exception)
             {
-                try
+                // the requests are signaled with notifyAll(); an interrupt does not carry information
+            }
+        }
+
+        /**
+         * Wait until a start or end request arrives, or until the worker is cleaned up or not reserved within the keep-alive
+         * time.
+         * @return whether the worker should continue; false when it should end
+         */
+        private synchronized boolean awaitRequest()
+        {
+            this.idle = true;
+            this.notifyAll();
+            long deadline = System.currentTimeMillis() + KEEP_ALIVE_MS;
+            while (!this.finalized && !this.startRequested && !this.endRequested)
+            {
+                if (this.reserved)
                 {
-                    this.wait(); // as long as possible
+                    waitUninterruptibly(0L);
+                }
+                else
+                {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0)
+                    {
+                        this.finalized = true;
+                    }
+                    else
+                    {
+                        waitUninterruptibly(remaining);
+                    }
                 }
-                catch (InterruptedException interruptedException)
+            }
+            this.idle = false;
+            this.endRequested = false;
+            this.notifyAll();
+            return !this.finalized;
+        }
+
+        @Override
+        public void run()
+        {
+            while (awaitRequest())
+            {
+                Thread.interrupted(); // clear the interrupted flag
+                if (this.startRequested && this.simulator.replicationState != ReplicationState.ENDING)
                 {
-                    if (!this.finalized)
+                    this.running.set(true);
+                    try
                     {
-                        if (this.simulator.replicationState != ReplicationState.ENDING)
+                        while (this.running.get())
                         {
-                            this.running.set(true);
-                            try
+                            this.simulator.runState = RunState.STARTED;
+                            takeStartRequest();
+                            this.simulator.fireTimedEvent(SimulatorInterface.START_EVENT);
+                            JfrRun jfrRun = new JfrRun();
+                            jfrRun.start(this.simulator);
+                            this.simulator.run();
+                            if (jfrRun.isEnabled())
                             {
-                                while (this.running.get())
-                                {
-                                    this.simulator.runState = RunState.STARTED;
-                                    this.simulator.fireTimedEvent(SimulatorInterface.START_EVENT);
-                                    this.simulator.run();
-                                    this.simulator.runState = RunState.STOPPED;
-                                    this.simulator.fireTimedEvent(SimulatorInterface.STOP_EVENT);
-                                    if (!this.simulator.isStarting()) // the STOP_EVENT has restarted the simulator
-                                        this.running.set(false);
-                                }
+                                jfrRun.stop(this.simulator.id.toString(), this.simulator, this.simulator.jfrEventListSize());
                             }
-                            catch (Exception exception)
-                            {
-                                CategoryLogger.always().error(exception);
+                            this.simulator.runState = RunState.STOPPED;
+                            this.simulator.fireTimedEvent(SimulatorInterface.STOP_EVENT);
+                            if (!this.simulator.isStarting()) // the STOP_EVENT has restarted the simulator
                                 this.running.set(false);
-                            }
-                        }
-                        if (this.simulator.replicationState == ReplicationState.ENDING)
-                        {
-                            this.simulator.replicationState = ReplicationState.ENDED;
-                            this.simulator.runState = RunState.ENDED;
-                            this.simulator.fireTimedEvent(Replication.END_REPLICATION_EVENT);
-                            this.finalized = true;
                         }
                     }
-                    Thread.interrupted(); // clear the interrupted flag
+                    catch (Exception exception)
+                    {
+                        CategoryLogger.always().error(exception);
+                        this.running.set(false);
+                    }
+                }
+                else if (this.startRequested)
+                {
+                    takeStartRequest();
+                }
+                if (this.simulator.replicationState == ReplicationState.ENDING)
+                {
+                    this.simulator.replicationState = ReplicationState.ENDED;
+                    this.simulator.runState = RunState.ENDED;
+                    this.simulator.stopJfrReplication();
+                    synchronized (this)
+                    {
+                        this.reserved = false;
+                        this.endRequested = false;
+                    }
+                    try
+                    {
+                        this.simulator.fireTimedEvent(Replication.END_REPLICATION_EVENT);
+                    }
+                    catch (Exception exception)
+                    {
+                        CategoryLogger.always().error(exception);
+                    }
                 }
+                Thread.interrupted(); // clear the interrupted flag
             }
         }
     }
@@ -210,6 +210,46 @@ public interface SimulatorInterface<T extends Number & Comparable<T>> extends Re
      */
     void endReplication() throws SimRuntimeException;
 
+    /**
+     * Request the end of the replication from model code, e.g., from an event that detects that the goal of the replication
+     * has been reached. The request only sets a volatile flag; the simulator ends the replication after the current event
+     * (or integration step) has been executed, at the current simulation time, without the warning that endReplication()
+     * gives when the replication ends before its end time. The request is honored also during the warmup period. A request
+     * when the replication is not running is remembered till the simulator runs again, and is discarded by initialize().
+     */
+    void requestStop();
+
+    /**
+     * Set the number of executed events (or integration steps) between two evaluations of the stopping condition of the
+     * replication. A larger value makes a costly stopping condition cheaper, at the expense of ending the replication up to
+     * <code>events - 1</code> events later than the moment the condition became true. The value 0, the default, switches off
+     * the event-based evaluation. When neither this interval nor the time interval of setStoppingConditionTimeInterval() has
+     * been set, the stopping condition is evaluated after every event.
+     * @param events the number of events between two evaluations of the stopping condition, or 0 for no event-based
+     *            evaluation
+     * @throws IllegalArgumentException when events is negative
+     */
+    void setStoppingConditionEventInterval(int events);
+
+    /**
+     * Set the simulation time interval between two evaluations of the stopping condition of the replication. When the time
+     * interval has been set, the stopping condition is evaluated after the first event (or integration step) at or after
+     * each multiple of the interval after the warmup time, in addition to the evaluation every number of events when that
+     * has been set with setStoppingConditionEventInterval(). Without an event interval, the stopping condition is only
+     * evaluated on the time interval.
+     * @param interval the simulation time interval between two evaluations of the stopping condition, or null for no
+     *            time-based evaluation
+     * @throws IllegalArgumentException when the interval is not positive
+     */
+    void setStoppingConditionTimeInterval(T interval);
+
+    /**
+     * Return the number of events (or integration steps) that have been executed in the current replication. The number is
+     * reset when the simulator is initialized, and can be read from another thread, e.g., to report the throughput.
+     * @return the number of executed events in the current replication
+     */
+    long getNumberOfExecutedEvents();
+
     /**
      * Get the run state of the simulator.
      * @return the run state of the simulator
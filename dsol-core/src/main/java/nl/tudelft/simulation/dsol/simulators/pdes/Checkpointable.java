@@ -0,0 +1,28 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+/**
+ * A Checkpointable is a model object of a TimeWarpProcess whose state is saved by copying it before every event, so the state
+ * can be restored when the event is rolled back. For objects with a large state of which an event only changes a small part,
+ * recording the change with TimeWarpProcess.undo(...) is usually cheaper.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public interface Checkpointable
+{
+    /**
+     * Return a copy of the state of this object, which is not changed by later events.
+     * @return a copy of the state of this object
+     */
+    Object saveState();
+
+    /**
+     * Restore the state of this object to a state that was returned by saveState().
+     * @param state a state that was returned by saveState()
+     */
+    void restoreState(Object state);
+}
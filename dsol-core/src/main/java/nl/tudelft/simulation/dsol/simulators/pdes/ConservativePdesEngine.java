@@ -0,0 +1,439 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.simtime.SimTime;
+
+/**
+ * ConservativePdesEngine executes a model that is partitioned into logical processes in parallel, with one thread per logical
+ * process. Each logical process has its own event list and clock. Logical processes only interact by sending time-stamped
+ * events over links, and each link has a positive lookahead: the minimum delay between the clock of the source and the time of
+ * the events that it sends over the link. The engine is conservative: a logical process only executes an event when it is
+ * certain that no message with an earlier time can arrive anymore, so events are never rolled back. The logical processes
+ * synchronize with Chandy-Misra-Bryant null messages, or with common time windows, see ConservativeSynchronization.
+ * <p>
+ * Usage: create the engine, add the logical processes, connect them with links, schedule the initial events on the logical
+ * processes, and call run(endTime). The events are executed up to and including the end time. Within a logical process, the
+ * events are executed in the order of time, priority and id, as in the DevsSimulator. Events with exactly the same time on
+ * different logical processes have no defined order.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ */
+public class ConservativePdesEngine<T extends Number & Comparable<T>>
+{
+    /** the id of the engine, used in the names of the threads. */
+    private final Serializable id;
+
+    /** the start time of the clocks of the logical processes. */
+    private final T startTime;
+
+    /** the synchronization method. */
+    private final ConservativeSynchronization synchronization;
+
+    /** the logical processes. */
+    private final List<LogicalProcess<T>> logicalProcesses = new ArrayList<>();
+
+    /** the links between the logical processes. */
+    private final List<Link<T>> links = new ArrayList<>();
+
+    /** whether the engine has been started. */
+    private boolean started = false;
+
+    /** the end time of the run. */
+    private T endTime;
+
+    /** whether the run has been aborted because of an error. */
+    private volatile boolean aborted = false;
+
+    /** the first error of the run. */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /** the barrier of the time window synchronization. */
+    private CyclicBarrier barrier = null;
+
+    /** per logical process the time of its first event, for the time window synchronization. */
+    private List<T> nextEventTimes;
+
+    /** per logical process the time of its first event plus its smallest lookahead, for the time window synchronization. */
+    private List<T> windowBounds;
+
+    /** the end (exclusive) of the current time window; null means that the window is unbounded. */
+    private T windowEnd;
+
+    /** whether the time window synchronization has finished. */
+    private boolean windowsFinished = false;
+
+    /** the number of time windows. */
+    private long numberOfWindows = 0L;
+
+    /**
+     * Create an engine for conservative parallel discrete-event simulation.
+     * @param id the id of the engine, used in the names of the threads
+     * @param startTime the start time of the clocks of the logical processes
+     * @param synchronization the synchronization method
+     */
+    public ConservativePdesEngine(final Serializable id, final T startTime, final ConservativeSynchronization synchronization)
+    {
+        Throw.whenNull(id, "id cannot be null");
+        Throw.whenNull(startTime, "startTime cannot be null");
+        Throw.whenNull(synchronization, "synchronization cannot be null");
+        this.id = id;
+        this.startTime = startTime;
+        this.synchronization = synchronization;
+    }
+
+    /**
+     * Add a logical process.
+     * @param name the name of the logical process
+     * @return the new logical process
+     */
+    public LogicalProcess<T> addLogicalProcess(final String name)
+    {
+        Throw.whenNull(name, "name cannot be null");
+        Throw.when(this.started, IllegalStateException.class, "cannot add a logical process to a started engine");
+        Throw.when(this.logicalProcesses.size() >= 1 << LogicalProcess.INDEX_BITS, IllegalStateException.class,
+                "cannot add more than %d logical processes", 1 << LogicalProcess.INDEX_BITS);
+        LogicalProcess<T> lp = new LogicalProcess<>(this, this.logicalProcesses.size(), name, this.startTime);
+        this.logicalProcesses.add(lp);
+        return lp;
+    }
+
+    /**
+     * Connect two logical processes with a one-directional link.
+     * @param source the source logical process
+     * @param target the target logical process
+     * @param lookahead the lookahead of the link, i.e., the minimum delay of the messages on the link; should be positive
+     * @return the new link
+     */
+    public Link<T> connect(final LogicalProcess<T> source, final LogicalProcess<T> target, final T lookahead)
+    {
+        Throw.whenNull(source, "source cannot be null");
+        Throw.whenNull(target, "target cannot be null");
+        Throw.whenNull(lookahead, "lookahead cannot be null");
+        Throw.when(this.started, IllegalStateException.class, "cannot add a link to a started engine");
+        Throw.when(source.getEngine() != this || target.getEngine() != this, IllegalArgumentException.class,
+                "source and target should be logical processes of this engine");
+        Throw.when(source == target, IllegalArgumentException.class, "source and target cannot be the same");
+        Throw.when(lookahead.compareTo(SimTime.zero(lookahead)) <= 0, IllegalArgumentException.class,
+                "lookahead %s should be positive", lookahead);
+        Link<T> link = new Link<>(source, target, lookahead, this.startTime);
+        source.getOutputLinks().add(link);
+        target.getInputLinks().add(link);
+        this.links.add(link);
+        return link;
+    }
+
+    /**
+     * Execute the events of all logical processes up to and including the end time, and wait until all logical processes have
+     * finished. The engine can only be run once.
+     * @param runUntil the end time (inclusive)
+     * @throws SimRuntimeException when the engine was already started, or when the execution of an event fails
+     */
+    public void run(final T runUntil) throws SimRuntimeException
+    {
+        Throw.whenNull(runUntil, "runUntil cannot be null");
+        Throw.when(this.started, SimRuntimeException.class, "engine %s has already been started", this.id);
+        Throw.when(this.logicalProcesses.isEmpty(), SimRuntimeException.class, "engine %s has no logical processes", this.id);
+        Throw.when(runUntil.compareTo(this.startTime) < 0, SimRuntimeException.class, "end time %s before start time %s",
+                runUntil, this.startTime);
+        this.started = true;
+        this.endTime = runUntil;
+        int n = this.logicalProcesses.size();
+        if (this.synchronization.equals(ConservativeSynchronization.TIME_WINDOW))
+        {
+            this.nextEventTimes = new ArrayList<>(Collections.nCopies(n, (T) null));
+            this.windowBounds = new ArrayList<>(Collections.nCopies(n, (T) null));
+            this.barrier = new CyclicBarrier(n, this::computeWindow);
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (LogicalProcess<T> lp : this.logicalProcesses)
+        {
+            Thread thread = new Thread(() -> execute(lp), "pdes-" + this.id + "-" + lp.getName());
+            thread.setDaemon(true);
+            lp.setThread(thread);
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+        try
+        {
+            for (Thread thread : threads)
+            {
+                thread.join();
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            fail(exception);
+            Thread.currentThread().interrupt();
+        }
+        if (this.failure.get() != null)
+        {
+            throw new SimRuntimeException("parallel run of engine " + this.id + " failed", this.failure.get());
+        }
+    }
+
+    /**
+     * Execute one logical process; this method runs in the thread of the logical process.
+     * @param lp the logical process
+     */
+    private void execute(final LogicalProcess<T> lp)
+    {
+        try
+        {
+            if (this.synchronization.equals(ConservativeSynchronization.NULL_MESSAGES))
+            {
+                executeNullMessages(lp);
+            }
+            else
+            {
+                executeTimeWindows(lp);
+            }
+        }
+        catch (BrokenBarrierException | InterruptedException exception)
+        {
+            // another logical process failed; the failure has already been registered
+            if (this.failure.get() == null)
+            {
+                fail(exception);
+            }
+        }
+        catch (Throwable exception)
+        {
+            fail(exception);
+        }
+    }
+
+    /**
+     * Execute a logical process with Chandy-Misra-Bryant null messages.
+     * @param lp the logical process
+     * @throws SimRuntimeException when the execution of an event fails
+     */
+    private void executeNullMessages(final LogicalProcess<T> lp) throws SimRuntimeException
+    {
+        while (!this.aborted)
+        {
+            boolean received = lp.receive();
+            T safeTime = lp.safeTime();
+            long executed = lp.executeUntil(safeTime, this.endTime);
+            T lowerBound = min(lp.nextEventTime(), safeTime);
+            if (lowerBound == null || lowerBound.compareTo(this.endTime) > 0)
+            {
+                // no events up to the end time anymore: promise the neighbors that no messages will follow
+                lp.sendNullMessages(null);
+                return;
+            }
+            lp.sendNullMessages(lowerBound);
+            if (executed == 0 && !received)
+            {
+                lp.await();
+            }
+        }
+    }
+
+    /**
+     * Execute a logical process with time windows.
+     * @param lp the logical process
+     * @throws SimRuntimeException when the execution of an event fails
+     * @throws BrokenBarrierException when another logical process failed
+     * @throws InterruptedException when the thread was interrupted
+     */
+    private void executeTimeWindows(final LogicalProcess<T> lp)
+            throws SimRuntimeException, BrokenBarrierException, InterruptedException
+    {
+        T minimumLookahead = null;
+        for (Link<T> link : lp.getOutputLinks())
+        {
+            minimumLookahead = min(minimumLookahead, link.getLookahead());
+        }
+        while (true)
+        {
+            lp.receive();
+            T next = lp.nextEventTime();
+            this.nextEventTimes.set(lp.getIndex(), next);
+            this.windowBounds.set(lp.getIndex(),
+                    next == null || minimumLookahead == null ? null : SimTime.plus(next, minimumLookahead));
+            this.barrier.await();
+            if (this.windowsFinished)
+            {
+                return;
+            }
+            lp.executeUntil(this.windowEnd, this.endTime);
+            // all messages of this window have to be delivered before the next window is computed
+            this.barrier.await();
+        }
+    }
+
+    /**
+     * Compute the next time window; this method is the action of the barrier, and is executed when all logical processes have
+     * reported the time of their first event.
+     */
+    private void computeWindow()
+    {
+        T next = null;
+        T end = null;
+        for (int i = 0; i < this.nextEventTimes.size(); i++)
+        {
+            next = min(next, this.nextEventTimes.get(i));
+            end = min(end, this.windowBounds.get(i));
+        }
+        if (next == null || next.compareTo(this.endTime) > 0)
+        {
+            this.windowsFinished = true;
+            return;
+        }
+        this.windowEnd = end;
+        this.numberOfWindows++;
+    }
+
+    /**
+     * Register the first error, abort the run, and wake up all logical processes.
+     * @param exception the error
+     */
+    private void fail(final Throwable exception)
+    {
+        this.failure.compareAndSet(null, exception);
+        this.aborted = true;
+        for (LogicalProcess<T> lp : this.logicalProcesses)
+        {
+            lp.wakeUp();
+        }
+        if (this.barrier != null)
+        {
+            this.barrier.reset();
+        }
+    }
+
+    /**
+     * Return whether the run has been aborted because of an error.
+     * @return whether the run has been aborted because of an error
+     */
+    public boolean isAborted()
+    {
+        return this.aborted;
+    }
+
+    /**
+     * Return the id of the engine.
+     * @return the id of the engine
+     */
+    public Serializable getId()
+    {
+        return this.id;
+    }
+
+    /**
+     * Return the start time of the clocks of the logical processes.
+     * @return the start time of the clocks of the logical processes
+     */
+    public T getStartTime()
+    {
+        return this.startTime;
+    }
+
+    /**
+     * Return the synchronization method.
+     * @return the synchronization method
+     */
+    public ConservativeSynchronization getSynchronization()
+    {
+        return this.synchronization;
+    }
+
+    /**
+     * Return the logical processes.
+     * @return the logical processes
+     */
+    public List<LogicalProcess<T>> getLogicalProcesses()
+    {
+        return Collections.unmodifiableList(this.logicalProcesses);
+    }
+
+    /**
+     * Return the links between the logical processes.
+     * @return the links between the logical processes
+     */
+    public List<Link<T>> getLinks()
+    {
+        return Collections.unmodifiableList(this.links);
+    }
+
+    /**
+     * Return the total number of executed events.
+     * @return the total number of executed events
+     */
+    public long getNumberOfEvents()
+    {
+        return this.logicalProcesses.stream().mapToLong(LogicalProcess::getNumberOfEvents).sum();
+    }
+
+    /**
+     * Return the total number of messages between the logical processes, excluding null messages.
+     * @return the total number of messages between the logical processes, excluding null messages
+     */
+    public long getNumberOfMessages()
+    {
+        return this.logicalProcesses.stream().mapToLong(LogicalProcess::getNumberOfMessages).sum();
+    }
+
+    /**
+     * Return the total number of null messages.
+     * @return the total number of null messages
+     */
+    public long getNumberOfNullMessages()
+    {
+        return this.logicalProcesses.stream().mapToLong(LogicalProcess::getNumberOfNullMessages).sum();
+    }
+
+    /**
+     * Return the number of time windows of the time window synchronization.
+     * @return the number of time windows, or 0 for null message synchronization
+     */
+    public long getNumberOfWindows()
+    {
+        return this.numberOfWindows;
+    }
+
+    /**
+     * Return the minimum of two times, where null stands for infinity.
+     * @param a the first time, or null
+     * @param b the second time, or null
+     * @return the minimum of the two times, or null when both are null
+     * @param <T> the time type
+     */
+    static <T extends Number & Comparable<T>> T min(final T a, final T b)
+    {
+        if (a == null)
+        {
+            return b;
+        }
+        if (b == null)
+        {
+            return a;
+        }
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ConservativePdesEngine[" + this.id + "; " + this.synchronization + "; " + this.logicalProcesses.size()
+                + " logical processes]";
+    }
+
+}
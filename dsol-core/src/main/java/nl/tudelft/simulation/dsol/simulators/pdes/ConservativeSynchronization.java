@@ -0,0 +1,28 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+/**
+ * ConservativeSynchronization indicates how the logical processes of a ConservativePdesEngine synchronize their clocks.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public enum ConservativeSynchronization
+{
+    /**
+     * Chandy-Misra-Bryant: each logical process executes the events before the minimum promise of its incoming links, and sends
+     * null messages to raise the promises of its outgoing links when it runs out of safe events. Logical processes only wait
+     * for their neighbors.
+     */
+    NULL_MESSAGES,
+
+    /**
+     * Window-based synchronization: all logical processes execute the events before the end of a common time window, which is
+     * the minimum over the logical processes of the time of their first event plus the smallest lookahead of their outgoing
+     * links, and then wait for each other at a barrier.
+     */
+    TIME_WINDOW;
+}
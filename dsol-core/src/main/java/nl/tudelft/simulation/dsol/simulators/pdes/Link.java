@@ -0,0 +1,221 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.simtime.SimTime;
+
+/**
+ * A Link is a one-directional channel between two logical processes, with a declared lookahead. The source logical process
+ * promises that every message that it sends over the link is delivered at least the lookahead after its own clock, which allows
+ * the target logical process to execute its events up to that time without waiting. Messages are passed through a lock-free
+ * queue, and arrive in the order in which they were sent. Each message carries the promise of the source: a lower bound for
+ * the time of all later messages on the link. A null message is a message without an event, that only raises the promise.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ */
+public class Link<T extends Number & Comparable<T>>
+{
+    /** the source logical process. */
+    private final LogicalProcess<T> source;
+
+    /** the target logical process. */
+    private final LogicalProcess<T> target;
+
+    /** the lookahead of the link. */
+    private final T lookahead;
+
+    /** the last promise that was sent by the source; null means that no more messages will be sent. */
+    private T sentPromise;
+
+    /** the last promise that was received by the target; null means that no more messages will arrive. */
+    private T channelClock;
+
+    /**
+     * Create a link; links are created by the engine.
+     * @param source the source logical process
+     * @param target the target logical process
+     * @param lookahead the lookahead of the link
+     * @param startTime the start time of the engine
+     */
+    Link(final LogicalProcess<T> source, final LogicalProcess<T> target, final T lookahead, final T startTime)
+    {
+        this.source = source;
+        this.target = target;
+        this.lookahead = lookahead;
+        this.sentPromise = SimTime.plus(startTime, lookahead);
+        this.channelClock = this.sentPromise;
+    }
+
+    /**
+     * Return the source logical process.
+     * @return the source logical process
+     */
+    public LogicalProcess<T> getSource()
+    {
+        return this.source;
+    }
+
+    /**
+     * Return the target logical process.
+     * @return the target logical process
+     */
+    public LogicalProcess<T> getTarget()
+    {
+        return this.target;
+    }
+
+    /**
+     * Return the lookahead of the link.
+     * @return the lookahead of the link
+     */
+    public T getLookahead()
+    {
+        return this.lookahead;
+    }
+
+    /**
+     * Send a lambda expression to the target logical process, to be executed after a delay relative to the clock of the source
+     * logical process. This method may only be called from the events of the source logical process. The event gets its id
+     * from the source logical process, so simultaneous messages are ordered independent of the order of arrival.
+     * @param delay the delay, which should be at least the lookahead of the link
+     * @param priority the priority of the event on the target logical process
+     * @param executable the lambda expression to execute on the target logical process
+     * @return the event that will be executed by the target logical process
+     * @throws SimRuntimeException when the delay is smaller than the lookahead
+     */
+    public SimEventInterface<T> send(final T delay, final short priority, final Executable executable)
+            throws SimRuntimeException
+    {
+        Throw.when(delay.compareTo(this.lookahead) < 0, SimRuntimeException.class,
+                "delay %s on link %s is smaller than the lookahead %s", delay, this, this.lookahead);
+        T now = this.source.getSimulatorTime();
+        SimEventInterface<T> event = new LambdaSimEvent<T>(SimTime.plus(now, delay), priority, executable);
+        event.setId(this.source.nextEventId());
+        T promise = SimTime.plus(now, this.lookahead);
+        if (this.sentPromise != null && promise.compareTo(this.sentPromise) > 0)
+        {
+            this.sentPromise = promise;
+        }
+        this.target.deliver(new Message<T>(this, event, this.sentPromise));
+        return event;
+    }
+
+    /**
+     * Send a lambda expression to the target logical process with normal priority, to be executed after a delay relative to
+     * the clock of the source logical process. This method may only be called from the events of the source logical process.
+     * @param delay the delay, which should be at least the lookahead of the link
+     * @param executable the lambda expression to execute on the target logical process
+     * @return the event that will be executed by the target logical process
+     * @throws SimRuntimeException when the delay is smaller than the lookahead
+     */
+    public SimEventInterface<T> send(final T delay, final Executable executable) throws SimRuntimeException
+    {
+        return send(delay, SimEventInterface.NORMAL_PRIORITY, executable);
+    }
+
+    /**
+     * Send a null message when the promise of the source can be raised.
+     * @param lowerBound the lower bound of the time of any future event of the source, or null when the source will not
+     *            execute any events anymore
+     */
+    void sendNullMessage(final T lowerBound)
+    {
+        if (this.sentPromise == null)
+        {
+            return;
+        }
+        T promise = lowerBound == null ? null : SimTime.plus(lowerBound, this.lookahead);
+        if (promise == null || promise.compareTo(this.sentPromise) > 0)
+        {
+            this.sentPromise = promise;
+            this.target.deliver(new Message<T>(this, null, promise));
+        }
+    }
+
+    /**
+     * Return the last promise that was received by the target.
+     * @return the last promise that was received by the target; null means that no more messages will arrive
+     */
+    T getChannelClock()
+    {
+        return this.channelClock;
+    }
+
+    /**
+     * Set the last promise that was received by the target.
+     * @param channelClock the last promise that was received by the target; null means that no more messages will arrive
+     */
+    void setChannelClock(final T channelClock)
+    {
+        this.channelClock = channelClock;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Link[" + this.source.getName() + "->" + this.target.getName() + "; lookahead=" + this.lookahead + "]";
+    }
+
+    /**
+     * A message on a link: an event for the target, or null for a null message, and the promise of the source.
+     * @param <T> the time type
+     */
+    static final class Message<T extends Number & Comparable<T>>
+    {
+        /** the link. */
+        private final Link<T> link;
+
+        /** the event, or null for a null message. */
+        private final SimEventInterface<T> event;
+
+        /** the promise of the source, or null when the source will not send any messages anymore. */
+        private final T promise;
+
+        /**
+         * @param link the link
+         * @param event the event, or null for a null message
+         * @param promise the promise of the source, or null when the source will not send any messages anymore
+         */
+        Message(final Link<T> link, final SimEventInterface<T> event, final T promise)
+        {
+            this.link = link;
+            this.event = event;
+            this.promise = promise;
+        }
+
+        /**
+         * @return the link
+         */
+        Link<T> getLink()
+        {
+            return this.link;
+        }
+
+        /**
+         * @return the event, or null for a null message
+         */
+        SimEventInterface<T> getEvent()
+        {
+            return this.event;
+        }
+
+        /**
+         * @return the promise of the source, or null when the source will not send any messages anymore
+         */
+        T getPromise()
+        {
+            return this.promise;
+        }
+    }
+
+}
@@ -0,0 +1,507 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
+import nl.tudelft.simulation.dsol.eventlists.RedBlackTree;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.simtime.SimTime;
+
+/**
+ * A LogicalProcess is one partition of a model that is executed by a ConservativePdesEngine. It has its own future event list
+ * and its own clock, and offers the same scheduling methods as the DevsSimulator, so the code of a partition looks like the
+ * code of a sequential DSOL model. Events for other logical processes are sent over a Link, with a delay of at least the
+ * lookahead of the link. The scheduling methods may only be called before the engine starts, or from the events of this
+ * logical process, which are all executed by the same thread.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ */
+public class LogicalProcess<T extends Number & Comparable<T>>
+{
+    /** the number of low bits of an event id that contain the index of the logical process that assigned the id. */
+    static final int INDEX_BITS = 20;
+
+    /** the engine that executes this logical process. */
+    private final ConservativePdesEngine<T> engine;
+
+    /** the index of this logical process in the engine. */
+    private final int index;
+
+    /** the name of this logical process. */
+    private final String name;
+
+    /** the future event list. */
+    private EventListInterface<T> eventList = new RedBlackTree<T>();
+
+    /** the sequence counter for the ids of the events that this logical process schedules or sends. */
+    private long eventSequence = 0L;
+
+    /** the clock of this logical process: the time of the event that is executed, or was executed last. */
+    private T simulatorTime;
+
+    /** the incoming links. */
+    private final List<Link<T>> inputLinks = new ArrayList<>();
+
+    /** the outgoing links. */
+    private final List<Link<T>> outputLinks = new ArrayList<>();
+
+    /** the messages of all incoming links, in the order in which they were sent per link. */
+    private final ConcurrentLinkedQueue<Link.Message<T>> inbox = new ConcurrentLinkedQueue<>();
+
+    /** the thread that executes this logical process, set when the engine starts. */
+    private volatile Thread thread = null;
+
+    /** whether the thread is about to park, waiting for messages. */
+    private volatile boolean waiting = false;
+
+    /** the number of executed events. */
+    private long numberOfEvents = 0L;
+
+    /** the number of received messages, excluding null messages. */
+    private long numberOfMessages = 0L;
+
+    /** the number of received null messages. */
+    private long numberOfNullMessages = 0L;
+
+    /**
+     * Create a logical process; logical processes are created by the engine.
+     * @param engine the engine that executes this logical process
+     * @param index the index of this logical process in the engine
+     * @param name the name of this logical process
+     * @param startTime the start time of the clock
+     */
+    LogicalProcess(final ConservativePdesEngine<T> engine, final int index, final String name, final T startTime)
+    {
+        this.engine = engine;
+        this.index = index;
+        this.name = name;
+        this.simulatorTime = startTime;
+    }
+
+    /**
+     * Return the engine that executes this logical process.
+     * @return the engine that executes this logical process
+     */
+    public ConservativePdesEngine<T> getEngine()
+    {
+        return this.engine;
+    }
+
+    /**
+     * Return the index of this logical process in the engine.
+     * @return the index of this logical process in the engine
+     */
+    public int getIndex()
+    {
+        return this.index;
+    }
+
+    /**
+     * Return the name of this logical process.
+     * @return the name of this logical process
+     */
+    public String getName()
+    {
+        return this.name;
+    }
+
+    /**
+     * Return the clock of this logical process.
+     * @return the time of the event that is executed, or was executed last
+     */
+    public T getSimulatorTime()
+    {
+        return this.simulatorTime;
+    }
+
+    /**
+     * Return the future event list of this logical process.
+     * @return the future event list of this logical process
+     */
+    public EventListInterface<T> getEventList()
+    {
+        return this.eventList;
+    }
+
+    /**
+     * Set another future event list, e.g., an EventListPriorityQueue. The events of the current event list are moved to the
+     * new event list, and keep their ids, so their order does not change.
+     * @param eventList the new future event list
+     */
+    public void setEventList(final EventListInterface<T> eventList)
+    {
+        Throw.whenNull(eventList, "eventList cannot be null");
+        for (SimEventInterface<T> event : this.eventList)
+        {
+            eventList.add(event);
+        }
+        this.eventList = eventList;
+    }
+
+    /**
+     * Return the incoming links.
+     * @return the incoming links
+     */
+    public List<Link<T>> getInputLinks()
+    {
+        return this.inputLinks;
+    }
+
+    /**
+     * Return the outgoing links.
+     * @return the outgoing links
+     */
+    public List<Link<T>> getOutputLinks()
+    {
+        return this.outputLinks;
+    }
+
+    /**
+     * Schedule an event on the event list of this logical process. The event gets the next id of this logical process, also
+     * when it had an id from an earlier scheduling.
+     * @param event the event to schedule
+     * @return the scheduled event
+     * @throws SimRuntimeException when the event is scheduled in the past
+     */
+    public SimEventInterface<T> scheduleEvent(final SimEventInterface<T> event) throws SimRuntimeException
+    {
+        Throw.when(event.getAbsoluteExecutionTime().compareTo(this.simulatorTime) < 0, SimRuntimeException.class,
+                "cannot schedule event %s in past %s > %s", event, this.simulatorTime, event.getAbsoluteExecutionTime());
+        event.setId(nextEventId());
+        this.eventList.add(event);
+        return event;
+    }
+
+    /**
+     * Return the next id for an event that this logical process schedules or sends. The index of this logical process is
+     * stored in the low bits of the id, so the ids are unique over the logical processes of the engine, and simultaneous
+     * events with the same priority are executed in the same order in every run, whatever the order of arrival of the
+     * messages.
+     * @return the next id for an event of this logical process
+     */
+    long nextEventId()
+    {
+        return (++this.eventSequence << INDEX_BITS) | this.index;
+    }
+
+    /**
+     * Schedule a method call at an absolute time.
+     * @param absoluteTime the absolute time of the event
+     * @param priority the priority of the event
+     * @param target the object on which the method is invoked
+     * @param method the name of the method to invoke
+     * @param args the arguments of the method, may be null
+     * @return the scheduled event
+     * @throws SimRuntimeException when the event is scheduled in the past
+     */
+    public SimEventInterface<T> scheduleEventAbs(final T absoluteTime, final short priority, final Object target,
+            final String method, final Object[] args) throws SimRuntimeException
+    {
+        return scheduleEvent(new SimEvent<T>(absoluteTime, priority, target, method, args));
+    }
+
+    /**
+     * Schedule a method call at an absolute time, with normal priority.
+     * @param absoluteTime the absolute time of the event
+     * @param target the object on which the method is invoked
+     * @param method the name of the method to invoke
+     * @param args the arguments of the method, may be null
+     * @return the scheduled event
+     * @throws SimRuntimeException when the event is scheduled in the past
+     */
+    public SimEventInterface<T> scheduleEventAbs(final T absoluteTime, final Object target, final String method,
+            final Object[] args) throws SimRuntimeException
+    {
+        return scheduleEventAbs(absoluteTime, SimEventInterface.NORMAL_PRIORITY, target, method, args);
+    }
+
+    /**
+     * Schedule a method call after a delay.
+     * @param relativeDelay the delay relative to the clock of this logical process
+     * @param priority the priority of the event
+     * @param target the object on which the method is invoked
+     * @param method the name of the method to invoke
+     * @param args the arguments of the method, may be null
+     * @return the scheduled event
+     * @throws SimRuntimeException when the delay is negative
+     */
+    public SimEventInterface<T> scheduleEventRel(final T relativeDelay, final short priority, final Object target,
+            final String method, final Object[] args) throws SimRuntimeException
+    {
+        return scheduleEventAbs(SimTime.plus(this.simulatorTime, relativeDelay), priority, target, method, args);
+    }
+
+    /**
+     * Schedule a method call after a delay, with normal priority.
+     * @param relativeDelay the delay relative to the clock of this logical process
+     * @param target the object on which the method is invoked
+     * @param method the name of the method to invoke
+     * @param args the arguments of the method, may be null
+     * @return the scheduled event
+     * @throws SimRuntimeException when the delay is negative
+     */
+    public SimEventInterface<T> scheduleEventRel(final T relativeDelay, final Object target, final String method,
+            final Object[] args) throws SimRuntimeException
+    {
+        return scheduleEventRel(relativeDelay, SimEventInterface.NORMAL_PRIORITY, target, method, args);
+    }
+
+    /**
+     * Schedule a lambda expression at an absolute time.
+     * @param absoluteTime the absolute time of the event
+     * @param priority the priority of the event
+     * @param executable the lambda expression to execute
+     * @return the scheduled event
+     * @throws SimRuntimeException when the event is scheduled in the past
+     */
+    public SimEventInterface<T> scheduleEventAbs(final T absoluteTime, final short priority, final Executable executable)
+            throws SimRuntimeException
+    {
+        return scheduleEvent(new LambdaSimEvent<T>(absoluteTime, priority, executable));
+    }
+
+    /**
+     * Schedule a lambda expression at an absolute time, with normal priority.
+     * @param absoluteTime the absolute time of the event
+     * @param executable the lambda expression to execute
+     * @return the scheduled event
+     * @throws SimRuntimeException when the event is scheduled in the past
+     */
+    public SimEventInterface<T> scheduleEventAbs(final T absoluteTime, final Executable executable) throws SimRuntimeException
+    {
+        return scheduleEventAbs(absoluteTime, SimEventInterface.NORMAL_PRIORITY, executable);
+    }
+
+    /**
+     * Schedule a lambda expression after a delay.
+     * @param relativeDelay the delay relative to the clock of this logical process
+     * @param priority the priority of the event
+     * @param executable the lambda expression to execute
+     * @return the scheduled event
+     * @throws SimRuntimeException when the delay is negative
+     */
+    public SimEventInterface<T> scheduleEventRel(final T relativeDelay, final short priority, final Executable executable)
+            throws SimRuntimeException
+    {
+        return scheduleEventAbs(SimTime.plus(this.simulatorTime, relativeDelay), priority, executable);
+    }
+
+    /**
+     * Schedule a lambda expression after a delay, with normal priority.
+     * @param relativeDelay the delay relative to the clock of this logical process
+     * @param executable the lambda expression to execute
+     * @return the scheduled event
+     * @throws SimRuntimeException when the delay is negative
+     */
+    public SimEventInterface<T> scheduleEventRel(final T relativeDelay, final Executable executable)
+            throws SimRuntimeException
+    {
+        return scheduleEventRel(relativeDelay, SimEventInterface.NORMAL_PRIORITY, executable);
+    }
+
+    /**
+     * Schedule a lambda expression at the current time of this logical process.
+     * @param executable the lambda expression to execute
+     * @return the scheduled event
+     * @throws SimRuntimeException on scheduling error
+     */
+    public SimEventInterface<T> scheduleEventNow(final Executable executable) throws SimRuntimeException
+    {
+        return scheduleEventAbs(this.simulatorTime, SimEventInterface.NORMAL_PRIORITY, executable);
+    }
+
+    /**
+     * Cancel an event on the event list of this logical process.
+     * @param event the event to cancel
+     * @return whether the event was found and removed
+     */
+    public boolean cancelEvent(final SimEventInterface<T> event)
+    {
+        return this.eventList.remove(event);
+    }
+
+    /**
+     * Return the number of executed events.
+     * @return the number of executed events
+     */
+    public long getNumberOfEvents()
+    {
+        return this.numberOfEvents;
+    }
+
+    /**
+     * Return the number of received messages, excluding null messages.
+     * @return the number of received messages, excluding null messages
+     */
+    public long getNumberOfMessages()
+    {
+        return this.numberOfMessages;
+    }
+
+    /**
+     * Return the number of received null messages.
+     * @return the number of received null messages
+     */
+    public long getNumberOfNullMessages()
+    {
+        return this.numberOfNullMessages;
+    }
+
+    /**
+     * Put a message of an incoming link in the inbox, and wake up the thread of this logical process when it waits.
+     * @param message the message
+     */
+    void deliver(final Link.Message<T> message)
+    {
+        this.inbox.offer(message);
+        if (this.waiting)
+        {
+            LockSupport.unpark(this.thread);
+        }
+    }
+
+    /**
+     * Move the messages from the inbox to the event list, and update the channel clocks of the incoming links.
+     * @return whether at least one message was received
+     */
+    boolean receive()
+    {
+        boolean received = false;
+        Link.Message<T> message;
+        while ((message = this.inbox.poll()) != null)
+        {
+            received = true;
+            message.getLink().setChannelClock(message.getPromise());
+            if (message.getEvent() == null)
+            {
+                this.numberOfNullMessages++;
+            }
+            else
+            {
+                this.numberOfMessages++;
+                this.eventList.add(message.getEvent());
+            }
+        }
+        return received;
+    }
+
+    /**
+     * Return the time until which no message can arrive anymore: the minimum of the channel clocks of the incoming links.
+     * @return the safe time, or null when no message can arrive anymore
+     */
+    T safeTime()
+    {
+        T safe = null;
+        for (Link<T> link : this.inputLinks)
+        {
+            safe = ConservativePdesEngine.min(safe, link.getChannelClock());
+        }
+        return safe;
+    }
+
+    /**
+     * Return the time of the first event on the event list.
+     * @return the time of the first event, or null when the event list is empty
+     */
+    T nextEventTime()
+    {
+        SimEventInterface<T> first = this.eventList.first();
+        return first == null ? null : first.getAbsoluteExecutionTime();
+    }
+
+    /**
+     * Execute the events with a time before the given bound, and not after the end time.
+     * @param bound the bound (exclusive), or null when there is no bound
+     * @param endTime the end time (inclusive)
+     * @return the number of executed events
+     * @throws SimRuntimeException when the execution of an event fails
+     */
+    long executeUntil(final T bound, final T endTime) throws SimRuntimeException
+    {
+        long executed = 0L;
+        while (!this.eventList.isEmpty())
+        {
+            T time = this.eventList.first().getAbsoluteExecutionTime();
+            if ((bound != null && time.compareTo(bound) >= 0) || time.compareTo(endTime) > 0
+                    || this.engine.isAborted())
+            {
+                break;
+            }
+            SimEventInterface<T> event = this.eventList.removeFirst();
+            this.simulatorTime = time;
+            event.execute();
+            executed++;
+        }
+        this.numberOfEvents += executed;
+        return executed;
+    }
+
+    /**
+     * Send null messages over the outgoing links whose promise can be raised.
+     * @param lowerBound the lower bound of the time of any future event of this logical process, or null when there will be
+     *            no future events anymore
+     */
+    void sendNullMessages(final T lowerBound)
+    {
+        for (Link<T> link : this.outputLinks)
+        {
+            link.sendNullMessage(lowerBound);
+        }
+    }
+
+    /**
+     * Park the thread of this logical process until a message arrives, or the engine is aborted.
+     */
+    void await()
+    {
+        this.waiting = true;
+        if (this.inbox.isEmpty() && !this.engine.isAborted())
+        {
+            LockSupport.park(this);
+        }
+        this.waiting = false;
+    }
+
+    /**
+     * Wake up the thread of this logical process, e.g., when the engine is aborted.
+     */
+    void wakeUp()
+    {
+        Thread t = this.thread;
+        if (t != null)
+        {
+            LockSupport.unpark(t);
+        }
+    }
+
+    /**
+     * Set the thread that executes this logical process.
+     * @param thread the thread that executes this logical process
+     */
+    void setThread(final Thread thread)
+    {
+        this.thread = thread;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LogicalProcess[" + this.name + "; time=" + this.simulatorTime + "]";
+    }
+
+}
@@ -0,0 +1,486 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.simtime.SimTime;
+
+/**
+ * TimeWarpEngine executes a model that is partitioned into logical processes in parallel with the optimistic Time Warp
+ * protocol, with one thread per TimeWarpProcess. The logical processes execute their events without waiting for each other,
+ * and roll back when a message arrives in their past, so no lookahead is needed. The engine periodically computes the global
+ * virtual time (GVT): the lowest time to which any logical process can still roll back. Executed events before the GVT are
+ * committed: their irrevocable actions are executed and their records are discarded (fossil collection).
+ * <p>
+ * The GVT is computed in a short stop-the-world round: when a logical process has executed a number of events since the last
+ * round, or has no events to execute, it requests a round; all logical processes meet at a barrier, report the minimum of the
+ * time of their first event and the messages in their inbox, and continue after a second barrier. The run ends when the GVT has
+ * passed the end time. The optimism can be limited with a window: then only events before GVT + window are executed, which
+ * limits the memory use and the length of the rollbacks.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ */
+public class TimeWarpEngine<T extends Number & Comparable<T>>
+{
+    /** the id of the engine, used in the names of the threads. */
+    private final Serializable id;
+
+    /** the start time of the clocks of the logical processes. */
+    private final T startTime;
+
+    /** the logical processes. */
+    private final List<TimeWarpProcess<T>> logicalProcesses = new ArrayList<>();
+
+    /** the number of events that a logical process executes before it requests a GVT computation. */
+    private int gvtInterval = 1000;
+
+    /** the optimism window, or null when the optimism is not limited. */
+    private T optimismWindow = null;
+
+    /** whether the engine has been started. */
+    private boolean started = false;
+
+    /** the end time of the run. */
+    private T endTime;
+
+    /** whether a GVT computation has been requested. */
+    private volatile boolean gvtRequested = false;
+
+    /** whether the run has been aborted because of an error. */
+    private volatile boolean aborted = false;
+
+    /** the first error of the run. */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /** the barrier of the GVT computation. */
+    private CyclicBarrier barrier;
+
+    /** per logical process the local minimum for the GVT computation. */
+    private List<T> localMinima;
+
+    /** per logical process the number of uncommitted events at the GVT computation. */
+    private int[] uncommitted;
+
+    /** the global virtual time; null means that all events have been executed. */
+    private T gvt;
+
+    /** whether the run has finished, i.e., the GVT has passed the end time. */
+    private boolean finished = false;
+
+    /** the number of GVT computations. */
+    private long numberOfGvtRounds = 0L;
+
+    /** the maximum total number of uncommitted events at a GVT computation. */
+    private long maximumUncommittedEvents = 0L;
+
+    /**
+     * Create an engine for optimistic parallel discrete-event simulation.
+     * @param id the id of the engine, used in the names of the threads
+     * @param startTime the start time of the clocks of the logical processes
+     */
+    public TimeWarpEngine(final Serializable id, final T startTime)
+    {
+        Throw.whenNull(id, "id cannot be null");
+        Throw.whenNull(startTime, "startTime cannot be null");
+        this.id = id;
+        this.startTime = startTime;
+        this.gvt = startTime;
+    }
+
+    /**
+     * Add a logical process.
+     * @param name the name of the logical process
+     * @return the new logical process
+     */
+    public TimeWarpProcess<T> addLogicalProcess(final String name)
+    {
+        Throw.whenNull(name, "name cannot be null");
+        Throw.when(this.started, IllegalStateException.class, "cannot add a logical process to a started engine");
+        Throw.when(this.logicalProcesses.size() >= 1 << TimeWarpProcess.INDEX_BITS, IllegalStateException.class,
+                "cannot add more than %d logical processes", 1 << TimeWarpProcess.INDEX_BITS);
+        TimeWarpProcess<T> lp = new TimeWarpProcess<>(this, this.logicalProcesses.size(), name, this.startTime);
+        this.logicalProcesses.add(lp);
+        return lp;
+    }
+
+    /**
+     * Set the number of events that a logical process executes before it requests a GVT computation. A low value reduces the
+     * memory use, but increases the synchronization overhead.
+     * @param gvtInterval the number of events between GVT computations per logical process; should be positive
+     */
+    public void setGvtInterval(final int gvtInterval)
+    {
+        Throw.when(gvtInterval <= 0, IllegalArgumentException.class, "gvtInterval should be positive");
+        this.gvtInterval = gvtInterval;
+    }
+
+    /**
+     * Return the number of events that a logical process executes before it requests a GVT computation.
+     * @return the number of events between GVT computations per logical process
+     */
+    public int getGvtInterval()
+    {
+        return this.gvtInterval;
+    }
+
+    /**
+     * Limit the optimism: only events before GVT + window are executed.
+     * @param optimismWindow the optimism window; should be positive, or null when the optimism is not limited
+     */
+    public void setOptimismWindow(final T optimismWindow)
+    {
+        Throw.when(optimismWindow != null && optimismWindow.compareTo(SimTime.zero(optimismWindow)) <= 0,
+                IllegalArgumentException.class, "optimismWindow should be positive");
+        this.optimismWindow = optimismWindow;
+    }
+
+    /**
+     * Return the optimism window.
+     * @return the optimism window, or null when the optimism is not limited
+     */
+    public T getOptimismWindow()
+    {
+        return this.optimismWindow;
+    }
+
+    /**
+     * Execute the events of all logical processes up to and including the end time, and wait until all logical processes have
+     * committed their events. The engine can only be run once.
+     * @param runUntil the end time (inclusive)
+     * @throws SimRuntimeException when the engine was already started, or when the execution of an event fails
+     */
+    public void run(final T runUntil) throws SimRuntimeException
+    {
+        Throw.whenNull(runUntil, "runUntil cannot be null");
+        Throw.when(this.started, SimRuntimeException.class, "engine %s has already been started", this.id);
+        Throw.when(this.logicalProcesses.isEmpty(), SimRuntimeException.class, "engine %s has no logical processes", this.id);
+        Throw.when(runUntil.compareTo(this.startTime) < 0, SimRuntimeException.class, "end time %s before start time %s",
+                runUntil, this.startTime);
+        this.started = true;
+        this.endTime = runUntil;
+        int n = this.logicalProcesses.size();
+        this.localMinima = new ArrayList<>(Collections.nCopies(n, (T) null));
+        this.uncommitted = new int[n];
+        this.barrier = new CyclicBarrier(n);
+        List<Thread> threads = new ArrayList<>();
+        for (TimeWarpProcess<T> lp : this.logicalProcesses)
+        {
+            Thread thread = new Thread(() -> execute(lp), "timewarp-" + this.id + "-" + lp.getName());
+            thread.setDaemon(true);
+            lp.setThread(thread);
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+        try
+        {
+            for (Thread thread : threads)
+            {
+                thread.join();
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            fail(exception);
+            Thread.currentThread().interrupt();
+        }
+        if (this.failure.get() != null)
+        {
+            throw new SimRuntimeException("parallel run of engine " + this.id + " failed", this.failure.get());
+        }
+    }
+
+    /**
+     * Execute one logical process; this method runs in the thread of the logical process.
+     * @param lp the logical process
+     */
+    private void execute(final TimeWarpProcess<T> lp)
+    {
+        try
+        {
+            int eventsSinceGvt = 0;
+            boolean idleRequested = false;
+            while (!this.aborted)
+            {
+                if (this.gvtRequested)
+                {
+                    if (computeGvt(lp))
+                    {
+                        return;
+                    }
+                    eventsSinceGvt = 0;
+                    continue;
+                }
+                boolean received = lp.receive();
+                T next = lp.nextEventTime();
+                if (next != null && next.compareTo(this.endTime) <= 0 && (this.optimismWindow == null
+                        || next.compareTo(SimTime.plus(this.gvt, this.optimismWindow)) < 0))
+                {
+                    lp.executeNext();
+                    idleRequested = false;
+                    if (++eventsSinceGvt >= this.gvtInterval)
+                    {
+                        requestGvt();
+                    }
+                }
+                else if (received)
+                {
+                    idleRequested = false;
+                }
+                else if (!idleRequested)
+                {
+                    // nothing to do: a new GVT can commit events, widen the optimism window, or end the run
+                    idleRequested = true;
+                    requestGvt();
+                }
+                else
+                {
+                    lp.await();
+                }
+            }
+        }
+        catch (BrokenBarrierException | InterruptedException exception)
+        {
+            // another logical process failed; the failure has already been registered
+            if (this.failure.get() == null)
+            {
+                fail(exception);
+            }
+        }
+        catch (Throwable exception)
+        {
+            fail(exception);
+        }
+    }
+
+    /**
+     * Request a GVT computation, and wake up the logical processes that wait.
+     */
+    private void requestGvt()
+    {
+        this.gvtRequested = true;
+        for (TimeWarpProcess<T> lp : this.logicalProcesses)
+        {
+            lp.wakeUp();
+        }
+    }
+
+    /**
+     * Take part in a GVT computation, and commit the events before the new GVT.
+     * @param lp the logical process
+     * @return whether the run has finished
+     * @throws SimRuntimeException when an irrevocable action fails
+     * @throws BrokenBarrierException when another logical process failed
+     * @throws InterruptedException when the thread was interrupted
+     */
+    private boolean computeGvt(final TimeWarpProcess<T> lp)
+            throws SimRuntimeException, BrokenBarrierException, InterruptedException
+    {
+        // after the first barrier, no logical process sends messages anymore, so all messages are in an inbox
+        this.barrier.await();
+        this.localMinima.set(lp.getIndex(), lp.localMinimum());
+        this.uncommitted[lp.getIndex()] = lp.getUncommittedEvents();
+        if (this.barrier.await() == 0)
+        {
+            // the last thread that arrives at the barrier computes the GVT; the others wait at the third barrier
+            T minimum = null;
+            long total = 0L;
+            for (int i = 0; i < this.localMinima.size(); i++)
+            {
+                minimum = min(minimum, this.localMinima.get(i));
+                total += this.uncommitted[i];
+            }
+            this.gvt = minimum;
+            this.finished = minimum == null || minimum.compareTo(this.endTime) > 0;
+            this.maximumUncommittedEvents = Math.max(this.maximumUncommittedEvents, total);
+            this.numberOfGvtRounds++;
+            this.gvtRequested = false;
+        }
+        this.barrier.await();
+        if (this.finished)
+        {
+            lp.fossilCollect(null);
+            return true;
+        }
+        lp.fossilCollect(this.gvt);
+        return false;
+    }
+
+    /**
+     * Register the first error, abort the run, and wake up all logical processes.
+     * @param exception the error
+     */
+    private void fail(final Throwable exception)
+    {
+        this.failure.compareAndSet(null, exception);
+        this.aborted = true;
+        for (TimeWarpProcess<T> lp : this.logicalProcesses)
+        {
+            lp.wakeUp();
+        }
+        if (this.barrier != null)
+        {
+            this.barrier.reset();
+        }
+    }
+
+    /**
+     * Return whether a GVT computation has been requested.
+     * @return whether a GVT computation has been requested
+     */
+    boolean isGvtRequested()
+    {
+        return this.gvtRequested;
+    }
+
+    /**
+     * Return whether the run has been aborted because of an error.
+     * @return whether the run has been aborted because of an error
+     */
+    public boolean isAborted()
+    {
+        return this.aborted;
+    }
+
+    /**
+     * Return the id of the engine.
+     * @return the id of the engine
+     */
+    public Serializable getId()
+    {
+        return this.id;
+    }
+
+    /**
+     * Return the start time of the clocks of the logical processes.
+     * @return the start time of the clocks of the logical processes
+     */
+    public T getStartTime()
+    {
+        return this.startTime;
+    }
+
+    /**
+     * Return the last computed global virtual time.
+     * @return the last computed global virtual time; null means that all events have been executed
+     */
+    public T getGvt()
+    {
+        return this.gvt;
+    }
+
+    /**
+     * Return the logical processes.
+     * @return the logical processes
+     */
+    public List<TimeWarpProcess<T>> getLogicalProcesses()
+    {
+        return Collections.unmodifiableList(this.logicalProcesses);
+    }
+
+    /**
+     * Return the total number of committed events.
+     * @return the total number of committed events
+     */
+    public long getNumberOfEvents()
+    {
+        return this.logicalProcesses.stream().mapToLong(TimeWarpProcess::getNumberOfCommittedEvents).sum();
+    }
+
+    /**
+     * Return the total number of executed events, including the events that were rolled back later.
+     * @return the total number of executed events, including the events that were rolled back later
+     */
+    public long getNumberOfProcessedEvents()
+    {
+        return this.logicalProcesses.stream().mapToLong(TimeWarpProcess::getNumberOfProcessedEvents).sum();
+    }
+
+    /**
+     * Return the total number of rolled back events.
+     * @return the total number of rolled back events
+     */
+    public long getNumberOfRolledBackEvents()
+    {
+        return this.logicalProcesses.stream().mapToLong(TimeWarpProcess::getNumberOfRolledBackEvents).sum();
+    }
+
+    /**
+     * Return the fraction of the executed events that was rolled back.
+     * @return the fraction of the executed events that was rolled back
+     */
+    public double getRollbackFraction()
+    {
+        long processedEvents = getNumberOfProcessedEvents();
+        return processedEvents == 0L ? 0.0 : (double) getNumberOfRolledBackEvents() / processedEvents;
+    }
+
+    /**
+     * Return the total number of rollbacks.
+     * @return the total number of rollbacks
+     */
+    public long getNumberOfRollbacks()
+    {
+        return this.logicalProcesses.stream().mapToLong(TimeWarpProcess::getNumberOfRollbacks).sum();
+    }
+
+    /**
+     * Return the total number of anti-messages.
+     * @return the total number of anti-messages
+     */
+    public long getNumberOfAntiMessages()
+    {
+        return this.logicalProcesses.stream().mapToLong(TimeWarpProcess::getNumberOfAntiMessages).sum();
+    }
+
+    /**
+     * Return the number of GVT computations.
+     * @return the number of GVT computations
+     */
+    public long getNumberOfGvtRounds()
+    {
+        return this.numberOfGvtRounds;
+    }
+
+    /**
+     * Return the maximum total number of uncommitted events at a GVT computation, which is a measure for the memory use.
+     * @return the maximum total number of uncommitted events at a GVT computation
+     */
+    public long getMaximumUncommittedEvents()
+    {
+        return this.maximumUncommittedEvents;
+    }
+
+    /**
+     * Return the minimum of two times, where null stands for infinity.
+     * @param a the first time, or null
+     * @param b the second time, or null
+     * @return the minimum of the two times, or null when both are null
+     * @param <T> the time type
+     */
+    static <T extends Number & Comparable<T>> T min(final T a, final T b)
+    {
+        return ConservativePdesEngine.min(a, b);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TimeWarpEngine[" + this.id + "; " + this.logicalProcesses.size() + " logical processes]";
+    }
+
+}
@@ -0,0 +1,786 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
+import nl.tudelft.simulation.dsol.eventlists.RedBlackTree;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.simtime.SimTime;
+
+/**
+ * A TimeWarpProcess is a logical process of a TimeWarpEngine. It executes the events on its event list optimistically, without
+ * waiting for the other logical processes, and keeps a record of every executed event until the global virtual time (GVT) has
+ * passed the time of the event. When a message arrives with a time before an executed event (a straggler), or when a message
+ * that has already been executed is cancelled by an anti-message, the logical process rolls back: for every executed event
+ * after that time it restores the state of the model, removes the events that it scheduled, sends anti-messages for the
+ * messages that it sent, and puts the event back on the event list.
+ * <p>
+ * The model restores its state in one of two ways. Objects that implement Checkpointable and are registered with
+ * addCheckpointable() are copied before every event. Alternatively, an event records how to reverse its own changes with
+ * undo(), e.g., <code>int old = this.count; lp.undo(() -&gt; this.count = old); this.count++;</code>, which saves the
+ * state incrementally, or reverses the computation. Output that cannot be rolled back, such as the registration of statistics,
+ * is passed to onCommit(), and is executed when the GVT has passed the time of the event. The methods of a TimeWarpProcess may
+ * only be called before the engine starts, or from the events of this logical process.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ * @param <T> the time type
+ */
+public class TimeWarpProcess<T extends Number & Comparable<T>>
+{
+    /** the number of low bits of an event id that contain the index of the logical process that assigned the id. */
+    static final int INDEX_BITS = 20;
+
+    /** the engine that executes this logical process. */
+    private final TimeWarpEngine<T> engine;
+
+    /** the index of this logical process in the engine. */
+    private final int index;
+
+    /** the name of this logical process. */
+    private final String name;
+
+    /** the future event list. */
+    private final EventListInterface<T> eventList = new RedBlackTree<T>();
+
+    /** the records of the executed events that have not been committed yet, in the order of execution. */
+    private final ArrayDeque<Record<T>> processed = new ArrayDeque<>();
+
+    /** the model objects whose state is copied before every event. */
+    private final List<Checkpointable> checkpointables = new ArrayList<>();
+
+    /** the incoming messages and anti-messages. */
+    private final ConcurrentLinkedQueue<Message<T>> inbox = new ConcurrentLinkedQueue<>();
+
+    /** the record of the event that is being executed, or null outside the execution of an event. */
+    private Record<T> current = null;
+
+    /** the clock of this logical process. */
+    private T simulatorTime;
+
+    /** the sequence counter for the ids of the events that this logical process schedules or sends. */
+    private long eventSequence = 0L;
+
+    /** the thread that executes this logical process, set when the engine starts. */
+    private volatile Thread thread = null;
+
+    /** whether the thread is about to park, waiting for messages. */
+    private volatile boolean waiting = false;
+
+    /** the number of executed events, including the events that were rolled back later. */
+    private long numberOfProcessedEvents = 0L;
+
+    /** the number of committed events. */
+    private long numberOfCommittedEvents = 0L;
+
+    /** the number of rolled back events. */
+    private long numberOfRolledBackEvents = 0L;
+
+    /** the number of rollbacks. */
+    private long numberOfRollbacks = 0L;
+
+    /** the number of sent anti-messages. */
+    private long numberOfAntiMessages = 0L;
+
+    /** the maximum number of executed events that were not committed yet. */
+    private int maximumUncommittedEvents = 0;
+
+    /**
+     * Create a logical process; logical processes are created by the engine.
+     * @param engine the engine that executes this logical process
+     * @param index the index of this logical process in the engine
+     * @param name the name of this logical process
+     * @param startTime the start time of the clock
+     */
+    TimeWarpProcess(final TimeWarpEngine<T> engine, final int index, final String name, final T startTime)
+    {
+        this.engine = engine;
+        this.index = index;
+        this.name = name;
+        this.simulatorTime = startTime;
+    }
+
+    /**
+     * Return the engine that executes this logical process.
+     * @return the engine that executes this logical process
+     */
+    public TimeWarpEngine<T> getEngine()
+    {
+        return this.engine;
+    }
+
+    /**
+     * Return the index of this logical process in the engine.
+     * @return the index of this logical process in the engine
+     */
+    public int getIndex()
+    {
+        return this.index;
+    }
+
+    /**
+     * Return the name of this logical process.
+     * @return the name of this logical process
+     */
+    public String getName()
+    {
+        return this.name;
+    }
+
+    /**
+     * Return the clock of this logical process. Because of the optimistic execution, the clock can jump back.
+     * @return the time of the event that is executed, or was executed last
+     */
+    public T getSimulatorTime()
+    {
+        return this.simulatorTime;
+    }
+
+    /**
+     * Return the future event list of this logical process.
+     * @return the future event list of this logical process
+     */
+    public EventListInterface<T> getEventList()
+    {
+        return this.eventList;
+    }
+
+    /**
+     * Register a model object whose state is copied before every event of this logical process.
+     * @param checkpointable the model object
+     */
+    public void addCheckpointable(final Checkpointable checkpointable)
+    {
+        Throw.whenNull(checkpointable, "checkpointable cannot be null");
+        Throw.when(this.current != null, IllegalStateException.class, "cannot add a checkpointable during an event");
+        this.checkpointables.add(checkpointable);
+    }
+
+    /**
+     * Record how to reverse a change of the state of the model by the event that is executed. When the event is rolled back,
+     * the recorded reverse operations are executed in reverse order. Outside the execution of an event, nothing is recorded.
+     * @param reverse the lambda expression that reverses the change
+     */
+    public void undo(final Executable reverse)
+    {
+        Throw.whenNull(reverse, "reverse cannot be null");
+        if (this.current != null)
+        {
+            if (this.current.undos == null)
+            {
+                this.current.undos = new ArrayList<>(2);
+            }
+            this.current.undos.add(reverse);
+        }
+    }
+
+    /**
+     * Execute an irrevocable action, such as the registration of a statistic or writing output, when the event that is
+     * executed is committed, i.e., when it can not be rolled back anymore. When the event is rolled back, the action is
+     * discarded. Outside the execution of an event, the action is executed immediately.
+     * @param action the irrevocable action
+     * @throws SimRuntimeException when the action is executed immediately and fails
+     */
+    public void onCommit(final Executable action) throws SimRuntimeException
+    {
+        Throw.whenNull(action, "action cannot be null");
+        if (this.current == null)
+        {
+            executeAction(action);
+            return;
+        }
+        if (this.current.commits == null)
+        {
+            this.current.commits = new ArrayList<>(2);
+        }
+        this.current.commits.add(action);
+    }
+
+    /**
+     * Schedule an event on the event list of this logical process. The event gets the next id of this logical process, also
+     * when it had an id from an earlier scheduling.
+     * @param event the event to schedule
+     * @return the scheduled event
+     * @throws SimRuntimeException when the event is scheduled in the past
+     */
+    public SimEventInterface<T> scheduleEvent(final SimEventInterface<T> event) throws SimRuntimeException
+    {
+        Throw.when(event.getAbsoluteExecutionTime().compareTo(this.simulatorTime) < 0, SimRuntimeException.class,
+                "cannot schedule event %s in past %s > %s", event, this.simulatorTime, event.getAbsoluteExecutionTime());
+        event.setId(nextEventId());
+        this.eventList.add(event);
+        if (this.current != null)
+        {
+            if (this.current.scheduled == null)
+            {
+                this.current.scheduled = new ArrayList<>(2);
+            }
+            this.current.scheduled.add(event);
+        }
+        return event;
+    }
+
+    /**
+     * Schedule a lambda expression at an absolute time.
+     * @param absoluteTime the absolute time of the event
+     * @param priority the priority of the event
+     * @param executable the lambda expression to execute
+     * @return the scheduled event
+     * @throws SimRuntimeException when the event is scheduled in the past
+     */
+    public SimEventInterface<T> scheduleEventAbs(final T absoluteTime, final short priority, final Executable executable)
+            throws SimRuntimeException
+    {
+        return scheduleEvent(new LambdaSimEvent<T>(absoluteTime, priority, executable));
+    }
+
+    /**
+     * Schedule a lambda expression at an absolute time, with normal priority.
+     * @param absoluteTime the absolute time of the event
+     * @param executable the lambda expression to execute
+     * @return the scheduled event
+     * @throws SimRuntimeException when the event is scheduled in the past
+     */
+    public SimEventInterface<T> scheduleEventAbs(final T absoluteTime, final Executable executable) throws SimRuntimeException
+    {
+        return scheduleEventAbs(absoluteTime, SimEventInterface.NORMAL_PRIORITY, executable);
+    }
+
+    /**
+     * Schedule a lambda expression after a delay, with normal priority.
+     * @param relativeDelay the delay relative to the clock of this logical process
+     * @param executable the lambda expression to execute
+     * @return the scheduled event
+     * @throws SimRuntimeException when the delay is negative
+     */
+    public SimEventInterface<T> scheduleEventRel(final T relativeDelay, final Executable executable)
+            throws SimRuntimeException
+    {
+        return scheduleEventAbs(SimTime.plus(this.simulatorTime, relativeDelay), SimEventInterface.NORMAL_PRIORITY,
+                executable);
+    }
+
+    /**
+     * Return the next id for an event that this logical process schedules or sends. The index of this logical process is
+     * stored in the low bits of the id, so the ids are unique over the logical processes of the engine. The sequence is rolled
+     * back with the events, so a re-executed event gives the same ids, and simultaneous events with the same priority are
+     * executed in the same order in every run.
+     * @return the next id for an event of this logical process
+     */
+    private long nextEventId()
+    {
+        return (++this.eventSequence << INDEX_BITS) | this.index;
+    }
+
+    /**
+     * Cancel an event on the event list of this logical process. When the cancelling event is rolled back, the cancelled event
+     * is put back on the event list.
+     * @param event the event to cancel
+     * @return whether the event was found and removed
+     */
+    public boolean cancelEvent(final SimEventInterface<T> event)
+    {
+        boolean removed = this.eventList.remove(event);
+        if (removed && this.current != null)
+        {
+            if (this.current.cancelled == null)
+            {
+                this.current.cancelled = new ArrayList<>(2);
+            }
+            this.current.cancelled.add(event);
+        }
+        return removed;
+    }
+
+    /**
+     * Send a lambda expression to another logical process, to be executed after a delay relative to the clock of this logical
+     * process. When the sending event is rolled back, an anti-message cancels the message. The event gets its id from this
+     * logical process, so a straggler is ordered among the simultaneous events of the target by the id that it got when it was
+     * sent, and only the executed events that come after it are rolled back.
+     * @param target the target logical process
+     * @param delay the delay, which may not be negative
+     * @param priority the priority of the event on the target logical process
+     * @param executable the lambda expression to execute on the target logical process
+     * @return the event that will be executed by the target logical process
+     * @throws SimRuntimeException when the delay is negative
+     */
+    public SimEventInterface<T> send(final TimeWarpProcess<T> target, final T delay, final short priority,
+            final Executable executable) throws SimRuntimeException
+    {
+        Throw.whenNull(target, "target cannot be null");
+        Throw.when(target.getEngine() != this.engine, SimRuntimeException.class, "target %s belongs to another engine",
+                target);
+        Throw.when(delay.compareTo(SimTime.zero(delay)) < 0, SimRuntimeException.class, "delay %s is negative", delay);
+        SimEventInterface<T> event = new LambdaSimEvent<T>(SimTime.plus(this.simulatorTime, delay), priority, executable);
+        event.setId(nextEventId());
+        Message<T> message = new Message<T>(target, event, false);
+        if (this.current != null)
+        {
+            if (this.current.sent == null)
+            {
+                this.current.sent = new ArrayList<>(2);
+            }
+            this.current.sent.add(message);
+        }
+        target.deliver(message);
+        return event;
+    }
+
+    /**
+     * Send a lambda expression to another logical process with normal priority, to be executed after a delay relative to the
+     * clock of this logical process. When the sending event is rolled back, an anti-message cancels the message.
+     * @param target the target logical process
+     * @param delay the delay, which may not be negative
+     * @param executable the lambda expression to execute on the target logical process
+     * @return the event that will be executed by the target logical process
+     * @throws SimRuntimeException when the delay is negative
+     */
+    public SimEventInterface<T> send(final TimeWarpProcess<T> target, final T delay, final Executable executable)
+            throws SimRuntimeException
+    {
+        return send(target, delay, SimEventInterface.NORMAL_PRIORITY, executable);
+    }
+
+    /**
+     * Return the number of executed events, including the events that were rolled back later.
+     * @return the number of executed events, including the events that were rolled back later
+     */
+    public long getNumberOfProcessedEvents()
+    {
+        return this.numberOfProcessedEvents;
+    }
+
+    /**
+     * Return the number of committed events.
+     * @return the number of committed events
+     */
+    public long getNumberOfCommittedEvents()
+    {
+        return this.numberOfCommittedEvents;
+    }
+
+    /**
+     * Return the number of rolled back events.
+     * @return the number of rolled back events
+     */
+    public long getNumberOfRolledBackEvents()
+    {
+        return this.numberOfRolledBackEvents;
+    }
+
+    /**
+     * Return the number of rollbacks.
+     * @return the number of rollbacks
+     */
+    public long getNumberOfRollbacks()
+    {
+        return this.numberOfRollbacks;
+    }
+
+    /**
+     * Return the number of sent anti-messages.
+     * @return the number of sent anti-messages
+     */
+    public long getNumberOfAntiMessages()
+    {
+        return this.numberOfAntiMessages;
+    }
+
+    /**
+     * Return the maximum number of executed events that were not committed yet, which is a measure for the memory use.
+     * @return the maximum number of executed events that were not committed yet
+     */
+    public int getMaximumUncommittedEvents()
+    {
+        return this.maximumUncommittedEvents;
+    }
+
+    /**
+     * Return the number of executed events that have not been committed yet.
+     * @return the number of executed events that have not been committed yet
+     */
+    int getUncommittedEvents()
+    {
+        return this.processed.size();
+    }
+
+    /**
+     * Put a message in the inbox, and wake up the thread of this logical process when it waits.
+     * @param message the message
+     */
+    private void deliver(final Message<T> message)
+    {
+        this.inbox.offer(message);
+        if (this.waiting)
+        {
+            LockSupport.unpark(this.thread);
+        }
+    }
+
+    /**
+     * Handle the messages in the inbox: roll back for stragglers and for anti-messages of executed events, and put the messages
+     * on the event list or annihilate them with their anti-messages.
+     * @return whether at least one message was received
+     * @throws SimRuntimeException when a reverse operation fails
+     */
+    boolean receive() throws SimRuntimeException
+    {
+        boolean received = false;
+        Message<T> message;
+        while ((message = this.inbox.poll()) != null)
+        {
+            received = true;
+            SimEventInterface<T> event = message.event;
+            if (message.anti)
+            {
+                if (!this.eventList.remove(event))
+                {
+                    // the message has already been executed: roll back up to and including its event
+                    rollbackIncluding(event);
+                    this.eventList.remove(event);
+                }
+            }
+            else
+            {
+                rollbackAfter(event);
+                this.eventList.add(event);
+            }
+        }
+        return received;
+    }
+
+    /**
+     * Roll back the executed events that come after a straggler in the order of time, priority and id.
+     * @param straggler the straggler event
+     * @throws SimRuntimeException when a reverse operation fails
+     */
+    private void rollbackAfter(final SimEventInterface<T> straggler) throws SimRuntimeException
+    {
+        T time = straggler.getAbsoluteExecutionTime();
+        // events at the same time are not necessarily executed in the order of priority and id, so look at all of them
+        int count = 0;
+        int depth = 0;
+        Iterator<Record<T>> iterator = this.processed.descendingIterator();
+        while (iterator.hasNext())
+        {
+            SimEventInterface<T> event = iterator.next().event;
+            int cmp = event.getAbsoluteExecutionTime().compareTo(time);
+            if (cmp < 0)
+            {
+                break;
+            }
+            depth++;
+            if (cmp > 0 || event.compareTo(straggler) > 0)
+            {
+                count = depth;
+            }
+        }
+        rollback(count);
+    }
+
+    /**
+     * Roll back the executed events up to and including an event that has been cancelled by an anti-message.
+     * @param cancelled the cancelled event
+     * @throws SimRuntimeException when a reverse operation fails
+     */
+    private void rollbackIncluding(final SimEventInterface<T> cancelled) throws SimRuntimeException
+    {
+        int count = 0;
+        Iterator<Record<T>> iterator = this.processed.descendingIterator();
+        while (iterator.hasNext())
+        {
+            count++;
+            if (iterator.next().event == cancelled)
+            {
+                rollback(count);
+                return;
+            }
+        }
+        throw new SimRuntimeException("anti-message for unknown event " + cancelled + " on " + this);
+    }
+
+    /**
+     * Roll back the last executed events.
+     * @param count the number of events to roll back
+     * @throws SimRuntimeException when a reverse operation fails
+     */
+    private void rollback(final int count) throws SimRuntimeException
+    {
+        if (count == 0)
+        {
+            return;
+        }
+        this.numberOfRollbacks++;
+        for (int i = 0; i < count; i++)
+        {
+            Record<T> record = this.processed.pollLast();
+            if (record.undos != null)
+            {
+                for (int j = record.undos.size() - 1; j >= 0; j--)
+                {
+                    executeAction(record.undos.get(j));
+                }
+            }
+            if (record.checkpoints != null)
+            {
+                for (int j = 0; j < this.checkpointables.size(); j++)
+                {
+                    this.checkpointables.get(j).restoreState(record.checkpoints[j]);
+                }
+            }
+            if (record.cancelled != null)
+            {
+                record.cancelled.forEach(this.eventList::add);
+            }
+            if (record.scheduled != null)
+            {
+                record.scheduled.forEach(this.eventList::remove);
+            }
+            if (record.sent != null)
+            {
+                for (Message<T> sent : record.sent)
+                {
+                    sent.target.deliver(new Message<T>(sent.target, sent.event, true));
+                    this.numberOfAntiMessages++;
+                }
+            }
+            this.eventList.add(record.event);
+            this.simulatorTime = record.previousTime;
+            this.eventSequence = record.previousSequence;
+            this.numberOfRolledBackEvents++;
+        }
+    }
+
+    /**
+     * Return the time of the first event on the event list.
+     * @return the time of the first event, or null when the event list is empty
+     */
+    T nextEventTime()
+    {
+        SimEventInterface<T> first = this.eventList.first();
+        return first == null ? null : first.getAbsoluteExecutionTime();
+    }
+
+    /**
+     * Return the lower bound of the time of the events that this logical process can still execute or roll back to: the
+     * minimum of the time of its first event and the time of the messages in its inbox. This method may only be called when no
+     * logical process sends messages.
+     * @return the local minimum, or null when the event list and the inbox are empty
+     */
+    T localMinimum()
+    {
+        T minimum = nextEventTime();
+        for (Message<T> message : this.inbox)
+        {
+            minimum = TimeWarpEngine.min(minimum, message.event.getAbsoluteExecutionTime());
+        }
+        return minimum;
+    }
+
+    /**
+     * Execute the first event of the event list, and keep the record of the execution.
+     * @throws SimRuntimeException when the execution of the event fails
+     */
+    void executeNext() throws SimRuntimeException
+    {
+        SimEventInterface<T> event = this.eventList.removeFirst();
+        Record<T> record = new Record<T>(event, this.simulatorTime, this.eventSequence);
+        if (!this.checkpointables.isEmpty())
+        {
+            record.checkpoints = new Object[this.checkpointables.size()];
+            for (int j = 0; j < this.checkpointables.size(); j++)
+            {
+                record.checkpoints[j] = this.checkpointables.get(j).saveState();
+            }
+        }
+        this.current = record;
+        this.simulatorTime = event.getAbsoluteExecutionTime();
+        try
+        {
+            event.execute();
+        }
+        finally
+        {
+            this.current = null;
+        }
+        this.processed.addLast(record);
+        this.numberOfProcessedEvents++;
+        if (this.processed.size() > this.maximumUncommittedEvents)
+        {
+            this.maximumUncommittedEvents = this.processed.size();
+        }
+    }
+
+    /**
+     * Commit the executed events before the GVT: execute their irrevocable actions and discard their records.
+     * @param gvt the global virtual time, or null to commit all executed events
+     * @throws SimRuntimeException when an irrevocable action fails
+     */
+    void fossilCollect(final T gvt) throws SimRuntimeException
+    {
+        while (!this.processed.isEmpty()
+                && (gvt == null || this.processed.peekFirst().event.getAbsoluteExecutionTime().compareTo(gvt) < 0))
+        {
+            Record<T> record = this.processed.pollFirst();
+            if (record.commits != null)
+            {
+                for (Executable action : record.commits)
+                {
+                    executeAction(action);
+                }
+            }
+            this.numberOfCommittedEvents++;
+        }
+    }
+
+    /**
+     * Execute a reverse operation or an irrevocable action.
+     * @param action the action
+     * @throws SimRuntimeException when the action fails
+     */
+    private void executeAction(final Executable action) throws SimRuntimeException
+    {
+        try
+        {
+            action.execute();
+        }
+        catch (SimRuntimeException exception)
+        {
+            throw exception;
+        }
+        catch (Exception exception)
+        {
+            throw new SimRuntimeException(exception);
+        }
+    }
+
+    /**
+     * Park the thread of this logical process until a message arrives, or the engine requests a GVT computation.
+     */
+    void await()
+    {
+        this.waiting = true;
+        if (this.inbox.isEmpty() && !this.engine.isGvtRequested() && !this.engine.isAborted())
+        {
+            LockSupport.park(this);
+        }
+        this.waiting = false;
+    }
+
+    /**
+     * Wake up the thread of this logical process.
+     */
+    void wakeUp()
+    {
+        Thread t = this.thread;
+        if (t != null)
+        {
+            LockSupport.unpark(t);
+        }
+    }
+
+    /**
+     * Set the thread that executes this logical process.
+     * @param thread the thread that executes this logical process
+     */
+    void setThread(final Thread thread)
+    {
+        this.thread = thread;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TimeWarpProcess[" + this.name + "; time=" + this.simulatorTime + "]";
+    }
+
+    /**
+     * The record of an executed event, with everything that is needed to roll it back.
+     * @param <T> the time type
+     */
+    private static final class Record<T extends Number & Comparable<T>>
+    {
+        /** the executed event. */
+        private final SimEventInterface<T> event;
+
+        /** the clock before the event. */
+        private final T previousTime;
+
+        /** the sequence counter for the event ids before the event. */
+        private final long previousSequence;
+
+        /** the copies of the state of the checkpointables before the event, or null. */
+        private Object[] checkpoints;
+
+        /** the reverse operations, or null. */
+        private List<Executable> undos;
+
+        /** the events that were scheduled by the event, or null. */
+        private List<SimEventInterface<T>> scheduled;
+
+        /** the events that were cancelled by the event, or null. */
+        private List<SimEventInterface<T>> cancelled;
+
+        /** the messages that were sent by the event, or null. */
+        private List<Message<T>> sent;
+
+        /** the irrevocable actions of the event, or null. */
+        private List<Executable> commits;
+
+        /**
+         * @param event the executed event
+         * @param previousTime the clock before the event
+         * @param previousSequence the sequence counter for the event ids before the event
+         */
+        Record(final SimEventInterface<T> event, final T previousTime, final long previousSequence)
+        {
+            this.event = event;
+            this.previousTime = previousTime;
+            this.previousSequence = previousSequence;
+        }
+    }
+
+    /**
+     * A message or an anti-message. An anti-message refers to the same event as the message that it cancels.
+     * @param <T> the time type
+     */
+    private static final class Message<T extends Number & Comparable<T>>
+    {
+        /** the target logical process. */
+        private final TimeWarpProcess<T> target;
+
+        /** the event. */
+        private final SimEventInterface<T> event;
+
+        /** whether this is an anti-message. */
+        private final boolean anti;
+
+        /**
+         * @param target the target logical process
+         * @param event the event
+         * @param anti whether this is an anti-message
+         */
+        Message(final TimeWarpProcess<T> target, final SimEventInterface<T> event, final boolean anti)
+        {
+            this.target = target;
+            this.event = event;
+            this.anti = anti;
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+/**
+ * Parallel discrete-event simulation, in which a model is partitioned into logical processes that each have their own event
+ * list and clock, and that exchange time-stamped events. The ConservativePdesEngine only executes events that are safe given the
+ * lookahead of the links; the TimeWarpEngine executes events optimistically and rolls back when needed.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ */
+package nl.tudelft.simulation.dsol.simulators.pdes;
@@ -63,6 +63,15 @@ public class SimPersistent<T extends Number & Comparable<T>> extends EventBasedT
         this.key = key;
         model.getOutputStatistics().add(this);
         this.simulator = model.getSimulator();
+        connectToReplication();
+    }
+
+    /**
+     * Subscribe to the replication events of the simulator, and bind the statistic in the context of the current
+     * replication.
+     */
+    private void connectToReplication()
+    {
         try
         {
             // only if we are before the warmup time, subscribe to the warmup event
@@ -78,13 +87,17 @@ public class SimPersistent<T extends Number & Comparable<T>> extends EventBasedT
                 this.simulator.addListener(this, Replication.START_REPLICATION_EVENT, LocalEventProducer.LAST_POSITION,
                         ReferenceType.STRONG);
             }
-            ContextInterface context =
-                    ContextUtil.lookupOrCreateSubContext(this.simulator.getReplication().getContext(), "statistics");
-            context.bindObject(key);
+            // a replication without a context, e.g., in a batch run, does not bind its statistics
+            if (this.simulator.getReplication().getContext() != null)
+            {
+                ContextInterface context =
+                        ContextUtil.lookupOrCreateSubContext(this.simulator.getReplication().getContext(), "statistics");
+                context.bindObject(key);
+            }
         }
         catch (NamingException exception)
         {
-            CategoryLogger.always().warn(exception, "<init>");
+            CategoryLogger.always().warn(exception, "connectToReplication");
         }
     }
 
@@ -103,6 +116,13 @@ public class SimPersistent<T extends Number & Comparable<T>> extends EventBasedT
         target.addListener(this, eventType, ReferenceType.STRONG);
     }
 
+    @Override
+    public void initializeReplication()
+    {
+        connectToReplication();
+        initialize();
+    }
+
     @Override
     public void initialize()
     {
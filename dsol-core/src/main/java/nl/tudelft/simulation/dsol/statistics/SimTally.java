@@ -61,6 +61,15 @@ public class SimTally<T extends Number & Comparable<T>> extends EventBasedTally
         this.key = key;
         model.getOutputStatistics().add(this);
         this.simulator = model.getSimulator();
+        connectToReplication();
+    }
+
+    /**
+     * Subscribe to the replication events of the simulator, and bind the statistic in the context of the current
+     * replication.
+     */
+    private void connectToReplication()
+    {
         try
         {
             // only if we are before the warmup time, subscribe to the warmul event
@@ -68,13 +77,17 @@ public class SimTally<T extends Number & Comparable<T>> extends EventBasedTally
             {
                 this.simulator.addListener(this, Replication.WARMUP_EVENT, ReferenceType.STRONG);
             }
-            ContextInterface context =
-                    ContextUtil.lookupOrCreateSubContext(this.simulator.getReplication().getContext(), "statistics");
-            context.bindObject(key);
+            // a replication without a context, e.g., in a batch run, does not bind its statistics
+            if (this.simulator.getReplication().getContext() != null)
+            {
+                ContextInterface context =
+                        ContextUtil.lookupOrCreateSubContext(this.simulator.getReplication().getContext(), "statistics");
+                context.bindObject(key);
+            }
         }
         catch (NamingException exception)
         {
-            CategoryLogger.always().warn(exception, "<init>");
+            CategoryLogger.always().warn(exception, "connectToReplication");
         }
     }
 
@@ -93,6 +106,13 @@ public class SimTally<T extends Number & Comparable<T>> extends EventBasedTally
         target.addListener(this, eventType, ReferenceType.STRONG);
     }
 
+    @Override
+    public void initializeReplication()
+    {
+        connectToReplication();
+        initialize();
+    }
+
     @Override
     public void initialize()
     {
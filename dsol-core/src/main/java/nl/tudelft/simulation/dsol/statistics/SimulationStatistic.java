@@ -38,4 +38,14 @@ public interface SimulationStatistic<T extends Number & Comparable<T>>
      */
     long getN();
 
+    /**
+     * Prepare this statistic for the next replication of a ResettableModel, without constructing it again: subscribe to the
+     * replication events of the simulator, bind the statistic in the context of the new replication, and initialize it so it
+     * has no observations. The default implementation does nothing, for statistics that do not have to be reset.
+     */
+    default void initializeReplication()
+    {
+        // nothing to reset
+    }
+
 }
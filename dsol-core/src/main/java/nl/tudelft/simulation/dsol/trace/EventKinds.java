@@ -0,0 +1,106 @@
+package nl.tudelft.simulation.dsol.trace;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.jfr.DsolJfr;
+
+/**
+ * EventKinds assigns a number to each kind of simulation event, where the kind is the class and method of a SimEvent, or the
+ * class of the lambda expression of a LambdaSimEvent. The numbers are cached per class, so the kind name is only determined
+ * once per kind.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+final class EventKinds
+{
+    /** the kind numbers of the lambda classes and other event classes. */
+    private final Map<Class<?>, Integer> classKinds = new IdentityHashMap<>();
+
+    /** the kind numbers of the methods per target class of SimEvents. */
+    private final Map<Class<?>, Map<String, Integer>> methodKinds = new IdentityHashMap<>();
+
+    /** the kind numbers of the kind names, so different classes with the same kind name share the number. */
+    private final Map<String, Integer> nameKinds = new HashMap<>();
+
+    /** the kind names, indexed by kind number. */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Return the kind number of an event, or a negative number -(k + 1) when k is a new kind number.
+     * @param event the event
+     * @return the kind number of the event, or -(k + 1) when k is a new kind number
+     */
+    int kindOf(final SimEventInterface<?> event)
+    {
+        Integer kind;
+        if (event instanceof SimEvent)
+        {
+            SimEvent<?> simEvent = (SimEvent<?>) event;
+            Object target = simEvent.getTarget();
+            Class<?> targetClass = target instanceof Class ? (Class<?>) target : target.getClass();
+            Map<String, Integer> methods = this.methodKinds.computeIfAbsent(targetClass, (c) -> new HashMap<>());
+            kind = methods.get(simEvent.getMethod());
+            if (kind == null)
+            {
+                return newKind(event, (k) -> methods.put(simEvent.getMethod(), k));
+            }
+        }
+        else
+        {
+            Class<?> key = event instanceof LambdaSimEvent ? ((LambdaSimEvent<?>) event).getExecutable().getClass()
+                    : event.getClass();
+            kind = this.classKinds.get(key);
+            if (kind == null)
+            {
+                return newKind(event, (k) -> this.classKinds.put(key, k));
+            }
+        }
+        return kind;
+    }
+
+    /**
+     * Determine the kind number for an event that has not been seen before, and cache it.
+     * @param event the event
+     * @param cache the cache of the kind number
+     * @return the kind number k, or -(k + 1) when the name is new
+     */
+    private int newKind(final SimEventInterface<?> event, final IntConsumer cache)
+    {
+        String name = DsolJfr.kindOf(event);
+        Integer kind = this.nameKinds.get(name);
+        if (kind != null)
+        {
+            cache.accept(kind);
+            return kind;
+        }
+        int k = this.names.size();
+        this.names.add(name);
+        this.nameKinds.put(name, k);
+        cache.accept(k);
+        return -(k + 1);
+    }
+
+    /**
+     * Return the name of a kind number.
+     * @param kind the kind number
+     * @return the name of the kind
+     */
+    String name(final int kind)
+    {
+        return this.names.get(kind);
+    }
+
+}
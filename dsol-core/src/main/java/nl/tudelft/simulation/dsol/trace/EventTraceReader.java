@@ -0,0 +1,233 @@
+package nl.tudelft.simulation.dsol.trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * EventTraceReader reads the records of a trace that has been written by the EventTraceRecorder. The reader is a cursor: next()
+ * moves to the next record, and the getters return the fields of the current record, so no objects are created per record.
+ * The definitions of the kinds are processed by the reader, and are not returned as records.
+ *
+ * <pre>
+ * try (EventTraceReader reader = new EventTraceReader(path))
+ * {
+ *     while (reader.next())
+ *     {
+ *         System.out.println(reader.getType() + " " + reader.getTime() + " " + reader.getKind());
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class EventTraceReader implements Closeable
+{
+    /** the input stream. */
+    private final DataInputStream in;
+
+    /** the kind names, indexed by kind number. */
+    private final List<String> kindNames = new ArrayList<>();
+
+    /** the type of the current record. */
+    private EventTraceType type;
+
+    /** the priority of the current record. */
+    private short priority;
+
+    /** the kind number of the current record. */
+    private int kind;
+
+    /** the id of the event of the current record. */
+    private long id;
+
+    /** the execution time of the event of the current record. */
+    private double time;
+
+    /** the payload of the current record. */
+    private long payload;
+
+    /** the number of the current record, starting at 0, without the definition records. */
+    private long index = -1L;
+
+    /**
+     * Open a trace file and read its header.
+     * @param path the path of the trace file
+     * @throws IOException when the file cannot be read, or is not a trace file
+     */
+    public EventTraceReader(final Path path) throws IOException
+    {
+        Throw.whenNull(path, "path cannot be null");
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+        byte[] header = new byte[EventTraceRecorder.RECORD_SIZE];
+        try
+        {
+            this.in.readFully(header);
+        }
+        catch (EOFException exception)
+        {
+            this.in.close();
+            throw new IOException("file " + path + " is not an event trace file");
+        }
+        if (!Arrays.equals(Arrays.copyOf(header, EventTraceRecorder.MAGIC.length), EventTraceRecorder.MAGIC))
+        {
+            this.in.close();
+            throw new IOException("file " + path + " is not an event trace file");
+        }
+    }
+
+    /**
+     * Move to the next record.
+     * @return whether there is a next record; false at the end of the trace
+     * @throws IOException when the trace cannot be read, or contains an unknown record type
+     */
+    public boolean next() throws IOException
+    {
+        while (true)
+        {
+            byte code;
+            try
+            {
+                code = this.in.readByte();
+            }
+            catch (EOFException exception)
+            {
+                this.type = null;
+                return false;
+            }
+            this.in.readByte();
+            this.priority = this.in.readShort();
+            this.kind = this.in.readInt();
+            if (code == EventTraceRecorder.DEFINE)
+            {
+                int length = (int) this.in.readLong();
+                this.in.skipNBytes(EventTraceRecorder.RECORD_SIZE - 16);
+                byte[] name = new byte[length];
+                this.in.readFully(name);
+                int blocks = (length + EventTraceRecorder.RECORD_SIZE - 1) / EventTraceRecorder.RECORD_SIZE;
+                this.in.skipNBytes(blocks * EventTraceRecorder.RECORD_SIZE - length);
+                while (this.kindNames.size() <= this.kind)
+                {
+                    this.kindNames.add(null);
+                }
+                this.kindNames.set(this.kind, new String(name, StandardCharsets.UTF_8));
+                continue;
+            }
+            this.type = EventTraceType.of(code);
+            if (this.type == null)
+            {
+                throw new IOException("unknown record type " + code + " after record " + this.index);
+            }
+            this.id = this.in.readLong();
+            this.time = this.in.readDouble();
+            this.payload = this.in.readLong();
+            this.index++;
+            return true;
+        }
+    }
+
+    /**
+     * Return the type of the current record.
+     * @return the type of the current record, or null when there is no current record
+     */
+    public EventTraceType getType()
+    {
+        return this.type;
+    }
+
+    /**
+     * Return the priority of the event of the current record.
+     * @return the priority of the event of the current record
+     */
+    public short getPriority()
+    {
+        return this.priority;
+    }
+
+    /**
+     * Return the kind number of the event of the current record.
+     * @return the kind number of the event of the current record
+     */
+    public int getKindNumber()
+    {
+        return this.kind;
+    }
+
+    /**
+     * Return the kind of the event of the current record, which is the class and method of a SimEvent, or the class of the
+     * lambda expression of a LambdaSimEvent.
+     * @return the kind of the event of the current record
+     */
+    public String getKind()
+    {
+        return this.kindNames.get(this.kind);
+    }
+
+    /**
+     * Return the sequence id of the event of the current record.
+     * @return the sequence id of the event of the current record
+     */
+    public long getId()
+    {
+        return this.id;
+    }
+
+    /**
+     * Return the execution time of the event of the current record.
+     * @return the execution time of the event of the current record
+     */
+    public double getTime()
+    {
+        return this.time;
+    }
+
+    /**
+     * Return the payload of the current record; for a SCHEDULE record the id of the event that scheduled the event.
+     * @return the payload of the current record
+     */
+    public long getPayload()
+    {
+        return this.payload;
+    }
+
+    /**
+     * Return the number of the current record, starting at 0, without the definitions of the kinds.
+     * @return the number of the current record
+     */
+    public long getIndex()
+    {
+        return this.index;
+    }
+
+    /**
+     * Return a description of the current record.
+     * @return a description of the current record
+     */
+    public String describe()
+    {
+        return String.format("%s t=%s prio=%d id=%d kind=%s", this.type, this.time, this.priority, this.id, getKind());
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        this.in.close();
+    }
+
+}
@@ -0,0 +1,348 @@
+package nl.tudelft.simulation.dsol.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+
+/**
+ * EventTraceRecorder writes a binary trace of the scheduling, execution and cancellation of simulation events to a file. Each
+ * record has a fixed size of 32 bytes: the type (1 byte), a reserved byte, the priority (2 bytes), the kind number (4
+ * bytes), the sequence id of the event (8 bytes), the execution time of the event as a double (8 bytes), and a payload (8
+ * bytes). The payload of a SCHEDULE record is the id of the event that was executing when the event was scheduled, or 0 when
+ * it was scheduled outside of an event. The name of a kind is written once, in a definition record before the first record
+ * of the kind, followed by the UTF-8 bytes of the name padded to a multiple of 32 bytes. The file starts with a header of 32
+ * bytes with the magic string "DSOLTRC1".
+ * <p>
+ * The records are written into a ring of buffers. A full buffer is handed to a background thread that writes it to the file,
+ * while the simulator continues with the next buffer. The simulator only waits when all buffers are waiting to be written.
+ * The recorder is used as follows:
+ *
+ * <pre>
+ * try (EventTraceRecorder recorder = new EventTraceRecorder(path))
+ * {
+ *     simulator.setEventTracer(recorder);
+ *     // run the replication
+ *     simulator.setEventTracer(null);
+ * }
+ * </pre>
+ *
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class EventTraceRecorder implements EventTracer, Closeable
+{
+    /** the magic string at the start of a trace file. */
+    static final byte[] MAGIC = "DSOLTRC1".getBytes(StandardCharsets.US_ASCII);
+
+    /** the size of the header and of a record in bytes. */
+    static final int RECORD_SIZE = 32;
+
+    /** the code of a record with the definition of a kind. */
+    static final byte DEFINE = (byte) 127;
+
+    /** the maximum length of the name of a kind in bytes; longer names are truncated. */
+    static final int MAX_NAME_BYTES = 1024;
+
+    /** the default number of records per buffer. */
+    public static final int DEFAULT_BUFFER_RECORDS = 16384;
+
+    /** the default number of buffers. */
+    public static final int DEFAULT_BUFFERS = 4;
+
+    /** the file channel. */
+    private final FileChannel channel;
+
+    /** the empty buffers that can be filled. */
+    private final BlockingQueue<ByteBuffer> freeBuffers;
+
+    /** the full buffers that are waiting to be written. */
+    private final BlockingQueue<ByteBuffer> fullBuffers;
+
+    /** the empty buffer that signals the flusher to stop. */
+    private final ByteBuffer endMarker = ByteBuffer.allocate(0);
+
+    /** the background thread that writes the buffers to the file. */
+    private final Thread flusher;
+
+    /** the kinds of the events. */
+    private final EventKinds kinds = new EventKinds();
+
+    /** the buffer that is currently filled. */
+    private ByteBuffer buffer;
+
+    /** the id of the event that is executing, or 0 when no event is executing. */
+    private long executingId = 0L;
+
+    /** the number of written records, without the definition records. */
+    private long records = 0L;
+
+    /** the first exception of the flusher; null when no exception occurred. */
+    private volatile IOException flushException = null;
+
+    /** whether the recorder has been closed. */
+    private boolean closed = false;
+
+    /**
+     * Create a recorder that writes a trace to a file, with the default number and size of the buffers. An existing file is
+     * overwritten.
+     * @param path the path of the trace file
+     * @throws IOException when the file cannot be created
+     */
+    public EventTraceRecorder(final Path path) throws IOException
+    {
+        this(path, DEFAULT_BUFFER_RECORDS, DEFAULT_BUFFERS);
+    }
+
+    /**
+     * Create a recorder that writes a trace to a file. An existing file is overwritten.
+     * @param path the path of the trace file
+     * @param bufferRecords the number of records per buffer
+     * @param buffers the number of buffers, at least 2
+     * @throws IOException when the file cannot be created
+     * @throws NullPointerException when path is null
+     * @throws IllegalArgumentException when a buffer cannot hold the longest definition record, or when buffers &lt; 2
+     */
+    public EventTraceRecorder(final Path path, final int bufferRecords, final int buffers) throws IOException
+    {
+        Throw.whenNull(path, "path cannot be null");
+        Throw.when(bufferRecords < 2 + MAX_NAME_BYTES / RECORD_SIZE, IllegalArgumentException.class,
+                "bufferRecords should be at least %d", 2 + MAX_NAME_BYTES / RECORD_SIZE);
+        Throw.when(buffers < 2, IllegalArgumentException.class, "buffers should be at least 2");
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.freeBuffers = new ArrayBlockingQueue<>(buffers);
+        this.fullBuffers = new ArrayBlockingQueue<>(buffers + 1);
+        for (int i = 1; i < buffers; i++)
+        {
+            this.freeBuffers.add(ByteBuffer.allocateDirect(bufferRecords * RECORD_SIZE));
+        }
+        this.buffer = ByteBuffer.allocateDirect(bufferRecords * RECORD_SIZE);
+        this.buffer.put(MAGIC);
+        this.buffer.putInt(1); // version
+        this.buffer.putInt(RECORD_SIZE);
+        this.buffer.put(new byte[RECORD_SIZE - MAGIC.length - 8]);
+        this.flusher = new Thread(this::flush, "EventTraceRecorder-" + path.getFileName());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public void scheduled(final SimEventInterface<?> event)
+    {
+        write(EventTraceType.SCHEDULE.getCode(), event, this.executingId);
+    }
+
+    @Override
+    public void executing(final SimEventInterface<?> event)
+    {
+        this.executingId = event.getId();
+        write(EventTraceType.EXECUTE.getCode(), event, 0L);
+    }
+
+    @Override
+    public void cancelled(final SimEventInterface<?> event)
+    {
+        write(EventTraceType.CANCEL.getCode(), event, 0L);
+    }
+
+    /**
+     * Write a record for an event, preceded by the definition of its kind when the kind is new.
+     * @param type the code of the type of the record
+     * @param event the event
+     * @param payload the payload
+     * @throws SimRuntimeException when the recorder has been closed, or when writing the trace failed
+     */
+    private void write(final byte type, final SimEventInterface<?> event, final long payload)
+    {
+        Throw.when(this.closed, SimRuntimeException.class, "EventTraceRecorder has been closed");
+        int kind = this.kinds.kindOf(event);
+        if (kind < 0)
+        {
+            kind = -kind - 1;
+            define(kind);
+        }
+        if (this.buffer.remaining() < RECORD_SIZE)
+        {
+            handOff();
+        }
+        this.buffer.put(type);
+        this.buffer.put((byte) 0);
+        this.buffer.putShort(event.getPriority());
+        this.buffer.putInt(kind);
+        this.buffer.putLong(event.getId());
+        this.buffer.putDouble(event.getAbsoluteExecutionTime().doubleValue());
+        this.buffer.putLong(payload);
+        this.records++;
+    }
+
+    /**
+     * Write the definition record of a kind, followed by the padded bytes of its name.
+     * @param kind the kind number
+     */
+    private void define(final int kind)
+    {
+        byte[] name = this.kinds.name(kind).getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(name.length, MAX_NAME_BYTES);
+        int blocks = (length + RECORD_SIZE - 1) / RECORD_SIZE;
+        if (this.buffer.remaining() < RECORD_SIZE * (1 + blocks))
+        {
+            handOff();
+        }
+        this.buffer.put(DEFINE);
+        this.buffer.put(new byte[3]);
+        this.buffer.putInt(kind);
+        this.buffer.putLong(length);
+        this.buffer.put(new byte[RECORD_SIZE - 16]);
+        this.buffer.put(name, 0, length);
+        this.buffer.put(new byte[blocks * RECORD_SIZE - length]);
+    }
+
+    /**
+     * Hand the current buffer to the flusher, and take an empty buffer.
+     * @throws SimRuntimeException when writing the trace failed
+     */
+    private void handOff()
+    {
+        if (this.flushException != null)
+        {
+            throw new SimRuntimeException("EventTraceRecorder could not write the trace", this.flushException);
+        }
+        this.buffer.flip();
+        putUninterruptibly(this.fullBuffers, this.buffer);
+        boolean interrupted = false;
+        while (true)
+        {
+            try
+            {
+                this.buffer = this.freeBuffers.take();
+                break;
+            }
+            catch (InterruptedException exception)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Put a buffer in a queue, and restore the interrupted flag of the thread when the thread was interrupted while waiting.
+     * @param queue the queue
+     * @param byteBuffer the buffer
+     */
+    private static void putUninterruptibly(final BlockingQueue<ByteBuffer> queue, final ByteBuffer byteBuffer)
+    {
+        boolean interrupted = false;
+        while (true)
+        {
+            try
+            {
+                queue.put(byteBuffer);
+                break;
+            }
+            catch (InterruptedException exception)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The body of the flusher thread: write the full buffers to the file until the end marker is received.
+     */
+    private void flush()
+    {
+        while (true)
+        {
+            ByteBuffer full;
+            try
+            {
+                full = this.fullBuffers.take();
+            }
+            catch (InterruptedException exception)
+            {
+                continue;
+            }
+            if (full == this.endMarker)
+            {
+                return;
+            }
+            try
+            {
+                while (full.hasRemaining() && this.flushException == null)
+                {
+                    this.channel.write(full);
+                }
+            }
+            catch (IOException exception)
+            {
+                this.flushException = exception;
+            }
+            full.clear();
+            this.freeBuffers.add(full);
+        }
+    }
+
+    /**
+     * Return the number of written records, without the definition records of the kinds.
+     * @return the number of written records
+     */
+    public long getNumberOfRecords()
+    {
+        return this.records;
+    }
+
+    /**
+     * Write the remaining records, wait for the flusher to finish, and close the file. Closing a closed recorder has no effect.
+     * @throws IOException when writing the trace failed
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (this.closed)
+        {
+            return;
+        }
+        this.closed = true;
+        this.buffer.flip();
+        putUninterruptibly(this.fullBuffers, this.buffer);
+        putUninterruptibly(this.fullBuffers, this.endMarker);
+        try
+        {
+            this.flusher.join();
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        this.channel.close();
+        if (this.flushException != null)
+        {
+            throw this.flushException;
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+package nl.tudelft.simulation.dsol.trace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.djutils.exceptions.Throw;
+import org.djutils.stats.summarizers.Tally;
+
+/**
+ * EventTraceSummary summarizes an event trace with the number of scheduled, executed and cancelled events per kind of event,
+ * and the inter-event times: the simulation time between two consecutive executed events, and between two consecutive
+ * executions of the same kind of event. The summary can be printed from the command line with the paths of the traces as
+ * arguments.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class EventTraceSummary
+{
+    /** the statistics per kind, in the order of the first occurrence of the kind. */
+    private final Map<String, KindStatistics> kinds = new LinkedHashMap<>();
+
+    /** the simulation time between two consecutive executed events. */
+    private final Tally interEventTimes = new Tally("inter-event times");
+
+    /** the number of records. */
+    private long records = 0L;
+
+    /** the number of executed events. */
+    private long executed = 0L;
+
+    /**
+     * Read and summarize an event trace.
+     * @param path the path of the trace
+     * @throws IOException when the trace cannot be read
+     */
+    public EventTraceSummary(final Path path) throws IOException
+    {
+        Throw.whenNull(path, "path cannot be null");
+        double lastTime = Double.NaN;
+        try (EventTraceReader reader = new EventTraceReader(path))
+        {
+            while (reader.next())
+            {
+                this.records++;
+                KindStatistics statistics = this.kinds.computeIfAbsent(reader.getKind(), KindStatistics::new);
+                switch (reader.getType())
+                {
+                    case SCHEDULE:
+                        statistics.scheduled++;
+                        break;
+                    case CANCEL:
+                        statistics.cancelled++;
+                        break;
+                    case EXECUTE:
+                        double time = reader.getTime();
+                        if (!Double.isNaN(lastTime))
+                        {
+                            this.interEventTimes.register(time - lastTime);
+                        }
+                        if (!Double.isNaN(statistics.lastTime))
+                        {
+                            statistics.interEventTimes.register(time - statistics.lastTime);
+                        }
+                        lastTime = time;
+                        statistics.lastTime = time;
+                        statistics.executed++;
+                        this.executed++;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the kinds of events in the trace, in the order of their first occurrence.
+     * @return the kinds of events in the trace
+     */
+    public List<String> getKinds()
+    {
+        return new ArrayList<>(this.kinds.keySet());
+    }
+
+    /**
+     * Return the number of scheduled events of a kind.
+     * @param kind the kind of event
+     * @return the number of scheduled events of the kind, or 0 when the kind does not occur in the trace
+     */
+    public long getNumberOfScheduled(final String kind)
+    {
+        KindStatistics statistics = this.kinds.get(kind);
+        return statistics == null ? 0L : statistics.scheduled;
+    }
+
+    /**
+     * Return the number of executed events of a kind.
+     * @param kind the kind of event
+     * @return the number of executed events of the kind, or 0 when the kind does not occur in the trace
+     */
+    public long getNumberOfExecuted(final String kind)
+    {
+        KindStatistics statistics = this.kinds.get(kind);
+        return statistics == null ? 0L : statistics.executed;
+    }
+
+    /**
+     * Return the number of cancelled events of a kind.
+     * @param kind the kind of event
+     * @return the number of cancelled events of the kind, or 0 when the kind does not occur in the trace
+     */
+    public long getNumberOfCancelled(final String kind)
+    {
+        KindStatistics statistics = this.kinds.get(kind);
+        return statistics == null ? 0L : statistics.cancelled;
+    }
+
+    /**
+     * Return the statistics of the simulation time between two consecutive executions of a kind of event.
+     * @param kind the kind of event
+     * @return the statistics of the inter-event times of the kind, or null when the kind does not occur in the trace
+     */
+    public Tally getInterEventTimes(final String kind)
+    {
+        KindStatistics statistics = this.kinds.get(kind);
+        return statistics == null ? null : statistics.interEventTimes;
+    }
+
+    /**
+     * Return the statistics of the simulation time between two consecutive executed events.
+     * @return the statistics of the inter-event times
+     */
+    public Tally getInterEventTimes()
+    {
+        return this.interEventTimes;
+    }
+
+    /**
+     * Return the number of records in the trace.
+     * @return the number of records in the trace
+     */
+    public long getNumberOfRecords()
+    {
+        return this.records;
+    }
+
+    /**
+     * Return the number of executed events in the trace.
+     * @return the number of executed events in the trace
+     */
+    public long getNumberOfExecuted()
+    {
+        return this.executed;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("records: %d, executed events: %d, inter-event time: mean %.6g, min %.6g, max %.6g%n",
+                this.records, this.executed, this.interEventTimes.getSampleMean(), this.interEventTimes.getMin(),
+                this.interEventTimes.getMax()));
+        sb.append(String.format("%12s %12s %12s %7s %12s %12s %12s  %s%n", "scheduled", "executed", "cancelled", "share",
+                "mean dt", "min dt", "max dt", "kind"));
+        List<KindStatistics> sorted = new ArrayList<>(this.kinds.values());
+        sorted.sort((a, b) -> Long.compare(b.executed, a.executed));
+        for (KindStatistics s : sorted)
+        {
+            sb.append(String.format("%12d %12d %12d %6.2f%% %12.6g %12.6g %12.6g  %s%n", s.scheduled, s.executed, s.cancelled,
+                    this.executed == 0 ? 0.0 : 100.0 * s.executed / this.executed, s.interEventTimes.getSampleMean(),
+                    s.interEventTimes.getMin(), s.interEventTimes.getMax(), s.kind));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Print the summary of one or more traces.
+     * @param args the paths of the traces
+     * @throws IOException when a trace cannot be read
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        if (args.length == 0)
+        {
+            System.err.println("usage: EventTraceSummary file.trace ...");
+        }
+        for (String arg : args)
+        {
+            System.out.println(arg);
+            System.out.println(new EventTraceSummary(Paths.get(arg)));
+        }
+    }
+
+    /** The statistics of one kind of event. */
+    private static final class KindStatistics
+    {
+        /** the kind of event. */
+        private final String kind;
+
+        /** the number of scheduled events. */
+        private long scheduled = 0L;
+
+        /** the number of executed events. */
+        private long executed = 0L;
+
+        /** the number of cancelled events. */
+        private long cancelled = 0L;
+
+        /** the time of the last execution. */
+        private double lastTime = Double.NaN;
+
+        /** the simulation time between two consecutive executions. */
+        private final Tally interEventTimes;
+
+        /**
+         * @param kind the kind of event
+         */
+        KindStatistics(final String kind)
+        {
+            this.kind = kind;
+            this.interEventTimes = new Tally(kind);
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package nl.tudelft.simulation.dsol.trace;
+
+/**
+ * EventTraceType is the type of a record in an event trace.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public enum EventTraceType
+{
+    /** the event has been scheduled; the payload is the id of the event that was executing when it was scheduled. */
+    SCHEDULE((byte) 0),
+
+    /** the event is executed. */
+    EXECUTE((byte) 1),
+
+    /** the event has been cancelled. */
+    CANCEL((byte) 2);
+
+    /** the code of the type in the trace file. */
+    private final byte code;
+
+    /**
+     * @param code the code of the type in the trace file
+     */
+    EventTraceType(final byte code)
+    {
+        this.code = code;
+    }
+
+    /**
+     * Return the code of the type in the trace file.
+     * @return the code of the type in the trace file
+     */
+    public byte getCode()
+    {
+        return this.code;
+    }
+
+    /**
+     * Return the type for a code in the trace file.
+     * @param code the code of the type in the trace file
+     * @return the type, or null when the code is not the code of a type
+     */
+    public static EventTraceType of(final byte code)
+    {
+        return code >= 0 && code < values().length ? values()[code] : null;
+    }
+
+}
@@ -0,0 +1,37 @@
+package nl.tudelft.simulation.dsol.trace;
+
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+
+/**
+ * EventTracer is notified by a DEVS simulator when a simulation event is scheduled, executed or cancelled. The methods are
+ * called on the thread of the simulator, in the order of the calls to the simulator, so implementations do not need to be
+ * thread-safe. The tracer is set with DevsSimulator.setEventTracer().
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public interface EventTracer
+{
+    /**
+     * The event has been scheduled on the event list, and has received its sequence id.
+     * @param event the scheduled event
+     */
+    void scheduled(SimEventInterface<?> event);
+
+    /**
+     * The event has been removed from the event list and is about to be executed.
+     * @param event the event to execute
+     */
+    void executing(SimEventInterface<?> event);
+
+    /**
+     * The event has been cancelled, i.e., removed from the event list without being executed.
+     * @param event the cancelled event
+     */
+    void cancelled(SimEventInterface<?> event);
+
+}
@@ -0,0 +1,73 @@
+package nl.tudelft.simulation.dsol.trace;
+
+/**
+ * TraceDivergence describes the first executed event where a run differs from a reference trace, in execution time, priority
+ * or kind, or because one of the runs executed more events than the other.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class TraceDivergence
+{
+    /** the number of the executed event where the runs diverge, starting at 0. */
+    private final long executionIndex;
+
+    /** the description of the expected event from the reference trace, or null when the reference has no more events. */
+    private final String expected;
+
+    /** the description of the actual event, or null when the run has no more events. */
+    private final String actual;
+
+    /**
+     * Create the description of a divergence.
+     * @param executionIndex the number of the executed event where the runs diverge, starting at 0
+     * @param expected the description of the expected event, or null when the reference has no more events
+     * @param actual the description of the actual event, or null when the run has no more events
+     */
+    public TraceDivergence(final long executionIndex, final String expected, final String actual)
+    {
+        this.executionIndex = executionIndex;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * Return the number of the executed event where the runs diverge, starting at 0.
+     * @return the number of the executed event where the runs diverge
+     */
+    public long getExecutionIndex()
+    {
+        return this.executionIndex;
+    }
+
+    /**
+     * Return the description of the expected event from the reference trace.
+     * @return the description of the expected event, or null when the reference has no more events
+     */
+    public String getExpected()
+    {
+        return this.expected;
+    }
+
+    /**
+     * Return the description of the actual event.
+     * @return the description of the actual event, or null when the run has no more events
+     */
+    public String getActual()
+    {
+        return this.actual;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TraceDivergence at executed event " + this.executionIndex + ": expected "
+                + (this.expected == null ? "end of trace" : this.expected) + ", actual "
+                + (this.actual == null ? "end of trace" : this.actual);
+    }
+
+}
@@ -0,0 +1,249 @@
+package nl.tudelft.simulation.dsol.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * TraceReplayChecker replays the execution order of a reference trace against a run of a (modified) model, and detects the
+ * first executed event that differs from the reference in execution time, priority or kind. The sequence ids are not
+ * compared, since a modified model can schedule a different number of events. The checker is set as the event tracer of the
+ * simulator, and can stop the simulator at the divergence:
+ *
+ * <pre>
+ * try (TraceReplayChecker checker = new TraceReplayChecker(referencePath, simulator))
+ * {
+ *     simulator.setEventTracer(checker);
+ *     // run the replication
+ *     TraceDivergence divergence = checker.finish();
+ * }
+ * </pre>
+ *
+ * Two recorded traces can also be compared offline with compare(), or from the command line with the paths of the reference
+ * trace and the other trace as arguments.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class TraceReplayChecker implements EventTracer, Closeable
+{
+    /** the reader of the reference trace. */
+    private final EventTraceReader reference;
+
+    /** the simulator to stop at the divergence, or null to continue the run. */
+    private final SimulatorInterface<?> simulator;
+
+    /** the kinds of the events of the run. */
+    private final EventKinds kinds = new EventKinds();
+
+    /** the number of executed events of the run. */
+    private long executed = 0L;
+
+    /** the first divergence, or null when no divergence has been detected. */
+    private TraceDivergence divergence = null;
+
+    /**
+     * Create a checker that compares a run with a reference trace, and continues the run at a divergence.
+     * @param referencePath the path of the reference trace
+     * @throws IOException when the reference trace cannot be read
+     */
+    public TraceReplayChecker(final Path referencePath) throws IOException
+    {
+        this(referencePath, null);
+    }
+
+    /**
+     * Create a checker that compares a run with a reference trace, and requests the simulator to stop at a divergence.
+     * @param referencePath the path of the reference trace
+     * @param simulator the simulator to stop at a divergence, or null to continue the run
+     * @throws IOException when the reference trace cannot be read
+     */
+    public TraceReplayChecker(final Path referencePath, final SimulatorInterface<?> simulator) throws IOException
+    {
+        this.reference = new EventTraceReader(referencePath);
+        this.simulator = simulator;
+    }
+
+    @Override
+    public void scheduled(final SimEventInterface<?> event)
+    {
+        // only the execution order is compared
+    }
+
+    @Override
+    public void executing(final SimEventInterface<?> event)
+    {
+        if (this.divergence != null)
+        {
+            return;
+        }
+        int k = this.kinds.kindOf(event);
+        String kind = this.kinds.name(k < 0 ? -k - 1 : k);
+        double time = event.getAbsoluteExecutionTime().doubleValue();
+        try
+        {
+            if (!nextExecution(this.reference))
+            {
+                diverge(null, describe(time, event.getPriority(), event.getId(), kind));
+            }
+            else if (this.reference.getTime() != time || this.reference.getPriority() != event.getPriority()
+                    || !this.reference.getKind().equals(kind))
+            {
+                diverge(this.reference.describe(), describe(time, event.getPriority(), event.getId(), kind));
+            }
+        }
+        catch (IOException exception)
+        {
+            throw new SimRuntimeException("TraceReplayChecker could not read the reference trace", exception);
+        }
+        this.executed++;
+    }
+
+    @Override
+    public void cancelled(final SimEventInterface<?> event)
+    {
+        // only the execution order is compared
+    }
+
+    /**
+     * Record the divergence, and request the simulator to stop.
+     * @param expected the description of the expected event, or null
+     * @param actual the description of the actual event, or null
+     */
+    private void diverge(final String expected, final String actual)
+    {
+        this.divergence = new TraceDivergence(this.executed, expected, actual);
+        if (this.simulator != null)
+        {
+            this.simulator.requestStop();
+        }
+    }
+
+    /**
+     * Finish the check at the end of the run: when the reference trace has more executed events than the run, the first of
+     * these is the divergence.
+     * @return the first divergence, or null when the run executed the same events as the reference trace
+     * @throws IOException when the reference trace cannot be read
+     */
+    public TraceDivergence finish() throws IOException
+    {
+        if (this.divergence == null && nextExecution(this.reference))
+        {
+            this.divergence = new TraceDivergence(this.executed, this.reference.describe(), null);
+        }
+        return this.divergence;
+    }
+
+    /**
+     * Return the first divergence that has been detected so far.
+     * @return the first divergence, or null when no divergence has been detected
+     */
+    public TraceDivergence getDivergence()
+    {
+        return this.divergence;
+    }
+
+    /**
+     * Return the number of executed events of the run that have been checked.
+     * @return the number of executed events of the run that have been checked
+     */
+    public long getNumberOfExecutedEvents()
+    {
+        return this.executed;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        this.reference.close();
+    }
+
+    /**
+     * Compare the executed events of two traces, and return the first divergence.
+     * @param referencePath the path of the reference trace
+     * @param otherPath the path of the trace to compare with the reference
+     * @return the first divergence, or null when both traces executed the same events
+     * @throws IOException when a trace cannot be read
+     */
+    public static TraceDivergence compare(final Path referencePath, final Path otherPath) throws IOException
+    {
+        try (EventTraceReader reference = new EventTraceReader(referencePath);
+                EventTraceReader other = new EventTraceReader(otherPath))
+        {
+            long executed = 0L;
+            while (true)
+            {
+                boolean hasReference = nextExecution(reference);
+                boolean hasOther = nextExecution(other);
+                if (!hasReference && !hasOther)
+                {
+                    return null;
+                }
+                if (!hasReference || !hasOther || reference.getTime() != other.getTime()
+                        || reference.getPriority() != other.getPriority() || !reference.getKind().equals(other.getKind()))
+                {
+                    return new TraceDivergence(executed, hasReference ? reference.describe() : null,
+                            hasOther ? other.describe() : null);
+                }
+                executed++;
+            }
+        }
+    }
+
+    /**
+     * Move the reader to the next EXECUTE record.
+     * @param reader the reader
+     * @return whether there is a next EXECUTE record
+     * @throws IOException when the trace cannot be read
+     */
+    private static boolean nextExecution(final EventTraceReader reader) throws IOException
+    {
+        while (reader.next())
+        {
+            if (reader.getType() == EventTraceType.EXECUTE)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Describe an executed event in the same way as EventTraceReader.describe().
+     * @param time the execution time
+     * @param priority the priority
+     * @param id the sequence id
+     * @param kind the kind
+     * @return the description of the executed event
+     */
+    private static String describe(final double time, final short priority, final long id, final String kind)
+    {
+        return String.format("%s t=%s prio=%d id=%d kind=%s", EventTraceType.EXECUTE, time, priority, id, kind);
+    }
+
+    /**
+     * Compare two traces from the command line, and print the first divergence.
+     * @param args the path of the reference trace and the path of the other trace
+     * @throws IOException when a trace cannot be read
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        if (args.length != 2)
+        {
+            System.err.println("usage: TraceReplayChecker reference.trace other.trace");
+            return;
+        }
+        TraceDivergence result = compare(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println(result == null ? "the traces executed the same events" : result.toString());
+    }
+
+}
@@ -0,0 +1,14 @@
+/**
+ * Binary traces of the scheduling and execution of simulation events by a DEVS simulator. The EventTraceRecorder writes
+ * fixed-size binary records to a file with a background flusher, which is fast enough to trace millions of events per
+ * second. The EventTraceReader reads a trace, the EventTraceSummary summarizes it with the number of events and the
+ * inter-event times per kind of event, and the TraceReplayChecker replays the execution order of a reference trace against a
+ * run of a (modified) model to detect the first divergence.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ */
+package nl.tudelft.simulation.dsol.trace;
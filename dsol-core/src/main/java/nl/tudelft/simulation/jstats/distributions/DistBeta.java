@@ -68,6 +68,25 @@ public class DistBeta extends DistContinuous
         return 0;
     }
 
+    /**
+     * Return the cumulative probability of the x-value, which is the regularized incomplete beta function
+     * I<sub>x</sub>(&alpha;<sub>1</sub>, &alpha;<sub>2</sub>).
+     * @param x the observation x
+     * @return double the cumulative probability
+     */
+    public double getCumulativeProbability(final double x)
+    {
+        if (x <= 0.0)
+        {
+            return 0.0;
+        }
+        if (x >= 1.0)
+        {
+            return 1.0;
+        }
+        return ProbMath.incompleteBeta(this.alpha1, this.alpha2, x);
+    }
+
     /**
      * Return the first shape parameter &alpha;<sub>1</sub> for the distribution.
      * @return the first shape parameter &alpha;<sub>1</sub> for the distribution
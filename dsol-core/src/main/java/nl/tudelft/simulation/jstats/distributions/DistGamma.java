@@ -137,6 +137,21 @@ public class DistGamma extends DistContinuous
                 / ProbMath.gamma(this.shape);
     }
 
+    /**
+     * Return the cumulative probability of the x-value, which is the regularized lower incomplete gamma function P(shape,
+     * x/scale).
+     * @param x the observation x
+     * @return double the cumulative probability
+     */
+    public double getCumulativeProbability(final double x)
+    {
+        if (x <= 0.0)
+        {
+            return 0.0;
+        }
+        return ProbMath.incompleteGammaP(this.shape, x / this.scale);
+    }
+
     /**
      * @return alpha
      */
@@ -0,0 +1,599 @@
+package nl.tudelft.simulation.jstats.distributions;
+
+import java.util.Arrays;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * DistInverseTable samples any continuous distribution by numerical inversion, with a table of polynomial approximations of
+ * the inverse of the cumulative distribution function that is computed once from the probability density of the
+ * distribution. The method follows PINV of Derflinger, H&ouml;rmann and Leydold (2010): the domain is split into intervals;
+ * on each interval the cumulative probabilities of Chebyshev points are computed with Gauss-Legendre integration of the
+ * density, and the inverse is approximated by a Newton interpolation polynomial of degree 5 in u. An interval is halved until
+ * the u-error |F(F<sup>-1</sup>(u)) - u| on test points between the nodes is below the requested maximum u-error. A guide
+ * table (Ahrens and Kohrt) gives the interval of a uniform number in (nearly) constant time, so a draw costs one uniform
+ * number, a table lookup and the evaluation of one polynomial.
+ * <p>
+ * This is useful for distributions that are expensive to draw from, such as DistNormalTrunc, DistLogNormalTrunc,
+ * DistPearson5, DistPearson6 or DistBeta, and for user-defined distributions that only provide a density. As the draws are
+ * monotone in the uniform number, the sampler also works well with common random numbers and quasi-Monte-Carlo streams. The
+ * density has to be continuous and bounded on the inside of the domain; an infinite bound of the domain is replaced by the
+ * point beyond which the probability is negligible compared to the u-error, which assumes a monotone tail. The setup time, the
+ * size of the table and the estimated u-error are available after construction.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class DistInverseTable extends DistContinuous
+{
+    /** the default maximum u-error. */
+    public static final double DEFAULT_U_ERROR = 1.0E-10;
+
+    /** the degree of the interpolation polynomials. */
+    private static final int DEGREE = 5;
+
+    /** the maximum number of intervals. */
+    private static final int MAX_INTERVALS = 100_000;
+
+    /** the nodes of 5-point Gauss-Legendre integration on [-1,1]. */
+    private static final double[] GL_NODES = {-0.9061798459386640, -0.5384693101056831, 0.0, 0.5384693101056831,
+            0.9061798459386640};
+
+    /** the weights of 5-point Gauss-Legendre integration on [-1,1]. */
+    private static final double[] GL_WEIGHTS = {0.2369268850561891, 0.4786286704993665, 0.5688888888888889,
+            0.4786286704993665, 0.2369268850561891};
+
+    /** the distribution that provides the density. */
+    private final DistContinuous distribution;
+
+    /** the maximum u-error. */
+    private final double uError;
+
+    /** the lower bound of the (cut-off) domain. */
+    private final double lower;
+
+    /** the upper bound of the (cut-off) domain. */
+    private final double upper;
+
+    /** the area below the density on the domain, with which the density is normalized. */
+    private final double area;
+
+    /** the number of intervals. */
+    private final int intervals;
+
+    /** the (unnormalized) cumulative probability at the start of each interval, plus the total at the end. */
+    private final double[] uStart;
+
+    /** the u-nodes u_1 .. u_(n-1) per interval, relative to the start of the interval. */
+    private final double[] nodes;
+
+    /** the Newton coefficients c_0 .. c_n per interval. */
+    private final double[] coefficients;
+
+    /** the guide table with the first interval that can contain u for each of the equal parts of the u-range. */
+    private final int[] guide;
+
+    /** the setup time in nanoseconds. */
+    private final long setupNanos;
+
+    /** the maximum u-error on the test points during the setup. */
+    private final double maxSetupUError;
+
+    /** the number of evaluations of the density during the setup. */
+    private long densityEvaluations = 0;
+
+    /**
+     * Construct a table-based inversion sampler for a distribution with the default maximum u-error of 1E-10.
+     * @param stream the random number stream
+     * @param distribution the distribution that provides the density; it does not have to be normalized
+     * @param lower the lower bound of the domain of the distribution, may be -infinity
+     * @param upper the upper bound of the domain of the distribution, may be +infinity
+     * @throws NullPointerException when stream or distribution is null
+     * @throws IllegalArgumentException when the domain is empty, or the table cannot be constructed
+     */
+    public DistInverseTable(final StreamInterface stream, final DistContinuous distribution, final double lower,
+            final double upper)
+    {
+        this(stream, distribution, lower, upper, DEFAULT_U_ERROR);
+    }
+
+    /**
+     * Construct a table-based inversion sampler for a distribution.
+     * @param stream the random number stream
+     * @param distribution the distribution that provides the density; it does not have to be normalized
+     * @param lower the lower bound of the domain of the distribution, may be -infinity
+     * @param upper the upper bound of the domain of the distribution, may be +infinity
+     * @param uError the maximum u-error, between 1E-14 and 1E-4
+     * @throws NullPointerException when stream or distribution is null
+     * @throws IllegalArgumentException when the domain is empty, when uError is out of range, or when the table cannot be
+     *             constructed, e.g., because the density is zero on the domain
+     */
+    public DistInverseTable(final StreamInterface stream, final DistContinuous distribution, final double lower,
+            final double upper, final double uError)
+    {
+        super(stream);
+        Throw.whenNull(distribution, "distribution cannot be null");
+        Throw.when(Double.isNaN(lower) || Double.isNaN(upper) || lower >= upper, IllegalArgumentException.class,
+                "domain [%f, %f] is empty", lower, upper);
+        Throw.when(uError < 1.0E-14 || uError > 1.0E-4, IllegalArgumentException.class, "uError %g out of range [1E-14, 1E-4]",
+                uError);
+        long t0 = System.nanoTime();
+        this.distribution = distribution;
+        this.uError = uError;
+
+        // cut off infinite tails, and determine the area below the density
+        double center = findCenter(lower, upper);
+        this.lower = Double.isInfinite(lower) ? findTail(center, -1.0) : lower;
+        this.upper = Double.isInfinite(upper) ? findTail(center, 1.0) : upper;
+        this.area = integrate(this.lower, this.upper, 0.01 * uError * composite(this.lower, this.upper, 64), 0);
+        Throw.when(!(this.area > 0.0) || Double.isInfinite(this.area), IllegalArgumentException.class,
+                "the density has no positive, finite area on [%f, %f]", this.lower, this.upper);
+
+        // build the intervals
+        double tolerance = 0.9 * uError * this.area;
+        double[] us = new double[1024];
+        double[] ns = new double[1024 * (DEGREE - 1)];
+        double[] cs = new double[1024 * (DEGREE + 1)];
+        double[] x = new double[DEGREE + 1];
+        double[] u = new double[DEGREE + 1];
+        double[] c = new double[DEGREE + 1];
+        int count = 0;
+        double xStart = this.lower;
+        double uTotal = 0.0;
+        double h = (this.upper - this.lower) / 128.0;
+        double minH = 1.0E-13 * Math.max(1.0, Math.max(Math.abs(this.lower), Math.abs(this.upper)));
+        double maxError = 0.0;
+        while (xStart < this.upper)
+        {
+            Throw.when(count >= MAX_INTERVALS, IllegalArgumentException.class,
+                    "more than %d intervals needed for u-error %g", MAX_INTERVALS, uError);
+            h = Math.min(h, this.upper - xStart);
+            double error = buildInterval(xStart, h, x, u, c);
+            if (u[DEGREE] == 0.0)
+            {
+                // no probability in this interval; it is never selected
+                xStart = h >= this.upper - xStart ? this.upper : xStart + h;
+                h *= 2.0;
+                continue;
+            }
+            if (error > tolerance)
+            {
+                if (h > minH && u[DEGREE] > tolerance)
+                {
+                    h *= 0.5;
+                    continue;
+                }
+                // an interval with a negligible probability, e.g., in a tail, or a very short interval at the edge of a
+                // region with zero density: use linear interpolation
+                Arrays.fill(c, 0.0);
+                c[0] = xStart;
+                c[1] = h / u[DEGREE];
+                error = 0.0;
+            }
+            maxError = Math.max(maxError, error);
+            if (count + 1 >= us.length)
+            {
+                us = Arrays.copyOf(us, 2 * us.length);
+                ns = Arrays.copyOf(ns, 2 * ns.length);
+                cs = Arrays.copyOf(cs, 2 * cs.length);
+            }
+            us[count] = uTotal;
+            System.arraycopy(u, 1, ns, count * (DEGREE - 1), DEGREE - 1);
+            System.arraycopy(c, 0, cs, count * (DEGREE + 1), DEGREE + 1);
+            count++;
+            uTotal += u[DEGREE];
+            xStart = h >= this.upper - xStart ? this.upper : xStart + h;
+            h *= 1.3;
+        }
+        Throw.when(count == 0, IllegalArgumentException.class, "the density is zero on the domain");
+        us[count] = uTotal;
+        this.intervals = count;
+        this.uStart = Arrays.copyOf(us, count + 1);
+        this.nodes = Arrays.copyOf(ns, count * (DEGREE - 1));
+        this.coefficients = Arrays.copyOf(cs, count * (DEGREE + 1));
+        this.maxSetupUError = maxError / uTotal;
+
+        // guide table
+        this.guide = new int[count];
+        int i = 0;
+        for (int k = 0; k < count; k++)
+        {
+            double target = uTotal * k / count;
+            while (i < count - 1 && this.uStart[i + 1] <= target)
+            {
+                i++;
+            }
+            this.guide[k] = i;
+        }
+        this.setupNanos = System.nanoTime() - t0;
+    }
+
+    /**
+     * Compute the nodes and the Newton interpolation polynomial of one interval, and return the largest u-error on the test
+     * points between the nodes.
+     * @param xStart the start of the interval
+     * @param h the length of the interval
+     * @param x array for the x-nodes
+     * @param u array for the u-nodes, relative to the start of the interval
+     * @param c array for the Newton coefficients
+     * @return the largest (unnormalized) u-error on the test points, or infinity when the polynomial is not monotone
+     */
+    private double buildInterval(final double xStart, final double h, final double[] x, final double[] u, final double[] c)
+    {
+        x[0] = xStart;
+        u[0] = 0.0;
+        for (int j = 1; j <= DEGREE; j++)
+        {
+            x[j] = xStart + 0.5 * h * (1.0 - Math.cos(Math.PI * j / DEGREE));
+            u[j] = u[j - 1] + gaussLegendre(x[j - 1], x[j]);
+        }
+        for (int j = 1; j <= DEGREE; j++)
+        {
+            if (!(u[j] > u[j - 1]))
+            {
+                // the density is zero on part of the interval; this only works for a very short interval
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+        // divided differences of x as a function of u
+        System.arraycopy(x, 0, c, 0, DEGREE + 1);
+        for (int k = 1; k <= DEGREE; k++)
+        {
+            for (int j = DEGREE; j >= k; j--)
+            {
+                c[j] = (c[j] - c[j - 1]) / (u[j] - u[j - k]);
+            }
+        }
+        // test the u-error halfway between the nodes
+        double error = 0.0;
+        for (int j = 0; j < DEGREE; j++)
+        {
+            double t = 0.5 * (u[j] + u[j + 1]);
+            double xt = newton(c, u, 0, t);
+            if (!(xt > x[j] && xt < x[j + 1]))
+            {
+                return Double.POSITIVE_INFINITY;
+            }
+            double ut = u[j] + gaussLegendre(x[j], xt);
+            error = Math.max(error, Math.abs(ut - t));
+        }
+        return error;
+    }
+
+    /**
+     * Evaluate a Newton polynomial.
+     * @param c the coefficients
+     * @param u the nodes u_0 .. u_(n-1)
+     * @param offset the offset of the nodes in the array u
+     * @param t the value at which to evaluate the polynomial
+     * @return the value of the polynomial
+     */
+    private static double newton(final double[] c, final double[] u, final int offset, final double t)
+    {
+        double p = c[DEGREE];
+        for (int k = DEGREE - 1; k >= 0; k--)
+        {
+            p = p * (t - u[offset + k]) + c[k];
+        }
+        return p;
+    }
+
+    /**
+     * Return the density of the distribution, counting the evaluations.
+     * @param x the value
+     * @return the density at x
+     */
+    private double density(final double x)
+    {
+        this.densityEvaluations++;
+        return this.distribution.getProbabilityDensity(x);
+    }
+
+    /**
+     * Integrate the density on [a, b] with 5-point Gauss-Legendre integration.
+     * @param a the lower bound
+     * @param b the upper bound
+     * @return the integral
+     */
+    private double gaussLegendre(final double a, final double b)
+    {
+        double half = 0.5 * (b - a);
+        double mid = 0.5 * (a + b);
+        double sum = 0.0;
+        for (int i = 0; i < GL_NODES.length; i++)
+        {
+            sum += GL_WEIGHTS[i] * density(mid + half * GL_NODES[i]);
+        }
+        return half * sum;
+    }
+
+    /**
+     * Integrate the density on [a, b] with 5-point Gauss-Legendre integration on a number of equal subintervals.
+     * @param a the lower bound
+     * @param b the upper bound
+     * @param n the number of subintervals
+     * @return the integral
+     */
+    private double composite(final double a, final double b, final int n)
+    {
+        double sum = 0.0;
+        double step = (b - a) / n;
+        for (int i = 0; i < n; i++)
+        {
+            sum += gaussLegendre(a + i * step, i == n - 1 ? b : a + (i + 1) * step);
+        }
+        return sum;
+    }
+
+    /**
+     * Integrate the density on [a, b] with adaptive Gauss-Legendre integration.
+     * @param a the lower bound
+     * @param b the upper bound
+     * @param tolerance the absolute tolerance
+     * @param depth the maximum remaining depth of the recursion
+     * @return the integral
+     */
+    private double integrate(final double a, final double b, final double tolerance, final int depth)
+    {
+        double mid = 0.5 * (a + b);
+        double whole = gaussLegendre(a, b);
+        double halves = gaussLegendre(a, mid) + gaussLegendre(mid, b);
+        double difference = Math.abs(whole - halves);
+        if (depth >= 40 || difference <= tolerance || difference <= 1.0E-15 * Math.abs(halves))
+        {
+            return halves;
+        }
+        return integrate(a, mid, 0.5 * tolerance, depth + 1) + integrate(mid, b, 0.5 * tolerance, depth + 1);
+    }
+
+    /**
+     * Find a point with a positive density, from which infinite tails are searched.
+     * @param a the lower bound of the domain, may be -infinity
+     * @param b the upper bound of the domain, may be +infinity
+     * @return a point with a positive density
+     * @throws IllegalArgumentException when no point with a positive density is found
+     */
+    private double findCenter(final double a, final double b)
+    {
+        if (!Double.isInfinite(a) && !Double.isInfinite(b))
+        {
+            return 0.5 * (a + b);
+        }
+        double start = Double.isInfinite(a) ? (Double.isInfinite(b) ? 0.0 : b) : a;
+        double direction = Double.isInfinite(a) ? (Double.isInfinite(b) ? 1.0 : -1.0) : 1.0;
+        // probe points at increasing distance from the finite bound (or around 0), and take the one with the highest density
+        double best = Double.NaN;
+        double bestDensity = 0.0;
+        for (double step = 1.0E-3; step <= 1.0E9; step *= 2.0)
+        {
+            for (double sign : Double.isInfinite(a) && Double.isInfinite(b) ? new double[] {1.0, -1.0} : new double[] {1.0})
+            {
+                double p = start + sign * direction * step;
+                double d = density(p);
+                if (d > bestDensity && Double.isFinite(d))
+                {
+                    bestDensity = d;
+                    best = p;
+                }
+            }
+        }
+        Throw.when(Double.isNaN(best), IllegalArgumentException.class, "the density is zero on the domain");
+        return best;
+    }
+
+    /**
+     * Find the point beyond which the probability of an infinite tail is negligible. The tail is followed in segments of
+     * doubling length, until the probability of a segment is small compared to the u-error.
+     * @param center a point with a positive density
+     * @param direction -1 for the left tail, +1 for the right tail
+     * @return the cut-off point of the tail
+     */
+    private double findTail(final double center, final double direction)
+    {
+        double total = 0.0;
+        double x = center;
+        double step = Math.max(1.0E-3, 1.0E-3 * Math.abs(center));
+        for (int k = 0; k < 200; k++)
+        {
+            double next = x + direction * step;
+            double mass = composite(Math.min(x, next), Math.max(x, next), 16);
+            total += mass;
+            if (total > 0.0 && mass < 0.01 * this.uError * total && density(next) < density(x))
+            {
+                // bisect the segment for the point beyond which the probability in the segment is negligible
+                double inner = x;
+                double outer = next;
+                for (int i = 0; i < 30; i++)
+                {
+                    double mid = 0.5 * (inner + outer);
+                    if (composite(Math.min(mid, next), Math.max(mid, next), 8) < 0.001 * this.uError * total)
+                    {
+                        outer = mid;
+                    }
+                    else
+                    {
+                        inner = mid;
+                    }
+                }
+                return outer;
+            }
+            x = next;
+            step *= 2.0;
+        }
+        throw new IllegalArgumentException("cannot find a cut-off point for the tail of the distribution");
+    }
+
+    @Override
+    public double draw()
+    {
+        return getInverseCumulativeProbability(this.stream.nextDouble());
+    }
+
+    /**
+     * Return the approximate inverse of the cumulative distribution function.
+     * @param cumulativeProbability the cumulative probability, between 0 and 1
+     * @return the value x for which F(x) is approximately the cumulative probability, within the u-error
+     * @throws IllegalArgumentException when cumulativeProbability is not between 0 and 1
+     */
+    public double getInverseCumulativeProbability(final double cumulativeProbability)
+    {
+        Throw.when(!(cumulativeProbability >= 0.0 && cumulativeProbability <= 1.0), IllegalArgumentException.class,
+                "cumulativeProbability should be between 0 and 1");
+        int k = (int) (cumulativeProbability * this.intervals);
+        int i = this.guide[Math.min(k, this.intervals - 1)];
+        double u = cumulativeProbability * this.uStart[this.intervals];
+        while (i < this.intervals - 1 && this.uStart[i + 1] < u)
+        {
+            i++;
+        }
+        double t = u - this.uStart[i];
+        int nodeOffset = i * (DEGREE - 1);
+        int coefOffset = i * (DEGREE + 1);
+        double p = this.coefficients[coefOffset + DEGREE];
+        for (int j = DEGREE - 1; j >= 1; j--)
+        {
+            p = p * (t - this.nodes[nodeOffset + j - 1]) + this.coefficients[coefOffset + j];
+        }
+        // u_0 = 0
+        double x = p * t + this.coefficients[coefOffset];
+        return x < this.lower ? this.lower : x > this.upper ? this.upper : x;
+    }
+
+    @Override
+    public double getProbabilityDensity(final double x)
+    {
+        if (x < this.lower || x > this.upper)
+        {
+            return 0.0;
+        }
+        return this.distribution.getProbabilityDensity(x) / this.area;
+    }
+
+    /**
+     * Estimate the largest u-error |F(F<sup>-1</sup>(u)) - u| on a number of equidistant values of u, where F is computed by
+     * integration of the density. This is expensive, and meant to check the accuracy of the table.
+     * @param points the number of values of u
+     * @return the estimated largest u-error
+     */
+    public double estimateUError(final int points)
+    {
+        double maxError = 0.0;
+        double cumulative = 0.0;
+        double previousX = this.lower;
+        for (int k = 1; k < points; k++)
+        {
+            double u = (double) k / points;
+            double x = getInverseCumulativeProbability(u);
+            cumulative += integrate(previousX, x, 1.0E-3 * this.uError * this.area, 0) / this.area;
+            previousX = x;
+            maxError = Math.max(maxError, Math.abs(cumulative - u));
+        }
+        return maxError;
+    }
+
+    /**
+     * Return the distribution that provides the density.
+     * @return the distribution that provides the density
+     */
+    public DistContinuous getDistribution()
+    {
+        return this.distribution;
+    }
+
+    /**
+     * Return the maximum u-error with which the table was constructed.
+     * @return the maximum u-error
+     */
+    public double getUError()
+    {
+        return this.uError;
+    }
+
+    /**
+     * Return the largest u-error on the test points during the setup.
+     * @return the largest u-error on the test points during the setup
+     */
+    public double getSetupUError()
+    {
+        return this.maxSetupUError;
+    }
+
+    /**
+     * Return the lower bound of the domain of the table; for an infinite bound, this is the cut-off point of the tail.
+     * @return the lower bound of the domain of the table
+     */
+    public double getLower()
+    {
+        return this.lower;
+    }
+
+    /**
+     * Return the upper bound of the domain of the table; for an infinite bound, this is the cut-off point of the tail.
+     * @return the upper bound of the domain of the table
+     */
+    public double getUpper()
+    {
+        return this.upper;
+    }
+
+    /**
+     * Return the area below the density of the distribution on the domain of the table.
+     * @return the area below the density
+     */
+    public double getArea()
+    {
+        return this.area;
+    }
+
+    /**
+     * Return the number of intervals of the table.
+     * @return the number of intervals
+     */
+    public int getNumberOfIntervals()
+    {
+        return this.intervals;
+    }
+
+    /**
+     * Return the approximate memory use of the table in bytes.
+     * @return the approximate memory use of the table in bytes
+     */
+    public long getTableBytes()
+    {
+        return 8L * (this.uStart.length + this.nodes.length + this.coefficients.length) + 4L * this.guide.length;
+    }
+
+    /**
+     * Return the setup time of the table in nanoseconds.
+     * @return the setup time in nanoseconds
+     */
+    public long getSetupNanos()
+    {
+        return this.setupNanos;
+    }
+
+    /**
+     * Return the number of evaluations of the density during the setup.
+     * @return the number of evaluations of the density during the setup
+     */
+    public long getDensityEvaluations()
+    {
+        return this.densityEvaluations;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DistInverseTable[" + this.distribution + ", domain=[" + this.lower + ", " + this.upper + "], intervals="
+                + this.intervals + ", bytes=" + getTableBytes() + ", uError=" + this.maxSetupUError + ", setup="
+                + (this.setupNanos / 1000) + " us]";
+    }
+
+}
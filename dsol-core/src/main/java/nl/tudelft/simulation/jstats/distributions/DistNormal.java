@@ -74,7 +74,7 @@ public class DistNormal extends DistContinuous
      */
     public double getCumulativeProbability(final double x)
     {
-        return 0.5 + 0.5 * ProbMath.erf((x - this.mu) / (Math.sqrt(2.0) * this.sigma));
+        return 0.5 * ProbMath.erfc((this.mu - x) / (Math.sqrt(2.0) * this.sigma));
     }
 
     /**
@@ -84,7 +84,7 @@ public class DistNormal extends DistContinuous
      */
     public double getInverseCumulativeProbability(final double cumulativeProbability)
     {
-        return this.mu + this.sigma * Math.sqrt(2.0) * ProbMath.erfInv(2.0 * cumulativeProbability - 1.0);
+        return this.mu - this.sigma * Math.sqrt(2.0) * ProbMath.erfcInv(2.0 * cumulativeProbability);
     }
 
     /**
@@ -138,7 +138,7 @@ public class DistNormalTrunc extends DistContinuous
      */
     private double getCumulativeProbabilityNotTruncated(final double x)
     {
-        return 0.5 + 0.5 * ProbMath.erf((x - this.mu) / (Math.sqrt(2.0) * this.sigma));
+        return 0.5 * ProbMath.erfc((this.mu - x) / (Math.sqrt(2.0) * this.sigma));
     }
 
     /**
@@ -148,7 +148,7 @@ public class DistNormalTrunc extends DistContinuous
      */
     private double getInverseCumulativeProbabilityNotTruncated(final double cumulativeProbability)
     {
-        return this.mu + this.sigma * Math.sqrt(2.0) * ProbMath.erfInv(2.0 * cumulativeProbability - 1.0);
+        return this.mu - this.sigma * Math.sqrt(2.0) * ProbMath.erfcInv(2.0 * cumulativeProbability);
     }
 
     /**
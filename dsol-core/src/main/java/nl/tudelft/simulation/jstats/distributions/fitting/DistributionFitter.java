@@ -0,0 +1,632 @@
+package nl.tudelft.simulation.jstats.distributions.fitting;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.djutils.exceptions.Throw;
+import org.djutils.stats.summarizers.Tally;
+import org.djutils.stats.summarizers.quantileaccumulator.TDigestAccumulator;
+
+import nl.tudelft.simulation.jstats.distributions.DistEmpiricalInterpolated;
+import nl.tudelft.simulation.jstats.distributions.empirical.CumulativeProbabilities;
+import nl.tudelft.simulation.jstats.distributions.empirical.InterpolatedEmpiricalDistribution;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * The DistributionFitter fits continuous distributions to a stream of observations in one pass and with bounded memory, so
+ * files with millions of observations can be fitted without loading them in an array. The fitter keeps the sufficient
+ * statistics of the observations and of their logarithms in two Tally objects, and a t-digest quantile sketch of the
+ * observations. The observations can be registered one by one, or read from a CSV file or from a binary file with doubles.
+ * <p>
+ * The parameters of the families in FitFamily are estimated with maximum likelihood from the sufficient statistics; only the
+ * Weibull shape needs the quantile sketch. The goodness-of-fit statistics compare the fitted distribution with the
+ * distribution of the sketch, which is evaluated at GRID_SIZE + 1 quantiles. The sketch also provides an interpolated
+ * empirical distribution with a chosen number of points. The memory use depends on the compression of the sketch, not on the
+ * number of observations.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class DistributionFitter
+{
+    /** the default compression of the t-digest; the sketch keeps in the order of this number of centroids. */
+    public static final int DEFAULT_COMPRESSION = 1000;
+
+    /** the number of intervals of the quantile grid that is used for the goodness-of-fit statistics. */
+    public static final int GRID_SIZE = 2000;
+
+    /** the maximum number of bins of the chi-square statistic. */
+    private static final int MAX_CHI_SQUARE_BINS = 100;
+
+    /** the nodes of 3-point Gauss-Legendre quadrature on [0, 1]. */
+    private static final double[] GAUSS_NODES = {0.5 - 0.5 * Math.sqrt(0.6), 0.5, 0.5 + 0.5 * Math.sqrt(0.6)};
+
+    /** the weights of 3-point Gauss-Legendre quadrature on [0, 1]. */
+    private static final double[] GAUSS_WEIGHTS = {5.0 / 18.0, 8.0 / 18.0, 5.0 / 18.0};
+
+    /** the size of the buffer to read binary files. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** the statistics and the quantile sketch of the observations. */
+    private final Tally tally;
+
+    /** the statistics of the natural logarithm of the positive observations. */
+    private final Tally logTally;
+
+    /** the number of observations that are zero or negative. */
+    private long numberNonPositive = 0L;
+
+    /** the number of values that could not be parsed or that were not finite. */
+    private long numberSkipped = 0L;
+
+    /** the cached quantile grid, or null when observations have been registered after its calculation. */
+    private double[] quantileGrid = null;
+
+    /**
+     * Create a distribution fitter with the default compression of the quantile sketch.
+     */
+    public DistributionFitter()
+    {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Create a distribution fitter with a given compression of the quantile sketch. A higher compression gives more accurate
+     * quantiles in the tails at the cost of memory and time.
+     * @param compression the compression of the t-digest
+     * @throws IllegalArgumentException when compression &lt; 10
+     */
+    public DistributionFitter(final int compression)
+    {
+        Throw.when(compression < 10, IllegalArgumentException.class, "compression should be at least 10, but is %d",
+                compression);
+        this.tally = new Tally("observations", new TDigestAccumulator(compression));
+        this.logTally = new Tally("ln(observations)");
+    }
+
+    /**
+     * Register an observation. Values that are NaN or infinite are counted as skipped.
+     * @param x the observation
+     */
+    public void register(final double x)
+    {
+        if (!Double.isFinite(x))
+        {
+            this.numberSkipped++;
+            return;
+        }
+        this.tally.register(x);
+        if (x > 0.0)
+        {
+            this.logTally.register(Math.log(x));
+        }
+        else
+        {
+            this.numberNonPositive++;
+        }
+        this.quantileGrid = null;
+    }
+
+    /**
+     * Register a number of observations. Values that are NaN or infinite are counted as skipped.
+     * @param values the observations
+     */
+    public void register(final double... values)
+    {
+        Throw.whenNull(values, "values cannot be null");
+        for (double x : values)
+        {
+            register(x);
+        }
+    }
+
+    /**
+     * Read the observations from a column of a CSV file. Empty lines are ignored; fields that cannot be parsed as a double are
+     * counted as skipped. Fields can be surrounded by double quotes.
+     * @param path the path of the CSV file
+     * @param column the index of the column, starting at 0
+     * @param delimiter the delimiter of the fields, e.g., ',' or ';' or '\t'
+     * @param header whether the first line is a header that has to be skipped
+     * @return the number of observations that have been registered from the file
+     * @throws IOException when the file cannot be read
+     * @throws IllegalArgumentException when column &lt; 0
+     */
+    public long readCsv(final Path path, final int column, final char delimiter, final boolean header) throws IOException
+    {
+        Throw.whenNull(path, "path cannot be null");
+        Throw.when(column < 0, IllegalArgumentException.class, "column should be >= 0, but is %d", column);
+        long n0 = getN();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            if (header)
+            {
+                reader.readLine();
+            }
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (line.isBlank())
+                {
+                    continue;
+                }
+                String field = field(line, column, delimiter);
+                try
+                {
+                    register(Double.parseDouble(field));
+                }
+                catch (NumberFormatException | NullPointerException exception)
+                {
+                    // a missing field (null) or a field that is not a number
+                    this.numberSkipped++;
+                }
+            }
+        }
+        return getN() - n0;
+    }
+
+    /**
+     * Read the observations from a named column of a CSV file with a header line. Empty lines are ignored; fields that cannot
+     * be parsed as a double are counted as skipped.
+     * @param path the path of the CSV file
+     * @param columnName the name of the column in the header
+     * @param delimiter the delimiter of the fields, e.g., ',' or ';' or '\t'
+     * @return the number of observations that have been registered from the file
+     * @throws IOException when the file cannot be read
+     * @throws IllegalArgumentException when the header does not contain the column name
+     */
+    public long readCsv(final Path path, final String columnName, final char delimiter) throws IOException
+    {
+        Throw.whenNull(path, "path cannot be null");
+        Throw.whenNull(columnName, "columnName cannot be null");
+        String header;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            header = reader.readLine();
+        }
+        Throw.when(header == null, IllegalArgumentException.class, "file %s is empty", path);
+        for (int column = 0;; column++)
+        {
+            String field = field(header, column, delimiter);
+            Throw.when(field == null, IllegalArgumentException.class, "column %s not found in header of %s", columnName, path);
+            if (field.equals(columnName))
+            {
+                return readCsv(path, column, delimiter, true);
+            }
+        }
+    }
+
+    /**
+     * Return a field of a line of a CSV file, without surrounding white space and double quotes.
+     * @param line the line
+     * @param column the index of the field
+     * @param delimiter the delimiter of the fields
+     * @return the field, or null when the line has less fields
+     */
+    private static String field(final String line, final int column, final char delimiter)
+    {
+        int start = 0;
+        for (int i = 0; i < column; i++)
+        {
+            start = line.indexOf(delimiter, start) + 1;
+            if (start == 0)
+            {
+                return null;
+            }
+        }
+        int end = line.indexOf(delimiter, start);
+        String field = line.substring(start, end < 0 ? line.length() : end).strip();
+        if (field.length() >= 2 && field.charAt(0) == '"' && field.charAt(field.length() - 1) == '"')
+        {
+            field = field.substring(1, field.length() - 1).strip();
+        }
+        return field;
+    }
+
+    /**
+     * Read the observations from a binary file with big-endian doubles, as written by DataOutputStream.writeDouble().
+     * @param path the path of the binary file
+     * @return the number of observations that have been registered from the file
+     * @throws IOException when the file cannot be read, or when its length is not a multiple of 8 bytes
+     */
+    public long readBinary(final Path path) throws IOException
+    {
+        return readBinary(path, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Read the observations from a binary file with doubles in a given byte order.
+     * @param path the path of the binary file
+     * @param byteOrder the byte order of the doubles in the file
+     * @return the number of observations that have been registered from the file
+     * @throws IOException when the file cannot be read, or when its length is not a multiple of 8 bytes
+     */
+    public long readBinary(final Path path, final ByteOrder byteOrder) throws IOException
+    {
+        Throw.whenNull(path, "path cannot be null");
+        Throw.whenNull(byteOrder, "byteOrder cannot be null");
+        long n0 = getN();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(byteOrder);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            while (channel.read(buffer) >= 0)
+            {
+                buffer.flip();
+                while (buffer.remaining() >= Double.BYTES)
+                {
+                    register(buffer.getDouble());
+                }
+                buffer.compact();
+            }
+        }
+        if (buffer.position() > 0)
+        {
+            throw new IOException("length of file " + path + " is not a multiple of 8 bytes");
+        }
+        return getN() - n0;
+    }
+
+    /**
+     * Return the number of registered observations.
+     * @return the number of registered observations
+     */
+    public long getN()
+    {
+        return this.tally.getN();
+    }
+
+    /**
+     * Return the number of values that have not been registered because they were not finite or could not be parsed.
+     * @return the number of skipped values
+     */
+    public long getNumberSkipped()
+    {
+        return this.numberSkipped;
+    }
+
+    /**
+     * Return the number of observations that are zero or negative. The families that are only defined for positive
+     * observations cannot be fitted when this number is larger than zero.
+     * @return the number of observations that are zero or negative
+     */
+    public long getNumberNonPositive()
+    {
+        return this.numberNonPositive;
+    }
+
+    /**
+     * Return the smallest observation.
+     * @return the smallest observation
+     */
+    public double getMin()
+    {
+        return this.tally.getMin();
+    }
+
+    /**
+     * Return the largest observation.
+     * @return the largest observation
+     */
+    public double getMax()
+    {
+        return this.tally.getMax();
+    }
+
+    /**
+     * Return the mean of the observations.
+     * @return the mean of the observations
+     */
+    public double getMean()
+    {
+        return this.tally.getPopulationMean();
+    }
+
+    /**
+     * Return the population standard deviation of the observations, i.e., with denominator n, which is the maximum likelihood
+     * estimate of the standard deviation of a normal distribution.
+     * @return the population standard deviation of the observations
+     */
+    public double getStDev()
+    {
+        return this.tally.getPopulationStDev();
+    }
+
+    /**
+     * Return the mean of the natural logarithm of the positive observations.
+     * @return the mean of ln(x)
+     */
+    public double getLogMean()
+    {
+        return this.logTally.getPopulationMean();
+    }
+
+    /**
+     * Return the population standard deviation of the natural logarithm of the positive observations.
+     * @return the population standard deviation of ln(x)
+     */
+    public double getLogStDev()
+    {
+        return this.logTally.getPopulationStDev();
+    }
+
+    /**
+     * Return an estimate of a quantile of the observations from the quantile sketch.
+     * @param probability the cumulative probability of the quantile, between 0 and 1
+     * @return the estimated quantile
+     */
+    public double getQuantile(final double probability)
+    {
+        return this.tally.getQuantile(probability);
+    }
+
+    /**
+     * Return an estimate of the fraction of the observations that is smaller than or equal to x, from the quantile sketch.
+     * @param x the value
+     * @return the estimated fraction of the observations that is &lt;= x
+     */
+    public double getCumulativeProbability(final double x)
+    {
+        return this.tally.getCumulativeProbability(x);
+    }
+
+    /**
+     * Return the quantiles of the observations at the cumulative probabilities i / GRID_SIZE, for i = 0 ... GRID_SIZE, where
+     * the first and last quantiles are the minimum and maximum of the observations. The grid is cached until a new
+     * observation is registered.
+     * @return the quantiles of the observations, in ascending order
+     */
+    double[] getQuantileGrid()
+    {
+        if (this.quantileGrid == null)
+        {
+            double[] grid = new double[GRID_SIZE + 1];
+            double min = getMin();
+            double max = getMax();
+            grid[0] = min;
+            for (int i = 1; i < GRID_SIZE; i++)
+            {
+                grid[i] = Math.min(max, Math.max(grid[i - 1], this.tally.getQuantile((double) i / GRID_SIZE)));
+            }
+            grid[GRID_SIZE] = max;
+            this.quantileGrid = grid;
+        }
+        return this.quantileGrid;
+    }
+
+    /**
+     * Return whether a family can be fitted to the registered observations.
+     * @param family the family
+     * @return whether there are at least 2 different observations, and only positive observations for a family that is
+     *         only defined for positive observations
+     */
+    public boolean isFittable(final FitFamily family)
+    {
+        return getN() >= 2 && getMax() > getMin() && !(family.isPositive() && this.numberNonPositive > 0);
+    }
+
+    /**
+     * Fit a family of distributions to the registered observations, and calculate the goodness-of-fit statistics.
+     * @param family the family to fit
+     * @return the fit result with the estimated parameters and the goodness-of-fit statistics
+     * @throws IllegalStateException when the family cannot be fitted to the observations
+     */
+    public FitResult fit(final FitFamily family)
+    {
+        Throw.whenNull(family, "family cannot be null");
+        Throw.when(!isFittable(family), IllegalStateException.class,
+                "family %s cannot be fitted to %d observations with %d non-positive observations and range [%f, %f]", family,
+                getN(), this.numberNonPositive, getMin(), getMax());
+        double[] parameters = family.estimate(this);
+        double[] grid = getQuantileGrid();
+        double[] cdf = new double[GRID_SIZE + 1];
+        for (int i = 0; i <= GRID_SIZE; i++)
+        {
+            cdf[i] = family.getCumulativeProbability(grid[i], parameters);
+        }
+        // about 2 n^0.4 bins with an expected count of at least 5 observations per bin
+        long bins = Math.min(getN() / 5, Math.round(2.0 * Math.pow(getN(), 0.4)));
+        bins = Math.max(2, Math.min(MAX_CHI_SQUARE_BINS, bins));
+        return new FitResult(family, parameters, getN(), kolmogorovSmirnov(cdf), andersonDarling(cdf),
+                chiSquare(family, parameters, (int) bins), (int) bins);
+    }
+
+    /**
+     * Fit all families that can be fitted to the registered observations.
+     * @return the fit results, ordered from the smallest to the largest Anderson-Darling statistic
+     */
+    public List<FitResult> fitAll()
+    {
+        List<FitResult> results = new ArrayList<>();
+        for (FitFamily family : FitFamily.values())
+        {
+            if (isFittable(family))
+            {
+                results.add(fit(family));
+            }
+        }
+        results.sort(Comparator.comparingDouble(FitResult::getAndersonDarling));
+        return results;
+    }
+
+    /**
+     * Calculate the Kolmogorov-Smirnov statistic. The empirical distribution of the grid is linear in F(x) between two grid
+     * points, so the largest difference is found at a grid point.
+     * @param cdf the fitted cumulative probabilities of the grid points
+     * @return the Kolmogorov-Smirnov statistic
+     */
+    private static double kolmogorovSmirnov(final double[] cdf)
+    {
+        double d = 0.0;
+        for (int i = 0; i <= GRID_SIZE; i++)
+        {
+            d = Math.max(d, Math.abs((double) i / GRID_SIZE - cdf[i]));
+        }
+        return d;
+    }
+
+    /**
+     * Calculate the Anderson-Darling statistic A&sup2; = n &int; (G - F)&sup2; / (F (1 - F)) dF, where G is the empirical
+     * distribution of the grid, which is taken linear in F between two grid points. The tails below the minimum and above the
+     * maximum are integrated in closed form. Between two grid points, the integral is calculated in closed form when F changes
+     * by more than a factor 2, and with 3-point Gauss-Legendre quadrature otherwise, where the closed form would suffer from
+     * cancellation.
+     * @param cdf the fitted cumulative probabilities of the grid points
+     * @return the Anderson-Darling statistic, or Infinity when an observation has a fitted cumulative probability of 0 or 1
+     *         in the open tails
+     */
+    private double andersonDarling(final double[] cdf)
+    {
+        double f0 = cdf[0];
+        double fm = cdf[GRID_SIZE];
+        if (f0 >= 1.0 || fm <= 0.0)
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        // G = 0 below the minimum and G = 1 above the maximum
+        double sum = -Math.log1p(-f0) - f0 - Math.log(fm) - (1.0 - fm);
+        for (int i = 0; i < GRID_SIZE; i++)
+        {
+            double fa = cdf[i];
+            double fb = cdf[i + 1];
+            double df = fb - fa;
+            if (!(df > 0.0))
+            {
+                continue;
+            }
+            double da = (double) i / GRID_SIZE - fa;
+            double db = (double) (i + 1) / GRID_SIZE - fb;
+            if (fb > 2.0 * fa || (1.0 - fa) > 2.0 * (1.0 - fb))
+            {
+                // closed form: with G - F = a + b F, (a + b F)^2 / (F (1 - F)) = a^2 / F + (a + b)^2 / (1 - F) - b^2,
+                // where a = G - F at F = 0 and c = a + b = G - F at F = 1 are extrapolated from the nearest end point
+                double b = (db - da) / df;
+                double a = da - b * fa;
+                double c = db + b * (1.0 - fb);
+                double left = fa > 0.0 ? a * a * Math.log(fb / fa) : (a == 0.0 ? 0.0 : Double.POSITIVE_INFINITY);
+                double right =
+                        fb < 1.0 ? c * c * Math.log((1.0 - fa) / (1.0 - fb)) : (c == 0.0 ? 0.0 : Double.POSITIVE_INFINITY);
+                sum += left + right - b * b * df;
+            }
+            else
+            {
+                for (int j = 0; j < 3; j++)
+                {
+                    double t = GAUSS_NODES[j];
+                    double d = da + (db - da) * t;
+                    double f = fa + df * t;
+                    sum += GAUSS_WEIGHTS[j] * df * d * d / (f * (1.0 - f));
+                }
+            }
+        }
+        return getN() * sum;
+    }
+
+    /**
+     * Calculate the chi-square statistic for bins with an equal number of observations, where the bin boundaries are the
+     * quantiles of the sketch. The first and last bin extend to minus and plus infinity.
+     * @param family the fitted family
+     * @param parameters the fitted parameters
+     * @param bins the number of bins
+     * @return the chi-square statistic, or Infinity when a bin has an expected count of 0
+     */
+    private double chiSquare(final FitFamily family, final double[] parameters, final int bins)
+    {
+        double[] grid = getQuantileGrid();
+        double observed = (double) getN() / bins;
+        double sum = 0.0;
+        double previous = 0.0;
+        for (int j = 1; j <= bins; j++)
+        {
+            double next = 1.0;
+            if (j < bins)
+            {
+                // the quantile at j / bins, interpolated in the grid
+                double index = (double) j * GRID_SIZE / bins;
+                int i = (int) index;
+                double x = grid[i] + (index - i) * (grid[Math.min(i + 1, GRID_SIZE)] - grid[i]);
+                next = family.getCumulativeProbability(x, parameters);
+            }
+            double expected = getN() * (next - previous);
+            if (!(expected > 0.0))
+            {
+                return Double.POSITIVE_INFINITY;
+            }
+            sum += (observed - expected) * (observed - expected) / expected;
+            previous = next;
+        }
+        return sum;
+    }
+
+    /**
+     * Return an interpolated empirical distribution with a given number of points, from the quantile sketch. The points are the
+     * quantiles at equidistant cumulative probabilities, where points with the same value are merged.
+     * @param points the number of points, at least 2
+     * @return the interpolated empirical distribution
+     * @throws IllegalArgumentException when points &lt; 2
+     * @throws IllegalStateException when there are less than 2 different observations
+     */
+    public InterpolatedEmpiricalDistribution getEmpiricalDistribution(final int points)
+    {
+        Throw.when(points < 2, IllegalArgumentException.class, "number of points should be at least 2, but is %d", points);
+        Throw.when(getN() < 2 || !(getMax() > getMin()), IllegalStateException.class,
+                "empirical distribution needs at least 2 different observations");
+        double[] values = new double[points];
+        double[] probabilities = new double[points];
+        int count = 0;
+        for (int i = 0; i < points; i++)
+        {
+            double p = (double) i / (points - 1);
+            double x = i == 0 ? getMin() : i == points - 1 ? getMax() : Math.min(getMax(), this.tally.getQuantile(p));
+            if (count > 0 && x <= values[count - 1])
+            {
+                // a value that does not increase is merged with the previous point, which gets the higher probability;
+                // the minimum keeps probability 0
+                if (count > 1)
+                {
+                    probabilities[count - 1] = p;
+                }
+                continue;
+            }
+            values[count] = x;
+            probabilities[count++] = p;
+        }
+        return CumulativeProbabilities.createInterpolatedDistribution(Arrays.copyOf(values, count),
+                Arrays.copyOf(probabilities, count));
+    }
+
+    /**
+     * Create an interpolated empirical distribution with a given number of points, from the quantile sketch.
+     * @param stream the random number stream
+     * @param points the number of points, at least 2
+     * @return the interpolated empirical distribution
+     * @throws IllegalArgumentException when points &lt; 2
+     * @throws IllegalStateException when there are less than 2 different observations
+     */
+    public DistEmpiricalInterpolated createEmpiricalDistribution(final StreamInterface stream, final int points)
+    {
+        return new DistEmpiricalInterpolated(stream, getEmpiricalDistribution(points));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DistributionFitter[n=" + getN() + ", skipped=" + this.numberSkipped + ", nonPositive=" + this.numberNonPositive
+                + ", min=" + getMin() + ", max=" + getMax() + ", mean=" + getMean() + ", stDev=" + getStDev() + "]";
+    }
+
+}
@@ -0,0 +1,289 @@
+package nl.tudelft.simulation.jstats.distributions.fitting;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.jstats.distributions.DistContinuous;
+import nl.tudelft.simulation.jstats.distributions.DistExponential;
+import nl.tudelft.simulation.jstats.distributions.DistGamma;
+import nl.tudelft.simulation.jstats.distributions.DistLogNormal;
+import nl.tudelft.simulation.jstats.distributions.DistNormal;
+import nl.tudelft.simulation.jstats.distributions.DistUniform;
+import nl.tudelft.simulation.jstats.distributions.DistWeibull;
+import nl.tudelft.simulation.jstats.math.ProbMath;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * The families of continuous distributions that can be fitted by the DistributionFitter. Each family estimates its parameters
+ * with maximum likelihood from the statistics of a DistributionFitter, calculates its cumulative probability, and creates the
+ * corresponding DistContinuous. The parameters are in the order of the constructor of the DistContinuous.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public enum FitFamily
+{
+    /** Exponential distribution with parameter mean; the MLE is the sample mean. */
+    EXPONENTIAL(true, "mean")
+    {
+        @Override
+        double[] estimate(final DistributionFitter fitter)
+        {
+            return new double[] {fitter.getMean()};
+        }
+
+        @Override
+        public double getCumulativeProbability(final double x, final double... parameters)
+        {
+            return x <= 0.0 ? 0.0 : -Math.expm1(-x / parameters[0]);
+        }
+
+        @Override
+        public DistContinuous createDistribution(final StreamInterface stream, final double... parameters)
+        {
+            return new DistExponential(stream, parameters[0]);
+        }
+    },
+
+    /** Normal distribution with parameters mu and sigma; the MLE is the mean and the population standard deviation. */
+    NORMAL(false, "mu", "sigma")
+    {
+        @Override
+        double[] estimate(final DistributionFitter fitter)
+        {
+            return new double[] {fitter.getMean(), fitter.getStDev()};
+        }
+
+        @Override
+        public double getCumulativeProbability(final double x, final double... parameters)
+        {
+            return 0.5 * ProbMath.erfc((parameters[0] - x) / (parameters[1] * Math.sqrt(2.0)));
+        }
+
+        @Override
+        public DistContinuous createDistribution(final StreamInterface stream, final double... parameters)
+        {
+            return new DistNormal(stream, parameters[0], parameters[1]);
+        }
+    },
+
+    /**
+     * LogNormal distribution with parameters mu and sigma of the underlying normal distribution; the MLE is the mean and the
+     * population standard deviation of ln(x).
+     */
+    LOGNORMAL(true, "mu", "sigma")
+    {
+        @Override
+        double[] estimate(final DistributionFitter fitter)
+        {
+            return new double[] {fitter.getLogMean(), fitter.getLogStDev()};
+        }
+
+        @Override
+        public double getCumulativeProbability(final double x, final double... parameters)
+        {
+            return x <= 0.0 ? 0.0 : NORMAL.getCumulativeProbability(Math.log(x), parameters);
+        }
+
+        @Override
+        public DistContinuous createDistribution(final StreamInterface stream, final double... parameters)
+        {
+            return new DistLogNormal(stream, parameters[0], parameters[1]);
+        }
+    },
+
+    /**
+     * Gamma distribution with parameters shape k and scale &theta;. The MLE of the shape solves ln(k) - &psi;(k) = ln(mean) -
+     * mean(ln(x)) with Newton's method, starting from the approximation of Minka; the scale is mean / k.
+     */
+    GAMMA(true, "shape", "scale")
+    {
+        @Override
+        double[] estimate(final DistributionFitter fitter)
+        {
+            double mean = fitter.getMean();
+            double s = Math.log(mean) - fitter.getLogMean();
+            Throw.when(!(s > 0.0), IllegalStateException.class, "Gamma fit: ln(mean) - mean(ln(x)) is not positive");
+            double k = (3.0 - s + Math.sqrt((s - 3.0) * (s - 3.0) + 24.0 * s)) / (12.0 * s);
+            for (int i = 0; i < 100; i++)
+            {
+                double step = (Math.log(k) - ProbMath.digamma(k) - s) / (1.0 / k - ProbMath.trigamma(k));
+                k = step < k ? k - step : 0.5 * k;
+                if (Math.abs(step) < 1.0E-14 * k)
+                {
+                    break;
+                }
+            }
+            return new double[] {k, mean / k};
+        }
+
+        @Override
+        public double getCumulativeProbability(final double x, final double... parameters)
+        {
+            return x <= 0.0 ? 0.0 : ProbMath.incompleteGammaP(parameters[0], x / parameters[1]);
+        }
+
+        @Override
+        public DistContinuous createDistribution(final StreamInterface stream, final double... parameters)
+        {
+            return new DistGamma(stream, parameters[0], parameters[1]);
+        }
+    },
+
+    /**
+     * Weibull distribution with parameters shape &alpha; and scale &beta;. The MLE of the shape solves E[x<sup>&alpha;</sup>
+     * ln(x)] / E[x<sup>&alpha;</sup>] - 1 / &alpha; = mean(ln(x)) with Newton's method, and the scale is
+     * E[x<sup>&alpha;</sup>]<sup>1/&alpha;</sup>. The expectations of the powers of x are integrated over the quantile
+     * function of the sketch, since they cannot be accumulated in one pass without knowing &alpha;.
+     */
+    WEIBULL(true, "shape", "scale")
+    {
+        @Override
+        double[] estimate(final DistributionFitter fitter)
+        {
+            double[] grid = fitter.getQuantileGrid();
+            int m = grid.length - 1;
+            double max = grid[m];
+            double[] lnz = new double[m + 1];
+            for (int i = 0; i <= m; i++)
+            {
+                lnz[i] = Math.log(grid[i] / max);
+            }
+            // the equation is invariant for the scaling of x by max, which prevents overflow of x^alpha
+            double meanLnz = fitter.getLogMean() - Math.log(max);
+            double alpha = 1.2825 / fitter.getLogStDev();
+            double sumZ = 1.0;
+            for (int iteration = 0; iteration < 100; iteration++)
+            {
+                // trapezoidal integration over the cumulative probability, with z^alpha ln(z)^j for j = 0, 1, 2
+                double s0 = 0.0;
+                double s1 = 0.0;
+                double s2 = 0.0;
+                for (int i = 0; i <= m; i++)
+                {
+                    double w = (i == 0 || i == m) ? 0.5 : 1.0;
+                    double za = w * Math.exp(alpha * lnz[i]);
+                    s0 += za;
+                    s1 += za * lnz[i];
+                    s2 += za * lnz[i] * lnz[i];
+                }
+                sumZ = s0 / m;
+                double ratio = s1 / s0;
+                double h = ratio - 1.0 / alpha - meanLnz;
+                double dh = s2 / s0 - ratio * ratio + 1.0 / (alpha * alpha);
+                double step = h / dh;
+                alpha = step < alpha ? alpha - step : 0.5 * alpha;
+                if (Math.abs(step) < 1.0E-12 * alpha)
+                {
+                    break;
+                }
+            }
+            return new double[] {alpha, max * Math.pow(sumZ, 1.0 / alpha)};
+        }
+
+        @Override
+        public double getCumulativeProbability(final double x, final double... parameters)
+        {
+            return x <= 0.0 ? 0.0 : -Math.expm1(-Math.pow(x / parameters[1], parameters[0]));
+        }
+
+        @Override
+        public DistContinuous createDistribution(final StreamInterface stream, final double... parameters)
+        {
+            return new DistWeibull(stream, parameters[0], parameters[1]);
+        }
+    },
+
+    /** Uniform distribution with parameters min and max; the MLE is the minimum and the maximum of the observations. */
+    UNIFORM(false, "min", "max")
+    {
+        @Override
+        double[] estimate(final DistributionFitter fitter)
+        {
+            return new double[] {fitter.getMin(), fitter.getMax()};
+        }
+
+        @Override
+        public double getCumulativeProbability(final double x, final double... parameters)
+        {
+            return Math.max(0.0, Math.min(1.0, (x - parameters[0]) / (parameters[1] - parameters[0])));
+        }
+
+        @Override
+        public DistContinuous createDistribution(final StreamInterface stream, final double... parameters)
+        {
+            return new DistUniform(stream, parameters[0], parameters[1]);
+        }
+    };
+
+    /** whether the family is only defined for positive observations. */
+    private final boolean positive;
+
+    /** the names of the parameters. */
+    private final String[] parameterNames;
+
+    /**
+     * Create a family.
+     * @param positive whether the family is only defined for positive observations
+     * @param parameterNames the names of the parameters
+     */
+    FitFamily(final boolean positive, final String... parameterNames)
+    {
+        this.positive = positive;
+        this.parameterNames = parameterNames;
+    }
+
+    /**
+     * Return whether the family is only defined for positive observations.
+     * @return whether the family is only defined for positive observations
+     */
+    public boolean isPositive()
+    {
+        return this.positive;
+    }
+
+    /**
+     * Return the number of parameters of the family.
+     * @return the number of parameters of the family
+     */
+    public int getNumberOfParameters()
+    {
+        return this.parameterNames.length;
+    }
+
+    /**
+     * Return the names of the parameters of the family.
+     * @return the names of the parameters, in the order of the constructor of the distribution
+     */
+    public String[] getParameterNames()
+    {
+        return this.parameterNames.clone();
+    }
+
+    /**
+     * Estimate the parameters of the family from the statistics of a fitter.
+     * @param fitter the fitter with the observations
+     * @return the maximum likelihood estimates of the parameters
+     */
+    abstract double[] estimate(DistributionFitter fitter);
+
+    /**
+     * Return the cumulative probability of x for a distribution of this family.
+     * @param x the value
+     * @param parameters the parameters of the distribution
+     * @return the cumulative probability of x
+     */
+    public abstract double getCumulativeProbability(double x, double... parameters);
+
+    /**
+     * Create a distribution of this family.
+     * @param stream the random number stream
+     * @param parameters the parameters of the distribution
+     * @return the distribution
+     */
+    public abstract DistContinuous createDistribution(StreamInterface stream, double... parameters);
+
+}
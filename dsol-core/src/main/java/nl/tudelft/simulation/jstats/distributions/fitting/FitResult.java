@@ -0,0 +1,192 @@
+package nl.tudelft.simulation.jstats.distributions.fitting;
+
+import nl.tudelft.simulation.jstats.distributions.DistContinuous;
+import nl.tudelft.simulation.jstats.math.ProbMath;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * The result of fitting a family of distributions to the observations of a DistributionFitter: the estimated parameters and
+ * the Kolmogorov-Smirnov, Anderson-Darling and chi-square goodness-of-fit statistics. The statistics are calculated against
+ * the quantile sketch of the fitter rather than against the individual observations; they are accurate enough to rank the
+ * families and to reject poor fits, but the p-values should be read as approximations for large numbers of observations.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class FitResult
+{
+    /** the fitted family. */
+    private final FitFamily family;
+
+    /** the estimated parameters. */
+    private final double[] parameters;
+
+    /** the number of observations. */
+    private final long n;
+
+    /** the Kolmogorov-Smirnov statistic D = sup |F<sub>n</sub>(x) - F(x)|. */
+    private final double kolmogorovSmirnov;
+
+    /** the Anderson-Darling statistic A&sup2;. */
+    private final double andersonDarling;
+
+    /** the chi-square statistic. */
+    private final double chiSquare;
+
+    /** the number of bins of the chi-square statistic. */
+    private final int chiSquareBins;
+
+    /**
+     * Create a fit result.
+     * @param family the fitted family
+     * @param parameters the estimated parameters
+     * @param n the number of observations
+     * @param kolmogorovSmirnov the Kolmogorov-Smirnov statistic
+     * @param andersonDarling the Anderson-Darling statistic
+     * @param chiSquare the chi-square statistic
+     * @param chiSquareBins the number of bins of the chi-square statistic
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    FitResult(final FitFamily family, final double[] parameters, final long n, final double kolmogorovSmirnov,
+            final double andersonDarling, final double chiSquare, final int chiSquareBins)
+    {
+        this.family = family;
+        this.parameters = parameters;
+        this.n = n;
+        this.kolmogorovSmirnov = kolmogorovSmirnov;
+        this.andersonDarling = andersonDarling;
+        this.chiSquare = chiSquare;
+        this.chiSquareBins = chiSquareBins;
+    }
+
+    /**
+     * Return the fitted family.
+     * @return the fitted family
+     */
+    public FitFamily getFamily()
+    {
+        return this.family;
+    }
+
+    /**
+     * Return the estimated parameters, in the order of FitFamily.getParameterNames().
+     * @return a copy of the estimated parameters
+     */
+    public double[] getParameters()
+    {
+        return this.parameters.clone();
+    }
+
+    /**
+     * Return the number of observations the parameters have been estimated from.
+     * @return the number of observations
+     */
+    public long getN()
+    {
+        return this.n;
+    }
+
+    /**
+     * Return the Kolmogorov-Smirnov statistic D = sup |F<sub>n</sub>(x) - F(x)|.
+     * @return the Kolmogorov-Smirnov statistic
+     */
+    public double getKolmogorovSmirnov()
+    {
+        return this.kolmogorovSmirnov;
+    }
+
+    /**
+     * Return the Anderson-Darling statistic A&sup2; = n &int; (F<sub>n</sub>(x) - F(x))&sup2; / (F(x) (1 - F(x))) dF(x).
+     * @return the Anderson-Darling statistic
+     */
+    public double getAndersonDarling()
+    {
+        return this.andersonDarling;
+    }
+
+    /**
+     * Return the chi-square statistic for bins with an equal number of observations.
+     * @return the chi-square statistic
+     */
+    public double getChiSquare()
+    {
+        return this.chiSquare;
+    }
+
+    /**
+     * Return the number of bins of the chi-square statistic.
+     * @return the number of bins of the chi-square statistic
+     */
+    public int getChiSquareBins()
+    {
+        return this.chiSquareBins;
+    }
+
+    /**
+     * Return the degrees of freedom of the chi-square statistic: the number of bins minus one minus the number of estimated
+     * parameters.
+     * @return the degrees of freedom of the chi-square statistic
+     */
+    public int getChiSquareDegreesOfFreedom()
+    {
+        return this.chiSquareBins - 1 - this.family.getNumberOfParameters();
+    }
+
+    /**
+     * Return the p-value of the chi-square statistic, i.e., the probability of a larger statistic when the observations come
+     * from the fitted distribution.
+     * @return the p-value of the chi-square statistic, or NaN when there are no degrees of freedom
+     */
+    public double getChiSquarePValue()
+    {
+        int df = getChiSquareDegreesOfFreedom();
+        if (df < 1)
+        {
+            return Double.NaN;
+        }
+        if (Double.isInfinite(this.chiSquare))
+        {
+            return 0.0;
+        }
+        return ProbMath.incompleteGammaQ(0.5 * df, 0.5 * this.chiSquare);
+    }
+
+    /**
+     * Return the cumulative probability of x for the fitted distribution.
+     * @param x the value
+     * @return the cumulative probability of x for the fitted distribution
+     */
+    public double getCumulativeProbability(final double x)
+    {
+        return this.family.getCumulativeProbability(x, this.parameters);
+    }
+
+    /**
+     * Create the fitted distribution.
+     * @param stream the random number stream
+     * @return the fitted distribution
+     */
+    public DistContinuous createDistribution(final StreamInterface stream)
+    {
+        return this.family.createDistribution(stream, this.parameters);
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder s = new StringBuilder("FitResult[").append(this.family).append('(');
+        String[] names = this.family.getParameterNames();
+        for (int i = 0; i < names.length; i++)
+        {
+            s.append(i == 0 ? "" : ", ").append(names[i]).append('=').append(this.parameters[i]);
+        }
+        return s.append("), n=").append(this.n).append(", KS=").append(this.kolmogorovSmirnov).append(", AD=")
+                .append(this.andersonDarling).append(", chi2=").append(this.chiSquare).append(" (df=")
+                .append(getChiSquareDegreesOfFreedom()).append(")]").toString();
+    }
+
+}
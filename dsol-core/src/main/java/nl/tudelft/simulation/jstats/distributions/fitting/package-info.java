@@ -0,0 +1,12 @@
+/**
+ * Streaming maximum likelihood fitting of continuous distributions, with goodness-of-fit statistics and bounded-memory
+ * empirical distributions, for observation sets that are too large to keep in memory.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+package nl.tudelft.simulation.jstats.distributions.fitting;
@@ -1,7 +1,9 @@
 package nl.tudelft.simulation.jstats.distributions.unit;
 
 import org.djunits.unit.Unit;
+import org.djunits.unit.scale.Scale;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
+import org.djutils.exceptions.Throw;
 
 import nl.tudelft.simulation.jstats.distributions.Dist;
 import nl.tudelft.simulation.jstats.distributions.DistContinuous;
@@ -44,6 +46,49 @@ public abstract class DistContinuousUnit<U extends Unit<U>, S extends DoubleScal
      */
     public abstract S draw();
 
+    /**
+     * draws the next stream value according to the probability of this distribution, and returns it as a primitive double in
+     * SI units. The value is the same as draw().getSI(), but no scalar is instantiated.
+     * @return the next value drawn, in SI units
+     */
+    public double drawSI()
+    {
+        return this.unit.getScale().toStandardUnit(this.wrappedDistribution.draw());
+    }
+
+    /**
+     * fills an array with the next stream values according to the probability of this distribution, in SI units.
+     * @param values the array to fill
+     * @throws NullPointerException when values is null
+     */
+    public void drawSI(final double[] values)
+    {
+        Throw.whenNull(values, "values");
+        drawSI(values, 0, values.length);
+    }
+
+    /**
+     * fills a part of an array with the next stream values according to the probability of this distribution, in SI units.
+     * The values are drawn in the same order as successive calls of drawSI().
+     * @param values the array to fill
+     * @param offset the index of the first value to fill
+     * @param length the number of values to fill
+     * @throws NullPointerException when values is null
+     * @throws IndexOutOfBoundsException when offset or length is negative, or offset + length &gt; values.length
+     */
+    public void drawSI(final double[] values, final int offset, final int length)
+    {
+        Throw.whenNull(values, "values");
+        Throw.when(offset < 0 || length < 0 || offset > values.length - length, IndexOutOfBoundsException.class,
+                "drawSI: offset %d and length %d out of bounds for array of length %d", offset, length, values.length);
+        Scale scale = this.unit.getScale();
+        DistContinuous dist = this.wrappedDistribution;
+        for (int i = offset; i < offset + length; i++)
+        {
+            values[i] = scale.toStandardUnit(dist.draw());
+        }
+    }
+
     /**
      * returns the probability density for a value scalar.
      * @param scalar the value for which to calculate the probability density.
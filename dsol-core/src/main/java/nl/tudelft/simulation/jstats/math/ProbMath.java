@@ -238,218 +238,404 @@ public final class ProbMath
         return fac(n) / (fac(k) * fac(n - k));
     }
 
+    /** 2 / &radic;&pi;. */
+    private static final double TWO_OVER_SQRT_PI = 1.1283791670955126;
+
+    /** ln(2&pi;) / 2. */
+    private static final double HALF_LN_2PI = 0.9189385332046728;
+
+    /** &radic;(2&pi;). */
+    private static final double SQRT_2PI = 2.5066282746310007;
+
+    /** ln(&radic;&pi;). */
+    private static final double LN_SQRT_PI = 0.5723649429247001;
+
+    /** erf(x) / x as a polynomial in x<sup>2</sup> for |x| &lt; 0.5. */
+    private static final double[] ERF_SMALL = {
+            1.1283791670955126, -0.37612638903183476, 0.11283791670925457, -0.026866170632921085, 0.005223977373542183,
+            -0.0008548297798086192, 0.00012053337222877719, -1.4845900896375835E-5, 1.4726381680017032E-6};
+
+    /** erfc(x) exp(x<sup>2</sup>) as a polynomial in (x - 0.875) for 0.5 &lt;= x &lt; 1.25. */
+    private static final double[] ERFC_A = {
+            0.464311583202669, -0.31583389649084265, 0.18795692377318346, -0.10091439212598892, 0.0498284153312219,
+            -0.02292581150105858, 0.009922776769602204, -0.004069537102832779, 0.001590482581443152, -0.0005950908550795795,
+            0.00021396107124294823, -7.406800052516042E-5, 2.4813850229693658E-5, -8.486697997489343E-6, 2.6756952854780372E-6};
+
+    /** erfc(x) exp(x<sup>2</sup>) as a polynomial in (x - 1.625) for 1.25 &lt;= x &lt; 2. */
+    private static final double[] ERFC_B = {
+            0.30226120936348594, -0.14603023666418338, 0.06496207478417831, -0.026977910093244493, 0.010561485442425382,
+            -0.003926198501007339, 0.001393804245898951, -0.0004746475592719168, 0.00015562644336908961, -4.927947820023846E-5,
+            1.509951448066952E-5, -4.492614693555404E-6, 1.3512878573243187E-6, -3.8105852915293737E-7};
+
+    /** erfc(x) exp(x<sup>2</sup>) as a polynomial in (x - 2.75) for 2 &lt;= x &lt; 3.5. */
+    private static final double[] ERFC_C = {
+            0.1936620962790687, -0.06323763756063479, 0.019758592987322816, -0.005934337897002189, 0.0017195818852915772,
+            -0.000482195084876445, 0.00013118180048740912, -3.469861074333704E-5, 8.940156440085003E-6, -2.2473665541851265E-6,
+            5.519738157806502E-7, -1.326484199528715E-7, 3.121532357258443E-8, -7.156431677048143E-9, 1.619448401543933E-9,
+            -4.056922504722052E-10, 8.889061902113172E-11};
+
+    /** erfc(x) exp(x<sup>2</sup>) as a polynomial in (x - 4.75) for 3.5 &lt;= x &lt; 6. */
+    private static final double[] ERFC_D = {
+            0.11630270721024731, -0.023503448598163154, 0.004661326368972148, -0.0009080988970295833, 0.00017392830404391733,
+            -3.2775781135836716E-5, 6.081114529027188E-6, -1.1115677139402986E-6, 2.0029203994947252E-7,
+            -3.5595764210538954E-8, 6.242305645155499E-9, -1.080733507824497E-9, 1.849413814974118E-10,
+            -3.1249111563613565E-11, 5.127899792011588E-12, -8.454970482639761E-13, 1.6895055794507924E-13,
+            -2.7467827302911154E-14};
+
+    /** x erfc(x) exp(x<sup>2</sup>) as a polynomial in (1/x<sup>2</sup> - 1/72) for x &gt;= 6. */
+    private static final double[] ERFC_E = {
+            0.5603505205560211, -0.2709161908615832, 0.38294925015705494, -0.8800565747958802, 2.764369990845628,
+            -10.908404816996082, 51.443889582586976, -280.4756433690077, 1727.7192888478114, -12218.16660732173,
+            92398.19289237677};
+
+    /** erf<sup>-1</sup>(y) / y as a polynomial in y<sup>2</sup> for |y| &lt;= 0.5. */
+    private static final double[] ERF_INV_SMALL = {
+            0.886226925452758, 0.23201366653465413, 0.1275561753057083, 0.08655212922868404, 0.06495961852901483,
+            0.051731253306841384, 0.04283740347363704, 0.036454827486340644, 0.03181583295152348, 0.026948387248592724,
+            0.03101092747421132, -0.0017967450327210238, 0.0879612404879073, -0.09736287546380858, 0.12057541715794931};
+
+    /** ln(&Gamma;(2 + t)) / t as a polynomial in t for -0.5 &lt;= t &lt;= 0.5. */
+    private static final double[] GAMMALN_2 = {
+            0.42278433509846713, 0.32246703342411326, -0.06735230105319814, 0.020580808427780335, -0.007385551028668096,
+            0.002890510331036772, -0.0011927539120033873, 0.0005096695153484373, -0.00022315475069647703, 9.945767440096764E-5,
+            -4.492635166770342E-5, 2.0505584372896933E-5, -9.438454884054723E-6, 4.3847319318293745E-6, -2.044935323180052E-6,
+            9.199898075671394E-7, -4.303234692956732E-7, 2.7880013392491846E-7, -1.341570273460026E-7};
+
+    /** Coefficients B<sub>2k</sub> / (2k (2k - 1)) of the Stirling series for ln(&Gamma;(x)), in powers of 1/x<sup>2</sup>. */
+    private static final double[] STIRLING = {
+            0.08333333333333333, -0.002777777777777778, 0.0007936507936507937, -0.0005952380952380953, 0.0008417508417508417,
+            -0.0019175269175269176, 0.00641025641025641, -0.029550653594771242, 0.17964437236883057, -1.3924322169059011};
+
+    /** Relative accuracy of the series and continued fractions for the incomplete gamma and beta functions. */
+    private static final double EPSILON = 1.0E-15;
+
+    /** Number close to the smallest double, to avoid a division by zero in the modified Lentz algorithm. */
+    private static final double FPMIN = 1.0E-300;
+
+    /** Maximum number of iterations of the series and continued fractions for the incomplete gamma and beta functions. */
+    private static final int MAX_ITERATIONS = 10000;
+
     /**
-     * Approximates erf(z) using a Taylor series.<br>
-     * The Taylor series for erf(z) for abs(z) <u>&lt;</u> 0.5 that is used is:<br>
-     * &nbsp; &nbsp; erf(z) = (exp(-z<sup>2</sup>) / &radic;&pi;) &Sigma; [ 2z<sup>2n + 1</sup> / (2n + 1)!!]<br>
-     * The Taylor series for erf(z) for abs(z) &gt; 3.7 that is used is:<br>
-     * &nbsp; &nbsp; erf(z) = 1 - (exp(-z<sup>2</sup>) / &radic;&pi;) &Sigma; [ (-1)<sup>n</sup> (2n - 1)!! z<sup>-(2n +
-     * 1)</sup> / 2<sup>n</sup>]<br>
-     * See <a href="https://mathworld.wolfram.com/Erf.html">https://mathworld.wolfram.com/Erf.html</a>. <br>
-     * For 0.5 &lt; z &lt; 3.7 it approximates erf(z) using the following Taylor series:<br>
-     * &nbsp; &nbsp; erf(z) = (2/&radic;&pi;) (z - z<sup>3</sup>/3 + z<sup>5</sup>/10 - z<sup>7</sup>/42 + z<sup>9</sup>/216 -
-     * ...)<br>
-     * The factors are given by <a href="https://oeis.org/A007680">https://oeis.org/A007680</a>, which evaluates to a(n) =
-     * (2n+1)n!. See <a href="https://en.wikipedia.org/wiki/Error_function">https://en.wikipedia.org/wiki/Error_function</a>.
-     * @param z the value to calculate the error function for
-     * @return erf(z)
+     * Calculates the error function erf(x) = (2/&radic;&pi;) &int;<sub>0</sub><sup>x</sup> exp(-t<sup>2</sup>) dt. For |x|
+     * &lt; 0.5, erf(x) / x is approximated by a polynomial in x<sup>2</sup>; for larger values erf(x) = 1 - erfc(|x|) with the
+     * sign of x. The polynomials are near-minimax (truncated Chebyshev) fits, and the relative error is a few ulp over the
+     * whole domain. See <a href="https://en.wikipedia.org/wiki/Error_function">Error function</a>.
+     * @param x the value to calculate the error function for
+     * @return erf(x)
      */
-    public static double erf(final double z)
+    public static double erf(final double x)
     {
-        double zpos = Math.abs(z);
-        if (zpos < 0.5)
+        double ax = Math.abs(x);
+        if (ax < 0.5)
         {
-            return erfSmall(z);
+            return x * polynomial(ERF_SMALL, x * x);
         }
-        if (zpos > 3.8)
+        return Math.copySign(1.0 - erfcPositive(ax), x);
+    }
+
+    /**
+     * Calculates the complementary error function erfc(x) = 1 - erf(x), without the cancellation of 1 - erf(x) for large x.
+     * For x &gt;= 0.5, erfc(x) = exp(-x<sup>2</sup>) g(x) where g is approximated by a polynomial on four intervals up to x =
+     * 6, and by a polynomial in 1/x<sup>2</sup> beyond x = 6. The relative error is a few ulp until erfc(x) underflows for x
+     * &gt; 26.5. For negative x, erfc(x) = 2 - erfc(-x).
+     * @param x the value to calculate the complementary error function for
+     * @return erfc(x)
+     */
+    public static double erfc(final double x)
+    {
+        double ax = Math.abs(x);
+        if (ax < 0.5)
         {
-            return erfBig(z);
+            return 1.0 - x * polynomial(ERF_SMALL, x * x);
         }
-        return erfTaylor(z);
+        double r = erfcPositive(ax);
+        return x > 0.0 ? r : 2.0 - r;
     }
 
     /**
-     * The Taylor series for erf(z) for abs(z) <u>&lt;</u> 0.5 that is used is:<br>
-     * &nbsp; &nbsp; erf(z) = (exp(-z<sup>2</sup>) / &radic;&pi;) &Sigma; [ 2z<sup>2n + 1</sup> / (2n + 1)!!]<br>
-     * where the !! operator is the 'double factorial' operator which is (n).(n-2)...8.4.2 for even n, and (n).(n-2)...3.5.1 for
-     * odd n. See <a href="https://mathworld.wolfram.com/Erf.html">https://mathworld.wolfram.com/Erf.html</a> formula (9) and
-     * (10). This function would work well for z <u>&lt;</u> 0.5.
-     * @param z the parameter
-     * @return erf(x)
+     * Calculate erfc(x) for x &gt;= 0.5 as exp(-x<sup>2</sup>) g(x), where g(x) = erfc(x) exp(x<sup>2</sup>) is smooth and
+     * slowly decreasing.
+     * @param x the argument, at least 0.5
+     * @return erfc(x)
      */
-    private static double erfSmall(final double z)
-    {
-        double zpos = Math.abs(z);
-        // @formatter:off
-        double sum = zpos 
-                + 2.0 * Math.pow(zpos, 3) / 3.0 
-                + 4.0 * Math.pow(zpos, 5) / 15.0 
-                + 8.0 * Math.pow(zpos, 7) / 105.0
-                + 16.0 * Math.pow(zpos, 9) / 945.0 
-                + 32.0 * Math.pow(zpos, 11) / 10395.0
-                + 64.0 * Math.pow(zpos, 13) / 135135.0 
-                + 128.0 * Math.pow(zpos, 15) / 2027025.0
-                + 256.0 * Math.pow(zpos, 17) / 34459425.0 
-                + 512.0 * Math.pow(zpos, 19) / 654729075.0
-                + 1024.0 * Math.pow(zpos, 21) / 13749310575.0;
-        // @formatter:on
-        return Math.signum(z) * sum * 2.0 * Math.exp(-zpos * zpos) / Math.sqrt(Math.PI);
-    }
-
-    /**
-     * Calculate erf(z) for large values using the Taylor series:<br>
-     * &nbsp; &nbsp; erf(z) = 1 - (exp(-z<sup>2</sup>) / &radic;&pi;) &Sigma; [ (-1)<sup>n</sup> (2n - 1)!! z<sup>-(2n +
-     * 1)</sup> / 2<sup>n</sup>]<br>
-     * where the !! operator is the 'double factorial' operator which is (n).(n-2)...8.4.2 for even n, and (n).(n-2)...3.5.1 for
-     * odd n. See <a href="https://mathworld.wolfram.com/Erf.html">https://mathworld.wolfram.com/Erf.html</a> formula (18) to
-     * (20). This function would work well for z <u>&gt;</u> 3.7.
-     * @param z the argument
-     * @return erf(z)
-     */
-    private static double erfBig(final double z)
-    {
-        double zpos = Math.abs(z);
-        // @formatter:off
-        double sum = 1.0 / zpos 
-                - (1.0 / 2.0) * Math.pow(zpos, -3) 
-                + (3.0 / 4.0) * Math.pow(zpos, -5)
-                - (15.0 / 8.0) * Math.pow(zpos, -7) 
-                + (105.0 / 16.0) * Math.pow(zpos, -9) 
-                - (945.0 / 32.0) * Math.pow(zpos, -11)
-                + (10395.0 / 64.0) * Math.pow(zpos, -13) 
-                - (135135.0 / 128.0) * Math.pow(zpos, -15)
-                + (2027025.0 / 256.0) * Math.pow(zpos, -17);
-        // @formatter:on
-        return Math.signum(z) * (1.0 - sum * Math.exp(-zpos * zpos) / Math.sqrt(Math.PI));
-    }
-
-    /**
-     * Calculate erf(z) using the Taylor series:<br>
-     * &nbsp; &nbsp; erf(z) = (2/&radic;&pi;) (z - z<sup>3</sup>/3 + z<sup>5</sup>/10 - z<sup>7</sup>/42 + z<sup>9</sup>/216 -
-     * ...)<br>
-     * The factors are given by <a href="https://oeis.org/A007680">https://oeis.org/A007680</a>, which evaluates to a(n) =
-     * (2n+1)n!. See <a href="https://en.wikipedia.org/wiki/Error_function">https://en.wikipedia.org/wiki/Error_function</a>.
-     * This works pretty well on the interval [0.5,3.7].
-     * @param z the argument
-     * @return erf(z)
-     */
-    private static double erfTaylor(final double z)
-    {
-        double zpos = Math.abs(z);
-        double d = zpos;
-        double zpow = zpos;
-        for (int i = 1; i < 64; i++) // max 64 steps
-        {
-            // calculate Math.pow(zpos, 2 * i + 1) / ((2 * i + 1) * factorial(i));
-            zpow *= zpos * zpos;
-            double term = zpow / ((2.0 * i + 1.0) * ProbMath.factorial(i));
-            d += term * ((i & 1) == 0 ? 1 : -1);
-            if (term < 1E-16)
-            {
-                break;
-            }
+    private static double erfcPositive(final double x)
+    {
+        if (x > 27.5)
+        {
+            return 0.0;
         }
-        return Math.signum(z) * d * 2.0 / Math.sqrt(Math.PI);
+        return expMinusSquare(x) * erfcScaled(x);
     }
 
     /**
-     * Approximates erf<sup>-1</sup>(p) based on
-     * <a href="http://www.naic.edu/~jeffh/inverse_cerf.c">http://www.naic.edu/~jeffh/inverse_cerf.c</a> code.
-     * @param y the cumulative probability to calculate the inverse error function for
-     * @return erf<sup>-1</sup>(p)
+     * Calculate the scaled complementary error function g(x) = erfc(x) exp(x<sup>2</sup>) for x &gt;= 0.5.
+     * @param x the argument, at least 0.5
+     * @return erfc(x) exp(x<sup>2</sup>)
      */
-    public static double erfInv(final double y)
+    private static double erfcScaled(final double x)
     {
-        double ax, t, ret;
-        ax = Math.abs(y);
-
-        /*
-         * This approximation, taken from Table 10 of Blair et al., is valid for |x|<=0.75 and has a maximum relative error of
-         * 4.47 x 10^-8.
-         */
-        if (ax <= 0.75)
+        if (x < 1.25)
+        {
+            return polynomial(ERFC_A, x - 0.875);
+        }
+        if (x < 2.0)
+        {
+            return polynomial(ERFC_B, x - 1.625);
+        }
+        if (x < 3.5)
+        {
+            return polynomial(ERFC_C, x - 2.75);
+        }
+        if (x < 6.0)
         {
+            return polynomial(ERFC_D, x - 4.75);
+        }
+        return polynomial(ERFC_E, 1.0 / (x * x) - 1.0 / 72.0) / x;
+    }
 
-            double[] p = new double[] {-13.0959967422, 26.785225760, -9.289057635};
-            double[] q = new double[] {-12.0749426297, 30.960614529, -17.149977991, 1.00000000};
+    /**
+     * Calculate exp(-x<sup>2</sup>) without the loss of accuracy caused by the rounding of x<sup>2</sup>, which is up to
+     * x<sup>2</sup> ulp in the result. The rounding error of x<sup>2</sup> is calculated exactly with Dekker's product of the
+     * high and low 26 bits of x, and corrected with exp(-x<sup>2</sup> - e) = exp(-x<sup>2</sup>) (1 - e).
+     * @param x the argument
+     * @return exp(-x<sup>2</sup>)
+     */
+    private static double expMinusSquare(final double x)
+    {
+        double x2 = x * x;
+        double hi = Double.longBitsToDouble(Double.doubleToRawLongBits(x) & 0xFFFFFFFFF8000000L);
+        double lo = x - hi;
+        double err = ((hi * hi - x2) + 2.0 * hi * lo) + lo * lo;
+        return Math.exp(-x2) * (1.0 - err);
+    }
 
-            t = ax * ax - 0.75 * 0.75;
-            ret = ax * (p[0] + t * (p[1] + t * p[2])) / (q[0] + t * (q[1] + t * (q[2] + t * q[3])));
+    /**
+     * Evaluate the polynomial c[0] + c[1] t + c[2] t<sup>2</sup> + ... with Horner's rule.
+     * @param c the coefficients, starting with the constant term
+     * @param t the argument
+     * @return the value of the polynomial in t
+     */
+    private static double polynomial(final double[] c, final double t)
+    {
+        double r = c[c.length - 1];
+        for (int i = c.length - 2; i >= 0; i--)
+        {
+            r = r * t + c[i];
+        }
+        return r;
+    }
 
+    /**
+     * Calculates the inverse error function erf<sup>-1</sup>(y). For |y| &lt;= 0.5, erf<sup>-1</sup>(y)
+     * / y is approximated by a polynomial in y<sup>2</sup>, without any call to a transcendental function. For |y| &gt; 0.5,
+     * the calculation is carried out as erfc<sup>-1</sup>(1 - |y|), where 1 - |y| is exact. The relative error is a few ulp,
+     * where the earlier rational approximations of Blair et al. had a relative error of about 4E-8. As before, arguments
+     * with |y| &gt;= 1 return an infinite value with the sign of y; a finite result is now returned up to 1 - |y| = 1E-16,
+     * where the earlier approximation returned infinity for 1 - |y| &lt; 1E-9.
+     * @param y the value to calculate the inverse error function for
+     * @return erf<sup>-1</sup>(y); &plusmn;Infinity for y &gt;= 1 or y &lt;= -1, and NaN for y = NaN
+     */
+    public static double erfInv(final double y)
+    {
+        double ay = Math.abs(y);
+        if (ay >= 1.0)
+        {
+            return Math.copySign(Double.POSITIVE_INFINITY, y);
         }
-        else if (ax >= 0.75 && ax <= 0.9375)
+        if (ay <= 0.5)
         {
-            double[] p = new double[] {-.12402565221, 1.0688059574, -1.9594556078, .4230581357};
-            double[] q = new double[] {-.08827697997, .8900743359, -2.1757031196, 1.0000000000};
-
-            /*
-             * This approximation, taken from Table 29 of Blair et al., is valid for .75<=|x|<=.9375 and has a maximum relative
-             * error of 4.17 x 10^-8.
-             */
-            t = ax * ax - 0.9375 * 0.9375;
-            ret = ax * (p[0] + t * (p[1] + t * (p[2] + t * p[3]))) / (q[0] + t * (q[1] + t * (q[2] + t * q[3])));
+            return y * polynomial(ERF_INV_SMALL, y * y);
+        }
+        return Math.copySign(erfcInvTail(1.0 - ay), y);
+    }
 
+    /**
+     * Calculates the inverse complementary error function erfc<sup>-1</sup>(q) for 0 &lt;= q &lt;= 2, such that erfc(x) = q.
+     * Contrary to erf<sup>-1</sup>(1 - q), the result is accurate for very small q, down to the smallest normal double. This
+     * makes the function suitable for the tails of the normal distribution, where &Phi;<sup>-1</sup>(p) = -&radic;2
+     * erfc<sup>-1</sup>(2p).
+     * @param q the value to calculate the inverse complementary error function for
+     * @return erfc<sup>-1</sup>(q); Infinity for q = 0, -Infinity for q = 2, and NaN outside [0, 2]
+     */
+    public static double erfcInv(final double q)
+    {
+        if (q > 1.5)
+        {
+            return -erfcInvTail(2.0 - q);
         }
-        else if (ax >= 0.9375 && ax <= (1.0 - 1.0e-9))
+        if (q > 0.5)
         {
-            double[] p =
-                    new double[] {.1550470003116, 1.382719649631, .690969348887, -1.128081391617, .680544246825, -.16444156791};
-            double[] q = new double[] {.155024849822, 1.385228141995, 1.000000000000};
+            return erfInv(1.0 - q);
+        }
+        return erfcInvTail(q);
+    }
 
-            /*
-             * This approximation, taken from Table 50 of Blair et al., is valid for .9375<=|x|<=1-10^-100 and has a maximum
-             * relative error of 2.45 x 10^-8.
-             */
-            t = 1.0 / Math.sqrt(-Math.log(1.0 - ax));
-            ret = (p[0] / t + p[1] + t * (p[2] + t * (p[3] + t * (p[4] + t * p[5])))) / (q[0] + t * (q[1] + t * (q[2])));
+    /**
+     * Calculate erfc<sup>-1</sup>(q) for 0 &lt;= q &lt;= 0.5. For q &gt;= 1E-7, the initial value is the single-precision
+     * approximation of Giles, <i>Approximating the erfinv function</i>, GPU Computing Gems (2011), with a relative error of
+     * about 1E-7; for smaller q the initial value is found from the asymptotic expansion erfc(x) &asymp; exp(-x<sup>2</sup>)
+     * / (x &radic;&pi;) (1 - 1 / (2x<sup>2</sup>)). The initial value is refined with Halley's method on erfc(x) - q, where
+     * each step triples the number of correct digits.
+     * @param q the argument, between 0 and 0.5
+     * @return erfc<sup>-1</sup>(q)
+     */
+    private static double erfcInvTail(final double q)
+    {
+        if (!(q > 0.0))
+        {
+            return q == 0.0 ? Double.POSITIVE_INFINITY : Double.NaN;
+        }
+        double w = -Math.log(q * (2.0 - q));
+        double x;
+        int steps = 1;
+        if (w < 5.0)
+        {
+            x = (1.0 - q) * gilesCentral(w);
+        }
+        else if (w < 16.0)
+        {
+            x = (1.0 - q) * gilesTail(w);
         }
         else
         {
-            ret = Double.POSITIVE_INFINITY;
+            double l = -Math.log(q) - LN_SQRT_PI;
+            x = Math.sqrt(l);
+            for (int i = 0; i < 3; i++)
+            {
+                x = Math.sqrt(l - Math.log(x) + Math.log1p(-0.5 / (x * x)));
+            }
+            steps = 2;
+        }
+        for (int i = 0; i < steps; i++)
+        {
+            // x >= 0.47 here, and erfc(x) = e g(x) for x >= 0.5 shares the exponential with the derivative
+            double e = expMinusSquare(x);
+            double dx = (q - (x < 0.5 ? erfc(x) : e * erfcScaled(x))) / (TWO_OVER_SQRT_PI * e);
+            x -= dx / (1.0 + x * dx);
         }
+        return x;
+    }
 
-        return Math.signum(y) * ret;
+    /**
+     * Giles' single-precision approximation of erf<sup>-1</sup>(y) / y for w = -ln(1 - y<sup>2</sup>) &lt; 5.
+     * @param w the value -ln(1 - y<sup>2</sup>)
+     * @return the approximation of erf<sup>-1</sup>(y) / y
+     */
+    private static double gilesCentral(final double w)
+    {
+        double t = w - 2.5;
+        double p = 2.81022636E-08;
+        p = 3.43273939E-07 + p * t;
+        p = -3.5233877E-06 + p * t;
+        p = -4.39150654E-06 + p * t;
+        p = 0.00021858087 + p * t;
+        p = -0.00125372503 + p * t;
+        p = -0.00417768164 + p * t;
+        p = 0.246640727 + p * t;
+        return 1.50140941 + p * t;
     }
 
-    /** Coefficients for the ln(gamma(x)) function. */
-    private static final double[] GAMMALN_COF = {76.18009172947146, -86.50532032941677, 24.01409824083091, -1.231739572450155,
-            0.1208650973866179e-2, -0.5395239384953e-5};
+    /**
+     * Giles' single-precision approximation of erf<sup>-1</sup>(y) / y for w = -ln(1 - y<sup>2</sup>) &gt;= 5.
+     * @param w the value -ln(1 - y<sup>2</sup>)
+     * @return the approximation of erf<sup>-1</sup>(y) / y
+     */
+    private static double gilesTail(final double w)
+    {
+        double t = Math.sqrt(w) - 3.0;
+        double p = -0.000200214257;
+        p = 0.000100950558 + p * t;
+        p = 0.00134934322 + p * t;
+        p = -0.00367342844 + p * t;
+        p = 0.00573950773 + p * t;
+        p = -0.0076224613 + p * t;
+        p = 0.00943887047 + p * t;
+        p = 1.00167406 + p * t;
+        return 2.83297682 + p * t;
+    }
 
     /**
-     * Calculates ln(gamma(x)). Java version of gammln function in Numerical Recipes in C, p.214.
-     * @param xx the value to calculate the gamma function for
-     * @return gamma(x)
+     * Calculates ln(&Gamma;(x)). For x &gt;= 7, the Stirling series with ten terms is used. For smaller x, the argument is
+     * shifted with &Gamma;(x + 1) = x &Gamma;(x) to 2 + t with |t| &lt;= 0.5, where ln(&Gamma;(2 + t)) / t is approximated by
+     * a polynomial. The shift is arranged such that t is exact, which keeps the relative error small near the zeros of
+     * ln(&Gamma;(x)) at x = 1 and x = 2. The relative error is a few ulp, where the earlier Lanczos approximation of Numerical
+     * Recipes had a relative error of about 1E-10.
+     * @param x the value to calculate the log gamma function for
+     * @return ln(&Gamma;(x)); Infinity for x = 0
      * @throws IllegalArgumentException when x is &lt; 0
      */
-    public static double gammaln(final double xx)
+    public static double gammaln(final double x)
     {
-        Throw.when(xx < 0, IllegalArgumentException.class, "gamma function not defined for real values < 0");
-        double x, y, tmp, ser;
-        x = xx;
-        y = x;
-        tmp = x + 5.5;
-        tmp -= (x + 0.5) * Math.log(tmp);
-        ser = 1.000000000190015;
-        for (int j = 0; j <= 5; j++)
+        Throw.when(x < 0, IllegalArgumentException.class, "gamma function not defined for real values < 0");
+        if (x >= 7.0)
+        {
+            double r = 1.0 / x;
+            return (x - 0.5) * Math.log(x) - x + HALF_LN_2PI + r * polynomial(STIRLING, r * r);
+        }
+        if (x < 0.5)
         {
-            ser += GAMMALN_COF[j] / ++y;
+            return x * polynomial(GAMMALN_2, x) - Math.log(x * (x + 1.0));
         }
-        return -tmp + Math.log(2.5066282746310005 * ser / x);
+        if (x < 1.5)
+        {
+            double t = x - 1.0;
+            return t * polynomial(GAMMALN_2, t) - Math.log(x);
+        }
+        double t = x - 2.0;
+        double product = 1.0;
+        while (t > 0.5)
+        {
+            t -= 1.0;
+            product *= 2.0 + t;
+        }
+        return t * polynomial(GAMMALN_2, t) + Math.log(product);
     }
 
     /**
-     * Calculates gamma(x). Based on the gammln function in Numerical Recipes in C, p.214.
+     * Calculates &Gamma;(x). For x &gt;= 7, the Stirling series is used with x<sup>x - 1/2</sup> calculated as the square of
+     * x<sup>(x - 1/2) / 2</sup> to avoid overflow; for smaller x, the argument is shifted to [1.5, 2.5] as in gammaln(x). The
+     * relative error is a few ulp, where the earlier exp(gammaln(x)) had a relative error of about |ln(&Gamma;(x))| ulp plus
+     * the error of the log gamma approximation.
      * @param x the value to calculate the gamma function for
-     * @return gamma(x)
+     * @return &Gamma;(x); Infinity for x = 0 and for x &gt; 171.62
      * @throws IllegalArgumentException when x is &lt; 0
      */
     public static double gamma(final double x)
     {
-        return Math.exp(gammaln(x));
+        Throw.when(x < 0, IllegalArgumentException.class, "gamma function not defined for real values < 0");
+        if (x >= 7.0)
+        {
+            if (x > 172.0)
+            {
+                return Double.POSITIVE_INFINITY;
+            }
+            double r = 1.0 / x;
+            double p = Math.pow(x, 0.5 * x - 0.25);
+            return SQRT_2PI * (p * Math.exp(-x)) * p * Math.exp(r * polynomial(STIRLING, r * r));
+        }
+        if (x < 0.5)
+        {
+            return Math.exp(x * polynomial(GAMMALN_2, x)) / (x * (x + 1.0));
+        }
+        if (x < 1.5)
+        {
+            double t = x - 1.0;
+            return Math.exp(t * polynomial(GAMMALN_2, t)) / x;
+        }
+        double t = x - 2.0;
+        double product = 1.0;
+        while (t > 0.5)
+        {
+            t -= 1.0;
+            product *= 2.0 + t;
+        }
+        return Math.exp(t * polynomial(GAMMALN_2, t)) * product;
     }
 
     /**
-     * Calculates Beta(z, w) where Beta(z, w) = &Gamma;(z) &Gamma;(w) / &Gamma;(z + w).
+     * Calculates Beta(z, w) where Beta(z, w) = &Gamma;(z) &Gamma;(w) / &Gamma;(z + w). When z + w &lt; 171, the gamma
+     * functions are calculated directly, with a relative error of a few ulp; otherwise the result is calculated from the log
+     * gamma functions, where the relative error grows with the magnitude of ln(&Gamma;(z + w)).
      * @param z beta function parameter 1
      * @param w ; beta function parameter 2
      * @return beta(z, w)
@@ -458,7 +644,250 @@ public final class ProbMath
     public static double beta(final double z, final double w)
     {
         Throw.when(z < 0 || w < 0, IllegalArgumentException.class, "beta function not defined for negative arguments");
+        if (z + w < 171.0)
+        {
+            return gamma(z) / gamma(z + w) * gamma(w);
+        }
         return Math.exp(gammaln(z) + gammaln(w) - gammaln(z + w));
     }
 
+    /**
+     * Calculates the digamma function &psi;(x) = d ln(&Gamma;(x)) / dx. The argument is shifted with &psi;(x) = &psi;(x + 1) -
+     * 1 / x to x &gt;= 10, where the asymptotic series with seven Bernoulli terms is used. The absolute error is a few ulp of
+     * max(1, |&psi;(x)|), so the relative error is larger close to the zero of &psi; at x = 1.4616.
+     * @param x the value to calculate the digamma function for, &gt; 0
+     * @return &psi;(x)
+     * @throws IllegalArgumentException when x &lt;= 0
+     */
+    public static double digamma(final double x)
+    {
+        Throw.when(x <= 0.0, IllegalArgumentException.class, "digamma function not defined for real values <= 0");
+        double shift = 0.0;
+        double y = x;
+        while (y < 10.0)
+        {
+            shift -= 1.0 / y;
+            y += 1.0;
+        }
+        double r2 = 1.0 / (y * y);
+        double series = r2 * (1.0 / 12.0 - r2 * (1.0 / 120.0 - r2 * (1.0 / 252.0 - r2 * (1.0 / 240.0 - r2 * (1.0 / 132.0
+                - r2 * (691.0 / 32760.0 - r2 / 12.0))))));
+        return shift + Math.log(y) - 0.5 / y - series;
+    }
+
+    /**
+     * Calculates the trigamma function &psi;'(x) = d&sup2; ln(&Gamma;(x)) / dx&sup2;. The argument is shifted with &psi;'(x) =
+     * &psi;'(x + 1) + 1 / x&sup2; to x &gt;= 10, where the asymptotic series with eight Bernoulli terms is used. The relative
+     * error is a few ulp.
+     * @param x the value to calculate the trigamma function for, &gt; 0
+     * @return &psi;'(x)
+     * @throws IllegalArgumentException when x &lt;= 0
+     */
+    public static double trigamma(final double x)
+    {
+        Throw.when(x <= 0.0, IllegalArgumentException.class, "trigamma function not defined for real values <= 0");
+        double shift = 0.0;
+        double y = x;
+        while (y < 10.0)
+        {
+            shift += 1.0 / (y * y);
+            y += 1.0;
+        }
+        double r = 1.0 / y;
+        double r2 = r * r;
+        double series = r2 * r * (1.0 / 6.0 - r2 * (1.0 / 30.0 - r2 * (1.0 / 42.0 - r2 * (1.0 / 30.0 - r2 * (5.0 / 66.0
+                - r2 * (691.0 / 2730.0 - r2 * (7.0 / 6.0 - r2 * 3617.0 / 510.0)))))));
+        return shift + r + 0.5 * r2 + series;
+    }
+
+    /**
+     * Calculates the regularized lower incomplete gamma function P(a, x) = &gamma;(a, x) / &Gamma;(a), which is the cumulative
+     * probability of the Gamma(a, 1) distribution. For x &lt; a + 1 the power series is used, otherwise the continued
+     * fraction for Q(a, x) = 1 - P(a, x), evaluated with the modified Lentz algorithm, see Numerical Recipes in C, p.216-219.
+     * @param a the shape parameter, &gt; 0
+     * @param x the upper bound of the integral, &gt;= 0
+     * @return P(a, x)
+     * @throws IllegalArgumentException when a &lt;= 0 or x &lt; 0
+     */
+    public static double incompleteGammaP(final double a, final double x)
+    {
+        Throw.when(a <= 0.0 || x < 0.0, IllegalArgumentException.class,
+                "incomplete gamma function not defined for a <= 0 or x < 0");
+        if (x < a + 1.0)
+        {
+            return gammaSeries(a, x);
+        }
+        return 1.0 - gammaContinuedFraction(a, x);
+    }
+
+    /**
+     * Calculates the regularized upper incomplete gamma function Q(a, x) = 1 - P(a, x) = &Gamma;(a, x) / &Gamma;(a), without
+     * the cancellation of 1 - P(a, x) in the right tail.
+     * @param a the shape parameter, &gt; 0
+     * @param x the lower bound of the integral, &gt;= 0
+     * @return Q(a, x)
+     * @throws IllegalArgumentException when a &lt;= 0 or x &lt; 0
+     */
+    public static double incompleteGammaQ(final double a, final double x)
+    {
+        Throw.when(a <= 0.0 || x < 0.0, IllegalArgumentException.class,
+                "incomplete gamma function not defined for a <= 0 or x < 0");
+        if (x < a + 1.0)
+        {
+            return 1.0 - gammaSeries(a, x);
+        }
+        return gammaContinuedFraction(a, x);
+    }
+
+    /**
+     * Calculate P(a, x) with the series exp(-x) x<sup>a</sup> &Sigma; x<sup>n</sup> / &Gamma;(a + n + 1).
+     * @param a the shape parameter, &gt; 0
+     * @param x the upper bound of the integral, &gt;= 0
+     * @return P(a, x)
+     */
+    private static double gammaSeries(final double a, final double x)
+    {
+        if (x == 0.0)
+        {
+            return 0.0;
+        }
+        double ap = a;
+        double term = 1.0 / a;
+        double sum = term;
+        for (int n = 0; n < MAX_ITERATIONS; n++)
+        {
+            ap += 1.0;
+            term *= x / ap;
+            sum += term;
+            if (term < sum * EPSILON)
+            {
+                break;
+            }
+        }
+        return sum * Math.exp(-x + a * Math.log(x) - gammaln(a));
+    }
+
+    /**
+     * Calculate Q(a, x) with its continued fraction, using the modified Lentz algorithm.
+     * @param a the shape parameter, &gt; 0
+     * @param x the lower bound of the integral, &gt;= a + 1
+     * @return Q(a, x)
+     */
+    private static double gammaContinuedFraction(final double a, final double x)
+    {
+        double b = x + 1.0 - a;
+        double c = 1.0 / FPMIN;
+        double d = 1.0 / b;
+        double h = d;
+        for (int i = 1; i < MAX_ITERATIONS; i++)
+        {
+            double an = -i * (i - a);
+            b += 2.0;
+            d = an * d + b;
+            if (Math.abs(d) < FPMIN)
+            {
+                d = FPMIN;
+            }
+            c = b + an / c;
+            if (Math.abs(c) < FPMIN)
+            {
+                c = FPMIN;
+            }
+            d = 1.0 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1.0) < EPSILON)
+            {
+                break;
+            }
+        }
+        return Math.exp(-x + a * Math.log(x) - gammaln(a)) * h;
+    }
+
+    /**
+     * Calculates the regularized incomplete beta function I<sub>x</sub>(a, b) = B(x; a, b) / B(a, b), which is the cumulative
+     * probability of the Beta(a, b) distribution. The continued fraction is evaluated with the modified Lentz algorithm, for
+     * x or for 1 - x, whichever converges faster, see Numerical Recipes in C, p.226-228.
+     * @param a the first shape parameter, &gt; 0
+     * @param b the second shape parameter, &gt; 0
+     * @param x the upper bound of the integral, 0 &lt;= x &lt;= 1
+     * @return I<sub>x</sub>(a, b)
+     * @throws IllegalArgumentException when a &lt;= 0 or b &lt;= 0, or when x is not in [0, 1]
+     */
+    public static double incompleteBeta(final double a, final double b, final double x)
+    {
+        Throw.when(a <= 0.0 || b <= 0.0, IllegalArgumentException.class,
+                "incomplete beta function not defined for a <= 0 or b <= 0");
+        Throw.when(x < 0.0 || x > 1.0, IllegalArgumentException.class,
+                "incomplete beta function not defined for x < 0 or x > 1");
+        if (x == 0.0 || x == 1.0)
+        {
+            return x;
+        }
+        double front = Math.exp(gammaln(a + b) - gammaln(a) - gammaln(b) + a * Math.log(x) + b * Math.log1p(-x));
+        if (x < (a + 1.0) / (a + b + 2.0))
+        {
+            return front * betaContinuedFraction(a, b, x) / a;
+        }
+        return 1.0 - front * betaContinuedFraction(b, a, 1.0 - x) / b;
+    }
+
+    /**
+     * Calculate the continued fraction for the incomplete beta function with the modified Lentz algorithm.
+     * @param a the first shape parameter
+     * @param b the second shape parameter
+     * @param x the upper bound of the integral
+     * @return the value of the continued fraction
+     */
+    private static double betaContinuedFraction(final double a, final double b, final double x)
+    {
+        double qab = a + b;
+        double qap = a + 1.0;
+        double qam = a - 1.0;
+        double c = 1.0;
+        double d = 1.0 - qab * x / qap;
+        if (Math.abs(d) < FPMIN)
+        {
+            d = FPMIN;
+        }
+        d = 1.0 / d;
+        double h = d;
+        for (int m = 1; m < MAX_ITERATIONS; m++)
+        {
+            int m2 = 2 * m;
+            double aa = m * (b - m) * x / ((qam + m2) * (a + m2));
+            d = 1.0 + aa * d;
+            if (Math.abs(d) < FPMIN)
+            {
+                d = FPMIN;
+            }
+            c = 1.0 + aa / c;
+            if (Math.abs(c) < FPMIN)
+            {
+                c = FPMIN;
+            }
+            d = 1.0 / d;
+            h *= d * c;
+            aa = -(a + m) * (qab + m) * x / ((a + m2) * (qap + m2));
+            d = 1.0 + aa * d;
+            if (Math.abs(d) < FPMIN)
+            {
+                d = FPMIN;
+            }
+            c = 1.0 + aa / c;
+            if (Math.abs(c) < FPMIN)
+            {
+                c = FPMIN;
+            }
+            d = 1.0 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1.0) < EPSILON)
+            {
+                break;
+            }
+        }
+        return h;
+    }
+
 }
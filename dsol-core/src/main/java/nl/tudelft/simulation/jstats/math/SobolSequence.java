@@ -0,0 +1,196 @@
+package nl.tudelft.simulation.jstats.math;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * The SobolSequence class generates the points of a Sobol low-discrepancy sequence in the unit hypercube [0,1)^d, using the
+ * Gray-code construction of Antonov and Saleev with the direction numbers of Joe and Kuo (2008). The first point of the
+ * sequence is the origin. The first 2^m points of the sequence are stratified in every one-dimensional projection: each
+ * interval [k/2^m, (k+1)/2^m) contains exactly one point.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class SobolSequence
+{
+    /** the maximum number of dimensions for which direction numbers are available. */
+    public static final int MAX_DIMENSION = 21;
+
+    /** the number of bits in the generated numbers. */
+    private static final int BITS = 32;
+
+    /** scale factor 2^-32 to map the bits onto [0,1). */
+    private static final double SCALE = 1.0 / (1L << BITS);
+
+    /** degree s of the primitive polynomial for dimensions 2 and higher (Joe and Kuo, new-joe-kuo-6.21201). */
+    private static final int[] DEGREE = {1, 2, 3, 3, 4, 4, 5, 5, 5, 5, 5, 5, 6, 6, 6, 6, 6, 6, 7, 7};
+
+    /** coefficients a of the primitive polynomial for dimensions 2 and higher. */
+    private static final int[] POLYNOMIAL = {0, 1, 1, 2, 1, 4, 2, 4, 7, 11, 13, 14, 1, 13, 16, 19, 22, 25, 1, 4};
+
+    /** initial direction numbers m_i for dimensions 2 and higher. */
+    private static final int[][] INITIAL = {{1}, {1, 3}, {1, 3, 1}, {1, 1, 1}, {1, 1, 3, 3}, {1, 3, 5, 13}, {1, 1, 5, 5, 17},
+            {1, 1, 5, 5, 5}, {1, 1, 7, 11, 19}, {1, 1, 5, 1, 1}, {1, 1, 1, 3, 11}, {1, 3, 5, 5, 31}, {1, 3, 3, 9, 7, 49},
+            {1, 1, 1, 15, 21, 21}, {1, 3, 1, 13, 27, 49}, {1, 1, 1, 15, 7, 5}, {1, 3, 1, 15, 13, 25}, {1, 1, 5, 5, 19, 61},
+            {1, 3, 7, 11, 23, 15, 103}, {1, 3, 7, 13, 13, 15, 69}};
+
+    /** the number of dimensions. */
+    private final int dimension;
+
+    /** the direction numbers per dimension, as unsigned 32-bits values. */
+    private final int[][] direction;
+
+    /** the current point as unsigned 32-bits values. */
+    private final int[] current;
+
+    /** the index of the next point to generate. */
+    private long index = 0;
+
+    /**
+     * Create a Sobol sequence generator for the given number of dimensions.
+     * @param dimension the number of dimensions, between 1 and MAX_DIMENSION
+     * @throws IllegalArgumentException when dimension is not between 1 and MAX_DIMENSION
+     */
+    public SobolSequence(final int dimension)
+    {
+        Throw.when(dimension < 1 || dimension > MAX_DIMENSION, IllegalArgumentException.class,
+                "dimension should be between 1 and %d, but was %d", MAX_DIMENSION, dimension);
+        this.dimension = dimension;
+        this.direction = new int[dimension][BITS + 1];
+        this.current = new int[dimension];
+        for (int i = 1; i <= BITS; i++)
+        {
+            this.direction[0][i] = 1 << (BITS - i);
+        }
+        for (int d = 1; d < dimension; d++)
+        {
+            int s = DEGREE[d - 1];
+            int a = POLYNOMIAL[d - 1];
+            int[] m = INITIAL[d - 1];
+            int[] v = this.direction[d];
+            for (int i = 1; i <= s; i++)
+            {
+                v[i] = m[i - 1] << (BITS - i);
+            }
+            for (int i = s + 1; i <= BITS; i++)
+            {
+                v[i] = v[i - s] ^ (v[i - s] >>> s);
+                for (int k = 1; k < s; k++)
+                {
+                    v[i] ^= ((a >>> (s - 1 - k)) & 1) * v[i - k];
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the next point of the sequence. The first point is the origin.
+     * @return the next point, with each coordinate in [0,1)
+     * @throws IllegalStateException when more than 2^32 points have been generated
+     */
+    public double[] nextPoint()
+    {
+        double[] point = new double[this.dimension];
+        nextPoint(point);
+        return point;
+    }
+
+    /**
+     * Fill the given array with the next point of the sequence, to avoid allocating a new array for each point.
+     * @param point the array to fill; should have a length of at least the dimension of the sequence
+     * @throws IllegalStateException when more than 2^32 points have been generated
+     * @throws IllegalArgumentException when the array is too short
+     */
+    public void nextPoint(final double[] point)
+    {
+        Throw.when(point.length < this.dimension, IllegalArgumentException.class, "point array too short");
+        Throw.when(this.index >= (1L << BITS), IllegalStateException.class, "Sobol sequence exhausted");
+        if (this.index > 0)
+        {
+            // Gray code: flip the direction number of the rightmost zero bit of index - 1
+            int c = Long.numberOfTrailingZeros(~(this.index - 1)) + 1;
+            for (int d = 0; d < this.dimension; d++)
+            {
+                this.current[d] ^= this.direction[d][c];
+            }
+        }
+        for (int d = 0; d < this.dimension; d++)
+        {
+            point[d] = (this.current[d] & 0xFFFFFFFFL) * SCALE;
+        }
+        this.index++;
+    }
+
+    /**
+     * Skip a number of points in the sequence.
+     * @param n the number of points to skip
+     * @throws IllegalArgumentException when n is negative
+     */
+    public void skip(final long n)
+    {
+        Throw.when(n < 0, IllegalArgumentException.class, "cannot skip a negative number of points");
+        long target = this.index + n;
+        Throw.when(target > (1L << BITS), IllegalStateException.class, "Sobol sequence exhausted");
+        if (target == 0)
+        {
+            return;
+        }
+        // the point with index i is the XOR of the direction numbers for the bits of the Gray code of i
+        long gray = (target - 1) ^ ((target - 1) >>> 1);
+        for (int d = 0; d < this.dimension; d++)
+        {
+            int x = 0;
+            for (int bit = 0; bit < BITS; bit++)
+            {
+                if (((gray >>> bit) & 1L) != 0)
+                {
+                    x ^= this.direction[d][bit + 1];
+                }
+            }
+            this.current[d] = x;
+        }
+        // current holds the point with index target - 1, so the next call returns the point with index target
+        this.index = target;
+    }
+
+    /**
+     * Reset the sequence so the next point is the origin again.
+     */
+    public void reset()
+    {
+        this.index = 0;
+        for (int d = 0; d < this.dimension; d++)
+        {
+            this.current[d] = 0;
+        }
+    }
+
+    /**
+     * Return the number of dimensions.
+     * @return the number of dimensions
+     */
+    public int getDimension()
+    {
+        return this.dimension;
+    }
+
+    /**
+     * Return the index of the next point that will be generated.
+     * @return the index of the next point
+     */
+    public long getIndex()
+    {
+        return this.index;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SobolSequence [dimension=" + this.dimension + ", index=" + this.index + "]";
+    }
+
+}
@@ -2,12 +2,18 @@ package nl.tudelft.simulation.jstats.ode;
 
 import org.djutils.event.LocalEventProducer;
 
+import nl.tudelft.simulation.jstats.ode.integrators.AdaptiveNumericalIntegrator;
 import nl.tudelft.simulation.jstats.ode.integrators.NumericalIntegrator;
 import nl.tudelft.simulation.jstats.ode.integrators.NumericalIntegratorType;
 
 /**
  * The DifferentialEquation is the abstract basis for the DESS formalism.
  * <p>
+ * With a fixed-step integrator, the equation is integrated with steps of stepSize, and the value at x is interpolated linearly
+ * within the last step. With an AdaptiveNumericalIntegrator, the integrator chooses the step sizes itself, and the value at x is
+ * calculated with the dense output of the step that contains x, so values at arbitrary x do not cost extra steps.
+ * </p>
+ * <p>
  * Copyright (c) 2002-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
  * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
  * project is distributed under a three-clause BSD-style license, which can be found at
@@ -33,6 +39,15 @@ public abstract class DifferentialEquation extends LocalEventProducer implements
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected double lastX = Double.NaN;
 
+    /** the value after the last step of integrateY, which is reused for the interpolation. */
+    private double[] nextY = null;
+
+    /** the x value at the end of the last adaptive step; NaN when the adaptive integration has to start at lastX. */
+    private double adaptiveX = Double.NaN;
+
+    /** the values at the end of the last adaptive step. */
+    private double[] adaptiveY = null;
+
     /**
      * constructs a new DifferentialEquation with a user-specified integrator.
      * @param stepSize the stepSize to use.
@@ -50,6 +65,7 @@ public abstract class DifferentialEquation extends LocalEventProducer implements
     {
         this.lastX = x0;
         this.lastY = y0;
+        this.adaptiveX = Double.NaN;
     }
 
     @Override
@@ -75,21 +91,31 @@ public abstract class DifferentialEquation extends LocalEventProducer implements
     }
 
     /**
-     * integrates Y.
+     * integrates Y. The steps are integrated in place in one new array, which is returned, and which is also stored as lastY.
      * @param x the x-value
      * @param initialX the initial X value, non-final (will be updated)
-     * @param initialY the initial Y value, non-final (will be updated)
+     * @param initialY the initial Y value, which is not changed
      * @return the new Y value
      */
     @SuppressWarnings("checkstyle:finalparameters")
-    protected double[] integrateY(final double x, /* non-final */ double initialX, /* non-final */ double[] initialY)
+    protected double[] integrateY(final double x, /* non-final */ double initialX, final double[] initialY)
     {
+        if (this.integrator instanceof AdaptiveNumericalIntegrator)
+        {
+            return integrateAdaptive(x, initialX, initialY, (AdaptiveNumericalIntegrator) this.integrator);
+        }
+        double[] y = initialY.clone();
+        if (this.nextY == null || this.nextY.length != y.length)
+        {
+            this.nextY = new double[y.length];
+        }
+
         // we request the new value from the integrator.
         if (this.stepSize > 0)
         {
             while (x > initialX + this.stepSize)
             {
-                initialY = this.integrator.next(initialX, initialY); // XXX: this process can adapt the stepSize (!)
+                this.integrator.next(initialX, y, y); // XXX: this process can adapt the stepSize (!)
                 initialX = initialX + this.stepSize;
             }
         }
@@ -97,21 +123,60 @@ public abstract class DifferentialEquation extends LocalEventProducer implements
         {
             while (x < initialX + this.stepSize)
             {
-                initialY = this.integrator.next(initialX, initialY); // XXX: this process can adapt the stepSize (!)
+                this.integrator.next(initialX, y, y); // XXX: this process can adapt the stepSize (!)
                 initialX = initialX + this.stepSize;
             }
         }
 
-        // We are in our final step. // XXX don't understand
-        double[] nextValue = this.integrator.next(initialX, initialY);
+        // the final step is interpolated linearly between the last two steps
+        this.integrator.next(initialX, y, this.nextY);
         double ratio = (x - initialX) / this.stepSize;
-        for (int i = 0; i < initialY.length; i++)
+        for (int i = 0; i < y.length; i++)
+        {
+            y[i] = y[i] + ratio * (this.nextY[i] - y[i]);
+        }
+        this.lastX = x;
+        this.lastY = y;
+        return y;
+    }
+
+    /**
+     * integrates Y with an adaptive integrator. When initialX and initialY are the last calculated values, the integration
+     * continues with the steps that have already been taken, and x is often within the last step, so the value is calculated
+     * with the interpolation of the integrator, without a new step. Otherwise, the integration starts anew at initialX.
+     * @param x the x-value
+     * @param initialX the initial X value
+     * @param initialY the initial Y value, which is not changed
+     * @param adaptive the adaptive integrator
+     * @return the new Y value
+     */
+    private double[] integrateAdaptive(final double x, final double initialX, final double[] initialY,
+            final AdaptiveNumericalIntegrator adaptive)
+    {
+        if (Double.isNaN(this.adaptiveX) || initialX != this.lastX || initialY != this.lastY)
+        {
+            adaptive.reset();
+            this.adaptiveX = initialX;
+            this.adaptiveY = initialY.clone();
+        }
+        double direction = Math.signum(adaptive.getStepSize());
+        while ((x - this.adaptiveX) * direction > 0.0)
+        {
+            this.adaptiveX = adaptive.step(this.adaptiveX, this.adaptiveY, direction * Double.POSITIVE_INFINITY);
+        }
+        double[] y;
+        if (x == this.adaptiveX)
+        {
+            y = this.adaptiveY.clone();
+        }
+        else
         {
-            initialY[i] = initialY[i] + ratio * (nextValue[i] - initialY[i]);
+            y = new double[initialY.length];
+            adaptive.interpolate(x, y);
         }
         this.lastX = x;
-        this.lastY = initialY;
-        return initialY;
+        this.lastY = y;
+        return y;
     }
 
     /**
@@ -128,6 +193,7 @@ public abstract class DifferentialEquation extends LocalEventProducer implements
     public void setIntegrator(final NumericalIntegrator integrator)
     {
         this.integrator = integrator;
+        this.adaptiveX = Double.NaN;
     }
 
 }
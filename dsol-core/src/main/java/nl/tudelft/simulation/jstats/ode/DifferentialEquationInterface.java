@@ -34,4 +34,17 @@ public interface DifferentialEquationInterface
      * @return dy/dx as a function of x,y
      */
     double[] dy(double x, double[] y);
+
+    /**
+     * Stores dy as a function of x,y in a provided array. The integrators call this method for every stage of a step. The
+     * default implementation copies the result of dy(x, y); equations with many variables can override this method to write
+     * the derivatives directly into dyOut, so that a step does not allocate any arrays.
+     * @param x the x-value
+     * @param y the y-value; the array should not be changed
+     * @param dyOut the array to store dy/dx as a function of x,y, with the same length as y
+     */
+    default void dy(final double x, final double[] y, final double[] dyOut)
+    {
+        System.arraycopy(dy(x, y), 0, dyOut, 0, y.length);
+    }
 }
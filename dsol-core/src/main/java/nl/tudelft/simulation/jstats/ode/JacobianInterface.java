@@ -0,0 +1,29 @@
+package nl.tudelft.simulation.jstats.ode;
+
+/**
+ * An interface for differential equations that provide their own Jacobian matrix df/dy. The stiff integrators use the Jacobian
+ * when the equation implements this interface, and approximate it with finite differences otherwise.
+ * <p>
+ * When the integrator uses a dense matrix, dfdy[i][j] should be set to the derivative of f<sub>i</sub> with respect to
+ * y<sub>j</sub>. When the integrator uses a banded matrix with lower bandwidth ml and upper bandwidth mu, the array has
+ * ml + mu + 1 columns, and dfdy[i][j - i + ml] should be set to the derivative of f<sub>i</sub> with respect to y<sub>j</sub>,
+ * for i - ml &lt;= j &lt;= i + mu.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public interface JacobianInterface
+{
+    /**
+     * Stores the Jacobian matrix df/dy as a function of x,y in a provided array, in dense or banded storage.
+     * @param x the x-value
+     * @param y the y-value; the array should not be changed
+     * @param dfdy the array to store the Jacobian matrix; all elements should be set
+     */
+    void jacobian(double x, double[] y, double[][] dfdy);
+}
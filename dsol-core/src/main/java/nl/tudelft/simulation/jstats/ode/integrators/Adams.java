@@ -39,6 +39,29 @@ public class Adams extends CachingNumericalIntegrator
         super(stepSize, equation, 4, primerIntegrationMethod, startingSubSteps);
     }
 
+    @Override
+    protected void nextFromCache(final double x, final double[] yOut)
+    {
+        double[] y0 = getCachedY(0);
+        double[] dy0 = getCachedDY(0);
+        double[] dy1 = getCachedDY(1);
+        double[] dy2 = getCachedDY(2);
+        double[] dy3 = getCachedDY(3);
+        double[][] s = scratch(2, y0.length);
+        double[] p = s[0];
+        double[] f = s[1];
+        double h24 = this.stepSize / 24.0;
+        for (int i = 0; i < y0.length; i++)
+        {
+            p[i] = y0[i] + h24 * (-9 * dy3[i] + 37 * dy2[i] + -59 * dy1[i] + 55 * dy0[i]);
+        }
+        this.equation.dy(x + this.stepSize, p, f);
+        for (int i = 0; i < y0.length; i++)
+        {
+            yOut[i] = y0[i] + h24 * (dy2[i] + -5 * dy1[i] + 19 * dy0[i] + 9 * f[i]);
+        }
+    }
+
     @Override
     public double[] next(final double x)
     {
@@ -0,0 +1,219 @@
+package nl.tudelft.simulation.jstats.ode.integrators;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.jstats.ode.DifferentialEquationInterface;
+
+/**
+ * The AdaptiveNumericalIntegrator is the basis for an integrator that chooses its own step size to keep the estimated local
+ * error within a tolerance, and that can interpolate the solution anywhere within the last step (dense output). The step size
+ * that is given at construction is used as the first trial step and to determine the direction of the integration; after
+ * every step, the integrator stores the step size it proposes for the next step in the stepSize field.
+ * <p>
+ * The adaptive integration is done with step(x, y, xLimit), which takes one accepted step and updates y in place. Values
+ * between the start and the end of that step are then calculated with interpolate(x, yOut), without evaluating the equation.
+ * The error of a step is measured as the root mean square of the error estimates e<sub>i</sub> scaled with
+ * atol + rtol max(|y0<sub>i</sub>|, |y1<sub>i</sub>|); a step is accepted when this norm is at most 1. The fixed-step method
+ * next(x, y) of the NumericalIntegrator remains available and uses the current step size.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public abstract class AdaptiveNumericalIntegrator extends NumericalIntegrator
+{
+    /** the absolute tolerance of the local error. */
+    private double absoluteTolerance = 1.0E-6;
+
+    /** the relative tolerance of the local error. */
+    private double relativeTolerance = 1.0E-6;
+
+    /** the maximum absolute step size. */
+    private double maxStepSize = Double.POSITIVE_INFINITY;
+
+    /** the x value at the start of the last accepted step; NaN when there is no step to interpolate. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected double stepStart = Double.NaN;
+
+    /** the x value at the end of the last accepted step; NaN when there is no step to interpolate. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected double stepEnd = Double.NaN;
+
+    /** the number of accepted steps. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected long acceptedSteps = 0;
+
+    /** the number of rejected steps. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected long rejectedSteps = 0;
+
+    /** the number of evaluations of the equation. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected long evaluations = 0;
+
+    /**
+     * constructs a new AdaptiveNumericalIntegrator.
+     * @param stepSize the first trial step size; its sign determines the direction of the integration
+     * @param equation the differentialEquation
+     */
+    public AdaptiveNumericalIntegrator(final double stepSize, final DifferentialEquationInterface equation)
+    {
+        super(stepSize, equation);
+    }
+
+    /**
+     * Take one accepted step from x in the direction of the step size, and store the values at the end of the step in y. The
+     * step is shortened when it would pass xLimit, so the equation is never evaluated beyond xLimit; use an infinite xLimit to
+     * let the integrator choose the step freely. After the step, interpolate(x, yOut) can be used for x values between x and
+     * the returned value.
+     * @param x the x value corresponding to y
+     * @param y the values at x; the array is updated with the values at the end of the step
+     * @param xLimit the x value that the step may not pass
+     * @return the x value at the end of the step
+     * @throws nl.tudelft.simulation.language.DsolRuntimeException when the step size becomes too small for the tolerances
+     */
+    public abstract double step(double x, double[] y, double xLimit);
+
+    /**
+     * Calculate the values at x with the interpolation polynomial of the last accepted step, without evaluating the equation.
+     * @param x the x value, which should be between getStepStart() and getStepEnd()
+     * @param yOut the array to store the values at x
+     * @throws IllegalStateException when no step has been taken since the last reset
+     */
+    public abstract void interpolate(double x, double[] yOut);
+
+    /**
+     * Forget the information of the previous steps, e.g., because the values have been changed by a discontinuity. The next
+     * step starts with the current step size as its trial step.
+     */
+    public void reset()
+    {
+        this.stepStart = Double.NaN;
+        this.stepEnd = Double.NaN;
+    }
+
+    /**
+     * Return the root mean square norm of the error estimates, scaled with the tolerances and the values at the start and the end
+     * of the step.
+     * @param y0 the values at the start of the step
+     * @param y1 the values at the end of the step
+     * @param err the error estimates
+     * @return the scaled error norm; the step is acceptable when the norm is at most 1
+     */
+    protected double errorNorm(final double[] y0, final double[] y1, final double[] err)
+    {
+        double sum = 0.0;
+        for (int i = 0; i < err.length; i++)
+        {
+            double scale = this.absoluteTolerance + this.relativeTolerance * Math.max(Math.abs(y0[i]), Math.abs(y1[i]));
+            double e = err[i] / scale;
+            sum += e * e;
+        }
+        double norm = Math.sqrt(sum / err.length);
+        return Double.isNaN(norm) ? Double.POSITIVE_INFINITY : norm;
+    }
+
+    /**
+     * Set the absolute and relative tolerance of the local error.
+     * @param absoluteTolerance the absolute tolerance
+     * @param relativeTolerance the relative tolerance
+     * @throws IllegalArgumentException when a tolerance is negative or NaN, or when both are zero
+     */
+    public void setTolerances(final double absoluteTolerance, final double relativeTolerance)
+    {
+        Throw.when(!(absoluteTolerance >= 0.0) || !(relativeTolerance >= 0.0), IllegalArgumentException.class,
+                "tolerances should be >= 0, got %f and %f", absoluteTolerance, relativeTolerance);
+        Throw.when(absoluteTolerance == 0.0 && relativeTolerance == 0.0, IllegalArgumentException.class,
+                "absolute and relative tolerance cannot both be 0");
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+    }
+
+    /**
+     * Return the absolute tolerance of the local error.
+     * @return the absolute tolerance
+     */
+    public double getAbsoluteTolerance()
+    {
+        return this.absoluteTolerance;
+    }
+
+    /**
+     * Return the relative tolerance of the local error.
+     * @return the relative tolerance
+     */
+    public double getRelativeTolerance()
+    {
+        return this.relativeTolerance;
+    }
+
+    /**
+     * Set the maximum absolute step size.
+     * @param maxStepSize the maximum absolute step size; can be infinite
+     * @throws IllegalArgumentException when maxStepSize is not positive
+     */
+    public void setMaxStepSize(final double maxStepSize)
+    {
+        Throw.when(!(maxStepSize > 0.0), IllegalArgumentException.class, "maxStepSize should be > 0, got %f", maxStepSize);
+        this.maxStepSize = maxStepSize;
+    }
+
+    /**
+     * Return the maximum absolute step size.
+     * @return the maximum absolute step size
+     */
+    public double getMaxStepSize()
+    {
+        return this.maxStepSize;
+    }
+
+    /**
+     * Return the x value at the start of the last accepted step.
+     * @return the x value at the start of the last accepted step, or NaN when no step has been taken since the last reset
+     */
+    public double getStepStart()
+    {
+        return this.stepStart;
+    }
+
+    /**
+     * Return the x value at the end of the last accepted step.
+     * @return the x value at the end of the last accepted step, or NaN when no step has been taken since the last reset
+     */
+    public double getStepEnd()
+    {
+        return this.stepEnd;
+    }
+
+    /**
+     * Return the number of accepted steps.
+     * @return the number of accepted steps
+     */
+    public long getAcceptedSteps()
+    {
+        return this.acceptedSteps;
+    }
+
+    /**
+     * Return the number of rejected steps.
+     * @return the number of rejected steps
+     */
+    public long getRejectedSteps()
+    {
+        return this.rejectedSteps;
+    }
+
+    /**
+     * Return the number of evaluations of the equation by the adaptive steps.
+     * @return the number of evaluations of the equation
+     */
+    public long getEvaluations()
+    {
+        return this.evaluations;
+    }
+
+}
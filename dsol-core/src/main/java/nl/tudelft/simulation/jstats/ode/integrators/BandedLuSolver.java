@@ -0,0 +1,194 @@
+package nl.tudelft.simulation.jstats.ode.integrators;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * The BandedLuSolver solves linear systems with a band matrix with lower bandwidth ml and upper bandwidth mu, i.e., a matrix
+ * where A(i, j) = 0 when i - j &gt; ml or j - i &gt; mu. The matrix is stored with ml + mu + 1 columns, where matrix[i][j - i +
+ * ml] holds A(i, j); elements that fall outside the matrix are ignored. The LU decomposition with partial pivoting follows
+ * bandec and banbks of W.H. Press et al., Numerical Recipes in C, 2nd edition, Cambridge University Press, 1992, Section 2.4.
+ * The decomposition takes O(n ml (ml + mu)) and a solve O(n (ml + mu)) operations.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class BandedLuSolver extends LuSolver
+{
+    /** the lower bandwidth. */
+    private final int lower;
+
+    /** the upper bandwidth. */
+    private final int upper;
+
+    /** the band matrix, which holds U after the decomposition. */
+    private final double[][] a;
+
+    /** the multipliers of L. */
+    private final double[][] al;
+
+    /**
+     * Create a solver for a band matrix.
+     * @param size the number of rows and columns of the matrix
+     * @param lower the lower bandwidth ml
+     * @param upper the upper bandwidth mu
+     * @throws IllegalArgumentException when size &lt; 1, or when a bandwidth is negative
+     */
+    public BandedLuSolver(final int size, final int lower, final int upper)
+    {
+        super(size);
+        Throw.when(lower < 0 || upper < 0, IllegalArgumentException.class, "bandwidths should be >= 0, got %d and %d", lower,
+                upper);
+        this.lower = lower;
+        this.upper = upper;
+        this.a = new double[size][lower + upper + 1];
+        this.al = new double[size][Math.max(lower, 1)];
+    }
+
+    @Override
+    public double[][] getMatrix()
+    {
+        return this.a;
+    }
+
+    @Override
+    public boolean decompose()
+    {
+        double[][] m = this.a;
+        int n = this.size;
+        int ml = this.lower;
+        int mm = ml + this.upper + 1;
+        this.decomposed = false;
+        // shift the first ml rows to the left, so that the first column holds the elements on or left of the diagonal
+        int l = ml;
+        for (int i = 0; i < Math.min(ml, n); i++)
+        {
+            for (int j = ml - i; j < mm; j++)
+            {
+                m[i][j - l] = m[i][j];
+            }
+            l--;
+            for (int j = mm - l - 1; j < mm; j++)
+            {
+                m[i][j] = 0.0;
+            }
+        }
+        // zero the elements right of the last column
+        for (int i = Math.max(0, n - this.upper); i < n; i++)
+        {
+            int first = ml - Math.max(0, ml - i) + (n - i);
+            for (int j = first; j < mm; j++)
+            {
+                m[i][j] = 0.0;
+            }
+        }
+        l = ml;
+        for (int k = 0; k < n; k++)
+        {
+            double max = m[k][0];
+            int p = k;
+            if (l < n)
+            {
+                l++;
+            }
+            for (int j = k + 1; j < l; j++)
+            {
+                if (Math.abs(m[j][0]) > Math.abs(max))
+                {
+                    max = m[j][0];
+                    p = j;
+                }
+            }
+            if (max == 0.0 || Double.isNaN(max))
+            {
+                return false;
+            }
+            this.pivot[k] = p;
+            if (p != k)
+            {
+                double[] swap = m[k];
+                m[k] = m[p];
+                m[p] = swap;
+            }
+            double[] rowK = m[k];
+            for (int i = k + 1; i < l; i++)
+            {
+                double[] rowI = m[i];
+                double factor = rowI[0] / rowK[0];
+                this.al[k][i - k - 1] = factor;
+                for (int j = 1; j < mm; j++)
+                {
+                    rowI[j - 1] = rowI[j] - factor * rowK[j];
+                }
+                rowI[mm - 1] = 0.0;
+            }
+        }
+        this.decomposed = true;
+        return true;
+    }
+
+    @Override
+    public void solve(final double[] b)
+    {
+        Throw.when(!this.decomposed, IllegalStateException.class, "BandedLuSolver: matrix not decomposed or singular");
+        double[][] m = this.a;
+        int n = this.size;
+        int mm = this.lower + this.upper + 1;
+        int l = this.lower;
+        for (int k = 0; k < n; k++)
+        {
+            int p = this.pivot[k];
+            if (p != k)
+            {
+                double swap = b[k];
+                b[k] = b[p];
+                b[p] = swap;
+            }
+            if (l < n)
+            {
+                l++;
+            }
+            for (int i = k + 1; i < l; i++)
+            {
+                b[i] -= this.al[k][i - k - 1] * b[k];
+            }
+        }
+        l = 1;
+        for (int i = n - 1; i >= 0; i--)
+        {
+            double[] rowI = m[i];
+            double sum = b[i];
+            for (int k = 1; k < l; k++)
+            {
+                sum -= rowI[k] * b[k + i];
+            }
+            b[i] = sum / rowI[0];
+            if (l < mm)
+            {
+                l++;
+            }
+        }
+    }
+
+    /**
+     * Return the lower bandwidth.
+     * @return the lower bandwidth ml
+     */
+    public int getLowerBandwidth()
+    {
+        return this.lower;
+    }
+
+    /**
+     * Return the upper bandwidth.
+     * @return the upper bandwidth mu
+     */
+    public int getUpperBandwidth()
+    {
+        return this.upper;
+    }
+
+}
@@ -0,0 +1,576 @@
+package nl.tudelft.simulation.jstats.ode.integrators;
+
+import java.util.Arrays;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.jstats.ode.DifferentialEquationInterface;
+import nl.tudelft.simulation.language.DsolRuntimeException;
+
+/**
+ * The Bdf integrator implements the backward differentiation formulas of order 1 to 5 with variable step size and variable
+ * order, for stiff equations. The solution is represented by the modified divided differences D<sub>0</sub> ..
+ * D<sub>k+2</sub> of the last values at equally spaced points; when the step size changes, the differences are interpolated
+ * to the new spacing. The implicit equations of a step are solved with a simplified Newton iteration, in which the
+ * decomposition of I - c J is reused as long as c and the Jacobian do not change. The error of a step is estimated from the
+ * Newton correction, and after k + 1 steps of equal size, the order and the step size are chosen that minimize the error
+ * estimates of the orders k - 1, k and k + 1. The dense output is the interpolation polynomial of the differences. See L.F.
+ * Shampine and M.W. Reichelt, The MATLAB ODE Suite, SIAM Journal on Scientific Computing 18(1), 1997, pp. 1-22, and E. Hairer
+ * and G. Wanner, Solving Ordinary Differential Equations II, 2nd edition, Springer, 1996, Section III.5.
+ * <p>
+ * The fixed-step method next(x, y) takes steps of the current step size, and raises the order from 1 to 5 when enough equal
+ * steps have been taken, like the Adams method that is started with Runge-Kutta steps.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class Bdf extends StiffNumericalIntegrator
+{
+    /** the maximum order. */
+    public static final int MAX_ORDER = 5;
+
+    /** the maximum number of Newton iterations. */
+    private static final int NEWTON_MAXITER = 4;
+
+    /** the minimum factor for a new step size. */
+    private static final double MIN_FACTOR = 0.2;
+
+    /** the maximum factor for a new step size. */
+    private static final double MAX_FACTOR = 10.0;
+
+    /** gamma_k = sum_{j=1..k} 1/j, the leading coefficients of the formulas. */
+    private static final double[] GAMMA = new double[MAX_ORDER + 1];
+
+    /** the error constants 1/(k+1) of the formulas of order k. */
+    private static final double[] ERROR_CONST = new double[MAX_ORDER + 2];
+
+    static
+    {
+        for (int k = 1; k <= MAX_ORDER; k++)
+        {
+            GAMMA[k] = GAMMA[k - 1] + 1.0 / k;
+        }
+        for (int k = 0; k <= MAX_ORDER + 1; k++)
+        {
+            ERROR_CONST[k] = 1.0 / (k + 1);
+        }
+    }
+
+    /** the modified divided differences; D[0] holds the values at the end of the last step. */
+    private double[][] d = null;
+
+    /** the current order. */
+    private int order = 1;
+
+    /** the number of steps with the current step size and order. */
+    private int equalSteps = 0;
+
+    /** the absolute step size of the spacing of the differences. */
+    private double hAbs = Double.NaN;
+
+    /** the number of Newton iterations of the last solved step. */
+    private int newtonIterations = 0;
+
+    /** whether the differences belong to the last step, so the integration can continue with them. */
+    private boolean started = false;
+
+    /** the predicted values of a step. */
+    private double[] yPredict;
+
+    /** the weighted sum of the differences of the formula. */
+    private double[] psi;
+
+    /** the values of the Newton iteration. */
+    private double[] yNew;
+
+    /** the total Newton correction of a step. */
+    private double[] correction;
+
+    /** the derivatives at the start of the integration, and in the Newton iteration. */
+    private double[] f;
+
+    /** the Newton step. */
+    private double[] delta;
+
+    /** the temporary differences for the change of the step size. */
+    private double[][] changed;
+
+    /** the interpolation matrix for the change of the step size. */
+    private final double[][] ru = new double[MAX_ORDER + 1][MAX_ORDER + 1];
+
+    /** the matrix R(factor) for the change of the step size. */
+    private final double[][] r = new double[MAX_ORDER + 1][MAX_ORDER + 1];
+
+    /** the matrix U = R(1) for the change of the step size. */
+    private final double[][] u = new double[MAX_ORDER + 1][MAX_ORDER + 1];
+
+    /**
+     * constructs a new Bdf integrator.
+     * @param stepSize the step size of next(x, y), and the first trial step size of the adaptive steps
+     * @param equation the differentialEquation
+     */
+    public Bdf(final double stepSize, final DifferentialEquationInterface equation)
+    {
+        super(stepSize, equation);
+    }
+
+    /**
+     * Allocate the buffers when the number of variables has changed.
+     * @param n the number of variables
+     */
+    private void allocate(final int n)
+    {
+        if (this.d != null && this.d[0].length == n)
+        {
+            return;
+        }
+        this.d = new double[MAX_ORDER + 3][n];
+        this.changed = new double[MAX_ORDER + 1][n];
+        this.yPredict = new double[n];
+        this.psi = new double[n];
+        this.yNew = new double[n];
+        this.correction = new double[n];
+        this.f = new double[n];
+        this.delta = new double[n];
+        this.error = new double[n];
+        this.started = false;
+    }
+
+    /**
+     * Return whether the integration continues from the end of the last step.
+     * @param x the x value corresponding to y
+     * @param y the values at x
+     * @return whether x and y are the values at the end of the last step
+     */
+    private boolean continues(final double x, final double[] y)
+    {
+        return this.started && x == this.stepEnd && Arrays.equals(y, this.d[0]);
+    }
+
+    /**
+     * Start the integration at (x, y) with order 1.
+     * @param x the x value corresponding to y
+     * @param y the values at x
+     * @param h the signed step size of the first step
+     * @param newJacobian whether to calculate the Jacobian, also when it is valid
+     */
+    private void start(final double x, final double[] y, final double h, final boolean newJacobian)
+    {
+        this.equation.dy(x, y, this.f);
+        this.evaluations++;
+        if (newJacobian || !isJacobianValid())
+        {
+            computeJacobian(x, y, this.f);
+        }
+        System.arraycopy(y, 0, this.d[0], 0, y.length);
+        for (int i = 0; i < y.length; i++)
+        {
+            this.d[1][i] = h * this.f[i];
+        }
+        this.hAbs = Math.abs(h);
+        this.order = 1;
+        this.equalSteps = 0;
+        this.started = true;
+    }
+
+    /**
+     * Fill m with the matrix R(factor) of the given order.
+     * @param m the matrix to fill
+     * @param ord the order
+     * @param factor the ratio of the new and the old step size
+     */
+    private static void computeR(final double[][] m, final int ord, final double factor)
+    {
+        for (int j = 0; j <= ord; j++)
+        {
+            m[0][j] = 1.0;
+        }
+        for (int i = 1; i <= ord; i++)
+        {
+            m[i][0] = 0.0;
+            for (int j = 1; j <= ord; j++)
+            {
+                m[i][j] = m[i - 1][j] * (i - 1 - factor * j) / i;
+            }
+        }
+    }
+
+    /**
+     * Interpolate the differences D<sub>0</sub> .. D<sub>order</sub> to a new step size.
+     * @param ord the order
+     * @param factor the ratio of the new and the old step size
+     */
+    private void changeDifferences(final int ord, final double factor)
+    {
+        computeR(this.r, ord, factor);
+        computeR(this.u, ord, 1.0);
+        for (int i = 0; i <= ord; i++)
+        {
+            for (int j = 0; j <= ord; j++)
+            {
+                double sum = 0.0;
+                for (int k = 0; k <= ord; k++)
+                {
+                    sum += this.r[i][k] * this.u[k][j];
+                }
+                this.ru[i][j] = sum;
+            }
+        }
+        int n = this.d[0].length;
+        for (int j = 0; j <= ord; j++)
+        {
+            double[] dj = this.changed[j];
+            Arrays.fill(dj, 0.0);
+            for (int i = 0; i <= ord; i++)
+            {
+                double rij = this.ru[i][j];
+                if (rij != 0.0)
+                {
+                    double[] di = this.d[i];
+                    for (int m = 0; m < n; m++)
+                    {
+                        dj[m] += rij * di[m];
+                    }
+                }
+            }
+        }
+        for (int j = 0; j <= ord; j++)
+        {
+            System.arraycopy(this.changed[j], 0, this.d[j], 0, n);
+        }
+        this.equalSteps = 0;
+    }
+
+    /**
+     * Solve the implicit equations of a step with the simplified Newton iteration, starting from the predicted values. The
+     * result is stored in yNew, and the total correction in correction.
+     * @param xNew the x value at the end of the step
+     * @param c the step size divided by the leading coefficient of the formula
+     * @param tolerance the tolerance of the Newton iteration
+     * @return whether the iteration converged
+     */
+    private boolean solveNewton(final double xNew, final double c, final double tolerance)
+    {
+        int n = this.yNew.length;
+        System.arraycopy(this.yPredict, 0, this.yNew, 0, n);
+        Arrays.fill(this.correction, 0.0);
+        if (!decompose(c))
+        {
+            this.newtonIterations = 0;
+            return false;
+        }
+        double normOld = Double.NaN;
+        for (int k = 0; k < NEWTON_MAXITER; k++)
+        {
+            this.newtonIterations = k + 1;
+            this.equation.dy(xNew, this.yNew, this.f);
+            this.evaluations++;
+            for (int i = 0; i < n; i++)
+            {
+                this.delta[i] = c * this.f[i] - this.psi[i] - this.correction[i];
+            }
+            solve(this.delta);
+            double norm = errorNorm(this.yPredict, this.yPredict, this.delta);
+            if (Double.isInfinite(norm))
+            {
+                return false;
+            }
+            double rate = norm / normOld;
+            if (k > 0 && (rate >= 1.0 || Math.pow(rate, NEWTON_MAXITER - k) / (1.0 - rate) * norm > tolerance))
+            {
+                return false;
+            }
+            for (int i = 0; i < n; i++)
+            {
+                this.yNew[i] += this.delta[i];
+                this.correction[i] += this.delta[i];
+            }
+            if (norm == 0.0 || (k > 0 && rate / (1.0 - rate) * norm < tolerance))
+            {
+                return true;
+            }
+            normOld = norm;
+        }
+        return false;
+    }
+
+    /**
+     * Calculate the Jacobian at the predicted values of a step.
+     * @param xNew the x value at the end of the step
+     */
+    private void predictedJacobian(final double xNew)
+    {
+        this.equation.dy(xNew, this.yPredict, this.f);
+        this.evaluations++;
+        computeJacobian(xNew, this.yPredict, this.f);
+    }
+
+    /**
+     * Calculate the predicted values and psi for a step with the current order.
+     */
+    private void predict()
+    {
+        int n = this.yPredict.length;
+        System.arraycopy(this.d[0], 0, this.yPredict, 0, n);
+        Arrays.fill(this.psi, 0.0);
+        for (int j = 1; j <= this.order; j++)
+        {
+            double[] dj = this.d[j];
+            double g = GAMMA[j] / GAMMA[this.order];
+            for (int i = 0; i < n; i++)
+            {
+                this.yPredict[i] += dj[i];
+                this.psi[i] += g * dj[i];
+            }
+        }
+    }
+
+    /**
+     * Update the differences with the correction of an accepted step.
+     */
+    private void updateDifferences()
+    {
+        int n = this.correction.length;
+        int k = this.order;
+        for (int i = 0; i < n; i++)
+        {
+            this.d[k + 2][i] = this.correction[i] - this.d[k + 1][i];
+            this.d[k + 1][i] = this.correction[i];
+        }
+        for (int j = k; j >= 0; j--)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                this.d[j][i] += this.d[j + 1][i];
+            }
+        }
+    }
+
+    /**
+     * Return the tolerance of the Newton iteration, relative to the error tolerances.
+     * @return the tolerance of the Newton iteration
+     */
+    private double newtonTolerance()
+    {
+        double rtol = getRelativeTolerance();
+        return rtol == 0.0 ? 0.03 : Math.max(10.0 * Math.ulp(1.0) / rtol, Math.min(0.03, Math.sqrt(rtol)));
+    }
+
+    @Override
+    public double[] next(final double x, final double[] y)
+    {
+        double[] yOut = new double[y.length];
+        next(x, y, yOut);
+        return yOut;
+    }
+
+    @Override
+    public void next(final double x, final double[] y, final double[] yOut)
+    {
+        Throw.when(this.stepSize == 0.0 || Double.isNaN(this.stepSize), IllegalStateException.class,
+                "step size should be nonzero, got %f", this.stepSize);
+        int n = y.length;
+        allocate(n);
+        double h = this.stepSize;
+        if (!continues(x, y))
+        {
+            start(x, y, h, false);
+        }
+        else if (Math.abs(h) != this.hAbs)
+        {
+            changeDifferences(this.order, Math.abs(h) / this.hAbs);
+            this.hAbs = Math.abs(h);
+        }
+        double xNew = x + h;
+        predict();
+        double c = h / GAMMA[this.order];
+        boolean converged = solveNewton(xNew, c, newtonTolerance());
+        if (!converged)
+        {
+            predictedJacobian(xNew);
+            converged = solveNewton(xNew, c, newtonTolerance());
+        }
+        if (!converged)
+        {
+            throw new DsolRuntimeException(String.format(
+                    "Bdf: Newton iteration did not converge at x = %f with step size %g; use a smaller step size", x, h));
+        }
+        for (int i = 0; i < n; i++)
+        {
+            this.error[i] = ERROR_CONST[this.order] * this.correction[i];
+        }
+        updateDifferences();
+        this.equalSteps++;
+        if (this.equalSteps > this.order && this.order < MAX_ORDER)
+        {
+            this.order++;
+            this.equalSteps = 0;
+        }
+        this.stepStart = x;
+        this.stepEnd = xNew;
+        System.arraycopy(this.d[0], 0, yOut, 0, n);
+    }
+
+    @Override
+    public double step(final double x, final double[] y, final double xLimit)
+    {
+        Throw.when(this.stepSize == 0.0 || Double.isNaN(this.stepSize), IllegalStateException.class,
+                "step size should be nonzero, got %f", this.stepSize);
+        int n = y.length;
+        allocate(n);
+        double direction = Math.signum(this.stepSize);
+        boolean currentJacobian = false;
+        if (!continues(x, y))
+        {
+            start(x, y, direction * Math.min(Math.abs(this.stepSize), getMaxStepSize()), true);
+            currentJacobian = true;
+        }
+        else if (Math.abs(this.stepSize) != this.hAbs)
+        {
+            changeDifferences(this.order, Math.abs(this.stepSize) / this.hAbs);
+            this.hAbs = Math.abs(this.stepSize);
+        }
+        if (this.hAbs > getMaxStepSize())
+        {
+            changeDifferences(this.order, getMaxStepSize() / this.hAbs);
+            this.hAbs = getMaxStepSize();
+        }
+        double tolerance = newtonTolerance();
+        double xNew;
+        double errorNorm;
+        while (true)
+        {
+            if (this.hAbs <= 16.0 * Math.ulp(x))
+            {
+                throw new DsolRuntimeException(String.format("Bdf: step size %g too small at x = %f", this.hAbs, x));
+            }
+            xNew = x + direction * this.hAbs;
+            if (direction * (xNew - xLimit) >= 0.0)
+            {
+                xNew = xLimit;
+                double hLimit = Math.abs(xNew - x);
+                if (hLimit != this.hAbs)
+                {
+                    changeDifferences(this.order, hLimit / this.hAbs);
+                    this.hAbs = hLimit;
+                }
+            }
+            double h = xNew - x;
+            predict();
+            double c = h / GAMMA[this.order];
+            boolean converged = solveNewton(xNew, c, tolerance);
+            if (!converged && !currentJacobian)
+            {
+                predictedJacobian(xNew);
+                currentJacobian = true;
+                converged = solveNewton(xNew, c, tolerance);
+            }
+            if (!converged)
+            {
+                this.rejectedSteps++;
+                changeDifferences(this.order, 0.5);
+                this.hAbs *= 0.5;
+                continue;
+            }
+            double safety = 0.9 * (2 * NEWTON_MAXITER + 1) / (2 * NEWTON_MAXITER + this.newtonIterations);
+            errorNorm = ERROR_CONST[this.order] * errorNorm(this.yNew, this.yNew, this.correction);
+            if (errorNorm > 1.0)
+            {
+                this.rejectedSteps++;
+                double factor = Math.max(MIN_FACTOR, safety * Math.pow(errorNorm, -1.0 / (this.order + 1)));
+                changeDifferences(this.order, factor);
+                this.hAbs *= factor;
+                continue;
+            }
+            for (int i = 0; i < n; i++)
+            {
+                this.error[i] = ERROR_CONST[this.order] * this.correction[i];
+            }
+            this.acceptedSteps++;
+            updateDifferences();
+            this.equalSteps++;
+            if (this.equalSteps > this.order)
+            {
+                selectOrder(errorNorm, safety);
+            }
+            break;
+        }
+        System.arraycopy(this.d[0], 0, y, 0, n);
+        this.stepStart = x;
+        this.stepEnd = xNew;
+        this.stepSize = direction * this.hAbs;
+        return xNew;
+    }
+
+    /**
+     * Choose the order and the step size of the next step from the error estimates of the orders k - 1, k and k + 1, after
+     * k + 1 steps of equal size with order k.
+     * @param errorNorm the error norm of the last step with the current order
+     * @param safety the safety factor, which depends on the number of Newton iterations
+     */
+    private void selectOrder(final double errorNorm, final double safety)
+    {
+        int k = this.order;
+        double errorLower = k > 1 ? ERROR_CONST[k - 1] * errorNorm(this.yNew, this.yNew, this.d[k]) : Double.POSITIVE_INFINITY;
+        double errorHigher =
+                k < MAX_ORDER ? ERROR_CONST[k + 1] * errorNorm(this.yNew, this.yNew, this.d[k + 2]) : Double.POSITIVE_INFINITY;
+        double factorLower = Math.pow(errorLower, -1.0 / k);
+        double factorSame = Math.pow(errorNorm, -1.0 / (k + 1));
+        double factorHigher = Math.pow(errorHigher, -1.0 / (k + 2));
+        double factor = factorSame;
+        if (factorLower > factor)
+        {
+            factor = factorLower;
+            this.order = k - 1;
+        }
+        if (factorHigher > factor)
+        {
+            factor = factorHigher;
+            this.order = k + 1;
+        }
+        factor = Math.min(MAX_FACTOR, safety * factor);
+        changeDifferences(this.order, factor);
+        this.hAbs *= factor;
+    }
+
+    @Override
+    public void interpolate(final double x, final double[] yOut)
+    {
+        Throw.when(Double.isNaN(this.stepStart) || !this.started, IllegalStateException.class, "Bdf: no step to interpolate");
+        // the differences interpolate backwards from the end of the step with spacing h
+        double h = Math.signum(this.stepEnd - this.stepStart) * this.hAbs;
+        System.arraycopy(this.d[0], 0, yOut, 0, yOut.length);
+        double p = 1.0;
+        for (int j = 0; j < this.order; j++)
+        {
+            p *= (x - (this.stepEnd - h * j)) / (h * (j + 1));
+            double[] dj = this.d[j + 1];
+            for (int i = 0; i < yOut.length; i++)
+            {
+                yOut[i] += p * dj[i];
+            }
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        this.started = false;
+    }
+
+    /**
+     * Return the current order of the formula.
+     * @return the current order
+     */
+    public int getOrder()
+    {
+        return this.order;
+    }
+
+}
@@ -64,29 +64,45 @@ public abstract class CachingNumericalIntegrator extends NumericalIntegrator
     @Override
     public double[] next(final double x, final double[] y)
     {
-        double[] ynext = null;
+        double[] yOut = new double[y.length];
+        next(x, y, yOut);
+        return yOut;
+    }
+
+    @Override
+    public void next(final double x, final double[] y, final double[] yOut)
+    {
         // look whether we have to prime, or can calculate
         if (this.lastCachePlace < this.cachePlaces)
         {
             // calculate next y-value using the primer, which can have a
             // much smaller timestep
-            ynext = y.clone();
+            if (yOut != y)
+            {
+                System.arraycopy(y, 0, yOut, 0, y.length);
+            }
             double xstep = x;
             for (int i = 0; i < this.startingSubSteps; i++)
             {
-                ynext = this.startingIntegrator.next(xstep, ynext);
+                this.startingIntegrator.next(xstep, yOut, yOut);
                 xstep += this.stepSize / (1.0d * this.startingSubSteps);
             }
         }
         else
         {
             // calculate next y-value using the intended method
-            ynext = next(x);
+            nextFromCache(x, yOut);
         }
         this.lastCachePlace++;
-        this.cacheY[this.lastCachePlace % this.cachePlaces] = ynext;
-        this.cacheDY[this.lastCachePlace % this.cachePlaces] = this.equation.dy(x + this.stepSize, ynext);
-        return ynext;
+        // the cache keeps copies, so the caller can change the returned values
+        int place = this.lastCachePlace % this.cachePlaces;
+        if (this.cacheY[place] == null || this.cacheY[place].length != y.length)
+        {
+            this.cacheY[place] = new double[y.length];
+            this.cacheDY[place] = new double[y.length];
+        }
+        System.arraycopy(yOut, 0, this.cacheY[place], 0, y.length);
+        this.equation.dy(x + this.stepSize, yOut, this.cacheDY[place]);
     }
 
     /**
@@ -95,6 +111,16 @@ public abstract class CachingNumericalIntegrator extends NumericalIntegrator
      * @return the corresponding Y-value
      */
     public double[] getY(final int numberDown)
+    {
+        return getCachedY(numberDown).clone();
+    }
+
+    /**
+     * get a cached Y-value without copying it, for the in-place calculation of the next value.
+     * @param numberDown the number of the previous value we want
+     * @return the corresponding Y-value in the cache, which should not be changed
+     */
+    protected double[] getCachedY(final int numberDown)
     {
         if (this.lastCachePlace < this.cachePlaces)
         {
@@ -104,7 +130,7 @@ public abstract class CachingNumericalIntegrator extends NumericalIntegrator
         {
             throw new RuntimeException("Tried to retrieve y-value beyond cache limits");
         }
-        return this.cacheY[(this.lastCachePlace - numberDown) % this.cachePlaces].clone();
+        return this.cacheY[(this.lastCachePlace - numberDown) % this.cachePlaces];
     }
 
     /**
@@ -113,6 +139,16 @@ public abstract class CachingNumericalIntegrator extends NumericalIntegrator
      * @return the corresponding dY-value
      */
     public double[] getDY(final int numberDown)
+    {
+        return getCachedDY(numberDown).clone();
+    }
+
+    /**
+     * get a cached dY-value without copying it, for the in-place calculation of the next value.
+     * @param numberDown the number of the previous value we want
+     * @return the corresponding dY-value in the cache, which should not be changed
+     */
+    protected double[] getCachedDY(final int numberDown)
     {
         if (this.lastCachePlace < this.cachePlaces)
         {
@@ -122,7 +158,7 @@ public abstract class CachingNumericalIntegrator extends NumericalIntegrator
         {
             throw new RuntimeException("Tried to retrieve dy-value beyond cache limits");
         }
-        return this.cacheDY[(this.lastCachePlace - numberDown) % this.cachePlaces].clone();
+        return this.cacheDY[(this.lastCachePlace - numberDown) % this.cachePlaces];
     }
 
     /**
@@ -132,4 +168,16 @@ public abstract class CachingNumericalIntegrator extends NumericalIntegrator
      * @return the value of y(x+stepSize)
      */
     public abstract double[] next(double x);
+
+    /**
+     * Calculate the value of y(x+stepSize) from the cache, and store it in a provided array. The default implementation
+     * copies the result of next(x); Adams and Milne override this method to calculate the value without allocating arrays.
+     * @param x the x-value to use in the calculation
+     * @param yOut the array to store the value of y(x+stepSize)
+     */
+    protected void nextFromCache(final double x, final double[] yOut)
+    {
+        double[] ynext = next(x);
+        System.arraycopy(ynext, 0, yOut, 0, ynext.length);
+    }
 }
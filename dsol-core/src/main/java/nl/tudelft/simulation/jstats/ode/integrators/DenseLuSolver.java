@@ -0,0 +1,125 @@
+package nl.tudelft.simulation.jstats.ode.integrators;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * The DenseLuSolver solves linear systems with a dense matrix, stored as matrix[row][column], with a Doolittle LU decomposition
+ * with partial pivoting. The decomposition takes O(n<sup>3</sup>) and a solve O(n<sup>2</sup>) operations.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class DenseLuSolver extends LuSolver
+{
+    /** the matrix, which holds L below and U on and above the diagonal after the decomposition. */
+    private final double[][] a;
+
+    /**
+     * Create a solver for a dense square matrix.
+     * @param size the number of rows and columns of the matrix
+     * @throws IllegalArgumentException when size &lt; 1
+     */
+    public DenseLuSolver(final int size)
+    {
+        super(size);
+        this.a = new double[size][size];
+    }
+
+    @Override
+    public double[][] getMatrix()
+    {
+        return this.a;
+    }
+
+    @Override
+    public boolean decompose()
+    {
+        double[][] m = this.a;
+        int n = this.size;
+        this.decomposed = false;
+        for (int k = 0; k < n; k++)
+        {
+            int p = k;
+            double max = Math.abs(m[k][k]);
+            for (int i = k + 1; i < n; i++)
+            {
+                if (Math.abs(m[i][k]) > max)
+                {
+                    max = Math.abs(m[i][k]);
+                    p = i;
+                }
+            }
+            if (max == 0.0 || Double.isNaN(max))
+            {
+                return false;
+            }
+            this.pivot[k] = p;
+            if (p != k)
+            {
+                double[] swap = m[k];
+                m[k] = m[p];
+                m[p] = swap;
+            }
+            double[] rowK = m[k];
+            double diagonal = rowK[k];
+            for (int i = k + 1; i < n; i++)
+            {
+                double[] rowI = m[i];
+                double factor = rowI[k] / diagonal;
+                rowI[k] = factor;
+                if (factor != 0.0)
+                {
+                    for (int j = k + 1; j < n; j++)
+                    {
+                        rowI[j] -= factor * rowK[j];
+                    }
+                }
+            }
+        }
+        this.decomposed = true;
+        return true;
+    }
+
+    @Override
+    public void solve(final double[] b)
+    {
+        Throw.when(!this.decomposed, IllegalStateException.class, "DenseLuSolver: matrix not decomposed or singular");
+        double[][] m = this.a;
+        int n = this.size;
+        for (int k = 0; k < n; k++)
+        {
+            int p = this.pivot[k];
+            if (p != k)
+            {
+                double swap = b[k];
+                b[k] = b[p];
+                b[p] = swap;
+            }
+        }
+        for (int i = 1; i < n; i++)
+        {
+            double[] rowI = m[i];
+            double sum = b[i];
+            for (int j = 0; j < i; j++)
+            {
+                sum -= rowI[j] * b[j];
+            }
+            b[i] = sum;
+        }
+        for (int i = n - 1; i >= 0; i--)
+        {
+            double[] rowI = m[i];
+            double sum = b[i];
+            for (int j = i + 1; j < n; j++)
+            {
+                sum -= rowI[j] * b[j];
+            }
+            b[i] = sum / rowI[i];
+        }
+    }
+
+}
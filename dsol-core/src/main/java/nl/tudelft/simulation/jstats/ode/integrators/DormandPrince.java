@@ -0,0 +1,290 @@
+package nl.tudelft.simulation.jstats.ode.integrators;
+
+import java.util.Arrays;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.jstats.ode.DifferentialEquationInterface;
+import nl.tudelft.simulation.language.DsolRuntimeException;
+
+/**
+ * The Dormand-Prince 5(4) integrator, an explicit Runge-Kutta method of order 5 with an embedded method of order 4 for the
+ * error estimate. The last stage of a step is evaluated at the end of the step, so it is reused as the first stage of the next
+ * step (first same as last), and a step costs six evaluations of the equation. The adaptive steps use a PI step size
+ * controller, and the dense output uses the continuous extension of order 4 of Dormand and Prince. See E. Hairer, S.P.
+ * N&oslash;rsett and G. Wanner, Solving Ordinary Differential Equations I, 2nd edition, Springer, 1993, Sections II.4 and II.6.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class DormandPrince extends AdaptiveNumericalIntegrator
+{
+    /** the parameters for c_i, in f(x_n + c_i h, .). */
+    private static final double[] C = new double[] {0.0, 1.0 / 5.0, 3.0 / 10.0, 4.0 / 5.0, 8.0 / 9.0, 1.0, 1.0};
+
+    /** the parameters for a_ij, in f(., y_n + h (a_i1 k_1 + a_i2 k_2 + ...)); a_7j are the weights of the solution. */
+    private static final double[][] A = new double[][] {{}, {1.0 / 5.0}, {3.0 / 40.0, 9.0 / 40.0},
+            {44.0 / 45.0, -56.0 / 15.0, 32.0 / 9.0}, {19372.0 / 6561.0, -25360.0 / 2187.0, 64448.0 / 6561.0, -212.0 / 729.0},
+            {9017.0 / 3168.0, -355.0 / 33.0, 46732.0 / 5247.0, 49.0 / 176.0, -5103.0 / 18656.0},
+            {35.0 / 384.0, 0.0, 500.0 / 1113.0, 125.0 / 192.0, -2187.0 / 6784.0, 11.0 / 84.0}};
+
+    /** the parameters e_i = b_i - b*_i, the difference between the weights of the solutions of order 5 and 4. */
+    private static final double[] E = new double[] {71.0 / 57600.0, 0.0, -71.0 / 16695.0, 71.0 / 1920.0,
+            -17253.0 / 339200.0, 22.0 / 525.0, -1.0 / 40.0};
+
+    /** the parameters d_i of the dense output. */
+    private static final double[] D = new double[] {-12715105075.0 / 11282082432.0, 0.0, 87487479700.0 / 32700410799.0,
+            -10690763975.0 / 1880347072.0, 701980252875.0 / 199316789632.0, -1453857185.0 / 822651844.0,
+            69997945.0 / 29380423.0};
+
+    /** the number of stages. */
+    private static final int STAGES = 7;
+
+    /** the safety factor of the step size controller. */
+    private static final double SAFETY = 0.9;
+
+    /** the minimum factor for a new step size. */
+    private static final double MIN_FACTOR = 0.2;
+
+    /** the maximum factor for a new step size. */
+    private static final double MAX_FACTOR = 10.0;
+
+    /** the exponent of the proportional part of the PI controller, 1/5 - 0.75 BETA. */
+    private static final double ALPHA = 0.17;
+
+    /** the exponent of the integral part of the PI controller. */
+    private static final double BETA = 0.04;
+
+    /** the index of the scratch buffer for the argument of a stage; the buffers before it hold the stages. */
+    private static final int ARG = STAGES;
+
+    /** the index of the scratch buffer for the value at the end of the step. */
+    private static final int YNEW = STAGES + 1;
+
+    /** the index of the first of the five scratch buffers for the coefficients of the dense output. */
+    private static final int DENSE = STAGES + 2;
+
+    /** the number of scratch buffers. */
+    private static final int BUFFERS = STAGES + 7;
+
+    /** the error norm of the previous accepted step, for the integral part of the controller. */
+    private double previousError = 1.0E-4;
+
+    /** whether the previous trial step was rejected. */
+    private boolean previousRejected = false;
+
+    /** whether the first stage buffer contains the derivative at the end of the last accepted step. */
+    private boolean firstSameAsLast = false;
+
+    /** the scratch buffers of the last accepted step, which hold the coefficients of the dense output. */
+    private double[][] stepBuffers = null;
+
+    /**
+     * constructs a new DormandPrince integrator.
+     * @param stepSize the step size of next(x, y), and the first trial step size of the adaptive steps
+     * @param equation the differentialEquation
+     */
+    public DormandPrince(final double stepSize, final DifferentialEquationInterface equation)
+    {
+        super(stepSize, equation);
+    }
+
+    @Override
+    public double[] next(final double x, final double[] y)
+    {
+        double[] yOut = new double[y.length];
+        next(x, y, yOut);
+        return yOut;
+    }
+
+    @Override
+    public void next(final double x, final double[] y, final double[] yOut)
+    {
+        double[][] k = scratch(BUFFERS, y.length);
+        this.equation.dy(x, y, k[0]);
+        stages(x, y, this.stepSize, k);
+        System.arraycopy(k[YNEW], 0, yOut, 0, y.length);
+        this.firstSameAsLast = false;
+    }
+
+    /**
+     * Calculate stages 2 to 7 of a step, the value at the end of the step, and the error estimate, given the first stage.
+     * @param x the x value at the start of the step
+     * @param y the values at the start of the step
+     * @param h the signed step size
+     * @param k the scratch buffers, with the first stage in k[0]
+     */
+    private void stages(final double x, final double[] y, final double h, final double[][] k)
+    {
+        int n = y.length;
+        double[] arg = k[ARG];
+        for (int s = 1; s < STAGES; s++)
+        {
+            double[] ys = s == STAGES - 1 ? k[YNEW] : arg;
+            System.arraycopy(y, 0, ys, 0, n);
+            for (int j = 0; j < s; j++)
+            {
+                double haj = h * A[s][j];
+                if (haj != 0.0)
+                {
+                    double[] kj = k[j];
+                    for (int i = 0; i < n; i++)
+                    {
+                        ys[i] = ys[i] + haj * kj[i];
+                    }
+                }
+            }
+            this.equation.dy(x + C[s] * h, ys, k[s]);
+        }
+        if (super.error == null || super.error.length != n)
+        {
+            super.error = new double[n];
+        }
+        combine(h, E, k, super.error);
+    }
+
+    /**
+     * Calculate h (w_1 k_1 + w_2 k_2 + ... + w_7 k_7) for the stages of a step.
+     * @param h the signed step size
+     * @param w the weights of the stages
+     * @param k the scratch buffers with the stages
+     * @param out the array to store the result
+     */
+    private static void combine(final double h, final double[] w, final double[][] k, final double[] out)
+    {
+        Arrays.fill(out, 0.0);
+        for (int s = 0; s < STAGES; s++)
+        {
+            double hw = h * w[s];
+            if (hw != 0.0)
+            {
+                double[] ks = k[s];
+                for (int i = 0; i < out.length; i++)
+                {
+                    out[i] = out[i] + hw * ks[i];
+                }
+            }
+        }
+    }
+
+    @Override
+    public double step(final double x, final double[] y, final double xLimit)
+    {
+        Throw.when(this.stepSize == 0.0 || Double.isNaN(this.stepSize), IllegalStateException.class,
+                "step size should be nonzero, got %f", this.stepSize);
+        int n = y.length;
+        double[][] k = scratch(BUFFERS, n);
+        if (!this.firstSameAsLast || k != this.stepBuffers || x != this.stepEnd || !Arrays.equals(y, k[YNEW]))
+        {
+            this.equation.dy(x, y, k[0]);
+            this.evaluations++;
+        }
+        double direction = Math.signum(this.stepSize);
+        double h = Math.min(Math.abs(this.stepSize), getMaxStepSize());
+        double distance = Math.abs(xLimit - x);
+        while (true)
+        {
+            boolean toLimit = h >= distance;
+            if (toLimit)
+            {
+                h = distance;
+            }
+            if (h <= 16.0 * Math.ulp(x))
+            {
+                throw new DsolRuntimeException(String.format("DormandPrince: step size %g too small at x = %f", h, x));
+            }
+            stages(x, y, direction * h, k);
+            this.evaluations += 6;
+            double err = errorNorm(y, k[YNEW], super.error);
+            double factor = Math.pow(err, ALPHA);
+            if (err <= 1.0)
+            {
+                double newFactor = Math.max(1.0 / MAX_FACTOR,
+                        Math.min(1.0 / MIN_FACTOR, factor / Math.pow(this.previousError, BETA) / SAFETY));
+                double hNew = h / newFactor;
+                if (this.previousRejected)
+                {
+                    hNew = Math.min(hNew, h);
+                }
+                this.previousError = Math.max(err, 1.0E-4);
+                this.previousRejected = false;
+                this.acceptedSteps++;
+                dense(y, direction * h, k);
+                System.arraycopy(k[YNEW], 0, y, 0, n);
+                // the last stage is the first stage of the next step
+                double[] swap = k[0];
+                k[0] = k[STAGES - 1];
+                k[STAGES - 1] = swap;
+                this.firstSameAsLast = true;
+                this.stepBuffers = k;
+                this.stepStart = x;
+                this.stepEnd = toLimit ? xLimit : x + direction * h;
+                this.stepSize = direction * Math.min(hNew, getMaxStepSize());
+                return this.stepEnd;
+            }
+            this.rejectedSteps++;
+            this.previousRejected = true;
+            h = h / Math.min(1.0 / MIN_FACTOR, factor / SAFETY);
+        }
+    }
+
+    /**
+     * Store the coefficients of the interpolation polynomial of an accepted step.
+     * @param y the values at the start of the step
+     * @param h the signed step size
+     * @param k the scratch buffers with the stages and the value at the end of the step
+     */
+    private void dense(final double[] y, final double h, final double[][] k)
+    {
+        double[] k1 = k[0];
+        double[] k7 = k[STAGES - 1];
+        double[] yNew = k[YNEW];
+        double[] r1 = k[DENSE];
+        double[] r2 = k[DENSE + 1];
+        double[] r3 = k[DENSE + 2];
+        double[] r4 = k[DENSE + 3];
+        for (int i = 0; i < y.length; i++)
+        {
+            double dy = yNew[i] - y[i];
+            double bspl = h * k1[i] - dy;
+            r1[i] = y[i];
+            r2[i] = dy;
+            r3[i] = bspl;
+            r4[i] = dy - h * k7[i] - bspl;
+        }
+        combine(h, D, k, k[DENSE + 4]);
+    }
+
+    @Override
+    public void interpolate(final double x, final double[] yOut)
+    {
+        Throw.when(Double.isNaN(this.stepStart), IllegalStateException.class, "DormandPrince: no step to interpolate");
+        double[][] k = this.stepBuffers;
+        double[] r1 = k[DENSE];
+        double[] r2 = k[DENSE + 1];
+        double[] r3 = k[DENSE + 2];
+        double[] r4 = k[DENSE + 3];
+        double[] r5 = k[DENSE + 4];
+        double s = (x - this.stepStart) / (this.stepEnd - this.stepStart);
+        double s1 = 1.0 - s;
+        for (int i = 0; i < yOut.length; i++)
+        {
+            yOut[i] = r1[i] + s * (r2[i] + s1 * (r3[i] + s * (r4[i] + s1 * r5[i])));
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        this.previousError = 1.0E-4;
+        this.previousRejected = false;
+        this.firstSameAsLast = false;
+        this.stepBuffers = null;
+    }
+
+}
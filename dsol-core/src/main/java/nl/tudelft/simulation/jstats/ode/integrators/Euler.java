@@ -29,6 +29,19 @@ public class Euler extends NumericalIntegrator
     @Override
     public double[] next(final double x, final double[] y)
     {
-        return add(y, multiply(this.stepSize, this.equation.dy(x, y)));
+        double[] yOut = new double[y.length];
+        next(x, y, yOut);
+        return yOut;
+    }
+
+    @Override
+    public void next(final double x, final double[] y, final double[] yOut)
+    {
+        double[] k = scratch(1, y.length)[0];
+        this.equation.dy(x, y, k);
+        for (int i = 0; i < y.length; i++)
+        {
+            yOut[i] = y[i] + this.stepSize * k[i];
+        }
     }
 }
@@ -50,13 +50,44 @@ public class Gill extends NumericalIntegrator
     @Override
     public double[] next(final double x, final double[] y)
     {
-        double[] k1 = multiply(this.stepSize, this.equation.dy(x, y));
-        double[] k2 = multiply(this.stepSize, this.equation.dy(x + 0.5d * this.stepSize, add(y, multiply(0.5d, k1))));
-        double[] k3 = multiply(this.stepSize,
-                this.equation.dy(x + 0.5d * this.stepSize, add(y, multiply(HM1SQRT2, k1), multiply(IMSQRT2D2, k2))));
-        double[] k4 = multiply(this.stepSize,
-                this.equation.dy(x + this.stepSize, add(y, multiply((-SQRT2D2), k2), multiply(IPSQRT2D2, k3))));
-        double[] sum = add(k1, multiply(M2SQRT2, k2), multiply(P2SQRT2, k3), k4);
-        return add(y, multiply(1.0 / 6.0d, sum));
+        double[] yOut = new double[y.length];
+        next(x, y, yOut);
+        return yOut;
+    }
+
+    @Override
+    public void next(final double x, final double[] y, final double[] yOut)
+    {
+        double[][] s = scratch(5, y.length);
+        double[] k1 = s[0];
+        double[] k2 = s[1];
+        double[] k3 = s[2];
+        double[] k4 = s[3];
+        double[] yt = s[4];
+        double h2 = 0.5d * this.stepSize;
+        this.equation.dy(x, y, k1);
+        for (int i = 0; i < y.length; i++)
+        {
+            k1[i] = this.stepSize * k1[i];
+            yt[i] = y[i] + 0.5d * k1[i];
+        }
+        this.equation.dy(x + h2, yt, k2);
+        for (int i = 0; i < y.length; i++)
+        {
+            k2[i] = this.stepSize * k2[i];
+            yt[i] = y[i] + HM1SQRT2 * k1[i] + IMSQRT2D2 * k2[i];
+        }
+        this.equation.dy(x + h2, yt, k3);
+        for (int i = 0; i < y.length; i++)
+        {
+            k3[i] = this.stepSize * k3[i];
+            yt[i] = y[i] + (-SQRT2D2) * k2[i] + IPSQRT2D2 * k3[i];
+        }
+        this.equation.dy(x + this.stepSize, yt, k4);
+        for (int i = 0; i < y.length; i++)
+        {
+            k4[i] = this.stepSize * k4[i];
+            yOut[i] = y[i] + 1.0 / 6.0d * (k1[i] + M2SQRT2 * k2[i] + P2SQRT2 * k3[i] + k4[i]);
+        }
     }
 }
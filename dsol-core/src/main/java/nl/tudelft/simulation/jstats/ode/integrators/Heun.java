@@ -28,8 +28,28 @@ public class Heun extends NumericalIntegrator
     @Override
     public double[] next(final double x, final double[] y)
     {
-        double[] f0 = this.equation.dy(x, y);
-        double[] p = add(y, multiply(this.stepSize, f0));
-        return add(y, multiply(0.5 * this.stepSize, add(f0, this.equation.dy(x + this.stepSize, p))));
+        double[] yOut = new double[y.length];
+        next(x, y, yOut);
+        return yOut;
+    }
+
+    @Override
+    public void next(final double x, final double[] y, final double[] yOut)
+    {
+        double[][] s = scratch(3, y.length);
+        double[] f0 = s[0];
+        double[] p = s[1];
+        double[] f1 = s[2];
+        this.equation.dy(x, y, f0);
+        for (int i = 0; i < y.length; i++)
+        {
+            p[i] = y[i] + this.stepSize * f0[i];
+        }
+        this.equation.dy(x + this.stepSize, p, f1);
+        double h2 = 0.5 * this.stepSize;
+        for (int i = 0; i < y.length; i++)
+        {
+            yOut[i] = y[i] + h2 * (f0[i] + f1[i]);
+        }
     }
 }
@@ -0,0 +1,72 @@
+package nl.tudelft.simulation.jstats.ode.integrators;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * The LuSolver solves linear systems A x = b with an LU decomposition with partial pivoting of the matrix A. The matrix is
+ * filled in the array of getMatrix(), decomposed in place with decompose(), and can then be used for any number of calls to
+ * solve(b). The storage of the matrix is defined by the subclasses.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public abstract class LuSolver
+{
+    /** the number of rows and columns of the matrix. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected final int size;
+
+    /** the row that was swapped with row k at step k of the decomposition. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected final int[] pivot;
+
+    /** whether the matrix has been decomposed and is not singular. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected boolean decomposed = false;
+
+    /**
+     * Create a solver for a square matrix.
+     * @param size the number of rows and columns of the matrix
+     * @throws IllegalArgumentException when size &lt; 1
+     */
+    public LuSolver(final int size)
+    {
+        Throw.when(size < 1, IllegalArgumentException.class, "size should be >= 1, got %d", size);
+        this.size = size;
+        this.pivot = new int[size];
+    }
+
+    /**
+     * Return the array in which the matrix is stored. The matrix should be filled before calling decompose(); the
+     * decomposition overwrites the array.
+     * @return the array in which the matrix is stored
+     */
+    public abstract double[][] getMatrix();
+
+    /**
+     * Decompose the matrix in place.
+     * @return true when the decomposition succeeded, false when the matrix is singular
+     */
+    public abstract boolean decompose();
+
+    /**
+     * Solve A x = b with the decomposed matrix, and store x in b.
+     * @param b the right hand side, which is overwritten with the solution
+     * @throws IllegalStateException when the matrix has not been decomposed, or is singular
+     */
+    public abstract void solve(double[] b);
+
+    /**
+     * Return the number of rows and columns of the matrix.
+     * @return the number of rows and columns of the matrix
+     */
+    public int getSize()
+    {
+        return this.size;
+    }
+
+}
@@ -39,6 +39,34 @@ public class Milne extends CachingNumericalIntegrator
         super(stepSize, equation, 4, primerIntegrationMethod, startingSubSteps);
     }
 
+    @Override
+    protected void nextFromCache(final double x, final double[] yOut)
+    {
+        double[] y3 = getCachedY(3);
+        double[] y1 = getCachedY(1);
+        double[] dy2 = getCachedDY(2);
+        double[] dy1 = getCachedDY(1);
+        double[] dy0 = getCachedDY(0);
+        double[][] s = scratch(2, y1.length);
+        double[] p = s[0];
+        double[] f = s[1];
+
+        // Let's evaluate the predictor
+        double h43 = 4 * this.stepSize / 3.0;
+        for (int i = 0; i < y1.length; i++)
+        {
+            p[i] = y3[i] + h43 * (2.0 * dy0[i] + -1.0 * dy1[i] + 2.0 * dy2[i]);
+        }
+
+        // Now we compute the corrector
+        this.equation.dy(x + this.stepSize, p, f);
+        double h3 = this.stepSize / 3.0;
+        for (int i = 0; i < y1.length; i++)
+        {
+            yOut[i] = y1[i] + h3 * (dy1[i] + 4.0 * dy0[i] + f[i]);
+        }
+    }
+
     @Override
     public double[] next(final double x)
     {
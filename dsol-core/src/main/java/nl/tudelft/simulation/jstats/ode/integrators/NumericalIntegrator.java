@@ -5,6 +5,12 @@ import nl.tudelft.simulation.jstats.ode.DifferentialEquationInterface;
 /**
  * Provides basic methods for all numerical integration methods. They mostly include matrix computation.
  * <p>
+ * Next to next(x, y), which returns a new array, the integrators provide next(x, y, yOut), which stores the new value in an
+ * array of the caller. The integrators of DSOL keep the intermediate stages of a step in scratch buffers that are allocated
+ * at the first step, so together with an equation that implements DifferentialEquationInterface.dy(x, y, dyOut), the
+ * integration of a step does not allocate any arrays.
+ * </p>
+ * <p>
  * Copyright (c) 2002-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
  * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
  * project is distributed under a three-clause BSD-style license, which can be found at
@@ -27,6 +33,9 @@ public abstract class NumericalIntegrator
     @SuppressWarnings("checkstyle:visibilitymodifier")
     protected DifferentialEquationInterface equation = null;
 
+    /** the scratch buffers for the stages of a step; reallocated when the number of variables changes. */
+    private double[][] scratch = new double[0][];
+
     /**
      * constructs a new NumericalIntegrator.
      * @param stepSize the stepSize
@@ -46,6 +55,34 @@ public abstract class NumericalIntegrator
      */
     public abstract double[] next(double x, double[] y);
 
+    /**
+     * computes the next value and stores it in a provided array. The default implementation copies the result of next(x, y);
+     * the integrators of DSOL override this method to calculate the step in scratch buffers without allocating arrays.
+     * @param x the x value corresponding to the last y-value computed
+     * @param y the last y value; the array is not changed, unless it is the same array as yOut
+     * @param yOut the array to store the new value, with the same length as y; may be the same array as y
+     */
+    public void next(final double x, final double[] y, final double[] yOut)
+    {
+        System.arraycopy(next(x, y), 0, yOut, 0, y.length);
+    }
+
+    /**
+     * Return the scratch buffers for the stages of a step. The buffers are allocated at the first call, and when the number of
+     * buffers or the number of variables changes. The contents of the buffers are not defined.
+     * @param count the number of buffers
+     * @param length the length of the buffers, i.e., the number of variables
+     * @return an array with at least count buffers of the given length
+     */
+    protected double[][] scratch(final int count, final int length)
+    {
+        if (this.scratch.length < count || this.scratch[0].length != length)
+        {
+            this.scratch = new double[count][length];
+        }
+        return this.scratch;
+    }
+
     /**
      * multiplies a vector with a constant.
      * @param constant the constant
@@ -170,6 +207,8 @@ public abstract class NumericalIntegrator
     }
 
     /**
+     * Return the error estimate of the last step, for the integrators that calculate it. The in-place integration reuses the
+     * array for the next step when the number of variables does not change.
      * @return Returns the error.
      */
     public double[] getError()
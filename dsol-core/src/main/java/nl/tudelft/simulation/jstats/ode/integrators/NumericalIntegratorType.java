@@ -41,7 +41,16 @@ public enum NumericalIntegratorType
     RUNGEKUTTAFEHLBERG(7, RungeKuttaFehlberg.class),
 
     /** Runge-Kutta-Cash-Carp integration. */
-    RUNGEKUTTACASHCARP(8, RungeKuttaCashCarp.class);
+    RUNGEKUTTACASHCARP(8, RungeKuttaCashCarp.class),
+
+    /** Dormand-Prince 5(4) integration with adaptive step size and dense output. */
+    DORMANDPRINCE(9, DormandPrince.class),
+
+    /** Backward differentiation formulas of order 1 to 5 for stiff equations. */
+    BDF(10, Bdf.class),
+
+    /** Rosenbrock W-method of order 2(3) for stiff equations. */
+    ROSENBROCKW(11, RosenbrockW.class);
 
     /** the value from DSOL-1 before enum was introduced. */
     private final int value;
@@ -0,0 +1,360 @@
+package nl.tudelft.simulation.jstats.ode.integrators;
+
+import java.util.Arrays;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.jstats.ode.DifferentialEquationInterface;
+import nl.tudelft.simulation.language.DsolRuntimeException;
+
+/**
+ * The RosenbrockW integrator implements the modified Rosenbrock triple of order 2(3) of Shampine and Reichelt, a linearly
+ * implicit method for stiff equations. A step solves three linear systems with one decomposition of the iteration matrix W =
+ * I - h d J, and costs two evaluations of the equation, since the last evaluation is reused as the first one of the next step.
+ * The error estimate is of order 3, and the dense output is the continuous extension of order 2 of the method. The derivative
+ * df/dx of non-autonomous equations is approximated with a forward difference when the Jacobian is calculated. See L.F.
+ * Shampine and M.W. Reichelt, The MATLAB ODE Suite, SIAM Journal on Scientific Computing 18(1), 1997, pp. 1-22.
+ * <p>
+ * The method is a W-method: the solution keeps its order 2 when J is only an approximation of the Jacobian. The error
+ * estimate, however, assumes the exact Jacobian, so by default the adaptive steps calculate the Jacobian at every step. With
+ * setReuseJacobian(true), the Jacobian is only recalculated when a step is rejected, which saves the calculation of
+ * expensive Jacobians at the cost of more, smaller steps. The fixed-step method next(x, y) always reuses the Jacobian, and
+ * recalculates it after a step with an error estimate above the tolerance.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class RosenbrockW extends StiffNumericalIntegrator
+{
+    /** the diagonal coefficient d = 1 / (2 + sqrt(2)) of the method. */
+    private static final double D = 1.0 / (2.0 + Math.sqrt(2.0));
+
+    /** the coefficient e32 = 6 + sqrt(2) of the third stage. */
+    private static final double E32 = 6.0 + Math.sqrt(2.0);
+
+    /** the safety factor of the step size controller. */
+    private static final double SAFETY = 0.8;
+
+    /** the minimum factor for a new step size. */
+    private static final double MIN_FACTOR = 0.1;
+
+    /** the maximum factor for a new step size. */
+    private static final double MAX_FACTOR = 5.0;
+
+    /** the index of the buffer with the derivatives at the start of the step. */
+    private static final int F0 = 0;
+
+    /** the index of the buffer with the derivatives at the middle of the step. */
+    private static final int F1 = 1;
+
+    /** the index of the buffer with the derivatives at the end of the step. */
+    private static final int F2 = 2;
+
+    /** the index of the buffer with the first stage. */
+    private static final int K1 = 3;
+
+    /** the index of the buffer with the second stage. */
+    private static final int K2 = 4;
+
+    /** the index of the buffer with the third stage. */
+    private static final int K3 = 5;
+
+    /** the index of the buffer with the argument of the second evaluation, and the right hand sides. */
+    private static final int ARG = 6;
+
+    /** the index of the buffer with the values at the end of the step. */
+    private static final int YNEW = 7;
+
+    /** the index of the buffer with the values at the start of the last accepted step, for the dense output. */
+    private static final int YOLD = 8;
+
+    /** the index of the buffer with the derivative df/dx. */
+    private static final int DFDX = 9;
+
+    /** the index of the buffer with the derivatives at a perturbed x, for df/dx. */
+    private static final int FX = 10;
+
+    /** the number of buffers. */
+    private static final int BUFFERS = 11;
+
+    /** the buffers. */
+    private double[][] k = null;
+
+    /** whether F0 contains the derivatives at the end of the last accepted step. */
+    private boolean firstSameAsLast = false;
+
+    /** whether the previous trial step was rejected. */
+    private boolean previousRejected = false;
+
+    /** whether the adaptive steps reuse the Jacobian until a step is rejected. */
+    private boolean reuseJacobian = false;
+
+    /**
+     * constructs a new RosenbrockW integrator.
+     * @param stepSize the step size of next(x, y), and the first trial step size of the adaptive steps
+     * @param equation the differentialEquation
+     */
+    public RosenbrockW(final double stepSize, final DifferentialEquationInterface equation)
+    {
+        super(stepSize, equation);
+    }
+
+    /**
+     * Allocate the buffers when the number of variables has changed.
+     * @param n the number of variables
+     */
+    private void allocate(final int n)
+    {
+        if (this.k != null && this.k[0].length == n)
+        {
+            return;
+        }
+        this.k = new double[BUFFERS][n];
+        this.error = new double[n];
+        this.firstSameAsLast = false;
+    }
+
+    /**
+     * Calculate the Jacobian and df/dx at (x, y), given the derivatives at (x, y) in F0.
+     * @param x the x value
+     * @param y the values at x
+     * @param h the signed step size, for the perturbation of x
+     */
+    private void jacobian(final double x, final double[] y, final double h)
+    {
+        double[] f0 = this.k[F0];
+        computeJacobian(x, y, f0);
+        double delta = Math.sqrt(Math.ulp(1.0)) * Math.max(Math.abs(x), Math.abs(h));
+        double xp = x + delta;
+        delta = xp - x;
+        double[] fx = this.k[FX];
+        this.equation.dy(xp, y, fx);
+        this.evaluations++;
+        double[] dfdx = this.k[DFDX];
+        for (int i = 0; i < y.length; i++)
+        {
+            dfdx[i] = (fx[i] - f0[i]) / delta;
+        }
+    }
+
+    /**
+     * Calculate the stages, the values at the end of the step, and the error estimate of a step, given the derivatives at the
+     * start of the step in F0.
+     * @param x the x value at the start of the step
+     * @param y the values at the start of the step
+     * @param h the signed step size
+     * @return false when the iteration matrix is singular
+     */
+    private boolean stages(final double x, final double[] y, final double h)
+    {
+        if (!decompose(h * D))
+        {
+            return false;
+        }
+        int n = y.length;
+        double[] f0 = this.k[F0];
+        double[] f1 = this.k[F1];
+        double[] f2 = this.k[F2];
+        double[] k1 = this.k[K1];
+        double[] k2 = this.k[K2];
+        double[] k3 = this.k[K3];
+        double[] arg = this.k[ARG];
+        double[] yNew = this.k[YNEW];
+        double[] dfdx = this.k[DFDX];
+        double hd = h * D;
+        for (int i = 0; i < n; i++)
+        {
+            k1[i] = f0[i] + hd * dfdx[i];
+        }
+        solve(k1);
+        for (int i = 0; i < n; i++)
+        {
+            arg[i] = y[i] + 0.5 * h * k1[i];
+        }
+        this.equation.dy(x + 0.5 * h, arg, f1);
+        for (int i = 0; i < n; i++)
+        {
+            k2[i] = f1[i] - k1[i];
+        }
+        solve(k2);
+        for (int i = 0; i < n; i++)
+        {
+            k2[i] += k1[i];
+            yNew[i] = y[i] + h * k2[i];
+        }
+        this.equation.dy(x + h, yNew, f2);
+        for (int i = 0; i < n; i++)
+        {
+            k3[i] = f2[i] - E32 * (k2[i] - f1[i]) - 2.0 * (k1[i] - f0[i]) + hd * dfdx[i];
+        }
+        solve(k3);
+        for (int i = 0; i < n; i++)
+        {
+            this.error[i] = h / 6.0 * (k1[i] - 2.0 * k2[i] + k3[i]);
+        }
+        return true;
+    }
+
+    @Override
+    public double[] next(final double x, final double[] y)
+    {
+        double[] yOut = new double[y.length];
+        next(x, y, yOut);
+        return yOut;
+    }
+
+    @Override
+    public void next(final double x, final double[] y, final double[] yOut)
+    {
+        int n = y.length;
+        allocate(n);
+        double h = this.stepSize;
+        this.equation.dy(x, y, this.k[F0]);
+        if (!isJacobianValid())
+        {
+            jacobian(x, y, h);
+        }
+        if (!stages(x, y, h))
+        {
+            throw new DsolRuntimeException(
+                    String.format("RosenbrockW: singular iteration matrix at x = %f with step size %g", x, h));
+        }
+        // the fixed step cannot be rejected, but an outdated Jacobian is recalculated at the next step
+        if (errorNorm(y, this.k[YNEW], this.error) > 1.0)
+        {
+            invalidateJacobian();
+        }
+        System.arraycopy(y, 0, this.k[YOLD], 0, n);
+        System.arraycopy(this.k[YNEW], 0, yOut, 0, n);
+        this.firstSameAsLast = false;
+        this.stepStart = x;
+        this.stepEnd = x + h;
+    }
+
+    @Override
+    public double step(final double x, final double[] y, final double xLimit)
+    {
+        Throw.when(this.stepSize == 0.0 || Double.isNaN(this.stepSize), IllegalStateException.class,
+                "step size should be nonzero, got %f", this.stepSize);
+        int n = y.length;
+        allocate(n);
+        double direction = Math.signum(this.stepSize);
+        double h = Math.min(Math.abs(this.stepSize), getMaxStepSize());
+        boolean continues = this.firstSameAsLast && x == this.stepEnd && Arrays.equals(y, this.k[YNEW]);
+        if (!continues)
+        {
+            this.equation.dy(x, y, this.k[F0]);
+            this.evaluations++;
+        }
+        boolean currentJacobian = false;
+        if (!continues || !isJacobianValid())
+        {
+            jacobian(x, y, direction * h);
+            currentJacobian = true;
+        }
+        double distance = Math.abs(xLimit - x);
+        while (true)
+        {
+            boolean toLimit = h >= distance;
+            if (toLimit)
+            {
+                h = distance;
+            }
+            if (h <= 16.0 * Math.ulp(x))
+            {
+                throw new DsolRuntimeException(String.format("RosenbrockW: step size %g too small at x = %f", h, x));
+            }
+            if (!stages(x, y, direction * h))
+            {
+                this.rejectedSteps++;
+                this.previousRejected = true;
+                h *= 0.5;
+                continue;
+            }
+            this.evaluations += 2;
+            double err = errorNorm(y, this.k[YNEW], this.error);
+            if (err <= 1.0)
+            {
+                double factor = err == 0.0 ? MAX_FACTOR : Math.min(MAX_FACTOR, SAFETY * Math.pow(err, -1.0 / 3.0));
+                if (this.previousRejected)
+                {
+                    factor = Math.min(factor, 1.0);
+                }
+                this.previousRejected = false;
+                this.acceptedSteps++;
+                System.arraycopy(y, 0, this.k[YOLD], 0, n);
+                System.arraycopy(this.k[YNEW], 0, y, 0, n);
+                // the derivatives at the end of the step are the first ones of the next step
+                double[] swap = this.k[F0];
+                this.k[F0] = this.k[F2];
+                this.k[F2] = swap;
+                this.firstSameAsLast = true;
+                if (!this.reuseJacobian)
+                {
+                    invalidateJacobian();
+                }
+                this.stepStart = x;
+                this.stepEnd = toLimit ? xLimit : x + direction * h;
+                this.stepSize = direction * Math.min(h * factor, getMaxStepSize());
+                return this.stepEnd;
+            }
+            this.rejectedSteps++;
+            this.previousRejected = true;
+            if (!currentJacobian)
+            {
+                jacobian(x, y, direction * h);
+                currentJacobian = true;
+            }
+            h *= Math.max(MIN_FACTOR, SAFETY * Math.pow(err, -1.0 / 3.0));
+        }
+    }
+
+    @Override
+    public void interpolate(final double x, final double[] yOut)
+    {
+        Throw.when(Double.isNaN(this.stepStart), IllegalStateException.class, "RosenbrockW: no step to interpolate");
+        double h = this.stepEnd - this.stepStart;
+        double s = (x - this.stepStart) / h;
+        double w1 = h * s * (1.0 - s) / (1.0 - 2.0 * D);
+        double w2 = h * s * (s - 2.0 * D) / (1.0 - 2.0 * D);
+        double[] yOld = this.k[YOLD];
+        double[] k1 = this.k[K1];
+        double[] k2 = this.k[K2];
+        for (int i = 0; i < yOut.length; i++)
+        {
+            yOut[i] = yOld[i] + w1 * k1[i] + w2 * k2[i];
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        this.firstSameAsLast = false;
+        this.previousRejected = false;
+    }
+
+    /**
+     * Set whether the adaptive steps reuse the Jacobian until a step is rejected, or calculate it at every step.
+     * @param reuseJacobian whether the adaptive steps reuse the Jacobian until a step is rejected
+     */
+    public void setReuseJacobian(final boolean reuseJacobian)
+    {
+        this.reuseJacobian = reuseJacobian;
+    }
+
+    /**
+     * Return whether the adaptive steps reuse the Jacobian until a step is rejected.
+     * @return whether the adaptive steps reuse the Jacobian until a step is rejected
+     */
+    public boolean isReuseJacobian()
+    {
+        return this.reuseJacobian;
+    }
+
+}
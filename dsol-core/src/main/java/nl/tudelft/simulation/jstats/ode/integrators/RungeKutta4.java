@@ -28,11 +28,41 @@ public class RungeKutta4 extends NumericalIntegrator
     @Override
     public double[] next(final double x, final double[] y)
     {
-        double[] k1 = this.equation.dy(x, y);
-        double[] k2 = this.equation.dy(x + 0.5 * this.stepSize, add(y, multiply(0.5 * this.stepSize, k1)));
-        double[] k3 = this.equation.dy(x + 0.5 * this.stepSize, add(y, multiply(0.5 * this.stepSize, k2)));
-        double[] k4 = this.equation.dy(x + this.stepSize, add(y, multiply(this.stepSize, k3)));
-        double[] sum = add(k1, multiply(2.0, k2), multiply(2.0, k3), k4);
-        return add(y, multiply(this.stepSize / 6.0, sum));
+        double[] yOut = new double[y.length];
+        next(x, y, yOut);
+        return yOut;
+    }
+
+    @Override
+    public void next(final double x, final double[] y, final double[] yOut)
+    {
+        double[][] s = scratch(5, y.length);
+        double[] k1 = s[0];
+        double[] k2 = s[1];
+        double[] k3 = s[2];
+        double[] k4 = s[3];
+        double[] yt = s[4];
+        double h2 = 0.5 * this.stepSize;
+        this.equation.dy(x, y, k1);
+        for (int i = 0; i < y.length; i++)
+        {
+            yt[i] = y[i] + h2 * k1[i];
+        }
+        this.equation.dy(x + h2, yt, k2);
+        for (int i = 0; i < y.length; i++)
+        {
+            yt[i] = y[i] + h2 * k2[i];
+        }
+        this.equation.dy(x + h2, yt, k3);
+        for (int i = 0; i < y.length; i++)
+        {
+            yt[i] = y[i] + this.stepSize * k3[i];
+        }
+        this.equation.dy(x + this.stepSize, yt, k4);
+        double h6 = this.stepSize / 6.0;
+        for (int i = 0; i < y.length; i++)
+        {
+            yOut[i] = y[i] + h6 * (k1[i] + 2.0 * k2[i] + 2.0 * k3[i] + k4[i]);
+        }
     }
 }
@@ -50,26 +50,60 @@ public class RungeKuttaCashCarp extends NumericalIntegrator
     @Override
     public double[] next(final double x, final double[] y)
     {
-        double[][] k = new double[nk][];
+        double[] yOut = new double[y.length];
+        next(x, y, yOut);
+        return yOut;
+    }
+
+    @Override
+    public void next(final double x, final double[] y, final double[] yOut)
+    {
+        int n = y.length;
+        double[][] k = scratch(nk + 1, n);
+        double[] ysum = k[nk];
         for (int i = 0; i < nk; i++)
         {
-            double[] ysum = y.clone();
+            System.arraycopy(y, 0, ysum, 0, n);
             for (int j = 0; j < i; j++)
             {
-                if (b[i][j] != 0.0)
+                double bij = b[i][j];
+                if (bij != 0.0)
                 {
-                    ysum = add(ysum, multiply(b[i][j], k[j]));
+                    double[] kj = k[j];
+                    for (int l = 0; l < n; l++)
+                    {
+                        ysum[l] = ysum[l] + bij * kj[l];
+                    }
                 }
             }
-            k[i] = multiply(this.stepSize, this.equation.dy(x + a[i] * this.stepSize, ysum));
+            double[] ki = k[i];
+            this.equation.dy(x + a[i] * this.stepSize, ysum, ki);
+            for (int l = 0; l < n; l++)
+            {
+                ki[l] = this.stepSize * ki[l];
+            }
+        }
+        if (super.error == null || super.error.length != n)
+        {
+            super.error = new double[n];
+        }
+        double[] err = super.error;
+        // y is not used anymore, so yOut can be the same array as y
+        System.arraycopy(y, 0, yOut, 0, n);
+        for (int l = 0; l < n; l++)
+        {
+            err[l] = 0.0;
         }
-        double[] sum = y.clone();
-        super.error = new double[y.length];
         for (int i = 0; i < nk; i++)
         {
-            sum = add(sum, this.multiply(c[i], k[i]));
-            super.error = add(super.error, multiply(c[i] - c4[i], k[i]));
+            double ci = c[i];
+            double ei = c[i] - c4[i];
+            double[] ki = k[i];
+            for (int l = 0; l < n; l++)
+            {
+                yOut[l] = yOut[l] + ci * ki[l];
+                err[l] = err[l] + ei * ki[l];
+            }
         }
-        return sum;
     }
 }
@@ -0,0 +1,325 @@
+package nl.tudelft.simulation.jstats.ode.integrators;
+
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.jstats.ode.DifferentialEquationInterface;
+import nl.tudelft.simulation.jstats.ode.JacobianInterface;
+
+/**
+ * The StiffNumericalIntegrator is the basis for implicit integrators, which solve linear systems with the iteration matrix I -
+ * c J, where J is the Jacobian matrix df/dy and c is a multiple of the step size. The Jacobian is taken from the equation when
+ * it implements JacobianInterface, and is approximated with forward differences otherwise. The iteration matrix is dense,
+ * unless bandwidths have been set with setBandwidths(ml, mu); a banded Jacobian is approximated with ml + mu + 1 evaluations of
+ * the equation by perturbing columns that do not share rows at the same time.
+ * <p>
+ * The Jacobian and the decomposition of the iteration matrix are kept between steps, and are only recalculated when the
+ * integrator needs them: the Jacobian when a step fails with an outdated Jacobian, and the decomposition when c changes.
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public abstract class StiffNumericalIntegrator extends AdaptiveNumericalIntegrator
+{
+    /** the square root of the machine precision, for the perturbations of the finite differences. */
+    private static final double SQRT_EPS = Math.sqrt(Math.ulp(1.0));
+
+    /** the lower bandwidth of the Jacobian, or -1 for a dense Jacobian. */
+    private int lowerBandwidth = -1;
+
+    /** the upper bandwidth of the Jacobian, or -1 for a dense Jacobian. */
+    private int upperBandwidth = -1;
+
+    /** the Jacobian matrix, in dense or banded storage; null when not yet allocated. */
+    private double[][] jacobian = null;
+
+    /** whether the Jacobian has been calculated since the last reset. */
+    private boolean jacobianValid = false;
+
+    /** the solver for the iteration matrix. */
+    private LuSolver solver = null;
+
+    /** the value of c of the decomposed iteration matrix I - c J; NaN when there is no valid decomposition. */
+    private double decomposedC = Double.NaN;
+
+    /** the perturbed values for the finite differences. */
+    private double[] perturbedY = null;
+
+    /** the derivatives at the perturbed values for the finite differences. */
+    private double[] perturbedF = null;
+
+    /** the number of calculations of the Jacobian. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected long jacobianEvaluations = 0;
+
+    /** the number of decompositions of the iteration matrix. */
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    protected long decompositions = 0;
+
+    /**
+     * constructs a new StiffNumericalIntegrator.
+     * @param stepSize the first trial step size; its sign determines the direction of the integration
+     * @param equation the differentialEquation
+     */
+    public StiffNumericalIntegrator(final double stepSize, final DifferentialEquationInterface equation)
+    {
+        super(stepSize, equation);
+    }
+
+    /**
+     * Use a banded Jacobian with the given lower and upper bandwidth, i.e., df<sub>i</sub>/dy<sub>j</sub> = 0 when i - j &gt;
+     * lower or j - i &gt; upper.
+     * @param lower the lower bandwidth ml
+     * @param upper the upper bandwidth mu
+     * @throws IllegalArgumentException when a bandwidth is negative
+     */
+    public void setBandwidths(final int lower, final int upper)
+    {
+        Throw.when(lower < 0 || upper < 0, IllegalArgumentException.class, "bandwidths should be >= 0, got %d and %d", lower,
+                upper);
+        this.lowerBandwidth = lower;
+        this.upperBandwidth = upper;
+        this.jacobian = null;
+        this.solver = null;
+        invalidateJacobian();
+    }
+
+    /**
+     * Use a dense Jacobian, which is the default.
+     */
+    public void setDense()
+    {
+        this.lowerBandwidth = -1;
+        this.upperBandwidth = -1;
+        this.jacobian = null;
+        this.solver = null;
+        invalidateJacobian();
+    }
+
+    /**
+     * Return whether the Jacobian is banded.
+     * @return whether the Jacobian is banded
+     */
+    public boolean isBanded()
+    {
+        return this.lowerBandwidth >= 0;
+    }
+
+    /**
+     * Return the lower bandwidth of the Jacobian.
+     * @return the lower bandwidth, or -1 when the Jacobian is dense
+     */
+    public int getLowerBandwidth()
+    {
+        return this.lowerBandwidth;
+    }
+
+    /**
+     * Return the upper bandwidth of the Jacobian.
+     * @return the upper bandwidth, or -1 when the Jacobian is dense
+     */
+    public int getUpperBandwidth()
+    {
+        return this.upperBandwidth;
+    }
+
+    /**
+     * Allocate the Jacobian and the solver when the number of variables has changed.
+     * @param n the number of variables
+     */
+    private void allocate(final int n)
+    {
+        if (this.solver != null && this.solver.getSize() == n)
+        {
+            return;
+        }
+        if (isBanded())
+        {
+            int ml = Math.min(this.lowerBandwidth, n - 1);
+            int mu = Math.min(this.upperBandwidth, n - 1);
+            this.jacobian = new double[n][ml + mu + 1];
+            this.solver = new BandedLuSolver(n, ml, mu);
+        }
+        else
+        {
+            this.jacobian = new double[n][n];
+            this.solver = new DenseLuSolver(n);
+        }
+        this.perturbedY = new double[n];
+        this.perturbedF = new double[n];
+        invalidateJacobian();
+    }
+
+    /**
+     * Calculate the Jacobian at (x, y), with the Jacobian of the equation or with forward differences.
+     * @param x the x value
+     * @param y the values at x
+     * @param f the derivatives at (x, y), i.e., f(x, y), for the finite differences
+     */
+    protected void computeJacobian(final double x, final double[] y, final double[] f)
+    {
+        int n = y.length;
+        allocate(n);
+        this.jacobianEvaluations++;
+        this.jacobianValid = true;
+        this.decomposedC = Double.NaN;
+        double[][] jac = this.jacobian;
+        if (this.equation instanceof JacobianInterface)
+        {
+            ((JacobianInterface) this.equation).jacobian(x, y, jac);
+            return;
+        }
+        double[] yp = this.perturbedY;
+        double[] fp = this.perturbedF;
+        System.arraycopy(y, 0, yp, 0, n);
+        if (!isBanded())
+        {
+            for (int j = 0; j < n; j++)
+            {
+                yp[j] = y[j] + perturbation(y[j]);
+                double delta = yp[j] - y[j];
+                this.equation.dy(x, yp, fp);
+                this.evaluations++;
+                for (int i = 0; i < n; i++)
+                {
+                    jac[i][j] = (fp[i] - f[i]) / delta;
+                }
+                yp[j] = y[j];
+            }
+            return;
+        }
+        int ml = Math.min(this.lowerBandwidth, n - 1);
+        int mu = Math.min(this.upperBandwidth, n - 1);
+        int width = ml + mu + 1;
+        for (int group = 0; group < Math.min(width, n); group++)
+        {
+            for (int j = group; j < n; j += width)
+            {
+                yp[j] = y[j] + perturbation(y[j]);
+            }
+            this.equation.dy(x, yp, fp);
+            this.evaluations++;
+            for (int j = group; j < n; j += width)
+            {
+                double delta = yp[j] - y[j];
+                for (int i = Math.max(0, j - mu); i <= Math.min(n - 1, j + ml); i++)
+                {
+                    jac[i][j - i + ml] = (fp[i] - f[i]) / delta;
+                }
+                yp[j] = y[j];
+            }
+        }
+    }
+
+    /**
+     * Return the perturbation of a value for the forward differences.
+     * @param y the value
+     * @return the perturbation
+     */
+    private static double perturbation(final double y)
+    {
+        return SQRT_EPS * Math.max(Math.abs(y), 1.0E-5);
+    }
+
+    /**
+     * Decompose the iteration matrix I - c J, unless it has already been decomposed for this value of c and the current
+     * Jacobian.
+     * @param c the multiple of the Jacobian, usually the step size times a constant of the method
+     * @return true when the decomposition succeeded, false when the iteration matrix is singular
+     */
+    protected boolean decompose(final double c)
+    {
+        if (c == this.decomposedC)
+        {
+            return true;
+        }
+        double[][] jac = this.jacobian;
+        double[][] m = this.solver.getMatrix();
+        int n = this.solver.getSize();
+        int diagonal = isBanded() ? ((BandedLuSolver) this.solver).getLowerBandwidth() : -1;
+        for (int i = 0; i < n; i++)
+        {
+            double[] rowJ = jac[i];
+            double[] rowM = m[i];
+            for (int j = 0; j < rowM.length; j++)
+            {
+                rowM[j] = -c * rowJ[j];
+            }
+            rowM[diagonal < 0 ? i : diagonal] += 1.0;
+        }
+        this.decompositions++;
+        if (this.solver.decompose())
+        {
+            this.decomposedC = c;
+            return true;
+        }
+        this.decomposedC = Double.NaN;
+        return false;
+    }
+
+    /**
+     * Solve (I - c J) x = b with the last decomposition of the iteration matrix, and store x in b.
+     * @param b the right hand side, which is overwritten with the solution
+     */
+    protected void solve(final double[] b)
+    {
+        this.solver.solve(b);
+    }
+
+    /**
+     * Return whether the Jacobian has been calculated since the last reset.
+     * @return whether the Jacobian has been calculated since the last reset
+     */
+    protected boolean isJacobianValid()
+    {
+        return this.jacobianValid;
+    }
+
+    /**
+     * Mark the Jacobian as outdated, so it is recalculated at the next step.
+     */
+    protected void invalidateJacobian()
+    {
+        this.jacobianValid = false;
+        this.decomposedC = Double.NaN;
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        invalidateJacobian();
+    }
+
+    /**
+     * Return the Jacobian matrix of the last calculation, in dense or banded storage.
+     * @return the Jacobian matrix, or null when it has not been calculated
+     */
+    public double[][] getJacobian()
+    {
+        return this.jacobian;
+    }
+
+    /**
+     * Return the number of calculations of the Jacobian.
+     * @return the number of calculations of the Jacobian
+     */
+    public long getJacobianEvaluations()
+    {
+        return this.jacobianEvaluations;
+    }
+
+    /**
+     * Return the number of decompositions of the iteration matrix.
+     * @return the number of decompositions of the iteration matrix
+     */
+    public long getDecompositions()
+    {
+        return this.decompositions;
+    }
+
+}
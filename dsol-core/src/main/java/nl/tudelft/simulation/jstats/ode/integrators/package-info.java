@@ -1,5 +1,6 @@
 /**
- * A number of numerical integrators for differential equations, both implicit and explicit.
+ * A number of numerical integrators for differential equations, both implicit and explicit, with the LU solvers for the
+ * iteration matrices of the implicit integrators for stiff equations.
  * <p>
  * Copyright (c) 2002-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
  * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
@@ -0,0 +1,160 @@
+package nl.tudelft.simulation.jstats.streams;
+
+import java.util.Arrays;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * HaltonStream is a quasi-Monte-Carlo stream based on the Halton sequence, which uses the radical inverse of the point index
+ * in the d-th prime base for dimension d. A randomized stream scrambles every digit of every dimension with a random linear
+ * permutation (a * digit + c) mod b, which removes the correlation between the higher dimensions of the plain Halton
+ * sequence, and gives independent randomizations for different seeds. The radical inverse uses as many digits as fit in the
+ * precision of a double, and the points are centered in their cell, so no coordinate is 0. See QmcStream for the assignment
+ * of the draws to the dimensions.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class HaltonStream extends QmcStream
+{
+    /** the maximum number of dimensions. */
+    public static final int MAX_DIMENSION = 1000;
+
+    /** the prime base per dimension. */
+    private final int[] base;
+
+    /** the number of digits per dimension. */
+    private final int[] digits;
+
+    /** the multiplier a of the digit permutation per dimension and digit; 1 when not randomized. */
+    private final int[][] multiplier;
+
+    /** the offset c of the digit permutation per dimension and digit; 0 when not randomized. */
+    private final int[][] offset;
+
+    /**
+     * Construct a randomized (scrambled) Halton stream.
+     * @param dimension the number of dimensions, between 1 and MAX_DIMENSION
+     * @param seed the seed that determines the randomization
+     * @throws IllegalArgumentException when dimension is not between 1 and MAX_DIMENSION, or when seed &lt;= 0
+     */
+    public HaltonStream(final int dimension, final long seed)
+    {
+        this(dimension, seed, true);
+    }
+
+    /**
+     * Construct a Halton stream.
+     * @param dimension the number of dimensions, between 1 and MAX_DIMENSION
+     * @param seed the seed that determines the randomization, and the padding stream
+     * @param randomized whether the digits are scrambled with random linear permutations
+     * @throws IllegalArgumentException when dimension is not between 1 and MAX_DIMENSION, or when seed &lt;= 0
+     */
+    public HaltonStream(final int dimension, final long seed, final boolean randomized)
+    {
+        super(dimension, seed, randomized);
+        Throw.when(dimension > MAX_DIMENSION, IllegalArgumentException.class, "dimension should be at most %d, but was %d",
+                MAX_DIMENSION, dimension);
+        this.base = primes(dimension);
+        this.digits = new int[dimension];
+        this.multiplier = new int[dimension][];
+        this.offset = new int[dimension][];
+        for (int d = 0; d < dimension; d++)
+        {
+            // the largest number of digits for which b^k <= 2^53
+            int k = 0;
+            double power = 1.0;
+            while (power * this.base[d] <= 0x1.0p53)
+            {
+                power *= this.base[d];
+                k++;
+            }
+            this.digits[d] = k;
+            this.multiplier[d] = new int[k];
+            this.offset[d] = new int[k];
+            Arrays.fill(this.multiplier[d], 1);
+        }
+        setSeed(seed);
+    }
+
+    /**
+     * Return the first n prime numbers.
+     * @param n the number of primes
+     * @return the first n prime numbers
+     */
+    private static int[] primes(final int n)
+    {
+        int[] primes = new int[n];
+        int count = 0;
+        for (int candidate = 2; count < n; candidate++)
+        {
+            boolean prime = true;
+            for (int i = 0; i < count && primes[i] * primes[i] <= candidate; i++)
+            {
+                if (candidate % primes[i] == 0)
+                {
+                    prime = false;
+                    break;
+                }
+            }
+            if (prime)
+            {
+                primes[count++] = candidate;
+            }
+        }
+        return primes;
+    }
+
+    @Override
+    protected void randomize(final long randomizationSeed)
+    {
+        MersenneTwister twister = new MersenneTwister(Math.max(1L, randomizationSeed & 0x7FFFFFFFL));
+        for (int d = 0; d < this.base.length; d++)
+        {
+            int b = this.base[d];
+            for (int k = 0; k < this.digits[d]; k++)
+            {
+                this.multiplier[d][k] = 1 + (int) (twister.nextDouble() * (b - 1));
+                this.offset[d][k] = (int) (twister.nextDouble() * b);
+            }
+        }
+    }
+
+    @Override
+    protected void computePoint(final long index, final double[] coordinates)
+    {
+        for (int d = 0; d < this.base.length; d++)
+        {
+            int b = this.base[d];
+            int[] a = this.multiplier[d];
+            int[] c = this.offset[d];
+            long n = index;
+            double factor = 1.0 / b;
+            double x = 0.0;
+            for (int k = 0; k < this.digits[d]; k++)
+            {
+                int digit = (int) (n % b);
+                n /= b;
+                x += ((a[k] * digit + c[k]) % b) * factor;
+                factor /= b;
+            }
+            // factor is now b^-(digits+1); center the point in its cell of width b^-digits, and guard against rounding to 1
+            coordinates[d] = Math.min(x + 0.5 * factor * b, 0x1.fffffffffffffp-1);
+        }
+    }
+
+    /**
+     * Return the prime base of a dimension.
+     * @param dimension the dimension, starting at 0
+     * @return the prime base of the dimension
+     */
+    public int getBase(final int dimension)
+    {
+        return this.base[dimension];
+    }
+
+}
@@ -0,0 +1,244 @@
+package nl.tudelft.simulation.jstats.streams;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * QmcStream is the abstract parent of the quasi-Monte-Carlo streams, which draw their numbers from the points of a
+ * low-discrepancy sequence instead of from a pseudo-random generator. The stream is positioned on one point of the sequence,
+ * typically one point per replication, and the successive draws from the stream return the successive coordinates of that
+ * point: the first draw is dimension 1, the second draw is dimension 2, etc. Draws beyond the dimension of the stream are
+ * taken from a pseudo-random padding stream that depends on the seed and the point index. Because every draw consumes one
+ * dimension, the model should draw its random numbers in the same order in every replication, and inversion-based
+ * distributions profit most from the stream; rejection-based distributions consume a variable number of dimensions.
+ * <p>
+ * The seed determines the randomization of the point set. A randomized QMC stream with different seeds gives independent
+ * randomizations of the same low-discrepancy point set, so the variance of an estimate can be determined over the
+ * randomizations. The QmcStreamUpdater in the experiment package sets the point index and the randomization per
+ * replication. All coordinates are in the open interval (0,1).
+ * </p>
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public abstract class QmcStream implements StreamInterface
+{
+    /** the number of dimensions of the point set. */
+    private final int dimension;
+
+    /** whether the point set is randomized based on the seed. */
+    private final boolean randomized;
+
+    /** the original seed of the stream. */
+    private final long originalSeed;
+
+    /** the current seed of the stream. */
+    private long seed;
+
+    /** the index of the current point. */
+    private long pointIndex = 0;
+
+    /** the index of the coordinate that the next draw returns. */
+    private int coordinate = 0;
+
+    /** the coordinates of the current point. */
+    private final double[] point;
+
+    /** the pseudo-random stream for the draws beyond the dimension of the point set. */
+    private final MersenneTwister padding = new MersenneTwister(1L);
+
+    /**
+     * Construct a quasi-Monte-Carlo stream. The constructor of the subclass should call setSeed(seed) after its own
+     * initialization.
+     * @param dimension the number of dimensions of the point set
+     * @param seed the seed that determines the randomization
+     * @param randomized whether the point set is randomized based on the seed
+     * @throws IllegalArgumentException when dimension &lt; 1 or seed &lt;= 0
+     */
+    protected QmcStream(final int dimension, final long seed, final boolean randomized)
+    {
+        Throw.when(dimension < 1, IllegalArgumentException.class, "dimension should be at least 1");
+        Throw.when(seed <= 0, IllegalArgumentException.class, "seed(%d)<=0", seed);
+        this.dimension = dimension;
+        this.randomized = randomized;
+        this.originalSeed = seed;
+        this.seed = seed;
+        this.point = new double[dimension];
+    }
+
+    /**
+     * Prepare the randomization of the point set for the given seed. The method is only called for a randomized stream.
+     * @param randomizationSeed the seed of the randomization
+     */
+    protected abstract void randomize(long randomizationSeed);
+
+    /**
+     * Calculate the (randomized) point with the given index. The coordinates should be in the open interval (0,1).
+     * @param index the index of the point
+     * @param coordinates the array to fill with the coordinates of the point
+     */
+    protected abstract void computePoint(long index, double[] coordinates);
+
+    /**
+     * Move the stream to the point with the given index; the next draw returns the first coordinate of that point.
+     * @param index the index of the point
+     * @throws IllegalArgumentException when index &lt; 0
+     */
+    public void setPointIndex(final long index)
+    {
+        Throw.when(index < 0, IllegalArgumentException.class, "point index should be at least 0");
+        this.pointIndex = index;
+        loadPoint();
+    }
+
+    /**
+     * Move the stream to the next point; the next draw returns the first coordinate of that point. This can be used when a
+     * replication needs several points, e.g., one point per entity.
+     */
+    public void nextPoint()
+    {
+        setPointIndex(this.pointIndex + 1);
+    }
+
+    /**
+     * Calculate the current point, and reseed the padding stream for the current point.
+     */
+    private void loadPoint()
+    {
+        computePoint(this.pointIndex, this.point);
+        this.coordinate = 0;
+        long paddingSeed = (this.seed * 0x9E3779B97F4A7C15L + this.pointIndex) * 0xBF58476D1CE4E5B9L;
+        this.padding.setSeed((paddingSeed ^ (paddingSeed >>> 31)) | 1L);
+    }
+
+    /**
+     * Return the index of the current point.
+     * @return the index of the current point
+     */
+    public long getPointIndex()
+    {
+        return this.pointIndex;
+    }
+
+    /**
+     * Return the index of the coordinate that the next draw returns; values of at least the dimension indicate draws from the
+     * padding stream.
+     * @return the index of the coordinate that the next draw returns
+     */
+    public int getCoordinateIndex()
+    {
+        return this.coordinate;
+    }
+
+    /**
+     * Return the number of dimensions of the point set.
+     * @return the number of dimensions of the point set
+     */
+    public int getDimension()
+    {
+        return this.dimension;
+    }
+
+    /**
+     * Return whether the point set is randomized based on the seed.
+     * @return whether the point set is randomized based on the seed
+     */
+    public boolean isRandomized()
+    {
+        return this.randomized;
+    }
+
+    @Override
+    public double nextDouble()
+    {
+        if (this.coordinate < this.dimension)
+        {
+            return this.point[this.coordinate++];
+        }
+        this.coordinate++;
+        double u = this.padding.nextDouble();
+        return u == 0.0 ? 0x1.0p-54 : u;
+    }
+
+    @Override
+    public boolean nextBoolean()
+    {
+        return nextDouble() < 0.5;
+    }
+
+    @Override
+    public float nextFloat()
+    {
+        return Math.min((float) nextDouble(), 0x1.fffffep-1f);
+    }
+
+    @Override
+    public int nextInt()
+    {
+        return (int) (long) Math.floor(nextDouble() * 0x1.0p32);
+    }
+
+    @Override
+    public int nextInt(final int i, final int j)
+    {
+        Throw.when(i < 0 || j <= 0 || i >= j, IllegalArgumentException.class, "i, j must be positive");
+        return i + (int) Math.floor((j - i + 1) * nextDouble());
+    }
+
+    /**
+     * {@inheritDoc} The value has a resolution of 53 bits, since it is based on one coordinate.
+     */
+    @Override
+    public long nextLong()
+    {
+        return ((long) Math.floor(nextDouble() * 0x1.0p53)) << 11;
+    }
+
+    @Override
+    public long getSeed()
+    {
+        return this.seed;
+    }
+
+    @Override
+    public long getOriginalSeed()
+    {
+        return this.originalSeed;
+    }
+
+    /**
+     * {@inheritDoc} For a randomized stream, the seed determines the randomization of the point set. The point index remains
+     * the same, and the next draw returns the first coordinate of the point.
+     */
+    @Override
+    public void setSeed(final long seed)
+    {
+        this.seed = seed;
+        if (this.randomized)
+        {
+            randomize(seed);
+        }
+        loadPoint();
+    }
+
+    /**
+     * {@inheritDoc} The stream returns to the original seed and to the first point.
+     */
+    @Override
+    public void reset()
+    {
+        this.pointIndex = 0;
+        setSeed(this.originalSeed);
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "[dimension=" + this.dimension + ", seed=" + this.seed + ", point="
+                + this.pointIndex + ", coordinate=" + this.coordinate + "]";
+    }
+
+}
@@ -0,0 +1,126 @@
+package nl.tudelft.simulation.jstats.streams;
+
+import nl.tudelft.simulation.jstats.math.SobolSequence;
+
+/**
+ * SobolStream is a quasi-Monte-Carlo stream based on the Sobol sequence with the direction numbers of Joe and Kuo. A
+ * randomized stream applies a random linear scrambling (Matousek) and a random digital shift per dimension, which keep the
+ * stratification of the point set: of the first 2^m points, every interval [k/2^m, (k+1)/2^m) of every dimension contains
+ * exactly one point. The points are centered
+ * in their 2^-32 cell, so no coordinate is 0. See QmcStream for the assignment of the draws to the dimensions.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class SobolStream extends QmcStream
+{
+    /** the maximum number of dimensions. */
+    public static final int MAX_DIMENSION = SobolSequence.MAX_DIMENSION;
+
+    /** the number of digits of the coordinates. */
+    private static final int BITS = 32;
+
+    /** scale factor 2^-32. */
+    private static final double SCALE = 0x1.0p-32;
+
+    /** the generator of the Sobol points. */
+    private final SobolSequence sequence;
+
+    /** buffer for the unrandomized point. */
+    private final double[] raw;
+
+    /** the rows of the lower-triangular scrambling matrix per dimension, most significant digit first; null when plain. */
+    private final int[][] matrix;
+
+    /** the digital shift per dimension; zero when not randomized. */
+    private final int[] shift;
+
+    /**
+     * Construct a randomized Sobol stream.
+     * @param dimension the number of dimensions, between 1 and MAX_DIMENSION
+     * @param seed the seed that determines the randomization
+     * @throws IllegalArgumentException when dimension is not between 1 and MAX_DIMENSION, or when seed &lt;= 0
+     */
+    public SobolStream(final int dimension, final long seed)
+    {
+        this(dimension, seed, true);
+    }
+
+    /**
+     * Construct a Sobol stream.
+     * @param dimension the number of dimensions, between 1 and MAX_DIMENSION
+     * @param seed the seed that determines the randomization, and the padding stream
+     * @param randomized whether the point set is randomized with a linear scrambling and a digital shift
+     * @throws IllegalArgumentException when dimension is not between 1 and MAX_DIMENSION, or when seed &lt;= 0
+     */
+    public SobolStream(final int dimension, final long seed, final boolean randomized)
+    {
+        super(dimension, seed, randomized);
+        this.sequence = new SobolSequence(dimension);
+        this.raw = new double[dimension];
+        this.shift = new int[dimension];
+        this.matrix = randomized ? new int[dimension][BITS] : null;
+        setSeed(seed);
+    }
+
+    @Override
+    protected void randomize(final long randomizationSeed)
+    {
+        MersenneTwister twister = new MersenneTwister(Math.max(1L, randomizationSeed & 0x7FFFFFFFL));
+        for (int d = 0; d < this.shift.length; d++)
+        {
+            for (int k = 0; k < BITS; k++)
+            {
+                // row k has a 1 on the diagonal, random bits for the more significant digits, and zeros for the others
+                int diagonal = 1 << (BITS - 1 - k);
+                int higher = k == 0 ? 0 : -1 << (BITS - k);
+                this.matrix[d][k] = diagonal | (twister.nextInt() & higher);
+            }
+            this.shift[d] = twister.nextInt();
+        }
+    }
+
+    @Override
+    protected void computePoint(final long index, final double[] coordinates)
+    {
+        if (this.sequence.getIndex() != index)
+        {
+            // jump to the point; consecutive points use the fast Gray-code step of the sequence
+            this.sequence.reset();
+            this.sequence.skip(index);
+        }
+        this.sequence.nextPoint(this.raw);
+        for (int d = 0; d < this.raw.length; d++)
+        {
+            int bits = (int) (long) (this.raw[d] * 0x1.0p32);
+            if (this.matrix != null)
+            {
+                bits = scramble(this.matrix[d], bits);
+            }
+            long shifted = (bits ^ this.shift[d]) & 0xFFFFFFFFL;
+            coordinates[d] = (shifted + 0.5) * SCALE;
+        }
+    }
+
+    /**
+     * Multiply the digits of a coordinate by a lower-triangular binary matrix. Since the scrambling is linear, scrambling the
+     * points is the same as scrambling the direction numbers, and the stratification of the point set is preserved.
+     * @param rows the rows of the matrix, most significant digit first
+     * @param bits the digits of the coordinate
+     * @return the scrambled digits
+     */
+    private static int scramble(final int[] rows, final int bits)
+    {
+        int result = 0;
+        for (int k = 0; k < BITS; k++)
+        {
+            result |= (Integer.bitCount(rows[k] & bits) & 1) << (BITS - 1 - k);
+        }
+        return result;
+    }
+
+}
@@ -1,5 +1,6 @@
 package nl.tudelft.simulation.dsol.eventList;
 
+import nl.tudelft.simulation.dsol.eventlists.EventListHeapSI;
 import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
 import nl.tudelft.simulation.dsol.eventlists.EventListPriorityQueue;
 import nl.tudelft.simulation.dsol.eventlists.RedBlackTree;
@@ -24,7 +25,8 @@ public final class EventListPerformanceTest2
     @SuppressWarnings({"unchecked", "rawtypes"})
     private EventListPerformanceTest2()
     {
-        EventListInterface[] testLists = {new RedBlackTree<Double>(), new EventListPriorityQueue<Double>()};
+        EventListInterface[] testLists = {new RedBlackTree<Double>(), new EventListPriorityQueue<Double>(),
+                new EventListHeapSI<Double>()};
         Test test = new Test();
         int max = 1_000_000;
         for (EventListInterface<Double> elist : testLists)
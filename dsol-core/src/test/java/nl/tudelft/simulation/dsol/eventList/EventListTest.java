@@ -4,10 +4,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
+import nl.tudelft.simulation.dsol.eventlists.EventListHeapSI;
 import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
 import nl.tudelft.simulation.dsol.eventlists.EventListPriorityQueue;
 import nl.tudelft.simulation.dsol.eventlists.RedBlackTree;
@@ -27,6 +34,9 @@ import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
  */
 public class EventListTest
 {
+    /** the last id that was given to an event, as the simulator does when an event is scheduled. */
+    private long lastId = 0L;
+
     /**
      * test the different event list implementations.
      */
@@ -35,6 +45,78 @@ public class EventListTest
     {
         testEventList(new RedBlackTree<>());
         testEventList(new EventListPriorityQueue<>());
+        testEventList(new EventListHeapSI<>());
+        testEventList(new EventListHeapSI<>(1));
+    }
+
+    /**
+     * Test that the EventListHeapSI orders and removes the events in the same way as the RedBlackTree, for random additions
+     * and removals of events with few distinct times and priorities, and that the iterator returns the events in order.
+     */
+    @Test
+    public void testEventListHeapSI()
+    {
+        EventListInterface<Double> tree = new RedBlackTree<>();
+        EventListInterface<Double> heap = new EventListHeapSI<>(4);
+        Random random = new Random(42L);
+        List<SimEventInterface<Double>> events = new ArrayList<>();
+        long id = 0L;
+        for (int i = 0; i < 20000; i++)
+        {
+            int action = random.nextInt(10);
+            if (action < 5)
+            {
+                SimEventInterface<Double> event = new SimEvent<Double>(random.nextInt(50) / 4.0,
+                        (short) (1 + random.nextInt(10)), this, "toString", null);
+                event.setId(++id);
+                tree.add(event);
+                heap.add(event);
+                assertEquals(id, event.getId());
+                events.add(event);
+            }
+            else if (action < 8)
+            {
+                assertEquals(tree.removeFirst(), heap.removeFirst());
+            }
+            else if (!events.isEmpty())
+            {
+                SimEventInterface<Double> event = events.remove(random.nextInt(events.size()));
+                assertEquals(tree.contains(event), heap.contains(event));
+                assertEquals(tree.remove(event), heap.remove(event));
+                assertFalse(heap.contains(event));
+            }
+            assertEquals(tree.size(), heap.size());
+            assertEquals(tree.first(), heap.first());
+            if (i % 1000 == 0)
+            {
+                Iterator<SimEventInterface<Double>> it = heap.iterator();
+                for (SimEventInterface<Double> event : tree)
+                {
+                    assertEquals(event, it.next());
+                }
+                assertFalse(it.hasNext());
+            }
+        }
+        while (!tree.isEmpty())
+        {
+            assertEquals(tree.removeFirst(), heap.removeFirst());
+        }
+        assertTrue(heap.isEmpty());
+        assertNull(heap.first());
+        assertThrows(IllegalArgumentException.class, () -> new EventListHeapSI<Double>(0));
+
+        // an event that is on the list is not added again, and another event with the same id is refused
+        SimEventInterface<Double> event = numbered(new SimEvent<Double>(1.0, this, "toString", null));
+        heap.add(event);
+        heap.add(event);
+        assertEquals(1, heap.size());
+        SimEventInterface<Double> other = new SimEvent<Double>(2.0, this, "toString", null);
+        other.setId(event.getId());
+        assertThrows(IllegalArgumentException.class, () -> heap.add(other));
+        assertTrue(heap.remove(event));
+        assertFalse(heap.remove(event));
+        heap.add(other);
+        assertEquals(other, heap.first());
     }
 
     /**
@@ -49,7 +131,7 @@ public class EventListTest
         // between [0..200]
         for (int i = 0; i < 500; i++)
         {
-            eventList.add(new SimEvent<Double>(200 * Math.random(), new String(), "trim", null));
+            eventList.add(numbered(new SimEvent<Double>(200 * Math.random(), new String(), "trim", null)));
         }
 
         // Now we assert some getters on the eventList
@@ -72,7 +154,7 @@ public class EventListTest
         // Now we fill the eventList with a number of events with different priorities on time=0.0
         for (int i = 1; i < 10; i++)
         {
-            eventList.add(new SimEvent<Double>(0.0, (short) i, new String(), "trim", null));
+            eventList.add(numbered(new SimEvent<Double>(0.0, (short) i, new String(), "trim", null)));
         }
         short priority = SimEventInterface.MAX_PRIORITY;
 
@@ -94,12 +176,12 @@ public class EventListTest
         // Let's check the empty eventList
         assertTrue(eventList.isEmpty());
         assertNull(eventList.first());
-        assertFalse(eventList.remove(new SimEvent<Double>(200 * Math.random(), new String(), "trim", null)));
+        assertFalse(eventList.remove(numbered(new SimEvent<Double>(200 * Math.random(), new String(), "trim", null))));
         eventList.clear();
 
         // Let's cancel an event
-        eventList.add(new SimEvent<Double>(100.0, this, "toString", null));
-        SimEventInterface<Double> simEvent = new SimEvent<>(100.0, this, "toString", null);
+        eventList.add(numbered(new SimEvent<Double>(100.0, this, "toString", null)));
+        SimEventInterface<Double> simEvent = numbered(new SimEvent<>(100.0, this, "toString", null));
         eventList.add(simEvent);
         assertTrue(eventList.remove(simEvent));
 
@@ -112,4 +194,15 @@ public class EventListTest
         assertFalse(eventList.contains(simEvent));
         assertNull(eventList.removeFirst());
     }
+
+    /**
+     * Give an event the next id, as the simulator does when the event is scheduled.
+     * @param event the event
+     * @return the event with its id
+     */
+    private SimEventInterface<Double> numbered(final SimEventInterface<Double> event)
+    {
+        event.setId(++this.lastId);
+        return event;
+    }
 }
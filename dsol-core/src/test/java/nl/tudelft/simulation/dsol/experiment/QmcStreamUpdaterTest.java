@@ -0,0 +1,95 @@
+package nl.tudelft.simulation.dsol.experiment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+import nl.tudelft.simulation.jstats.streams.QmcStream;
+import nl.tudelft.simulation.jstats.streams.SobolStream;
+
+/**
+ * QmcStreamUpdaterTest runs randomized quasi-Monte-Carlo replications of a model with a Sobol stream in an Experiment, and
+ * checks the assignment of the points and randomizations to the replications, and the estimates per randomization.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class QmcStreamUpdaterTest
+{
+    /**
+     * Run 4 randomizations of 16 points of a model that estimates the integral of u1 + u2 * u3, which is 0.75.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testExperiment() throws InterruptedException
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("rqmc");
+        List<Long> pointIndices = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        List<Double> pseudoRandom = new ArrayList<>();
+        AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        QmcStream stream = (QmcStream) getStream("default");
+                        pointIndices.add(stream.getPointIndex());
+                        values.add(stream.nextDouble() + stream.nextDouble() * stream.nextDouble());
+                        pseudoRandom.add(getStream("other").nextDouble());
+                    }
+                };
+        model.getStreamInformation().addStream("default", new SobolStream(3, 5L));
+        model.getStreamInformation().addStream("other", new MersenneTwister(5L));
+        Experiment<Double, DevsSimulatorInterface<Double>> experiment =
+                new Experiment<>("rqmc", simulator, model, 0.0, 0.0, 1.0, 64);
+        QmcStreamUpdater updater = new QmcStreamUpdater(16);
+        experiment.setStreamUpdater(updater);
+        CountDownLatch done = new CountDownLatch(1);
+        experiment.addListener((event) -> done.countDown(), Experiment.END_EXPERIMENT_EVENT, ReferenceType.STRONG);
+        experiment.start();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+
+        assertEquals(64, values.size());
+        for (int r = 0; r < 64; r++)
+        {
+            assertEquals(r % 16, pointIndices.get(r).longValue());
+            assertEquals(r / 16, updater.getRandomization(r));
+        }
+        assertNotEquals(values.get(0), values.get(16));
+        assertNotEquals(pseudoRandom.get(0), pseudoRandom.get(1));
+        double[] replicationValues = values.stream().mapToDouble(Double::doubleValue).toArray();
+        double[] means = updater.randomizationMeans(replicationValues);
+        assertEquals(4, means.length);
+        double sum = 0.0;
+        for (double mean : means)
+        {
+            // with 16 points, the randomized points are stratified in cells of 1/16 per dimension
+            assertEquals(0.75, mean, 0.06);
+            sum += mean;
+        }
+        assertEquals(0.75, sum / 4.0, 0.02);
+        assertEquals(3, updater.randomizationMeans(new double[63]).length);
+        UnitTest.testFail(() -> new QmcStreamUpdater(0), IllegalArgumentException.class);
+        UnitTest.testFail(() -> updater.setFallbackStreamUpdater(null), NullPointerException.class);
+    }
+
+}
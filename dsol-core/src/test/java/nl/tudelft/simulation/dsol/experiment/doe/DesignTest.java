@@ -0,0 +1,245 @@
+package nl.tudelft.simulation.dsol.experiment.doe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.djutils.stats.summarizers.Tally;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.ExperimentRunControl;
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.results.ResultFileReader;
+import nl.tudelft.simulation.dsol.experiment.results.ResultFileWriter;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.model.DsolModel;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterDouble;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterException;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterInteger;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterMap;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+import nl.tudelft.simulation.dsol.statistics.SimTally;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+
+/**
+ * DesignTest tests the designs of experiments and the parallel execution of the design points.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class DesignTest
+{
+    /** temporary directory for the result files. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Make a list of factors.
+     * @param k the number of factors
+     * @return a list of k factors with range [0, 1]
+     */
+    private static List<DesignFactor> factors(final int k)
+    {
+        List<DesignFactor> factors = new ArrayList<>();
+        for (int i = 0; i < k; i++)
+        {
+            factors.add(new DesignFactor("f" + i, 0.0, 1.0));
+        }
+        return factors;
+    }
+
+    /**
+     * Test the different designs.
+     */
+    @Test
+    public void testDesigns()
+    {
+        UnitTest.testFail(() -> new DesignFactor("x", 2.0, 1.0));
+        UnitTest.testFail(() -> new DesignFactor(null, 0.0, 1.0));
+
+        Design full = Design.fullFactorial(factors(3), 3);
+        assertEquals(27, full.size());
+        assertEquals(0.0, full.getPoint(0)[2], 0.0);
+        assertEquals(0.5, full.getPoint(1)[2], 0.0);
+        assertEquals(1.0, full.getPoint(26)[0], 0.0);
+        UnitTest.testFail(() -> Design.fullFactorial(factors(2), 1));
+
+        // 2^(4-1) design with D = ABC: every point has an even number of factors at their high level
+        Design fractional = Design.fractionalFactorial(factors(4), "ABC");
+        assertEquals(8, fractional.size());
+        for (int i = 0; i < fractional.size(); i++)
+        {
+            double[] p = fractional.getPoint(i);
+            double product = (2 * p[0] - 1) * (2 * p[1] - 1) * (2 * p[2] - 1);
+            assertEquals(product, 2 * p[3] - 1, 0.0);
+        }
+        UnitTest.testFail(() -> Design.fractionalFactorial(factors(4), "ABD"));
+        UnitTest.testFail(() -> Design.fractionalFactorial(factors(2), "A", "B"));
+
+        Design lhs = Design.latinHypercube(factors(4), 20, new MersenneTwister(10L));
+        assertEquals(20, lhs.size());
+        for (int j = 0; j < 4; j++)
+        {
+            boolean[] hit = new boolean[20];
+            for (int i = 0; i < 20; i++)
+            {
+                int stratum = (int) (lhs.getPoint(i)[j] * 20);
+                assertTrue(!hit[stratum]);
+                hit[stratum] = true;
+            }
+        }
+
+        Design sobol = Design.sobol(factors(3), 16);
+        assertEquals(16, sobol.size());
+        assertEquals(0.5, sobol.getPoint(1)[1], 0.0);
+        UnitTest.testFail(() -> new Design(factors(2), new double[][] {{1.0}}));
+    }
+
+    /**
+     * Test applying a design point to an input parameter map.
+     * @throws InputParameterException on error
+     */
+    @Test
+    public void testApply() throws InputParameterException
+    {
+        InputParameterMap map = new InputParameterMap("model", "model", "model", 1.0);
+        map.add(new InputParameterDouble("a", "a", "value a", 1.0, 1.0));
+        InputParameterMap sub = new InputParameterMap("sub", "sub", "sub", 2.0);
+        sub.add(new InputParameterInteger("n", "n", "number n", 5, 1.0));
+        map.add(sub);
+        List<DesignFactor> factors = List.of(new DesignFactor("a", 2.0, 4.0), new DesignFactor("sub.n", 1.0, 10.0));
+        Design design = Design.fullFactorial(factors, 3);
+        InputParameterMap clone = map.clone();
+        design.applyTo(clone, 4);
+        assertEquals(3.0, (Double) clone.get("a").getCalculatedValue(), 0.0);
+        assertEquals(6, (int) clone.get("sub.n").getCalculatedValue());
+        assertEquals(1.0, (Double) map.get("a").getCalculatedValue(), 0.0);
+        UnitTest.testFail(() -> new Design(List.of(new DesignFactor("xyz", 0.0, 1.0)), new double[][] {{0.5}})
+                .applyTo(map, 0));
+    }
+
+    /**
+     * Test running a design in parallel, and writing the results.
+     * @throws SimRuntimeException on simulation error
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testRunner() throws SimRuntimeException, IOException
+    {
+        List<DesignFactor> factors = List.of(new DesignFactor("a", 1.0, 3.0), new DesignFactor("n", 2.0, 10.0));
+        Design design = Design.fullFactorial(factors, 2);
+        ExperimentRunControl<Double> runControl = new ExperimentRunControl<>("doe", 0.0, 0.0, 100.0, 4);
+        DesignOfExperimentsRunner<Double, DevsSimulatorInterface<Double>> runner =
+                new DesignOfExperimentsRunner<>(new CountModelFactory(), runControl, design, 3);
+        assertEquals(3, runner.getNumberOfThreads());
+        assertEquals(design, runner.getDesign());
+        Path path = this.tempDir.resolve("doe.dsolres");
+        List<SortedMap<String, SortedMap<String, Tally>>> summaries;
+        try (ResultFileWriter writer = new ResultFileWriter(path))
+        {
+            runner.setResultFileWriter(writer);
+            summaries = runner.run();
+        }
+        assertEquals(4, summaries.size());
+        for (int i = 0; i < design.size(); i++)
+        {
+            double[] point = design.getPoint(i);
+            Tally valueN = summaries.get(i).get("value").get("N");
+            Tally valueMean = summaries.get(i).get("value").get("SampleMean");
+            assertEquals(4, valueN.getN());
+            assertEquals(point[1], valueN.getSampleMean(), 1E-9);
+            assertEquals(point[0], valueMean.getSampleMean(), 1E-9);
+            // common random numbers: the noise does not depend on the design point
+            Tally noise = summaries.get(i).get("noise").get("SampleMean");
+            Tally noise0 = summaries.get(0).get("noise").get("SampleMean");
+            if (point[1] == design.getPoint(0)[1])
+            {
+                assertEquals(noise0.getSampleMean(), noise.getSampleMean(), 1E-9);
+            }
+        }
+
+        ResultFileReader reader = new ResultFileReader(path);
+        assertEquals(16, reader.getNumberOfRows());
+        assertEquals(4, reader.getRuns().size());
+        assertEquals("3.0", reader.getInputParameters(DesignOfExperimentsRunner.runId(2)).get("a"));
+        assertEquals(4, reader.getSummaryStatistics(DesignOfExperimentsRunner.runId(3)).get("value").get("N").getN());
+    }
+
+    /** Factory for the count model. */
+    static class CountModelFactory implements ModelFactory<Double, DevsSimulatorInterface<Double>>
+    {
+        @Override
+        public DevsSimulatorInterface<Double> createSimulator(final String id)
+        {
+            return new DevsSimulator<Double>(id);
+        }
+
+        @Override
+        public DsolModel<Double, ? extends DevsSimulatorInterface<Double>> createModel(
+                final DevsSimulatorInterface<Double> simulator)
+        {
+            return new CountModel(simulator);
+        }
+    }
+
+    /** Model that registers the value of parameter a for n times, and the same number of random values. */
+    static class CountModel extends AbstractDsolModel<Double, DevsSimulatorInterface<Double>>
+    {
+        /** the tally for the value of a. */
+        private SimTally<Double> value;
+
+        /** the tally for the random values. */
+        private SimTally<Double> noise;
+
+        /**
+         * @param simulator the simulator
+         */
+        CountModel(final DevsSimulatorInterface<Double> simulator)
+        {
+            super(simulator);
+            try
+            {
+                addInputParameter(new InputParameterDouble("a", "a", "value a", 1.0, 1.0));
+                addInputParameter(new InputParameterInteger("n", "n", "number n", 5, 2.0));
+            }
+            catch (InputParameterException exception)
+            {
+                throw new RuntimeException(exception);
+            }
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            this.value = new SimTally<Double>("value", "value", this);
+            this.value.initialize();
+            this.outputStatistics.add(this.value);
+            this.noise = new SimTally<Double>("noise", "noise", this);
+            this.noise.initialize();
+            this.outputStatistics.add(this.noise);
+            double a = getInputParameterDouble("a");
+            int n = getInputParameterInteger("n");
+            for (int i = 1; i <= n; i++)
+            {
+                getSimulator().scheduleEventAbs((double) i, () ->
+                {
+                    this.value.register(a);
+                    this.noise.register(getStream("default").nextDouble());
+                });
+            }
+        }
+    }
+}
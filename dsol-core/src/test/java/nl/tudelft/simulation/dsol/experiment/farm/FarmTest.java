@@ -0,0 +1,182 @@
+package nl.tudelft.simulation.dsol.experiment.farm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.djutils.stats.summarizers.Tally;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.RunControl;
+import nl.tudelft.simulation.dsol.experiment.results.ResultFileReader;
+import nl.tudelft.simulation.dsol.experiment.results.ResultFileWriter;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.model.DsolModel;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterDouble;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterException;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+import nl.tudelft.simulation.dsol.statistics.SimTally;
+
+/**
+ * FarmTest tests the distribution of replications over worker JVMs.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class FarmTest
+{
+    /** the system property with the marker file; the first worker that creates the marker file dies. */
+    static final String MARKER_PROPERTY = "dsol.farmtest.marker";
+
+    /** temporary directory for the result and marker files. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Make the parameters of a run.
+     * @param a the value of parameter a
+     * @return the parameters of the run
+     */
+    private static SortedMap<String, Double> parameters(final double a)
+    {
+        SortedMap<String, Double> parameters = new TreeMap<>();
+        parameters.put("a", a);
+        return parameters;
+    }
+
+    /**
+     * Test executing two runs on two workers, and writing the results.
+     * @throws IOException on I/O error
+     * @throws SimRuntimeException on simulation error
+     */
+    @Test
+    public void testFarm() throws IOException, SimRuntimeException
+    {
+        Path path = this.tempDir.resolve("farm.dsolres");
+        RunControl<Double> runControl = new RunControl<>("farm", 0.0, 0.0, 100.0);
+        try (ResultFileWriter writer = new ResultFileWriter(path);
+                FarmCoordinator<Double> coordinator = new FarmCoordinator<>(FarmModelFactory.class, runControl))
+        {
+            assertTrue(coordinator.getPort() > 0);
+            coordinator.addRun("low", 3, parameters(2.0));
+            coordinator.addRun("high", 3, parameters(5.0));
+            UnitTest.testFail(() -> coordinator.addRun("low", 3, parameters(2.0)));
+            UnitTest.testFail(() -> coordinator.addRun("x", 0, parameters(2.0)));
+            coordinator.setResultFileWriter(writer);
+            SortedMap<String, SortedMap<String, SortedMap<String, Tally>>> summaries = coordinator.run(2);
+            assertEquals(2, summaries.size());
+            assertEquals(3, summaries.get("low").get("value").get("SampleMean").getN());
+            assertEquals(2.0, summaries.get("low").get("value").get("SampleMean").getSampleMean(), 1E-9);
+            assertEquals(5.0, summaries.get("high").get("value").get("SampleMean").getSampleMean(), 1E-9);
+            assertEquals(6, coordinator.getResults().size());
+            UnitTest.testFail(() -> coordinator.run(1));
+        }
+        ResultFileReader reader = new ResultFileReader(path);
+        assertEquals(6, reader.getNumberOfRows());
+        assertEquals("5.0", reader.getInputParameters("high").get("a"));
+        assertEquals(3, reader.getSummaryStatistics("low").get("value").get("SampleMean").getN());
+    }
+
+    /**
+     * Test that the replication of a worker that dies is executed by another worker.
+     * @throws IOException on I/O error
+     * @throws SimRuntimeException on simulation error
+     */
+    @Test
+    public void testWorkerDies() throws IOException, SimRuntimeException
+    {
+        Path marker = this.tempDir.resolve("marker");
+        RunControl<Double> runControl = new RunControl<>("farm", 0.0, 0.0, 100.0);
+        try (FarmCoordinator<Double> coordinator = new FarmCoordinator<>(FarmModelFactory.class, runControl))
+        {
+            coordinator.setWorkerJvmArguments(List.of("-D" + MARKER_PROPERTY + "=" + marker.toString()));
+            coordinator.addRun("run", 4, parameters(3.0));
+            SortedMap<String, SortedMap<String, SortedMap<String, Tally>>> summaries = coordinator.run(2);
+            assertTrue(Files.exists(marker));
+            assertEquals(4, summaries.get("run").get("value").get("SampleMean").getN());
+            assertEquals(3.0, summaries.get("run").get("value").get("SampleMean").getSampleMean(), 1E-9);
+        }
+    }
+
+    /** Factory for the farm model; public with a public no-argument constructor, so the workers can instantiate it. */
+    public static class FarmModelFactory implements ModelFactory<Double, DevsSimulatorInterface<Double>>
+    {
+        @Override
+        public DevsSimulatorInterface<Double> createSimulator(final String id)
+        {
+            return new DevsSimulator<Double>(id);
+        }
+
+        @Override
+        public DsolModel<Double, ? extends DevsSimulatorInterface<Double>> createModel(
+                final DevsSimulatorInterface<Double> simulator)
+        {
+            return new FarmModel(simulator);
+        }
+    }
+
+    /** Model that registers the value of parameter a 10 times. */
+    static class FarmModel extends AbstractDsolModel<Double, DevsSimulatorInterface<Double>>
+    {
+        /** the tally for the value of a. */
+        private SimTally<Double> value;
+
+        /**
+         * @param simulator the simulator
+         */
+        FarmModel(final DevsSimulatorInterface<Double> simulator)
+        {
+            super(simulator);
+            try
+            {
+                addInputParameter(new InputParameterDouble("a", "a", "value a", 1.0, 1.0));
+            }
+            catch (InputParameterException exception)
+            {
+                throw new RuntimeException(exception);
+            }
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            String marker = System.getProperty(MARKER_PROPERTY);
+            if (marker != null)
+            {
+                try
+                {
+                    Files.createFile(Path.of(marker));
+                    // the first worker that gets here dies in the middle of its replication
+                    Runtime.getRuntime().halt(1);
+                }
+                catch (IOException exception)
+                {
+                    // marker exists: another worker already died
+                }
+            }
+            this.value = new SimTally<Double>("value", "value", this);
+            this.value.initialize();
+            this.outputStatistics.add(this.value);
+            double a = getInputParameterDouble("a");
+            for (int i = 1; i <= 10; i++)
+            {
+                getSimulator().scheduleEventAbs((double) i, () -> this.value.register(a));
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package nl.tudelft.simulation.dsol.experiment.results;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.djutils.stats.summarizers.Tally;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nl.tudelft.simulation.dsol.Sleep;
+import nl.tudelft.simulation.dsol.experiment.Experiment;
+import nl.tudelft.simulation.dsol.experiment.ExperimentTest.MM1Model;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterDouble;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterException;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterInteger;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterMap;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+
+/**
+ * ResultFileTest tests the writing and reading of binary result files, and the recording of an Experiment.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class ResultFileTest
+{
+    /** temporary directory for the result files. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Make the statistics of one replication.
+     * @param mean the mean value to store
+     * @param withExtra whether to add an extra statistic
+     * @return the statistics of one replication
+     */
+    private static SortedMap<String, SortedMap<String, Double>> stats(final double mean, final boolean withExtra)
+    {
+        SortedMap<String, SortedMap<String, Double>> stats = new TreeMap<>();
+        SortedMap<String, Double> fields = new TreeMap<>();
+        fields.put("N", 10.0);
+        fields.put("SampleMean", mean);
+        stats.put("waiting time", fields);
+        if (withExtra)
+        {
+            SortedMap<String, Double> extra = new TreeMap<>();
+            extra.put("Count", 2 * mean);
+            stats.put("arrivals", extra);
+        }
+        return stats;
+    }
+
+    /**
+     * Test writing and reading the different blocks.
+     * @throws IOException on I/O error
+     * @throws InputParameterException on input parameter error
+     */
+    @Test
+    public void testWriteRead() throws IOException, InputParameterException
+    {
+        Path path = this.tempDir.resolve("results.dsolres");
+        try (ResultFileWriter writer = new ResultFileWriter(path))
+        {
+            assertEquals(1, writer.getRowGroupSize());
+            writer.setRowGroupSize(2);
+            UnitTest.testFail(() -> writer.setRowGroupSize(0));
+            InputParameterMap ipm = new InputParameterMap("model", "model", "model", 1.0);
+            ipm.add(new InputParameterDouble("iat", "iat", "interarrival time", 1.5, 1.0));
+            InputParameterMap sub = new InputParameterMap("server", "server", "server", 2.0);
+            sub.add(new InputParameterInteger("capacity", "capacity", "server capacity", 3, 1.0));
+            ipm.add(sub);
+            writer.writeInputParameters("exp", ipm);
+            writer.writeReplication("exp", 0, stats(1.0, false));
+            writer.writeReplication("exp", 1, stats(2.0, true));
+            writer.writeReplication("exp", 2, stats(3.0, false));
+            writer.writeTimeSeries("exp", 1, "tiq", new double[] {1.0, 2.0, 3.0}, new double[] {4.0, 5.0, 6.0}, 2);
+            SortedMap<String, SortedMap<String, Tally>> summary = new TreeMap<>();
+            Tally tally = new Tally("SampleMean");
+            tally.register(1.0, 2.0, 3.0);
+            summary.put("waiting time", new TreeMap<>());
+            summary.get("waiting time").put("SampleMean", tally);
+            writer.writeSummaryStatistics("exp", summary);
+        }
+
+        ResultFileReader reader = new ResultFileReader(path);
+        assertFalse(reader.isTruncated());
+        assertEquals(Files.size(path), reader.getValidLength());
+        assertEquals(3, reader.getNumberOfRows());
+        assertEquals(3, reader.getColumnNames().size());
+        double[] mean = reader.getColumn("waiting time", "SampleMean");
+        assertEquals(3, mean.length);
+        assertEquals(1.0, mean[0], 0.0);
+        assertEquals(2.0, mean[1], 0.0);
+        assertEquals(3.0, mean[2], 0.0);
+        double[] count = reader.getColumn(ResultFileWriter.columnName("arrivals", "Count"));
+        assertTrue(Double.isNaN(count[0]));
+        assertEquals(4.0, count[1], 0.0);
+        assertTrue(Double.isNaN(count[2]));
+        UnitTest.testFail(() -> reader.getColumn("xyz"));
+        assertEquals("exp", reader.getRunIds()[2]);
+        assertEquals(2, reader.getReplicationNumbers()[2]);
+        assertEquals(1, reader.getRuns().size());
+
+        assertEquals("1.5", reader.getInputParameters("exp").get("iat"));
+        assertEquals("3", reader.getInputParameters("exp").get("server.capacity"));
+        assertTrue(reader.getInputParameters("other").isEmpty());
+
+        ResultFileReader.Summary s = reader.getSummaryStatistics("exp").get("waiting time").get("SampleMean");
+        assertEquals(3, s.getN());
+        assertEquals(2.0, s.getSampleMean(), 1E-9);
+        assertEquals(1.0, s.getSampleStDev(), 1E-9);
+        assertEquals(1.0, s.getMin(), 0.0);
+        assertEquals(3.0, s.getMax(), 0.0);
+        assertEquals(6.0, s.getSum(), 1E-9);
+
+        ResultFileReader.TimeSeries ts = reader.getTimeSeries("exp", 1, "tiq");
+        assertEquals(2, ts.size());
+        assertEquals(2.0, ts.getTimes()[1], 0.0);
+        assertEquals(5.0, ts.getValues()[1], 0.0);
+        assertNull(reader.getTimeSeries("exp", 0, "tiq"));
+        assertNull(reader.getTimeSeries("exp", 1, "xyz"));
+    }
+
+    /**
+     * Test that a partially written block is ignored, and that appending continues after the last valid block.
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testCrashAndAppend() throws IOException
+    {
+        Path path = this.tempDir.resolve("crash.dsolres");
+        ResultFileWriter writer = new ResultFileWriter(path);
+        writer.writeReplication("exp", 0, stats(1.0, false));
+        writer.writeReplication("exp", 1, stats(2.0, false));
+        // do not close the writer, but simulate a crash in the middle of writing the next block
+        Files.write(path, new byte[] {ResultFileWriter.BLOCK_ROWS, 0, 0, 1, 0, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        ResultFileReader reader = new ResultFileReader(path);
+        assertTrue(reader.isTruncated());
+        assertEquals(2, reader.getNumberOfRows());
+        assertTrue(reader.getValidLength() < Files.size(path));
+
+        try (ResultFileWriter appender = new ResultFileWriter(path, true))
+        {
+            appender.writeReplication("exp", 2, stats(3.0, true));
+        }
+        reader = new ResultFileReader(path);
+        assertFalse(reader.isTruncated());
+        assertEquals(3, reader.getNumberOfRows());
+        assertEquals(3.0, reader.getColumn("waiting time", "SampleMean")[2], 0.0);
+        assertEquals(6.0, reader.getColumn("arrivals", "Count")[2], 0.0);
+        assertTrue(Double.isNaN(reader.getColumn("arrivals", "Count")[0]));
+
+        Path bad = this.tempDir.resolve("bad.dsolres");
+        Files.write(bad, new byte[] {1, 2, 3});
+        UnitTest.testFail(() -> new ResultFileReader(bad));
+    }
+
+    /**
+     * Test recording an experiment with 10 replications.
+     * @throws IOException on I/O error
+     */
+    @Test
+    public void testExperimentRecorder() throws IOException
+    {
+        Path path = this.tempDir.resolve("mm1.dsolres");
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("simulator");
+        MM1Model model = new MM1Model(simulator);
+        Experiment<Double, DevsSimulatorInterface<Double>> expd =
+                new Experiment<Double, DevsSimulatorInterface<Double>>("Exp 1", simulator, model, 10.0, 10.0, 20.0, 10);
+        try (ResultFileWriter writer = new ResultFileWriter(path))
+        {
+            ExperimentResultRecorder<Double, DevsSimulatorInterface<Double>> recorder =
+                    new ExperimentResultRecorder<>(expd, writer);
+            recorder.addTimeSeries("tiq");
+            expd.start();
+            int count = 0;
+            while (expd.isRunning() && count < 25000)
+            {
+                count++;
+                Sleep.sleep(1);
+            }
+            assertTrue(count < 25000);
+            recorder.detach();
+        }
+
+        ResultFileReader reader = new ResultFileReader(path);
+        assertEquals(10, reader.getNumberOfRows());
+        double[] means = reader.getColumn("timeInQueue", "SampleMean");
+        Tally tally = new Tally("check");
+        for (double m : means)
+        {
+            tally.register(m);
+        }
+        ResultFileReader.Summary summary = reader.getSummaryStatistics("Exp 1").get("timeInQueue").get("SampleMean");
+        assertNotNull(summary);
+        assertEquals(tally.getSampleMean(), summary.getSampleMean(), 1E-9);
+        for (int r = 0; r < 10; r++)
+        {
+            ResultFileReader.TimeSeries ts = reader.getTimeSeries("Exp 1", r, "tiq");
+            assertNotNull(ts);
+            assertTrue(ts.size() > 0);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package nl.tudelft.simulation.dsol.experiment.selection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.ModelFactory;
+import nl.tudelft.simulation.dsol.experiment.RunControl;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.model.DsolModel;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterDouble;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterException;
+import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterMap;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+import nl.tudelft.simulation.dsol.statistics.SimTally;
+import nl.tudelft.simulation.jstats.distributions.DistNormal;
+
+/**
+ * SelectionTest tests the KN and OCBA ranking-and-selection procedures.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class SelectionTest
+{
+    /**
+     * Make the alternatives, where alternative i has a mean cost of i.
+     * @param k the number of alternatives
+     * @return the input parameter maps of the alternatives
+     * @throws InputParameterException on error
+     */
+    private static List<InputParameterMap> alternatives(final int k) throws InputParameterException
+    {
+        List<InputParameterMap> alternatives = new ArrayList<>();
+        for (int i = 0; i < k; i++)
+        {
+            InputParameterMap map = new InputParameterMap("model", "model", "model", 1.0);
+            map.add(new InputParameterDouble("mu", "mu", "mean cost", i, 1.0));
+            alternatives.add(map);
+        }
+        return alternatives;
+    }
+
+    /**
+     * Test the KN procedure.
+     * @throws SimRuntimeException on simulation error
+     * @throws InputParameterException on error
+     */
+    @Test
+    public void testKn() throws SimRuntimeException, InputParameterException
+    {
+        RunControl<Double> runControl = new RunControl<>("kn", 0.0, 0.0, 100.0);
+        KnProcedure<Double, DevsSimulatorInterface<Double>> kn = new KnProcedure<>(new CostModelFactory(), runControl,
+                alternatives(6), "cost", "SampleMean", true, 4, 0.05, 0.5, 10);
+        assertEquals(0.05, kn.getAlpha(), 0.0);
+        assertEquals(0.5, kn.getDelta(), 0.0);
+        assertEquals(10, kn.getN0());
+        assertEquals(6, kn.getNumberOfAlternatives());
+        SelectionResult result = kn.select();
+        assertEquals(0, result.getSelectedAlternative());
+        assertTrue(result.isGuaranteed());
+        assertEquals(0.95, result.getProbabilityCorrectSelection(), 1E-12);
+        assertTrue(result.getTotalReplications() >= 60);
+        assertTrue(result.getSavedReplications() >= 0);
+        assertTrue(result.getMeans()[5] > result.getMeans()[0]);
+        // clearly inferior alternatives are eliminated after the initial stage
+        assertTrue(result.getReplications()[5] < result.getReplications()[0] || result.getReplications()[0] == 10);
+
+        UnitTest.testFail(() -> new KnProcedure<>(new CostModelFactory(), runControl, alternatives(6), "cost", "SampleMean",
+                true, 4, 0.0, 0.5, 10));
+        UnitTest.testFail(() -> new KnProcedure<>(new CostModelFactory(), runControl, alternatives(6), "cost", "SampleMean",
+                true, 4, 0.05, 0.0, 10));
+        UnitTest.testFail(() -> new KnProcedure<>(new CostModelFactory(), runControl, alternatives(6), "cost", "SampleMean",
+                true, 4, 0.05, 0.5, 1));
+        UnitTest.testFail(() -> new KnProcedure<>(new CostModelFactory(), runControl, alternatives(1), "cost", "SampleMean",
+                true, 4, 0.05, 0.5, 10));
+    }
+
+    /**
+     * Test the OCBA procedure.
+     * @throws SimRuntimeException on simulation error
+     * @throws InputParameterException on error
+     */
+    @Test
+    public void testOcba() throws SimRuntimeException, InputParameterException
+    {
+        RunControl<Double> runControl = new RunControl<>("ocba", 0.0, 0.0, 100.0);
+        OcbaProcedure<Double, DevsSimulatorInterface<Double>> ocba = new OcbaProcedure<>(new CostModelFactory(), runControl,
+                alternatives(5), "cost", "SampleMean", true, 4, 4, 60, 10);
+        assertEquals(4, ocba.getN0());
+        assertEquals(60, ocba.getBudget());
+        assertEquals(10, ocba.getIncrement());
+        SelectionResult result = ocba.select();
+        assertEquals(0, result.getSelectedAlternative());
+        assertFalse(result.isGuaranteed());
+        assertEquals(60, result.getTotalReplications());
+        assertTrue(result.getProbabilityCorrectSelection() > 0.9);
+        // the best and second-best alternatives get most of the budget
+        int[] n = result.getReplications();
+        assertTrue(n[0] + n[1] > n[3] + n[4]);
+
+        UnitTest.testFail(() -> new OcbaProcedure<>(new CostModelFactory(), runControl, alternatives(5), "cost", "SampleMean",
+                true, 4, 4, 10, 10));
+        UnitTest.testFail(() -> new OcbaProcedure<>(new CostModelFactory(), runControl, alternatives(5), "cost", "SampleMean",
+                true, 4, 4, 60, 0));
+    }
+
+    /** Factory for the cost model. */
+    static class CostModelFactory implements ModelFactory<Double, DevsSimulatorInterface<Double>>
+    {
+        @Override
+        public DevsSimulatorInterface<Double> createSimulator(final String id)
+        {
+            return new DevsSimulator<Double>(id);
+        }
+
+        @Override
+        public DsolModel<Double, ? extends DevsSimulatorInterface<Double>> createModel(
+                final DevsSimulatorInterface<Double> simulator)
+        {
+            return new CostModel(simulator);
+        }
+    }
+
+    /** Model that registers 10 normally distributed costs with mean mu and standard deviation 2. */
+    static class CostModel extends AbstractDsolModel<Double, DevsSimulatorInterface<Double>>
+    {
+        /** the tally for the costs. */
+        private SimTally<Double> cost;
+
+        /**
+         * @param simulator the simulator
+         */
+        CostModel(final DevsSimulatorInterface<Double> simulator)
+        {
+            super(simulator);
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            this.cost = new SimTally<Double>("cost", "cost", this);
+            this.cost.initialize();
+            this.outputStatistics.add(this.cost);
+            DistNormal dist = new DistNormal(getStream("default"), getInputParameterDouble("mu"), 2.0);
+            for (int i = 1; i <= 10; i++)
+            {
+                getSimulator().scheduleEventAbs((double) i, () -> this.cost.register(dist.draw()));
+            }
+        }
+    }
+}
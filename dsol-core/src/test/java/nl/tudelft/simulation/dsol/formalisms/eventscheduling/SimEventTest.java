@@ -2,12 +2,17 @@ package nl.tudelft.simulation.dsol.formalisms.eventscheduling;
 
 import static org.junit.jupiter.api.Assertions.fail;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+
 /**
  * SimEventTest.java.
  * <p>
@@ -20,9 +25,6 @@ import org.junit.jupiter.api.Test;
  */
 public class SimEventTest
 {
-    /** generated ids. */
-    Set<Long> usedIds = new HashSet<>();
-
     /** active threads. */
     AtomicInteger activeThreads = new AtomicInteger(0);
 
@@ -30,7 +32,9 @@ public class SimEventTest
     AtomicInteger errors = new AtomicInteger(0);
 
     /**
-     * Test parallel threads creating simevents.
+     * Test parallel threads that each create and schedule simevents on their own simulator. The ids are assigned per
+     * simulator, so every simulator numbers its events consecutively and executes simultaneous events in the order of
+     * scheduling, independent of the other threads.
      * @throws InterruptedException on interrupt error
      */
     @Test
@@ -47,28 +51,54 @@ public class SimEventTest
             Thread.sleep(10);
         }
         if (this.errors.get() > 0)
-            fail("repeated id in SimEvent using parallel construction; total " + this.errors.get() + " errors");
+            fail("wrong id or order of SimEvent using parallel scheduling; total " + this.errors.get() + " errors");
     }
 
-    /** thread to create 100000 events each. */
+    /** thread to create and schedule 100000 events each. */
     class ThreadRunner extends Thread
     {
         @Override
         public void run()
         {
             SimEventTest.this.activeThreads.incrementAndGet();
+            DevsSimulator<Double> simulator = new DevsSimulator<>("sim");
             try
             {
+                simulator.initialize(new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel()
+                    {
+                        // events are scheduled by the thread
+                    }
+                }, new SingleReplication<Double>("rep", 0.0, 0.0, 100.0));
+                List<SimEventInterface<Double>> events = new ArrayList<>();
                 for (int i = 0; i < 100000; i++)
                 {
-                    SimEvent<Double> e = new SimEvent<>(0.0, this, "test", null);
-                    if (SimEventTest.this.usedIds.contains(e.getId()))
+                    SimEvent<Double> e = new SimEvent<>(50.0, this, "test", null);
+                    if (e.getId() != 0L)
+                        SimEventTest.this.errors.incrementAndGet();
+                    simulator.scheduleEvent(e);
+                    if (i > 0 && e.getId() != events.get(i - 1).getId() + 1)
                         SimEventTest.this.errors.incrementAndGet();
-                    SimEventTest.this.usedIds.add(e.getId());
+                    events.add(e);
                 }
+                List<SimEventInterface<Double>> ordered = new ArrayList<>();
+                for (SimEventInterface<Double> e : simulator.getEventList())
+                {
+                    if (e.getAbsoluteExecutionTime() == 50.0)
+                        ordered.add(e);
+                }
+                if (!ordered.equals(events))
+                    SimEventTest.this.errors.incrementAndGet();
+            }
+            catch (RuntimeException exception)
+            {
+                SimEventTest.this.errors.incrementAndGet();
             }
             finally
             {
+                simulator.cleanUp();
                 SimEventTest.this.activeThreads.decrementAndGet();
             }
         }
@@ -0,0 +1,138 @@
+package nl.tudelft.simulation.dsol.formalisms.process;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.Sleep;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+
+/**
+ * The ProcessBenchmark measures the cost of the process-interaction formalism: the time per handoff between the simulator
+ * thread and a process, and the heap memory per waiting process. A number of processes is started at time 0, and each process
+ * holds a number of times for one time unit. The benchmark runs with platform threads, and with virtual threads when they are
+ * available in the Java runtime (Java 21 and higher). The stacks of platform threads are allocated outside the heap, so the
+ * heap memory per process underestimates the real memory use of platform threads. The benchmark can be started with the
+ * number of platform-thread processes and the number of virtual-thread processes as arguments.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class ProcessBenchmark
+{
+    /** the number of holds per process. */
+    private static final int HOLDS = 10;
+
+    /** Utility class. */
+    private ProcessBenchmark()
+    {
+        // utility class
+    }
+
+    /**
+     * Run the benchmark.
+     * @param args optional: the number of platform-thread processes and the number of virtual-thread processes
+     */
+    public static void main(final String[] args)
+    {
+        int platform = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int virtual = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        System.out.println(String.format("%-10s %10s %12s %14s %14s", "threads", "processes", "switches", "ns/switch",
+                "heap B/process"));
+        run(Math.min(1000, platform), false, true);
+        run(platform, false, false);
+        if (ProcessEnvironment.isVirtualThreadAvailable())
+        {
+            run(Math.min(1000, virtual), true, true);
+            run(virtual, true, false);
+        }
+        else
+        {
+            System.out.println("virtual threads are not available in Java " + Runtime.version().feature()
+                    + "; run the benchmark on Java 21 or higher to compare");
+        }
+    }
+
+    /**
+     * Run one configuration.
+     * @param processes the number of processes
+     * @param virtualThreads whether to use virtual threads
+     * @param warmup whether this is a warmup run that is not reported
+     */
+    private static void run(final int processes, final boolean virtualThreads, final boolean warmup)
+    {
+        DevsSimulatorInterface<Double> simulator = new DevsSimulator<Double>("benchmark");
+        long[] heap = new long[2];
+        ProcessEnvironment<Double> environment = new ProcessEnvironment<>(simulator, virtualThreads);
+        AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        heap[0] = usedHeap();
+                        for (int i = 0; i < processes; i++)
+                        {
+                            new Holder(environment, i).start();
+                        }
+                        // all processes have started and are holding at time 0.5
+                        getSimulator().scheduleEventAbs(0.5, () -> heap[1] = usedHeap());
+                    }
+                };
+        simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 0.0, HOLDS + 1.0));
+        long t0 = System.nanoTime();
+        simulator.start();
+        while (simulator.isStartingOrRunning())
+        {
+            Sleep.sleep(1);
+        }
+        long time = System.nanoTime() - t0;
+        if (!warmup)
+        {
+            long switches = environment.getNumberOfSwitches();
+            System.out.println(String.format("%-10s %10d %12d %14.1f %14d", virtualThreads ? "virtual" : "platform", processes,
+                    switches, 1.0 * time / switches, (heap[1] - heap[0]) / processes));
+        }
+    }
+
+    /**
+     * Return the used heap memory after a garbage collection.
+     * @return the used heap memory in bytes
+     */
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Process that holds a number of times for one time unit. */
+    private static class Holder extends SimProcess<Double>
+    {
+        /**
+         * @param environment the process environment
+         * @param nr the number of the process
+         */
+        Holder(final ProcessEnvironment<Double> environment, final int nr)
+        {
+            super(environment, "holder-" + nr);
+        }
+
+        @Override
+        protected void process()
+        {
+            for (int i = 0; i < HOLDS; i++)
+            {
+                hold(1.0);
+            }
+        }
+    }
+
+}
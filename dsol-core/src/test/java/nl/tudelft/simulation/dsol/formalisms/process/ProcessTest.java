@@ -0,0 +1,390 @@
+package nl.tudelft.simulation.dsol.formalisms.process;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.djutils.event.LocalEventProducer;
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.Sleep;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+import nl.tudelft.simulation.dsol.simulators.ReplicationState;
+
+/**
+ * ProcessTest tests hold, waitFor, seize and release of the process-interaction formalism.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class ProcessTest
+{
+    /**
+     * Test that hold() continues the process at the right time, and that processes interleave in time order.
+     */
+    @Test
+    public void testHold()
+    {
+        List<String> log = new ArrayList<>();
+        DevsSimulatorInterface<Double> simulator = run(100.0, (env) ->
+        {
+            for (int p = 1; p <= 2; p++)
+            {
+                final double step = p;
+                new Process(env, "p" + p, (process) ->
+                {
+                    for (int i = 0; i < 3; i++)
+                    {
+                        process.hold(step);
+                        log.add(process.getName() + "@" + process.getSimulator().getSimulatorTime());
+                    }
+                }).start();
+            }
+        });
+        assertEquals(ReplicationState.ENDED, simulator.getReplicationState());
+        assertEquals(List.of("p1@1.0", "p2@2.0", "p1@2.0", "p1@3.0", "p2@4.0", "p2@6.0"), log);
+    }
+
+    /**
+     * Test waitFor() with a condition that is changed by another process and by an ordinary event.
+     */
+    @Test
+    public void testWaitFor()
+    {
+        List<String> log = new ArrayList<>();
+        int[] level = new int[1];
+        run(100.0, (env) ->
+        {
+            new Process(env, "waiter", (process) ->
+            {
+                process.waitFor(() -> level[0] >= 2);
+                log.add("level2@" + process.getSimulator().getSimulatorTime());
+                process.waitFor(() -> level[0] >= 3);
+                log.add("level3@" + process.getSimulator().getSimulatorTime());
+            }).start();
+            new Process(env, "filler", (process) ->
+            {
+                process.hold(5.0);
+                level[0]++;
+                process.hold(5.0);
+                level[0]++;
+            }).start();
+            env.getSimulator().scheduleEventAbs(15.0, () ->
+            {
+                level[0]++;
+                env.checkConditions();
+            });
+        });
+        assertEquals(List.of("level2@10.0", "level3@15.0"), log);
+    }
+
+    /**
+     * Test seize() and release() of a resource with capacity 1, which serves the customers in first-come, first-served order.
+     */
+    @Test
+    public void testSeizeRelease()
+    {
+        List<String> log = new ArrayList<>();
+        List<ProcessResource<Double>> resources = new ArrayList<>();
+        run(100.0, (env) ->
+        {
+            ProcessResource<Double> machine = new ProcessResource<>(env, "machine", 1.0);
+            resources.add(machine);
+            for (int c = 0; c < 4; c++)
+            {
+                new Process(env, "c" + c, (process) ->
+                {
+                    process.seize(machine, 1.0);
+                    log.add(process.getName() + "+" + process.getSimulator().getSimulatorTime());
+                    process.hold(3.0);
+                    process.release(machine, 1.0);
+                }).start(c * 1.0);
+            }
+        });
+        assertEquals(List.of("c0+0.0", "c1+3.0", "c2+6.0", "c3+9.0"), log);
+        ProcessResource<Double> machine = resources.get(0);
+        assertEquals(0.0, machine.getClaimedCapacity(), 1E-9);
+        assertEquals(1.0, machine.getAvailableCapacity(), 1E-9);
+        assertEquals(0, machine.getQueueLength());
+        UnitTest.testFail(() -> machine.release(1.0), SimRuntimeException.class);
+    }
+
+    /**
+     * Test that the requests of killed processes do not block the queue of a resource, and that capacity that was granted to
+     * a process that is killed before it resumes is released again.
+     */
+    @Test
+    public void testKilledRequests()
+    {
+        List<String> log = new ArrayList<>();
+        List<ProcessResource<Double>> resources = new ArrayList<>();
+        run(100.0, (env) ->
+        {
+            // b waits for 2 units and is killed; c waits behind b for 1 unit, which is available from time 10
+            ProcessResource<Double> machine = new ProcessResource<>(env, "machine", 2.0);
+            resources.add(machine);
+            new Process(env, "a", (process) ->
+            {
+                process.seize(machine, 2.0);
+                process.hold(10.0);
+                process.release(machine, 1.0);
+                process.hold(10.0);
+                process.release(machine, 1.0);
+            }).start();
+            Process b = new Process(env, "b", (process) ->
+            {
+                process.seize(machine, 2.0);
+                log.add("b+" + process.getSimulator().getSimulatorTime());
+            });
+            b.start(1.0);
+            new Process(env, "c", (process) ->
+            {
+                process.seize(machine, 1.0);
+                log.add("c+" + process.getSimulator().getSimulatorTime());
+                process.release(machine, 1.0);
+            }).start(2.0);
+            env.getSimulator().scheduleEventAbs(5.0, () -> b.kill());
+
+            // e gets the 2 units of d at time 10, but is killed before it resumes
+            ProcessResource<Double> crane = new ProcessResource<>(env, "crane", 2.0);
+            resources.add(crane);
+            Process e = new Process(env, "e", (process) ->
+            {
+                process.seize(crane, 2.0);
+                log.add("e+" + process.getSimulator().getSimulatorTime());
+            });
+            new Process(env, "d", (process) ->
+            {
+                process.seize(crane, 2.0);
+                process.hold(10.0);
+                process.scheduleEventRel(0.0, () -> e.kill());
+                process.release(crane, 2.0);
+            }).start();
+            e.start(1.0);
+        });
+        assertEquals(List.of("c+10.0"), log);
+        for (ProcessResource<Double> resource : resources)
+        {
+            assertEquals(0.0, resource.getClaimedCapacity(), 1E-9);
+            assertEquals(0, resource.getQueueLength());
+        }
+    }
+
+    /**
+     * Test that a killed process whose code catches the error of the kill is terminated at its next blocking method.
+     */
+    @Test
+    public void testKillCaught()
+    {
+        List<String> log = new ArrayList<>();
+        List<Process> processes = new ArrayList<>();
+        run(10.0, (env) ->
+        {
+            Process stubborn = new Process(env, "stubborn", (process) ->
+            {
+                try
+                {
+                    process.hold(100.0);
+                }
+                catch (Throwable throwable)
+                {
+                    log.add("caught");
+                }
+                process.hold(100.0);
+                log.add("continued");
+            });
+            processes.add(stubborn);
+            stubborn.start();
+        });
+        assertEquals(List.of("caught"), log);
+        assertTrue(processes.get(0).isTerminated());
+    }
+
+    /**
+     * Test that processes that have not finished at the end of the replication are terminated, and that an exception in a
+     * process pauses the simulator.
+     */
+    @Test
+    public void testTerminateAndFailure()
+    {
+        List<ProcessEnvironment<Double>> environments = new ArrayList<>();
+        List<String> log = new ArrayList<>();
+        run(10.0, (env) ->
+        {
+            environments.add(env);
+            ProcessResource<Double> resource = new ProcessResource<>(env, "resource", 1.0);
+            for (int p = 0; p < 3; p++)
+            {
+                new Process(env, "p" + p, (process) ->
+                {
+                    try
+                    {
+                        process.seize(resource, 1.0);
+                        process.hold(100.0);
+                    }
+                    finally
+                    {
+                        log.add(process.getName());
+                    }
+                }).start();
+            }
+        });
+        ProcessEnvironment<Double> env = environments.get(0);
+        assertEquals(3, env.getNumberOfProcesses());
+        assertEquals(0, env.getNumberOfAliveProcesses());
+        assertEquals(3, log.size());
+        assertTrue(env.getNumberOfSwitches() >= 6);
+
+        DevsSimulatorInterface<Double> simulator = run(10.0, (e) ->
+        {
+            new Process(e, "failing", (process) ->
+            {
+                process.hold(3.0);
+                throw new IllegalStateException("error in process");
+            }).start();
+        });
+        assertFalse(simulator.isStartingOrRunning());
+        assertEquals(3.0, simulator.getSimulatorTime(), 1E-9);
+        assertEquals(ReplicationState.STARTED, simulator.getReplicationState());
+    }
+
+    /**
+     * Test that one process environment terminates the processes at the end of every replication on the same simulator,
+     * although the initialization of a replication removes the listeners of the simulator.
+     */
+    @Test
+    public void testReplications()
+    {
+        DevsSimulatorInterface<Double> simulator = new DevsSimulator<Double>("sim");
+        ProcessEnvironment<Double> env = new ProcessEnvironment<Double>(simulator);
+        List<String> log = new ArrayList<>();
+        AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        for (int p = 0; p < 3; p++)
+                        {
+                            new Process(env, "p" + p, (process) ->
+                            {
+                                try
+                                {
+                                    process.hold(100.0);
+                                }
+                                finally
+                                {
+                                    log.add(process.getName());
+                                }
+                            }).start();
+                        }
+                    }
+                };
+        for (int replication = 1; replication <= 2; replication++)
+        {
+            run(simulator, model, 10.0);
+            assertEquals(3 * replication, env.getNumberOfProcesses());
+            assertEquals(0, env.getNumberOfAliveProcesses());
+            assertEquals(3 * replication, log.size());
+        }
+    }
+
+    /**
+     * Run a replication with processes, until it ends or pauses.
+     * @param endTime the end time of the replication
+     * @param construct the construction of the processes
+     * @return the simulator
+     */
+    private static DevsSimulatorInterface<Double> run(final double endTime, final Consumer<ProcessEnvironment<Double>> construct)
+    {
+        DevsSimulatorInterface<Double> simulator = new DevsSimulator<Double>("sim");
+        AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        construct.accept(new ProcessEnvironment<Double>(getSimulator()));
+                    }
+                };
+        return run(simulator, model, endTime);
+    }
+
+    /**
+     * Run a replication of a model, until it ends or pauses.
+     * @param simulator the simulator
+     * @param model the model
+     * @param endTime the end time of the replication
+     * @return the simulator
+     */
+    private static DevsSimulatorInterface<Double> run(final DevsSimulatorInterface<Double> simulator,
+            final AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model, final double endTime)
+    {
+        simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 0.0, endTime));
+        // the listener is notified last, so after the termination of the processes by the process environment
+        AtomicBoolean ended = new AtomicBoolean(false);
+        simulator.addListener((event) -> ended.set(true), Replication.END_REPLICATION_EVENT, LocalEventProducer.LAST_POSITION,
+                ReferenceType.STRONG);
+        simulator.start();
+        int count = 0;
+        while (!ended.get() && (simulator.isStartingOrRunning() || simulator.getReplicationState() != ReplicationState.STARTED)
+                && count < 10000)
+        {
+            count++;
+            Sleep.sleep(1);
+        }
+        assertTrue(count < 10000);
+        return simulator;
+    }
+
+    /** Process that executes a lambda expression. */
+    private static class Process extends SimProcess<Double>
+    {
+        /** the body. */
+        private final Body body;
+
+        /**
+         * @param environment the process environment
+         * @param name the name
+         * @param body the body
+         */
+        Process(final ProcessEnvironment<Double> environment, final String name, final Body body)
+        {
+            super(environment, name);
+            this.body = body;
+        }
+
+        @Override
+        protected void process() throws Exception
+        {
+            this.body.run(this);
+        }
+    }
+
+    /** Body of a process. */
+    @FunctionalInterface
+    private interface Body
+    {
+        /**
+         * @param process the process
+         * @throws Exception on error
+         */
+        void run(Process process) throws Exception;
+    }
+}
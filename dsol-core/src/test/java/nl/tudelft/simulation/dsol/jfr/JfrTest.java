@@ -0,0 +1,200 @@
+package nl.tudelft.simulation.dsol.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.Experiment;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+
+/**
+ * JfrTest records a replication and an experiment with the DSOL JFR events enabled, and checks the recorded events. It also
+ * checks that the events are not recorded with the default settings.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class JfrTest
+{
+    /** the temporary directory for the recordings. */
+    @TempDir
+    private Path tempDir;
+
+    /**
+     * Test the replication, run and sampled event execution events of a replication with 1000 events.
+     * @throws Exception on error
+     */
+    @Test
+    public void testReplication() throws Exception
+    {
+        DsolJfr.setSampleInterval(10);
+        try (Recording recording = new Recording())
+        {
+            recording.enable(JfrReplication.class);
+            recording.enable(JfrRun.class);
+            recording.enable(JfrEventExecution.class);
+            recording.start();
+            DevsSimulator<Double> simulator = new DevsSimulator<Double>("jfr");
+            CountModel model = new CountModel(simulator);
+            simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 0.0, 2000.0));
+            CountDownLatch ended = new CountDownLatch(1);
+            simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+            simulator.start();
+            assertTrue(ended.await(10, TimeUnit.SECONDS));
+            simulator.cleanUp();
+            recording.stop();
+            List<RecordedEvent> events = dump(recording, "replication.jfr");
+            Map<String, Integer> counts = count(events);
+            assertEquals(1, counts.get("nl.tudelft.simulation.dsol.Replication"));
+            assertEquals(1, counts.get("nl.tudelft.simulation.dsol.Run"));
+            assertEquals(100, counts.get("nl.tudelft.simulation.dsol.EventExecution"));
+            for (RecordedEvent event : events)
+            {
+                if (event.getEventType().getName().equals("nl.tudelft.simulation.dsol.Replication"))
+                {
+                    assertEquals("jfr", event.getString("simulator"));
+                    assertEquals("rep", event.getString("replication"));
+                    // the model events, the warmup event and the end of replication event
+                    assertEquals(1002L, event.getLong("events"));
+                    assertEquals(2000.0, event.getDouble("endTime"), 1E-9);
+                }
+                else if (event.getEventType().getName().equals("nl.tudelft.simulation.dsol.EventExecution"))
+                {
+                    assertTrue(event.getString("kind").startsWith(JfrTest.class.getName()), event.getString("kind"));
+                    // the remaining model events and the end of replication event
+                    assertEquals(1001 - event.getDouble("simulationTime") / 2.0, event.getInt("eventListSize"), 1E-9);
+                }
+            }
+        }
+        finally
+        {
+            DsolJfr.setSampleInterval(DsolJfr.DEFAULT_SAMPLE_INTERVAL);
+        }
+        UnitTest.testFail(() -> DsolJfr.setSampleInterval(0), IllegalArgumentException.class);
+    }
+
+    /**
+     * Test the replication events of an experiment, and that a default recording does not contain DSOL events.
+     * @throws Exception on error
+     */
+    @Test
+    public void testExperiment() throws Exception
+    {
+        try (Recording recording = new Recording())
+        {
+            recording.enable(JfrExperimentReplication.class);
+            recording.start();
+            runExperiment();
+            recording.stop();
+            Map<String, Integer> counts = count(dump(recording, "experiment.jfr"));
+            assertEquals(3, counts.get("nl.tudelft.simulation.dsol.ExperimentReplication"));
+            assertEquals(1, counts.size());
+        }
+
+        try (Recording recording = new Recording())
+        {
+            recording.start();
+            runExperiment();
+            recording.stop();
+            for (String name : count(dump(recording, "default.jfr")).keySet())
+            {
+                assertTrue(!name.startsWith("nl.tudelft.simulation.dsol"), name);
+            }
+        }
+    }
+
+    /**
+     * Run an experiment with 3 replications.
+     * @throws InterruptedException when interrupted
+     */
+    private static void runExperiment() throws InterruptedException
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("exp");
+        CountModel model = new CountModel(simulator);
+        Experiment<Double, DevsSimulatorInterface<Double>> experiment =
+                new Experiment<>("exp", simulator, model, 0.0, 0.0, 100.0, 3);
+        CountDownLatch done = new CountDownLatch(1);
+        experiment.addListener((event) -> done.countDown(), Experiment.END_EXPERIMENT_EVENT, ReferenceType.STRONG);
+        experiment.start();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        experiment.removeFromContext();
+    }
+
+    /**
+     * Dump the recording to a file, and read the events.
+     * @param recording the recording
+     * @param fileName the name of the file in the temporary directory
+     * @return the recorded events
+     * @throws IOException on i/o error
+     */
+    private List<RecordedEvent> dump(final Recording recording, final String fileName) throws IOException
+    {
+        Path path = this.tempDir.resolve(fileName);
+        recording.dump(path);
+        return RecordingFile.readAllEvents(path);
+    }
+
+    /**
+     * Count the events per event type.
+     * @param events the recorded events
+     * @return the number of events per event type
+     */
+    private static Map<String, Integer> count(final List<RecordedEvent> events)
+    {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (RecordedEvent event : events)
+        {
+            counts.merge(event.getEventType().getName(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /** Model with an event every 2 time units, which are all scheduled at the start. */
+    static class CountModel extends AbstractDsolModel<Double, DevsSimulatorInterface<Double>>
+    {
+        /** the number of executed events. */
+        private int events = 0;
+
+        /**
+         * @param simulator the simulator
+         */
+        CountModel(final DevsSimulatorInterface<Double> simulator)
+        {
+            super(simulator);
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            for (int i = 1; i <= 1000; i++)
+            {
+                getSimulator().scheduleEventAbs(2.0 * i, () -> this.events++);
+            }
+        }
+    }
+
+}
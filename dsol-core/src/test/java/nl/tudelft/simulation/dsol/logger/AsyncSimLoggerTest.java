@@ -0,0 +1,200 @@
+package nl.tudelft.simulation.dsol.logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.logger.CategoryLogger;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+
+/**
+ * AsyncSimLoggerTest tests the formatting, the simulation time, the log levels and the overflow policies of the
+ * AsyncSimLogger.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class AsyncSimLoggerTest
+{
+    /**
+     * Test that messages logged by the events of a run are formatted with their arguments and the time of the event, and that
+     * templates below the log level of the category are not written.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testRun() throws InterruptedException
+    {
+        Level oldLevel = CategoryLogger.getLogLevel(Cat.DSOL);
+        CategoryLogger.setLogLevel(Cat.DSOL, Level.INFO);
+        try
+        {
+            DevsSimulator<Double> simulator = new DevsSimulator<Double>("sim");
+            simulator.getSimLogger().setFormatter((t) -> String.format("t=%.1f", t));
+            List<String> lines = new ArrayList<>();
+            AsyncSimLogger<Double> log = simulator.getSimLogger().setAsyncLogger(1024, OverflowPolicy.DROP, 10,
+                    (category, level, time, message) -> lines.add(time + " " + level + " " + message));
+            int arrival = log.template(Cat.DSOL, Level.INFO, "arrival {} at queue {} with load {}");
+            int trace = log.template(Cat.DSOL, Level.TRACE, "trace {}");
+            int end = log.template(Cat.DSOL, Level.WARN, "end of run");
+            AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                    new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                    {
+                        @Override
+                        public void constructModel() throws SimRuntimeException
+                        {
+                            for (int i = 1; i <= 3; i++)
+                            {
+                                final int nr = i;
+                                getSimulator().scheduleEventAbs(1.5 * i, () ->
+                                {
+                                    log.log(arrival, nr, 2 * nr, 0.25 * nr);
+                                    log.log(trace, nr);
+                                });
+                            }
+                            getSimulator().scheduleEventAbs(9.0, () -> log.log(end));
+                        }
+                    };
+            simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 0.0, 10.0));
+            CountDownLatch ended = new CountDownLatch(1);
+            simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+            simulator.start();
+            assertTrue(ended.await(10, TimeUnit.SECONDS));
+            log.flush();
+            assertEquals(List.of("t=1.5 INFO arrival 1 at queue 2 with load 0.25",
+                    "t=3.0 INFO arrival 2 at queue 4 with load 0.5", "t=4.5 INFO arrival 3 at queue 6 with load 0.75", "t=9.0 WARN end of run"), lines);
+            assertEquals(4, log.getNumberOfWritten());
+            assertEquals(0, log.getNumberOfDropped());
+
+            // a lower level enables the trace template after a refresh
+            CategoryLogger.setLogLevel(Cat.DSOL, Level.TRACE);
+            log.refreshLevels();
+            log.log(trace, 7);
+            simulator.cleanUp();
+            assertTrue(log.isClosed());
+            assertEquals("t=10.0 TRACE trace 7", lines.get(4));
+            log.log(trace, 8);
+            assertEquals(5, lines.size());
+        }
+        finally
+        {
+            CategoryLogger.setLogLevel(Cat.DSOL, oldLevel);
+        }
+    }
+
+    /**
+     * Test that the initialization of the next replication writes the remaining messages and closes the asynchronous logger,
+     * as cleanUp() does.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testNextReplication() throws InterruptedException
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("sim");
+        List<String> lines = new ArrayList<>();
+        AsyncSimLogger<Double> log = simulator.getSimLogger().setAsyncLogger(1024, OverflowPolicy.DROP, 10,
+                (category, level, time, message) -> lines.add(message));
+        int end = log.template(Cat.DSOL, Level.ERROR, "end of replication");
+        AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        getSimulator().scheduleEventAbs(9.0, () -> log.log(end));
+                    }
+                };
+        simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 0.0, 10.0));
+        CountDownLatch ended = new CountDownLatch(1);
+        simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        simulator.start();
+        assertTrue(ended.await(10, TimeUnit.SECONDS));
+        simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 0.0, 10.0));
+        assertTrue(log.isClosed());
+        assertEquals(List.of("end of replication"), lines);
+        // the next replication gets a new asynchronous logger when it asks for one
+        assertNotSame(log, simulator.getSimLogger().getAsyncLogger());
+        simulator.cleanUp();
+    }
+
+    /**
+     * Test the DROP and SAMPLE policies with a sink that blocks until all messages have been logged.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testOverflow() throws InterruptedException
+    {
+        for (OverflowPolicy policy : OverflowPolicy.values())
+        {
+            DevsSimulator<Double> simulator = new DevsSimulator<Double>("sim");
+            AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                    new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                    {
+                        @Override
+                        public void constructModel() throws SimRuntimeException
+                        {
+                            // no events
+                        }
+                    };
+            simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 0.0, 10.0));
+            CountDownLatch blocked = new CountDownLatch(1);
+            List<String> lines = new ArrayList<>();
+            AsyncSimLogger<Double> log =
+                    simulator.getSimLogger().setAsyncLogger(60, policy, 4, (category, level, time, message) ->
+                    {
+                        try
+                        {
+                            blocked.await();
+                        }
+                        catch (InterruptedException exception)
+                        {
+                            Thread.currentThread().interrupt();
+                        }
+                        lines.add(message);
+                    });
+            assertEquals(64, log.getCapacity());
+            int message = log.template(Cat.DSOL, Level.ERROR, "message {}");
+            for (int i = 0; i < 1000; i++)
+            {
+                log.log(message, i);
+            }
+            blocked.countDown();
+            log.flush();
+            long accepted = log.getNumberOfAccepted();
+            assertEquals(1000, accepted + log.getNumberOfDropped() + log.getNumberOfSampledOut());
+            assertEquals(accepted, lines.size());
+            assertEquals("message 0", lines.get(0));
+            if (policy == OverflowPolicy.DROP)
+            {
+                assertEquals(0, log.getNumberOfSampledOut());
+                assertEquals(64, accepted);
+                assertEquals("message " + (accepted - 1), lines.get(lines.size() - 1));
+            }
+            else
+            {
+                assertTrue(log.getNumberOfSampledOut() > 0);
+                assertEquals(64, accepted);
+                assertTrue(!lines.get(lines.size() - 1).equals("message 63"));
+            }
+            simulator.cleanUp();
+        }
+    }
+
+}
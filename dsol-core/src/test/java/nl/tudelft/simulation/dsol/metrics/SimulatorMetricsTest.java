@@ -0,0 +1,167 @@
+package nl.tudelft.simulation.dsol.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djutils.event.LocalEventProducer;
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+import nl.tudelft.simulation.dsol.statistics.SimCounter;
+import nl.tudelft.simulation.dsol.statistics.SimPersistent;
+
+/**
+ * SimulatorMetricsTest checks the metrics of a simulator and the registered statistics of a model in the Prometheus text
+ * exposition format.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class SimulatorMetricsTest
+{
+    /**
+     * Test the metrics before, during and after a replication.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testMetrics() throws InterruptedException
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("sim");
+        MetricsModel model = new MetricsModel(simulator);
+        SimulatorMetrics metrics = new SimulatorMetrics(simulator, "my \"sim\"");
+        assertEquals(simulator, metrics.getSimulator());
+        simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 0.0, 100.0));
+        metrics.addCounter(model.counter).addPersistent(model.persistent);
+
+        Map<String, String> values = parse(metrics.scrape());
+        assertEquals("0", values.get("dsol_simulator_running"));
+        assertEquals("0", values.get("dsol_replication_progress"));
+        // the 50 model events, the warmup event and the end of replication event
+        assertEquals("52", values.get("dsol_simulator_event_list_size"));
+        assertFalse(values.containsKey("dsol_simulator_events_per_second"));
+        assertFalse(values.containsKey("dsol_simulator_realtime_lag"));
+
+        // the listener is notified last, so after the end of the observations of the persistent statistic
+        CountDownLatch ended = new CountDownLatch(1);
+        simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, LocalEventProducer.LAST_POSITION,
+                ReferenceType.STRONG);
+        simulator.start();
+        assertTrue(ended.await(10, TimeUnit.SECONDS));
+
+        String text = metrics.scrape();
+        assertTrue(text.contains("# TYPE dsol_model_counter gauge\n"), text);
+        assertTrue(text.contains("dsol_simulator_time{simulator=\"my \\\"sim\\\"\"} 100\n"), text);
+        values = parse(text);
+        assertEquals("1", values.get("dsol_replication_progress"));
+        assertEquals("52", values.get("dsol_replication_executed_events"));
+        assertEquals("0", values.get("dsol_simulator_event_list_size"));
+        assertTrue(Double.parseDouble(values.get("dsol_simulator_events_per_second")) > 0.0);
+        assertEquals("50", values.get("dsol_model_counter,key=\"arrivals\""));
+        assertEquals("50", values.get("dsol_model_persistent,key=\"level\",stat=\"last\""));
+        // level 0 on [0, 1), and level i on [2i - 1, 2i + 1) until the end of the replication at t = 100
+        assertEquals(25.0, Double.parseDouble(values.get("dsol_model_persistent,key=\"level\",stat=\"mean\"")),
+                1E-9);
+
+        metrics.clearStatistics();
+        assertFalse(metrics.scrape().contains("dsol_model"));
+        simulator.cleanUp();
+
+        UnitTest.testFail(() -> new SimulatorMetrics(null, "x"), NullPointerException.class);
+        UnitTest.testFail(() -> new SimulatorMetrics(simulator, null), NullPointerException.class);
+        UnitTest.testFail(() -> metrics.addCounter(null), NullPointerException.class);
+        UnitTest.testFail(() -> metrics.addPersistent(null), NullPointerException.class);
+    }
+
+    /**
+     * Test the formatting of values and the escaping of labels.
+     */
+    @Test
+    public void testFormat()
+    {
+        assertEquals("12", SimulatorMetrics.format(12.0));
+        assertEquals("-3", SimulatorMetrics.format(-3.0));
+        assertEquals("0.25", SimulatorMetrics.format(0.25));
+        assertEquals("NaN", SimulatorMetrics.format(Double.NaN));
+        assertEquals("+Inf", SimulatorMetrics.format(Double.POSITIVE_INFINITY));
+        assertEquals("-Inf", SimulatorMetrics.format(Double.NEGATIVE_INFINITY));
+        assertEquals("1.0E20", SimulatorMetrics.format(1.0E20));
+        assertEquals("a\\\\b\\\"c\\nd", SimulatorMetrics.escape("a\\b\"c\nd"));
+    }
+
+    /**
+     * Parse the sample lines of the text exposition format into a map from the metric name and the labels other than the
+     * simulator label, to the value.
+     * @param text the text exposition format
+     * @return the values of the samples
+     */
+    private static Map<String, String> parse(final String text)
+    {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String line : text.split("\n"))
+        {
+            if (!line.startsWith("#"))
+            {
+                String name = line.substring(0, line.indexOf('{'));
+                String labels = line.substring(line.indexOf('{') + 1, line.lastIndexOf('}'));
+                int comma = labels.indexOf(",key=");
+                String key = comma < 0 ? name : name + labels.substring(comma);
+                values.put(key, line.substring(line.lastIndexOf(' ') + 1));
+            }
+        }
+        return values;
+    }
+
+    /** Model with an arrival every 2 time units that increases a counter and a level. */
+    static class MetricsModel extends AbstractDsolModel<Double, DevsSimulatorInterface<Double>>
+    {
+        /** the number of arrivals. */
+        private SimCounter<Double> counter;
+
+        /** the level. */
+        private SimPersistent<Double> persistent;
+
+        /**
+         * @param simulator the simulator
+         */
+        MetricsModel(final DevsSimulatorInterface<Double> simulator)
+        {
+            super(simulator);
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            this.counter = new SimCounter<Double>("arrivals", "number of arrivals", this);
+            this.counter.initialize();
+            this.persistent = new SimPersistent<Double>("level", "level", this);
+            this.persistent.initialize();
+            for (int i = 1; i <= 50; i++)
+            {
+                final int level = i;
+                getSimulator().scheduleEventAbs(2.0 * i - 1.0, () ->
+                {
+                    this.counter.register(1L);
+                    this.persistent.register(getSimulator().getSimulatorTime(), level);
+                });
+            }
+        }
+    }
+
+}
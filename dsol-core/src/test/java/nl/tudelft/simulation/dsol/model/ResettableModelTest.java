@@ -0,0 +1,183 @@
+package nl.tudelft.simulation.dsol.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djutils.event.EventListener;
+import org.djutils.stats.summarizers.Tally;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.Sleep;
+import nl.tudelft.simulation.dsol.experiment.Experiment;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+import nl.tudelft.simulation.dsol.statistics.SimTally;
+
+/**
+ * ResettableModelTest tests that a ResettableModel is constructed once and reset for the next replications.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class ResettableModelTest
+{
+    /**
+     * Test an experiment with a ResettableModel.
+     */
+    @Test
+    public void testResettableModel()
+    {
+        DevsSimulatorInterface<Double> simulator = new DevsSimulator<Double>("sim");
+        CountingModel model = new CountingModel(simulator);
+        Experiment<Double, DevsSimulatorInterface<Double>> experiment =
+                new Experiment<>("exp", simulator, model, 0.0, 0.0, 20.0, 5);
+        experiment.start();
+        int count = 0;
+        while (experiment.isRunning() && count < 20000)
+        {
+            count++;
+            Sleep.sleep(1);
+        }
+        assertTrue(count < 20000);
+        assertEquals(1, model.constructions);
+        assertEquals(4, model.resets);
+        assertEquals(1, model.getOutputStatistics().size());
+
+        // the listener of the model is registered again after the simulator removed it at the initialization
+        assertEquals(5, model.warmups);
+
+        // every replication has exactly 10 observations, so the statistics were cleared between replications
+        Tally n = experiment.getSummaryStatistics().get("value").get("N");
+        assertEquals(5, n.getN());
+        assertEquals(10.0, n.getMin(), 1E-9);
+        assertEquals(10.0, n.getMax(), 1E-9);
+        Tally mean = experiment.getSummaryStatistics().get("value").get("SampleMean");
+        assertEquals(5.5, mean.getMin(), 1E-9);
+        assertEquals(5.5, mean.getMax(), 1E-9);
+    }
+
+    /**
+     * Test that an event that is scheduled again in the next replication gets a new id, so it does not clash with a new event
+     * at the same time and with the same priority. A ResettableModel should create new events, but the simulator should not
+     * break when it does not.
+     */
+    @Test
+    public void testRescheduleEvent()
+    {
+        DevsSimulatorInterface<Double> simulator = new DevsSimulator<Double>("sim");
+        ReschedulingModel model = new ReschedulingModel(simulator);
+        Experiment<Double, DevsSimulatorInterface<Double>> experiment =
+                new Experiment<>("exp", simulator, model, 0.0, 0.0, 20.0, 2);
+        experiment.start();
+        int count = 0;
+        while (experiment.isRunning() && count < 20000)
+        {
+            count++;
+            Sleep.sleep(1);
+        }
+        assertTrue(count < 20000);
+        assertEquals(List.of("stored", "new", "stored", "new"), model.executed);
+    }
+
+    /** Model that schedules the same stored event and a new event at the same time in every replication. */
+    static class ReschedulingModel extends AbstractDsolModel<Double, DevsSimulatorInterface<Double>>
+            implements ResettableModel<Double, DevsSimulatorInterface<Double>>
+    {
+        /** the executed events. */
+        private final List<String> executed = new ArrayList<>();
+
+        /** the event that is scheduled again in every replication. */
+        private final SimEventInterface<Double> stored = new LambdaSimEvent<Double>(5.0, () -> this.executed.add("stored"));
+
+        /**
+         * @param simulator the simulator
+         */
+        ReschedulingModel(final DevsSimulatorInterface<Double> simulator)
+        {
+            super(simulator);
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            resetModel();
+        }
+
+        @Override
+        public void resetModel() throws SimRuntimeException
+        {
+            getSimulator().scheduleEvent(this.stored);
+            getSimulator().scheduleEventAbs(5.0, () -> this.executed.add("new"));
+        }
+    }
+
+    /** Model that registers the values 1 to 10, and counts the number of constructions and resets. */
+    static class CountingModel extends AbstractDsolModel<Double, DevsSimulatorInterface<Double>>
+            implements ResettableModel<Double, DevsSimulatorInterface<Double>>
+    {
+        /** the tally for the values. */
+        private SimTally<Double> value;
+
+        /** the number of calls to constructModel(). */
+        private int constructions = 0;
+
+        /** the number of calls to resetModel(). */
+        private int resets = 0;
+
+        /** the number of warmup events that the model received. */
+        private int warmups = 0;
+
+        /** the listener of the model for the warmup events of the simulator. */
+        private final EventListener warmupListener = (event) -> this.warmups++;
+
+        /**
+         * @param simulator the simulator
+         */
+        CountingModel(final DevsSimulatorInterface<Double> simulator)
+        {
+            super(simulator);
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            this.constructions++;
+            this.value = new SimTally<Double>("value", "value", this);
+            getSimulator().addListener(this.warmupListener, Replication.WARMUP_EVENT);
+            scheduleEvents();
+        }
+
+        @Override
+        public void resetModel() throws SimRuntimeException
+        {
+            this.resets++;
+            assertEquals(0, this.value.getN());
+            getSimulator().addListener(this.warmupListener, Replication.WARMUP_EVENT);
+            scheduleEvents();
+        }
+
+        /**
+         * Schedule the registration of the values 1 to 10.
+         * @throws SimRuntimeException on scheduling error
+         */
+        private void scheduleEvents() throws SimRuntimeException
+        {
+            for (int i = 1; i <= 10; i++)
+            {
+                double v = i;
+                getSimulator().scheduleEventAbs(v, () -> this.value.register(v));
+            }
+        }
+    }
+}
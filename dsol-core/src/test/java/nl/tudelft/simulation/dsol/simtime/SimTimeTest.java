@@ -2,6 +2,7 @@ package nl.tudelft.simulation.dsol.simtime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import org.djunits.unit.DurationUnit;
 import org.djunits.value.vdouble.scalar.Duration;
 import org.djunits.value.vfloat.scalar.FloatDuration;
 import org.junit.jupiter.api.Test;
@@ -85,4 +86,19 @@ public class SimTimeTest
         assertEquals(FloatDuration.ofSI(0.0f), SimTime.zero(FloatDuration.ofSI(5.0f)));
     }
 
+    /**
+     * test instantiateSI.
+     */
+    @Test
+    public void testInstantiateSI()
+    {
+        assertEquals(Double.valueOf(7.5), SimTime.instantiateSI(Double.valueOf(5.0), 7.5));
+        assertEquals(Float.valueOf(7.5f), SimTime.instantiateSI(Float.valueOf(5.0f), 7.5));
+        assertEquals(Long.valueOf(8L), SimTime.instantiateSI(Long.valueOf(5L), 7.5));
+        Duration d = SimTime.instantiateSI(new Duration(5.0, DurationUnit.MINUTE), 90.0);
+        assertEquals(90.0, d.si, 0.0);
+        assertEquals(DurationUnit.SI, d.getDisplayUnit());
+        assertEquals(FloatDuration.ofSI(90.0f), SimTime.instantiateSI(FloatDuration.ofSI(5.0f), 90.0));
+    }
+
 }
@@ -0,0 +1,207 @@
+package nl.tudelft.simulation.dsol.simulators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djunits.unit.DurationUnit;
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.eventlists.EventListHeapSI;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * DevsSimulatorSITest tests that the DevsSimulatorSI executes the same events at the same times as the DevsSimulator, with
+ * simultaneous events, priorities, cancelled events and events scheduled now.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class DevsSimulatorSITest
+{
+    /**
+     * Test that the DevsSimulator and the DevsSimulatorSI execute the same events in the same order, for two replications on
+     * the same simulator.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testSameExecution() throws InterruptedException
+    {
+        DevsSimulator<Duration> devs = new DevsSimulator<Duration>("devs");
+        DevsSimulatorSI<Duration> devsSI = new DevsSimulatorSI<Duration>("devsSI");
+        assertTrue(devsSI.getEventList() instanceof EventListHeapSI);
+        for (long seed = 1; seed <= 2; seed++)
+        {
+            List<String> expected = run(devs, seed);
+            List<String> actual = run(devsSI, seed);
+            assertTrue(expected.size() > 500);
+            assertEquals(expected, actual);
+            assertEquals(120.0, devsSI.getSimulatorTimeSI(), 1E-9);
+            assertEquals(devs.getSimulatorTime().si, devsSI.getSimulatorTime().si, 1E-9);
+            assertEquals(devs.getNumberOfExecutedEvents(), devsSI.getNumberOfExecutedEvents());
+        }
+    }
+
+    /**
+     * Test the clock of the DevsSimulatorSI, and the scheduling in the past.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testClock() throws InterruptedException
+    {
+        DevsSimulatorSI<Duration> devsSI = new DevsSimulatorSI<Duration>("devsSI");
+        List<Double> times = new ArrayList<>();
+        AbstractDsolModel<Duration, DevsSimulatorInterface<Duration>> model =
+                new AbstractDsolModel<Duration, DevsSimulatorInterface<Duration>>(devsSI)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        getSimulator().scheduleEventRel(new Duration(1.0, DurationUnit.MINUTE), () ->
+                        {
+                            times.add(devsSI.getSimulatorTimeSI());
+                            times.add(getSimulator().getSimulatorTime().si);
+                            getSimulator().scheduleEventRelSI(30.0, () -> times.add(devsSI.getSimulatorTimeSI()));
+                            getSimulator().scheduleEventAbsSI(100.0, () -> times.add(devsSI.getSimulatorTimeSI()));
+                            UnitTest.testFail(() -> getSimulator().scheduleEventAbsSI(59.0, () -> times.add(-1.0)),
+                                    SimRuntimeException.class);
+                            UnitTest.testFail(() -> getSimulator().scheduleEventAbs(Duration.ofSI(59.0), () -> times.add(-1.0)),
+                                    SimRuntimeException.class);
+                        });
+                    }
+                };
+        devsSI.initialize(model, new SingleReplication<Duration>("rep", Duration.ofSI(10.0), Duration.ZERO,
+                new Duration(2.0, DurationUnit.MINUTE)));
+        assertEquals(10.0, devsSI.getSimulatorTimeSI(), 0.0);
+        assertEquals(10.0, devsSI.getSimulatorTime().si, 0.0);
+        devsSI.runUpTo(Duration.ofSI(90.0));
+        for (int i = 0; i < 100 && devsSI.isStartingOrRunning(); i++)
+        {
+            Thread.sleep(10);
+        }
+        assertEquals(90.0, devsSI.getSimulatorTimeSI(), 0.0);
+        assertEquals(90.0, devsSI.getSimulatorTime().si, 0.0);
+        assertEquals(List.of(70.0, 70.0), times);
+        CountDownLatch ended = new CountDownLatch(1);
+        devsSI.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        devsSI.start();
+        assertTrue(ended.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(70.0, 70.0, 100.0, 100.0), times);
+        assertEquals(130.0, devsSI.getSimulatorTimeSI(), 0.0);
+    }
+
+    /**
+     * Test that the clock in SI units follows the clock when the replication is ended before its end time.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testEndReplication() throws InterruptedException
+    {
+        DevsSimulatorSI<Duration> devsSI = new DevsSimulatorSI<Duration>("devsSI");
+        AbstractDsolModel<Duration, DevsSimulatorInterface<Duration>> model =
+                new AbstractDsolModel<Duration, DevsSimulatorInterface<Duration>>(devsSI)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        getSimulator().scheduleEventAbsSI(30.0, () -> getSimulator().endReplication());
+                    }
+                };
+        devsSI.initialize(model,
+                new SingleReplication<Duration>("rep", Duration.ZERO, Duration.ZERO, new Duration(2.0, DurationUnit.MINUTE)));
+        CountDownLatch ended = new CountDownLatch(1);
+        devsSI.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        devsSI.start();
+        assertTrue(ended.await(10, TimeUnit.SECONDS));
+        assertEquals(120.0, devsSI.getSimulatorTime().si, 0.0);
+        assertEquals(120.0, devsSI.getSimulatorTimeSI(), 0.0);
+    }
+
+    /**
+     * Run a replication of 2 minutes with 20 entities that reschedule themselves after a delay in minutes that is a multiple
+     * of 0.5 seconds and a random priority, and that cancel and schedule events now.
+     * @param simulator the simulator
+     * @param seed the seed of the stream
+     * @return the executed events as strings with the entity, the time in SI units and the priority
+     * @throws InterruptedException when interrupted
+     */
+    private static List<String> run(final DevsSimulator<Duration> simulator, final long seed) throws InterruptedException
+    {
+        List<String> executed = new ArrayList<>();
+        StreamInterface stream = new MersenneTwister(seed);
+        AbstractDsolModel<Duration, DevsSimulatorInterface<Duration>> model =
+                new AbstractDsolModel<Duration, DevsSimulatorInterface<Duration>>(simulator)
+                {
+                    /** the last scheduled event per entity. */
+                    private List<SimEventInterface<Duration>> pending = new ArrayList<>();
+
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        this.pending.clear();
+                        for (int i = 0; i < 20; i++)
+                        {
+                            this.pending.add(null);
+                            hold(i);
+                        }
+                    }
+
+                    /**
+                     * Execute an event for an entity and reschedule it.
+                     * @param entity the entity
+                     */
+                    private void execute(final int entity)
+                    {
+                        executed.add(entity + "@" + getSimulator().getSimulatorTime().si);
+                        int other = stream.nextInt(0, 19);
+                        if (other != entity && stream.nextDouble() < 0.1 && this.pending.get(other) != null)
+                        {
+                            // cancel the other entity and reschedule it now
+                            getSimulator().cancelEvent(this.pending.get(other));
+                            this.pending.set(other, getSimulator().scheduleEventNow(() -> execute(other)));
+                        }
+                        hold(entity);
+                    }
+
+                    /**
+                     * Reschedule an entity.
+                     * @param entity the entity
+                     */
+                    private void hold(final int entity)
+                    {
+                        Duration delay = new Duration(stream.nextInt(0, 20) / 120.0, DurationUnit.MINUTE);
+                        short priority = (short) stream.nextInt(SimEventInterface.MIN_PRIORITY, SimEventInterface.MAX_PRIORITY);
+                        this.pending.set(entity, getSimulator().scheduleEventRel(delay, priority, () ->
+                        {
+                            executed.add("p" + priority);
+                            execute(entity);
+                        }));
+                    }
+                };
+        simulator.initialize(model,
+                new SingleReplication<Duration>("rep", Duration.ZERO, Duration.ZERO, new Duration(2.0, DurationUnit.MINUTE)));
+        CountDownLatch ended = new CountDownLatch(1);
+        simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        simulator.start();
+        assertTrue(ended.await(10, TimeUnit.SECONDS));
+        return executed;
+    }
+
+}
@@ -1,13 +1,32 @@
 package nl.tudelft.simulation.dsol.simulators;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.djunits.unit.DurationUnit;
+import org.djunits.value.vdouble.scalar.Duration;
 import org.djutils.event.Event;
 import org.djutils.event.EventListener;
+import org.djutils.event.reference.ReferenceType;
 import org.junit.jupiter.api.Test;
 
 import net.jodah.concurrentunit.Waiter;
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.jstats.distributions.DistExponential;
+import nl.tudelft.simulation.jstats.distributions.unit.DistContinuousDuration;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
 
 /**
  * The DevsSimulatorTest test the DEVS Simulator.
@@ -44,6 +63,59 @@ public class DevsSimulatorTest implements EventListener
         // this.waiter.await(5000);
     }
 
+    /**
+     * Test the scheduling with primitive SI delays and times on a simulator with a Duration time, where the delays are drawn
+     * with drawSI() from a distribution in minutes.
+     * @throws InterruptedException on error
+     */
+    @Test
+    public void testScheduleSI() throws InterruptedException
+    {
+        DevsSimulator<Duration> simulator = new DevsSimulator<Duration>("DevsSimulatorTest");
+        List<Duration> times = new ArrayList<>();
+        StreamInterface stream = new MersenneTwister(10L);
+        DistContinuousDuration dist = new DistContinuousDuration(new DistExponential(stream, 2.0), DurationUnit.MINUTE);
+        AbstractDsolModel<Duration, DevsSimulatorInterface<Duration>> model =
+                new AbstractDsolModel<Duration, DevsSimulatorInterface<Duration>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        getSimulator().scheduleEventAbsSI(60.0, () -> times.add(getSimulator().getSimulatorTime()));
+                        getSimulator().scheduleEventRelSI(dist.drawSI(), this::arrival);
+                    }
+
+                    /** arrival event that records the time and schedules the next arrival. */
+                    private void arrival()
+                    {
+                        times.add(getSimulator().getSimulatorTime());
+                        getSimulator().scheduleEventRelSI(dist.drawSI(), this::arrival);
+                    }
+                };
+        simulator.initialize(model,
+                new SingleReplication<Duration>("rep", Duration.ZERO, Duration.ZERO, new Duration(30.0, DurationUnit.MINUTE)));
+        CountDownLatch ended = new CountDownLatch(1);
+        simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        simulator.start();
+        assertTrue(ended.await(10, TimeUnit.SECONDS));
+
+        // the same times with the Duration API
+        stream.reset();
+        double t = 0.0;
+        List<Double> expected = new ArrayList<>();
+        while ((t += dist.draw().si) <= 1800.0)
+        {
+            expected.add(t);
+        }
+        expected.add(60.0);
+        Collections.sort(expected);
+        assertEquals(expected.size(), times.size());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            assertEquals(expected.get(i), times.get(i).si, 1E-9);
+        }
+    }
+
     @Override
     public void notify(final Event event)
     {
@@ -0,0 +1,121 @@
+package nl.tudelft.simulation.dsol.simulators;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djutils.event.reference.ReferenceType;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.Experiment;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+
+/**
+ * The LifecycleBenchmark measures the number of replications per second for a trivial model that executes one event per
+ * replication, so the time is dominated by the lifecycle of the simulator: initialize, start, and the end of the replication.
+ * The replications are executed by an Experiment, and by a loop that initializes and starts the simulator directly. The
+ * benchmark can be started with the number of replications as argument.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class LifecycleBenchmark
+{
+    /** Utility class. */
+    private LifecycleBenchmark()
+    {
+        // utility class
+    }
+
+    /**
+     * Run the benchmark.
+     * @param args optional: the number of replications
+     * @throws InterruptedException when interrupted
+     */
+    public static void main(final String[] args) throws InterruptedException
+    {
+        int replications = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        runExperiment(Math.min(100, replications));
+        runLoop(Math.min(100, replications));
+        System.out.println(String.format("experiment: %10.1f replications/s", runExperiment(replications)));
+        System.out.println(String.format("loop:       %10.1f replications/s", runLoop(replications)));
+    }
+
+    /**
+     * Execute the replications with an Experiment.
+     * @param replications the number of replications
+     * @return the number of replications per second
+     * @throws InterruptedException when interrupted
+     */
+    public static double runExperiment(final int replications) throws InterruptedException
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("experiment");
+        TrivialModel model = new TrivialModel(simulator);
+        Experiment<Double, DevsSimulatorInterface<Double>> experiment =
+                new Experiment<>("exp", simulator, model, 0.0, 0.0, 10.0, replications);
+        CountDownLatch done = new CountDownLatch(1);
+        experiment.addListener((event) -> done.countDown(), Experiment.END_EXPERIMENT_EVENT, ReferenceType.STRONG);
+        long t0 = System.nanoTime();
+        experiment.start();
+        done.await(10, TimeUnit.MINUTES);
+        return replications * 1.0E9 / (System.nanoTime() - t0);
+    }
+
+    /**
+     * Execute the replications with a loop that initializes and starts the simulator.
+     * @param replications the number of replications
+     * @return the number of replications per second
+     * @throws InterruptedException when interrupted
+     */
+    public static double runLoop(final int replications) throws InterruptedException
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("loop");
+        TrivialModel model = new TrivialModel(simulator);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < replications; i++)
+        {
+            simulator.initialize(model, new SingleReplication<Double>("rep" + i, 0.0, 0.0, 10.0));
+            CountDownLatch ended = new CountDownLatch(1);
+            simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+            simulator.start();
+            ended.await(1, TimeUnit.MINUTES);
+        }
+        return replications * 1.0E9 / (System.nanoTime() - t0);
+    }
+
+    /** Model with one event per replication. */
+    static class TrivialModel extends AbstractDsolModel<Double, DevsSimulatorInterface<Double>>
+    {
+        /** the number of executed events. */
+        private int events = 0;
+
+        /**
+         * @param simulator the simulator
+         */
+        TrivialModel(final DevsSimulatorInterface<Double> simulator)
+        {
+            super(simulator);
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            getSimulator().scheduleEventAbs(1.0, () -> this.events++);
+        }
+
+        /**
+         * Return the number of executed events.
+         * @return the number of executed events
+         */
+        public int getEvents()
+        {
+            return this.events;
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+package nl.tudelft.simulation.dsol.simulators;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djunits.unit.DurationUnit;
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.event.reference.ReferenceType;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * The SimTimeKernelBenchmark measures the time per event of the DevsSimulator and the DevsSimulatorSI for Double and Duration
+ * time. The model keeps 1000 entities in the event list, and every event reschedules its entity after an exponentially
+ * distributed delay with mean 1, so the time is dominated by the scheduling, the event list and the run loop. The Duration
+ * delays are created in minutes, so DevsSimulator has to convert units when it adds the delay to the clock. The benchmark can
+ * be started with the number of events as first argument, and the name of one kernel as second argument, to measure the
+ * kernels in separate JVMs: double, duration, doubleSI, durationSI or durationDrawSI.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class SimTimeKernelBenchmark
+{
+    /** the kernels. */
+    private static final String[] KERNELS = {"double", "duration", "doubleSI", "durationSI", "durationDrawSI"};
+
+    /** the number of entities in the event list. */
+    private static final int ENTITIES = 1000;
+
+    /** Utility class. */
+    private SimTimeKernelBenchmark()
+    {
+        // utility class
+    }
+
+    /**
+     * Run the benchmark.
+     * @param args optional: the number of events, and the name of the kernel to measure
+     * @throws InterruptedException when interrupted
+     */
+    public static void main(final String[] args) throws InterruptedException
+    {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        String[] kernels = args.length > 1 ? new String[] {args[1]} : KERNELS;
+        for (String kernel : kernels)
+        {
+            run(kernel, events / 10);
+            System.out.println(String.format("%-15s %10.1f ns/event", kernel, run(kernel, events)));
+        }
+    }
+
+    /**
+     * Run a replication of the model for a kernel.
+     * @param kernel the name of the kernel
+     * @param events the approximate number of events
+     * @return the time per event in nanoseconds
+     * @throws InterruptedException when interrupted
+     */
+    public static double run(final String kernel, final int events) throws InterruptedException
+    {
+        double runLength = (double) events / ENTITIES;
+        switch (kernel)
+        {
+            case "double":
+                return time(new DevsSimulator<Double>(kernel), 0.0, runLength, false);
+            case "doubleSI":
+                return time(new DevsSimulatorSI<Double>(kernel), 0.0, runLength, false);
+            case "duration":
+                return time(new DevsSimulator<Duration>(kernel), Duration.ZERO, Duration.ofSI(runLength), false);
+            case "durationSI":
+                return time(new DevsSimulatorSI<Duration>(kernel), Duration.ZERO, Duration.ofSI(runLength), false);
+            case "durationDrawSI":
+                return time(new DevsSimulatorSI<Duration>(kernel), Duration.ZERO, Duration.ofSI(runLength), true);
+            default:
+                throw new IllegalArgumentException("unknown kernel " + kernel);
+        }
+    }
+
+    /**
+     * Run a replication of the model on a simulator.
+     * @param simulator the simulator
+     * @param zero the start time
+     * @param runLength the run length
+     * @param scheduleSI whether the delays are scheduled with scheduleEventRelSI
+     * @return the time per event in nanoseconds
+     * @param <T> the time type
+     * @throws InterruptedException when interrupted
+     */
+    private static <T extends Number & Comparable<T>> double time(final DevsSimulator<T> simulator, final T zero,
+            final T runLength, final boolean scheduleSI) throws InterruptedException
+    {
+        HoldModel<T> model = new HoldModel<T>(simulator, scheduleSI);
+        simulator.initialize(model, new SingleReplication<T>("rep", zero, zero, runLength));
+        CountDownLatch ended = new CountDownLatch(1);
+        simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        long t0 = System.nanoTime();
+        simulator.start();
+        ended.await(10, TimeUnit.MINUTES);
+        return (System.nanoTime() - t0) / (double) model.getEvents();
+    }
+
+    /**
+     * Model with a fixed number of entities that each reschedule themselves after an exponential delay.
+     * @param <T> the time type
+     */
+    static class HoldModel<T extends Number & Comparable<T>> extends AbstractDsolModel<T, DevsSimulatorInterface<T>>
+    {
+        /** the stream for the delays. */
+        private final StreamInterface stream = new MersenneTwister(10L);
+
+        /** whether the delays are scheduled with scheduleEventRelSI. */
+        private final boolean scheduleSI;
+
+        /** the number of executed events. */
+        private int events = 0;
+
+        /**
+         * @param simulator the simulator
+         * @param scheduleSI whether the delays are scheduled with scheduleEventRelSI
+         */
+        HoldModel(final DevsSimulatorInterface<T> simulator, final boolean scheduleSI)
+        {
+            super(simulator);
+            this.scheduleSI = scheduleSI;
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            for (int i = 0; i < ENTITIES; i++)
+            {
+                hold();
+            }
+        }
+
+        /** Reschedule the entity after an exponential delay. */
+        @SuppressWarnings("unchecked")
+        private void hold()
+        {
+            this.events++;
+            double delay = -Math.log(this.stream.nextDouble());
+            if (this.scheduleSI)
+            {
+                getSimulator().scheduleEventRelSI(delay, this::hold);
+            }
+            else if (getSimulator().getSimulatorTime() instanceof Duration)
+            {
+                getSimulator().scheduleEventRel((T) new Duration(delay / 60.0, DurationUnit.MINUTE), this::hold);
+            }
+            else
+            {
+                getSimulator().scheduleEventRel((T) Double.valueOf(delay), this::hold);
+            }
+        }
+
+        /**
+         * Return the number of executed events.
+         * @return the number of executed events
+         */
+        public int getEvents()
+        {
+            return this.events;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+package nl.tudelft.simulation.dsol.simulators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+
+/**
+ * StoppingConditionTest tests the evaluation of the stopping condition every number of events and every time interval, and
+ * the end of a replication with requestStop().
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class StoppingConditionTest
+{
+    /**
+     * Test the evaluation of the stopping condition after every event, every number of events, and every time interval.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testStoppingConditionInterval() throws InterruptedException
+    {
+        // default: the condition is evaluated after every event after the warmup time
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("sim");
+        assertEquals(0, simulator.getStoppingConditionEventInterval());
+        int[] evaluations = run(simulator, 0);
+        assertEquals(50.0, simulator.getSimulatorTime(), 1E-9);
+        assertEquals(45, evaluations[0]);
+
+        // every 10 events; the warmup event at time 5 also counts, so the evaluations are after the events at 9, 19, ...
+        simulator = new DevsSimulator<Double>("sim");
+        simulator.setStoppingConditionEventInterval(10);
+        evaluations = run(simulator, 0);
+        assertEquals(59.0, simulator.getSimulatorTime(), 1E-9);
+        assertEquals(6, evaluations[0]);
+
+        // every 7 events: the evaluations are after the events at 6, 13, ..., 55
+        simulator = new DevsSimulator<Double>("sim");
+        simulator.setStoppingConditionEventInterval(7);
+        evaluations = run(simulator, 0);
+        assertEquals(55.0, simulator.getSimulatorTime(), 1E-9);
+        assertEquals(8, evaluations[0]);
+
+        // only on a time interval of 15 after the warmup time of 5: the evaluations are at 20, 35 and 50
+        simulator = new DevsSimulator<Double>("sim");
+        simulator.setStoppingConditionTimeInterval(15.0);
+        evaluations = run(simulator, 0);
+        assertEquals(50.0, simulator.getSimulatorTime(), 1E-9);
+        assertEquals(3, evaluations[0]);
+
+        // an event interval of 0 is the same as no event interval
+        simulator = new DevsSimulator<Double>("sim");
+        simulator.setStoppingConditionEventInterval(0);
+        simulator.setStoppingConditionTimeInterval(15.0);
+        evaluations = run(simulator, 0);
+        assertEquals(50.0, simulator.getSimulatorTime(), 1E-9);
+        assertEquals(3, evaluations[0]);
+
+        // a time interval of 20 with an event interval of 25: the evaluations are after the events at 24, 25, 45, 49 and 65
+        simulator = new DevsSimulator<Double>("sim");
+        simulator.setStoppingConditionEventInterval(25);
+        simulator.setStoppingConditionTimeInterval(20.0);
+        evaluations = run(simulator, 0);
+        assertEquals(65.0, simulator.getSimulatorTime(), 1E-9);
+        assertEquals(5, evaluations[0]);
+
+        UnitTest.testFail(() -> new DevsSimulator<Double>("sim").setStoppingConditionEventInterval(-1),
+                IllegalArgumentException.class);
+        UnitTest.testFail(() -> new DevsSimulator<Double>("sim").setStoppingConditionTimeInterval(0.0),
+                IllegalArgumentException.class);
+    }
+
+    /**
+     * Test that requestStop() from an event ends the replication after that event, at the time of the event.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testRequestStop() throws InterruptedException
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("sim");
+        int[] evaluations = run(simulator, 37);
+        assertEquals(37.0, simulator.getSimulatorTime(), 1E-9);
+        assertEquals(ReplicationState.ENDED, simulator.getReplicationState());
+        // the stopping condition has been evaluated after the events 6 to 36; the request takes precedence after event 37
+        assertEquals(31, evaluations[0]);
+
+        // a new replication discards an old request
+        simulator.requestStop();
+        evaluations = run(simulator, 0);
+        assertEquals(50.0, simulator.getSimulatorTime(), 1E-9);
+    }
+
+    /**
+     * Test that the events that are executed with step() are counted.
+     */
+    @Test
+    public void testStepCount()
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("sim");
+        AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        for (int i = 1; i < 10; i++)
+                        {
+                            getSimulator().scheduleEventAbs(1.0 * i, () -> getSimulator().getSimulatorTime());
+                        }
+                    }
+                };
+        simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 5.0, 100.0));
+        for (int i = 1; i <= 3; i++)
+        {
+            simulator.step();
+            assertEquals(i, simulator.getNumberOfExecutedEvents());
+            assertEquals(1.0 * i, simulator.getSimulatorTime(), 1E-9);
+        }
+        simulator.cleanUp();
+    }
+
+    /**
+     * Run a replication with an event at every time unit till time 99, and a stopping condition that is true from time 50,
+     * with a warmup time of 5.
+     * @param simulator the simulator
+     * @param stopEvent the event number that calls requestStop(), or 0 for none
+     * @return an array with the number of evaluations of the stopping condition
+     * @throws InterruptedException when interrupted
+     */
+    private static int[] run(final DevsSimulator<Double> simulator, final int stopEvent) throws InterruptedException
+    {
+        int[] evaluations = new int[1];
+        AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        for (int i = 1; i < 100; i++)
+                        {
+                            final int nr = i;
+                            getSimulator().scheduleEventAbs(1.0 * i, () ->
+                            {
+                                if (nr == stopEvent)
+                                {
+                                    getSimulator().requestStop();
+                                }
+                            });
+                        }
+                    }
+                };
+        SingleReplication<Double> replication = new SingleReplication<Double>("rep", 0.0, 5.0, 100.0);
+        replication.setStoppingCondition((m) ->
+        {
+            evaluations[0]++;
+            return m.getSimulator().getSimulatorTime() >= 50.0;
+        });
+        simulator.initialize(model, replication);
+        CountDownLatch ended = new CountDownLatch(1);
+        simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        simulator.start();
+        assertTrue(ended.await(10, TimeUnit.SECONDS));
+        return evaluations;
+    }
+
+}
@@ -0,0 +1,95 @@
+package nl.tudelft.simulation.dsol.simulators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djutils.event.reference.ReferenceType;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.Sleep;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+
+/**
+ * WorkerThreadTest tests that the worker thread of a simulator is reused across replications, and ends when it is not reused.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class WorkerThreadTest
+{
+    /**
+     * Test that consecutive replications, and a pause and restart within a replication, use the same worker thread, and that
+     * the worker ends after the keep-alive time.
+     * @throws InterruptedException when interrupted
+     */
+    @Test
+    public void testWorkerReuse() throws InterruptedException
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("worker");
+        Set<Thread> threads = new LinkedHashSet<>();
+        int[] events = new int[1];
+        AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        for (double t = 1.0; t < 10.0; t += 1.0)
+                        {
+                            getSimulator().scheduleEventAbs(t, () ->
+                            {
+                                threads.add(Thread.currentThread());
+                                events[0]++;
+                            });
+                        }
+                    }
+                };
+        for (int r = 0; r < 5; r++)
+        {
+            simulator.initialize(model, new SingleReplication<Double>("rep" + r, 0.0, 0.0, 10.0));
+            CountDownLatch ended = new CountDownLatch(1);
+            simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+            simulator.runUpTo(5.0);
+            int count = 0;
+            while (simulator.isStartingOrRunning() && count < 1000)
+            {
+                Sleep.sleep(1);
+                count++;
+            }
+            assertEquals(5.0, simulator.getSimulatorTime(), 1E-9);
+            simulator.start();
+            assertTrue(ended.await(10, TimeUnit.SECONDS));
+            assertEquals(ReplicationState.ENDED, simulator.getReplicationState());
+        }
+        assertEquals(45, events[0]);
+        assertEquals(1, threads.size());
+
+        // the worker is not reserved by a new replication, so it ends after the keep-alive time
+        Thread worker = threads.iterator().next();
+        worker.join(Simulator.SimulatorWorkerThread.KEEP_ALIVE_MS + 5000L);
+        assertFalse(worker.isAlive());
+
+        // a new initialize creates a new worker
+        simulator.initialize(model, new SingleReplication<Double>("next", 0.0, 0.0, 10.0));
+        CountDownLatch ended = new CountDownLatch(1);
+        simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        simulator.start();
+        assertTrue(ended.await(10, TimeUnit.SECONDS));
+        assertEquals(2, threads.size());
+        simulator.cleanUp();
+    }
+
+}
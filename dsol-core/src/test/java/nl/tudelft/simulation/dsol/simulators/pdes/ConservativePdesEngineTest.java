@@ -0,0 +1,174 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.eventlists.EventListPriorityQueue;
+
+/**
+ * ConservativePdesEngineTest tests the conservative parallel execution against the sequential DevsSimulator.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class ConservativePdesEngineTest
+{
+    /**
+     * Test that both synchronization methods give exactly the same results per partition as the sequential DevsSimulator.
+     * @throws SimRuntimeException on simulation error
+     */
+    @Test
+    public void testPartitionedNetwork() throws SimRuntimeException
+    {
+        PartitionedNetworkBenchmark.Parameters parameters = new PartitionedNetworkBenchmark.Parameters();
+        parameters.partitions = 4;
+        parameters.jobs = 10;
+        parameters.grain = 0;
+        parameters.remoteProbability = 0.3;
+        parameters.endTime = 200.0;
+        PartitionedNetworkBenchmark.Network sequential = PartitionedNetworkBenchmark.runSequential(parameters);
+        assertTrue(sequential.getNumberOfEvents() > 1000);
+        for (ConservativeSynchronization synchronization : ConservativeSynchronization.values())
+        {
+            PartitionedNetworkBenchmark.Network parallel = PartitionedNetworkBenchmark.runParallel(parameters, synchronization);
+            for (int p = 0; p < parameters.partitions; p++)
+            {
+                assertEquals(sequential.getVisits(p), parallel.getVisits(p), synchronization + " partition " + p);
+                assertEquals(sequential.getChecksum(p), parallel.getChecksum(p), 1E-6, synchronization + " partition " + p);
+            }
+        }
+    }
+
+    /**
+     * Test the order of events and messages in a ring of logical processes, and the end time.
+     * @throws SimRuntimeException on simulation error
+     */
+    @Test
+    public void testRing() throws SimRuntimeException
+    {
+        for (ConservativeSynchronization synchronization : ConservativeSynchronization.values())
+        {
+            ConservativePdesEngine<Double> engine = new ConservativePdesEngine<>("ring", 0.0, synchronization);
+            List<LogicalProcess<Double>> lps = new ArrayList<>();
+            List<Link<Double>> links = new ArrayList<>();
+            for (int i = 0; i < 3; i++)
+            {
+                lps.add(engine.addLogicalProcess("lp" + i));
+            }
+            for (int i = 0; i < 3; i++)
+            {
+                links.add(engine.connect(lps.get(i), lps.get((i + 1) % 3), 0.5));
+            }
+            List<List<Double>> times = new ArrayList<>();
+            for (int i = 0; i < 3; i++)
+            {
+                times.add(new ArrayList<>());
+            }
+            // every logical process starts a token that travels around the ring with a delay of 1.0 per hop
+            for (int i = 0; i < 3; i++)
+            {
+                int index = i;
+                lps.get(i).scheduleEventAbs(0.0, () -> forward(lps, links, times, index));
+            }
+            engine.run(10.0);
+            for (int i = 0; i < 3; i++)
+            {
+                // the start at 0 and hops at 1..10 inclusive
+                assertEquals(11, times.get(i).size(), synchronization.toString());
+                for (int k = 0; k < times.get(i).size(); k++)
+                {
+                    assertEquals(k, times.get(i).get(k), 1E-9);
+                }
+                assertEquals(10.0, lps.get(i).getSimulatorTime(), 1E-9);
+                assertTrue(lps.get(i).getNumberOfMessages() >= 10);
+            }
+            assertEquals(33, engine.getNumberOfEvents());
+            if (synchronization.equals(ConservativeSynchronization.TIME_WINDOW))
+            {
+                assertTrue(engine.getNumberOfWindows() > 0);
+            }
+            UnitTest.testFail(() -> engine.run(20.0), SimRuntimeException.class);
+            UnitTest.testFail(() -> engine.addLogicalProcess("late"), IllegalStateException.class);
+        }
+    }
+
+    /**
+     * Record the visit of the token and forward it to the next logical process in the ring.
+     * @param lps the logical processes
+     * @param links the links
+     * @param times the visit times per logical process
+     * @param index the index of the logical process
+     * @throws SimRuntimeException on scheduling error
+     */
+    private static void forward(final List<LogicalProcess<Double>> lps, final List<Link<Double>> links,
+            final List<List<Double>> times, final int index) throws SimRuntimeException
+    {
+        times.get(index).add(lps.get(index).getSimulatorTime());
+        int next = (index + 1) % 3;
+        links.get(index).send(1.0, () -> forward(lps, links, times, next));
+    }
+
+    /**
+     * Test that simultaneous events with the same priority keep their order when the event list is replaced, and that a
+     * message is ordered by the id that the source assigned when it was sent, independent of the time of arrival.
+     * @throws SimRuntimeException on simulation error
+     */
+    @Test
+    public void testEventListSwap() throws SimRuntimeException
+    {
+        for (ConservativeSynchronization synchronization : ConservativeSynchronization.values())
+        {
+            ConservativePdesEngine<Double> engine = new ConservativePdesEngine<>("swap", 0.0, synchronization);
+            LogicalProcess<Double> a = engine.addLogicalProcess("a");
+            LogicalProcess<Double> b = engine.addLogicalProcess("b");
+            Link<Double> ba = engine.connect(b, a, 1.0);
+            List<String> order = new ArrayList<>();
+            a.scheduleEventAbs(5.0, () -> order.add("a1"));
+            a.scheduleEventAbs(5.0, () -> order.add("a2"));
+            a.setEventList(new EventListPriorityQueue<>());
+            a.scheduleEventAbs(5.0, () -> order.add("a3"));
+            assertEquals(3, a.getEventList().size());
+            // the message gets the second id of b, so it is ordered between the second and the third event of a
+            b.scheduleEventAbs(4.0, () -> ba.send(1.0, () -> order.add("b")));
+            engine.run(10.0);
+            assertEquals(List.of("a1", "a2", "b", "a3"), order, synchronization.toString());
+        }
+    }
+
+    /**
+     * Test the errors for links and for the lookahead.
+     */
+    @Test
+    public void testErrors()
+    {
+        ConservativePdesEngine<Double> engine =
+                new ConservativePdesEngine<>("errors", 0.0, ConservativeSynchronization.NULL_MESSAGES);
+        LogicalProcess<Double> a = engine.addLogicalProcess("a");
+        LogicalProcess<Double> b = engine.addLogicalProcess("b");
+        ConservativePdesEngine<Double> other =
+                new ConservativePdesEngine<>("other", 0.0, ConservativeSynchronization.NULL_MESSAGES);
+        LogicalProcess<Double> c = other.addLogicalProcess("c");
+        UnitTest.testFail(() -> engine.connect(a, b, 0.0), IllegalArgumentException.class);
+        UnitTest.testFail(() -> engine.connect(a, a, 1.0), IllegalArgumentException.class);
+        UnitTest.testFail(() -> engine.connect(a, c, 1.0), IllegalArgumentException.class);
+        Link<Double> ab = engine.connect(a, b, 1.0);
+        UnitTest.testFail(() -> a.scheduleEventAbs(-1.0, () -> {}), SimRuntimeException.class);
+
+        // a delay below the lookahead makes the run fail
+        a.scheduleEventAbs(1.0, () -> ab.send(0.5, () -> {}));
+        UnitTest.testFail(() -> engine.run(10.0), SimRuntimeException.class);
+        assertTrue(engine.isAborted());
+    }
+
+}
@@ -0,0 +1,357 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.Sleep;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * The PartitionedNetworkBenchmark compares the execution time of a partitioned network model on the sequential DevsSimulator
+ * with the execution time on the ConservativePdesEngine. Each partition has a number of jobs that move from node to node; after
+ * each visit, a job stays in the partition, or moves to a random other partition with a delay of at least the lookahead. Each
+ * visit does a fixed amount of computation. Each partition has its own random stream, so both executions give the same number
+ * of visits and the same checksum per partition. The benchmark can be started with the number of partitions as argument.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class PartitionedNetworkBenchmark
+{
+    /** Utility class. */
+    private PartitionedNetworkBenchmark()
+    {
+        // utility class
+    }
+
+    /**
+     * Run the model on the sequential DevsSimulator.
+     * @param parameters the parameters of the model
+     * @return the network with the results per partition
+     */
+    public static Network runSequential(final Parameters parameters)
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("sequential");
+        Network network = new Network(parameters)
+        {
+            @Override
+            double now(final int partition)
+            {
+                return simulator.getSimulatorTime();
+            }
+
+            @Override
+            void schedule(final int from, final int to, final double delay, final Executable executable)
+                    throws SimRuntimeException
+            {
+                simulator.scheduleEventRel(delay, executable);
+            }
+        };
+        AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        network.start();
+                    }
+                };
+        simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 0.0, parameters.endTime));
+        simulator.start();
+        while (simulator.isStartingOrRunning())
+        {
+            Sleep.sleep(1);
+        }
+        return network;
+    }
+
+    /**
+     * Run the model on the ConservativePdesEngine, with one logical process per partition.
+     * @param parameters the parameters of the model
+     * @param synchronization the synchronization method
+     * @return the network with the results per partition
+     * @throws SimRuntimeException on simulation error
+     */
+    public static Network runParallel(final Parameters parameters, final ConservativeSynchronization synchronization)
+            throws SimRuntimeException
+    {
+        ConservativePdesEngine<Double> engine = new ConservativePdesEngine<>("parallel", 0.0, synchronization);
+        int n = parameters.partitions;
+        @SuppressWarnings("unchecked")
+        LogicalProcess<Double>[] lps = new LogicalProcess[n];
+        @SuppressWarnings("unchecked")
+        Link<Double>[][] links = new Link[n][n];
+        for (int p = 0; p < n; p++)
+        {
+            lps[p] = engine.addLogicalProcess("partition-" + p);
+        }
+        for (int from = 0; from < n; from++)
+        {
+            for (int to = 0; to < n; to++)
+            {
+                if (from != to)
+                {
+                    links[from][to] = engine.connect(lps[from], lps[to], parameters.lookahead);
+                }
+            }
+        }
+        Network network = new Network(parameters)
+        {
+            @Override
+            double now(final int partition)
+            {
+                return lps[partition].getSimulatorTime();
+            }
+
+            @Override
+            void schedule(final int from, final int to, final double delay, final Executable executable)
+                    throws SimRuntimeException
+            {
+                if (from == to)
+                {
+                    lps[from].scheduleEventRel(delay, executable);
+                }
+                else
+                {
+                    links[from][to].send(delay, executable);
+                }
+            }
+        };
+        network.start();
+        engine.run(parameters.endTime);
+        network.engine = engine;
+        return network;
+    }
+
+    /**
+     * Execute the benchmark.
+     * @param args the number of partitions (optional)
+     * @throws SimRuntimeException on simulation error
+     */
+    public static void main(final String[] args) throws SimRuntimeException
+    {
+        Parameters parameters = new Parameters();
+        parameters.partitions = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        System.out.println("partitions: " + parameters.partitions + ", processors: "
+                + Runtime.getRuntime().availableProcessors());
+        // warm up the JIT compiler
+        Parameters warmup = new Parameters();
+        warmup.partitions = parameters.partitions;
+        warmup.endTime = 100.0;
+        runSequential(warmup);
+        runParallel(warmup, ConservativeSynchronization.NULL_MESSAGES);
+        runParallel(warmup, ConservativeSynchronization.TIME_WINDOW);
+
+        long t0 = System.nanoTime();
+        Network sequential = runSequential(parameters);
+        long sequentialNanos = System.nanoTime() - t0;
+        System.out.println(String.format("DevsSimulator          : %8.1f ms, %d events, checksum %.6f", sequentialNanos / 1.0E6,
+                sequential.getNumberOfEvents(), sequential.getChecksum()));
+        for (ConservativeSynchronization synchronization : ConservativeSynchronization.values())
+        {
+            t0 = System.nanoTime();
+            Network parallel = runParallel(parameters, synchronization);
+            long parallelNanos = System.nanoTime() - t0;
+            System.out.println(String.format(
+                    "%-23s: %8.1f ms, %d events, checksum %.6f, speedup %.2f, null messages %d, windows %d", synchronization,
+                    parallelNanos / 1.0E6, parallel.getNumberOfEvents(), parallel.getChecksum(),
+                    (double) sequentialNanos / parallelNanos, parallel.engine.getNumberOfNullMessages(),
+                    parallel.engine.getNumberOfWindows()));
+        }
+    }
+
+    /** The parameters of the partitioned network model. */
+    public static class Parameters
+    {
+        /** the number of partitions. */
+        int partitions = 4;
+
+        /** the number of jobs per partition. */
+        int jobs = 100;
+
+        /** the probability that a job moves to another partition after a visit. */
+        double remoteProbability = 0.1;
+
+        /** the lookahead, i.e., the minimum travel time between partitions. */
+        double lookahead = 1.0;
+
+        /** the mean of the exponential time between visits. */
+        double meanDelay = 1.0;
+
+        /** the number of iterations of the computation per visit. */
+        int grain = 2000;
+
+        /** the end time. */
+        double endTime = 1000.0;
+
+        /** the seed of the random stream of partition 0. */
+        long seed = 1234L;
+    }
+
+    /** The partitioned network model, independent of the simulator. */
+    public abstract static class Network
+    {
+        /** the parameters. */
+        private final Parameters parameters;
+
+        /** the random stream per partition. */
+        private final StreamInterface[] streams;
+
+        /** the number of visits per partition. */
+        private final long[] visits;
+
+        /** the sum of the visit times per partition. */
+        private final double[] checksums;
+
+        /** the result of the computations, to avoid that they are optimized away. */
+        private final double[] sinks;
+
+        /** the engine for a parallel run. */
+        private ConservativePdesEngine<Double> engine = null;
+
+        /**
+         * @param parameters the parameters
+         */
+        Network(final Parameters parameters)
+        {
+            this.parameters = parameters;
+            int n = parameters.partitions;
+            this.streams = new StreamInterface[n];
+            this.visits = new long[n];
+            this.checksums = new double[n];
+            this.sinks = new double[n];
+            for (int p = 0; p < n; p++)
+            {
+                this.streams[p] = new MersenneTwister(parameters.seed + p);
+            }
+        }
+
+        /**
+         * Return the clock of a partition.
+         * @param partition the partition
+         * @return the clock of the partition
+         */
+        abstract double now(int partition);
+
+        /**
+         * Schedule a visit in the same or another partition.
+         * @param from the current partition
+         * @param to the partition of the visit
+         * @param delay the delay
+         * @param executable the visit
+         * @throws SimRuntimeException on scheduling error
+         */
+        abstract void schedule(int from, int to, double delay, Executable executable) throws SimRuntimeException;
+
+        /**
+         * Schedule the first visit of all jobs.
+         * @throws SimRuntimeException on scheduling error
+         */
+        void start() throws SimRuntimeException
+        {
+            for (int p = 0; p < this.parameters.partitions; p++)
+            {
+                int partition = p;
+                for (int j = 0; j < this.parameters.jobs; j++)
+                {
+                    schedule(partition, partition, exponential(partition), () -> visit(partition));
+                }
+            }
+        }
+
+        /**
+         * Draw an exponential delay from the stream of a partition.
+         * @param partition the partition
+         * @return an exponential delay
+         */
+        private double exponential(final int partition)
+        {
+            return -this.parameters.meanDelay * Math.log(1.0 - this.streams[partition].nextDouble());
+        }
+
+        /**
+         * Visit a node in a partition, do the computation, and schedule the next visit of the job.
+         * @param partition the partition
+         * @throws SimRuntimeException on scheduling error
+         */
+        void visit(final int partition) throws SimRuntimeException
+        {
+            double time = now(partition);
+            this.visits[partition]++;
+            this.checksums[partition] += time;
+            double x = time;
+            for (int i = 0; i < this.parameters.grain; i++)
+            {
+                x = Math.sqrt(x + i);
+            }
+            this.sinks[partition] += x;
+            StreamInterface stream = this.streams[partition];
+            if (this.parameters.partitions > 1 && stream.nextDouble() < this.parameters.remoteProbability)
+            {
+                int target = (partition + 1 + stream.nextInt(0, this.parameters.partitions - 2)) % this.parameters.partitions;
+                schedule(partition, target, this.parameters.lookahead + exponential(partition), () -> visit(target));
+            }
+            else
+            {
+                schedule(partition, partition, exponential(partition), () -> visit(partition));
+            }
+        }
+
+        /**
+         * Return the number of visits of a partition.
+         * @param partition the partition
+         * @return the number of visits of the partition
+         */
+        public long getVisits(final int partition)
+        {
+            return this.visits[partition];
+        }
+
+        /**
+         * Return the sum of the visit times of a partition.
+         * @param partition the partition
+         * @return the sum of the visit times of the partition
+         */
+        public double getChecksum(final int partition)
+        {
+            return this.checksums[partition];
+        }
+
+        /**
+         * Return the total number of visits.
+         * @return the total number of visits
+         */
+        public long getNumberOfEvents()
+        {
+            long sum = 0L;
+            for (long v : this.visits)
+            {
+                sum += v;
+            }
+            return sum;
+        }
+
+        /**
+         * Return the sum of the visit times of all partitions.
+         * @return the sum of the visit times of all partitions
+         */
+        public double getChecksum()
+        {
+            double sum = 0.0;
+            for (double c : this.checksums)
+            {
+                sum += c;
+            }
+            return sum;
+        }
+    }
+
+}
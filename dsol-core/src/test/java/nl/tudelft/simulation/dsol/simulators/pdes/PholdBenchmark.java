@@ -0,0 +1,363 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.Sleep;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+
+/**
+ * The PholdBenchmark runs the PHOLD model on the TimeWarpEngine for an increasing number of logical processes, and reports the
+ * committed event rate, the fraction of rolled back events and the memory use. In PHOLD, every logical process starts with a
+ * number of events; every event schedules one new event after a small fixed lookahead plus an exponential delay, on a random
+ * other logical process with a given probability, or else on the same logical process. The state of a logical process is its
+ * random generator, its event count and a checksum, and is restored with undo() or by checkpointing. The sequential run on the
+ * DevsSimulator gives the same counts and checksums, which is used in the unit test.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class PholdBenchmark
+{
+    /** Utility class. */
+    private PholdBenchmark()
+    {
+        // utility class
+    }
+
+    /**
+     * Run PHOLD on the sequential DevsSimulator.
+     * @param parameters the parameters of the model
+     * @return the state per logical process
+     */
+    public static PholdState[] runSequential(final Parameters parameters)
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("phold");
+        PholdState[] states = createStates(parameters);
+        AbstractDsolModel<Double, DevsSimulatorInterface<Double>> model =
+                new AbstractDsolModel<Double, DevsSimulatorInterface<Double>>(simulator)
+                {
+                    @Override
+                    public void constructModel() throws SimRuntimeException
+                    {
+                        for (PholdState state : states)
+                        {
+                            for (int j = 0; j < parameters.population; j++)
+                            {
+                                simulator.scheduleEventRel(state.nextDelay(parameters), () -> sequentialEvent(state));
+                            }
+                        }
+                    }
+
+                    /**
+                     * Execute a PHOLD event.
+                     * @param state the state of the logical process
+                     * @throws SimRuntimeException on scheduling error
+                     */
+                    private void sequentialEvent(final PholdState state) throws SimRuntimeException
+                    {
+                        state.count(simulator.getSimulatorTime());
+                        state.committed++;
+                        PholdState target = states[state.nextTarget(parameters)];
+                        simulator.scheduleEventRel(state.nextDelay(parameters), () -> sequentialEvent(target));
+                    }
+                };
+        simulator.initialize(model, new SingleReplication<Double>("rep", 0.0, 0.0, parameters.endTime));
+        simulator.start();
+        while (simulator.isStartingOrRunning())
+        {
+            Sleep.sleep(1);
+        }
+        return states;
+    }
+
+    /**
+     * Run PHOLD on the TimeWarpEngine.
+     * @param parameters the parameters of the model
+     * @param states the state per logical process, see createStates()
+     * @param checkpoint whether to save the state by checkpointing instead of with undo()
+     * @return the engine after the run
+     * @throws SimRuntimeException on simulation error
+     */
+    public static TimeWarpEngine<Double> runTimeWarp(final Parameters parameters, final PholdState[] states,
+            final boolean checkpoint) throws SimRuntimeException
+    {
+        TimeWarpEngine<Double> engine = new TimeWarpEngine<>("phold", 0.0);
+        engine.setGvtInterval(parameters.gvtInterval);
+        engine.setOptimismWindow(parameters.optimismWindow);
+        @SuppressWarnings("unchecked")
+        TimeWarpProcess<Double>[] lps = new TimeWarpProcess[parameters.logicalProcesses];
+        for (int i = 0; i < lps.length; i++)
+        {
+            lps[i] = engine.addLogicalProcess("lp" + i);
+            if (checkpoint)
+            {
+                lps[i].addCheckpointable(states[i]);
+            }
+        }
+        for (int i = 0; i < lps.length; i++)
+        {
+            for (int j = 0; j < parameters.population; j++)
+            {
+                int index = i;
+                lps[i].scheduleEventRel(states[i].nextDelay(parameters),
+                        () -> timeWarpEvent(parameters, lps, states, index, checkpoint));
+            }
+        }
+        engine.run(parameters.endTime);
+        return engine;
+    }
+
+    /**
+     * Execute a PHOLD event on a logical process of the TimeWarpEngine.
+     * @param parameters the parameters
+     * @param lps the logical processes
+     * @param states the state per logical process
+     * @param index the index of the logical process
+     * @param checkpoint whether the state is saved by checkpointing
+     * @throws SimRuntimeException on scheduling error
+     */
+    private static void timeWarpEvent(final Parameters parameters, final TimeWarpProcess<Double>[] lps,
+            final PholdState[] states, final int index, final boolean checkpoint) throws SimRuntimeException
+    {
+        TimeWarpProcess<Double> lp = lps[index];
+        PholdState state = states[index];
+        if (!checkpoint)
+        {
+            // incremental state saving: only the changed fields are saved
+            long seed = state.seed;
+            long events = state.events;
+            double checksum = state.checksum;
+            lp.undo(() ->
+            {
+                state.seed = seed;
+                state.events = events;
+                state.checksum = checksum;
+            });
+        }
+        state.count(lp.getSimulatorTime());
+        lp.onCommit(() -> state.committed++);
+        int target = state.nextTarget(parameters);
+        double delay = state.nextDelay(parameters);
+        if (target == index)
+        {
+            lp.scheduleEventRel(delay, () -> timeWarpEvent(parameters, lps, states, target, checkpoint));
+        }
+        else
+        {
+            lp.send(lps[target], delay, () -> timeWarpEvent(parameters, lps, states, target, checkpoint));
+        }
+    }
+
+    /**
+     * Create the states of the logical processes.
+     * @param parameters the parameters
+     * @return the states of the logical processes
+     */
+    public static PholdState[] createStates(final Parameters parameters)
+    {
+        PholdState[] states = new PholdState[parameters.logicalProcesses];
+        for (int i = 0; i < states.length; i++)
+        {
+            states[i] = new PholdState(i, parameters.seed + i);
+        }
+        return states;
+    }
+
+    /**
+     * Execute the benchmark.
+     * @param args the maximum number of logical processes (optional)
+     * @throws SimRuntimeException on simulation error
+     */
+    public static void main(final String[] args) throws SimRuntimeException
+    {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int maximum = args.length > 0 ? Integer.parseInt(args[0]) : processors;
+        System.out.println("processors: " + processors + ", optimism window: " + new Parameters().optimismWindow);
+        Parameters warmup = new Parameters();
+        warmup.endTime = 50.0;
+        runTimeWarp(warmup, createStates(warmup), false);
+        System.out.println("   LPs   events/s   rollback   max uncommitted   peak heap (MB)");
+        for (int n = 1; n <= maximum; n *= 2)
+        {
+            Parameters parameters = new Parameters();
+            parameters.logicalProcesses = n;
+            System.gc();
+            ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+            long t0 = System.nanoTime();
+            TimeWarpEngine<Double> engine = runTimeWarp(parameters, createStates(parameters), false);
+            double seconds = (System.nanoTime() - t0) / 1.0E9;
+            long peak = 0L;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            {
+                if (pool.getType().equals(MemoryType.HEAP))
+                {
+                    peak += pool.getPeakUsage().getUsed();
+                }
+            }
+            System.out.println(String.format("%6d %10.0f %10.4f %17d %16.1f", n, engine.getNumberOfEvents() / seconds,
+                    engine.getRollbackFraction(), engine.getMaximumUncommittedEvents(), peak / 1.0E6));
+        }
+    }
+
+    /** The parameters of the PHOLD model. */
+    public static class Parameters
+    {
+        /** the number of logical processes. */
+        int logicalProcesses = 4;
+
+        /** the number of initial events per logical process. */
+        int population = 64;
+
+        /** the probability that an event is scheduled on another logical process. */
+        double remoteProbability = 0.5;
+
+        /** the fixed part of the delay, i.e., the lookahead. */
+        double lookahead = 0.1;
+
+        /** the mean of the exponential part of the delay. */
+        double meanDelay = 1.0;
+
+        /** the end time. */
+        double endTime = 2000.0;
+
+        /** the number of events between GVT computations per logical process. */
+        int gvtInterval = 1000;
+
+        /** the optimism window, or null when the optimism is not limited. */
+        Double optimismWindow = 2.0;
+
+        /** the seed of the random generator of logical process 0. */
+        long seed = 4321L;
+    }
+
+    /** The state of a PHOLD logical process. */
+    public static class PholdState implements Checkpointable
+    {
+        /** the index of the logical process. */
+        private final int index;
+
+        /** the state of the random generator. */
+        private long seed;
+
+        /** the number of executed events. */
+        private long events = 0L;
+
+        /** the sum of the event times. */
+        private double checksum = 0.0;
+
+        /** the number of committed events. */
+        private long committed = 0L;
+
+        /**
+         * @param index the index of the logical process
+         * @param seed the seed of the random generator
+         */
+        PholdState(final int index, final long seed)
+        {
+            this.index = index;
+            this.seed = seed;
+        }
+
+        /**
+         * Count an event.
+         * @param time the time of the event
+         */
+        void count(final double time)
+        {
+            this.events++;
+            this.checksum += time;
+        }
+
+        /**
+         * Draw the next random number in [0, 1) with the SplitMix64 generator, whose state is a single long.
+         * @return the next random number
+         */
+        private double nextDouble()
+        {
+            this.seed += 0x9E3779B97F4A7C15L;
+            long z = this.seed;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            z = z ^ (z >>> 31);
+            return (z >>> 11) * 0x1.0p-53;
+        }
+
+        /**
+         * Draw the delay of the next event.
+         * @param parameters the parameters
+         * @return the delay of the next event
+         */
+        double nextDelay(final Parameters parameters)
+        {
+            return parameters.lookahead - parameters.meanDelay * Math.log(1.0 - nextDouble());
+        }
+
+        /**
+         * Draw the logical process of the next event.
+         * @param parameters the parameters
+         * @return the index of the logical process of the next event
+         */
+        int nextTarget(final Parameters parameters)
+        {
+            int n = parameters.logicalProcesses;
+            if (n == 1 || nextDouble() >= parameters.remoteProbability)
+            {
+                return this.index;
+            }
+            return (this.index + 1 + (int) (nextDouble() * (n - 1))) % n;
+        }
+
+        /**
+         * Return the number of executed events.
+         * @return the number of executed events
+         */
+        public long getEvents()
+        {
+            return this.events;
+        }
+
+        /**
+         * Return the sum of the event times.
+         * @return the sum of the event times
+         */
+        public double getChecksum()
+        {
+            return this.checksum;
+        }
+
+        /**
+         * Return the number of committed events.
+         * @return the number of committed events
+         */
+        public long getCommitted()
+        {
+            return this.committed;
+        }
+
+        @Override
+        public Object saveState()
+        {
+            return new Object[] {this.seed, this.events, this.checksum};
+        }
+
+        @Override
+        public void restoreState(final Object state)
+        {
+            Object[] values = (Object[]) state;
+            this.seed = (Long) values[0];
+            this.events = (Long) values[1];
+            this.checksum = (Double) values[2];
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+package nl.tudelft.simulation.dsol.simulators.pdes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+
+/**
+ * TimeWarpEngineTest tests the optimistic parallel execution against the sequential DevsSimulator.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class TimeWarpEngineTest
+{
+    /**
+     * Test that PHOLD gives exactly the same results per logical process as the sequential DevsSimulator, both with undo() and
+     * with checkpointing, and that all executed events that were not rolled back are committed.
+     * @throws SimRuntimeException on simulation error
+     */
+    @Test
+    public void testPhold() throws SimRuntimeException
+    {
+        PholdBenchmark.Parameters parameters = new PholdBenchmark.Parameters();
+        parameters.logicalProcesses = 4;
+        parameters.population = 8;
+        parameters.endTime = 100.0;
+        parameters.gvtInterval = 50;
+        PholdBenchmark.PholdState[] sequential = PholdBenchmark.runSequential(parameters);
+        for (boolean checkpoint : new boolean[] {false, true})
+        {
+            PholdBenchmark.PholdState[] states = PholdBenchmark.createStates(parameters);
+            TimeWarpEngine<Double> engine = PholdBenchmark.runTimeWarp(parameters, states, checkpoint);
+            long total = 0L;
+            for (int i = 0; i < parameters.logicalProcesses; i++)
+            {
+                assertEquals(sequential[i].getEvents(), states[i].getEvents(), "lp " + i);
+                assertEquals(sequential[i].getChecksum(), states[i].getChecksum(), 1E-6, "lp " + i);
+                assertEquals(sequential[i].getCommitted(), states[i].getCommitted(), "lp " + i);
+                total += sequential[i].getEvents();
+            }
+            assertEquals(total, engine.getNumberOfEvents());
+            assertEquals(engine.getNumberOfProcessedEvents() - engine.getNumberOfRolledBackEvents(),
+                    engine.getNumberOfEvents());
+            assertTrue(engine.getRollbackFraction() >= 0.0 && engine.getRollbackFraction() < 1.0);
+            assertTrue(engine.getNumberOfGvtRounds() > 0);
+            assertTrue(engine.getMaximumUncommittedEvents() > 0);
+        }
+    }
+
+    /**
+     * Test a forced rollback: a logical process without lookahead receives a message in its past, and has to restore its
+     * state, cancel the event that it scheduled, and cancel the message that it sent.
+     * @throws SimRuntimeException on simulation error
+     */
+    @Test
+    public void testRollback() throws SimRuntimeException
+    {
+        TimeWarpEngine<Double> engine = new TimeWarpEngine<>("rollback", 0.0);
+        TimeWarpProcess<Double> a = engine.addLogicalProcess("a");
+        TimeWarpProcess<Double> b = engine.addLogicalProcess("b");
+        TimeWarpProcess<Double> c = engine.addLogicalProcess("c");
+        List<Double> committedB = new ArrayList<>();
+        List<Double> committedC = new ArrayList<>();
+        int[] stateB = new int[1];
+
+        // b executes events at 1..10 and forwards each to c; a sends a message to b at time 5.5 only after a busy wait, so b
+        // typically has already executed events after 5.5 and has to roll back
+        for (int i = 1; i <= 10; i++)
+        {
+            b.scheduleEventAbs((double) i, () -> eventB(b, c, stateB, committedB, committedC));
+        }
+        a.scheduleEventAbs(0.5, () ->
+        {
+            long t0 = System.nanoTime();
+            while (System.nanoTime() - t0 < 20_000_000L)
+            {
+                Thread.onSpinWait();
+            }
+            a.send(b, 5.0, () -> eventB(b, c, stateB, committedB, committedC));
+        });
+        engine.run(100.0);
+        assertEquals(11, stateB[0]);
+        assertEquals(11, committedB.size());
+        assertEquals(11, committedC.size());
+        for (int i = 1; i < committedB.size(); i++)
+        {
+            assertTrue(committedB.get(i) >= committedB.get(i - 1));
+            assertTrue(committedC.get(i) >= committedC.get(i - 1));
+        }
+        assertEquals(5.5, committedB.get(5), 1E-9);
+        assertEquals(1 + 11 + 11, engine.getNumberOfEvents());
+        assertEquals(engine.getNumberOfAntiMessages() > 0, engine.getNumberOfRollbacks() > 0);
+    }
+
+    /**
+     * Test that a straggler with the same time and priority as executed events is ordered by the id that it got when it was
+     * sent, and only rolls back the executed events with a higher id.
+     * @throws SimRuntimeException on simulation error
+     */
+    @Test
+    public void testStragglerTie() throws SimRuntimeException
+    {
+        TimeWarpEngine<Double> engine = new TimeWarpEngine<>("tie", 0.0);
+        TimeWarpProcess<Double> a = engine.addLogicalProcess("a");
+        TimeWarpProcess<Double> b = engine.addLogicalProcess("b");
+        List<String> committed = new ArrayList<>();
+        // the ids are ordered on the sequence number, and then on the index of the logical process: the message gets the
+        // second id of a, so it comes after the first event of b, and before the second and third event of b
+        for (String name : new String[] {"b1", "b2", "b3"})
+        {
+            b.scheduleEventAbs(5.0, () -> b.onCommit(() -> committed.add(name)));
+        }
+        a.scheduleEventAbs(0.5, () ->
+        {
+            long t0 = System.nanoTime();
+            while (System.nanoTime() - t0 < 20_000_000L)
+            {
+                Thread.onSpinWait();
+            }
+            a.send(b, 4.5, () -> b.onCommit(() -> committed.add("a")));
+        });
+        engine.run(10.0);
+        assertEquals(List.of("b1", "a", "b2", "b3"), committed);
+        // b1 is never rolled back; b2 and b3 only when they were executed before the message arrived
+        assertTrue(engine.getNumberOfRolledBackEvents() <= 2, "rolled back " + engine.getNumberOfRolledBackEvents());
+        assertEquals(engine.getNumberOfProcessedEvents() - engine.getNumberOfRolledBackEvents(), engine.getNumberOfEvents());
+    }
+
+    /**
+     * Event on b: count, commit the time, and forward to c.
+     * @param b logical process b
+     * @param c logical process c
+     * @param stateB the state of b
+     * @param committedB the committed times of b
+     * @param committedC the committed times of c
+     * @throws SimRuntimeException on scheduling error
+     */
+    private static void eventB(final TimeWarpProcess<Double> b, final TimeWarpProcess<Double> c, final int[] stateB,
+            final List<Double> committedB, final List<Double> committedC) throws SimRuntimeException
+    {
+        stateB[0]++;
+        b.undo(() -> stateB[0]--);
+        double time = b.getSimulatorTime();
+        b.onCommit(() -> committedB.add(time));
+        b.send(c, 0.0, () ->
+        {
+            double timeC = c.getSimulatorTime();
+            c.onCommit(() -> committedC.add(timeC));
+        });
+    }
+
+    /**
+     * Test the errors and the settings.
+     * @throws SimRuntimeException on simulation error
+     */
+    @Test
+    public void testErrors() throws SimRuntimeException
+    {
+        TimeWarpEngine<Double> engine = new TimeWarpEngine<>("errors", 0.0);
+        UnitTest.testFail(() -> engine.setGvtInterval(0), IllegalArgumentException.class);
+        UnitTest.testFail(() -> engine.setOptimismWindow(0.0), IllegalArgumentException.class);
+        engine.setOptimismWindow(5.0);
+        assertEquals(5.0, engine.getOptimismWindow(), 1E-9);
+        UnitTest.testFail(() -> engine.run(10.0), SimRuntimeException.class);
+        TimeWarpProcess<Double> a = engine.addLogicalProcess("a");
+        TimeWarpProcess<Double> b = engine.addLogicalProcess("b");
+        UnitTest.testFail(() -> a.send(b, -1.0, () -> {}), SimRuntimeException.class);
+        int[] done = new int[1];
+        a.onCommit(() -> done[0]++);
+        assertEquals(1, done[0]);
+        a.scheduleEventAbs(3.0, () ->
+        {
+            throw new IllegalStateException("error in event");
+        });
+        UnitTest.testFail(() -> engine.run(10.0), SimRuntimeException.class);
+        assertTrue(engine.isAborted());
+        assertNotNull(engine.getLogicalProcesses());
+        UnitTest.testFail(() -> engine.addLogicalProcess("late"), IllegalStateException.class);
+    }
+
+}
@@ -0,0 +1,271 @@
+package nl.tudelft.simulation.dsol.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.djutils.event.reference.ReferenceType;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.experiment.SingleReplication;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+import nl.tudelft.simulation.dsol.model.AbstractDsolModel;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
+import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
+
+/**
+ * EventTraceTest records the trace of a small model, and tests the reader, the summary, and the detection of divergences by
+ * replaying the trace against the same and a modified model.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class EventTraceTest
+{
+    /** the temporary directory for the traces. */
+    @TempDir
+    private Path tempDir;
+
+    /** the kind of the arrival events. */
+    private static final String ARRIVE = TraceModel.class.getName() + ".arrive";
+
+    /**
+     * Test the recording, reading and summary of a trace, with small buffers so the recorder hands off many buffers.
+     * @throws Exception on error
+     */
+    @Test
+    public void testRecordAndRead() throws Exception
+    {
+        Path path = this.tempDir.resolve("model.trace");
+        try (EventTraceRecorder recorder = new EventTraceRecorder(path, 40, 2))
+        {
+            run(false, recorder);
+            // schedule: warmup, end, 26 arrivals, 25 departures, 5 cancelled events; execute: warmup, 25 + 25, end
+            assertEquals(58 + 52 + 5, recorder.getNumberOfRecords());
+        }
+
+        try (EventTraceReader reader = new EventTraceReader(path))
+        {
+            assertTrue(reader.next());
+            assertEquals(EventTraceType.SCHEDULE, reader.getType());
+            assertEquals(0L, reader.getIndex());
+            // the model is constructed before the warmup event is scheduled, and outside of an event
+            assertEquals(ARRIVE, reader.getKind());
+            assertEquals(1L, reader.getId());
+            assertEquals(0L, reader.getPayload());
+            long lastId = 0L;
+            double lastTime = 0.0;
+            while (reader.next())
+            {
+                if (reader.getType() == EventTraceType.EXECUTE)
+                {
+                    assertTrue(reader.getTime() >= lastTime);
+                    lastTime = reader.getTime();
+                }
+                if (reader.getType() == EventTraceType.SCHEDULE && reader.getKind().equals(ARRIVE) && reader.getTime() > 1.0)
+                {
+                    // an arrival is scheduled by the previous arrival, which has a lower id
+                    assertTrue(reader.getPayload() > 0L && reader.getPayload() < reader.getId());
+                }
+                lastId = Math.max(lastId, reader.getId());
+            }
+            assertEquals(58L, lastId);
+            assertEquals(114L, reader.getIndex());
+            assertNull(reader.getType());
+            assertTrue(!reader.next());
+        }
+
+        EventTraceSummary summary = new EventTraceSummary(path);
+        assertEquals(115L, summary.getNumberOfRecords());
+        assertEquals(52L, summary.getNumberOfExecuted());
+        assertEquals(26L, summary.getNumberOfScheduled(ARRIVE));
+        assertEquals(25L, summary.getNumberOfExecuted(ARRIVE));
+        assertEquals(2.0, summary.getInterEventTimes(ARRIVE).getSampleMean(), 1E-9);
+        String never = TraceModel.class.getName() + ".never";
+        assertEquals(5L, summary.getNumberOfScheduled(never));
+        assertEquals(5L, summary.getNumberOfCancelled(never));
+        assertEquals(0L, summary.getNumberOfExecuted(never));
+        assertEquals(5, summary.getKinds().size());
+        String depart = summary.getKinds().stream().filter((k) -> k.contains("Lambda")).findFirst().get();
+        assertEquals(25L, summary.getNumberOfExecuted(depart));
+        assertEquals(0L, summary.getNumberOfExecuted("unknown"));
+        assertNull(summary.getInterEventTimes("unknown"));
+        // 51 intervals between 52 executed events from t = 0 to t = 50
+        assertEquals(50.0 / 51.0, summary.getInterEventTimes().getSampleMean(), 1E-9);
+        assertTrue(summary.toString().contains(ARRIVE));
+
+        Path notATrace = this.tempDir.resolve("other.txt");
+        Files.writeString(notATrace, "this is not a trace");
+        UnitTest.testFail(() -> new EventTraceReader(notATrace), IOException.class);
+        UnitTest.testFail(() -> new EventTraceRecorder(path, 10, 2), IllegalArgumentException.class);
+        UnitTest.testFail(() -> new EventTraceRecorder(path, 100, 1), IllegalArgumentException.class);
+    }
+
+    /**
+     * Test the replay of a trace against the same model and against a modified model, and the offline comparison of traces.
+     * @throws Exception on error
+     */
+    @Test
+    public void testReplay() throws Exception
+    {
+        Path reference = this.tempDir.resolve("reference.trace");
+        try (EventTraceRecorder recorder = new EventTraceRecorder(reference))
+        {
+            run(false, recorder);
+        }
+
+        try (TraceReplayChecker checker = new TraceReplayChecker(reference))
+        {
+            run(false, checker);
+            assertNull(checker.finish());
+            assertEquals(52L, checker.getNumberOfExecutedEvents());
+        }
+
+        // the departure of the 7th arrival is delayed, so the 7th departure at index 14 diverges
+        Path modified = this.tempDir.resolve("modified.trace");
+        try (EventTraceRecorder recorder = new EventTraceRecorder(modified);
+                TraceReplayChecker checker = new TraceReplayChecker(reference, null))
+        {
+            DevsSimulator<Double> simulator = run(true, new EventTracer()
+            {
+                @Override
+                public void scheduled(final SimEventInterface<?> event)
+                {
+                    recorder.scheduled(event);
+                    checker.scheduled(event);
+                }
+
+                @Override
+                public void executing(final SimEventInterface<?> event)
+                {
+                    recorder.executing(event);
+                    checker.executing(event);
+                }
+
+                @Override
+                public void cancelled(final SimEventInterface<?> event)
+                {
+                    recorder.cancelled(event);
+                    checker.cancelled(event);
+                }
+            });
+            assertEquals(50.0, simulator.getSimulatorTime(), 1E-9);
+            TraceDivergence divergence = checker.finish();
+            assertNotNull(divergence);
+            assertEquals(14L, divergence.getExecutionIndex());
+            assertTrue(divergence.getExpected().contains("t=14.0"), divergence.toString());
+            assertTrue(divergence.getActual().contains("t=14.5"), divergence.toString());
+        }
+        TraceDivergence offline = TraceReplayChecker.compare(reference, modified);
+        assertEquals(14L, offline.getExecutionIndex());
+        assertNull(TraceReplayChecker.compare(reference, reference));
+
+        // a checker with a simulator stops the simulator at the divergence
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("stop");
+        try (TraceReplayChecker checker = new TraceReplayChecker(reference, simulator))
+        {
+            run(simulator, true, checker);
+            assertEquals(14.5, simulator.getSimulatorTime(), 1E-9);
+            assertEquals(14L, checker.getDivergence().getExecutionIndex());
+        }
+    }
+
+    /**
+     * Run a replication of the model with an event tracer.
+     * @param modified whether the model is modified
+     * @param tracer the event tracer
+     * @return the simulator
+     * @throws InterruptedException when interrupted
+     */
+    private static DevsSimulator<Double> run(final boolean modified, final EventTracer tracer) throws InterruptedException
+    {
+        DevsSimulator<Double> simulator = new DevsSimulator<Double>("trace");
+        run(simulator, modified, tracer);
+        return simulator;
+    }
+
+    /**
+     * Run a replication of the model with an event tracer on a simulator.
+     * @param simulator the simulator
+     * @param modified whether the model is modified
+     * @param tracer the event tracer
+     * @throws InterruptedException when interrupted
+     */
+    private static void run(final DevsSimulator<Double> simulator, final boolean modified, final EventTracer tracer)
+            throws InterruptedException
+    {
+        simulator.setEventTracer(tracer);
+        assertEquals(tracer, simulator.getEventTracer());
+        simulator.initialize(new TraceModel(simulator, modified), new SingleReplication<Double>("rep", 0.0, 0.0, 50.0));
+        CountDownLatch ended = new CountDownLatch(1);
+        simulator.addListener((event) -> ended.countDown(), Replication.END_REPLICATION_EVENT, ReferenceType.STRONG);
+        simulator.start();
+        assertTrue(ended.await(10, TimeUnit.SECONDS));
+        simulator.setEventTracer(null);
+        simulator.cleanUp();
+    }
+
+    /** Model with arrivals every 2 time units, a departure 1 time unit after each arrival, and cancelled events. */
+    public static class TraceModel extends AbstractDsolModel<Double, DevsSimulatorInterface<Double>>
+    {
+        /** whether the departure of the 7th arrival is delayed. */
+        private final boolean modified;
+
+        /** the number of arrivals. */
+        private int arrivals = 0;
+
+        /** the number of departures. */
+        private int departures = 0;
+
+        /**
+         * @param simulator the simulator
+         * @param modified whether the departure of the 7th arrival is delayed
+         */
+        TraceModel(final DevsSimulatorInterface<Double> simulator, final boolean modified)
+        {
+            super(simulator);
+            this.modified = modified;
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            getSimulator().scheduleEventAbs(1.0, this, "arrive", null);
+        }
+
+        /** Arrival; schedules the next arrival and a departure, and every 5th arrival schedules and cancels an event. */
+        protected void arrive()
+        {
+            this.arrivals++;
+            getSimulator().scheduleEventRel(2.0, this, "arrive", null);
+            double delay = this.modified && this.arrivals == 7 ? 1.5 : 1.0;
+            getSimulator().scheduleEventRel(delay, () -> this.departures++);
+            if (this.arrivals % 5 == 0)
+            {
+                getSimulator().cancelEvent(getSimulator().scheduleEventRel(10.0, this, "never", null));
+            }
+        }
+
+        /** Event that is always cancelled. */
+        protected void never()
+        {
+            throw new IllegalStateException("event should have been cancelled");
+        }
+    }
+
+}
@@ -7,6 +7,7 @@ import org.djutils.stats.summarizers.Tally;
 import org.djutils.test.UnitTest;
 import org.junit.jupiter.api.Test;
 
+import nl.tudelft.simulation.jstats.math.ProbMath;
 import nl.tudelft.simulation.jstats.streams.MersenneTwister;
 import nl.tudelft.simulation.jstats.streams.StreamInterface;
 
@@ -109,6 +110,13 @@ public class ContinuousDistributionTest
         assertEquals(distBeta(1.5, 2.5, 0.25), dist.getProbabilityDensity(0.25), 0.0001);
         assertEquals(0.0, dist.getProbabilityDensity(2.0), 0.0001);
         assertEquals(0.0, dist.getProbabilityDensity(-0.1), 0.0001);
+        assertEquals(0.0, dist.getCumulativeProbability(0.0), 0.0);
+        assertEquals(1.0, dist.getCumulativeProbability(1.0), 0.0);
+        DistBeta dist12 = new DistBeta(this.stream, 1.0, 2.0);
+        for (double x = 0.05; x < 1.0; x += 0.1)
+        {
+            assertEquals(1.0 - (1.0 - x) * (1.0 - x), dist12.getCumulativeProbability(x), 1E-14);
+        }
 
         UnitTest.testFail(() ->
         {
@@ -285,6 +293,14 @@ public class ContinuousDistributionTest
         assertEquals(distGamma(1.5, 2.5, 2.0), dist.getProbabilityDensity(2.0), 0.0001);
         assertEquals(distGamma(1.5, 2.5, 4.0), dist.getProbabilityDensity(4.0), 0.0001);
         assertEquals(distGamma(1.5, 2.5, 8.0), dist.getProbabilityDensity(8.0), 0.0001);
+        assertEquals(0.0, dist.getCumulativeProbability(0.0), 0.0);
+        for (double x = 0.5; x < 20.0; x += 1.0)
+        {
+            // P(3/2, y) = erf(sqrt(y)) - 2 sqrt(y / pi) exp(-y)
+            double y = x / 2.5;
+            assertEquals(ProbMath.erf(Math.sqrt(y)) - 2.0 * Math.sqrt(y / Math.PI) * Math.exp(-y),
+                    dist.getCumulativeProbability(x), 1E-14);
+        }
 
         dist = new DistGamma(this.stream, 0.5, 2.5);
         value = dist.draw();
@@ -0,0 +1,137 @@
+package nl.tudelft.simulation.jstats.distributions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.djutils.stats.summarizers.Tally;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * DistInverseTableTest tests the accuracy of the table-based inversion for distributions with a closed-form cumulative
+ * distribution function, for a distribution with infinite tails, and for a user-defined density.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class DistInverseTableTest
+{
+    /**
+     * Test the u-error of the table of a Weibull distribution, whose cumulative distribution function is 1 - exp(-(x/b)^a),
+     * for several maximum u-errors, and the statistics of the draws.
+     */
+    @Test
+    public void testWeibull()
+    {
+        StreamInterface stream = new MersenneTwister(12L);
+        DistWeibull weibull = new DistWeibull(stream, 2.0, 3.0);
+        int previousIntervals = 0;
+        for (double uError : new double[] {1.0E-6, 1.0E-10, 1.0E-12})
+        {
+            DistInverseTable table = new DistInverseTable(stream, weibull, 0.0, Double.POSITIVE_INFINITY, uError);
+            assertEquals(1.0, table.getArea(), 10.0 * uError);
+            assertTrue(table.getSetupUError() <= uError);
+            assertTrue(table.getNumberOfIntervals() > previousIntervals);
+            previousIntervals = table.getNumberOfIntervals();
+            double maxError = 0.0;
+            for (int k = 1; k < 10000; k++)
+            {
+                double u = k / 10000.0;
+                double x = table.getInverseCumulativeProbability(u);
+                maxError = Math.max(maxError, Math.abs(1.0 - Math.exp(-Math.pow(x / 3.0, 2.0)) - u));
+            }
+            assertTrue(maxError <= 2.0 * uError, "uError " + uError + ", max error " + maxError);
+            assertTrue(table.getTableBytes() > 0);
+            assertTrue(table.getSetupNanos() > 0);
+            assertTrue(table.getDensityEvaluations() > 0);
+            assertTrue(table.toString().contains("intervals"));
+        }
+        DistInverseTable table = new DistInverseTable(stream, weibull, 0.0, Double.POSITIVE_INFINITY);
+        assertEquals(0.0, table.getInverseCumulativeProbability(0.0), 1E-9);
+        assertEquals(table.getUpper(), table.getInverseCumulativeProbability(1.0), 1E-9);
+        Tally tally = new Tally("weibull");
+        for (int i = 0; i < 100_000; i++)
+        {
+            tally.register(table.draw());
+        }
+        // mean b * Gamma(1 + 1/a) = 3 * sqrt(pi) / 2
+        assertEquals(3.0 * Math.sqrt(Math.PI) / 2.0, tally.getSampleMean(), 0.01);
+        assertEquals(weibull.getProbabilityDensity(2.0), table.getProbabilityDensity(2.0), 1E-9);
+        assertEquals(0.0, table.getProbabilityDensity(-1.0), 0.0);
+    }
+
+    /**
+     * Test a normal distribution with two infinite tails, and a truncated normal distribution, against the inverse of the
+     * distributions.
+     */
+    @Test
+    public void testNormal()
+    {
+        StreamInterface stream = new MersenneTwister(13L);
+        DistNormal normal = new DistNormal(stream, 10.0, 2.0);
+        DistInverseTable table =
+                new DistInverseTable(stream, normal, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 1.0E-10);
+        assertTrue(table.getLower() < 10.0 - 2.0 * 6.0 && table.getUpper() > 10.0 + 2.0 * 6.0);
+        assertTrue(table.estimateUError(1000) < 1.0E-9);
+        for (double u = 0.001; u < 1.0; u += 0.01)
+        {
+            assertEquals(normal.getInverseCumulativeProbability(u), table.getInverseCumulativeProbability(u), 1.0E-5);
+        }
+
+        DistNormalTrunc trunc = new DistNormalTrunc(stream, 0.0, 1.0, -0.5, 2.0);
+        DistInverseTable truncTable = new DistInverseTable(stream, trunc, -0.5, 2.0);
+        assertEquals(1.0, truncTable.getArea(), 1E-8);
+        for (double u = 0.0; u <= 1.0; u += 0.01)
+        {
+            assertEquals(trunc.getInverseCumulativeProbability(u), truncTable.getInverseCumulativeProbability(u), 1.0E-5);
+        }
+        assertEquals(-0.5, truncTable.getInverseCumulativeProbability(0.0), 1E-12);
+        assertEquals(2.0, truncTable.getInverseCumulativeProbability(1.0), 1E-12);
+    }
+
+    /**
+     * Test a user-defined, unnormalized density 3x^2 + 1 on [0,1] with a region of zero density on (1,2], whose cumulative
+     * distribution function is (x^3 + x) / 2 on [0,1].
+     */
+    @Test
+    public void testUserDefined()
+    {
+        StreamInterface stream = new MersenneTwister(14L);
+        DistContinuous density = new DistContinuous(stream)
+        {
+            @Override
+            public double getProbabilityDensity(final double x)
+            {
+                return x >= 0.0 && x <= 1.0 ? 3.0 * x * x + 1.0 : 0.0;
+            }
+
+            @Override
+            public double draw()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        DistInverseTable table = new DistInverseTable(stream, density, 0.0, 2.0, 1.0E-11);
+        assertEquals(2.0, table.getArea(), 1E-9);
+        for (int k = 0; k <= 1000; k++)
+        {
+            double u = k / 1000.0;
+            double x = table.getInverseCumulativeProbability(u);
+            assertEquals(u, (x * x * x + x) / 2.0, 1.0E-9);
+        }
+
+        UnitTest.testFail(() -> new DistInverseTable(stream, density, 1.0, 1.0), IllegalArgumentException.class);
+        UnitTest.testFail(() -> new DistInverseTable(stream, density, 0.0, 1.0, 0.1), IllegalArgumentException.class);
+        UnitTest.testFail(() -> new DistInverseTable(stream, density, 3.0, 4.0), IllegalArgumentException.class);
+        UnitTest.testFail(() -> new DistInverseTable(stream, null, 0.0, 1.0), NullPointerException.class);
+        UnitTest.testFail(() -> table.getInverseCumulativeProbability(1.5), IllegalArgumentException.class);
+    }
+
+}
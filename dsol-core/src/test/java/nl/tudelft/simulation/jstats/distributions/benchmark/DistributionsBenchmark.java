@@ -12,9 +12,12 @@ import nl.tudelft.simulation.jstats.distributions.DistErlang;
 import nl.tudelft.simulation.jstats.distributions.DistExponential;
 import nl.tudelft.simulation.jstats.distributions.DistGamma;
 import nl.tudelft.simulation.jstats.distributions.DistGeometric;
+import nl.tudelft.simulation.jstats.distributions.DistInverseTable;
 import nl.tudelft.simulation.jstats.distributions.DistLogNormal;
+import nl.tudelft.simulation.jstats.distributions.DistLogNormalTrunc;
 import nl.tudelft.simulation.jstats.distributions.DistNegBinomial;
 import nl.tudelft.simulation.jstats.distributions.DistNormal;
+import nl.tudelft.simulation.jstats.distributions.DistNormalTrunc;
 import nl.tudelft.simulation.jstats.distributions.DistPearson5;
 import nl.tudelft.simulation.jstats.distributions.DistPearson6;
 import nl.tudelft.simulation.jstats.distributions.DistPoisson;
@@ -96,5 +99,17 @@ public final class DistributionsBenchmark
         System.out.println("DistUniform: " + DistributionsBenchmark.benchmark(new DistUniform(stream, 0, 1)));
         System.out.println("DistWeibull: " + DistributionsBenchmark.benchmark(new DistWeibull(stream, 0.4, 1.5)));
 
+        // table-based inversion of distributions that are expensive per draw; the setup is reported in the toString()
+        DistContinuous[] expensive = {new DistNormalTrunc(stream, 0.0, 1.0, -1.0, 3.0),
+                new DistLogNormalTrunc(stream, 0.0, 0.5, 0.5, 4.0), new DistBeta(stream, 2.0, 5.0),
+                new DistPearson5(stream, 3.0, 2.0)};
+        double[][] domains = {{-1.0, 3.0}, {0.5, 4.0}, {0.0, 1.0}, {0.0, Double.POSITIVE_INFINITY}};
+        for (int i = 0; i < expensive.length; i++)
+        {
+            DistInverseTable table = new DistInverseTable(stream, expensive[i], domains[i][0], domains[i][1]);
+            System.out.println(expensive[i] + " : " + DistributionsBenchmark.benchmark(expensive[i]) + ", table : "
+                    + DistributionsBenchmark.benchmark(table) + "  " + table);
+        }
+
     }
 }
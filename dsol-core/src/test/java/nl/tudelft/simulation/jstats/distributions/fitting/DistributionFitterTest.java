@@ -0,0 +1,331 @@
+package nl.tudelft.simulation.jstats.distributions.fitting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.djutils.stats.summarizers.Tally;
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nl.tudelft.simulation.jstats.distributions.DistContinuous;
+import nl.tudelft.simulation.jstats.distributions.DistEmpiricalInterpolated;
+import nl.tudelft.simulation.jstats.distributions.DistExponential;
+import nl.tudelft.simulation.jstats.distributions.DistGamma;
+import nl.tudelft.simulation.jstats.distributions.DistLogNormal;
+import nl.tudelft.simulation.jstats.distributions.DistNormal;
+import nl.tudelft.simulation.jstats.distributions.DistUniform;
+import nl.tudelft.simulation.jstats.distributions.DistWeibull;
+import nl.tudelft.simulation.jstats.distributions.empirical.InterpolatedEmpiricalDistribution;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * DistributionFitterTest tests the maximum likelihood estimates and the goodness-of-fit statistics of the DistributionFitter
+ * for samples of known distributions, the reading of CSV and binary files, and the empirical distribution of the sketch.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class DistributionFitterTest
+{
+    /** temporary directory for the observation files. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test that the parameters of samples of known distributions are estimated, and that the goodness-of-fit statistics do
+     * not reject the correct family and rank it first.
+     */
+    @Test
+    public void testFitFamilies()
+    {
+        StreamInterface stream = new MersenneTwister(20L);
+        testFit(new DistExponential(stream, 2.0), FitFamily.EXPONENTIAL, 2.0);
+        testFit(new DistNormal(stream, 5.0, 2.0), FitFamily.NORMAL, 5.0, 2.0);
+        testFit(new DistLogNormal(stream, 1.0, 0.5), FitFamily.LOGNORMAL, 1.0, 0.5);
+        testFit(new DistGamma(stream, 2.5, 1.5), FitFamily.GAMMA, 2.5, 1.5);
+        testFit(new DistGamma(stream, 0.4, 3.0), FitFamily.GAMMA, 0.4, 3.0);
+        testFit(new DistWeibull(stream, 1.7, 3.0), FitFamily.WEIBULL, 1.7, 3.0);
+        testFit(new DistWeibull(stream, 0.6, 10.0), FitFamily.WEIBULL, 0.6, 10.0);
+        testFit(new DistUniform(stream, 2.0, 7.0), FitFamily.UNIFORM, 2.0, 7.0);
+    }
+
+    /**
+     * Fit 100,000 draws of a distribution, and test the estimated parameters and the goodness-of-fit statistics.
+     * @param dist the distribution to draw from
+     * @param family the family of the distribution
+     * @param parameters the parameters of the distribution
+     */
+    private static void testFit(final DistContinuous dist, final FitFamily family, final double... parameters)
+    {
+        DistributionFitter fitter = new DistributionFitter();
+        int n = 100_000;
+        for (int i = 0; i < n; i++)
+        {
+            fitter.register(dist.draw());
+        }
+        assertEquals(n, fitter.getN());
+        FitResult fit = fitter.fit(family);
+        assertEquals(family, fit.getFamily());
+        assertEquals(n, fit.getN());
+        for (int i = 0; i < parameters.length; i++)
+        {
+            assertEquals(parameters[i], fit.getParameters()[i], 0.02 * Math.abs(parameters[i]),
+                    dist + " parameter " + family.getParameterNames()[i]);
+        }
+        // the critical values of KS and AD at a significance of 0.01 are 1.63 / sqrt(n) and 3.9
+        assertTrue(fit.getKolmogorovSmirnov() < 1.63 / Math.sqrt(n), dist + " KS " + fit.getKolmogorovSmirnov());
+        assertTrue(fit.getAndersonDarling() < 3.9, dist + " AD " + fit.getAndersonDarling());
+        assertTrue(fit.getChiSquarePValue() > 0.001, dist + " chi2 " + fit.getChiSquare());
+        assertEquals(fit.getChiSquareBins() - 1 - parameters.length, fit.getChiSquareDegreesOfFreedom());
+
+        // the correct family is the best fit; the exponential family is nested in the gamma and Weibull families
+        List<FitResult> results = fitter.fitAll();
+        // the normal samples contain negative values
+        assertEquals(family == FitFamily.NORMAL ? 2 : 6, results.size(), dist.toString());
+        int rank = results.indexOf(results.stream().filter((r) -> r.getFamily() == family).findFirst().get());
+        assertTrue(rank == 0 || (family == FitFamily.EXPONENTIAL && rank < 3), dist + " rank " + rank);
+        for (FitResult other : results)
+        {
+            if (other.getFamily() != family && family != FitFamily.EXPONENTIAL)
+            {
+                assertTrue(other.getChiSquarePValue() < 0.001, dist + " " + other);
+            }
+        }
+    }
+
+    /**
+     * Test the goodness-of-fit statistics against the statistics of the individual observations, and the methods of the
+     * fit result.
+     */
+    @Test
+    public void testStatistics()
+    {
+        StreamInterface stream = new MersenneTwister(21L);
+        DistNormal normal = new DistNormal(stream, 10.0, 3.0);
+        int n = 20_000;
+        double[] x = new double[n];
+        DistributionFitter fitter = new DistributionFitter();
+        for (int i = 0; i < n; i++)
+        {
+            x[i] = normal.draw();
+        }
+        fitter.register(x);
+        FitResult fit = fitter.fit(FitFamily.NORMAL);
+        double[] p = fit.getParameters();
+
+        // exact statistics of the sorted observations
+        Arrays.sort(x);
+        double d = 0.0;
+        double a2 = -n;
+        for (int i = 0; i < n; i++)
+        {
+            double f = fit.getCumulativeProbability(x[i]);
+            d = Math.max(d, Math.max((i + 1.0) / n - f, f - (double) i / n));
+            a2 -= (2.0 * i + 1.0) / n * (Math.log(f) + Math.log1p(-fit.getCumulativeProbability(x[n - 1 - i])));
+        }
+        assertEquals(d, fit.getKolmogorovSmirnov(), 0.25 * d);
+        assertEquals(a2, fit.getAndersonDarling(), 0.25 * a2 + 0.1);
+
+        assertEquals(FitFamily.NORMAL.getCumulativeProbability(12.0, p), fit.getCumulativeProbability(12.0), 0.0);
+        assertEquals(0.5, FitFamily.NORMAL.getCumulativeProbability(10.0, 10.0, 3.0), 1E-15);
+        assertEquals(1.0 - Math.exp(-1.0), FitFamily.EXPONENTIAL.getCumulativeProbability(2.0, 2.0), 1E-15);
+        assertEquals(1.0 - Math.exp(-1.0), FitFamily.WEIBULL.getCumulativeProbability(3.0, 1.7, 3.0), 1E-15);
+        assertEquals(0.5, FitFamily.LOGNORMAL.getCumulativeProbability(Math.E, 1.0, 0.5), 1E-15);
+        assertEquals(1.0 - 2.0 * Math.exp(-1.0), FitFamily.GAMMA.getCumulativeProbability(3.0, 2.0, 3.0), 1E-14);
+        assertEquals(0.3, FitFamily.UNIFORM.getCumulativeProbability(3.5, 2.0, 7.0), 1E-15);
+        assertEquals(0.0, FitFamily.GAMMA.getCumulativeProbability(-1.0, 2.0, 3.0), 0.0);
+        assertEquals(1.0, FitFamily.UNIFORM.getCumulativeProbability(8.0, 2.0, 7.0), 0.0);
+
+        DistContinuous dist = fit.createDistribution(stream);
+        assertTrue(dist instanceof DistNormal);
+        assertEquals(p[0], ((DistNormal) dist).getMu(), 0.0);
+        assertTrue(FitFamily.WEIBULL.createDistribution(stream, 1.7, 3.0) instanceof DistWeibull);
+        assertTrue(fit.toString().contains("NORMAL(mu="));
+        assertTrue(fitter.toString().contains("n=20000"));
+        p[0] = 0.0;
+        assertEquals(fit.getParameters()[0], fitter.getMean(), 0.0);
+        assertEquals(2, FitFamily.GAMMA.getNumberOfParameters());
+        assertEquals("shape", FitFamily.WEIBULL.getParameterNames()[0]);
+    }
+
+    /**
+     * Test reading the observations from CSV files and binary files.
+     * @throws IOException on i/o error
+     */
+    @Test
+    public void testFiles() throws IOException
+    {
+        StreamInterface stream = new MersenneTwister(22L);
+        DistGamma gamma = new DistGamma(stream, 2.0, 3.0);
+        int n = 10_000;
+        DistributionFitter reference = new DistributionFitter();
+        Path csv = this.tempDir.resolve("obs.csv");
+        Path bin = this.tempDir.resolve("obs.bin");
+        Path little = this.tempDir.resolve("obs-le.bin");
+        ByteBuffer buffer = ByteBuffer.allocate(8 * n).order(ByteOrder.LITTLE_ENDIAN);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(bin))))
+        {
+            writer.println("id;\"travel time\";remark");
+            for (int i = 0; i < n; i++)
+            {
+                double x = gamma.draw();
+                reference.register(x);
+                writer.println(i + ";" + (i % 2 == 0 ? x : "\"" + x + "\"") + ";ok");
+                out.writeDouble(x);
+                buffer.putDouble(x);
+            }
+            writer.println();
+            writer.println("10000;NA;missing");
+            writer.println("10001");
+        }
+        Files.write(little, buffer.array());
+
+        DistributionFitter fitter = new DistributionFitter();
+        assertEquals(n, fitter.readCsv(csv, 1, ';', true));
+        assertEquals(2, fitter.getNumberSkipped());
+        assertFitterEquals(reference, fitter);
+
+        fitter = new DistributionFitter();
+        assertEquals(n, fitter.readCsv(csv, "travel time", ';'));
+        assertFitterEquals(reference, fitter);
+        UnitTest.testFail(() -> new DistributionFitter().readCsv(csv, "speed", ';'), IllegalArgumentException.class);
+        UnitTest.testFail(() -> new DistributionFitter().readCsv(csv, -1, ';', true), IllegalArgumentException.class);
+
+        // the header is not a number when it is not skipped, and the column does not exist in the last line
+        fitter = new DistributionFitter();
+        assertEquals(n, fitter.readCsv(csv, 1, ';', false));
+        assertEquals(3, fitter.getNumberSkipped());
+
+        fitter = new DistributionFitter();
+        assertEquals(n, fitter.readBinary(bin));
+        assertEquals(0, fitter.getNumberSkipped());
+        assertFitterEquals(reference, fitter);
+        fitter = new DistributionFitter();
+        assertEquals(n, fitter.readBinary(little, ByteOrder.LITTLE_ENDIAN));
+        assertFitterEquals(reference, fitter);
+        assertEquals(reference.fit(FitFamily.GAMMA).getParameters()[0], fitter.fit(FitFamily.GAMMA).getParameters()[0], 1E-12);
+
+        // a file with a partial double
+        try (OutputStream out = Files.newOutputStream(bin, StandardOpenOption.APPEND))
+        {
+            out.write(new byte[] {1, 2, 3});
+        }
+        UnitTest.testFail(() -> new DistributionFitter().readBinary(bin), IOException.class);
+    }
+
+    /**
+     * Assert that two fitters have the same statistics.
+     * @param expected the expected fitter
+     * @param actual the actual fitter
+     */
+    private static void assertFitterEquals(final DistributionFitter expected, final DistributionFitter actual)
+    {
+        assertEquals(expected.getN(), actual.getN());
+        assertEquals(expected.getMin(), actual.getMin(), 0.0);
+        assertEquals(expected.getMax(), actual.getMax(), 0.0);
+        assertEquals(expected.getMean(), actual.getMean(), 1E-12 * expected.getMean());
+        assertEquals(expected.getLogStDev(), actual.getLogStDev(), 1E-12);
+        assertEquals(expected.getQuantile(0.5), actual.getQuantile(0.5), 1E-12);
+    }
+
+    /**
+     * Test the interpolated empirical distribution of the sketch, also for observations with many equal values.
+     */
+    @Test
+    public void testEmpirical()
+    {
+        StreamInterface stream = new MersenneTwister(23L);
+        DistWeibull weibull = new DistWeibull(stream, 1.5, 4.0);
+        DistributionFitter fitter = new DistributionFitter(200);
+        Tally tally = new Tally("weibull");
+        for (int i = 0; i < 100_000; i++)
+        {
+            double x = weibull.draw();
+            fitter.register(x);
+            tally.register(x);
+        }
+        InterpolatedEmpiricalDistribution empirical = fitter.getEmpiricalDistribution(101);
+        assertEquals(101, empirical.size());
+        assertEquals(fitter.getMin(), empirical.getLowestValue().doubleValue(), 0.0);
+        assertEquals(fitter.getMax(), empirical.getHighestValue().doubleValue(), 0.0);
+        for (int i = 1; i < 100; i++)
+        {
+            double p = i / 100.0;
+            double x = 4.0 * Math.pow(-Math.log1p(-p), 1.0 / 1.5);
+            assertEquals(x, empirical.getFloorEntry(p).getValue().doubleValue(), 0.02 * x);
+        }
+        DistEmpiricalInterpolated dist = fitter.createEmpiricalDistribution(stream, 1001);
+        Tally draws = new Tally("draws");
+        for (int i = 0; i < 100_000; i++)
+        {
+            draws.register(dist.draw());
+        }
+        assertEquals(tally.getPopulationMean(), draws.getPopulationMean(), 0.02);
+        assertEquals(tally.getPopulationStDev(), draws.getPopulationStDev(), 0.02);
+
+        // for integer observations, the points with equal values are merged
+        DistributionFitter counts = new DistributionFitter();
+        for (int i = 0; i < 10_000; i++)
+        {
+            counts.register(1 + stream.nextInt(0, 4));
+        }
+        InterpolatedEmpiricalDistribution steps = counts.getEmpiricalDistribution(1001);
+        assertTrue(steps.size() < 100, "size " + steps.size());
+        assertEquals(1.0, steps.getLowestValue().doubleValue(), 0.0);
+        assertEquals(5.0, steps.getHighestValue().doubleValue(), 0.0);
+        assertEquals(0.0, steps.getFloorEntry(0.0).getCumulativeProbability(), 0.0);
+        assertEquals(1.0, steps.getCeilingEntry(1.0).getCumulativeProbability(), 0.0);
+
+        UnitTest.testFail(() -> counts.getEmpiricalDistribution(1), IllegalArgumentException.class);
+        DistributionFitter constant = new DistributionFitter();
+        constant.register(2.0, 2.0, 2.0);
+        UnitTest.testFail(() -> constant.getEmpiricalDistribution(10), IllegalStateException.class);
+    }
+
+    /**
+     * Test the families that cannot be fitted, and the skipped values.
+     */
+    @Test
+    public void testErrors()
+    {
+        UnitTest.testFail(() -> new DistributionFitter(5), IllegalArgumentException.class);
+        DistributionFitter fitter = new DistributionFitter();
+        fitter.register(Double.NaN, Double.POSITIVE_INFINITY, 1.0);
+        assertEquals(1, fitter.getN());
+        assertEquals(2, fitter.getNumberSkipped());
+        assertFalse(fitter.isFittable(FitFamily.NORMAL));
+        assertTrue(fitter.fitAll().isEmpty());
+        UnitTest.testFail(() -> fitter.fit(FitFamily.NORMAL), IllegalStateException.class);
+        fitter.register(-1.0, 0.0, 3.0);
+        assertEquals(2, fitter.getNumberNonPositive());
+        assertTrue(fitter.isFittable(FitFamily.NORMAL));
+        assertFalse(fitter.isFittable(FitFamily.GAMMA));
+        UnitTest.testFail(() -> fitter.fit(FitFamily.LOGNORMAL), IllegalStateException.class);
+        assertEquals(2, fitter.fitAll().size());
+        assertEquals(4, fitter.fit(FitFamily.UNIFORM).getParameters()[1] - fitter.fit(FitFamily.UNIFORM).getParameters()[0],
+                0.0);
+        UnitTest.testFail(() -> fitter.fit(null), NullPointerException.class);
+    }
+
+}
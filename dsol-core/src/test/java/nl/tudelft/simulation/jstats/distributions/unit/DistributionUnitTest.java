@@ -95,9 +95,11 @@ import org.djunits.value.vdouble.scalar.Torque;
 import org.djunits.value.vdouble.scalar.Volume;
 import org.djunits.value.vdouble.scalar.base.DoubleScalar;
 import org.djutils.reflection.ClassUtil;
+import org.djutils.test.UnitTest;
 import org.junit.jupiter.api.Test;
 
 import nl.tudelft.simulation.jstats.distributions.DistContinuous;
+import nl.tudelft.simulation.jstats.distributions.DistExponential;
 import nl.tudelft.simulation.jstats.distributions.DistUniform;
 import nl.tudelft.simulation.jstats.streams.MersenneTwister;
 import nl.tudelft.simulation.jstats.streams.StreamInterface;
@@ -215,6 +217,52 @@ public class DistributionUnitTest
         }
     }
 
+    /**
+     * Test that drawSI() and the bulk drawSI methods return the same values as draw().getSI() for the same seed, also for a
+     * unit that is not the SI unit.
+     */
+    @Test
+    public void testDrawSI()
+    {
+        for (DurationUnit unit : new DurationUnit[] {DurationUnit.SI, DurationUnit.MINUTE, DurationUnit.HOUR})
+        {
+            StreamInterface stream = new MersenneTwister(20L);
+            DistContinuousDuration dist = new DistContinuousDuration(new DistExponential(stream, 3.0), unit);
+            double[] expected = new double[50];
+            for (int i = 0; i < expected.length; i++)
+            {
+                expected[i] = dist.draw().getSI();
+            }
+            stream.reset();
+            for (int i = 0; i < 10; i++)
+            {
+                assertEquals(expected[i], dist.drawSI(), 0.0);
+            }
+            double[] values = new double[45];
+            dist.drawSI(values, 5, 40);
+            for (int i = 0; i < 5; i++)
+            {
+                assertEquals(0.0, values[i], 0.0);
+            }
+            for (int i = 5; i < 45; i++)
+            {
+                assertEquals(expected[i + 5], values[i], 0.0);
+            }
+            stream.reset();
+            dist.drawSI(values);
+            for (int i = 0; i < 45; i++)
+            {
+                assertEquals(expected[i], values[i], 0.0);
+            }
+            double[] empty = new double[5];
+            dist.drawSI(empty, 5, 0);
+            UnitTest.testFail(() -> dist.drawSI(null), NullPointerException.class);
+            UnitTest.testFail(() -> dist.drawSI(empty, -1, 2), IndexOutOfBoundsException.class);
+            UnitTest.testFail(() -> dist.drawSI(empty, 4, 2), IndexOutOfBoundsException.class);
+            UnitTest.testFail(() -> dist.drawSI(empty, 0, -1), IndexOutOfBoundsException.class);
+        }
+    }
+
     /** Tuple to store expected class info. */
     private static class UnitType
     {
@@ -0,0 +1,199 @@
+package nl.tudelft.simulation.jstats.math;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * ProbMathBenchmark compares the time per call of the erf, erfInv, gammaln, gamma and beta functions of ProbMath with the
+ * earlier implementations: a Taylor series for erf, Blair's rational approximations for erfInv, and the Lanczos approximation
+ * of Numerical Recipes for gammaln. Each function is called for an array of arguments in its typical domain, after a warm-up
+ * of the same size, and the sum of the results is printed to keep the calls from being optimized away. The benchmark can be
+ * started with the number of calls per function as argument.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class ProbMathBenchmark
+{
+    /** Coefficients for the earlier ln(gamma(x)) function. */
+    private static final double[] GAMMALN_COF = {76.18009172947146, -86.50532032941677, 24.01409824083091, -1.231739572450155,
+            0.1208650973866179e-2, -0.5395239384953e-5};
+
+    /** Utility class. */
+    private ProbMathBenchmark()
+    {
+        // utility class
+    }
+
+    /**
+     * Run the benchmark.
+     * @param args optional: the number of calls per function
+     */
+    public static void main(final String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        double[] erfArgs = new double[4096];
+        double[] erfInvArgs = new double[4096];
+        double[] gammaArgs = new double[4096];
+        for (int i = 0; i < 4096; i++)
+        {
+            erfArgs[i] = -4.0 + 8.0 * (i + 0.5) / 4096;
+            erfInvArgs[i] = -1.0 + 2.0 * (i + 0.5) / 4096;
+            gammaArgs[i] = 0.1 + 30.0 * (i + 0.5) / 4096;
+        }
+        compare("erf", erfArgs, n, ProbMathBenchmark::legacyErf, ProbMath::erf);
+        compare("erfInv", erfInvArgs, n, ProbMathBenchmark::legacyErfInv, ProbMath::erfInv);
+        compare("gammaln", gammaArgs, n, ProbMathBenchmark::legacyGammaln, ProbMath::gammaln);
+        compare("gamma", gammaArgs, n, (x) -> Math.exp(legacyGammaln(x)), ProbMath::gamma);
+        compare("beta(x, 2.5)", gammaArgs, n,
+                (x) -> Math.exp(legacyGammaln(x) + legacyGammaln(2.5) - legacyGammaln(x + 2.5)),
+                (x) -> ProbMath.beta(x, 2.5));
+        System.out.println(String.format("%-14s %10s %10.1f ns/call", "incGammaP(x,x)", "",
+                time(gammaArgs, n, (x) -> ProbMath.incompleteGammaP(x, x))));
+        System.out.println(String.format("%-14s %10s %10.1f ns/call", "incBeta(x,..)", "",
+                time(erfInvArgs, n, (x) -> ProbMath.incompleteBeta(2.5, 3.5, 0.5 + 0.5 * x))));
+    }
+
+    /**
+     * Time the earlier and the current implementation of a function, and print the results.
+     * @param name the name of the function
+     * @param args the arguments
+     * @param n the number of calls
+     * @param legacy the earlier implementation
+     * @param current the current implementation
+     */
+    private static void compare(final String name, final double[] args, final int n, final DoubleUnaryOperator legacy,
+            final DoubleUnaryOperator current)
+    {
+        time(args, n, legacy);
+        time(args, n, current);
+        System.out.println(String.format("%-14s %10.1f %10.1f ns/call (earlier, current)", name, time(args, n, legacy),
+                time(args, n, current)));
+    }
+
+    /**
+     * Call a function n times, cycling through the arguments.
+     * @param args the arguments, with a length that is a power of 2
+     * @param n the number of calls
+     * @param f the function
+     * @return the time per call in nanoseconds
+     */
+    private static double time(final double[] args, final int n, final DoubleUnaryOperator f)
+    {
+        double sum = 0.0;
+        int mask = args.length - 1;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < n; i++)
+        {
+            sum += f.applyAsDouble(args[i & mask]);
+        }
+        long t1 = System.nanoTime();
+        if (sum == Math.PI)
+        {
+            System.out.println(sum);
+        }
+        return (t1 - t0) / (double) n;
+    }
+
+    /**
+     * The earlier erf(z), with a Taylor series around 0 for |z| &lt; 0.5, an asymptotic series for |z| &gt; 3.8, and the
+     * Taylor series of erf(z) in between.
+     * @param z the argument
+     * @return erf(z)
+     */
+    static double legacyErf(final double z)
+    {
+        double zpos = Math.abs(z);
+        if (zpos < 0.5)
+        {
+            double sum = zpos + 2.0 * Math.pow(zpos, 3) / 3.0 + 4.0 * Math.pow(zpos, 5) / 15.0
+                    + 8.0 * Math.pow(zpos, 7) / 105.0 + 16.0 * Math.pow(zpos, 9) / 945.0
+                    + 32.0 * Math.pow(zpos, 11) / 10395.0 + 64.0 * Math.pow(zpos, 13) / 135135.0
+                    + 128.0 * Math.pow(zpos, 15) / 2027025.0 + 256.0 * Math.pow(zpos, 17) / 34459425.0
+                    + 512.0 * Math.pow(zpos, 19) / 654729075.0 + 1024.0 * Math.pow(zpos, 21) / 13749310575.0;
+            return Math.signum(z) * sum * 2.0 * Math.exp(-zpos * zpos) / Math.sqrt(Math.PI);
+        }
+        if (zpos > 3.8)
+        {
+            double sum = 1.0 / zpos - (1.0 / 2.0) * Math.pow(zpos, -3) + (3.0 / 4.0) * Math.pow(zpos, -5)
+                    - (15.0 / 8.0) * Math.pow(zpos, -7) + (105.0 / 16.0) * Math.pow(zpos, -9)
+                    - (945.0 / 32.0) * Math.pow(zpos, -11) + (10395.0 / 64.0) * Math.pow(zpos, -13)
+                    - (135135.0 / 128.0) * Math.pow(zpos, -15) + (2027025.0 / 256.0) * Math.pow(zpos, -17);
+            return Math.signum(z) * (1.0 - sum * Math.exp(-zpos * zpos) / Math.sqrt(Math.PI));
+        }
+        double d = zpos;
+        double zpow = zpos;
+        for (int i = 1; i < 64; i++)
+        {
+            zpow *= zpos * zpos;
+            double term = zpow / ((2.0 * i + 1.0) * ProbMath.factorial(i));
+            d += term * ((i & 1) == 0 ? 1 : -1);
+            if (term < 1E-16)
+            {
+                break;
+            }
+        }
+        return Math.signum(z) * d * 2.0 / Math.sqrt(Math.PI);
+    }
+
+    /**
+     * The earlier erfInv(y), with the rational approximations of Blair et al. with a relative error of about 4E-8.
+     * @param y the argument
+     * @return erfInv(y)
+     */
+    static double legacyErfInv(final double y)
+    {
+        double ax = Math.abs(y);
+        double t;
+        double ret;
+        if (ax <= 0.75)
+        {
+            double[] p = new double[] {-13.0959967422, 26.785225760, -9.289057635};
+            double[] q = new double[] {-12.0749426297, 30.960614529, -17.149977991, 1.00000000};
+            t = ax * ax - 0.75 * 0.75;
+            ret = ax * (p[0] + t * (p[1] + t * p[2])) / (q[0] + t * (q[1] + t * (q[2] + t * q[3])));
+        }
+        else if (ax <= 0.9375)
+        {
+            double[] p = new double[] {-.12402565221, 1.0688059574, -1.9594556078, .4230581357};
+            double[] q = new double[] {-.08827697997, .8900743359, -2.1757031196, 1.0000000000};
+            t = ax * ax - 0.9375 * 0.9375;
+            ret = ax * (p[0] + t * (p[1] + t * (p[2] + t * p[3]))) / (q[0] + t * (q[1] + t * (q[2] + t * q[3])));
+        }
+        else if (ax <= (1.0 - 1.0e-9))
+        {
+            double[] p =
+                    new double[] {.1550470003116, 1.382719649631, .690969348887, -1.128081391617, .680544246825, -.16444156791};
+            double[] q = new double[] {.155024849822, 1.385228141995, 1.000000000000};
+            t = 1.0 / Math.sqrt(-Math.log(1.0 - ax));
+            ret = (p[0] / t + p[1] + t * (p[2] + t * (p[3] + t * (p[4] + t * p[5])))) / (q[0] + t * (q[1] + t * (q[2])));
+        }
+        else
+        {
+            ret = Double.POSITIVE_INFINITY;
+        }
+        return Math.signum(y) * ret;
+    }
+
+    /**
+     * The earlier gammaln(x), with the Lanczos approximation of Numerical Recipes in C, p.214.
+     * @param xx the argument
+     * @return ln(gamma(x))
+     */
+    static double legacyGammaln(final double xx)
+    {
+        double y = xx;
+        double tmp = xx + 5.5;
+        tmp -= (xx + 0.5) * Math.log(tmp);
+        double ser = 1.000000000190015;
+        for (int j = 0; j <= 5; j++)
+        {
+            ser += GAMMALN_COF[j] / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * ser / xx);
+    }
+
+}
@@ -228,4 +228,208 @@ public class ProbMathTest
         }, "beta(1, -1)", IllegalArgumentException.class);
 
     }
+
+    /**
+     * Test the erf, erfc, erfInv and erfcInv functions against reference values that were calculated with 22 significant
+     * digits. The arguments are the double values closest to the given decimal values.
+     */
+    @Test
+    public void testErfPrecision()
+    {
+        double[][] erf = {
+                {1.0E-10, 1.128379167095512615002E-10}, {0.01, 1.128341555584961715078E-2}, {0.1, 1.124629160182848984047E-1},
+                {0.3, 3.286267594591274161896E-1}, {0.49, 5.116682611885230913289E-1}, {0.5, 5.204998778130465376827E-1},
+                {0.7, 6.778011938374184422769E-1}, {1, 8.427007929497148693412E-1}, {1.3, 9.340079449406524458502E-1},
+                {1.7, 9.837904585907745608413E-1}, {2, 9.953222650189527341621E-1}, {2.5, 9.995930479825550410604E-1},
+                {3, 9.999779095030014145586E-1}, {3.5, 9.999992569016276585873E-1}, {4, 9.999999845827420997200E-1},
+                {5, 9.999999999984625402056E-1}, {-0.75, -7.111556336535151315989E-1}};
+        for (double[] r : erf)
+        {
+            assertUlp(r[1], ProbMath.erf(r[0]), 4, "erf(" + r[0] + ")");
+        }
+        double[][] erfc = {
+                {0.1, 8.875370839817151015953E-1}, {0.5, 4.795001221869534623173E-1}, {0.8, 2.578990352923394874102E-1},
+                {1, 1.572992070502851306588E-1}, {1.5, 3.389485352468927293302E-2}, {2, 4.677734981047265837931E-3},
+                {3, 2.209049699858544137278E-5}, {4, 1.541725790028001885216E-8}, {5, 1.537459794428034850188E-12},
+                {6, 2.151973671249891311659E-17}, {8, 1.122429717298292707997E-29}, {10, 2.088487583762544757001E-45},
+                {15, 7.212994172451206666565E-100}, {20, 5.395865611607900928935E-176}, {26, 5.663192408856142846476E-296},
+                {-1, 1.842700792949714869341}, {-3, 1.999977909503001414559}};
+        for (double[] r : erfc)
+        {
+            assertUlp(r[1], ProbMath.erfc(r[0]), 4, "erfc(" + r[0] + ")");
+        }
+        double[][] erfInv = {
+                {1.0E-10, 8.862269254527580459386E-11}, {0.1, 8.885599049425769197428E-2}, {0.3, 2.724627147267543450247E-1},
+                {0.5, 4.769362762044698733814E-1}, {0.7, 7.328690779592167848788E-1}, {0.9, 1.163087153676674162844},
+                {0.99, 1.821386367718449455873}, {0.999999, 3.458910737275498777532},
+                {0.999999999999, 5.042031898572696130053}};
+        for (double[] r : erfInv)
+        {
+            assertUlp(r[1], ProbMath.erfInv(r[0]), 4, "erfInv(" + r[0] + ")");
+            assertUlp(-r[1], ProbMath.erfInv(-r[0]), 4, "erfInv(" + -r[0] + ")");
+        }
+        double[][] erfcInv = {
+                {1.0E-300, 2.620946996051612388552E1}, {1.0E-100, 1.506557470259264570374E1},
+                {1.0E-20, 6.601580622355142565624}, {1.0E-5, 3.123413274340875017740}, {0.3, 7.328690779592168690538E-1},
+                {0.9, 8.885599049425766718156E-2}};
+        for (double[] r : erfcInv)
+        {
+            assertUlp(r[1], ProbMath.erfcInv(r[0]), 4, "erfcInv(" + r[0] + ")");
+        }
+        assertEquals(0.0, ProbMath.erfcInv(1.0), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, ProbMath.erfInv(-1.0), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, ProbMath.erfcInv(0.0), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, ProbMath.erfcInv(2.0), 0.0);
+        // boundary values: infinite with the sign of the argument for |y| >= 1, as in the earlier implementation
+        assertEquals(Double.POSITIVE_INFINITY, ProbMath.erfInv(1.0), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, ProbMath.erfInv(1.5), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, ProbMath.erfInv(-1.5), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, ProbMath.erfInv(Double.POSITIVE_INFINITY), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, ProbMath.erfInv(Double.NEGATIVE_INFINITY), 0.0);
+        assertTrue(Double.isNaN(ProbMath.erfInv(Double.NaN)));
+        assertTrue(Double.isFinite(ProbMath.erfInv(Math.nextDown(1.0))));
+        assertTrue(Double.isFinite(ProbMath.erfInv(Math.nextUp(-1.0))));
+        assertTrue(Double.isNaN(ProbMath.erfcInv(-0.5)));
+        assertEquals(0.0, ProbMath.erfc(30.0), 0.0);
+        assertEquals(2.0, ProbMath.erfc(-30.0), 0.0);
+
+        // round trip over the whole domain
+        for (double y = -0.999; y < 1.0; y += 0.001)
+        {
+            assertEquals(y, ProbMath.erf(ProbMath.erfInv(y)), 2.0 * Math.ulp(1.0), "erf(erfInv(" + y + "))");
+        }
+        for (double q = 1.0E-300; q < 0.5; q *= 10.0)
+        {
+            // a relative error e in x gives a relative error of about 2 x^2 e in erfc(x)
+            double x = ProbMath.erfcInv(q);
+            assertEquals(q, ProbMath.erfc(x), 4.0 * Math.ulp(1.0) * q * (1.0 + 2.0 * x * x), "erfc(erfcInv(" + q + "))");
+        }
+    }
+
+    /**
+     * Test the gammaln, gamma and beta functions against reference values that were calculated with 22 significant digits.
+     */
+    @Test
+    public void testGammaPrecision()
+    {
+        double[][] gammaln = {
+                {1.0E-5, 1.151291969289582562562E1}, {0.1, 2.252712651734205902006}, {0.5, 5.723649429247000870717E-1},
+                {0.9, 6.637623973474295442597E-2}, {0.999, 5.780385328913802381689E-4}, {1.001, -5.763935982833061515192E-4},
+                {1.5, -1.207822376352452223455E-1}, {2.001, 4.231067348001169911903E-4}, {2.7, 4.348205536551046732418E-1},
+                {3.3, 9.870985778947344040573E-1}, {5.5, 3.957813967618716293877}, {7, 6.579251212010100995060},
+                {9.9, 1.257717990421987968421E1}, {10, 1.280182748008146961121E1}, {20.5, 4.083150097453079810978E1},
+                {100, 3.591342053695753987760E2}, {1.0E5, 1.051287708973656894901E6}, {1.0E10, 2.202585092888105814700E11}};
+        for (double[] r : gammaln)
+        {
+            assertUlp(r[1], ProbMath.gammaln(r[0]), 4, "gammaln(" + r[0] + ")");
+        }
+        double[][] gamma = {
+                {1.0E-5, 9.999942279422555949319E4}, {0.1, 9.513507698668731285808}, {0.5, 1.772453850905516027298},
+                {0.3333333333333333, 2.678938534707747788912}, {1.4616321449683622, 8.856031944108887002788E-1},
+                {2.5, 1.329340388179137020474}, {4.5, 1.163172839656744892914E1}, {9.5, 1.192924619946090070878E5},
+                {10.5, 1.133278388948785567335E6}, {25.3, 1.622777117670876574903E24}, {100.5, 9.320963104082716608349E156},
+                {170.5, 5.562092414559999610706E305}};
+        for (double[] r : gamma)
+        {
+            assertUlp(r[1], ProbMath.gamma(r[0]), 4, "gamma(" + r[0] + ")");
+        }
+        assertEquals(Double.POSITIVE_INFINITY, ProbMath.gamma(172.0), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, ProbMath.gammaln(0.0), 0.0);
+
+        // the relative error of beta(z, w) is dominated by the rounding of z + w
+        double[][] beta = {
+                {0.5, 0.5, 3.141592653589793238463}, {2.5, 3.5, 3.681553890925538951323E-2},
+                {0.1, 20, 7.066775793003369317990}, {50, 60, 5.842564390641766217235E-34},
+                {100.5, 200.25, 1.879257192717390533081E-84}, {1.0E-3, 150, 9.944318646522605161340E2}};
+        for (double[] r : beta)
+        {
+            assertEquals(r[2], ProbMath.beta(r[0], r[1]), 2.0E-13 * r[2], "beta(" + r[0] + ", " + r[1] + ")");
+        }
+    }
+
+    /**
+     * Test the regularized incomplete gamma and beta functions against reference values that were calculated with 22
+     * significant digits.
+     */
+    @Test
+    public void testIncompleteGammaBeta()
+    {
+        double[][] gammaP = {
+                {0.5, 0.1, 3.452791539814229795582E-1}, {0.5, 2, 9.544997361036415855994E-1},
+                {3, 1, 8.030139707139419601119E-2}, {3, 10, 9.972306042844884240563E-1}, {10, 5, 3.182805730620481173719E-2},
+                {10, 15, 9.301463393005902323077E-1}, {100, 90, 1.582209891864301681050E-1},
+                {100, 120, 9.721362601094793385158E-1}, {2.5, 0.001, 9.508534598607949813572E-9}};
+        for (double[] r : gammaP)
+        {
+            assertEquals(r[2], ProbMath.incompleteGammaP(r[0], r[1]), 1.0E-13 * r[2], "P(" + r[0] + ", " + r[1] + ")");
+            assertEquals(1.0 - r[2], ProbMath.incompleteGammaQ(r[0], r[1]), 1.0E-13, "Q(" + r[0] + ", " + r[1] + ")");
+        }
+        assertEquals(0.0, ProbMath.incompleteGammaP(2.0, 0.0), 0.0);
+        assertEquals(1.0, ProbMath.incompleteGammaQ(2.0, 0.0), 0.0);
+        // Q(1, x) = exp(-x) in the far tail
+        assertEquals(Math.exp(-500.0), ProbMath.incompleteGammaQ(1.0, 500.0), 1.0E-13 * Math.exp(-500.0));
+
+        double[][] betaI = {
+                {0.5, 0.5, 0.3, 3.690101195655453750437E-1}, {2, 3, 0.4, 5.248000000000000383693E-1},
+                {2, 3, 0.9, 9.963000000000000023981E-1}, {10, 20, 0.3, 3.640040810719442277549E-1},
+                {0.2, 5, 0.05, 7.860696357872412197922E-1}, {50, 40, 0.6, 8.011534179744886163197E-1},
+                {5, 0.5, 0.8, 1.449276054040804701410E-1}};
+        for (double[] r : betaI)
+        {
+            assertEquals(r[3], ProbMath.incompleteBeta(r[0], r[1], r[2]), 1.0E-13 * r[3],
+                    "I(" + r[0] + ", " + r[1] + ", " + r[2] + ")");
+            assertEquals(1.0 - r[3], ProbMath.incompleteBeta(r[1], r[0], 1.0 - r[2]), 1.0E-13,
+                    "I(" + r[1] + ", " + r[0] + ", " + (1.0 - r[2]) + ")");
+        }
+        assertEquals(0.0, ProbMath.incompleteBeta(2.0, 3.0, 0.0), 0.0);
+        assertEquals(1.0, ProbMath.incompleteBeta(2.0, 3.0, 1.0), 0.0);
+
+        UnitTest.testFail(() -> ProbMath.incompleteGammaP(0.0, 1.0), IllegalArgumentException.class);
+        UnitTest.testFail(() -> ProbMath.incompleteGammaQ(1.0, -1.0), IllegalArgumentException.class);
+        UnitTest.testFail(() -> ProbMath.incompleteBeta(1.0, 0.0, 0.5), IllegalArgumentException.class);
+        UnitTest.testFail(() -> ProbMath.incompleteBeta(1.0, 1.0, 1.5), IllegalArgumentException.class);
+    }
+
+    /**
+     * Test the digamma and trigamma functions against reference values that were calculated with 22 significant digits.
+     */
+    @Test
+    public void testDigamma()
+    {
+        double[][] psi = {
+                {1.0E-5, -1.000005771992156810690E5, 1.000000000164491002603E10},
+                {0.1, -1.042375494041107679517E1, 1.014332991507927588172E2},
+                {0.5, -1.963510026021423479441, 4.934802200544679309417},
+                {1.0, -5.772156649015328606065E-1, 1.644934066848226436472},
+                {1.4616321449683622, -1.366959549572251691166E-16, 9.676722454476212955193E-1},
+                {2.5, 7.031566406452431872257E-1, 4.903577561002348649728E-1},
+                {7.3, 1.917820335637986098368, 1.467957681314270981644E-1},
+                {10.0, 2.251752589066721107647, 1.051663356816857461222E-1},
+                {25.5, 3.218942472883919766545, 3.999466964956292403652E-2},
+                {1000.0, 6.907255195648812052050, 1.000500166666633333357E-3},
+                {1.0E8, 1.842068073895236546381E1, 1.000000005000000016667E-8}};
+        for (double[] r : psi)
+        {
+            // the absolute error of digamma is a few ulp of max(1, |psi(x)|)
+            assertEquals(r[1], ProbMath.digamma(r[0]), 4 * Math.ulp(Math.max(1.0, Math.abs(r[1]))), "digamma(" + r[0] + ")");
+            assertUlp(r[2], ProbMath.trigamma(r[0]), 4, "trigamma(" + r[0] + ")");
+        }
+        // the recurrence relations
+        assertEquals(ProbMath.digamma(3.7) - 1.0 / 2.7, ProbMath.digamma(2.7), 1.0E-15);
+        assertEquals(ProbMath.trigamma(3.7) + 1.0 / (2.7 * 2.7), ProbMath.trigamma(2.7), 1.0E-15);
+        UnitTest.testFail(() -> ProbMath.digamma(0.0), IllegalArgumentException.class);
+        UnitTest.testFail(() -> ProbMath.trigamma(-1.5), IllegalArgumentException.class);
+    }
+
+    /**
+     * Assert that the actual value is within a number of ulp of the expected value.
+     * @param expected the expected value
+     * @param actual the actual value
+     * @param maxUlp the maximum number of ulp difference
+     * @param message the message when the assertion fails
+     */
+    private static void assertUlp(final double expected, final double actual, final int maxUlp, final String message)
+    {
+        assertEquals(expected, actual, maxUlp * Math.ulp(expected), message);
+    }
 }
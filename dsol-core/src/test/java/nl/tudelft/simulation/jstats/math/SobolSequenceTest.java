@@ -0,0 +1,83 @@
+package nl.tudelft.simulation.jstats.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The tests for the SobolSequence class.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class SobolSequenceTest
+{
+    /**
+     * Test the first points and the stratification of the sequence.
+     */
+    @Test
+    public void testSobol()
+    {
+        UnitTest.testFail(() -> new SobolSequence(0));
+        UnitTest.testFail(() -> new SobolSequence(SobolSequence.MAX_DIMENSION + 1));
+
+        SobolSequence sobol = new SobolSequence(SobolSequence.MAX_DIMENSION);
+        assertEquals(SobolSequence.MAX_DIMENSION, sobol.getDimension());
+        double[] p0 = sobol.nextPoint();
+        double[] p1 = sobol.nextPoint();
+        double[] p2 = sobol.nextPoint();
+        for (int d = 0; d < sobol.getDimension(); d++)
+        {
+            assertEquals(0.0, p0[d], 0.0);
+            assertEquals(0.5, p1[d], 0.0);
+        }
+        // known values of the third point for dimensions 1 and 2
+        assertEquals(0.75, p2[0], 0.0);
+        assertEquals(0.25, p2[1], 0.0);
+        assertEquals(3, sobol.getIndex());
+
+        // the first 2^m points are stratified in every dimension
+        int n = 1024;
+        sobol.reset();
+        boolean[][] hit = new boolean[sobol.getDimension()][n];
+        double[] point = new double[sobol.getDimension()];
+        for (int i = 0; i < n; i++)
+        {
+            sobol.nextPoint(point);
+            for (int d = 0; d < sobol.getDimension(); d++)
+            {
+                assertTrue(point[d] >= 0.0 && point[d] < 1.0);
+                int stratum = (int) (point[d] * n);
+                assertTrue(!hit[d][stratum], "dimension " + d + " stratum " + stratum + " hit twice");
+                hit[d][stratum] = true;
+            }
+        }
+
+        // skip should give the same points as generating them
+        SobolSequence s1 = new SobolSequence(5);
+        SobolSequence s2 = new SobolSequence(5);
+        for (int i = 0; i < 77; i++)
+        {
+            s1.nextPoint();
+        }
+        s2.skip(77);
+        assertEquals(77, s2.getIndex());
+        for (int i = 0; i < 50; i++)
+        {
+            double[] a = s1.nextPoint();
+            double[] b = s2.nextPoint();
+            for (int d = 0; d < 5; d++)
+            {
+                assertEquals(a[d], b[d], 0.0);
+            }
+        }
+        UnitTest.testFail(() -> s2.skip(-1));
+        UnitTest.testFail(() -> s2.nextPoint(new double[2]));
+    }
+}
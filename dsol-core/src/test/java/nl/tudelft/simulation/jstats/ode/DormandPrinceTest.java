@@ -0,0 +1,228 @@
+package nl.tudelft.simulation.jstats.ode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.jstats.math.ProbMath;
+import nl.tudelft.simulation.jstats.ode.integrators.DormandPrince;
+import nl.tudelft.simulation.jstats.ode.integrators.NumericalIntegratorType;
+
+/**
+ * DormandPrinceTest tests the adaptive steps, the error control and the dense output of the DormandPrince integrator, and the
+ * adaptive integration of a DifferentialEquation.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class DormandPrinceTest
+{
+    /**
+     * Test the adaptive steps on the harmonic oscillator y" = -y, with y(0) = 0 and y'(0) = 1, so y = sin(x).
+     */
+    @Test
+    public void testAccuracy()
+    {
+        for (double tolerance : new double[] {1.0E-4, 1.0E-6, 1.0E-8, 1.0E-10})
+        {
+            DormandPrince dp = new DormandPrince(0.01, new Oscillator());
+            dp.setTolerances(tolerance, tolerance);
+            double[] y = new double[] {0.0, 1.0};
+            double x = 0.0;
+            while (x < 10.0)
+            {
+                x = dp.step(x, y, 10.0);
+            }
+            assertEquals(10.0, x, 0.0);
+            // the global error is a modest multiple of the tolerance of the local error
+            assertEquals(Math.sin(10.0), y[0], 100.0 * tolerance, "tolerance " + tolerance);
+            assertEquals(Math.cos(10.0), y[1], 100.0 * tolerance, "tolerance " + tolerance);
+            assertEquals(1 + 6 * (dp.getAcceptedSteps() + dp.getRejectedSteps()), dp.getEvaluations());
+        }
+    }
+
+    /**
+     * Test that the step size grows large when the state is smooth, and becomes small at a fast transient.
+     */
+    @Test
+    public void testStepSizeControl()
+    {
+        DormandPrince dp = new DormandPrince(1.0E-3, new Pulse());
+        dp.setMaxStepSize(10.0);
+        double[] y = new double[] {0.0};
+        double x = 0.0;
+        double minStep = Double.POSITIVE_INFINITY;
+        double maxStep = 0.0;
+        while (x < 100.0)
+        {
+            double xNew = dp.step(x, y, 100.0);
+            // leave out the first trial steps and the last step that is shortened to the limit
+            if (x > 10.0 && xNew < 100.0)
+            {
+                minStep = Math.min(minStep, xNew - x);
+                maxStep = Math.max(maxStep, xNew - x);
+            }
+            x = xNew;
+        }
+        assertEquals(Pulse.exact(100.0), y[0], 1.0E-4);
+        assertTrue(maxStep > 1.0, "max step " + maxStep);
+        assertTrue(minStep < 0.5, "min step " + minStep);
+        assertTrue(dp.getAcceptedSteps() < 100, "accepted steps " + dp.getAcceptedSteps());
+
+        dp.setMaxStepSize(0.5);
+        dp.reset();
+        y[0] = 0.0;
+        x = 0.0;
+        while (x < 100.0)
+        {
+            double xNew = dp.step(x, y, 100.0);
+            assertTrue(xNew - x <= 0.5);
+            x = xNew;
+        }
+        assertThrows(IllegalArgumentException.class, () -> dp.setMaxStepSize(0.0));
+        assertThrows(IllegalArgumentException.class, () -> dp.setTolerances(-1.0, 1.0E-6));
+        assertThrows(IllegalArgumentException.class, () -> dp.setTolerances(0.0, 0.0));
+    }
+
+    /**
+     * Test the dense output within a step against the exact solution, and that a negative step size integrates backwards.
+     */
+    @Test
+    public void testDenseOutput()
+    {
+        DormandPrince dp = new DormandPrince(0.1, new Oscillator());
+        assertThrows(IllegalStateException.class, () -> dp.interpolate(0.0, new double[2]));
+        dp.setTolerances(1.0E-10, 1.0E-10);
+        double[] y = new double[] {0.0, 1.0};
+        double[] yi = new double[2];
+        double x = 0.0;
+        while (x < 5.0)
+        {
+            double xNew = dp.step(x, y, 5.0);
+            for (int i = 0; i <= 10; i++)
+            {
+                double xi = x + i * (xNew - x) / 10.0;
+                dp.interpolate(xi, yi);
+                assertEquals(Math.sin(xi), yi[0], 1.0E-7, "x = " + xi);
+                assertEquals(Math.cos(xi), yi[1], 1.0E-7, "x = " + xi);
+            }
+            x = xNew;
+        }
+
+        DormandPrince backwards = new DormandPrince(-0.1, new Oscillator());
+        y = new double[] {0.0, 1.0};
+        x = 0.0;
+        while (x > -3.0)
+        {
+            x = backwards.step(x, y, -3.0);
+        }
+        assertEquals(-3.0, x, 0.0);
+        assertEquals(Math.sin(-3.0), y[0], 1.0E-4);
+    }
+
+    /**
+     * Test that a DifferentialEquation with the DORMANDPRINCE integrator interpolates values within the adaptive steps, and
+     * restarts after initialize.
+     */
+    @Test
+    public void testDifferentialEquation()
+    {
+        OscillatorEquation equation = new OscillatorEquation();
+        DormandPrince dp = (DormandPrince) equation.getIntegrator();
+        for (double x = 0.01; x <= 10.0; x += 0.01)
+        {
+            double[] y = equation.y(x);
+            assertEquals(Math.sin(x), y[0], 1.0E-4, "x = " + x);
+        }
+        // the values at 1000 points do not need 1000 steps
+        assertTrue(dp.getAcceptedSteps() < 200, "accepted steps " + dp.getAcceptedSteps());
+
+        equation.initialize(0.0, new double[] {1.0, 0.0});
+        double[] y = equation.y(2.0);
+        assertEquals(Math.cos(2.0), y[0], 1.0E-4);
+        assertEquals(-Math.sin(2.0), y[1], 1.0E-4);
+    }
+
+    /** The harmonic oscillator y" = -y. */
+    static class Oscillator implements DifferentialEquationInterface
+    {
+        @Override
+        public void initialize(final double x0, final double[] y0)
+        {
+            // not used
+        }
+
+        @Override
+        public double[] y(final double x)
+        {
+            return null;
+        }
+
+        @Override
+        public double[] dy(final double x, final double[] y)
+        {
+            return new double[] {y[1], -y[0]};
+        }
+    }
+
+    /** The oscillator as a DifferentialEquation. */
+    static class OscillatorEquation extends DifferentialEquation
+    {
+        /** Create the equation with y(0) = 0 and y'(0) = 1. */
+        OscillatorEquation()
+        {
+            super(0.01, NumericalIntegratorType.DORMANDPRINCE);
+            initialize(0.0, new double[] {0.0, 1.0});
+        }
+
+        @Override
+        public double[] dy(final double x, final double[] y)
+        {
+            return new double[] {y[1], -y[0]};
+        }
+    }
+
+    /** y' = g(x) with a gaussian pulse g around x = 50 on a small constant background. */
+    static class Pulse implements DifferentialEquationInterface
+    {
+        /** the width of the pulse. */
+        static final double WIDTH = 0.5;
+
+        /**
+         * Return the exact solution for y(0) = 0.
+         * @param x the x value
+         * @return the exact solution
+         */
+        static double exact(final double x)
+        {
+            return 0.01 * x + 0.5 * (1.0 + ProbMath.erf((x - 50.0) / (WIDTH * Math.sqrt(2.0))))
+                    - 0.5 * (1.0 + ProbMath.erf(-50.0 / (WIDTH * Math.sqrt(2.0))));
+        }
+
+        @Override
+        public void initialize(final double x0, final double[] y0)
+        {
+            // not used
+        }
+
+        @Override
+        public double[] y(final double x)
+        {
+            return null;
+        }
+
+        @Override
+        public double[] dy(final double x, final double[] y)
+        {
+            double z = (x - 50.0) / WIDTH;
+            return new double[] {0.01 + Math.exp(-0.5 * z * z) / (WIDTH * Math.sqrt(2.0 * Math.PI))};
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+package nl.tudelft.simulation.jstats.ode;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.jstats.ode.integrators.NumericalIntegrator;
+import nl.tudelft.simulation.jstats.ode.integrators.NumericalIntegratorType;
+
+/**
+ * InPlaceIntegratorTest tests that the in-place integration with next(x, y, yOut) and dy(x, y, dyOut) gives the same values as
+ * the integration that allocates arrays, also when yOut is the same array as y, and that it does not allocate arrays.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class InPlaceIntegratorTest
+{
+    /**
+     * Test that all integrators give the same values for the allocating and the in-place integration.
+     */
+    @Test
+    public void testInPlaceEqualsAllocating()
+    {
+        int n = 50;
+        for (NumericalIntegratorType type : NumericalIntegratorType.values())
+        {
+            NumericalIntegrator allocating = type.getInstance(0.01, new Chain(false));
+            NumericalIntegrator inPlace = type.getInstance(0.01, new Chain(true));
+            NumericalIntegrator aliased = type.getInstance(0.01, new Chain(true));
+            double[] y1 = Chain.initial(n);
+            double[] y2 = Chain.initial(n);
+            double[] y2Out = new double[n];
+            double[] y3 = Chain.initial(n);
+            double x = 0.0;
+            for (int step = 0; step < 200; step++)
+            {
+                y1 = allocating.next(x, y1);
+                inPlace.next(x, y2, y2Out);
+                double[] swap = y2;
+                y2 = y2Out;
+                y2Out = swap;
+                aliased.next(x, y3, y3);
+                x += 0.01;
+            }
+            assertArrayEquals(y1, y2, 0.0, type.toString());
+            assertArrayEquals(y1, y3, 0.0, type.toString());
+            if (allocating.getError() != null)
+            {
+                assertArrayEquals(allocating.getError(), inPlace.getError(), 0.0, type.toString());
+            }
+        }
+    }
+
+    /**
+     * Test that the in-place integration does not allocate arrays after the first steps, when the equation implements
+     * dy(x, y, dyOut). The test is skipped when the JVM does not measure the allocated memory per thread.
+     */
+    @Test
+    public void testAllocationFree()
+    {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported())
+        {
+            return;
+        }
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) bean;
+        int n = 1000;
+        for (NumericalIntegratorType type : NumericalIntegratorType.values())
+        {
+            NumericalIntegrator integrator = type.getInstance(0.001, new Chain(true));
+            double[] y = Chain.initial(n);
+            double x = 0.0;
+            for (int step = 0; step < 10; step++)
+            {
+                integrator.next(x, y, y);
+                x += 0.001;
+            }
+            long bytes = allocation.getThreadAllocatedBytes(Thread.currentThread().getId());
+            for (int step = 0; step < 1000; step++)
+            {
+                integrator.next(x, y, y);
+                x += 0.001;
+            }
+            bytes = allocation.getThreadAllocatedBytes(Thread.currentThread().getId()) - bytes;
+            // one array per step would allocate 8 MB
+            assertTrue(bytes < 100_000, type + " allocated " + bytes + " bytes in 1000 steps");
+        }
+    }
+
+    /**
+     * Test that a DifferentialEquation gives the same values for an equation with and without dy(x, y, dyOut), and that it
+     * does not change the initial value array.
+     */
+    @Test
+    public void testDifferentialEquation()
+    {
+        for (NumericalIntegratorType type : NumericalIntegratorType.values())
+        {
+            double[] y0 = Chain.initial(20);
+            ChainEquation allocating = new ChainEquation(type, false, y0.clone());
+            ChainEquation inPlace = new ChainEquation(type, true, y0);
+            for (double x = 0.25; x <= 2.0; x += 0.25)
+            {
+                double[] y = inPlace.y(x);
+                assertArrayEquals(allocating.y(x), y, 0.0, type + ", x = " + x);
+                assertTrue(y == inPlace.y(x));
+            }
+            assertArrayEquals(Chain.initial(20), y0, 0.0, type.toString());
+            assertEquals(2.0, inPlace.lastX, 0.0);
+        }
+    }
+
+    /** Chain of variables with y'[i] = y[i-1] - 2 y[i] + y[i+1], i.e., a discretized heat equation. */
+    static class Chain implements DifferentialEquationInterface
+    {
+        /** whether the equation implements dy(x, y, dyOut), or only the allocating dy(x, y). */
+        private final boolean inPlace;
+
+        /**
+         * @param inPlace whether the equation implements dy(x, y, dyOut)
+         */
+        Chain(final boolean inPlace)
+        {
+            this.inPlace = inPlace;
+        }
+
+        /**
+         * Return the initial values.
+         * @param n the number of variables
+         * @return the initial values
+         */
+        static double[] initial(final int n)
+        {
+            double[] y = new double[n];
+            for (int i = 0; i < n; i++)
+            {
+                y[i] = Math.sin(0.1 * i) + (i % 7 == 0 ? 1.0 : 0.0);
+            }
+            return y;
+        }
+
+        /**
+         * Calculate the derivatives of the chain.
+         * @param y the values
+         * @param dyOut the derivatives
+         */
+        static void derivatives(final double[] y, final double[] dyOut)
+        {
+            int n = y.length;
+            for (int i = 0; i < n; i++)
+            {
+                dyOut[i] = (i > 0 ? y[i - 1] : 0.0) - 2.0 * y[i] + (i < n - 1 ? y[i + 1] : 0.0);
+            }
+        }
+
+        @Override
+        public void initialize(final double x0, final double[] y0)
+        {
+            // not used
+        }
+
+        @Override
+        public double[] y(final double x)
+        {
+            return null;
+        }
+
+        @Override
+        public double[] dy(final double x, final double[] y)
+        {
+            double[] dy = new double[y.length];
+            derivatives(y, dy);
+            return dy;
+        }
+
+        @Override
+        public void dy(final double x, final double[] y, final double[] dyOut)
+        {
+            if (this.inPlace)
+            {
+                derivatives(y, dyOut);
+            }
+            else
+            {
+                DifferentialEquationInterface.super.dy(x, y, dyOut);
+            }
+        }
+    }
+
+    /** Chain as a DifferentialEquation. */
+    static class ChainEquation extends DifferentialEquation
+    {
+        /** whether the equation implements dy(x, y, dyOut), or only the allocating dy(x, y). */
+        private final boolean inPlace;
+
+        /**
+         * @param type the integrator type
+         * @param inPlace whether the equation implements dy(x, y, dyOut)
+         * @param y0 the initial values
+         */
+        ChainEquation(final NumericalIntegratorType type, final boolean inPlace, final double[] y0)
+        {
+            super(0.01, type);
+            this.inPlace = inPlace;
+            initialize(0.0, y0);
+        }
+
+        @Override
+        public double[] dy(final double x, final double[] y)
+        {
+            double[] dy = new double[y.length];
+            Chain.derivatives(y, dy);
+            return dy;
+        }
+
+        @Override
+        public void dy(final double x, final double[] y, final double[] dyOut)
+        {
+            if (this.inPlace)
+            {
+                Chain.derivatives(y, dyOut);
+            }
+            else
+            {
+                super.dy(x, y, dyOut);
+            }
+        }
+    }
+
+}
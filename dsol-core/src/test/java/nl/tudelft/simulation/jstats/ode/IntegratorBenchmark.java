@@ -0,0 +1,89 @@
+package nl.tudelft.simulation.jstats.ode;
+
+import java.lang.management.ManagementFactory;
+
+import nl.tudelft.simulation.jstats.ode.integrators.NumericalIntegrator;
+import nl.tudelft.simulation.jstats.ode.integrators.NumericalIntegratorType;
+
+/**
+ * The IntegratorBenchmark measures the time and the allocated memory per step of all integrators, for the allocating API,
+ * where the equation returns a new array from dy(x, y) and the integrator returns a new array from next(x, y), and for the
+ * in-place API, where the equation implements dy(x, y, dyOut) and the state is updated with next(x, y, y). The equation is a
+ * chain of variables, y'[i] = y[i-1] - 2 y[i] + y[i+1]. The benchmark can be started with the number of variables and the
+ * number of steps as arguments.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class IntegratorBenchmark
+{
+    /** Utility class. */
+    private IntegratorBenchmark()
+    {
+        // utility class
+    }
+
+    /**
+     * Run the benchmark.
+     * @param args optional: the number of variables, and the number of steps
+     */
+    public static void main(final String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        System.out.println(String.format("%d variables, %d steps", n, steps));
+        System.out.println(String.format("%-20s %14s %14s %14s %14s", "integrator", "alloc ns/step", "alloc B/step",
+                "inplace ns/step", "inplace B/step"));
+        for (NumericalIntegratorType type : NumericalIntegratorType.values())
+        {
+            double[] allocating = null;
+            double[] inPlace = null;
+            // the first round warms up the JIT compiler
+            for (int round = 0; round < 2; round++)
+            {
+                allocating = run(type, false, n, steps);
+                inPlace = run(type, true, n, steps);
+            }
+            System.out.println(String.format("%-20s %14.0f %14.0f %14.0f %14.0f", type, allocating[0], allocating[1],
+                    inPlace[0], inPlace[1]));
+        }
+    }
+
+    /**
+     * Integrate the chain for a number of steps.
+     * @param type the integrator type
+     * @param inPlace whether to use the in-place API
+     * @param n the number of variables
+     * @param steps the number of steps
+     * @return the time per step in nanoseconds, and the allocated bytes per step
+     */
+    private static double[] run(final NumericalIntegratorType type, final boolean inPlace, final int n, final int steps)
+    {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        NumericalIntegrator integrator = type.getInstance(0.01, new InPlaceIntegratorTest.Chain(inPlace));
+        double[] y = InPlaceIntegratorTest.Chain.initial(n);
+        double x = 0.0;
+        long bytes = bean.getThreadAllocatedBytes(threadId);
+        long t0 = System.nanoTime();
+        for (int step = 0; step < steps; step++)
+        {
+            if (inPlace)
+            {
+                integrator.next(x, y, y);
+            }
+            else
+            {
+                y = integrator.next(x, y);
+            }
+            x += 0.01;
+        }
+        double nanos = (System.nanoTime() - t0) / (double) steps;
+        return new double[] {nanos, (bean.getThreadAllocatedBytes(threadId) - bytes) / (double) steps};
+    }
+
+}
@@ -0,0 +1,141 @@
+package nl.tudelft.simulation.jstats.ode;
+
+import java.util.Arrays;
+
+import nl.tudelft.simulation.jstats.ode.integrators.AdaptiveNumericalIntegrator;
+import nl.tudelft.simulation.jstats.ode.integrators.Bdf;
+import nl.tudelft.simulation.jstats.ode.integrators.DormandPrince;
+import nl.tudelft.simulation.jstats.ode.integrators.NumericalIntegrator;
+import nl.tudelft.simulation.jstats.ode.integrators.RosenbrockW;
+import nl.tudelft.simulation.jstats.ode.integrators.RungeKutta4;
+import nl.tudelft.simulation.jstats.ode.integrators.StiffNumericalIntegrator;
+
+/**
+ * The StiffBenchmark compares the number of steps and the wall time of the stiff integrators Bdf and RosenbrockW with the
+ * explicit RungeKutta4 and DormandPrince integrators, on the Robertson problem on [0, 40] and the Van der Pol oscillator with mu
+ * = 1000 on [0, 3000]. RungeKutta4 uses the largest power-of-two fraction of a step size that is stable for the problem; the
+ * adaptive integrators use a relative tolerance of 1.0E-4. The error is the maximum relative difference with a solution of Bdf
+ * with a relative tolerance of 1.0E-9.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class StiffBenchmark
+{
+    /** Utility class. */
+    private StiffBenchmark()
+    {
+        // utility class
+    }
+
+    /**
+     * Run the benchmark.
+     * @param args not used
+     */
+    public static void main(final String[] args)
+    {
+        System.out.println(String.format("%-12s %-14s %10s %10s %8s %8s %10s %10s", "problem", "integrator", "steps",
+                "evals", "jacs", "LUs", "ms", "error"));
+        for (int round = 0; round < 2; round++)
+        {
+            // the first round warms up the JIT compiler
+            boolean print = round == 1;
+            benchmark("Robertson", new StiffIntegratorTest.Robertson(), StiffIntegratorTest.Robertson.initial(), 40.0,
+                    1.0 / 2048.0, 1.0E-10, print);
+            benchmark("VanDerPol", new StiffIntegratorTest.VanDerPol(1000.0), StiffIntegratorTest.VanDerPol.initial(), 3000.0,
+                    1.0 / 2048.0, 1.0E-6, print);
+        }
+    }
+
+    /**
+     * Benchmark one problem.
+     * @param problem the name of the problem
+     * @param equation the equation
+     * @param y0 the initial values at x = 0
+     * @param xEnd the end of the integration
+     * @param rk4Step the step size of RungeKutta4
+     * @param atol the absolute tolerance of the adaptive integrators
+     * @param print whether to print the results
+     */
+    private static void benchmark(final String problem, final DifferentialEquationInterface equation, final double[] y0,
+            final double xEnd, final double rk4Step, final double atol, final boolean print)
+    {
+        Bdf reference = new Bdf(1.0E-6, equation);
+        reference.setTolerances(atol * 1.0E-5, 1.0E-9);
+        double[] exact = adaptive(reference, y0, xEnd);
+
+        long t0 = System.nanoTime();
+        NumericalIntegrator rk4 = new RungeKutta4(rk4Step, equation);
+        double[] y = y0.clone();
+        long steps = Math.round(xEnd / rk4Step);
+        for (long step = 0; step < steps; step++)
+        {
+            rk4.next(step * rk4Step, y, y);
+        }
+        double ms = (System.nanoTime() - t0) / 1.0E6;
+        if (print)
+        {
+            System.out.println(String.format("%-12s %-14s %10d %10d %8s %8s %10.1f %10.2e", problem, "RungeKutta4", steps,
+                    4 * steps, "-", "-", ms, error(y, exact)));
+        }
+
+        for (AdaptiveNumericalIntegrator integrator : new AdaptiveNumericalIntegrator[] {new DormandPrince(1.0E-4, equation),
+                new Bdf(1.0E-4, equation), new RosenbrockW(1.0E-4, equation)})
+        {
+            integrator.setTolerances(atol, 1.0E-4);
+            t0 = System.nanoTime();
+            y = adaptive(integrator, y0, xEnd);
+            ms = (System.nanoTime() - t0) / 1.0E6;
+            if (print)
+            {
+                boolean stiff = integrator instanceof StiffNumericalIntegrator;
+                System.out.println(String.format("%-12s %-14s %10d %10d %8s %8s %10.1f %10.2e", problem,
+                        integrator.getClass().getSimpleName(), integrator.getAcceptedSteps() + integrator.getRejectedSteps(),
+                        integrator.getEvaluations(),
+                        stiff ? String.valueOf(((StiffNumericalIntegrator) integrator).getJacobianEvaluations()) : "-",
+                        stiff ? String.valueOf(((StiffNumericalIntegrator) integrator).getDecompositions()) : "-", ms,
+                        error(y, exact)));
+            }
+        }
+    }
+
+    /**
+     * Integrate with adaptive steps.
+     * @param integrator the integrator
+     * @param y0 the initial values at x = 0
+     * @param xEnd the end of the integration
+     * @return the values at xEnd
+     */
+    private static double[] adaptive(final AdaptiveNumericalIntegrator integrator, final double[] y0, final double xEnd)
+    {
+        double[] y = y0.clone();
+        double x = 0.0;
+        while (x < xEnd)
+        {
+            x = integrator.step(x, y, xEnd);
+        }
+        return y;
+    }
+
+    /**
+     * Return the maximum relative error of the values, relative to the largest exact value.
+     * @param y the values
+     * @param exact the exact values
+     * @return the maximum relative error
+     */
+    private static double error(final double[] y, final double[] exact)
+    {
+        double scale = Arrays.stream(exact).map(Math::abs).max().getAsDouble();
+        double error = 0.0;
+        for (int i = 0; i < y.length; i++)
+        {
+            error = Math.max(error, Math.abs(y[i] - exact[i]) / scale);
+        }
+        return error;
+    }
+
+}
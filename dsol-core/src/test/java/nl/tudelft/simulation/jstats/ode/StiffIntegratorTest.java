@@ -0,0 +1,378 @@
+package nl.tudelft.simulation.jstats.ode;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.jstats.ode.integrators.BandedLuSolver;
+import nl.tudelft.simulation.jstats.ode.integrators.Bdf;
+import nl.tudelft.simulation.jstats.ode.integrators.DenseLuSolver;
+import nl.tudelft.simulation.jstats.ode.integrators.RosenbrockW;
+import nl.tudelft.simulation.jstats.ode.integrators.StiffNumericalIntegrator;
+
+/**
+ * StiffIntegratorTest tests the LU solvers, and the Bdf and RosenbrockW integrators on the stiff Robertson and Van der Pol
+ * problems, with finite-difference, user-supplied and banded Jacobians.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class StiffIntegratorTest
+{
+    /**
+     * Test the dense and the banded LU solver against the product of the matrix and the solution.
+     */
+    @Test
+    public void testLuSolvers()
+    {
+        Random random = new Random(123L);
+        int n = 12;
+        int ml = 2;
+        int mu = 3;
+        double[][] full = new double[n][n];
+        DenseLuSolver dense = new DenseLuSolver(n);
+        BandedLuSolver banded = new BandedLuSolver(n, ml, mu);
+        for (int i = 0; i < n; i++)
+        {
+            for (int j = Math.max(0, i - ml); j <= Math.min(n - 1, i + mu); j++)
+            {
+                // small diagonal, so the decomposition has to pivot
+                full[i][j] = i == j ? 0.01 * random.nextDouble() : random.nextDouble() - 0.5;
+                dense.getMatrix()[i][j] = full[i][j];
+                banded.getMatrix()[i][j - i + ml] = full[i][j];
+            }
+        }
+        double[] x = new double[n];
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++)
+        {
+            x[i] = random.nextDouble();
+        }
+        for (int i = 0; i < n; i++)
+        {
+            for (int j = 0; j < n; j++)
+            {
+                b[i] += full[i][j] * x[j];
+            }
+        }
+        assertThrows(IllegalStateException.class, () -> dense.solve(b.clone()));
+        assertTrue(dense.decompose());
+        assertTrue(banded.decompose());
+        double[] b1 = b.clone();
+        dense.solve(b1);
+        assertArrayEquals(x, b1, 1.0E-10);
+        double[] b2 = b.clone();
+        banded.solve(b2);
+        assertArrayEquals(x, b2, 1.0E-10);
+
+        DenseLuSolver singular = new DenseLuSolver(2);
+        singular.getMatrix()[0] = new double[] {1.0, 2.0};
+        singular.getMatrix()[1] = new double[] {2.0, 4.0};
+        assertFalse(singular.decompose());
+        assertThrows(IllegalArgumentException.class, () -> new DenseLuSolver(0));
+        assertThrows(IllegalArgumentException.class, () -> new BandedLuSolver(3, -1, 1));
+    }
+
+    /**
+     * Test both integrators on the Robertson chemical kinetics problem against the reference values at x = 40 of Hairer and
+     * Wanner, with finite-difference and with user-supplied Jacobians.
+     */
+    @Test
+    public void testRobertson()
+    {
+        double[] reference = new double[] {0.7158270687, 9.185534764E-6, 0.2841637457};
+        for (boolean analytic : new boolean[] {false, true})
+        {
+            for (StiffNumericalIntegrator integrator : new StiffNumericalIntegrator[] {
+                    new Bdf(1.0E-6, analytic ? new RobertsonJacobian() : new Robertson()),
+                    new RosenbrockW(1.0E-6, analytic ? new RobertsonJacobian() : new Robertson())})
+            {
+                String m = integrator.getClass().getSimpleName() + (analytic ? " analytic" : " fd");
+                integrator.setTolerances(1.0E-10, 1.0E-6);
+                double[] y = Robertson.initial();
+                double x = 0.0;
+                while (x < 40.0)
+                {
+                    x = integrator.step(x, y, 40.0);
+                }
+                assertEquals(reference[0], y[0], 1.0E-4, m);
+                assertEquals(reference[1], y[1], 1.0E-8, m);
+                assertEquals(reference[2], y[2], 1.0E-4, m);
+                assertTrue(integrator.getAcceptedSteps() < 2000, m + " accepted steps " + integrator.getAcceptedSteps());
+                if (integrator instanceof Bdf)
+                {
+                    // the simplified Newton iteration reuses the Jacobian over many steps
+                    assertTrue(integrator.getJacobianEvaluations() < integrator.getAcceptedSteps() / 10, m);
+                }
+            }
+        }
+
+        // the W-method keeps its order with an outdated Jacobian
+        RosenbrockW reuse = new RosenbrockW(1.0E-6, new Robertson());
+        reuse.setReuseJacobian(true);
+        assertTrue(reuse.isReuseJacobian());
+        reuse.setTolerances(1.0E-10, 1.0E-6);
+        double[] y = Robertson.initial();
+        double x = 0.0;
+        while (x < 40.0)
+        {
+            x = reuse.step(x, y, 40.0);
+        }
+        assertEquals(reference[0], y[0], 1.0E-4);
+        assertEquals(reference[1], y[1], 1.0E-8);
+        assertTrue(reuse.getJacobianEvaluations() < reuse.getAcceptedSteps() / 10);
+    }
+
+    /**
+     * Test both integrators on the Van der Pol oscillator with mu = 1000, which an explicit integrator can only solve with
+     * millions of steps, and test the dense output against the values at the end of the steps.
+     */
+    @Test
+    public void testVanDerPol()
+    {
+        double[][] results = new double[2][];
+        int index = 0;
+        for (StiffNumericalIntegrator integrator : new StiffNumericalIntegrator[] {new Bdf(1.0E-4, new VanDerPol(1000.0)),
+                new RosenbrockW(1.0E-4, new VanDerPol(1000.0))})
+        {
+            String m = integrator.getClass().getSimpleName();
+            integrator.setTolerances(1.0E-6, 1.0E-4);
+            double[] y = VanDerPol.initial();
+            double[] yi = new double[2];
+            double x = 0.0;
+            while (x < 3000.0)
+            {
+                double xOld = x;
+                double yOld = y[0];
+                x = integrator.step(x, y, 3000.0);
+                integrator.interpolate(xOld, yi);
+                assertEquals(yOld, yi[0], 1.0E-6, m);
+                integrator.interpolate(x, yi);
+                assertEquals(y[0], yi[0], 1.0E-8, m);
+            }
+            assertTrue(integrator.getAcceptedSteps() < 3000, m + " accepted steps " + integrator.getAcceptedSteps());
+            results[index++] = y.clone();
+        }
+        // the solution stays on the slow branches with 1 < |y| < 2
+        assertTrue(Math.abs(results[0][0]) > 1.0 && Math.abs(results[0][0]) < 2.0);
+        assertEquals(results[0][0], results[1][0], 1.0E-2);
+    }
+
+    /**
+     * Test that a banded Jacobian gives the same solution as a dense Jacobian with fewer evaluations, on a stiff chain.
+     */
+    @Test
+    public void testBanded()
+    {
+        int n = 200;
+        for (boolean bdf : new boolean[] {true, false})
+        {
+            StiffNumericalIntegrator dense = bdf ? new Bdf(1.0E-3, new StiffChain()) : new RosenbrockW(1.0E-3, new StiffChain());
+            StiffNumericalIntegrator banded =
+                    bdf ? new Bdf(1.0E-3, new StiffChain()) : new RosenbrockW(1.0E-3, new StiffChain());
+            banded.setBandwidths(1, 1);
+            assertTrue(banded.isBanded());
+            assertThrows(IllegalArgumentException.class, () -> banded.setBandwidths(-1, 0));
+            double[] yDense = InPlaceIntegratorTest.Chain.initial(n);
+            double[] yBanded = yDense.clone();
+            double x = 0.0;
+            while (x < 1.0)
+            {
+                x = dense.step(x, yDense, 1.0);
+            }
+            x = 0.0;
+            while (x < 1.0)
+            {
+                x = banded.step(x, yBanded, 1.0);
+            }
+            assertArrayEquals(yDense, yBanded, 1.0E-4);
+            // a dense finite-difference Jacobian costs n evaluations, a tridiagonal one 3
+            assertEquals(dense.getAcceptedSteps(), banded.getAcceptedSteps());
+            assertEquals(dense.getJacobianEvaluations(), banded.getJacobianEvaluations());
+            assertEquals((n - 3) * dense.getJacobianEvaluations(), dense.getEvaluations() - banded.getEvaluations());
+        }
+    }
+
+    /**
+     * Test that a DifferentialEquation can use the stiff integrators, and restarts after initialize.
+     */
+    @Test
+    public void testDifferentialEquation()
+    {
+        for (boolean bdf : new boolean[] {true, false})
+        {
+            RobertsonEquation equation = new RobertsonEquation();
+            if (!bdf)
+            {
+                equation.setIntegrator(new RosenbrockW(1.0E-6, equation));
+            }
+            ((StiffNumericalIntegrator) equation.getIntegrator()).setTolerances(1.0E-10, 1.0E-6);
+            for (int i = 1; i <= 400; i++)
+            {
+                equation.y(0.1 * i);
+            }
+            assertEquals(0.7158270687, equation.y(40.0)[0], 1.0E-4);
+            equation.initialize(0.0, Robertson.initial());
+            assertEquals(0.7158270687, equation.y(40.0)[0], 1.0E-4);
+        }
+    }
+
+    /** The Robertson problem of chemical kinetics. */
+    static class Robertson implements DifferentialEquationInterface
+    {
+        /**
+         * Return the initial values.
+         * @return the initial values
+         */
+        static double[] initial()
+        {
+            return new double[] {1.0, 0.0, 0.0};
+        }
+
+        @Override
+        public void initialize(final double x0, final double[] y0)
+        {
+            // not used
+        }
+
+        @Override
+        public double[] y(final double x)
+        {
+            return null;
+        }
+
+        @Override
+        public double[] dy(final double x, final double[] y)
+        {
+            double[] dy = new double[3];
+            dy(x, y, dy);
+            return dy;
+        }
+
+        @Override
+        public void dy(final double x, final double[] y, final double[] dyOut)
+        {
+            dyOut[0] = -0.04 * y[0] + 1.0E4 * y[1] * y[2];
+            dyOut[2] = 3.0E7 * y[1] * y[1];
+            dyOut[1] = -dyOut[0] - dyOut[2];
+        }
+    }
+
+    /** The Robertson problem with its Jacobian. */
+    static class RobertsonJacobian extends Robertson implements JacobianInterface
+    {
+        @Override
+        public void jacobian(final double x, final double[] y, final double[][] dfdy)
+        {
+            dfdy[0][0] = -0.04;
+            dfdy[0][1] = 1.0E4 * y[2];
+            dfdy[0][2] = 1.0E4 * y[1];
+            dfdy[2][0] = 0.0;
+            dfdy[2][1] = 6.0E7 * y[1];
+            dfdy[2][2] = 0.0;
+            for (int j = 0; j < 3; j++)
+            {
+                dfdy[1][j] = -dfdy[0][j] - dfdy[2][j];
+            }
+        }
+    }
+
+    /** The Robertson problem as a DifferentialEquation with the BDF integrator. */
+    static class RobertsonEquation extends DifferentialEquation
+    {
+        /** Create the equation. */
+        RobertsonEquation()
+        {
+            super(1.0E-6, nl.tudelft.simulation.jstats.ode.integrators.NumericalIntegratorType.BDF);
+            initialize(0.0, Robertson.initial());
+        }
+
+        @Override
+        public double[] dy(final double x, final double[] y)
+        {
+            return new Robertson().dy(x, y);
+        }
+    }
+
+    /** The Van der Pol oscillator y" = mu (1 - y^2) y' - y, written as y0' = y1, y1' = mu (1 - y0^2) y1 - y0. */
+    static class VanDerPol implements DifferentialEquationInterface
+    {
+        /** the stiffness parameter. */
+        private final double mu;
+
+        /**
+         * @param mu the stiffness parameter
+         */
+        VanDerPol(final double mu)
+        {
+            this.mu = mu;
+        }
+
+        /**
+         * Return the initial values.
+         * @return the initial values
+         */
+        static double[] initial()
+        {
+            return new double[] {2.0, 0.0};
+        }
+
+        @Override
+        public void initialize(final double x0, final double[] y0)
+        {
+            // not used
+        }
+
+        @Override
+        public double[] y(final double x)
+        {
+            return null;
+        }
+
+        @Override
+        public double[] dy(final double x, final double[] y)
+        {
+            double[] dy = new double[2];
+            dy(x, y, dy);
+            return dy;
+        }
+
+        @Override
+        public void dy(final double x, final double[] y, final double[] dyOut)
+        {
+            dyOut[0] = y[1];
+            dyOut[1] = this.mu * (1.0 - y[0] * y[0]) * y[1] - y[0];
+        }
+    }
+
+    /** The chain of InPlaceIntegratorTest, made stiff by multiplying the derivatives with 1000. */
+    static class StiffChain extends InPlaceIntegratorTest.Chain
+    {
+        /** Create the stiff chain. */
+        StiffChain()
+        {
+            super(true);
+        }
+
+        @Override
+        public void dy(final double x, final double[] y, final double[] dyOut)
+        {
+            derivatives(y, dyOut);
+            for (int i = 0; i < y.length; i++)
+            {
+                dyOut[i] *= 1000.0;
+            }
+        }
+    }
+
+}
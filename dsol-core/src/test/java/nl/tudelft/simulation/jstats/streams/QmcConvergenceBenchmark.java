@@ -0,0 +1,89 @@
+package nl.tudelft.simulation.jstats.streams;
+
+import java.util.function.LongFunction;
+
+import nl.tudelft.simulation.dsol.experiment.QmcStreamUpdater;
+
+/**
+ * QmcConvergenceBenchmark compares the root-mean-square error of Monte-Carlo and randomized quasi-Monte-Carlo estimates of the
+ * integral of the Sobol g-function over the unit hypercube, which is 1. The replications are assigned to the points and
+ * randomizations by a QmcStreamUpdater, as in an Experiment. Monte-Carlo converges with O(1/sqrt(n)); RQMC with a Sobol or
+ * Halton stream converges considerably faster for this function.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public final class QmcConvergenceBenchmark
+{
+    /** the dimension of the test function. */
+    public static final int DIMENSION = 5;
+
+    /** Utility class. */
+    private QmcConvergenceBenchmark()
+    {
+        // utility class
+    }
+
+    /**
+     * Run the benchmark for 2^6 to 2^16 points.
+     * @param args not used
+     */
+    public static void main(final String[] args)
+    {
+        int randomizations = 16;
+        System.out.println(String.format("%8s %12s %12s %12s", "points", "MC", "Sobol", "Halton"));
+        for (int points = 64; points <= 65536; points *= 4)
+        {
+            double mc = rmse((s) -> new MersenneTwister(s), points, randomizations);
+            double sobol = rmse((s) -> new SobolStream(DIMENSION, s), points, randomizations);
+            double halton = rmse((s) -> new HaltonStream(DIMENSION, s), points, randomizations);
+            System.out.println(String.format("%8d %12.3e %12.3e %12.3e", points, mc, sobol, halton));
+        }
+    }
+
+    /**
+     * Estimate the integral of the g-function for a number of randomizations, and return the root-mean-square error of the
+     * estimates. Each replication draws DIMENSION numbers from the stream.
+     * @param factory the factory for the stream, given a seed
+     * @param points the number of replications per randomization
+     * @param randomizations the number of randomizations
+     * @return the root-mean-square error of the estimates
+     */
+    public static double rmse(final LongFunction<? extends StreamInterface> factory, final int points, final int randomizations)
+    {
+        StreamInterface stream = factory.apply(123L);
+        QmcStreamUpdater updater = new QmcStreamUpdater(points);
+        double[] values = new double[points * randomizations];
+        for (int r = 0; r < values.length; r++)
+        {
+            updater.updateSeed("default", stream, r);
+            values[r] = gFunction(stream);
+        }
+        double sum = 0.0;
+        for (double mean : updater.randomizationMeans(values))
+        {
+            sum += (mean - 1.0) * (mean - 1.0);
+        }
+        return Math.sqrt(sum / randomizations);
+    }
+
+    /**
+     * Return the value of the Sobol g-function with a_j = j for DIMENSION numbers of the stream; its integral is 1.
+     * @param stream the stream
+     * @return the value of the g-function
+     */
+    public static double gFunction(final StreamInterface stream)
+    {
+        double value = 1.0;
+        for (int j = 1; j <= DIMENSION; j++)
+        {
+            value *= (Math.abs(4.0 * stream.nextDouble() - 2.0) + j) / (1.0 + j);
+        }
+        return value;
+    }
+
+}
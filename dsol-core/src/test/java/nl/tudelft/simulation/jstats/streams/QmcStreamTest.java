@@ -0,0 +1,181 @@
+package nl.tudelft.simulation.jstats.streams;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.function.LongFunction;
+
+import org.djutils.test.UnitTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * QmcStreamTest tests the stratification, the randomization and the assignment of the draws to the dimensions of the Sobol
+ * and Halton streams, and the convergence of randomized QMC on a test function with a known integral.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class QmcStreamTest
+{
+    /**
+     * Test that the first 2^m points of a plain and a randomized Sobol stream are stratified in every dimension, and that the
+     * draws beyond the dimension come from the padding stream.
+     */
+    @Test
+    public void testSobol()
+    {
+        for (boolean randomized : new boolean[] {false, true})
+        {
+            SobolStream stream = new SobolStream(5, 7L, randomized);
+            assertStratified(stream, 2, 6);
+        }
+        SobolStream stream = new SobolStream(2, 7L, false);
+        assertEquals(0.5 * 0x1.0p-32, stream.nextDouble(), 0.0);
+        assertEquals(0.5 * 0x1.0p-32, stream.nextDouble(), 0.0);
+        double padding = stream.nextDouble();
+        assertEquals(3, stream.getCoordinateIndex());
+        stream.nextPoint();
+        assertEquals(1, stream.getPointIndex());
+        assertEquals(0.5, stream.nextDouble(), 1E-9);
+        assertEquals(0.5, stream.nextDouble(), 1E-9);
+        assertNotEquals(padding, stream.nextDouble());
+        stream.setPointIndex(0);
+        stream.nextDouble();
+        stream.nextDouble();
+        assertEquals(padding, stream.nextDouble());
+        UnitTest.testFail(() -> new SobolStream(0, 1L), IllegalArgumentException.class);
+        UnitTest.testFail(() -> new SobolStream(SobolStream.MAX_DIMENSION + 1, 1L), IllegalArgumentException.class);
+        UnitTest.testFail(() -> new SobolStream(3, 0L), IllegalArgumentException.class);
+        UnitTest.testFail(() -> stream.setPointIndex(-1), IllegalArgumentException.class);
+    }
+
+    /**
+     * Test the radical inverse of a plain Halton stream, and the stratification in the prime bases of a plain and a scrambled
+     * Halton stream.
+     */
+    @Test
+    public void testHalton()
+    {
+        HaltonStream plain = new HaltonStream(3, 11L, false);
+        plain.setPointIndex(5);
+        assertEquals(5.0 / 8.0, plain.nextDouble(), 1E-12);
+        assertEquals(7.0 / 9.0, plain.nextDouble(), 1E-12);
+        assertEquals(1.0 / 25.0, plain.nextDouble(), 1E-12);
+        assertEquals(5, plain.getBase(2));
+        for (boolean randomized : new boolean[] {false, true})
+        {
+            HaltonStream stream = new HaltonStream(3, 11L, randomized);
+            for (int d = 0; d < 3; d++)
+            {
+                assertStratified(stream, stream.getBase(d), 2, d);
+            }
+        }
+        assertEquals(7919, new HaltonStream(HaltonStream.MAX_DIMENSION, 1L).getBase(HaltonStream.MAX_DIMENSION - 1));
+        UnitTest.testFail(() -> new HaltonStream(HaltonStream.MAX_DIMENSION + 1, 1L), IllegalArgumentException.class);
+    }
+
+    /**
+     * Test that the seed determines the randomization, that setSeed keeps the point, and that reset returns to the original
+     * seed and the first point.
+     */
+    @Test
+    public void testSeeds()
+    {
+        for (LongFunction<QmcStream> factory : List.<LongFunction<QmcStream>> of((s) -> new SobolStream(4, s),
+                (s) -> new HaltonStream(4, s)))
+        {
+            QmcStream a = factory.apply(3L);
+            QmcStream b = factory.apply(3L);
+            QmcStream c = factory.apply(3L);
+            c.setSeed(4L);
+            a.setPointIndex(17);
+            b.setPointIndex(17);
+            c.setPointIndex(17);
+            double u = a.nextDouble();
+            assertEquals(u, b.nextDouble(), 0.0);
+            assertNotEquals(u, c.nextDouble());
+            c.setSeed(3L);
+            assertEquals(17, c.getPointIndex());
+            assertEquals(u, c.nextDouble(), 0.0);
+            c.setSeed(8L);
+            c.reset();
+            assertEquals(3L, c.getSeed());
+            assertEquals(0, c.getPointIndex());
+            a.setPointIndex(0);
+            assertEquals(a.nextDouble(), c.nextDouble(), 0.0);
+            for (int i = 0; i < 1000; i++)
+            {
+                a.nextPoint();
+                double v = a.nextDouble();
+                assertTrue(v > 0.0 && v < 1.0);
+                int k = a.nextInt(2, 5);
+                assertTrue(k >= 2 && k <= 5);
+                float f = a.nextFloat();
+                assertTrue(f >= 0.0f && f < 1.0f);
+            }
+        }
+    }
+
+    /**
+     * Test that the RQMC estimates of the integral of the Sobol g-function have a much smaller error than the Monte-Carlo
+     * estimates with the same number of points.
+     */
+    @Test
+    public void testConvergence()
+    {
+        int points = 1024;
+        int randomizations = 8;
+        double mc = QmcConvergenceBenchmark.rmse((s) -> new MersenneTwister(s), points, randomizations);
+        double sobol = QmcConvergenceBenchmark.rmse((s) -> new SobolStream(QmcConvergenceBenchmark.DIMENSION, s), points,
+                randomizations);
+        double halton = QmcConvergenceBenchmark.rmse((s) -> new HaltonStream(QmcConvergenceBenchmark.DIMENSION, s), points,
+                randomizations);
+        assertTrue(sobol < mc / 4.0, "sobol " + sobol + ", mc " + mc);
+        assertTrue(halton < mc / 2.0, "halton " + halton + ", mc " + mc);
+    }
+
+    /**
+     * Assert that the first base^digits points are stratified in all dimensions of the stream.
+     * @param stream the stream
+     * @param base the base of the strata
+     * @param digits the number of digits, so there are base^digits strata
+     */
+    private static void assertStratified(final QmcStream stream, final int base, final int digits)
+    {
+        for (int d = 0; d < stream.getDimension(); d++)
+        {
+            assertStratified(stream, base, digits, d);
+        }
+    }
+
+    /**
+     * Assert that the first base^digits points are stratified in one dimension of the stream.
+     * @param stream the stream
+     * @param base the base of the strata
+     * @param digits the number of digits, so there are base^digits strata
+     * @param dimension the dimension to check
+     */
+    private static void assertStratified(final QmcStream stream, final int base, final int digits, final int dimension)
+    {
+        int n = (int) Math.round(Math.pow(base, digits));
+        boolean[] used = new boolean[n];
+        for (int i = 0; i < n; i++)
+        {
+            stream.setPointIndex(i);
+            for (int d = 0; d < dimension; d++)
+            {
+                stream.nextDouble();
+            }
+            int cell = (int) Math.floor(stream.nextDouble() * n);
+            assertTrue(!used[cell], "dimension " + dimension + ": cell " + cell + " used twice");
+            used[cell] = true;
+        }
+    }
+
+}
@@ -9,6 +9,7 @@ import org.djutils.event.EventType;
 import org.djutils.metadata.MetaData;
 import org.djutils.metadata.ObjectDescriptor;
 
+import nl.tudelft.simulation.dsol.jfr.JfrQueueLength;
 import nl.tudelft.simulation.dsol.simulators.DevsSimulatorInterface;
 import nl.tudelft.simulation.dsol.statistics.SimPersistent;
 import nl.tudelft.simulation.dsol.statistics.SimTally;
@@ -85,6 +86,7 @@ public class Queue<T extends Number & Comparable<T>> extends Block<T> implements
                 getSimulator().getSimulatorTime());
         this.queue.add(request);
         this.fireTimedEvent(QUEUE_LENGTH_EVENT, this.queue.size(), getSimulator().getSimulatorTime());
+        JfrQueueLength.record(getId(), this.queue.size(), getSimulator().getSimulatorTime().doubleValue());
     }
 
     /**
@@ -101,6 +103,7 @@ public class Queue<T extends Number & Comparable<T>> extends Block<T> implements
                 getSimulator().getSimulatorTime());
         this.queue.add(request);
         this.fireTimedEvent(QUEUE_LENGTH_EVENT, this.queue.size(), getSimulator().getSimulatorTime());
+        JfrQueueLength.record(getId(), this.queue.size(), getSimulator().getSimulatorTime().doubleValue());
     }
 
     /**
@@ -121,6 +124,7 @@ public class Queue<T extends Number & Comparable<T>> extends Block<T> implements
         this.queue.remove(request);
         T now = getSimulator().getSimulatorTime();
         this.fireTimedEvent(QUEUE_LENGTH_EVENT, this.queue.size(), now);
+        JfrQueueLength.record(getId(), this.queue.size(), now.doubleValue());
         this.fireTimedEvent(TIME_IN_QUEUE_EVENT, now.doubleValue() - request.getQueueEntryTime().doubleValue(), now);
     }
 
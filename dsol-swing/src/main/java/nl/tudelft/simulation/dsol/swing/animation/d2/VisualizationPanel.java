@@ -44,6 +44,7 @@ import nl.tudelft.simulation.dsol.animation.d2.BoundsUtil;
 import nl.tudelft.simulation.dsol.animation.d2.Renderable2dComparator;
 import nl.tudelft.simulation.dsol.animation.d2.Renderable2dInterface;
 import nl.tudelft.simulation.dsol.animation.d2.RenderableScale;
+import nl.tudelft.simulation.dsol.jfr.JfrFrameRender;
 import nl.tudelft.simulation.dsol.simulators.AnimatorInterface;
 import nl.tudelft.simulation.dsol.swing.animation.d2.actions.IntrospectionAction;
 import nl.tudelft.simulation.naming.context.ContextInterface;
@@ -270,6 +271,8 @@ public class VisualizationPanel extends JPanel implements EventProducer, EventLi
     @Override
     public void paintComponent(final Graphics g)
     {
+        JfrFrameRender jfr = new JfrFrameRender();
+        jfr.start();
         Graphics2D g2 = (Graphics2D) g;
         super.paintComponent(g);
         g2.rotate(-this.rotation);
@@ -297,6 +300,7 @@ public class VisualizationPanel extends JPanel implements EventProducer, EventLi
         }
 
         // draw the animation elements
+        int drawn = 0;
         for (Renderable2dInterface<? extends Locatable> element : this.elementList)
         {
             // destroy has been called?
@@ -307,6 +311,7 @@ public class VisualizationPanel extends JPanel implements EventProducer, EventLi
             else if (isShowElement(element))
             {
                 element.paintComponent(g2, this.getExtent(), this.getSize(), getRenderableScale(), this);
+                drawn++;
             }
         }
 
@@ -318,6 +323,10 @@ public class VisualizationPanel extends JPanel implements EventProducer, EventLi
             this.dragLineEnabled = false;
         }
         g2.rotate(this.rotation);
+        if (jfr.isEnabled())
+        {
+            jfr.stop(getName() == null ? getClass().getSimpleName() : getName(), drawn);
+        }
     }
 
     /**
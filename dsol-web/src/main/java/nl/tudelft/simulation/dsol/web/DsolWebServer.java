@@ -34,12 +34,14 @@ import nl.tudelft.simulation.dsol.SimRuntimeException;
 import nl.tudelft.simulation.dsol.animation.Locatable;
 import nl.tudelft.simulation.dsol.animation.d2.Renderable2dInterface;
 import nl.tudelft.simulation.dsol.experiment.Replication;
+import nl.tudelft.simulation.dsol.metrics.SimulatorMetrics;
 import nl.tudelft.simulation.dsol.simulators.AnimatorInterface;
 import nl.tudelft.simulation.dsol.simulators.DevsRealTimeAnimator;
 import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
 import nl.tudelft.simulation.dsol.web.animation.d2.HtmlAnimationPanel;
 import nl.tudelft.simulation.dsol.web.animation.d2.HtmlGridPanel;
 import nl.tudelft.simulation.dsol.web.animation.d2.ToggleButtonInfo;
+import nl.tudelft.simulation.dsol.web.metrics.MetricsHandler;
 import nl.tudelft.simulation.introspection.Property;
 import nl.tudelft.simulation.introspection.beans.BeanIntrospector;
 
@@ -65,6 +67,9 @@ public abstract class DsolWebServer implements EventListener
     /** the animation panel. */
     private HtmlAnimationPanel animationPanel;
 
+    /** the metrics of the simulator, served on /metrics. */
+    private final SimulatorMetrics metrics;
+
     /**
      * @param title the title for the model window
      * @param simulator the simulator
@@ -76,6 +81,7 @@ public abstract class DsolWebServer implements EventListener
         this.title = title;
 
         this.simulator = simulator;
+        this.metrics = new SimulatorMetrics(simulator, title);
 
         simulator.addListener(this, SimulatorInterface.START_EVENT);
         simulator.addListener(this, SimulatorInterface.STOP_EVENT);
@@ -111,7 +117,8 @@ public abstract class DsolWebServer implements EventListener
             resourceHandler.setResourceBase(webRoot);
 
             HandlerList handlers = new HandlerList();
-            handlers.setHandlers(new Handler[] {resourceHandler, new XHRHandler(DsolWebServer.this)});
+            handlers.setHandlers(new Handler[] {new MetricsHandler(DsolWebServer.this.metrics), resourceHandler,
+                    new XHRHandler(DsolWebServer.this)});
             server.setHandler(handlers);
 
             try
@@ -142,6 +149,15 @@ public abstract class DsolWebServer implements EventListener
         return this.simulator;
     }
 
+    /**
+     * Return the metrics of the simulator that are served on /metrics; the model can register its statistics here.
+     * @return the metrics of the simulator
+     */
+    public SimulatorMetrics getMetrics()
+    {
+        return this.metrics;
+    }
+
     /**
      * @return animationPanel
      */
@@ -0,0 +1,70 @@
+package nl.tudelft.simulation.dsol.web.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.djutils.exceptions.Throw;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import nl.tudelft.simulation.dsol.metrics.SimulatorMetrics;
+
+/**
+ * MetricsHandler serves the metrics of a simulator on the path /metrics in the Prometheus text exposition format. Requests for
+ * other paths are not handled, so the handler can be placed in a HandlerList before the other handlers of a server.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class MetricsHandler extends AbstractHandler
+{
+    /** the path of the metrics. */
+    public static final String PATH = "/metrics";
+
+    /** the metrics to serve. */
+    private final SimulatorMetrics metrics;
+
+    /**
+     * Create a handler for the metrics of a simulator.
+     * @param metrics the metrics to serve
+     * @throws NullPointerException when metrics is null
+     */
+    public MetricsHandler(final SimulatorMetrics metrics)
+    {
+        Throw.whenNull(metrics, "metrics cannot be null");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Return the metrics that are served.
+     * @return the metrics that are served
+     */
+    public SimulatorMetrics getMetrics()
+    {
+        return this.metrics;
+    }
+
+    @Override
+    public void handle(final String target, final Request baseRequest, final HttpServletRequest request,
+            final HttpServletResponse response) throws IOException, ServletException
+    {
+        if (!PATH.equals(target) || !"GET".equals(request.getMethod()))
+        {
+            return;
+        }
+        byte[] body = this.metrics.scrape().getBytes(StandardCharsets.UTF_8);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(SimulatorMetrics.CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        baseRequest.setHandled(true);
+    }
+
+}
@@ -0,0 +1,95 @@
+package nl.tudelft.simulation.dsol.web.metrics;
+
+import org.djutils.exceptions.Throw;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+
+import nl.tudelft.simulation.dsol.metrics.SimulatorMetrics;
+
+/**
+ * MetricsServer runs an embedded Jetty server that only serves the metrics of a simulator on the path /metrics, e.g., for a
+ * long-running real-time simulation without a web interface. By default, the server only listens on the loopback interface.
+ * A typical use is:
+ *
+ * <pre>
+ * SimulatorMetrics metrics = new SimulatorMetrics(simulator, "sim").addCounter(arrivals);
+ * MetricsServer server = new MetricsServer(metrics, 9400);
+ * server.start();
+ * </pre>
+ *
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ * @author <a href="https://github.com/averbraeck">Alexander Verbraeck</a>
+ */
+public class MetricsServer
+{
+    /** the Jetty server. */
+    private final Server server;
+
+    /** the connector of the server. */
+    private final ServerConnector connector;
+
+    /**
+     * Create a metrics server that listens on the loopback interface.
+     * @param metrics the metrics to serve
+     * @param port the port to listen on; 0 selects a free port
+     * @throws NullPointerException when metrics is null
+     * @throws IllegalArgumentException when port is not between 0 and 65535
+     */
+    public MetricsServer(final SimulatorMetrics metrics, final int port)
+    {
+        this(metrics, "localhost", port);
+    }
+
+    /**
+     * Create a metrics server that listens on the given host name or address.
+     * @param metrics the metrics to serve
+     * @param host the host name or address to listen on, or null to listen on all interfaces
+     * @param port the port to listen on; 0 selects a free port
+     * @throws NullPointerException when metrics is null
+     * @throws IllegalArgumentException when port is not between 0 and 65535
+     */
+    public MetricsServer(final SimulatorMetrics metrics, final String host, final int port)
+    {
+        Throw.whenNull(metrics, "metrics cannot be null");
+        Throw.when(port < 0 || port > 65535, IllegalArgumentException.class, "port %d should be between 0 and 65535", port);
+        this.server = new Server();
+        this.connector = new ServerConnector(this.server);
+        this.connector.setHost(host);
+        this.connector.setPort(port);
+        this.server.addConnector(this.connector);
+        this.server.setHandler(new MetricsHandler(metrics));
+    }
+
+    /**
+     * Start the server; the server handles the requests on its own threads.
+     * @throws Exception when the server cannot be started, e.g., because the port is in use
+     */
+    public void start() throws Exception
+    {
+        this.server.start();
+    }
+
+    /**
+     * Stop the server.
+     * @throws Exception when the server cannot be stopped
+     */
+    public void stop() throws Exception
+    {
+        this.server.stop();
+    }
+
+    /**
+     * Return the port the server listens on, which is the selected free port when the server was created with port 0.
+     * @return the port the server listens on, or -1 when the server has not been started
+     */
+    public int getPort()
+    {
+        return this.connector.getLocalPort();
+    }
+
+}
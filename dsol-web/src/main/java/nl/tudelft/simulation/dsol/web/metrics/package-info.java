@@ -0,0 +1,12 @@
+/**
+ * HTTP endpoint for the metrics of a simulator in the Prometheus text exposition format. The MetricsHandler serves the
+ * metrics on the path /metrics, and can be added to an existing Jetty server such as the one of DsolWebServer. The
+ * MetricsServer runs a small Jetty server for the metrics only, e.g., for a real-time simulation without a web interface.
+ * <p>
+ * Copyright (c) 2025-2025 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved. See
+ * for project information <a href="https://simulation.tudelft.nl/dsol/manual/" target="_blank">DSOL Manual</a>. The DSOL
+ * project is distributed under a three-clause BSD-style license, which can be found at
+ * <a href="https://simulation.tudelft.nl/dsol/docs/latest/license.html" target="_blank">DSOL License</a>.
+ * </p>
+ */
+package nl.tudelft.simulation.dsol.web.metrics;